@@ -102,7 +102,24 @@ tasks {
     }
     
     test {
-        useJUnitPlatform()
+        useJUnitPlatform {
+            excludeTags("benchmark")
+        }
+    }
+
+    // Microbenchmarks over synthetic data: ./gradlew benchmark
+    register<Test>("benchmark") {
+        description = "Runs the microbenchmarks in the test sources."
+        group = "verification"
+        testClassesDirs = sourceSets["test"].output.classesDirs
+        classpath = sourceSets["test"].runtimeClasspath
+        useJUnitPlatform {
+            includeTags("benchmark")
+        }
+        testLogging {
+            showStandardStreams = true
+        }
+        outputs.upToDateWhen { false }
     }
     
     build {
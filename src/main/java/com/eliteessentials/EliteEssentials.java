@@ -30,6 +30,8 @@ import com.eliteessentials.services.KitService;
 import com.eliteessentials.services.MailService;
 import com.eliteessentials.services.MessageService;
 import com.eliteessentials.services.NickService;
+import com.eliteessentials.services.OnlinePlayerIndex;
+import com.eliteessentials.services.ModerationSweeper;
 import com.eliteessentials.services.MuteService;
 import com.eliteessentials.services.BanService;
 import com.eliteessentials.services.TempBanService;
@@ -38,6 +40,10 @@ import com.eliteessentials.services.FlyService;
 import com.eliteessentials.services.FreezeService;
 import com.eliteessentials.services.WarnService;
 import com.eliteessentials.services.TpsTracker;
+import com.eliteessentials.services.RtpLocationPool;
+import com.eliteessentials.services.PlayerDirectory;
+import com.eliteessentials.services.AltAccountService;
+import com.eliteessentials.services.ServerStatsSnapshot;
 import com.eliteessentials.services.PlayerService;
 import com.eliteessentials.services.PlayTimeRewardService;
 import com.eliteessentials.services.RtpService;
@@ -54,8 +60,11 @@ import com.eliteessentials.storage.CustomHelpStorage;
 import com.eliteessentials.storage.DiscordStorage;
 import com.eliteessentials.storage.GlobalStorageProvider;
 import com.eliteessentials.storage.GreetingStorage;
+import com.eliteessentials.storage.MailStorageProvider;
+import com.eliteessentials.storage.ModerationStorageProvider;
 import com.eliteessentials.storage.MotdStorage;
 import com.eliteessentials.storage.PlayerFileStorage;
+import com.eliteessentials.storage.AltAccountStorage;
 import com.eliteessentials.storage.PlayerStorageProvider;
 import com.eliteessentials.storage.PlayerWarpStorageProvider;
 import com.eliteessentials.storage.PlayTimeRewardStorage;
@@ -66,6 +75,9 @@ import com.eliteessentials.storage.WarpStorage;
 import com.eliteessentials.systems.DamageTrackingSystem;
 import com.eliteessentials.systems.PlayerDeathSystem;
 import com.eliteessentials.systems.SpawnProtectionSystem;
+import com.eliteessentials.systems.FreezeEnforcementSystem;
+import com.eliteessentials.systems.SleepTrackingSystem;
+import com.eliteessentials.systems.RtpPoolInvalidationSystem;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
@@ -93,6 +105,9 @@ public class EliteEssentials extends JavaPlugin {
     private PlayerStorageProvider playerStorageProvider;
     private GlobalStorageProvider globalStorageProvider;
     private PlayerWarpStorageProvider playerWarpStorageProvider;
+    private MailStorageProvider mailStorageProvider;
+    private ModerationStorageProvider moderationStorageProvider;
+    private ModerationSweeper moderationSweeper;
     private PlayerFileStorage playerFileStorage;
     private WarpStorage warpStorage;
     private SpawnStorage spawnStorage;
@@ -105,6 +120,7 @@ public class EliteEssentials extends JavaPlugin {
     private BackService backService;
     private TpaService tpaService;
     private RtpService rtpService;
+    private RtpLocationPool rtpLocationPool;
     private SleepService sleepService;
     private WarmupService warmupService;
     private CooldownService cooldownService;
@@ -119,6 +135,7 @@ public class EliteEssentials extends JavaPlugin {
     private KitService kitService;
     private SpawnProtectionService spawnProtectionService;
     private AutoBroadcastService autoBroadcastService;
+    private OnlinePlayerIndex onlinePlayerIndex;
     private AliasService aliasService;
     private PlayerService playerService;
     private CostService costService;
@@ -135,6 +152,9 @@ public class EliteEssentials extends JavaPlugin {
     private IpBanService ipBanService;
     private FreezeService freezeService;
     private WarnService warnService;
+    private PlayerDirectory playerDirectory;
+    private AltAccountService altAccountService;
+    private ServerStatsSnapshot serverStats;
     private ActivityLogService activityLogService;
     private NickService nickService;
     private GreetingStorage greetingStorage;
@@ -248,11 +268,19 @@ public class EliteEssentials extends JavaPlugin {
         playerWarpStorageProvider.load();
         playerWarpService = new PlayerWarpService(playerWarpStorageProvider);
         playerWarpService.setConfigManager(configManager);
+        playerWarpService.start();
+        
+        // Initialize mail storage (inboxes kept outside player files)
+        mailStorageProvider = storageFactory.createMailStorage(storageConfig, this.dataFolder);
+        mailStorageProvider.load();
         
         damageTrackingService = new DamageTrackingService();
         deathTrackingService = new DeathTrackingService(backService, configManager);
         tpaService = new TpaService(configManager);
         rtpService = new RtpService(configManager);
+        rtpLocationPool = new RtpLocationPool(configManager);
+        rtpLocationPool.setChunkLoadBudget(rtpService.getChunkLoadBudget());
+        rtpService.setLocationPool(rtpLocationPool);
         sleepService = new SleepService(configManager);
         godService = new GodService();
         vanishService = new VanishService(configManager);
@@ -262,12 +290,13 @@ public class EliteEssentials extends JavaPlugin {
         kitService = new KitService(this.dataFolder);
         kitService.setPlayerFileStorage(playerStorageProvider);
         spawnProtectionService = new SpawnProtectionService(configManager);
+        spawnProtectionService.setRegionStorage(globalStorageProvider);
         autoBroadcastService = new AutoBroadcastService(this.dataFolder);
         aliasService = new AliasService(this.dataFolder, getCommandRegistry());
         playerService = new PlayerService(playerStorageProvider, configManager);
         costService = new CostService(configManager);
         flyService = new FlyService(configManager);
-        mailService = new MailService(playerStorageProvider, configManager);
+        mailService = new MailService(playerStorageProvider, mailStorageProvider, configManager);
         afkService = new AfkService(configManager);
         // Nick service - uses storage provider, no separate file needed
         nickService = new NickService(playerStorageProvider);
@@ -277,12 +306,41 @@ public class EliteEssentials extends JavaPlugin {
         greetingService = new GreetingService(greetingStorage, configManager);
 
         ignoreService = new IgnoreService(playerStorageProvider);
-        muteService = new MuteService(this.dataFolder);
-        banService = new BanService(this.dataFolder);
-        tempBanService = new TempBanService(this.dataFolder);
-        ipBanService = new IpBanService(this.dataFolder);
+        // Bans, temp bans, IP bans, mutes and warnings share one store
+        moderationStorageProvider = storageFactory.createModerationStorage(storageConfig, this.dataFolder);
+        moderationStorageProvider.load();
+        muteService = new MuteService(moderationStorageProvider);
+        banService = new BanService(moderationStorageProvider);
+        tempBanService = new TempBanService(moderationStorageProvider);
+        ipBanService = new IpBanService(moderationStorageProvider, this.dataFolder);
         freezeService = new FreezeService(this.dataFolder);
-        warnService = new WarnService(this.dataFolder);
+        warnService = new WarnService(moderationStorageProvider);
+        moderationSweeper = new ModerationSweeper(moderationStorageProvider);
+        moderationSweeper.start();
+
+        // Sorted online+offline player index for the admin player browser
+        playerDirectory = new PlayerDirectory(playerStorageProvider);
+        playerDirectory.setAfkService(afkService);
+        playerDirectory.setVanishService(vanishService);
+        playerDirectory.setFreezeService(freezeService);
+        playerDirectory.setMuteService(muteService);
+
+        // IP -> players reverse index for alt lookups, built in the background
+        altAccountService = new AltAccountService(playerStorageProvider, configManager,
+                playerStorageProvider instanceof PlayerFileStorage ? new AltAccountStorage(this.dataFolder) : null);
+        altAccountService.setPlayerDirectory(playerDirectory);
+        altAccountService.start();
+        ipBanService.setAltAccountService(altAccountService);
+
+        // Dashboard numbers, refreshed in the background
+        serverStats = new ServerStatsSnapshot(playerStorageProvider, configManager);
+        serverStats.setBanService(banService);
+        serverStats.setTempBanService(tempBanService);
+        serverStats.setMuteService(muteService);
+        serverStats.setFreezeService(freezeService);
+        serverStats.setWarpService(warpService);
+        serverStats.setKitService(kitService);
+        playerService.setServerStats(serverStats);
 
         // Activity log for admin UI audit trail (persisted to JSON or SQL)
         if (storageFactory.isSqlActive()) {
@@ -303,6 +361,13 @@ public class EliteEssentials extends JavaPlugin {
         tabListService.setAfkService(afkService);
         tabListService.setNickService(nickService);
         afkService.setTabListService(tabListService);
+        afkService.setSleepService(sleepService);
+        
+        // Online player index (who is online and in which world) for targeted features
+        onlinePlayerIndex = new OnlinePlayerIndex();
+        autoBroadcastService.setOnlinePlayerIndex(onlinePlayerIndex);
+        autoBroadcastService.setAfkService(afkService);
+        autoBroadcastService.setVanishService(vanishService);
         groupChatService.setNickService(nickService);
         
         // Initialize playtime rewards
@@ -325,11 +390,12 @@ public class EliteEssentials extends JavaPlugin {
         
         // Register custom UseBlock/UseEntity interactions for spawn protection pickup blocking.
         // UseBlock covers block-type pickups (flowers, pebbles); UseEntity covers entity-type
-        // decorations (mushrooms, placed items). Only when spawn protection is enabled - otherwise
-        // we'd replace handlers in the codec registry and break other mods (e.g. PlotMod/SimpleClaims).
+        // decorations (mushrooms, placed items). Only when spawn protection is enabled or protected
+        // regions are defined - otherwise we'd replace handlers in the codec registry and break
+        // other mods (e.g. PlotMod/SimpleClaims).
         // InteractivelyPickupItemEvent.setCancelled() is broken in Hytale API, so we intercept
         // at the interaction level.
-        if (configManager.getConfig().spawnProtection.enabled) {
+        if (configManager.getConfig().spawnProtection.enabled || !spawnProtectionService.getRegions().isEmpty()) {
             try {
                 var interaction = getCodecRegistry(com.hypixel.hytale.server.core.modules.interaction.interaction.config.Interaction.CODEC);
                 interaction.register("UseBlock", com.eliteessentials.interactions.SpawnUseBlockInteraction.class,
@@ -399,9 +465,27 @@ public class EliteEssentials extends JavaPlugin {
         connectListener.registerEvents(getEventRegistry());
         getLogger().at(Level.INFO).log("Connect listener registered (ban/freeze enforcement).");
         
-        // Start freeze enforcement loop (continuously re-applies freeze to prevent engine resets)
+        // Register movement-triggered freeze enforcement (re-applies freeze when a frozen player drifts)
         if (configManager.getConfig().freeze.enabled) {
-            freezeService.start();
+            try {
+                freezeService.setDriftThreshold(configManager.getConfig().freeze.driftThreshold);
+                EntityStore.REGISTRY.registerSystem(new FreezeEnforcementSystem(freezeService));
+                freezeService.start();
+            } catch (Exception e) {
+                getLogger().at(Level.WARNING).log("Could not register freeze enforcement: " + e.getMessage());
+            }
+        }
+        
+        // Keep the online player index current; sleep counts follow its world join/leave
+        sleepService.setOnlinePlayerIndex(onlinePlayerIndex);
+        onlinePlayerIndex.registerEvents(getEventRegistry());
+        onlinePlayerIndex.seedFromUniverse();
+        
+        // Register sleep tracking (sleep percentage counts update on bed enter/leave)
+        try {
+            EntityStore.REGISTRY.registerSystem(new SleepTrackingSystem(sleepService));
+        } catch (Exception e) {
+            getLogger().at(Level.WARNING).log("Could not register sleep tracking, relying on periodic recount: " + e.getMessage());
         }
         
         // Register the death tracking ECS system (hooks into Hytale's death events)
@@ -447,6 +531,15 @@ public class EliteEssentials extends JavaPlugin {
             getLogger().at(Level.WARNING).log("Could not register spawn protection: " + e.getMessage());
         }
         
+        // Register RTP pool invalidation (drops pooled locations in chunks players modify)
+        if (configManager.getConfig().rtp.enabled && configManager.getConfig().rtp.poolEnabled) {
+            try {
+                new RtpPoolInvalidationSystem(rtpLocationPool).register(EntityStore.REGISTRY);
+            } catch (Exception e) {
+                getLogger().at(Level.WARNING).log("Could not register RTP pool invalidation: " + e.getMessage());
+            }
+        }
+        
         // Register respawn system (handles cross-world respawning at spawn if no bed is set)
         try {
             respawnListener = new RespawnListener(spawnStorage, deathPositionCache);
@@ -500,6 +593,10 @@ public class EliteEssentials extends JavaPlugin {
         
         // Start TPS tracker for Admin UI
         TpsTracker.get().start();
+        serverStats.start();
+        
+        // Start the RTP location pool (refills only while TPS has headroom)
+        rtpLocationPool.start();
         
         // Validate all JSON config files at the END of startup so errors are visible
         validateConfigsOnStartup();
@@ -543,6 +640,33 @@ public class EliteEssentials extends JavaPlugin {
             getLogger().at(Level.INFO).log("Warps saved.");
         }
         
+        // Save counted visits, then fold the player warp journal back into player_warps.json
+        if (playerWarpService != null) {
+            playerWarpService.shutdown();
+        }
+        if (playerWarpStorageProvider != null) {
+            playerWarpStorageProvider.shutdown();
+        }
+        
+        // Stop bulk mail sends before the pool closes
+        if (mailService != null) {
+            mailService.shutdown();
+        }
+        
+        // Fold the moderation journal back into moderation.json
+        if (ipBanService != null) {
+            ipBanService.shutdown();
+        }
+        if (altAccountService != null) {
+            altAccountService.shutdown();
+        }
+        if (moderationSweeper != null) {
+            moderationSweeper.shutdown();
+        }
+        if (moderationStorageProvider != null) {
+            moderationStorageProvider.shutdown();
+        }
+        
         // Shut down SQL connection pool if active (waits up to 30s for queries)
         if (storageFactory != null) {
             storageFactory.shutdownPool();
@@ -555,6 +679,12 @@ public class EliteEssentials extends JavaPlugin {
         if (sleepService != null) {
             sleepService.shutdown();
         }
+        if (rtpLocationPool != null) {
+            rtpLocationPool.shutdown();
+        }
+        if (serverStats != null) {
+            serverStats.shutdown();
+        }
         if (warmupService != null) {
             warmupService.shutdown();
         }
@@ -576,6 +706,9 @@ public class EliteEssentials extends JavaPlugin {
         if (greetingService != null) {
             greetingService.shutdown();
         }
+        if (tabListService != null) {
+            tabListService.shutdown();
+        }
         if (playTimeRewardService != null) {
             playTimeRewardService.stop();
         }
@@ -681,9 +814,10 @@ public class EliteEssentials extends JavaPlugin {
         // Admin commands (always register - admin only)
         getCommandRegistry().registerCommand(new HytaleReloadCommand());
         getCommandRegistry().registerCommand(new HytaleAliasCommand());
+        getCommandRegistry().registerCommand(new HytaleRegionCommand(spawnProtectionService));
         getCommandRegistry().registerCommand(new HytaleMigrationCommand());
         getCommandRegistry().registerCommand(new HytaleAdminUICommand());
-        registeredCommands.append("/eliteessentials, /alias, /eemigration, /eeadmin, ");
+        registeredCommands.append("/eliteessentials, /alias, /region, /eemigration, /eeadmin, ");
         
         // God command
         if (config.god.enabled) {
@@ -814,7 +948,8 @@ public class EliteEssentials extends JavaPlugin {
         // Player info commands (always register - useful utility)
         getCommandRegistry().registerCommand(new HytaleSeenCommand(configManager, playerService));
         getCommandRegistry().registerCommand(new HytalePlayerInfoCommand(configManager, playerService,
-                muteService, banService, tempBanService, freezeService, warnService));
+                muteService, banService, tempBanService, freezeService, warnService,
+                ipBanService, altAccountService));
         registeredCommands.append("/seen, /playerinfo, ");
         
         // Joindate command
@@ -915,6 +1050,10 @@ public class EliteEssentials extends JavaPlugin {
         return tpaService;
     }
 
+    public OnlinePlayerIndex getOnlinePlayerIndex() {
+        return onlinePlayerIndex;
+    }
+
     public VanishService getVanishService() {
         return vanishService;
     }
@@ -923,6 +1062,10 @@ public class EliteEssentials extends JavaPlugin {
         return rtpService;
     }
     
+    public RtpLocationPool getRtpLocationPool() {
+        return rtpLocationPool;
+    }
+    
     public WarmupService getWarmupService() {
         return warmupService;
     }
@@ -1007,6 +1150,10 @@ public class EliteEssentials extends JavaPlugin {
         return playerStorageProvider;
     }
     
+    public MailStorageProvider getMailStorageProvider() {
+        return mailStorageProvider;
+    }
+    
     /**
      * @deprecated Use {@link #getPlayerStorageProvider()} instead.
      * Returns the concrete PlayerFileStorage only when in JSON mode, null otherwise.
@@ -1044,6 +1191,18 @@ public class EliteEssentials extends JavaPlugin {
         return muteService;
     }
     
+    public PlayerDirectory getPlayerDirectory() {
+        return playerDirectory;
+    }
+    
+    public AltAccountService getAltAccountService() {
+        return altAccountService;
+    }
+    
+    public ServerStatsSnapshot getServerStats() {
+        return serverStats;
+    }
+    
     public BanService getBanService() {
         return banService;
     }
@@ -1108,6 +1267,7 @@ public class EliteEssentials extends JavaPlugin {
         configManager.loadConfig();
         com.eliteessentials.util.CommandExecutor.setDelayBetweenCommandsMs(
                 configManager.getConfig().commandExecutionDelayMs);
+        com.eliteessentials.util.WorldBlacklistUtil.clearCache();
 
         // Update packet filters for all online players (for suppressDefaultMessages setting)
         if (joinQuitListener != null) {
@@ -1119,6 +1279,9 @@ public class EliteEssentials extends JavaPlugin {
         rulesStorage.load();
         discordStorage.load();
         globalStorageProvider.load();
+        if (warpService != null) {
+            warpService.markChanged();
+        }
         spawnStorage.load();
         
         // Reload player warp storage
@@ -1126,12 +1289,22 @@ public class EliteEssentials extends JavaPlugin {
             playerWarpService.reload();
         }
         
+        // Re-index players for the admin player browser
+        if (playerDirectory != null) {
+            playerDirectory.reload();
+        }
+        
+        // Re-read economy totals and pick up a changed refresh interval
+        if (serverStats != null) {
+            serverStats.reload();
+        }
+        
         // Reload custom help entries (allows admins to edit custom_help.json)
         if (customHelpStorage != null) {
             customHelpStorage.reload();
         }
         
-        // Refresh spawn protection locations from reloaded spawn storage
+        // Refresh spawn protection locations and protected regions from reloaded storage
         spawnProtectionService.loadFromStorage(spawnStorage);
         
         // NOTE: syncToNativeSpawnProviders() is NOT called on reload.
@@ -1149,6 +1322,9 @@ public class EliteEssentials extends JavaPlugin {
         }
         
         // Reload auto broadcast
+        if (onlinePlayerIndex != null) {
+            onlinePlayerIndex.clearPermissionCache();
+        }
         if (autoBroadcastService != null) {
             if (configManager.getConfig().autoBroadcast.enabled) {
                 autoBroadcastService.reload();
@@ -1177,32 +1353,27 @@ public class EliteEssentials extends JavaPlugin {
             playTimeRewardService.reload();
         }
         
+        // Reload RTP chunk-load budget and location pool (ranges or pool settings may have changed)
+        if (rtpService != null) {
+            rtpService.reload();
+        }
+        if (rtpLocationPool != null) {
+            rtpLocationPool.reload();
+        }
+        
         // Reload AFK service
         if (afkService != null) {
             afkService.reload();
         }
         
-        // Reload mute service
-        if (muteService != null) {
-            muteService.reload();
-        }
-        
-        // Reload ban services
-        if (banService != null) {
-            banService.reload();
-        }
-        if (tempBanService != null) {
-            tempBanService.reload();
-        }
-        if (ipBanService != null) {
-            ipBanService.reload();
+        // Reload bans, mutes and warnings (one store behind all five services)
+        if (moderationStorageProvider != null) {
+            moderationStorageProvider.load();
         }
         if (freezeService != null) {
+            freezeService.setDriftThreshold(configManager.getConfig().freeze.driftThreshold);
             freezeService.reload();
         }
-        if (warnService != null) {
-            warnService.reload();
-        }
         
         // Reload activity log
         if (activityLogService != null) {
@@ -1253,6 +1424,11 @@ public class EliteEssentials extends JavaPlugin {
             getLogger().at(Level.INFO).log("Spawn protection initialized for " + protectedWorlds.size() + 
                 " world(s): " + String.join(", ", protectedWorlds) + " (radius: " + radius + ")");
         }
+        
+        int regionCount = spawnProtectionService.getRegions().size();
+        if (regionCount > 0) {
+            getLogger().at(Level.INFO).log("Protected regions loaded: " + regionCount);
+        }
     }
     
     /**
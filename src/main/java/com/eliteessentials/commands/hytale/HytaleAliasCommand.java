@@ -4,6 +4,7 @@ import com.eliteessentials.EliteEssentials;
 import com.eliteessentials.config.ConfigManager;
 import com.eliteessentials.permissions.PermissionService;
 import com.eliteessentials.permissions.Permissions;
+import com.eliteessentials.services.AliasPlan;
 import com.eliteessentials.services.AliasService;
 import com.eliteessentials.storage.AliasStorage.AliasData;
 import com.eliteessentials.util.MessageFormatter;
@@ -237,17 +238,23 @@ public class HytaleAliasCommand extends CommandBase {
         }
         
         // Show dispatch mode for each command in the chain
-        for (String cmd : data.command.split(";")) {
-            cmd = cmd.trim();
-            if (cmd.isEmpty()) continue;
-            if (cmd.startsWith("/")) cmd = cmd.substring(1);
-            String cmdName = cmd.split(" ", 2)[0].toLowerCase();
-            boolean optimized = AliasService.isOptimizedCommand(cmdName);
+        AliasPlan plan = aliasService.getPlan(name);
+        if (plan == null) return;
+        for (AliasPlan.Step step : plan.getSteps()) {
+            boolean optimized = step.isOptimized();
             ctx.sendMessage(Message.join(
-                Message.raw("  /" + cmdName + ": ").color("#AAAAAA"),
+                Message.raw("  /" + step.getCommandName() + ": ").color("#AAAAAA"),
                 Message.raw(optimized ? "EE optimized (silent/back support)" : "Generic dispatch (runs as player)").color(optimized ? "#55FF55" : "#55FFFF")
             ));
         }
+
+        if (plan.getRunCount() > 0) {
+            ctx.sendMessage(Message.join(
+                Message.raw("Runs: ").color("#AAAAAA"),
+                Message.raw(plan.getRunCount() + " (avg " + String.format("%.2f", plan.getAverageMillis())
+                    + "ms, max " + String.format("%.2f", plan.getMaxMillis()) + "ms)").color("#FFFFFF")
+            ));
+        }
     }
 
     private void showUsage(CommandContext ctx) {
@@ -8,21 +8,21 @@ import com.eliteessentials.permissions.PermissionService;
 import com.eliteessentials.services.CooldownService;
 import com.eliteessentials.services.CostService;
 import com.eliteessentials.services.FlyService;
+import com.eliteessentials.util.ChunkColumns;
 import com.eliteessentials.util.CommandPermissionUtil;
 import com.eliteessentials.util.MessageFormatter;
 import com.eliteessentials.util.PlayerSuggestionProvider;
+import com.eliteessentials.util.TeleportUtil;
 import com.eliteessentials.util.WorldBlacklistUtil;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3f;
-import com.hypixel.hytale.protocol.BlockMaterial;
 import com.hypixel.hytale.protocol.MovementStates;
 import com.hypixel.hytale.protocol.SavedMovementStates;
 import com.hypixel.hytale.protocol.packets.player.SetMovementStates;
 import com.hypixel.hytale.server.core.Message;
-import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
 import com.hypixel.hytale.server.core.entity.entities.Player;
@@ -58,7 +58,6 @@ import java.util.logging.Logger;
 public class HytaleFlyCommand extends CommandBase {
 
     private static final String COMMAND_NAME = "fly";
-    private static final int MAX_HEIGHT = 256;
     private static final Logger logger = Logger.getLogger("EliteEssentials");
 
     private final ConfigManager configManager;
@@ -262,7 +261,7 @@ public class HytaleFlyCommand extends CommandBase {
             WorldChunk chunk = world.getChunk(chunkIndex);
             if (chunk == null) return;
 
-            Integer groundY = findHighestSolidBlock(chunk, blockX, blockZ, (int) pos.y);
+            Integer groundY = ChunkColumns.findHighestSolidBelow(world, chunk, blockX, blockZ, (int) pos.y);
             if (groundY == null) return;
 
             // Only teleport if player is above the ground (would actually fall)
@@ -283,25 +282,12 @@ public class HytaleFlyCommand extends CommandBase {
 
             Teleport teleport = Teleport.createForPlayer(world, targetPos, targetRot);
             store.addComponent(ref, Teleport.getComponentType(), teleport);
+            TeleportUtil.reanchorFrozen(player.getUuid(), targetPos);
         } catch (Exception e) {
             logger.warning("[Fly] Safe landing failed: " + e.getMessage());
         }
     }
 
-    /**
-     * Finds the highest solid block at the given X/Z position, starting from the player's Y level downward.
-     */
-    private Integer findHighestSolidBlock(WorldChunk chunk, int x, int z, int startY) {
-        int scanFrom = Math.min(startY, MAX_HEIGHT);
-        for (int y = scanFrom; y >= 0; y--) {
-            BlockType blockType = chunk.getBlockType(x, y, z);
-            if (blockType != null && blockType.getMaterial() == BlockMaterial.Solid) {
-                return y;
-            }
-        }
-        return null;
-    }
-
     private World findPlayerWorld(PlayerRef player) {
         Universe universe = Universe.get();
         if (universe == null) return null;
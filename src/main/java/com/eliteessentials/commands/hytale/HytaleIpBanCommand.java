@@ -1,8 +1,8 @@
 package com.eliteessentials.commands.hytale;
 
 import com.eliteessentials.config.ConfigManager;
-import com.eliteessentials.model.PlayerFile;
 import com.eliteessentials.permissions.Permissions;
+import com.eliteessentials.services.AltAccountService;
 import com.eliteessentials.services.IpBanService;
 import com.eliteessentials.storage.PlayerStorageProvider;
 import com.eliteessentials.util.CommandPermissionUtil;
@@ -15,12 +15,25 @@ import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
 import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import javax.annotation.Nonnull;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
 
+/**
+ * Command: /ipban
+ * - /ipban <player> [reason] - Ban a player's current or last known IP
+ * - /ipban <ip|cidr|start-end> [reason] - Ban an address or a whole range
+ * - /ipban import <file> [reason] - Import a blocklist file from the plugin folder
+ */
 public class HytaleIpBanCommand extends AbstractPlayerCommand {
 
+    private static final int KNOWN_PLAYERS_SHOWN = 10;
+
     private final IpBanService ipBanService;
     private final ConfigManager configManager;
 
@@ -54,6 +67,16 @@ public class HytaleIpBanCommand extends AbstractPlayerCommand {
         String targetName = parts[1];
         String reason = parts.length >= 3 ? parts[2] : null;
 
+        if ("import".equalsIgnoreCase(targetName) && reason != null) {
+            handleImport(ctx, player, reason);
+            return;
+        }
+        // Player names never contain these, addresses and ranges always do
+        if (targetName.contains(".") || targetName.contains(":")) {
+            handleRangeBan(ctx, player, targetName, reason);
+            return;
+        }
+
         PlayerRef target = PlayerSuggestionProvider.findPlayer(targetName);
         String ip;
         java.util.UUID targetId;
@@ -64,7 +87,7 @@ public class HytaleIpBanCommand extends AbstractPlayerCommand {
             resolvedName = target.getUsername();
             ip = IpBanService.getIpFromPacketHandler(target.getPacketHandler());
         } else {
-            // Offline lookup — resolve UUID then get last known IP from player file
+            // Offline lookup — resolve UUID then get last known IP from the alt index
             com.eliteessentials.EliteEssentials plugin = com.eliteessentials.EliteEssentials.getInstance();
             PlayerStorageProvider storage = plugin.getPlayerStorageProvider();
             java.util.Optional<java.util.UUID> offlineId = storage.getUuidByName(targetName);
@@ -75,19 +98,7 @@ public class HytaleIpBanCommand extends AbstractPlayerCommand {
             }
             targetId = offlineId.get();
             resolvedName = targetName;
-
-            PlayerFile playerFile = storage.getPlayer(targetId);
-            if (playerFile != null) {
-                java.util.List<PlayerFile.IpHistoryEntry> history = playerFile.getIpHistory();
-                ip = (history != null && !history.isEmpty())
-                    ? history.stream()
-                        .max((a, b) -> Long.compare(a.lastUsed, b.lastUsed))
-                        .map(e -> e.ip)
-                        .orElse(null)
-                    : null;
-            } else {
-                ip = null;
-            }
+            ip = ipBanService.getLastKnownIp(targetId);
         }
 
         if (ip == null) {
@@ -107,6 +118,9 @@ public class HytaleIpBanCommand extends AbstractPlayerCommand {
         if (banned) {
             ctx.sendMessage(MessageFormatter.formatWithFallback(
                 configManager.getMessage("ipbanSuccess", "player", resolvedName, "ip", ip), "#55FF55"));
+            Set<java.util.UUID> others = new HashSet<>(ipBanService.getKnownPlayers(ip));
+            others.remove(targetId);
+            sendKnownPlayers(ctx, ip, others);
             // Kick if online
             if (target != null) {
                 String kickMsg = reason != null
@@ -120,4 +134,82 @@ public class HytaleIpBanCommand extends AbstractPlayerCommand {
             }
         }
     }
+
+    private void handleRangeBan(CommandContext ctx, PlayerRef player, String spec, String reason) {
+        List<String> banned = ipBanService.banRange(spec, player.getUsername(), reason);
+        if (banned == null) {
+            ctx.sendMessage(MessageFormatter.formatWithFallback(
+                configManager.getMessage("ipbanInvalidRange", "range", spec), "#FF5555"));
+            return;
+        }
+        if (banned.isEmpty()) {
+            ctx.sendMessage(MessageFormatter.formatWithFallback(
+                configManager.getMessage("ipbanRangeAlready", "range", spec), "#FF5555"));
+            return;
+        }
+        ctx.sendMessage(MessageFormatter.formatWithFallback(
+            configManager.getMessage("ipbanRangeSuccess", "range", spec, "count", String.valueOf(banned.size())), "#55FF55"));
+        sendKnownPlayers(ctx, spec, ipBanService.getKnownPlayers(spec));
+        kickBannedOnline(player, reason);
+    }
+
+    /**
+     * Kick everyone online whose address is now banned, except the admin who issued it.
+     */
+    private void kickBannedOnline(PlayerRef player, String reason) {
+        String kickMsg = reason != null
+            ? configManager.getMessage("ipbanKickReason", "reason", reason, "bannedBy", player.getUsername())
+            : configManager.getMessage("ipbanKick", "bannedBy", player.getUsername());
+        for (PlayerRef online : Universe.get().getPlayers()) {
+            if (online.getUuid().equals(player.getUuid())) continue;
+            String ip = IpBanService.getIpFromPacketHandler(online.getPacketHandler());
+            if (ip != null && ipBanService.isBanned(ip)) {
+                try {
+                    online.getPacketHandler().disconnect(Message.raw(MessageFormatter.stripColorCodes(kickMsg)));
+                } catch (Exception e) {
+                    // Player may have already disconnected
+                }
+            }
+        }
+    }
+
+    /**
+     * List the known accounts a new ban also shuts out.
+     */
+    private void sendKnownPlayers(CommandContext ctx, String target, Set<java.util.UUID> players) {
+        AltAccountService altAccountService = com.eliteessentials.EliteEssentials.getInstance().getAltAccountService();
+        if (players.isEmpty() || altAccountService == null) return;
+        ctx.sendMessage(MessageFormatter.formatWithFallback(
+            configManager.getMessage("ipbanKnownPlayers", "target", target,
+                "count", String.valueOf(players.size()),
+                "players", altAccountService.describe(players, KNOWN_PLAYERS_SHOWN)), "#AAAAAA"));
+    }
+
+    private void handleImport(CommandContext ctx, PlayerRef player, String args) {
+        String[] importArgs = args.split("\\s+", 2);
+        String file = importArgs[0];
+        String reason = importArgs.length >= 2 ? importArgs[1] : null;
+
+        ctx.sendMessage(MessageFormatter.formatWithFallback(
+            configManager.getMessage("ipbanImportStarted", "file", file), "#AAAAAA"));
+        ipBanService.importBlocklist(file, player.getUsername(), reason).whenComplete((result, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                player.sendMessage(MessageFormatter.formatWithFallback(
+                    configManager.getMessage("ipbanImportFailed", "file", file, "error", String.valueOf(cause.getMessage())), "#FF5555"));
+                return;
+            }
+            player.sendMessage(MessageFormatter.formatWithFallback(
+                configManager.getMessage("ipbanImportDone",
+                    "file", file,
+                    "added", String.valueOf(result.added()),
+                    "lines", String.valueOf(result.lines()),
+                    "skipped", String.valueOf(result.networks() - result.added()),
+                    "invalid", String.valueOf(result.invalid()),
+                    "ms", String.valueOf(result.elapsedMs())), "#55FF55"));
+            if (result.added() > 0) {
+                kickBannedOnline(player, reason);
+            }
+        });
+    }
 }
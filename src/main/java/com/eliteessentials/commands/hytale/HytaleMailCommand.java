@@ -22,6 +22,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.logging.Logger;
 
 /**
  * Command: /mail [send|read|list|clear|delete] [args...]
@@ -29,21 +30,26 @@ import java.util.UUID;
  * Subcommands:
  * - /mail send <player> <message> - Send mail to a player
  * - /mail read [number] - Read mail (marks as read)
- * - /mail list - List all mail
+ * - /mail list [page] - List mail, newest first
  * - /mail clear - Clear all mail
  * - /mail clear read - Clear only read mail
  * - /mail delete <id> - Delete specific mail
+ * - /mail sendall <message> - Send mail to every player who has joined (admin)
  * 
  * Permissions:
  * - eliteessentials.command.mail.use - Use mail commands
  * - eliteessentials.command.mail.send - Send mail
+ * - eliteessentials.command.mail.sendall - Send mail to everyone (admin)
  */
 public class HytaleMailCommand extends AbstractPlayerCommand {
 
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+
     private final MailService mailService;
     private final ConfigManager configManager;
     private final PlayerStorageProvider playerFileStorage;
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("MM/dd HH:mm");
+    private static final int PAGE_SIZE = 10;
 
     public HytaleMailCommand(MailService mailService, ConfigManager configManager, 
                              PlayerStorageProvider playerFileStorage) {
@@ -78,7 +84,7 @@ public class HytaleMailCommand extends AbstractPlayerCommand {
         
         // /mail with no args shows help or list
         if (parts.length < 2) {
-            showMailList(ctx, player, playerId);
+            showMailList(ctx, player, playerId, parts);
             return;
         }
         
@@ -87,9 +93,10 @@ public class HytaleMailCommand extends AbstractPlayerCommand {
         switch (subCommand) {
             case "send" -> handleSend(ctx, player, parts);
             case "read" -> handleRead(ctx, player, playerId, parts);
-            case "list" -> showMailList(ctx, player, playerId);
+            case "list" -> showMailList(ctx, player, playerId, parts);
             case "clear" -> handleClear(ctx, player, playerId, parts);
             case "delete", "del" -> handleDelete(ctx, player, playerId, parts);
+            case "sendall" -> handleSendAll(ctx, player, parts);
             default -> showUsage(ctx);
         }
     }
@@ -165,10 +172,69 @@ public class HytaleMailCommand extends AbstractPlayerCommand {
         }
     }
     
+    private void handleSendAll(CommandContext ctx, PlayerRef player, String[] parts) {
+        if (!CommandPermissionUtil.canExecuteAdmin(ctx, player, Permissions.MAIL_SENDALL, 
+                configManager.getConfig().mail.enabled)) {
+            return;
+        }
+        
+        // /mail sendall <message>
+        if (parts.length < 3) {
+            ctx.sendMessage(MessageFormatter.formatWithFallback(
+                configManager.getMessage("mailSendAllUsage"), "#FF5555"));
+            return;
+        }
+        
+        StringBuilder messageBuilder = new StringBuilder();
+        for (int i = 2; i < parts.length; i++) {
+            if (i > 2) messageBuilder.append(" ");
+            messageBuilder.append(parts[i]);
+        }
+        String message = messageBuilder.toString();
+        
+        int maxLength = configManager.getConfig().mail.maxMessageLength;
+        if (message.length() > maxLength) {
+            ctx.sendMessage(MessageFormatter.formatWithFallback(
+                configManager.getMessage("mailMessageTooLong", "max", String.valueOf(maxLength)), 
+                "#FF5555"));
+            return;
+        }
+        
+        ctx.sendMessage(MessageFormatter.formatWithFallback(
+            configManager.getMessage("mailSendingAll"), "#AAAAAA"));
+        
+        String senderName = player.getUsername();
+        mailService.sendMailToAll(player.getUuid(), senderName, message).whenComplete((result, error) -> {
+            if (error != null) {
+                logger.severe("[Mail] Send to all by " + senderName + " failed: " + error.getMessage());
+                player.sendMessage(MessageFormatter.formatWithFallback(
+                    configManager.getMessage("mailSendFailed"), "#FF5555"));
+                return;
+            }
+            player.sendMessage(MessageFormatter.formatWithFallback(
+                configManager.getMessage("mailSentAll",
+                    "count", String.valueOf(result.delivered),
+                    "skipped", String.valueOf(result.skipped)), "#55FF55"));
+            
+            // Let online recipients know straight away (not those whose mailbox was full)
+            try {
+                for (PlayerRef p : Universe.get().getPlayers()) {
+                    if (result.recipients.contains(p.getUuid())) {
+                        p.sendMessage(MessageFormatter.formatWithFallback(
+                            configManager.getMessage("mailReceived", "player", senderName), 
+                            "#55FF55"));
+                    }
+                }
+            } catch (Exception e) {
+                // Ignore - players might have disconnected
+            }
+        });
+    }
+    
     private void handleRead(CommandContext ctx, PlayerRef player, UUID playerId, String[] parts) {
-        List<MailMessage> mail = mailService.getMail(playerId);
+        int total = mailService.getMailCount(playerId);
         
-        if (mail.isEmpty()) {
+        if (total == 0) {
             ctx.sendMessage(MessageFormatter.formatWithFallback(
                 configManager.getMessage("mailEmpty"), "#FFAA00"));
             return;
@@ -184,8 +250,9 @@ public class HytaleMailCommand extends AbstractPlayerCommand {
                     configManager.getMessage("mailInvalidNumber"), "#FF5555"));
                 return;
             }
-        } else {
+        } else if (mailService.getUnreadCount(playerId) > 0) {
             // Find first unread
+            List<MailMessage> mail = mailService.getMail(playerId);
             for (int i = 0; i < mail.size(); i++) {
                 if (!mail.get(i).isRead()) {
                     index = i;
@@ -194,20 +261,19 @@ public class HytaleMailCommand extends AbstractPlayerCommand {
             }
         }
         
-        if (index < 0 || index >= mail.size()) {
+        MailMessage msg = index < total ? mailService.getMailAt(playerId, index) : null;
+        if (msg == null) {
             ctx.sendMessage(MessageFormatter.formatWithFallback(
                 configManager.getMessage("mailNotFound"), "#FF5555"));
             return;
         }
         
-        MailMessage msg = mail.get(index);
-        
         // Display the mail
         String dateStr = DATE_FORMAT.format(new Date(msg.getTimestamp()));
         ctx.sendMessage(MessageFormatter.formatWithFallback(
             configManager.getMessage("mailReadHeader", 
                 "number", String.valueOf(index + 1),
-                "total", String.valueOf(mail.size())), "#55FFFF"));
+                "total", String.valueOf(total)), "#55FFFF"));
         ctx.sendMessage(MessageFormatter.formatWithFallback(
             configManager.getMessage("mailReadFrom", 
                 "player", msg.getSenderName(),
@@ -221,24 +287,39 @@ public class HytaleMailCommand extends AbstractPlayerCommand {
         }
     }
     
-    private void showMailList(CommandContext ctx, PlayerRef player, UUID playerId) {
-        List<MailMessage> mail = mailService.getMail(playerId);
+    private void showMailList(CommandContext ctx, PlayerRef player, UUID playerId, String[] parts) {
+        int total = mailService.getMailCount(playerId);
         
-        if (mail.isEmpty()) {
+        if (total == 0) {
             ctx.sendMessage(MessageFormatter.formatWithFallback(
                 configManager.getMessage("mailEmpty"), "#FFAA00"));
             return;
         }
         
+        // /mail list [page] (1-indexed for users)
+        int page = 0;
+        if (parts.length >= 3) {
+            try {
+                page = Integer.parseInt(parts[2]) - 1;
+            } catch (NumberFormatException e) {
+                ctx.sendMessage(MessageFormatter.formatWithFallback(
+                    configManager.getMessage("mailInvalidNumber"), "#FF5555"));
+                return;
+            }
+        }
+        int pages = (total + PAGE_SIZE - 1) / PAGE_SIZE;
+        page = Math.max(0, Math.min(page, pages - 1));
+        
         int unread = mailService.getUnreadCount(playerId);
         ctx.sendMessage(MessageFormatter.formatWithFallback(
             configManager.getMessage("mailListHeader", 
-                "count", String.valueOf(mail.size()),
+                "count", String.valueOf(total),
                 "unread", String.valueOf(unread)), "#55FFFF"));
         
-        // Show up to 10 most recent
-        int shown = Math.min(mail.size(), 10);
-        for (int i = 0; i < shown; i++) {
+        // Only the requested page is read from the store
+        List<MailMessage> mail = mailService.getMailPage(playerId, page, PAGE_SIZE);
+        int first = page * PAGE_SIZE;
+        for (int i = 0; i < mail.size(); i++) {
             MailMessage msg = mail.get(i);
             String status = msg.isRead() ? "&7" : "&a[NEW] ";
             String dateStr = DATE_FORMAT.format(new Date(msg.getTimestamp()));
@@ -248,7 +329,7 @@ public class HytaleMailCommand extends AbstractPlayerCommand {
             }
             
             String line = configManager.getMessage("mailListEntry",
-                "number", String.valueOf(i + 1),
+                "number", String.valueOf(first + i + 1),
                 "status", status,
                 "date", dateStr,
                 "player", msg.getSenderName(),
@@ -256,10 +337,12 @@ public class HytaleMailCommand extends AbstractPlayerCommand {
             ctx.sendMessage(MessageFormatter.format(line));
         }
         
-        if (mail.size() > 10) {
+        int remaining = total - (first + mail.size());
+        if (remaining > 0) {
             ctx.sendMessage(MessageFormatter.formatWithFallback(
                 configManager.getMessage("mailListMore", 
-                    "count", String.valueOf(mail.size() - 10)), "#AAAAAA"));
+                    "count", String.valueOf(remaining),
+                    "next", String.valueOf(page + 2)), "#AAAAAA"));
         }
         
         ctx.sendMessage(MessageFormatter.formatWithFallback(
@@ -294,15 +377,15 @@ public class HytaleMailCommand extends AbstractPlayerCommand {
         // Try to parse as number first (mail index)
         try {
             int index = Integer.parseInt(parts[2]) - 1;
-            List<MailMessage> mail = mailService.getMail(playerId);
+            MailMessage msg = mailService.getMailAt(playerId, index);
             
-            if (index < 0 || index >= mail.size()) {
+            if (msg == null) {
                 ctx.sendMessage(MessageFormatter.formatWithFallback(
                     configManager.getMessage("mailNotFound"), "#FF5555"));
                 return;
             }
             
-            String mailId = mail.get(index).getId();
+            String mailId = msg.getId();
             if (mailService.deleteMail(playerId, mailId)) {
                 ctx.sendMessage(MessageFormatter.formatWithFallback(
                     configManager.getMessage("mailDeleted"), "#55FF55"));
@@ -9,6 +9,7 @@ import com.eliteessentials.services.EssentialsPlusMigrationService;
 import com.eliteessentials.services.HomesPlusMigrationService;
 import com.eliteessentials.services.HyssentialsMigrationService;
 import com.eliteessentials.services.SqlMigrationService;
+import com.eliteessentials.services.StreamingImporter;
 import com.eliteessentials.util.MessageFormatter;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
@@ -19,10 +20,11 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
- * Command: /eemigration <source> [force]
+ * Command: /eemigration <source> [force] [dryrun]
  * Migrates data from other essentials plugins or between storage backends.
  * 
  * Sources:
@@ -34,6 +36,7 @@ import java.util.logging.Logger;
  * 
  * Options:
  * - force: Overwrite existing data
+ * - dryrun: Report what would be imported without writing anything (plugin imports only)
  * 
  * Permissions:
  * - Admin only (simple mode)
@@ -63,7 +66,7 @@ public class HytaleMigrationCommand extends CommandBase {
             return;
         }
         
-        // Parse raw input: /eemigration <source> [force]
+        // Parse raw input: /eemigration <source> [force] [dryrun]
         String rawInput = ctx.getInputString();
         String[] parts = rawInput.split("\\s+");
         
@@ -73,16 +76,24 @@ public class HytaleMigrationCommand extends CommandBase {
         }
         
         String source = parts[1];
-        boolean force = parts.length >= 3 && "force".equalsIgnoreCase(parts[2]);
+        boolean force = false;
+        boolean dryRun = false;
+        for (int i = 2; i < parts.length; i++) {
+            if ("force".equalsIgnoreCase(parts[i])) {
+                force = true;
+            } else if ("dryrun".equalsIgnoreCase(parts[i])) {
+                dryRun = true;
+            }
+        }
         
         if ("essentialscore".equalsIgnoreCase(source)) {
-            handleEssentialsCoreMigration(ctx, force);
+            handleEssentialsCoreMigration(ctx, force, dryRun);
         } else if ("hyssentials".equalsIgnoreCase(source)) {
-            handleHyssentialsMigration(ctx);
+            handleHyssentialsMigration(ctx, dryRun);
         } else if ("essentialsplus".equalsIgnoreCase(source)) {
-            handleEssentialsPlusMigration(ctx, force);
+            handleEssentialsPlusMigration(ctx, force, dryRun);
         } else if ("homesplus".equalsIgnoreCase(source)) {
-            handleHomesPlusMigration(ctx);
+            handleHomesPlusMigration(ctx, dryRun);
         } else if ("sql".equalsIgnoreCase(source)) {
             handleSqlMigration(ctx, force);
         } else if ("cleanup".equalsIgnoreCase(source)) {
@@ -93,7 +104,7 @@ public class HytaleMigrationCommand extends CommandBase {
     }
     
     private void showUsage(CommandContext ctx) {
-        ctx.sendMessage(Message.raw("Usage: /eemigration <source> [force]").color("#FFAA00"));
+        ctx.sendMessage(Message.raw("Usage: /eemigration <source> [force] [dryrun]").color("#FFAA00"));
         ctx.sendMessage(Message.raw("Sources:").color("#AAAAAA"));
         ctx.sendMessage(Message.raw("  essentialscore - Import from nhulston's EssentialsCore").color("#AAAAAA"));
         ctx.sendMessage(Message.raw("  hyssentials - Import from Hyssentials").color("#AAAAAA"));
@@ -103,10 +114,11 @@ public class HytaleMigrationCommand extends CommandBase {
         ctx.sendMessage(Message.raw("  cleanup - Move migrated JSON files into backup/ folder").color("#AAAAAA"));
         ctx.sendMessage(Message.raw("Options:").color("#AAAAAA"));
         ctx.sendMessage(Message.raw("  force - Overwrite existing data (use if re-migrating)").color("#AAAAAA"));
-        ctx.sendMessage(Message.raw("Examples: /eemigration essentialscore force | /eemigration sql force").color("#777777"));
+        ctx.sendMessage(Message.raw("  dryrun - Show what a plugin import would do without writing anything").color("#AAAAAA"));
+        ctx.sendMessage(Message.raw("Examples: /eemigration essentialscore force | /eemigration homesplus dryrun | /eemigration sql force").color("#777777"));
     }
     
-    private void handleEssentialsCoreMigration(CommandContext ctx, boolean force) {
+    private void handleEssentialsCoreMigration(CommandContext ctx, boolean force, boolean dryRun) {
         EliteEssentials plugin = EliteEssentials.getInstance();
         
         EssentialsCoreMigrationService migrationService = new EssentialsCoreMigrationService(
@@ -125,13 +137,16 @@ public class HytaleMigrationCommand extends CommandBase {
         }
         
         ctx.sendMessage(Message.raw("Starting EssentialsCore migration...").color("#FFAA00"));
+        if (dryRun) {
+            ctx.sendMessage(Message.raw("Dry run: nothing will be written.").color("#FFAA00"));
+        }
         if (force) {
             ctx.sendMessage(Message.raw("Force mode: existing homes/cooldowns will be overwritten.").color("#FFAA00"));
         }
         ctx.sendMessage(Message.raw("Source: " + migrationService.getEssentialsCoreFolder().getAbsolutePath()).color("#AAAAAA"));
         
         // Run migration
-        EssentialsCoreMigrationService.MigrationResult result = migrationService.migrate(force);
+        EssentialsCoreMigrationService.MigrationResult result = migrationService.migrate(force, dryRun);
         
         // Report results
         if (result.isSuccess()) {
@@ -139,6 +154,10 @@ public class HytaleMigrationCommand extends CommandBase {
         } else {
             ctx.sendMessage(Message.raw("Migration completed with errors.").color("#FFAA00"));
         }
+        if (result.isDryRun()) {
+            ctx.sendMessage(Message.raw("Dry run: nothing was written. Counts show what would be imported.").color("#FFAA00"));
+        }
+        sendTimings(ctx, result.getTimings());
         
         ctx.sendMessage(Message.raw("- Warps imported: " + result.getWarpsImported()).color("#AAAAAA"));
         ctx.sendMessage(Message.raw("- Spawns imported: " + result.getSpawnsImported()).color("#AAAAAA"));
@@ -169,7 +188,7 @@ public class HytaleMigrationCommand extends CommandBase {
         }
     }
     
-    private void handleHyssentialsMigration(CommandContext ctx) {
+    private void handleHyssentialsMigration(CommandContext ctx, boolean dryRun) {
         EliteEssentials plugin = EliteEssentials.getInstance();
         
         HyssentialsMigrationService migrationService = new HyssentialsMigrationService(
@@ -186,10 +205,13 @@ public class HytaleMigrationCommand extends CommandBase {
         }
         
         ctx.sendMessage(Message.raw("Starting Hyssentials migration...").color("#FFAA00"));
+        if (dryRun) {
+            ctx.sendMessage(Message.raw("Dry run: nothing will be written.").color("#FFAA00"));
+        }
         ctx.sendMessage(Message.raw("Source: " + migrationService.getHyssentialsFolder().getAbsolutePath()).color("#AAAAAA"));
         
         // Run migration
-        HyssentialsMigrationService.MigrationResult result = migrationService.migrate();
+        HyssentialsMigrationService.MigrationResult result = migrationService.migrate(dryRun);
         
         // Report results
         if (result.isSuccess()) {
@@ -197,6 +219,10 @@ public class HytaleMigrationCommand extends CommandBase {
         } else {
             ctx.sendMessage(Message.raw("Migration completed with errors.").color("#FFAA00"));
         }
+        if (result.isDryRun()) {
+            ctx.sendMessage(Message.raw("Dry run: nothing was written. Counts show what would be imported.").color("#FFAA00"));
+        }
+        sendTimings(ctx, result.getTimings());
         
         ctx.sendMessage(Message.raw("- Warps imported: " + result.getWarpsImported()).color("#AAAAAA"));
         ctx.sendMessage(Message.raw("- Players with homes: " + result.getPlayersImported()).color("#AAAAAA"));
@@ -215,7 +241,7 @@ public class HytaleMigrationCommand extends CommandBase {
         }
     }
     
-    private void handleEssentialsPlusMigration(CommandContext ctx, boolean force) {
+    private void handleEssentialsPlusMigration(CommandContext ctx, boolean force, boolean dryRun) {
         EliteEssentials plugin = EliteEssentials.getInstance();
         
         EssentialsPlusMigrationService migrationService = new EssentialsPlusMigrationService(
@@ -234,13 +260,16 @@ public class HytaleMigrationCommand extends CommandBase {
         }
         
         ctx.sendMessage(Message.raw("Starting EssentialsPlus migration...").color("#FFAA00"));
+        if (dryRun) {
+            ctx.sendMessage(Message.raw("Dry run: nothing will be written.").color("#FFAA00"));
+        }
         if (force) {
             ctx.sendMessage(Message.raw("Force mode: existing data will be overwritten.").color("#FFAA00"));
         }
         ctx.sendMessage(Message.raw("Source: " + migrationService.getEssentialsPlusFolder().getAbsolutePath()).color("#AAAAAA"));
         
         // Run migration
-        EssentialsPlusMigrationService.MigrationResult result = migrationService.migrate(force);
+        EssentialsPlusMigrationService.MigrationResult result = migrationService.migrate(force, dryRun);
         
         // Report results
         if (result.isSuccess()) {
@@ -248,6 +277,10 @@ public class HytaleMigrationCommand extends CommandBase {
         } else {
             ctx.sendMessage(Message.raw("Migration completed with errors.").color("#FFAA00"));
         }
+        if (result.isDryRun()) {
+            ctx.sendMessage(Message.raw("Dry run: nothing was written. Counts show what would be imported.").color("#FFAA00"));
+        }
+        sendTimings(ctx, result.getTimings());
         
         ctx.sendMessage(Message.raw("- Warps imported: " + result.getWarpsImported()).color("#AAAAAA"));
         ctx.sendMessage(Message.raw("- Kits imported: " + result.getKitsImported()).color("#AAAAAA"));
@@ -269,7 +302,7 @@ public class HytaleMigrationCommand extends CommandBase {
         }
     }
     
-    private void handleHomesPlusMigration(CommandContext ctx) {
+    private void handleHomesPlusMigration(CommandContext ctx, boolean dryRun) {
         EliteEssentials plugin = EliteEssentials.getInstance();
         
         HomesPlusMigrationService migrationService = new HomesPlusMigrationService(
@@ -285,10 +318,13 @@ public class HytaleMigrationCommand extends CommandBase {
         }
         
         ctx.sendMessage(Message.raw("Starting HomesPlus migration...").color("#FFAA00"));
+        if (dryRun) {
+            ctx.sendMessage(Message.raw("Dry run: nothing will be written.").color("#FFAA00"));
+        }
         ctx.sendMessage(Message.raw("Source: " + migrationService.getHomesPlusFolder().getAbsolutePath()).color("#AAAAAA"));
         
         // Run migration
-        HomesPlusMigrationService.MigrationResult result = migrationService.migrate();
+        HomesPlusMigrationService.MigrationResult result = migrationService.migrate(dryRun);
         
         // Report results
         if (result.isSuccess()) {
@@ -296,6 +332,10 @@ public class HytaleMigrationCommand extends CommandBase {
         } else {
             ctx.sendMessage(Message.raw("Migration completed with errors.").color("#FFAA00"));
         }
+        if (result.isDryRun()) {
+            ctx.sendMessage(Message.raw("Dry run: nothing was written. Counts show what would be imported.").color("#FFAA00"));
+        }
+        sendTimings(ctx, result.getTimings());
         
         ctx.sendMessage(Message.raw("- Players with homes: " + result.getPlayersImported()).color("#AAAAAA"));
         ctx.sendMessage(Message.raw("- Total homes imported: " + result.getHomesImported()).color("#AAAAAA"));
@@ -313,6 +353,12 @@ public class HytaleMigrationCommand extends CommandBase {
         }
     }
     
+    private void sendTimings(CommandContext ctx, List<StreamingImporter.StageTiming> timings) {
+        for (StreamingImporter.StageTiming timing : timings) {
+            ctx.sendMessage(Message.raw("- Stage " + timing).color("#777777"));
+        }
+    }
+    
     private void handleSqlMigration(CommandContext ctx, boolean force) {
         EliteEssentials plugin = EliteEssentials.getInstance();
         PluginConfig.StorageConfig storageConfig = plugin.getConfigManager().getConfig().storage;
@@ -331,9 +377,14 @@ public class HytaleMigrationCommand extends CommandBase {
                 plugin.getGlobalStorageProvider(),
                 plugin.getDataFolder()
         );
+        migrationService.setMailStorage(plugin.getMailStorageProvider());
+        migrationService.setTarget(SqlMigrationService.describeTarget(storageConfig));
+
+        // An interrupted run left a checkpoint: resume it instead of refusing on partial data
+        boolean resuming = migrationService.hasCheckpoint();
 
         // Check if SQL tables already have data
-        if (!force && migrationService.hasExistingData()) {
+        if (!force && !resuming && migrationService.hasExistingData()) {
             ctx.sendMessage(Message.raw("SQL database already contains data!").color("#FFAA00"));
             ctx.sendMessage(Message.raw("Run /eemigration sql force to overwrite existing SQL data.").color("#AAAAAA"));
             return;
@@ -343,6 +394,9 @@ public class HytaleMigrationCommand extends CommandBase {
         if (force) {
             ctx.sendMessage(Message.raw("Force mode: existing SQL data may be overwritten.").color("#FFAA00"));
         }
+        if (resuming) {
+            ctx.sendMessage(Message.raw("Resuming a previous migration; players already migrated will be skipped.").color("#FFAA00"));
+        }
 
         // Run migration with progress reporting
         SqlMigrationService.MigrationResult result = migrationService.migrate(
@@ -3,8 +3,10 @@ package com.eliteessentials.commands.hytale;
 import com.eliteessentials.config.ConfigManager;
 import com.eliteessentials.model.PlayerFile;
 import com.eliteessentials.permissions.Permissions;
+import com.eliteessentials.services.AltAccountService;
 import com.eliteessentials.services.BanService;
 import com.eliteessentials.services.FreezeService;
+import com.eliteessentials.services.IpBanService;
 import com.eliteessentials.services.MuteService;
 import com.eliteessentials.services.PlayerService;
 import com.eliteessentials.services.TempBanService;
@@ -26,6 +28,7 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import javax.annotation.Nonnull;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -45,6 +48,7 @@ import java.util.stream.Collectors;
 public class HytalePlayerInfoCommand extends AbstractPlayerCommand {
 
     private static final String COMMAND_NAME = "playerinfo";
+    private static final int ALTS_SHOWN = 8;
 
     private final ConfigManager configManager;
     private final PlayerService playerService;
@@ -53,11 +57,14 @@ public class HytalePlayerInfoCommand extends AbstractPlayerCommand {
     private final TempBanService tempBanService;
     private final FreezeService freezeService;
     private final WarnService warnService;
+    private final IpBanService ipBanService;
+    private final AltAccountService altAccountService;
 
     public HytalePlayerInfoCommand(ConfigManager configManager, PlayerService playerService,
                                     MuteService muteService, BanService banService,
                                     TempBanService tempBanService, FreezeService freezeService,
-                                    WarnService warnService) {
+                                    WarnService warnService, IpBanService ipBanService,
+                                    AltAccountService altAccountService) {
         super(COMMAND_NAME, "View detailed player information");
         this.configManager = configManager;
         this.playerService = playerService;
@@ -66,6 +73,8 @@ public class HytalePlayerInfoCommand extends AbstractPlayerCommand {
         this.tempBanService = tempBanService;
         this.freezeService = freezeService;
         this.warnService = warnService;
+        this.ipBanService = ipBanService;
+        this.altAccountService = altAccountService;
         setAllowsExtraArguments(true);
     }
 
@@ -243,7 +252,8 @@ public class HytalePlayerInfoCommand extends AbstractPlayerCommand {
     }
 
     /**
-     * Display punishment status: mute, ban, tempban, freeze, and warning count.
+     * Display punishment status: mute, ban, tempban, freeze, warning count, IP ban and
+     * alt accounts.
      */
     private void sendPunishmentInfo(CommandContext ctx, UUID targetId) {
         ctx.sendMessage(MessageFormatter.formatWithFallback(
@@ -299,6 +309,45 @@ public class HytalePlayerInfoCommand extends AbstractPlayerCommand {
             ctx.sendMessage(MessageFormatter.formatWithFallback(
                 configManager.getMessage("playerinfoWarningsNone"), "#FFFFFF"));
         }
+
+        // IP ban covering any address the player has connected from
+        IpBanService.IpBanEntry ipBan = ipBanService.getBanForPlayer(targetId);
+        if (ipBan != null) {
+            String reasonPart = ipBan.reason != null
+                ? configManager.getMessage("playerinfoPunishmentReason", "reason", ipBan.reason) : "";
+            ctx.sendMessage(MessageFormatter.formatWithFallback(
+                configManager.getMessage("playerinfoIpBanned", "ip", ipBan.ip, "by", ipBan.bannedBy, "reason", reasonPart), "#FFFFFF"));
+        } else {
+            ctx.sendMessage(MessageFormatter.formatWithFallback(
+                configManager.getMessage("playerinfoIpBannedNone"), "#FFFFFF"));
+        }
+
+        sendAltInfo(ctx, targetId);
+    }
+
+    /**
+     * Other accounts that have connected from one of the player's addresses.
+     */
+    private void sendAltInfo(CommandContext ctx, UUID targetId) {
+        if (!altAccountService.isReady()) {
+            ctx.sendMessage(MessageFormatter.formatWithFallback(
+                configManager.getMessage("playerinfoAltsIndexing"), "#FFFFFF"));
+            return;
+        }
+        Map<UUID, Set<String>> alts = altAccountService.findAlts(targetId);
+        if (alts.isEmpty()) {
+            ctx.sendMessage(MessageFormatter.formatWithFallback(
+                configManager.getMessage("playerinfoAltsNone"), "#FFFFFF"));
+            return;
+        }
+        int banned = 0;
+        for (UUID alt : alts.keySet()) {
+            if (banService.isBanned(alt) || tempBanService.isTempBanned(alt)) banned++;
+        }
+        ctx.sendMessage(MessageFormatter.formatWithFallback(
+            configManager.getMessage("playerinfoAlts", "count", String.valueOf(alts.size()),
+                "banned", String.valueOf(banned),
+                "players", altAccountService.describe(alts.keySet(), ALTS_SHOWN)), "#FFFFFF"));
     }
 
     /**
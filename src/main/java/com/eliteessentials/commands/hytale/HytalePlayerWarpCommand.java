@@ -13,6 +13,7 @@ import com.eliteessentials.services.CooldownService;
 import com.eliteessentials.services.CostService;
 import com.eliteessentials.services.PlayerWarpService;
 import com.eliteessentials.services.WarmupService;
+import com.eliteessentials.storage.PlayerWarpStorageProvider;
 import com.eliteessentials.util.CommandPermissionUtil;
 import com.eliteessentials.util.MessageFormatter;
 import com.eliteessentials.util.TeleportUtil;
@@ -56,6 +57,7 @@ import java.util.UUID;
 public class HytalePlayerWarpCommand extends AbstractPlayerCommand {
 
     private static final String COMMAND_NAME = "pwarp";
+    private static final int SUGGESTION_LIMIT = 5;
 
     private final PlayerWarpService playerWarpService;
     private final BackService backService;
@@ -102,7 +104,9 @@ public class HytalePlayerWarpCommand extends AbstractPlayerCommand {
         String subcommand = parts[1].toLowerCase();
 
         switch (subcommand) {
-            case "gui" -> handleGui(ctx, store, ref, player, world, configManager, config);
+            case "gui" -> handleGui(ctx, store, ref, player, world, configManager, config, PlayerWarpStorageProvider.Sort.NAME);
+            case "top" -> handleGui(ctx, store, ref, player, world, configManager, config, PlayerWarpStorageProvider.Sort.POPULAR);
+            case "trending" -> handleGui(ctx, store, ref, player, world, configManager, config, PlayerWarpStorageProvider.Sort.TRENDING);
             case "create" -> handleCreate(ctx, parts, player, world, store, ref, configManager, config);
             case "delete", "del", "remove" -> handleDelete(ctx, parts, player, configManager);
             case "list" -> handleList(ctx, player, configManager);
@@ -121,6 +125,10 @@ public class HytalePlayerWarpCommand extends AbstractPlayerCommand {
             Message.raw("/pwarp gui").color("#55FF55"),
             Message.raw(" - Open player warps GUI").color("#777777")
         ));
+        ctx.sendMessage(Message.join(
+            Message.raw("/pwarp top | trending").color("#55FF55"),
+            Message.raw(" - Most visited / trending warps").color("#777777")
+        ));
         ctx.sendMessage(Message.join(
             Message.raw("/pwarp <name>").color("#55FF55"),
             Message.raw(" - Teleport to a player warp").color("#777777")
@@ -156,7 +164,8 @@ public class HytalePlayerWarpCommand extends AbstractPlayerCommand {
     }
 
     private void handleGui(CommandContext ctx, Store<EntityStore> store, Ref<EntityStore> ref,
-                           PlayerRef player, World world, ConfigManager configManager, PluginConfig config) {
+                           PlayerRef player, World world, ConfigManager configManager, PluginConfig config,
+                           PlayerWarpStorageProvider.Sort sort) {
         if (!CommandPermissionUtil.canExecute(ctx, player, Permissions.PWARP_GUI, config.playerWarps.enabled)) {
             return;
         }
@@ -169,6 +178,9 @@ public class HytalePlayerWarpCommand extends AbstractPlayerCommand {
 
         PlayerWarpSelectionPage page = new PlayerWarpSelectionPage(
             player, playerWarpService, backService, configManager, world, ref, store);
+        if (sort != PlayerWarpStorageProvider.Sort.NAME) {
+            page.showRanking(sort);
+        }
         playerEntity.getPageManager().openCustomPage(ref, store, page);
     }
 
@@ -308,6 +320,17 @@ public class HytalePlayerWarpCommand extends AbstractPlayerCommand {
         }
     }
 
+    /**
+     * Suggest accessible warps whose names start with what the player typed.
+     */
+    private void sendSuggestions(CommandContext ctx, String typed, UUID playerId, ConfigManager configManager) {
+        List<String> names = playerWarpService.findWarpNames(typed, playerId, SUGGESTION_LIMIT);
+        if (!names.isEmpty()) {
+            ctx.sendMessage(MessageFormatter.formatWithFallback(
+                configManager.getMessage("pwarpSuggestions", "warps", String.join(", ", names)), "#AAAAAA"));
+        }
+    }
+
     private void handleInfo(CommandContext ctx, String[] parts, ConfigManager configManager) {
         if (parts.length < 3) {
             ctx.sendMessage(Message.raw("Usage: /pwarp info <name>").color("#FFAA00"));
@@ -335,6 +358,8 @@ public class HytalePlayerWarpCommand extends AbstractPlayerCommand {
             configManager.getMessage("pwarpInfoLocation", "world", loc.getWorld(),
                 "x", String.valueOf(loc.getBlockX()), "y", String.valueOf(loc.getBlockY()),
                 "z", String.valueOf(loc.getBlockZ())), "#AAAAAA"));
+        ctx.sendMessage(MessageFormatter.formatWithFallback(
+            configManager.getMessage("pwarpInfoVisits", "visits", String.valueOf(playerWarpService.getVisits(warp))), "#AAAAAA"));
     }
 
     private void handleSetDesc(CommandContext ctx, String[] parts, PlayerRef player, ConfigManager configManager) {
@@ -438,6 +463,7 @@ public class HytalePlayerWarpCommand extends AbstractPlayerCommand {
         if (warpOpt.isEmpty()) {
             ctx.sendMessage(MessageFormatter.formatWithFallback(
                 configManager.getMessage("pwarpNotFound", "name", warpName), "#FF5555"));
+            sendSuggestions(ctx, warpName, playerId, configManager);
             return;
         }
 
@@ -483,6 +509,7 @@ public class HytalePlayerWarpCommand extends AbstractPlayerCommand {
                 () -> {
                     if (finalCostService != null) finalCostService.charge(ctx, player, "pwarp", finalCost);
                     if (finalCooldown > 0) cooldownService.setCooldown(COMMAND_NAME, playerId, finalCooldown);
+                    playerWarpService.recordVisit(finalWarpName, playerId);
                     player.sendMessage(MessageFormatter.formatWithFallback(
                         configManager.getMessage("pwarpTeleported", "name", finalWarpName, "owner", finalOwnerName), "#55FF55"));
                 },
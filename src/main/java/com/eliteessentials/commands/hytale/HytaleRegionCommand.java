@@ -0,0 +1,367 @@
+package com.eliteessentials.commands.hytale;
+
+import com.eliteessentials.EliteEssentials;
+import com.eliteessentials.config.ConfigManager;
+import com.eliteessentials.model.ProtectedRegion;
+import com.eliteessentials.permissions.Permissions;
+import com.eliteessentials.services.SpawnProtectionService;
+import com.eliteessentials.util.CommandPermissionUtil;
+import com.eliteessentials.util.MessageFormatter;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Command: /region <subcommand> [args...]
+ * Create, edit and remove protected regions.
+ *
+ * Usage:
+ * - /region pos1 | pos2 - Mark the corners of a cuboid at your position
+ * - /region create <name> - Create a cuboid region from the marked corners
+ * - /region cylinder <name> <radius> [minY] [maxY] - Create a cylinder around your position
+ * - /region flag <name> <flag> <allow|deny|clear> - Set or clear a flag override
+ * - /region priority <name> <number> - Set the region priority
+ * - /region bypass <name> <permission|clear> - Set the permission that bypasses the region
+ * - /region delete <name> - Delete a region
+ * - /region list - List regions
+ * - /region info <name> - Show region details
+ *
+ * Permission: eliteessentials.admin.region (OP only in simple mode)
+ */
+public class HytaleRegionCommand extends AbstractPlayerCommand {
+
+    private static final String COMMAND_NAME = "region";
+    private static final int MAX_NAME_LENGTH = 32;
+    private static final double BLOCK_EDGE = 0.999;
+
+    private final SpawnProtectionService regionService;
+
+    // Player -> marked corners [pos1, pos2] and the world they were marked in
+    private final Map<UUID, Selection> selections = new ConcurrentHashMap<>();
+
+    public HytaleRegionCommand(SpawnProtectionService regionService) {
+        super(COMMAND_NAME, "Manage protected regions");
+        this.regionService = regionService;
+        addAliases("rg");
+        setAllowsExtraArguments(true);
+    }
+
+    @Override
+    protected boolean canGeneratePermission() {
+        return false;
+    }
+
+    @Override
+    protected void execute(@Nonnull CommandContext ctx, @Nonnull Store<EntityStore> store, @Nonnull Ref<EntityStore> ref,
+                          @Nonnull PlayerRef player, @Nonnull World world) {
+        if (!CommandPermissionUtil.canExecuteAdmin(ctx, player, Permissions.ADMIN_REGION, true)) {
+            return;
+        }
+
+        String[] parts = ctx.getInputString().trim().split("\\s+");
+        if (parts.length < 2) {
+            showUsage(ctx);
+            return;
+        }
+
+        switch (parts[1].toLowerCase()) {
+            case "pos1" -> handlePos(ctx, store, ref, player, world, 0);
+            case "pos2" -> handlePos(ctx, store, ref, player, world, 1);
+            case "create" -> handleCreate(ctx, parts, player, world);
+            case "cylinder" -> handleCylinder(ctx, parts, store, ref, world);
+            case "flag" -> handleFlag(ctx, parts);
+            case "priority" -> handlePriority(ctx, parts);
+            case "bypass" -> handleBypass(ctx, parts);
+            case "delete", "remove", "del" -> handleDelete(ctx, parts);
+            case "list" -> handleList(ctx);
+            case "info" -> handleInfo(ctx, parts);
+            default -> showUsage(ctx);
+        }
+    }
+
+    private void handlePos(CommandContext ctx, Store<EntityStore> store, Ref<EntityStore> ref,
+                           PlayerRef player, World world, int corner) {
+        Vector3d pos = getPosition(ctx, store, ref);
+        if (pos == null) return;
+
+        Selection selection = selections.compute(player.getUuid(), (id, old) ->
+                old != null && old.world.equals(world.getName()) ? old : new Selection(world.getName()));
+        selection.corners[corner] = new double[]{Math.floor(pos.getX()), Math.floor(pos.getY()), Math.floor(pos.getZ())};
+        ctx.sendMessage(Message.raw("Corner " + (corner + 1) + " set to " + formatPoint(selection.corners[corner])
+                + " in " + selection.world + ".").color("#55FF55"));
+    }
+
+    private void handleCreate(CommandContext ctx, String[] parts, PlayerRef player, World world) {
+        if (parts.length < 3) {
+            ctx.sendMessage(Message.raw("Usage: /region create <name> (after /region pos1 and /region pos2)").color("#FFAA00"));
+            return;
+        }
+        String name = validateNewName(ctx, parts[2]);
+        if (name == null) return;
+
+        Selection selection = selections.get(player.getUuid());
+        if (selection == null || selection.corners[0] == null || selection.corners[1] == null
+                || !selection.world.equals(world.getName())) {
+            ctx.sendMessage(Message.raw("Mark both corners in this world first with /region pos1 and /region pos2.").color("#FF5555"));
+            return;
+        }
+        double[] a = selection.corners[0];
+        double[] b = selection.corners[1];
+        // Bounds are inclusive and block checks use integer positions, so stretch the far
+        // corner to the edge of its block without reaching the next one
+        ProtectedRegion region = ProtectedRegion.cuboid(name, selection.world,
+                Math.min(a[0], b[0]), Math.min(a[1], b[1]), Math.min(a[2], b[2]),
+                Math.max(a[0], b[0]) + BLOCK_EDGE, Math.max(a[1], b[1]) + BLOCK_EDGE, Math.max(a[2], b[2]) + BLOCK_EDGE);
+        regionService.saveRegion(region);
+        selections.remove(player.getUuid());
+        ctx.sendMessage(Message.raw("Region '" + region.getName() + "' created. It has no flags yet; add some with /region flag.").color("#55FF55"));
+    }
+
+    private void handleCylinder(CommandContext ctx, String[] parts, Store<EntityStore> store, Ref<EntityStore> ref, World world) {
+        if (parts.length < 4) {
+            ctx.sendMessage(Message.raw("Usage: /region cylinder <name> <radius> [minY] [maxY]").color("#FFAA00"));
+            return;
+        }
+        String name = validateNewName(ctx, parts[2]);
+        if (name == null) return;
+
+        Double radius = parseNumber(ctx, parts[3]);
+        Double minY = parts.length > 4 ? parseNumber(ctx, parts[4]) : null;
+        Double maxY = parts.length > 5 ? parseNumber(ctx, parts[5]) : null;
+        if (radius == null || (parts.length > 4 && minY == null) || (parts.length > 5 && maxY == null)) return;
+        if (radius <= 0) {
+            ctx.sendMessage(Message.raw("Radius must be positive.").color("#FF5555"));
+            return;
+        }
+        if (minY != null && maxY != null && minY > maxY) {
+            double swap = minY;
+            minY = maxY;
+            maxY = swap;
+        }
+
+        Vector3d pos = getPosition(ctx, store, ref);
+        if (pos == null) return;
+        ProtectedRegion region = ProtectedRegion.cylinder(name, world.getName(), pos.getX(), pos.getZ(), radius, minY, maxY);
+        regionService.saveRegion(region);
+        ctx.sendMessage(Message.raw("Region '" + region.getName() + "' created. It has no flags yet; add some with /region flag.").color("#55FF55"));
+    }
+
+    private void handleFlag(CommandContext ctx, String[] parts) {
+        if (parts.length < 5) {
+            ctx.sendMessage(Message.raw("Usage: /region flag <name> <flag> <allow|deny|clear>").color("#FFAA00"));
+            ctx.sendMessage(Message.raw("Flags: " + flagNames()).color("#AAAAAA"));
+            return;
+        }
+        ProtectedRegion region = findRegion(ctx, parts[2]);
+        if (region == null) return;
+
+        ProtectedRegion.Flag flag;
+        try {
+            flag = ProtectedRegion.Flag.valueOf(parts[3].toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            ctx.sendMessage(Message.raw("Unknown flag '" + parts[3] + "'. Flags: " + flagNames()).color("#FF5555"));
+            return;
+        }
+
+        switch (parts[4].toLowerCase()) {
+            case "allow" -> region.setFlag(flag, true);
+            case "deny" -> region.setFlag(flag, false);
+            case "clear" -> region.clearFlag(flag);
+            default -> {
+                ctx.sendMessage(Message.raw("Value must be allow, deny or clear.").color("#FF5555"));
+                return;
+            }
+        }
+        regionService.saveRegion(region);
+        ctx.sendMessage(Message.raw("Region '" + region.getName() + "': " + flag + " is now " + parts[4].toLowerCase() + ".").color("#55FF55"));
+    }
+
+    private void handlePriority(CommandContext ctx, String[] parts) {
+        if (parts.length < 4) {
+            ctx.sendMessage(Message.raw("Usage: /region priority <name> <number>").color("#FFAA00"));
+            return;
+        }
+        ProtectedRegion region = findRegion(ctx, parts[2]);
+        if (region == null) return;
+        int priority;
+        try {
+            priority = Integer.parseInt(parts[3]);
+        } catch (NumberFormatException e) {
+            ctx.sendMessage(Message.raw("Priority must be a whole number.").color("#FF5555"));
+            return;
+        }
+        region.setPriority(priority);
+        regionService.saveRegion(region);
+        ctx.sendMessage(Message.raw("Region '" + region.getName() + "' priority set to " + priority + ".").color("#55FF55"));
+    }
+
+    private void handleBypass(CommandContext ctx, String[] parts) {
+        if (parts.length < 4) {
+            ctx.sendMessage(Message.raw("Usage: /region bypass <name> <permission|clear>").color("#FFAA00"));
+            return;
+        }
+        ProtectedRegion region = findRegion(ctx, parts[2]);
+        if (region == null) return;
+        boolean clear = "clear".equalsIgnoreCase(parts[3]);
+        region.setBypassPermission(clear ? null : parts[3]);
+        regionService.saveRegion(region);
+        ctx.sendMessage(Message.raw(clear
+                ? "Region '" + region.getName() + "' now uses the spawn protection bypass permission."
+                : "Region '" + region.getName() + "' bypass permission set to " + parts[3] + ".").color("#55FF55"));
+    }
+
+    private void handleDelete(CommandContext ctx, String[] parts) {
+        if (parts.length < 3) {
+            ctx.sendMessage(Message.raw("Usage: /region delete <name>").color("#FFAA00"));
+            return;
+        }
+        if (regionService.deleteRegion(parts[2])) {
+            ctx.sendMessage(Message.raw("Region '" + ProtectedRegion.normalizeName(parts[2]) + "' deleted.").color("#55FF55"));
+        } else {
+            ctx.sendMessage(Message.raw("No region named '" + parts[2] + "'.").color("#FF5555"));
+        }
+    }
+
+    private void handleList(CommandContext ctx) {
+        Map<String, ProtectedRegion> regions = regionService.getRegions();
+        ctx.sendMessage(Message.raw("=== Protected Regions (" + regions.size() + ") ===").color("#55FFFF"));
+        if (regions.isEmpty()) {
+            ctx.sendMessage(Message.raw("  None. Create one with /region pos1, /region pos2, /region create <name>.").color("#AAAAAA"));
+            return;
+        }
+        List<ProtectedRegion> sorted = new ArrayList<>(regions.values());
+        sorted.sort(Comparator.comparing(ProtectedRegion::getWorld, Comparator.nullsLast(String::compareTo))
+                .thenComparing(ProtectedRegion::getName));
+        for (ProtectedRegion region : sorted) {
+            ctx.sendMessage(Message.join(
+                Message.raw("  " + region.getName()).color("#FFFFFF"),
+                Message.raw(" [" + region.getShape().name().toLowerCase() + ", priority " + region.getPriority() + "]").color("#AAAAAA"),
+                Message.raw(" - " + region.getWorld()).color("#777777")
+            ));
+        }
+    }
+
+    private void handleInfo(CommandContext ctx, String[] parts) {
+        if (parts.length < 3) {
+            ctx.sendMessage(Message.raw("Usage: /region info <name>").color("#FFAA00"));
+            return;
+        }
+        ProtectedRegion region = findRegion(ctx, parts[2]);
+        if (region == null) return;
+
+        ctx.sendMessage(Message.raw("=== Region: " + region.getName() + " ===").color("#55FFFF"));
+        ctx.sendMessage(Message.raw("  World: " + region.getWorld()).color("#CCCCCC"));
+        if (region.getShape() == ProtectedRegion.Shape.CYLINDER) {
+            ctx.sendMessage(Message.raw(String.format("  Cylinder: center %.1f, %.1f, radius %.1f",
+                    region.getCenterX(), region.getCenterZ(), region.getRadius())).color("#CCCCCC"));
+        } else {
+            ctx.sendMessage(Message.raw(String.format("  Cuboid: X %.1f to %.1f, Z %.1f to %.1f",
+                    region.getMinX(), region.getMaxX(), region.getMinZ(), region.getMaxZ())).color("#CCCCCC"));
+        }
+        ctx.sendMessage(Message.raw("  Y: " + (region.getMinY() != null ? region.getMinY() : "any")
+                + " to " + (region.getMaxY() != null ? region.getMaxY() : "any")).color("#CCCCCC"));
+        ctx.sendMessage(Message.raw("  Priority: " + region.getPriority()).color("#CCCCCC"));
+        ctx.sendMessage(Message.raw("  Flags: " + (region.getFlags().isEmpty() ? "none" : describeFlags(region))).color("#CCCCCC"));
+        ctx.sendMessage(Message.raw("  Bypass: " + (region.getBypassPermission() != null
+                ? region.getBypassPermission() : Permissions.SPAWN_PROTECTION_BYPASS)).color("#CCCCCC"));
+    }
+
+    private void showUsage(CommandContext ctx) {
+        ctx.sendMessage(Message.raw("=== Protected Regions ===").color("#55FFFF"));
+        ctx.sendMessage(Message.raw("  /region pos1 | pos2 - Mark cuboid corners at your position").color("#AAAAAA"));
+        ctx.sendMessage(Message.raw("  /region create <name> - Create a cuboid from the marked corners").color("#AAAAAA"));
+        ctx.sendMessage(Message.raw("  /region cylinder <name> <radius> [minY] [maxY] - Create a cylinder here").color("#AAAAAA"));
+        ctx.sendMessage(Message.raw("  /region flag <name> <flag> <allow|deny|clear>").color("#AAAAAA"));
+        ctx.sendMessage(Message.raw("  /region priority <name> <number>").color("#AAAAAA"));
+        ctx.sendMessage(Message.raw("  /region bypass <name> <permission|clear>").color("#AAAAAA"));
+        ctx.sendMessage(Message.raw("  /region delete <name>").color("#AAAAAA"));
+        ctx.sendMessage(Message.raw("  /region list | info <name>").color("#AAAAAA"));
+    }
+
+    // ==================== Helpers ====================
+
+    private Vector3d getPosition(CommandContext ctx, Store<EntityStore> store, Ref<EntityStore> ref) {
+        TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
+        if (transform == null) {
+            ConfigManager configManager = EliteEssentials.getInstance().getConfigManager();
+            ctx.sendMessage(MessageFormatter.formatWithFallback(configManager.getMessage("couldNotGetPosition"), "#FF5555"));
+            return null;
+        }
+        return transform.getPosition();
+    }
+
+    /**
+     * The normalized name if it is valid and not taken, otherwise null (after telling the sender why).
+     */
+    private String validateNewName(CommandContext ctx, String raw) {
+        String name = ProtectedRegion.normalizeName(raw);
+        if (name.isEmpty() || name.length() > MAX_NAME_LENGTH || !name.matches("[a-z0-9_-]+")) {
+            ctx.sendMessage(Message.raw("Region names use letters, numbers, _ and - (max " + MAX_NAME_LENGTH + ").").color("#FF5555"));
+            return null;
+        }
+        if (regionService.getRegion(name).isPresent()) {
+            ctx.sendMessage(Message.raw("Region '" + name + "' already exists. Delete it first to redefine it.").color("#FF5555"));
+            return null;
+        }
+        return name;
+    }
+
+    private ProtectedRegion findRegion(CommandContext ctx, String name) {
+        Optional<ProtectedRegion> region = regionService.getRegion(name);
+        if (region.isEmpty()) {
+            ctx.sendMessage(Message.raw("No region named '" + name + "'.").color("#FF5555"));
+            return null;
+        }
+        return region.get();
+    }
+
+    private static Double parseNumber(CommandContext ctx, String text) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            ctx.sendMessage(Message.raw("'" + text + "' is not a number.").color("#FF5555"));
+            return null;
+        }
+    }
+
+    private static String describeFlags(ProtectedRegion region) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<ProtectedRegion.Flag, Boolean> entry : new TreeMap<>(region.getFlags()).entrySet()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(entry.getKey()).append('=').append(entry.getValue() ? "allow" : "deny");
+        }
+        return sb.toString();
+    }
+
+    private static String flagNames() {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (ProtectedRegion.Flag flag : ProtectedRegion.Flag.values()) {
+            joiner.add(flag.name().toLowerCase());
+        }
+        return joiner.toString();
+    }
+
+    private static String formatPoint(double[] point) {
+        return (int) point[0] + ", " + (int) point[1] + ", " + (int) point[2];
+    }
+
+    private static final class Selection {
+        final String world;
+        final double[][] corners = new double[2][];
+
+        Selection(String world) {
+            this.world = world;
+        }
+    }
+}
@@ -3,9 +3,14 @@ package com.eliteessentials.commands.hytale;
 import com.eliteessentials.EliteEssentials;
 import com.eliteessentials.commands.args.SimpleStringArg;
 import com.eliteessentials.config.ConfigManager;
+import com.eliteessentials.gui.components.UiPayloadStats;
 import com.eliteessentials.permissions.PermissionService;
 import com.eliteessentials.permissions.Permissions;
+import com.eliteessentials.services.AltAccountService;
+import com.eliteessentials.services.ChunkLoadBudget;
 import com.eliteessentials.services.GroupSyncService;
+import com.eliteessentials.services.RtpLocationPool;
+import com.eliteessentials.services.TpaService;
 import com.eliteessentials.util.MessageFormatter;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
@@ -13,6 +18,9 @@ import com.hypixel.hytale.server.core.command.system.arguments.system.RequiredAr
 import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
 
 import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Command: /eliteessentials <action>
@@ -21,6 +29,10 @@ import javax.annotation.Nonnull;
  * Actions:
  * - reload: Reload configuration
  * - groupsync [ee-to-lp|lp-to-ee]: Sync groups between LuckPerms and EE config
+ * - rtppool: Show RTP location pool depth, hit rate and refill cost
+ * - tpastats: Show active, accepted, denied and expired TPA request counts
+ * - uistats: Show average GUI list update size against a full rebuild
+ * - alts [rebuild|ip|cidr|range]: Alt-account index size, a rebuild, or who used an address
  * - migration: See /eemigration for migration commands
  *
  * Permissions:
@@ -29,6 +41,8 @@ import javax.annotation.Nonnull;
  */
 public class HytaleReloadCommand extends CommandBase {
 
+    private static final int ALTS_SHOWN = 30;
+
     private final RequiredArg<String> actionArg;
 
     public HytaleReloadCommand() {
@@ -39,7 +53,7 @@ public class HytaleReloadCommand extends CommandBase {
 
         setAllowsExtraArguments(true);
 
-        this.actionArg = withRequiredArg("action", "Action (reload, groupsync, migration)", SimpleStringArg.ACTION);
+        this.actionArg = withRequiredArg("action", "Action (reload, groupsync, migration, rtppool, tpastats, uistats, alts)", SimpleStringArg.ACTION);
     }
 
     @Override
@@ -56,7 +70,7 @@ public class HytaleReloadCommand extends CommandBase {
             return;
         }
 
-        // reload and migration use ADMIN_RELOAD
+        // reload, migration and the stats actions use ADMIN_RELOAD
         PermissionService perms = PermissionService.get();
         if (!perms.canUseAdminCommand(ctx.sender(), Permissions.ADMIN_RELOAD, true)) {
             ctx.sendMessage(MessageFormatter.formatWithFallback(EliteEssentials.getInstance().getConfigManager().getMessage("noPermission"), "#FF5555"));
@@ -65,6 +79,14 @@ public class HytaleReloadCommand extends CommandBase {
 
         if ("reload".equalsIgnoreCase(action)) {
             handleReload(ctx);
+        } else if ("rtppool".equalsIgnoreCase(action)) {
+            handleRtpPool(ctx);
+        } else if ("tpastats".equalsIgnoreCase(action)) {
+            handleTpaStats(ctx);
+        } else if ("uistats".equalsIgnoreCase(action)) {
+            handleUiStats(ctx);
+        } else if ("alts".equalsIgnoreCase(action)) {
+            handleAlts(ctx);
         } else if ("migration".equalsIgnoreCase(action)) {
             ctx.sendMessage(Message.raw("Usage: /eemigration <source> [force]").color("#FFAA00"));
             ctx.sendMessage(Message.raw("  essentialscore - Import warps, spawn, kits, homes, and cooldowns from EssentialsCore").color("#AAAAAA"));
@@ -75,8 +97,102 @@ public class HytaleReloadCommand extends CommandBase {
             ctx.sendMessage(Message.raw("  cleanup - Move migrated JSON files into backup/ folder").color("#AAAAAA"));
             ctx.sendMessage(Message.raw("  force - Add after source to overwrite existing data").color("#AAAAAA"));
         } else {
-            ctx.sendMessage(Message.raw("Unknown action. Available: reload, groupsync, migration").color("#FF5555"));
+            ctx.sendMessage(Message.raw("Unknown action. Available: reload, groupsync, migration, rtppool, tpastats, uistats, alts").color("#FF5555"));
+        }
+    }
+
+    private void handleRtpPool(CommandContext ctx) {
+        RtpLocationPool pool = EliteEssentials.getInstance().getRtpLocationPool();
+        if (pool == null || !pool.isRunning()) {
+            ctx.sendMessage(Message.raw("RTP location pool is disabled.").color("#FFAA00"));
+            return;
+        }
+
+        ctx.sendMessage(Message.raw("=== RTP Location Pool ===").color("#55FFFF"));
+        Map<String, Integer> depths = pool.getPoolDepths();
+        if (depths.isEmpty()) {
+            ctx.sendMessage(Message.raw("  No warm worlds yet (a world is warmed by its first /rtp).").color("#AAAAAA"));
+        }
+        int target = EliteEssentials.getInstance().getConfigManager().getConfig().rtp.poolSize;
+        for (Map.Entry<String, Integer> entry : depths.entrySet()) {
+            ctx.sendMessage(Message.raw("  " + entry.getKey() + ": " + entry.getValue() + "/" + target + " ready").color("#CCCCCC"));
+        }
+        ctx.sendMessage(Message.raw(String.format("  Hit rate: %.1f%% (%d hits, %d misses)",
+                pool.getHitRate() * 100, pool.getHits(), pool.getMisses())).color("#CCCCCC"));
+        ctx.sendMessage(Message.raw(String.format("  Refills: %d/%d accepted, %.2f ms avg world-thread cost, %d invalidated",
+                pool.getRefillSuccesses(), pool.getRefillAttempts(), pool.getAverageRefillMs(), pool.getInvalidated())).color("#CCCCCC"));
+        ChunkLoadBudget budget = EliteEssentials.getInstance().getRtpService().getChunkLoadBudget();
+        ctx.sendMessage(Message.raw("  Chunk loads: " + budget.getInUse() + "/" + budget.getCapacity()
+                + " in flight, " + budget.getWaiting() + " search(es) waiting").color("#CCCCCC"));
+    }
+
+    private void handleTpaStats(CommandContext ctx) {
+        TpaService tpaService = EliteEssentials.getInstance().getTpaService();
+        ctx.sendMessage(Message.raw("=== TPA Requests ===").color("#55FFFF"));
+        ctx.sendMessage(Message.raw("  Active: " + tpaService.getActiveCount()).color("#CCCCCC"));
+        ctx.sendMessage(Message.raw("  Since startup: " + tpaService.getCreatedCount() + " sent, "
+                + tpaService.getAcceptedCount() + " accepted, " + tpaService.getDeniedCount() + " denied, "
+                + tpaService.getExpiredCount() + " expired").color("#CCCCCC"));
+    }
+
+    private void handleUiStats(CommandContext ctx) {
+        Map<String, UiPayloadStats.Snapshot> stats = UiPayloadStats.snapshot();
+        ctx.sendMessage(Message.raw("=== GUI List Updates ===").color("#55FFFF"));
+        if (stats.isEmpty()) {
+            ctx.sendMessage(Message.raw("  No list updates since startup.").color("#CCCCCC"));
+            return;
+        }
+        for (Map.Entry<String, UiPayloadStats.Snapshot> entry : stats.entrySet()) {
+            UiPayloadStats.Snapshot s = entry.getValue();
+            long saved = s.bytesFull() > 0 ? Math.round(100.0 * (s.bytesFull() - s.bytesSent()) / s.bytesFull()) : 0;
+            ctx.sendMessage(Message.raw(String.format("  %s: %d updates, avg %.0f bytes (full rebuild %.0f, %d%% saved)",
+                    entry.getKey(), s.renders(), s.averageSent(), s.averageFull(), saved)).color("#CCCCCC"));
+        }
+    }
+
+    private void handleAlts(CommandContext ctx) {
+        AltAccountService altService = EliteEssentials.getInstance().getAltAccountService();
+        if (altService == null) {
+            ctx.sendMessage(Message.raw("Alt-account index is not running.").color("#FFAA00"));
+            return;
+        }
+
+        // Parse: /ee alts [rebuild|<ip|cidr|range>]
+        String[] parts = ctx.getInputString().split("\\s+");
+        if (parts.length >= 3 && "rebuild".equalsIgnoreCase(parts[2])) {
+            ctx.sendMessage(Message.raw("Rebuilding alt-account index from player storage...").color("#AAAAAA"));
+            altService.rebuild().whenComplete((stats, error) -> {
+                if (error != null) {
+                    ctx.sendMessage(Message.raw("Alt-account index rebuild failed: " + error.getMessage()).color("#FF5555"));
+                } else {
+                    sendAltStats(ctx, stats);
+                }
+            });
+            return;
+        }
+        if (parts.length >= 3) {
+            Set<UUID> players = altService.getPlayersInRange(parts[2]);
+            if (players == null) {
+                ctx.sendMessage(Message.raw("Not an IP address, CIDR network or start-end range: " + parts[2]).color("#FF5555"));
+                return;
+            }
+            ctx.sendMessage(Message.raw("=== Players seen on " + parts[2] + " ===").color("#55FFFF"));
+            ctx.sendMessage(Message.raw(players.isEmpty() ? "  None" : "  " + players.size() + ": "
+                    + altService.describe(players, ALTS_SHOWN)).color("#CCCCCC"));
+            return;
+        }
+        sendAltStats(ctx, altService.getStats());
+    }
+
+    private static void sendAltStats(CommandContext ctx, AltAccountService.Stats stats) {
+        ctx.sendMessage(Message.raw("=== Alt-Account Index ===").color("#55FFFF"));
+        if (!stats.ready()) {
+            ctx.sendMessage(Message.raw("  Still building...").color("#FFAA00"));
         }
+        ctx.sendMessage(Message.raw("  " + stats.players() + " players, " + stats.ips() + " addresses, "
+                + stats.pairs() + " player/address pairs").color("#CCCCCC"));
+        String saved = stats.snapshotBytes() > 0 ? String.format(", snapshot %.1f KB", stats.snapshotBytes() / 1024.0) : "";
+        ctx.sendMessage(Message.raw("  Built from " + stats.source() + " in " + stats.buildMs() + " ms" + saved).color("#CCCCCC"));
     }
 
     private void handleGroupSync(CommandContext ctx) {
@@ -6,6 +6,8 @@ import com.eliteessentials.model.Location;
 import com.eliteessentials.permissions.Permissions;
 import com.eliteessentials.permissions.PermissionService;
 import com.eliteessentials.services.BackService;
+import com.eliteessentials.services.RtpLocationPool;
+import com.eliteessentials.services.RtpSearch;
 import com.eliteessentials.services.RtpService;
 import com.eliteessentials.services.WarmupService;
 import com.eliteessentials.util.CommandPermissionUtil;
@@ -15,13 +17,9 @@ import com.eliteessentials.util.TeleportUtil;
 import com.eliteessentials.util.WorldBlacklistUtil;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
-import com.hypixel.hytale.math.util.ChunkUtil;
-import com.hypixel.hytale.math.util.MathUtil;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3f;
-import com.hypixel.hytale.protocol.BlockMaterial;
 import com.hypixel.hytale.server.core.Message;
-import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.basecommands.CommandBase;
 import com.hypixel.hytale.server.core.entity.entities.Player;
@@ -30,12 +28,9 @@ import com.hypixel.hytale.server.core.modules.entity.component.TransformComponen
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
-import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
-import java.lang.reflect.Method;
 import java.util.UUID;
-import java.util.Random;
 import java.util.logging.Logger;
 
 import javax.annotation.Nonnull;
@@ -370,7 +365,7 @@ public class HytaleRtpCommand extends CommandBase {
         double centerZ = 1.0;
         
         // Search for safe location and teleport
-        tryNextLocationCrossWorld(ctx, player, targetWorld, playerId, centerX, centerZ, rtpConfig, 0, isAdminRtp);
+        findAndTeleportCrossWorld(ctx, player, targetWorld, playerId, centerX, centerZ, rtpConfig, isAdminRtp);
     }
 
     
@@ -378,269 +373,88 @@ public class HytaleRtpCommand extends CommandBase {
                                   PlayerRef player, World world, UUID playerId, 
                                   double centerX, double centerZ, Location currentLoc,
                                   PluginConfig.RtpConfig rtpConfig, boolean isAdminRtp) {
-        
-        // Start the async search
-        tryNextLocation(ctx, store, ref, player, world, playerId, centerX, centerZ, currentLoc, rtpConfig, 0, isAdminRtp);
-    }
-    
-    private void tryNextLocation(CommandContext ctx, Store<EntityStore> store, Ref<EntityStore> ref,
-                                  PlayerRef player, World world, UUID playerId, 
-                                  double centerX, double centerZ, Location currentLoc,
-                                  PluginConfig.RtpConfig rtpConfig, int attempt, boolean isAdminRtp) {
-        
-        int maxAttempts = rtpConfig.maxAttempts;
         boolean debug = configManager.isDebugEnabled();
         
-        if (attempt >= maxAttempts) {
-            ctx.sendMessage(MessageFormatter.formatWithFallback(configManager.getMessage("rtpFailed", "attempts", String.valueOf(maxAttempts)), "#FF5555"));
+        // Serve from the pre-validated pool when possible (we're on the world thread)
+        RtpLocationPool.PooledLocation pooled = takePooledLocation(world, true);
+        if (pooled != null) {
             if (debug) {
-                logger.info("[RTP] Failed after " + maxAttempts + " attempts - no safe location found");
+                logger.info("[RTP] Serving pooled location " + String.format("%.1f, %.1f, %.1f", pooled.getX(), pooled.getY(), pooled.getZ()));
             }
+            executeTeleport(ctx, player, world, playerId, currentLoc, rtpConfig, pooled.getX(), pooled.getY(), pooled.getZ(), isAdminRtp);
             return;
         }
         
-        // Get world-specific range
-        var worldRange = rtpConfig.getRangeForWorld(world.getName());
-        
-        if (attempt == 0 && debug) {
-            logger.info("[RTP] Starting search: minRange=" + worldRange.minRange + ", maxRange=" + worldRange.maxRange + 
-                       ", world=" + world.getName() + ", center=" + String.format("%.1f, %.1f", centerX, centerZ));
-        }
-        
-        Random random = new Random();
-        double angle = random.nextDouble() * 2 * Math.PI;
-        double distance = worldRange.minRange + random.nextDouble() * (worldRange.maxRange - worldRange.minRange);
-        double targetX = centerX + Math.cos(angle) * distance;
-        double targetZ = centerZ + Math.sin(angle) * distance;
+        logSearchStart(world, centerX, centerZ, rtpConfig);
         
-        if (debug) {
-            logger.info("[RTP] Attempt " + (attempt + 1) + "/" + maxAttempts + ": trying " + 
-                       String.format("%.1f, %.1f", targetX, targetZ) + 
-                       " (distance: " + String.format("%.0f", distance) + 
-                       ", angle: " + String.format("%.1f", Math.toDegrees(angle)) + "°)");
-        }
-        
-        long chunkIndex = ChunkUtil.indexChunkFromBlock(targetX, targetZ);
-        
-        // Check if already loaded first (fast path)
-        WorldChunk chunk = world.getChunkIfLoaded(chunkIndex);
-        if (chunk == null) {
-            chunk = world.getChunkIfInMemory(chunkIndex);
-        }
-        
-        if (chunk != null) {
-            if (debug) {
-                logger.info("[RTP] Chunk already loaded, processing immediately");
+        // Already on the world thread, so the search can start right away
+        rtpService.createSearch(centerX, centerZ, world, new RtpSearch.Callback() {
+            @Override
+            public void onFound(double x, double y, double z) {
+                executeTeleport(ctx, player, world, playerId, currentLoc, rtpConfig, x, y, z, isAdminRtp);
             }
-            processChunk(ctx, store, ref, player, world, playerId, centerX, centerZ, 
-                        currentLoc, rtpConfig, attempt, targetX, targetZ, chunk, isAdminRtp);
-        } else {
-            if (debug) {
-                logger.info("[RTP] Chunk not loaded, loading asynchronously...");
-            }
-            
-            final int currentAttempt = attempt;
-            final double finalTargetX = targetX;
-            final double finalTargetZ = targetZ;
             
-            world.getChunkAsync(chunkIndex).whenComplete((loadedChunk, error) -> {
-                if (error != null || loadedChunk == null) {
-                    if (debug) {
-                        logger.info("[RTP] Failed to load chunk: " + (error != null ? error.getMessage() : "null"));
-                    }
-                    world.execute(() -> {
-                        tryNextLocation(ctx, store, ref, player, world, playerId, centerX, centerZ, 
-                                       currentLoc, rtpConfig, currentAttempt + 1, isAdminRtp);
-                    });
-                } else {
-                    if (debug) {
-                        logger.info("[RTP] Chunk loaded successfully");
-                    }
-                    world.execute(() -> {
-                        processChunk(ctx, store, ref, player, world, playerId, centerX, centerZ, 
-                                    currentLoc, rtpConfig, currentAttempt, finalTargetX, finalTargetZ, loadedChunk, isAdminRtp);
-                    });
-                }
-            });
-        }
+            @Override
+            public void onFailed(int candidatesTried) {
+                sendSearchFailed(ctx, rtpConfig, candidatesTried);
+            }
+        }).start();
     }
     
     /**
-     * Cross-world version of tryNextLocation - doesn't require store/ref.
+     * Cross-world version of findAndTeleport - doesn't require store/ref.
+     * Runs the search on the target world's thread.
      */
-    private void tryNextLocationCrossWorld(CommandContext ctx, PlayerRef player, World world, UUID playerId, 
+    private void findAndTeleportCrossWorld(CommandContext ctx, PlayerRef player, World world, UUID playerId, 
                                             double centerX, double centerZ, PluginConfig.RtpConfig rtpConfig, 
-                                            int attempt, boolean isAdminRtp) {
-        
-        int maxAttempts = rtpConfig.maxAttempts;
-        boolean debug = configManager.isDebugEnabled();
-        
-        if (attempt >= maxAttempts) {
-            ctx.sendMessage(MessageFormatter.formatWithFallback(configManager.getMessage("rtpFailed", "attempts", String.valueOf(maxAttempts)), "#FF5555"));
-            return;
-        }
-        
-        // Get world-specific range
-        var worldRange = rtpConfig.getRangeForWorld(world.getName());
-        
-        Random random = new Random();
-        double angle = random.nextDouble() * 2 * Math.PI;
-        double distance = worldRange.minRange + random.nextDouble() * (worldRange.maxRange - worldRange.minRange);
-        double targetX = centerX + Math.cos(angle) * distance;
-        double targetZ = centerZ + Math.sin(angle) * distance;
-        
-        long chunkIndex = ChunkUtil.indexChunkFromBlock(targetX, targetZ);
-        
-        WorldChunk chunk = world.getChunkIfLoaded(chunkIndex);
-        if (chunk == null) {
-            chunk = world.getChunkIfInMemory(chunkIndex);
-        }
-        
-        if (chunk != null) {
-            processChunkCrossWorld(ctx, player, world, playerId, centerX, centerZ, rtpConfig, attempt, targetX, targetZ, chunk, isAdminRtp);
-        } else {
-            final int currentAttempt = attempt;
-            final double finalTargetX = targetX;
-            final double finalTargetZ = targetZ;
-            
-            world.getChunkAsync(chunkIndex).whenComplete((loadedChunk, error) -> {
-                if (error != null || loadedChunk == null) {
-                    world.execute(() -> {
-                        tryNextLocationCrossWorld(ctx, player, world, playerId, centerX, centerZ, rtpConfig, currentAttempt + 1, isAdminRtp);
-                    });
-                } else {
-                    world.execute(() -> {
-                        processChunkCrossWorld(ctx, player, world, playerId, centerX, centerZ, rtpConfig, currentAttempt, finalTargetX, finalTargetZ, loadedChunk, isAdminRtp);
-                    });
-                }
-            });
-        }
-    }
-    
-    private void processChunk(CommandContext ctx, Store<EntityStore> store, Ref<EntityStore> ref,
-                               PlayerRef player, World world, UUID playerId,
-                               double centerX, double centerZ, Location currentLoc,
-                               PluginConfig.RtpConfig rtpConfig, int attempt,
-                               double targetX, double targetZ, WorldChunk chunk, boolean isAdminRtp) {
+                                            boolean isAdminRtp) {
         boolean debug = configManager.isDebugEnabled();
-        int blockX = MathUtil.floor(targetX);
-        int blockZ = MathUtil.floor(targetZ);
-        
-        Integer groundY = findHighestSolidBlock(chunk, blockX, blockZ, rtpConfig.minSurfaceY);
         
-        if (groundY == null) {
+        // Serve from the pre-validated pool when possible (not on the target world's thread,
+        // so the pool relies on TTL and block-change invalidation instead of re-checking)
+        RtpLocationPool.PooledLocation pooled = takePooledLocation(world, false);
+        if (pooled != null) {
             if (debug) {
-                logger.info("[RTP] No solid ground found at (" + blockX + ", " + blockZ + "), trying next location");
+                logger.info("[RTP] Serving pooled location " + String.format("%.1f, %.1f, %.1f", pooled.getX(), pooled.getY(), pooled.getZ()));
             }
-            ctx.sendMessage(MessageFormatter.formatWithFallback(configManager.getMessage("rtpSearching"), "#AAAAAA"));
-            tryNextLocation(ctx, store, ref, player, world, playerId, centerX, centerZ, 
-                           currentLoc, rtpConfig, attempt + 1, isAdminRtp);
+            executeCrossWorldTeleport(ctx, player, world, playerId, rtpConfig, pooled.getX(), pooled.getY(), pooled.getZ(), isAdminRtp);
             return;
         }
         
-        double teleportY = groundY + 1;
+        logSearchStart(world, centerX, centerZ, rtpConfig);
         
-        if (!isSafeLocation(chunk, blockX, (int) teleportY, blockZ, debug)) {
-            if (debug) {
-                logger.info("[RTP] Location rejected - unsafe (water/lava detected)");
+        RtpSearch search = rtpService.createSearch(centerX, centerZ, world, new RtpSearch.Callback() {
+            @Override
+            public void onFound(double x, double y, double z) {
+                executeCrossWorldTeleport(ctx, player, world, playerId, rtpConfig, x, y, z, isAdminRtp);
             }
-            ctx.sendMessage(MessageFormatter.formatWithFallback(configManager.getMessage("rtpSearching"), "#AAAAAA"));
-            tryNextLocation(ctx, store, ref, player, world, playerId, centerX, centerZ, 
-                           currentLoc, rtpConfig, attempt + 1, isAdminRtp);
-            return;
-        }
-        
-        executeTeleport(ctx, player, world, playerId, currentLoc, rtpConfig, targetX, teleportY, targetZ, isAdminRtp);
+            
+            @Override
+            public void onFailed(int candidatesTried) {
+                sendSearchFailed(ctx, rtpConfig, candidatesTried);
+            }
+        });
+        world.execute(search::start);
     }
     
-    private void processChunkCrossWorld(CommandContext ctx, PlayerRef player, World world, UUID playerId,
-                                         double centerX, double centerZ, PluginConfig.RtpConfig rtpConfig, 
-                                         int attempt, double targetX, double targetZ, WorldChunk chunk, boolean isAdminRtp) {
-        boolean debug = configManager.isDebugEnabled();
-        int blockX = MathUtil.floor(targetX);
-        int blockZ = MathUtil.floor(targetZ);
-        
-        Integer groundY = findHighestSolidBlock(chunk, blockX, blockZ, rtpConfig.minSurfaceY);
-        
-        if (groundY == null) {
-            if (debug) {
-                logger.info("[RTP] No solid ground found at (" + blockX + ", " + blockZ + "), trying next location");
-            }
-            ctx.sendMessage(MessageFormatter.formatWithFallback(configManager.getMessage("rtpSearching"), "#AAAAAA"));
-            tryNextLocationCrossWorld(ctx, player, world, playerId, centerX, centerZ, rtpConfig, attempt + 1, isAdminRtp);
-            return;
-        }
-        
-        double teleportY = groundY + 1;
-        
-        if (!isSafeLocation(chunk, blockX, (int) teleportY, blockZ, debug)) {
-            if (debug) {
-                logger.info("[RTP] Location rejected - unsafe (water/lava detected)");
-            }
-            ctx.sendMessage(MessageFormatter.formatWithFallback(configManager.getMessage("rtpSearching"), "#AAAAAA"));
-            tryNextLocationCrossWorld(ctx, player, world, playerId, centerX, centerZ, rtpConfig, attempt + 1, isAdminRtp);
-            return;
-        }
-        
-        executeCrossWorldTeleport(ctx, player, world, playerId, rtpConfig, targetX, teleportY, targetZ, isAdminRtp);
+    private void logSearchStart(World world, double centerX, double centerZ, PluginConfig.RtpConfig rtpConfig) {
+        if (!configManager.isDebugEnabled()) return;
+        var worldRange = rtpConfig.getRangeForWorld(world.getName());
+        logger.info("[RTP] Starting search: candidates=" + rtpConfig.maxAttempts + 
+                   ", minRange=" + worldRange.minRange + ", maxRange=" + worldRange.maxRange + 
+                   ", world=" + world.getName() + ", center=" + String.format("%.1f, %.1f", centerX, centerZ));
     }
-
     
-    private Integer findHighestSolidBlock(WorldChunk chunk, int x, int z, int minY) {
-        for (int y = 255; y >= minY; y--) {
-            try {
-                BlockType blockType = chunk.getBlockType(x, y, z);
-                if (blockType != null && blockType.getMaterial() == BlockMaterial.Solid) {
-                    return y;
-                }
-            } catch (Exception e) {
-                // Continue scanning
-            }
+    private void sendSearchFailed(CommandContext ctx, PluginConfig.RtpConfig rtpConfig, int candidatesTried) {
+        ctx.sendMessage(MessageFormatter.formatWithFallback(configManager.getMessage("rtpFailed", "attempts", String.valueOf(rtpConfig.maxAttempts)), "#FF5555"));
+        if (configManager.isDebugEnabled()) {
+            logger.info("[RTP] Failed after checking " + candidatesTried + " of " + rtpConfig.maxAttempts + " candidates - no safe location found");
         }
-        return null;
     }
     
-    private boolean isSafeLocation(WorldChunk chunk, int x, int y, int z, boolean debug) {
-        try {
-            Method getFluidIdMethod = chunk.getClass().getMethod("getFluidId", int.class, int.class, int.class);
-            
-            // Check vertical range
-            for (int yOffset = -2; yOffset <= 3; yOffset++) {
-                int checkY = y + yOffset;
-                if (checkY < 0 || checkY >= 256) continue;
-                
-                Object fluidIdObj = getFluidIdMethod.invoke(chunk, x, checkY, z);
-                if (fluidIdObj instanceof Integer) {
-                    int fluidId = (Integer) fluidIdObj;
-                    if (fluidId == 6 || fluidId == 7) {
-                        if (debug) {
-                            String fluidType = (fluidId == 6) ? "LAVA" : "WATER";
-                            logger.info("[RTP-SAFETY] " + fluidType + " detected at Y" + (yOffset >= 0 ? "+" : "") + yOffset);
-                        }
-                        return false;
-                    }
-                }
-            }
-            
-            // Check adjacent blocks
-            int[][] offsets = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
-            for (int[] offset : offsets) {
-                int checkX = x + offset[0];
-                int checkZ = z + offset[1];
-                
-                Object fluidIdObj = getFluidIdMethod.invoke(chunk, checkX, y, checkZ);
-                if (fluidIdObj instanceof Integer) {
-                    int fluidId = (Integer) fluidIdObj;
-                    if (fluidId == 6 || fluidId == 7) {
-                        return false;
-                    }
-                }
-            }
-            
-            return true;
-        } catch (Exception e) {
-            return true; // Assume safe if can't check
-        }
+    private RtpLocationPool.PooledLocation takePooledLocation(World world, boolean onWorldThread) {
+        RtpLocationPool pool = rtpService.getLocationPool();
+        return pool != null ? pool.take(world, onWorldThread) : null;
     }
     
     private void executeTeleport(CommandContext ctx, PlayerRef player,
@@ -7,6 +7,7 @@ import com.eliteessentials.permissions.PermissionService;
 import com.eliteessentials.services.BackService;
 import com.eliteessentials.services.CooldownService;
 import com.eliteessentials.model.Location;
+import com.eliteessentials.util.ChunkColumns;
 import com.eliteessentials.util.CommandPermissionUtil;
 import com.eliteessentials.util.MessageFormatter;
 import com.eliteessentials.util.TeleportUtil;
@@ -16,8 +17,6 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3f;
-import com.hypixel.hytale.protocol.BlockMaterial;
-import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.basecommands.AbstractPlayerCommand;
 import com.hypixel.hytale.server.core.modules.entity.component.HeadRotation;
@@ -44,7 +43,6 @@ import javax.annotation.Nonnull;
 public class HytaleTopCommand extends AbstractPlayerCommand {
 
     private static final String COMMAND_NAME = "top";
-    private static final int MAX_HEIGHT = 256;
     
     private final BackService backService;
     private final ConfigManager configManager;
@@ -112,7 +110,7 @@ public class HytaleTopCommand extends AbstractPlayerCommand {
         }
 
         // Find highest solid block from top down
-        Integer topY = findHighestSolidBlock(chunk, blockX, blockZ);
+        Integer topY = ChunkColumns.findHighestSolid(world, chunk, blockX, blockZ, 0);
         if (topY == null) {
             ctx.sendMessage(MessageFormatter.formatWithFallback(configManager.getMessage("topNoGround"), "#FF5555"));
             return;
@@ -155,20 +153,6 @@ public class HytaleTopCommand extends AbstractPlayerCommand {
         );
     }
 
-    /**
-     * Finds the highest solid block at the given X/Z position.
-     * @return Y coordinate of highest solid block, or null if none found
-     */
-    private Integer findHighestSolidBlock(WorldChunk chunk, int x, int z) {
-        for (int y = MAX_HEIGHT; y >= 0; y--) {
-            BlockType blockType = chunk.getBlockType(x, y, z);
-            if (blockType != null && blockType.getMaterial() == BlockMaterial.Solid) {
-                return y;
-            }
-        }
-        return null;
-    }
-
     /**
      * Round yaw to nearest cardinal direction (0, 90, 180, 270).
      */
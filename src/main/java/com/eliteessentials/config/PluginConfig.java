@@ -202,6 +202,7 @@ public class PluginConfig {
         // ==================== PLAYER WARPS ====================
         messages.put("pwarpNoWarps", "&cNo player warps available.");
         messages.put("pwarpNotFound", "&cPlayer warp &e'{name}' &cnot found.");
+        messages.put("pwarpSuggestions", "&7Did you mean: &e{warps}");
         messages.put("pwarpTeleported", "&aTeleported to player warp &e'{name}' &aby &7{owner}&a.");
         messages.put("pwarpWarmup", "&eTeleporting to player warp &a'{name}' &ein &a{seconds} &eseconds... Stand still!");
         messages.put("pwarpCreated", "&aCreated player warp &e'{name}' &a[{visibility}].");
@@ -221,6 +222,7 @@ public class PluginConfig {
         messages.put("pwarpInfoVisibility", "&7Visibility: &f{visibility}");
         messages.put("pwarpInfoDescription", "&7Description: &f{description}");
         messages.put("pwarpInfoLocation", "&7Location: &f{world} ({x}, {y}, {z})");
+        messages.put("pwarpInfoVisits", "&7Visits: &f{visits}");
         
         // Player Warp GUI messages
         messages.put("gui.PlayerWarpsTitle", "PLAYER WARPS");
@@ -232,6 +234,9 @@ public class PluginConfig {
         messages.put("gui.PlayerWarpAllButton", "All Warps");
         messages.put("gui.PlayerWarpPublicTag", "[Public]");
         messages.put("gui.PlayerWarpPrivateTag", "[Private]");
+        messages.put("gui.PlayerWarpVisits", "{visits} visits");
+        messages.put("gui.PlayerWarpsTopTitle", "TOP PLAYER WARPS");
+        messages.put("gui.PlayerWarpsTrendingTitle", "TRENDING PLAYER WARPS");
         
         // ==================== BACK ====================
         messages.put("backNoLocation", "&cNo previous location to go back to.");
@@ -447,8 +452,11 @@ public class PluginConfig {
         messages.put("baltopEmpty", "&cNo player data found.");
         
         // ==================== MAIL ====================
-        messages.put("mailUsage", "&eUsage: &f/mail <send|read|list|clear|delete>");
+        messages.put("mailUsage", "&eUsage: &f/mail <send|read|list|clear|delete|sendall>");
         messages.put("mailSendUsage", "&eUsage: &f/mail send <player> <message>");
+        messages.put("mailSendAllUsage", "&eUsage: &f/mail sendall <message>");
+        messages.put("mailSendingAll", "&7Sending mail to all players...");
+        messages.put("mailSentAll", "&aMail sent to &e{count} &aplayers. &7({skipped} full mailboxes skipped)");
         messages.put("mailDeleteUsage", "&eUsage: &f/mail delete <number>");
         messages.put("mailEmpty", "&7You have no mail.");
         messages.put("mailSent", "&aMail sent to &f{player}&a.");
@@ -461,7 +469,7 @@ public class PluginConfig {
         messages.put("mailMessageTooLong", "&cMessage too long. Maximum &e{max} &ccharacters.");
         messages.put("mailListHeader", "&b&l=== &fYour Mail &7({count} total, {unread} unread) &b&l===");
         messages.put("mailListEntry", "{status}&f{number}. &7{date} &e{player}&7: &f{preview}");
-        messages.put("mailListMore", "&7...and {count} more. Use &e/mail read <number> &7to view.");
+        messages.put("mailListMore", "&7...and {count} more. Use &e/mail list {next} &7for the next page.");
         messages.put("mailListFooter", "&7Use &a/mail read [number] &7to read, &c/mail clear &7to delete all.");
         messages.put("mailReadHeader", "&b&l=== &fMail {number}/{total} &b&l===");
         messages.put("mailReadFrom", "&7From: &e{player} &7on &e{date}");
@@ -561,10 +569,11 @@ public class PluginConfig {
         messages.put("adminui.stats.freeMemory", "FREE MEMORY");
         messages.put("adminui.stats.javaVersion", "JAVA VERSION");
         messages.put("adminui.stats.loaded", "Stats loaded");
+        messages.put("adminui.stats.lastHour", "Last hour: peak {peak} online, lowest TPS {tps}, avg memory {memory} MB");
         messages.put("adminui.players.title", "Player Management");
         messages.put("adminui.players.lookup", "PLAYER LOOKUP");
         messages.put("adminui.players.actions", "PLAYER ACTIONS");
-        messages.put("adminui.players.online", "ONLINE PLAYERS");
+        messages.put("adminui.players.online", "PLAYERS");
         messages.put("adminui.players.tpTo", "TP TO");
         messages.put("adminui.players.tpHere", "TP HERE");
         messages.put("adminui.players.heal", "HEAL");
@@ -573,6 +582,16 @@ public class PluginConfig {
         messages.put("adminui.players.refresh", "REFRESH");
         messages.put("adminui.players.select", "SELECT");
         messages.put("adminui.players.noPlayers", "No players online.");
+        messages.put("adminui.players.noMatches", "No players match.");
+        messages.put("adminui.players.count", "{count} players");
+        messages.put("adminui.players.onlineStatus", "Online");
+        messages.put("adminui.players.filter", "SHOW: {mode}");
+        messages.put("adminui.players.filter.all", "ALL");
+        messages.put("adminui.players.filter.online", "ONLINE");
+        messages.put("adminui.players.filter.afk", "AFK");
+        messages.put("adminui.players.filter.vanished", "VANISHED");
+        messages.put("adminui.players.filter.frozen", "FROZEN");
+        messages.put("adminui.players.filter.muted", "MUTED");
         messages.put("adminui.players.selected", "Selected: {player}");
         messages.put("adminui.players.offline", "Offline");
         messages.put("adminui.players.tpHereSuccess", "Teleported {player} to you.");
@@ -595,6 +614,8 @@ public class PluginConfig {
         messages.put("adminui.bans.banned", "Banned {player}.");
         messages.put("adminui.bans.tempBanned", "Temp banned {player} for {duration}.");
         messages.put("adminui.bans.ipBanned", "IP banned {player}.");
+        messages.put("adminui.bans.ipBannedAlts", "IP banned {player} ({count} other known account(s) on that IP).");
+        messages.put("adminui.bans.altsSuffix", " [{count} alt(s)]");
         messages.put("adminui.bans.ipFailed", "Could not get player IP.");
         messages.put("adminui.bans.alreadyBanned", "{player} is already banned.");
         messages.put("adminui.bans.unbanned", "Unbanned {player}.");
@@ -716,6 +737,11 @@ public class PluginConfig {
         messages.put("playerinfoWarnings", "Warnings: &e{count}");
         messages.put("playerinfoWarningsNone", "Warnings: &a0");
         messages.put("playerinfoPunishmentReason", ", reason: {reason}");
+        messages.put("playerinfoIpBanned", "IP Banned: &cYes &7({ip}, by {by}{reason})");
+        messages.put("playerinfoIpBannedNone", "IP Banned: &aNo");
+        messages.put("playerinfoAlts", "Alt accounts: &e{count} &7({banned} banned): &f{players}");
+        messages.put("playerinfoAltsNone", "Alt accounts: &aNone");
+        messages.put("playerinfoAltsIndexing", "Alt accounts: &7still indexing, try again shortly");
         
         // ==================== IGNORE ====================
         messages.put("ignoreUsage", "&cUsage: &e/ignore <player> &7or &e/ignore list");
@@ -765,14 +791,21 @@ public class PluginConfig {
         messages.put("tempbanConnectDenied", "You are temporarily banned. Time remaining: {time} - Reason: {reason} - Banned by: {bannedBy}");
         
         // ==================== IPBAN ====================
-        messages.put("ipbanUsage", "&cUsage: &e/ipban <player> [reason]");
+        messages.put("ipbanUsage", "&cUsage: &e/ipban <player|ip|cidr|start-end> [reason] &cor &e/ipban import <file> [reason]");
         messages.put("ipbanNoIp", "&cCould not determine IP address for &e{player}&c.");
         messages.put("ipbanAlready", "&c{player}'s &cIP is already banned.");
         messages.put("ipbanSuccess", "&a{player}'s &aIP (&e{ip}&a) has been banned.");
         messages.put("ipbanKick", "&cYour IP has been banned by {bannedBy}.");
         messages.put("ipbanKickReason", "&cYour IP has been banned by {bannedBy}. Reason: &e{reason}");
+        messages.put("ipbanKnownPlayers", "&7Also shuts out {count} known account(s) that used {target}: &e{players}");
+        messages.put("ipbanInvalidRange", "&e{range} &cis not an IP address, CIDR network or start-end range.");
+        messages.put("ipbanRangeAlready", "&e{range} &cis already banned.");
+        messages.put("ipbanRangeSuccess", "&aBanned &e{range} &a({count} network(s)).");
+        messages.put("ipbanImportStarted", "&7Importing IP blocklist &e{file}&7...");
+        messages.put("ipbanImportDone", "&aImported &e{added} &anetworks from &e{file} &7({lines} lines, {skipped} already banned, {invalid} invalid, {ms}ms).");
+        messages.put("ipbanImportFailed", "&cCould not import blocklist &e{file}&c: {error}");
         messages.put("ipbanConnectDenied", "Your IP is banned. Reason: {reason} - Banned by: {bannedBy}");
-        messages.put("unipbanUsage", "&cUsage: &e/unipban <ip or player>");
+        messages.put("unipbanUsage", "&cUsage: &e/unipban <ip, cidr, range or player>");
         messages.put("unipbanSuccess", "&aIP &e{ip} &ahas been unbanned.");
         messages.put("unipbanNotBanned", "&cIP &e{ip} &cis not banned.");
         messages.put("unipbanSuccessName", "&a{player}'s &aIP (&e{ip}&a) has been unbanned.");
@@ -853,8 +886,21 @@ public class PluginConfig {
         /** Warmup in seconds - player must stand still (0 = instant) */
         public int warmupSeconds = 3;
         
-        /** Max attempts to find a safe location before giving up */
+        /**
+         * Number of random candidates per search. Candidates in already-loaded chunks
+         * are checked first; the rest are loaded in parallel (see maxConcurrentChunkLoads).
+         */
         public int maxAttempts = 5;
+
+        /** Chunk loads a single /rtp search may have in flight at once */
+        public int maxConcurrentChunkLoads = 3;
+
+        /**
+         * Server-wide cap on chunk loads in flight for all /rtp searches and pool refills.
+         * Searches beyond the cap wait for a free slot, so many players using /rtp at
+         * once cannot overload world generation.
+         */
+        public int globalChunkLoadBudget = 8;
         
         /** Minimum Y level - rejects locations below this (avoid dungeons) */
         public int minSurfaceY = 50;
@@ -881,7 +927,29 @@ public class PluginConfig {
          * This is case-sensitive and must match the exact world name.
          */
         public String forceWorld = "";
-        
+
+        /**
+         * Keep a pool of pre-validated safe locations per world so /rtp can teleport
+         * instantly instead of searching. Worlds are warmed after their first /rtp
+         * (and the forceWorld at startup). Falls back to a live search when the pool is empty.
+         */
+        public boolean poolEnabled = true;
+
+        /** Number of safe locations to keep ready per world */
+        public int poolSize = 5;
+
+        /** Seconds a pooled location stays valid before it is discarded and re-searched */
+        public int poolTtlSeconds = 300;
+
+        /** Seconds between refill passes (each pass validates at most one location per world) */
+        public int poolRefillIntervalSeconds = 5;
+
+        /**
+         * Only refill while the server runs at or above this percentage of its target TPS,
+         * so pool maintenance never competes with a lagging server.
+         */
+        public int poolMinTpsPercent = 90;
+
         private static Map<String, WorldRtpRange> createDefaultWorldRanges() {
             Map<String, WorldRtpRange> ranges = new HashMap<>();
             // Example configurations - server owners can customize these
@@ -921,6 +989,12 @@ public class PluginConfig {
         
         /** Number of entries shown per page in the Player Warps GUI */
         public int playerWarpsPerPage = 6;
+
+        /** Number of players shown per page in the admin player browser */
+        public int adminPlayersPerPage = 10;
+
+        /** Seconds between admin dashboard stats refreshes (also the history sample rate) */
+        public int statsRefreshSeconds = 10;
     }
     
     /**
@@ -1193,6 +1267,9 @@ public class PluginConfig {
         /** Cost to create a player warp (0 = free, requires economy enabled) */
         public double createCost = 0.0;
         
+        /** How often counted /pwarp visits are saved, in seconds (minimum 5) */
+        public int visitFlushSeconds = 60;
+        
         private static Map<String, Integer> createDefaultPwarpLimits() {
             Map<String, Integer> limits = new HashMap<>();
             limits.put("Admin", -1);      // Unlimited
@@ -1906,6 +1983,13 @@ public class PluginConfig {
     public static class BanConfig {
         /** Enable/disable ban commands (/ban, /unban, /tempban, /ipban) */
         public boolean enabled = true;
+
+        /**
+         * Alt-account lookups ignore addresses used by more than this many players
+         * (VPN exits, schools, mobile carriers), since sharing one says nothing about who
+         * is an alt. 0 = no limit.
+         */
+        public int altMaxAccountsPerIp = 10;
     }
     
     // ==================== FREEZE ====================
@@ -1913,6 +1997,12 @@ public class PluginConfig {
     public static class FreezeConfig {
         /** Enable/disable the /freeze command */
         public boolean enabled = true;
+
+        /**
+         * Distance in blocks a frozen player may drift (knockback, gravity, an engine
+         * movement reset) before the freeze is re-applied and they are moved back.
+         */
+        public double driftThreshold = 0.5;
     }
 
     // ==================== WARN ====================
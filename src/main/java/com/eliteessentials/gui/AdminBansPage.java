@@ -4,6 +4,7 @@ import com.eliteessentials.EliteEssentials;
 import com.eliteessentials.config.ConfigManager;
 import com.eliteessentials.permissions.Permissions;
 import com.eliteessentials.permissions.PermissionService;
+import com.eliteessentials.services.AltAccountService;
 import com.eliteessentials.services.BanService;
 import com.eliteessentials.services.IpBanService;
 import com.eliteessentials.services.TempBanService;
@@ -25,7 +26,9 @@ import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Logger;
 
@@ -81,27 +84,32 @@ public class AdminBansPage extends InteractiveCustomUIPage<AdminBansPage.BanEven
     private void populateBanList(UICommandBuilder cmd) {
         EliteEssentials plugin = EliteEssentials.getInstance();
         StringBuilder banText = new StringBuilder();
+        Map<UUID, BanService.BanEntry> bans = plugin.getBanService() != null ? plugin.getBanService().getAllBans() : Map.of();
+        Map<UUID, TempBanService.TempBanEntry> tempBans = plugin.getTempBanService() != null
+            ? plugin.getTempBanService().getAllTempBans() : Map.of();
+
+        // Alt counts for every banned player in one index lookup
+        Set<UUID> banned = new HashSet<>(bans.keySet());
+        banned.addAll(tempBans.keySet());
+        AltAccountService altService = plugin.getAltAccountService();
+        Map<UUID, Map<UUID, Set<String>>> alts = altService != null ? altService.findAlts(banned) : Map.of();
 
         // Permanent bans
-        if (plugin.getBanService() != null) {
-            Map<String, BanService.BanEntry> bans = plugin.getBanService().getAllBans();
-            for (Map.Entry<String, BanService.BanEntry> entry : bans.entrySet()) {
-                String name = entry.getValue().playerName != null ? entry.getValue().playerName : entry.getKey();
-                banText.append(name).append(" (perm) - ").append(
-                    entry.getValue().reason != null ? entry.getValue().reason : "No reason").append("\n");
-            }
+        for (Map.Entry<UUID, BanService.BanEntry> entry : bans.entrySet()) {
+            String name = entry.getValue().playerName != null ? entry.getValue().playerName : entry.getKey().toString();
+            banText.append(name).append(" (perm) - ").append(
+                entry.getValue().reason != null ? entry.getValue().reason : "No reason")
+                .append(altsSuffix(alts.get(entry.getKey()))).append("\n");
         }
 
         // Temp bans
-        if (plugin.getTempBanService() != null) {
-            Map<String, TempBanService.TempBanEntry> tempBans = plugin.getTempBanService().getAllTempBans();
-            for (Map.Entry<String, TempBanService.TempBanEntry> entry : tempBans.entrySet()) {
-                String name = entry.getValue().playerName != null ? entry.getValue().playerName : entry.getKey();
-                long remaining = entry.getValue().getRemainingTime();
-                String timeStr = formatDuration(remaining);
-                banText.append(name).append(" (").append(timeStr).append(") - ").append(
-                    entry.getValue().reason != null ? entry.getValue().reason : "No reason").append("\n");
-            }
+        for (Map.Entry<UUID, TempBanService.TempBanEntry> entry : tempBans.entrySet()) {
+            String name = entry.getValue().playerName != null ? entry.getValue().playerName : entry.getKey().toString();
+            long remaining = entry.getValue().getRemainingTime();
+            String timeStr = formatDuration(remaining);
+            banText.append(name).append(" (").append(timeStr).append(") - ").append(
+                entry.getValue().reason != null ? entry.getValue().reason : "No reason")
+                .append(altsSuffix(alts.get(entry.getKey()))).append("\n");
         }
 
         if (banText.length() == 0) {
@@ -259,7 +267,7 @@ public class AdminBansPage extends InteractiveCustomUIPage<AdminBansPage.BanEven
             resolvedName = target.getUsername();
             ip = IpBanService.getIpFromPacketHandler(target.getPacketHandler());
         } else {
-            // Offline lookup — resolve UUID then get last known IP from player file
+            // Offline lookup — resolve UUID then get last known IP from the alt index
             PlayerStorageProvider storage = plugin.getPlayerStorageProvider();
             java.util.Optional<UUID> offlineId = storage.getUuidByName(data.getBanPlayer());
             if (!offlineId.isPresent()) {
@@ -269,17 +277,7 @@ public class AdminBansPage extends InteractiveCustomUIPage<AdminBansPage.BanEven
             }
             targetId = offlineId.get();
             resolvedName = data.getBanPlayer();
-
-            com.eliteessentials.model.PlayerFile playerFile = storage.getPlayer(targetId);
-            if (playerFile != null) {
-                java.util.List<com.eliteessentials.model.PlayerFile.IpHistoryEntry> history = playerFile.getIpHistory();
-                if (history != null && !history.isEmpty()) {
-                    ip = history.stream()
-                        .max((a, b) -> Long.compare(a.lastUsed, b.lastUsed))
-                        .map(e -> e.ip)
-                        .orElse(null);
-                }
-            }
+            ip = plugin.getIpBanService().getLastKnownIp(targetId);
         }
 
         if (ip == null) {
@@ -299,7 +297,11 @@ public class AdminBansPage extends InteractiveCustomUIPage<AdminBansPage.BanEven
                             configManager.getMessage("adminui.bans.banKickMsg"))));
                 } catch (Exception ignored) {}
             }
-            setStatus(configManager.getMessage("adminui.bans.ipBanned", "player", resolvedName));
+            Set<UUID> others = new HashSet<>(plugin.getIpBanService().getKnownPlayers(ip));
+            others.remove(targetId);
+            setStatus(others.isEmpty()
+                ? configManager.getMessage("adminui.bans.ipBanned", "player", resolvedName)
+                : configManager.getMessage("adminui.bans.ipBannedAlts", "player", resolvedName, "count", String.valueOf(others.size())));
         } catch (Exception e) {
             setStatus(configManager.getMessage("adminui.bans.ipFailed"));
         }
@@ -332,6 +334,11 @@ public class AdminBansPage extends InteractiveCustomUIPage<AdminBansPage.BanEven
         setStatus(configManager.getMessage("adminui.bans.notBanned", "player", name));
     }
 
+    private String altsSuffix(Map<UUID, Set<String>> playerAlts) {
+        return playerAlts == null || playerAlts.isEmpty() ? ""
+            : configManager.getMessage("adminui.bans.altsSuffix", "count", String.valueOf(playerAlts.size()));
+    }
+
     private void refreshBanList() {
         UICommandBuilder cmd = new UICommandBuilder();
         populateBanList(cmd);
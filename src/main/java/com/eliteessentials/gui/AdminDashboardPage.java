@@ -2,6 +2,8 @@ package com.eliteessentials.gui;
 
 import com.eliteessentials.EliteEssentials;
 import com.eliteessentials.config.ConfigManager;
+import com.eliteessentials.gui.components.CardList;
+import com.eliteessentials.gui.components.PlayerBrowser;
 import com.eliteessentials.permissions.Permissions;
 import com.eliteessentials.permissions.PermissionService;
 import com.eliteessentials.services.*;
@@ -47,8 +49,8 @@ import java.util.logging.Logger;
 public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPage.AdminEventData> {
 
     private static final Logger logger = Logger.getLogger("EliteEssentials");
-    private static final long START_TIME = System.currentTimeMillis();
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+    private static final int INFO_ALTS_SHOWN = 6;
 
     private final ConfigManager configManager;
     private String currentView = "dashboard";
@@ -57,6 +59,16 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
     private String activityFilter = "all";
     private String pdTarget = null; // Player Data tab target player name
     private UUID pdTargetUuid = null; // Player Data tab target UUID
+    private PlayerBrowser playerBrowser; // Players tab list, kept across view switches
+    private UUID warnListTarget = null; // Player whose warnings are listed
+    private final CardList banCards = new CardList("adminbans", "#BanEntries");
+    private final CardList muteCards = new CardList("adminmutes", "#MuteEntries");
+    private final CardList warnCards = new CardList("adminwarns", "#WarnEntries");
+    private final CardList tpWarpCards = new CardList("adminwarps", "#WarpListCards");
+    private final CardList tpSpawnCards = new CardList("adminspawns", "#SpawnListCards");
+    private final CardList pdHomeCards = new CardList("adminpdhomes", "#PdHomeListCards");
+    private final CardList pdWarpCards = new CardList("adminpdwarps", "#PdWarpListCards");
+    private final CardList pdBackCards = new CardList("adminpdback", "#PdBackListCards");
 
     public AdminDashboardPage(PlayerRef playerRef, ConfigManager configManager) {
         super(playerRef, CustomPageLifetime.CanDismiss, AdminEventData.CODEC);
@@ -116,6 +128,13 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
             }
         }
 
+        // Player browser search/filter/paging (pagination events carry no Action)
+        if ("players".equals(currentView) && playerBrowser != null
+                && playerBrowser.handle(data.action, data.playerSearch, data.pageAction)) {
+            refreshPlayerList();
+            return;
+        }
+
         // Action handling (routed by current view)
         if (data.action != null) {
             switch (currentView) {
@@ -139,8 +158,9 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
         UICommandBuilder cmd = new UICommandBuilder();
         UIEventBuilder events = new UIEventBuilder();
 
-        // Clear content area
+        // Clear content area (and with it every card list in the previous view)
         cmd.clear("#ContentArea");
+        resetCardLists();
 
         // Update page title and active nav highlight
         String title;
@@ -178,6 +198,17 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
         sendUpdate(cmd, events, false);
     }
 
+    private void resetCardLists() {
+        banCards.reset();
+        muteCards.reset();
+        warnCards.reset();
+        tpWarpCards.reset();
+        tpSpawnCards.reset();
+        pdHomeCards.reset();
+        pdWarpCards.reset();
+        pdBackCards.reset();
+    }
+
     // ==================== DASHBOARD VIEW ====================
 
     private void buildDashboardView(UICommandBuilder cmd, UIEventBuilder events) {
@@ -203,39 +234,33 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
     }
 
     private void populateDashboardStats(UICommandBuilder cmd) {
-        EliteEssentials plugin = EliteEssentials.getInstance();
-        int online = 0;
-        try { for (PlayerRef p : Universe.get().getPlayers()) online++; } catch (Exception ignored) {}
-        cmd.set("#StatPlayers.Text", String.valueOf(online));
+        ServerStatsSnapshot.Snapshot stats = EliteEssentials.getInstance().getServerStats().get();
+        cmd.set("#StatPlayers.Text", String.valueOf(stats.online()));
         cmd.set("#StatPlayersLabel.Text", configManager.getMessage("adminui.stats.online"));
 
-        // TPS from real measurement
-        cmd.set("#StatTPS.Text", TpsTracker.get().getTpsFormatted());
+        cmd.set("#StatTPS.Text", formatTps(stats.tps()));
         cmd.set("#StatTpsLabel.Text", configManager.getMessage("adminui.stats.tps"));
 
-        Runtime rt = Runtime.getRuntime();
-        long usedMb = (rt.totalMemory() - rt.freeMemory()) / (1024 * 1024);
-        long maxMb = rt.maxMemory() / (1024 * 1024);
-        cmd.set("#StatMemory.Text", usedMb + " MB");
-        cmd.set("#StatMemMax.Text", "/ " + maxMb + " MB");
+        cmd.set("#StatMemory.Text", stats.usedMb() + " MB");
+        cmd.set("#StatMemMax.Text", "/ " + stats.maxMb() + " MB");
         cmd.set("#StatMemLabel.Text", configManager.getMessage("adminui.stats.memory"));
 
-        long uptimeMs = System.currentTimeMillis() - START_TIME;
-        cmd.set("#StatUptime.Text", (uptimeMs / 3_600_000) + "h " + ((uptimeMs % 3_600_000) / 60_000) + "m");
+        cmd.set("#StatUptime.Text", formatUptime(stats.uptimeMs()));
         cmd.set("#StatUptimeLabel.Text", configManager.getMessage("adminui.stats.uptime"));
 
-        int banCount = 0, muteCount = 0, frozenCount = 0, warpCount = 0, kitCount = 0;
-        try { if (plugin.getBanService() != null) banCount = plugin.getBanService().getBanCount(); } catch (Exception ignored) {}
-        try { if (plugin.getTempBanService() != null) banCount += plugin.getTempBanService().getBanCount(); } catch (Exception ignored) {}
-        try { if (plugin.getMuteService() != null) muteCount = plugin.getMuteService().getMuteCount(); } catch (Exception ignored) {}
-        try { if (plugin.getFreezeService() != null) frozenCount = plugin.getFreezeService().getFrozenCount(); } catch (Exception ignored) {}
-        try { if (plugin.getWarpService() != null) warpCount = plugin.getWarpService().getAllWarps().size(); } catch (Exception ignored) {}
-        try { if (plugin.getKitService() != null) kitCount = plugin.getKitService().getAllKits().size(); } catch (Exception ignored) {}
-        cmd.set("#InfoBans.Text", String.valueOf(banCount));
-        cmd.set("#InfoMutes.Text", String.valueOf(muteCount));
-        cmd.set("#InfoFrozen.Text", String.valueOf(frozenCount));
-        cmd.set("#InfoWarps.Text", String.valueOf(warpCount));
-        cmd.set("#InfoKits.Text", String.valueOf(kitCount));
+        cmd.set("#InfoBans.Text", String.valueOf(stats.bans()));
+        cmd.set("#InfoMutes.Text", String.valueOf(stats.mutes()));
+        cmd.set("#InfoFrozen.Text", String.valueOf(stats.frozen()));
+        cmd.set("#InfoWarps.Text", String.valueOf(stats.warps()));
+        cmd.set("#InfoKits.Text", String.valueOf(stats.kits()));
+    }
+
+    private static String formatTps(double tps) {
+        return tps <= 0 ? "--" : String.format("%.1f", tps);
+    }
+
+    private static String formatUptime(long uptimeMs) {
+        return (uptimeMs / 3_600_000) + "h " + ((uptimeMs % 3_600_000) / 60_000) + "m";
     }
 
     // ==================== PLAYERS VIEW ====================
@@ -252,19 +277,16 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
         cmd.set("#KickButton.Text", configManager.getMessage("adminui.players.kick"));
         cmd.set("#LookupButton.Text", configManager.getMessage("adminui.players.lookup"));
 
-        // Player list
-        int index = 0;
-        for (PlayerRef p : Universe.get().getPlayers()) {
-            if (!p.isValid()) continue;
-            String sel = "#PlayerListCards[" + index + "]";
-            cmd.append("#PlayerListCards", "Pages/EliteEssentials_AdminPlayerEntry.ui");
-            cmd.set(sel + " #EntryName.Text", p.getUsername());
-            cmd.set(sel + " #EntrySelectButton.Text", configManager.getMessage("adminui.players.select"));
-            events.addEventBinding(CustomUIEventBindingType.Activating, sel + " #EntrySelectButton",
-                new EventData().append("Action", "select").append("Player", p.getUsername()), false);
-            index++;
+        cmd.set("#PlayerRefreshButton.Text", configManager.getMessage("adminui.players.refresh"));
+
+        // Player list (paged; only the visible rows are sent)
+        if (playerBrowser == null) {
+            playerBrowser = new PlayerBrowser(EliteEssentials.getInstance().getPlayerDirectory(), configManager,
+                "#PlayerListCards", "#PlayerPagination", configManager.getConfig().gui.adminPlayersPerPage);
         }
-        if (index == 0) cmd.set("#PlayerStatusMsg.Text", configManager.getMessage("adminui.players.noPlayers"));
+        playerBrowser.build(cmd, events);
+        events.addEventBinding(CustomUIEventBindingType.Activating, "#PlayerRefreshButton",
+            EventData.of("Action", PlayerBrowser.ACTION_REFRESH), false);
 
         // Action events
         events.addEventBinding(CustomUIEventBindingType.Activating, "#LookupButton",
@@ -277,10 +299,18 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
         events.addEventBinding(CustomUIEventBindingType.Activating, "#InfoUuidButton", EventData.of("Action", "uuidlink"), false);
     }
 
+    private void refreshPlayerList() {
+        UICommandBuilder cmd = new UICommandBuilder();
+        UIEventBuilder events = new UIEventBuilder();
+        playerBrowser.render(cmd, events);
+        sendUpdate(cmd, events, false);
+    }
+
     private void handlePlayersAction(AdminEventData data, Ref<EntityStore> ref, Store<EntityStore> store) {
         switch (data.action) {
-            case "select":
-                if (data.player != null) { selectedPlayer = data.player; updatePlayerInfo(); }
+            case PlayerBrowser.ACTION_SELECT:
+                var row = playerBrowser != null ? playerBrowser.rowAt(data.index) : null;
+                if (row != null) { selectedPlayer = row.name(); updatePlayerInfo(); }
                 break;
             case "lookup":
                 if (data.lookupInput != null && !data.lookupInput.isEmpty()) selectedPlayer = data.lookupInput;
@@ -376,6 +406,11 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
         cmd.set("#InfoPunishments.Text", punishments.length() > 0 ? punishments.toString().trim() : "None");
         cmd.set("#InfoWarnings.Text", String.valueOf(warnCount));
 
+        // Accounts that have connected from one of this player's addresses
+        AltAccountService altService = plugin.getAltAccountService();
+        Map<UUID, Set<String>> alts = altService != null ? altService.findAlts(target.getUuid()) : Map.of();
+        cmd.set("#InfoAlts.Text", alts.isEmpty() ? "None" : altService.describe(alts.keySet(), INFO_ALTS_SHOWN));
+
         cmd.set("#PlayerStatusMsg.Text", configManager.getMessage("adminui.players.selected", "player", target.getUsername()));
         sendUpdate(cmd, null, false);
     }
@@ -545,51 +580,45 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
 
     private void populateBanList(UICommandBuilder cmd, UIEventBuilder events) {
         EliteEssentials plugin = EliteEssentials.getInstance();
-        boolean hasEvents = events != null;
-
-        cmd.clear("#BanEntries");
-        int entryIndex = 0;
+        Map<UUID, Map<UUID, Set<String>>> alts = bannedPlayerAlts(plugin);
+        List<CardList.Card> cards = new ArrayList<>();
 
         // Permanent bans
         if (plugin.getBanService() != null) {
-            for (Map.Entry<String, BanService.BanEntry> e : plugin.getBanService().getAllBans().entrySet()) {
-                String name = e.getValue().playerName != null ? e.getValue().playerName : e.getKey();
-                String text = name + " (perm) - " + (e.getValue().reason != null ? e.getValue().reason : "No reason");
-                String selector = "#BanEntries[" + entryIndex + "]";
-                cmd.append("#BanEntries", "Pages/EliteEssentials_AdminBanEntry.ui");
-                cmd.set(selector + " #BanEntryText.Text", text);
-                if (hasEvents) {
-                    events.addEventBinding(CustomUIEventBindingType.Activating, selector + " #BanRemoveBtn",
-                        new EventData().append("Action", "quickunban").append("Target", name), false);
-                }
-                entryIndex++;
+            for (Map.Entry<UUID, BanService.BanEntry> e : plugin.getBanService().getAllBans().entrySet()) {
+                String name = e.getValue().playerName != null ? e.getValue().playerName : e.getKey().toString();
+                String text = name + " (perm) - " + (e.getValue().reason != null ? e.getValue().reason : "No reason")
+                    + altsSuffix(alts.get(e.getKey()));
+                cards.add(banCard(name, text));
             }
         }
 
         // Temp bans
         if (plugin.getTempBanService() != null) {
-            for (Map.Entry<String, TempBanService.TempBanEntry> e : plugin.getTempBanService().getAllTempBans().entrySet()) {
-                String name = e.getValue().playerName != null ? e.getValue().playerName : e.getKey();
+            for (Map.Entry<UUID, TempBanService.TempBanEntry> e : plugin.getTempBanService().getAllTempBans().entrySet()) {
+                String name = e.getValue().playerName != null ? e.getValue().playerName : e.getKey().toString();
                 long remaining = e.getValue().getRemainingTime();
-                String text = name + " (" + formatDuration(remaining) + ") - " + (e.getValue().reason != null ? e.getValue().reason : "No reason");
-                String selector = "#BanEntries[" + entryIndex + "]";
-                cmd.append("#BanEntries", "Pages/EliteEssentials_AdminBanEntry.ui");
-                cmd.set(selector + " #BanEntryText.Text", text);
-                if (hasEvents) {
-                    events.addEventBinding(CustomUIEventBindingType.Activating, selector + " #BanRemoveBtn",
-                        new EventData().append("Action", "quickunban").append("Target", name), false);
-                }
-                entryIndex++;
+                String text = name + " (" + formatDuration(remaining) + ") - " + (e.getValue().reason != null ? e.getValue().reason : "No reason")
+                    + altsSuffix(alts.get(e.getKey()));
+                cards.add(banCard(name, text));
             }
         }
 
-        if (entryIndex == 0) {
+        banCards.render(cards, cmd, events);
+        if (cards.isEmpty()) {
             cmd.set("#BanListEmpty.Text", configManager.getMessage("adminui.bans.noBans"));
         } else {
             cmd.set("#BanListEmpty.Text", "");
         }
     }
 
+    private static CardList.Card banCard(String name, String text) {
+        return CardList.card("Pages/EliteEssentials_AdminBanEntry.ui")
+            .key(name)
+            .set("#BanEntryText.Text", text)
+            .bind(CustomUIEventBindingType.Activating, "#BanRemoveBtn", "Action", "quickunban");
+    }
+
     private void handleBansAction(AdminEventData data) {
         if (!hasAdminPermission(Permissions.ADMIN_BAN)) {
             setStatus("#BanStatusMsg", configManager.getMessage("noPermission"));
@@ -655,13 +684,7 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
                     java.util.Optional<UUID> offlineId = plugin.getPlayerStorageProvider().getUuidByName(data.banPlayer);
                     if (!offlineId.isPresent()) { setStatus("#BanStatusMsg", configManager.getMessage("playerNotFound", "player", data.banPlayer)); refreshBanList(); break; }
                     targetId = offlineId.get(); resolvedName = data.banPlayer;
-                    com.eliteessentials.model.PlayerFile playerFile = plugin.getPlayerStorageProvider().getPlayer(targetId);
-                    if (playerFile != null) {
-                        java.util.List<com.eliteessentials.model.PlayerFile.IpHistoryEntry> history = playerFile.getIpHistory();
-                        if (history != null && !history.isEmpty()) {
-                            ip = history.stream().max((a, b) -> Long.compare(a.lastUsed, b.lastUsed)).map(e -> e.ip).orElse(null);
-                        }
-                    }
+                    ip = plugin.getIpBanService().getLastKnownIp(targetId);
                 }
                 if (ip == null) { setStatus("#BanStatusMsg", configManager.getMessage("adminui.bans.ipFailed")); refreshBanList(); break; }
                 try {
@@ -669,7 +692,11 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
                     if (target != null && target.isValid()) {
                         try { target.getPacketHandler().disconnect(com.hypixel.hytale.server.core.Message.raw(MessageFormatter.stripColorCodes(configManager.getMessage("adminui.bans.banKickMsg")))); } catch (Exception ignored) {}
                     }
-                    setStatus("#BanStatusMsg", configManager.getMessage("adminui.bans.ipBanned", "player", resolvedName));
+                    Set<UUID> others = new HashSet<>(plugin.getIpBanService().getKnownPlayers(ip));
+                    others.remove(targetId);
+                    setStatus("#BanStatusMsg", others.isEmpty()
+                        ? configManager.getMessage("adminui.bans.ipBanned", "player", resolvedName)
+                        : configManager.getMessage("adminui.bans.ipBannedAlts", "player", resolvedName, "count", String.valueOf(others.size())));
                     logActivity("IPBAN", adminName, resolvedName, data.banReason != null ? data.banReason : "No reason");
                 } catch (Exception e) { setStatus("#BanStatusMsg", configManager.getMessage("adminui.bans.ipFailed")); }
                 refreshBanList();
@@ -687,19 +714,37 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
                 break;
             }
             case "quickunban": {
-                if (data.target == null || data.target.isEmpty()) return;
-                UUID unbanned = plugin.getBanService().unbanByName(data.target);
-                if (unbanned == null) unbanned = plugin.getTempBanService().unbanByName(data.target);
-                if (unbanned != null) logActivity("UNBAN", adminName, data.target, "via UI button");
+                String name = banCards.keyAt(data.slot);
+                if (name == null) return;
+                UUID unbanned = plugin.getBanService().unbanByName(name);
+                if (unbanned == null) unbanned = plugin.getTempBanService().unbanByName(name);
+                if (unbanned != null) logActivity("UNBAN", adminName, name, "via UI button");
                 setStatus("#BanStatusMsg", unbanned != null
-                    ? configManager.getMessage("adminui.bans.unbanned", "player", data.target)
-                    : configManager.getMessage("adminui.bans.notBanned", "player", data.target));
+                    ? configManager.getMessage("adminui.bans.unbanned", "player", name)
+                    : configManager.getMessage("adminui.bans.notBanned", "player", name));
                 refreshBanList();
                 break;
             }
         }
     }
 
+    /**
+     * Alts of every banned and temp-banned player, from one bulk index lookup.
+     */
+    private static Map<UUID, Map<UUID, Set<String>>> bannedPlayerAlts(EliteEssentials plugin) {
+        AltAccountService altService = plugin.getAltAccountService();
+        if (altService == null) return Map.of();
+        Set<UUID> banned = new HashSet<>();
+        if (plugin.getBanService() != null) banned.addAll(plugin.getBanService().getAllBans().keySet());
+        if (plugin.getTempBanService() != null) banned.addAll(plugin.getTempBanService().getAllTempBans().keySet());
+        return altService.findAlts(banned);
+    }
+
+    private String altsSuffix(Map<UUID, Set<String>> alts) {
+        return alts == null || alts.isEmpty() ? ""
+            : configManager.getMessage("adminui.bans.altsSuffix", "count", String.valueOf(alts.size()));
+    }
+
     private void refreshBanList() {
         UICommandBuilder cmd = new UICommandBuilder();
         UIEventBuilder events = new UIEventBuilder();
@@ -732,30 +777,21 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
 
     private void populateMuteList(UICommandBuilder cmd, UIEventBuilder events) {
         MuteService ms = EliteEssentials.getInstance().getMuteService();
-        boolean hasEvents = events != null;
-
-        cmd.clear("#MuteEntries");
-
-        if (ms == null || ms.getAllMutes().isEmpty()) {
-            cmd.set("#MuteListEmpty.Text", configManager.getMessage("adminui.mutes.noMutes"));
-            return;
-        }
-
-        int entryIndex = 0;
-        for (Map.Entry<String, MuteService.MuteEntry> e : ms.getAllMutes().entrySet()) {
-            String name = e.getValue().playerName != null ? e.getValue().playerName : e.getKey();
-            String text = name + " - " + (e.getValue().reason != null ? e.getValue().reason : "No reason");
-            String selector = "#MuteEntries[" + entryIndex + "]";
-            cmd.append("#MuteEntries", "Pages/EliteEssentials_AdminMuteEntry.ui");
-            cmd.set(selector + " #MuteEntryText.Text", text);
-            if (hasEvents) {
-                events.addEventBinding(CustomUIEventBindingType.Activating, selector + " #MuteRemoveBtn",
-                    new EventData().append("Action", "quickunmute").append("Target", name), false);
+        List<CardList.Card> cards = new ArrayList<>();
+
+        if (ms != null) {
+            for (Map.Entry<UUID, MuteService.MuteEntry> e : ms.getAllMutes().entrySet()) {
+                String name = e.getValue().playerName != null ? e.getValue().playerName : e.getKey().toString();
+                String text = name + " - " + (e.getValue().reason != null ? e.getValue().reason : "No reason");
+                cards.add(CardList.card("Pages/EliteEssentials_AdminMuteEntry.ui")
+                    .key(name)
+                    .set("#MuteEntryText.Text", text)
+                    .bind(CustomUIEventBindingType.Activating, "#MuteRemoveBtn", "Action", "quickunmute"));
             }
-            entryIndex++;
         }
 
-        cmd.set("#MuteListEmpty.Text", "");
+        muteCards.render(cards, cmd, events);
+        cmd.set("#MuteListEmpty.Text", cards.isEmpty() ? configManager.getMessage("adminui.mutes.noMutes") : "");
     }
 
     private void handleMutesAction(AdminEventData data) {
@@ -792,10 +828,11 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
                 break;
             }
             case "quickunmute": {
-                if (data.target == null || data.target.isEmpty()) return;
-                UUID unmuted = ms.unmuteByName(data.target);
-                if (unmuted != null) logActivity("UNMUTE", playerRef.getUsername(), data.target, "via UI button");
-                setStatus("#MuteStatusMsg", unmuted != null ? configManager.getMessage("adminui.mutes.unmuted", "player", data.target) : configManager.getMessage("adminui.mutes.notMuted", "player", data.target));
+                String name = muteCards.keyAt(data.slot);
+                if (name == null) return;
+                UUID unmuted = ms.unmuteByName(name);
+                if (unmuted != null) logActivity("UNMUTE", playerRef.getUsername(), name, "via UI button");
+                setStatus("#MuteStatusMsg", unmuted != null ? configManager.getMessage("adminui.mutes.unmuted", "player", name) : configManager.getMessage("adminui.mutes.notMuted", "player", name));
                 refreshMuteList();
                 break;
             }
@@ -890,20 +927,17 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
                 break;
             }
             case "removewarn": {
-                // Target contains the UUID, Index contains the 0-based warning index
-                if (data.target == null || data.index == null) return;
-                try {
-                    UUID targetId = UUID.fromString(data.target);
-                    int warnIndex = Integer.parseInt(data.index);
-                    boolean removed = ws.removeWarning(targetId, warnIndex);
-                    if (removed) {
-                        setStatus("#WarnStatusMsg", configManager.getMessage("adminui.warns.warnRemoved"));
-                        logActivity("REMOVEWARN", playerRef.getUsername(), data.target, "Warning #" + (warnIndex + 1) + " removed");
-                    }
-                    refreshWarnList(targetId);
-                } catch (IllegalArgumentException e) {
-                    logger.severe("Invalid UUID or index in removewarn action: " + e.getMessage());
+                // Cards are keyed on the 0-based warning index of the listed player
+                String key = warnCards.keyAt(data.slot);
+                if (warnListTarget == null || key == null) return;
+                UUID targetId = warnListTarget;
+                int warnIndex = Integer.parseInt(key);
+                boolean removed = ws.removeWarning(targetId, warnIndex);
+                if (removed) {
+                    setStatus("#WarnStatusMsg", configManager.getMessage("adminui.warns.warnRemoved"));
+                    logActivity("REMOVEWARN", playerRef.getUsername(), targetId.toString(), "Warning #" + (warnIndex + 1) + " removed");
                 }
+                refreshWarnList(targetId);
                 break;
             }
         }
@@ -915,23 +949,19 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
         UICommandBuilder cmd = new UICommandBuilder();
         UIEventBuilder events = new UIEventBuilder();
         List<WarnService.WarnEntry> warnings = ws.getWarnings(playerId);
-
-        cmd.clear("#WarnEntries");
-
-        if (warnings.isEmpty()) {
-            cmd.set("#WarnListEmpty.Text", configManager.getMessage("adminui.warns.noWarnings"));
-        } else {
-            cmd.set("#WarnListEmpty.Text", "");
-            for (int i = 0; i < warnings.size(); i++) {
-                WarnService.WarnEntry w = warnings.get(i);
-                String text = "#" + (i + 1) + " [" + DATE_FORMAT.format(new Date(w.warnedAt)) + "] by " + w.warnedBy + ": " + w.reason;
-                String selector = "#WarnEntries[" + i + "]";
-                cmd.append("#WarnEntries", "Pages/EliteEssentials_AdminWarnEntry.ui");
-                cmd.set(selector + " #WarnEntryText.Text", text);
-                events.addEventBinding(CustomUIEventBindingType.Activating, selector + " #WarnRemoveBtn",
-                    new EventData().append("Action", "removewarn").append("Target", playerId.toString()).append("Index", String.valueOf(i)), false);
-            }
+        warnListTarget = playerId;
+
+        List<CardList.Card> cards = new ArrayList<>(warnings.size());
+        for (int i = 0; i < warnings.size(); i++) {
+            WarnService.WarnEntry w = warnings.get(i);
+            String text = "#" + (i + 1) + " [" + DATE_FORMAT.format(new Date(w.warnedAt)) + "] by " + w.warnedBy + ": " + w.reason;
+            cards.add(CardList.card("Pages/EliteEssentials_AdminWarnEntry.ui")
+                .key(String.valueOf(i))
+                .set("#WarnEntryText.Text", text)
+                .bind(CustomUIEventBindingType.Activating, "#WarnRemoveBtn", "Action", "removewarn"));
         }
+        warnCards.render(cards, cmd, events);
+        cmd.set("#WarnListEmpty.Text", warnings.isEmpty() ? configManager.getMessage("adminui.warns.noWarnings") : "");
         sendUpdate(cmd, events, false);
     }
 
@@ -951,34 +981,37 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
     }
 
     private void populateStatsView(UICommandBuilder cmd) {
-        int online = 0;
-        try { for (PlayerRef p : Universe.get().getPlayers()) online++; } catch (Exception ignored) {}
-        cmd.set("#StPlayers.Text", String.valueOf(online));
-        cmd.set("#StPlayersMax.Text", online + " online");
-
-        // TPS
-        String tpsFormatted = TpsTracker.get().getTpsFormatted();
-        int targetTps = 30;
-        try {
-            World w = Universe.get().getWorld("default");
-            if (w != null) targetTps = w.getTps();
-        } catch (Exception ignored) {}
-        cmd.set("#StTPS.Text", tpsFormatted);
-        cmd.set("#StTpsTarget.Text", "/ " + targetTps + ".0 target");
+        ServerStatsSnapshot serverStats = EliteEssentials.getInstance().getServerStats();
+        ServerStatsSnapshot.Snapshot stats = serverStats.get();
+        cmd.set("#StPlayers.Text", String.valueOf(stats.online()));
+        cmd.set("#StPlayersMax.Text", stats.online() + " online");
+
+        cmd.set("#StTPS.Text", formatTps(stats.tps()));
+        cmd.set("#StTpsTarget.Text", "/ " + stats.targetTps() + ".0 target");
 
         // Memory - use maxMemory for the real picture
-        Runtime rt = Runtime.getRuntime();
-        long usedMb = (rt.totalMemory() - rt.freeMemory()) / (1024 * 1024);
-        long maxMb = rt.maxMemory() / (1024 * 1024);
-        long freeMb = maxMb - usedMb;
-        cmd.set("#StMemory.Text", usedMb + " MB");
-        cmd.set("#StMemMax.Text", "/ " + maxMb + " MB max");
-        cmd.set("#StFreeMem.Text", freeMb + " MB");
-
-        long uptimeMs = System.currentTimeMillis() - START_TIME;
-        cmd.set("#StUptime.Text", (uptimeMs / 3_600_000) + "h " + ((uptimeMs % 3_600_000) / 60_000) + "m");
+        cmd.set("#StMemory.Text", stats.usedMb() + " MB");
+        cmd.set("#StMemMax.Text", "/ " + stats.maxMb() + " MB max");
+        cmd.set("#StFreeMem.Text", (stats.maxMb() - stats.usedMb()) + " MB");
+
+        cmd.set("#StUptime.Text", formatUptime(stats.uptimeMs()));
         cmd.set("#StJava.Text", System.getProperty("java.version", "?"));
         cmd.set("#StOS.Text", System.getProperty("os.name", "") + " " + System.getProperty("os.arch", ""));
+
+        // Last hour from the sample ring
+        int peak = 0;
+        double lowestTps = Double.MAX_VALUE;
+        long memoryTotal = 0;
+        List<ServerStatsSnapshot.Sample> history = serverStats.getHistory();
+        for (ServerStatsSnapshot.Sample sample : history) {
+            peak = Math.max(peak, sample.online());
+            if (sample.tps() > 0) lowestTps = Math.min(lowestTps, sample.tps());
+            memoryTotal += sample.usedMb();
+        }
+        cmd.set("#StHistory.Text", configManager.getMessage("adminui.stats.lastHour",
+            "peak", String.valueOf(peak),
+            "tps", formatTps(lowestTps == Double.MAX_VALUE ? 0 : lowestTps),
+            "memory", String.valueOf(history.isEmpty() ? stats.usedMb() : memoryTotal / history.size())));
         cmd.set("#StStatusMsg.Text", configManager.getMessage("adminui.stats.loaded"));
     }
 
@@ -1087,33 +1120,26 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
 
     private void populateEconomyStats(UICommandBuilder cmd) {
         EliteEssentials plugin = EliteEssentials.getInstance();
-        PlayerService ps = plugin.getPlayerService();
-        if (ps == null) return;
-        List<PlayerFile> topPlayers = ps.getTopByBalance(999);
-        double total = 0;
-        int count = 0;
-        for (PlayerFile pf : topPlayers) {
-            total += pf.getWallet();
-            count++;
-        }
+        if (plugin.getPlayerService() == null) return;
+        ServerStatsSnapshot.Snapshot stats = plugin.getServerStats().get();
         String currency = plugin.getConfigManager().getConfig().economy.currencySymbol;
-        cmd.set("#EcoTotal.Text", String.format("%.2f %s", total, currency));
-        cmd.set("#EcoAverage.Text", count > 0 ? String.format("%.2f %s", total / count, currency) : "0.00");
-        cmd.set("#EcoPlayerCount.Text", String.valueOf(count));
+        cmd.set("#EcoTotal.Text", String.format("%.2f %s", stats.economyTotal(), currency));
+        cmd.set("#EcoAverage.Text", stats.totalPlayers() > 0 ? String.format("%.2f %s", stats.economyAverage(), currency) : "0.00");
+        cmd.set("#EcoPlayerCount.Text", String.valueOf(stats.totalPlayers()));
     }
 
     private void populateEconomyTop(UICommandBuilder cmd) {
         EliteEssentials plugin = EliteEssentials.getInstance();
-        PlayerService ps = plugin.getPlayerService();
-        if (ps == null) { cmd.set("#EcoTopList.Text", "Economy disabled"); return; }
-        List<PlayerFile> top = ps.getTopByBalance(10);
+        if (plugin.getPlayerService() == null) { cmd.set("#EcoTopList.Text", "Economy disabled"); return; }
+        // From the stats snapshot, picked again on the refresh after a balance change
+        List<ServerStatsSnapshot.TopBalance> top = plugin.getServerStats().get().topBalances();
         if (top.isEmpty()) { cmd.set("#EcoTopList.Text", "No balance data"); return; }
         String currency = plugin.getConfigManager().getConfig().economy.currencySymbol;
         StringBuilder sb = new StringBuilder();
         int rank = 1;
-        for (PlayerFile pf : top) {
-            sb.append("#").append(rank).append("  ").append(pf.getName())
-              .append("  -  ").append(String.format("%.2f %s", pf.getWallet(), currency)).append("\n");
+        for (ServerStatsSnapshot.TopBalance entry : top) {
+            sb.append("#").append(rank).append("  ").append(entry.name())
+              .append("  -  ").append(String.format("%.2f %s", entry.balance(), currency)).append("\n");
             rank++;
         }
         cmd.set("#EcoTopList.Text", sb.toString().trim());
@@ -1193,30 +1219,16 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
         WarpService ws = plugin.getWarpService();
         if (ws == null) return;
         List<Warp> warps = ws.getAllWarpsList();
+        List<CardList.Card> cards = new ArrayList<>();
         if (warps.isEmpty()) {
-            cmd.append("#WarpListCards", "Pages/EliteEssentials_AdminTpEntry.ui");
-            cmd.set("#WarpListCards[0] #TpEntryName.Text", "No warps");
-            cmd.set("#WarpListCards[0] #TpEntryInfo.Text", "");
-            cmd.set("#WarpListCards[0] #TpEntryGoButton.Visible", false);
-            cmd.set("#WarpListCards[0] #TpEntryDelButton.Visible", false);
-            return;
+            cards.add(tpCard(null, "No warps", "", "tpwarp", "delwarp"));
         }
-        int idx = 0;
         for (Warp w : warps) {
-            String sel = "#WarpListCards[" + idx + "]";
-            cmd.append("#WarpListCards", "Pages/EliteEssentials_AdminTpEntry.ui");
-            cmd.set(sel + " #TpEntryName.Text", w.getName());
             Location loc = w.getLocation();
             String info = loc != null ? String.format("%.0f, %.0f, %.0f (%s) [%s]", loc.getX(), loc.getY(), loc.getZ(), loc.getWorld(), w.isOpOnly() ? "OP" : "ALL") : "?";
-            cmd.set(sel + " #TpEntryInfo.Text", info);
-            cmd.set(sel + " #TpEntryGoButton.Text", "GO");
-            cmd.set(sel + " #TpEntryDelButton.Text", "DEL");
-            events.addEventBinding(CustomUIEventBindingType.Activating, sel + " #TpEntryGoButton",
-                new EventData().append("Action", "tpwarp").append("Player", w.getName()), false);
-            events.addEventBinding(CustomUIEventBindingType.Activating, sel + " #TpEntryDelButton",
-                new EventData().append("Action", "delwarp").append("Player", w.getName()), false);
-            idx++;
+            cards.add(tpCard(w.getName(), w.getName(), info, "tpwarp", "delwarp"));
         }
+        tpWarpCards.render(cards, cmd, events);
     }
 
     private void populateSpawnList(UICommandBuilder cmd, UIEventBuilder events) {
@@ -1224,34 +1236,45 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
         SpawnStorage ss = plugin.getSpawnStorage();
         if (ss == null) return;
         Set<String> worlds = ss.getWorldsWithSpawn();
+        List<CardList.Card> cards = new ArrayList<>();
         if (worlds.isEmpty()) {
-            cmd.append("#SpawnListCards", "Pages/EliteEssentials_AdminTpEntry.ui");
-            cmd.set("#SpawnListCards[0] #TpEntryName.Text", "No spawns");
-            cmd.set("#SpawnListCards[0] #TpEntryInfo.Text", "");
-            cmd.set("#SpawnListCards[0] #TpEntryGoButton.Visible", false);
-            cmd.set("#SpawnListCards[0] #TpEntryDelButton.Visible", false);
-            return;
+            cards.add(tpCard(null, "No spawns", "", "tpspawn", "delspawn"));
         }
-        int idx = 0;
         for (String worldName : worlds) {
-            List<SpawnStorage.SpawnData> spawns = ss.getSpawns(worldName);
-            for (SpawnStorage.SpawnData sp : spawns) {
-                String sel = "#SpawnListCards[" + idx + "]";
-                cmd.append("#SpawnListCards", "Pages/EliteEssentials_AdminTpEntry.ui");
+            for (SpawnStorage.SpawnData sp : ss.getSpawns(worldName)) {
                 String label = (sp.name != null && !sp.name.isEmpty()) ? sp.name : "primary";
-                cmd.set(sel + " #TpEntryName.Text", label);
                 String info = String.format("%.0f, %.0f, %.0f (%s)%s", sp.x, sp.y, sp.z, sp.world, sp.primary ? " [primary]" : "");
-                cmd.set(sel + " #TpEntryInfo.Text", info);
-                cmd.set(sel + " #TpEntryGoButton.Text", "GO");
-                cmd.set(sel + " #TpEntryDelButton.Text", "DEL");
                 String spawnKey = sp.world + ":" + (sp.name != null ? sp.name : "");
-                events.addEventBinding(CustomUIEventBindingType.Activating, sel + " #TpEntryGoButton",
-                    new EventData().append("Action", "tpspawn").append("Player", spawnKey), false);
-                events.addEventBinding(CustomUIEventBindingType.Activating, sel + " #TpEntryDelButton",
-                    new EventData().append("Action", "delspawn").append("Player", spawnKey), false);
-                idx++;
+                cards.add(tpCard(spawnKey, label, info, "tpspawn", "delspawn"));
             }
         }
+        tpSpawnCards.render(cards, cmd, events);
+    }
+
+    /**
+     * A warp or spawn card. A null key makes the "none" placeholder: same bindings,
+     * buttons hidden, so the list can switch between the two without a rebuild.
+     */
+    private static CardList.Card tpCard(String key, String name, String info, String goAction, String delAction) {
+        boolean entry = key != null;
+        return CardList.card("Pages/EliteEssentials_AdminTpEntry.ui")
+            .key(key)
+            .set("#TpEntryName.Text", name)
+            .set("#TpEntryInfo.Text", info)
+            .set("#TpEntryGoButton.Text", "GO")
+            .set("#TpEntryDelButton.Text", "DEL")
+            .set("#TpEntryGoButton.Visible", entry)
+            .set("#TpEntryDelButton.Visible", entry)
+            .bind(CustomUIEventBindingType.Activating, "#TpEntryGoButton", "Action", goAction)
+            .bind(CustomUIEventBindingType.Activating, "#TpEntryDelButton", "Action", delAction);
+    }
+
+    private void refreshTeleportLists() {
+        UICommandBuilder cmd = new UICommandBuilder();
+        UIEventBuilder events = new UIEventBuilder();
+        populateWarpList(cmd, events);
+        populateSpawnList(cmd, events);
+        sendUpdate(cmd, events, false);
     }
 
     private void handleTeleportsAction(AdminEventData data, Ref<EntityStore> ref, Store<EntityStore> store) {
@@ -1261,18 +1284,20 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
         }
         EliteEssentials plugin = EliteEssentials.getInstance();
         String adminName = playerRef.getUsername();
+        String warpName = tpWarpCards.keyAt(data.slot);
+        String spawnKey = tpSpawnCards.keyAt(data.slot);
         switch (data.action) {
             case "tpwarp": {
-                if (data.player == null) return;
-                Optional<Warp> warpOpt = plugin.getWarpService().getWarp(data.player);
+                if (warpName == null) return;
+                Optional<Warp> warpOpt = plugin.getWarpService().getWarp(warpName);
                 if (warpOpt.isEmpty()) { setStatus("#TpStatusMsg", "Warp not found"); return; }
                 Location loc = warpOpt.get().getLocation();
                 teleportToLocation(loc);
                 break;
             }
             case "tpspawn": {
-                if (data.player == null) return;
-                String[] parts = data.player.split(":", 2);
+                if (spawnKey == null) return;
+                String[] parts = spawnKey.split(":", 2);
                 String worldName = parts[0];
                 String spawnName = parts.length > 1 ? parts[1] : "";
                 SpawnStorage ss = plugin.getSpawnStorage();
@@ -1287,20 +1312,20 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
                 break;
             }
             case "delwarp": {
-                if (data.player == null) return;
-                boolean deleted = plugin.getWarpService().deleteWarp(data.player);
+                if (warpName == null) return;
+                boolean deleted = plugin.getWarpService().deleteWarp(warpName);
                 if (deleted) {
-                    logActivity("DELWARP", adminName, data.player, "deleted warp");
-                    setStatus("#TpStatusMsg", "Deleted warp '" + data.player + "'");
+                    logActivity("DELWARP", adminName, warpName, "deleted warp");
+                    setStatus("#TpStatusMsg", "Deleted warp '" + warpName + "'");
                 } else {
-                    setStatus("#TpStatusMsg", "Warp not found: " + data.player);
+                    setStatus("#TpStatusMsg", "Warp not found: " + warpName);
                 }
-                switchView("teleports");
+                refreshTeleportLists();
                 break;
             }
             case "delspawn": {
-                if (data.player == null) return;
-                String[] parts = data.player.split(":", 2);
+                if (spawnKey == null) return;
+                String[] parts = spawnKey.split(":", 2);
                 String worldName = parts[0];
                 String spawnName = parts.length > 1 ? parts[1] : "";
                 SpawnStorage ss = plugin.getSpawnStorage();
@@ -1315,11 +1340,11 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
                 } else {
                     setStatus("#TpStatusMsg", "Cannot delete unnamed primary spawn from UI");
                 }
-                switchView("teleports");
+                refreshTeleportLists();
                 break;
             }
             case "refreshtp": {
-                switchView("teleports");
+                refreshTeleportLists();
                 break;
             }
         }
@@ -1403,11 +1428,12 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
                 break;
             }
             case "pddelhome": {
-                if (pdTargetUuid == null || data.player == null) return;
-                HomeService.Result result = plugin.getHomeService().deleteHome(pdTargetUuid, data.player);
+                String homeName = pdHomeCards.keyAt(data.slot);
+                if (pdTargetUuid == null || homeName == null) return;
+                HomeService.Result result = plugin.getHomeService().deleteHome(pdTargetUuid, homeName);
                 if (result == HomeService.Result.SUCCESS) {
-                    logActivity("DELHOME", adminName, pdTarget, "deleted home '" + data.player + "'");
-                    setStatus("#PdStatusMsg", "Deleted home '" + data.player + "' for " + pdTarget);
+                    logActivity("DELHOME", adminName, pdTarget, "deleted home '" + homeName + "'");
+                    setStatus("#PdStatusMsg", "Deleted home '" + homeName + "' for " + pdTarget);
                 } else {
                     setStatus("#PdStatusMsg", "Failed to delete home");
                 }
@@ -1415,8 +1441,9 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
                 break;
             }
             case "pdtphome": {
-                if (pdTargetUuid == null || data.player == null) return;
-                Optional<Home> homeOpt = plugin.getHomeService().getHome(pdTargetUuid, data.player);
+                String homeName = pdHomeCards.keyAt(data.slot);
+                if (pdTargetUuid == null || homeName == null) return;
+                Optional<Home> homeOpt = plugin.getHomeService().getHome(pdTargetUuid, homeName);
                 if (homeOpt.isPresent()) {
                     teleportToLocation(homeOpt.get().getLocation());
                 } else {
@@ -1425,9 +1452,10 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
                 break;
             }
             case "pdtpback": {
-                if (pdTargetUuid == null || data.player == null) return;
+                String backIndex = pdBackCards.keyAt(data.slot);
+                if (pdTargetUuid == null || backIndex == null) return;
                 try {
-                    int index = Integer.parseInt(data.player);
+                    int index = Integer.parseInt(backIndex);
                     PlayerFile pf = plugin.getPlayerStorageProvider().getPlayer(pdTargetUuid);
                     if (pf != null) {
                         List<Location> history = pf.getBackHistory();
@@ -1443,8 +1471,9 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
                 break;
             }
             case "pdtpwarp": {
-                if (data.player == null) return;
-                Optional<PlayerWarp> pwOpt = plugin.getPlayerWarpService().getWarp(data.player);
+                String warpName = pdWarpCards.keyAt(data.slot);
+                if (warpName == null) return;
+                Optional<PlayerWarp> pwOpt = plugin.getPlayerWarpService().getWarp(warpName);
                 if (pwOpt.isPresent()) {
                     teleportToLocation(pwOpt.get().getLocation());
                 } else {
@@ -1453,11 +1482,12 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
                 break;
             }
             case "pddelwarp": {
-                if (data.player == null) return;
-                PlayerWarpService.Result result = plugin.getPlayerWarpService().deleteWarp(data.player, playerRef.getUuid(), true);
+                String warpName = pdWarpCards.keyAt(data.slot);
+                if (warpName == null) return;
+                PlayerWarpService.Result result = plugin.getPlayerWarpService().deleteWarp(warpName, playerRef.getUuid(), true);
                 if (result == PlayerWarpService.Result.SUCCESS) {
-                    logActivity("DELPWARP", adminName, pdTarget, "deleted player warp '" + data.player + "'");
-                    setStatus("#PdStatusMsg", "Deleted player warp '" + data.player + "' for " + pdTarget);
+                    logActivity("DELPWARP", adminName, pdTarget, "deleted player warp '" + warpName + "'");
+                    setStatus("#PdStatusMsg", "Deleted player warp '" + warpName + "' for " + pdTarget);
                 } else {
                     setStatus("#PdStatusMsg", "Player warp not found");
                 }
@@ -1490,76 +1520,42 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
         cmd.set("#PdWarpCount.Text", String.valueOf(playerWarps.size()));
 
         // Homes list
-        cmd.clear("#PdHomeListCards");
+        List<CardList.Card> homeCards = new ArrayList<>();
         Map<String, Home> homes = pf.getHomes();
         if (homes.isEmpty()) {
-            cmd.append("#PdHomeListCards", "Pages/EliteEssentials_AdminPdHomeEntry.ui");
-            cmd.set("#PdHomeListCards[0] #PdHomeName.Text", "No homes");
-            cmd.set("#PdHomeListCards[0] #PdHomeCoords.Text", "");
-            cmd.set("#PdHomeListCards[0] #PdHomeGoButton.Visible", false);
-            cmd.set("#PdHomeListCards[0] #PdHomeDeleteButton.Visible", false);
-        } else {
-            int idx = 0;
-            for (Map.Entry<String, Home> entry : homes.entrySet()) {
-                String sel = "#PdHomeListCards[" + idx + "]";
-                cmd.append("#PdHomeListCards", "Pages/EliteEssentials_AdminPdHomeEntry.ui");
-                cmd.set(sel + " #PdHomeName.Text", entry.getKey());
-                Location loc = entry.getValue().getLocation();
-                cmd.set(sel + " #PdHomeCoords.Text", loc != null ? String.format("%.0f, %.0f, %.0f (%s)", loc.getX(), loc.getY(), loc.getZ(), loc.getWorld()) : "?");
-                events.addEventBinding(CustomUIEventBindingType.Activating, sel + " #PdHomeGoButton",
-                    new EventData().append("Action", "pdtphome").append("Player", entry.getKey()), false);
-                events.addEventBinding(CustomUIEventBindingType.Activating, sel + " #PdHomeDeleteButton",
-                    new EventData().append("Action", "pddelhome").append("Player", entry.getKey()), false);
-                idx++;
-            }
+            homeCards.add(pdHomeCard(null, "No homes", ""));
+        }
+        for (Map.Entry<String, Home> entry : homes.entrySet()) {
+            Location loc = entry.getValue().getLocation();
+            homeCards.add(pdHomeCard(entry.getKey(), entry.getKey(),
+                loc != null ? String.format("%.0f, %.0f, %.0f (%s)", loc.getX(), loc.getY(), loc.getZ(), loc.getWorld()) : "?"));
         }
+        pdHomeCards.render(homeCards, cmd, events);
 
         // Player warps list
-        cmd.clear("#PdWarpListCards");
+        List<CardList.Card> warpCards = new ArrayList<>();
         if (playerWarps.isEmpty()) {
-            cmd.append("#PdWarpListCards", "Pages/EliteEssentials_AdminPdWarpEntry.ui");
-            cmd.set("#PdWarpListCards[0] #PdWarpName.Text", "No warps");
-            cmd.set("#PdWarpListCards[0] #PdWarpPerm.Text", "");
-            cmd.set("#PdWarpListCards[0] #PdWarpCoords.Text", "");
-            cmd.set("#PdWarpListCards[0] #PdWarpGoButton.Visible", false);
-            cmd.set("#PdWarpListCards[0] #PdWarpDeleteButton.Visible", false);
-        } else {
-            int wIdx = 0;
-            for (PlayerWarp pw : playerWarps) {
-                String sel = "#PdWarpListCards[" + wIdx + "]";
-                cmd.append("#PdWarpListCards", "Pages/EliteEssentials_AdminPdWarpEntry.ui");
-                cmd.set(sel + " #PdWarpName.Text", pw.getName());
-                cmd.set(sel + " #PdWarpPerm.Text", pw.isPublic() ? "[Public]" : "[Private]");
-                Location wLoc = pw.getLocation();
-                cmd.set(sel + " #PdWarpCoords.Text", wLoc != null ? String.format("%.0f, %.0f, %.0f (%s)", wLoc.getX(), wLoc.getY(), wLoc.getZ(), wLoc.getWorld()) : "?");
-                events.addEventBinding(CustomUIEventBindingType.Activating, sel + " #PdWarpGoButton",
-                    new EventData().append("Action", "pdtpwarp").append("Player", pw.getName()), false);
-                events.addEventBinding(CustomUIEventBindingType.Activating, sel + " #PdWarpDeleteButton",
-                    new EventData().append("Action", "pddelwarp").append("Player", pw.getName()), false);
-                wIdx++;
-            }
+            warpCards.add(pdWarpCard(null, "No warps", "", ""));
         }
+        for (PlayerWarp pw : playerWarps) {
+            Location wLoc = pw.getLocation();
+            warpCards.add(pdWarpCard(pw.getName(), pw.getName(), pw.isPublic() ? "[Public]" : "[Private]",
+                wLoc != null ? String.format("%.0f, %.0f, %.0f (%s)", wLoc.getX(), wLoc.getY(), wLoc.getZ(), wLoc.getWorld()) : "?"));
+        }
+        pdWarpCards.render(warpCards, cmd, events);
 
         // Back history - card entries with TP buttons
-        cmd.clear("#PdBackListCards");
+        List<CardList.Card> backCards = new ArrayList<>();
         List<Location> backHistory = pf.getBackHistory();
         if (backHistory.isEmpty()) {
-            cmd.append("#PdBackListCards", "Pages/EliteEssentials_AdminPdBackEntry.ui");
-            cmd.set("#PdBackListCards[0] #PdBackIndex.Text", "");
-            cmd.set("#PdBackListCards[0] #PdBackCoords.Text", "No back locations");
-            cmd.set("#PdBackListCards[0] #PdBackGoButton.Visible", false);
-        } else {
-            int i = 0;
-            for (Location loc : backHistory) {
-                String sel = "#PdBackListCards[" + i + "]";
-                cmd.append("#PdBackListCards", "Pages/EliteEssentials_AdminPdBackEntry.ui");
-                cmd.set(sel + " #PdBackIndex.Text", "#" + (i + 1));
-                cmd.set(sel + " #PdBackCoords.Text", String.format("%.0f, %.0f, %.0f (%s)", loc.getX(), loc.getY(), loc.getZ(), loc.getWorld()));
-                events.addEventBinding(CustomUIEventBindingType.Activating, sel + " #PdBackGoButton",
-                    new EventData().append("Action", "pdtpback").append("Player", String.valueOf(i)), false);
-                i++;
-            }
+            backCards.add(pdBackCard(null, "", "No back locations"));
         }
+        for (int i = 0; i < backHistory.size(); i++) {
+            Location loc = backHistory.get(i);
+            backCards.add(pdBackCard(String.valueOf(i), "#" + (i + 1),
+                String.format("%.0f, %.0f, %.0f (%s)", loc.getX(), loc.getY(), loc.getZ(), loc.getWorld())));
+        }
+        pdBackCards.render(backCards, cmd, events);
 
         // Re-bind the action buttons for the refreshed view
         events.addEventBinding(CustomUIEventBindingType.Activating, "#PdClearBackButton", EventData.of("Action", "pdclearback"), false);
@@ -1568,6 +1564,40 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
         sendUpdate(cmd, events, false);
     }
 
+    // Player data cards: a null key makes the "none" placeholder with its buttons hidden
+
+    private static CardList.Card pdHomeCard(String key, String name, String coords) {
+        return CardList.card("Pages/EliteEssentials_AdminPdHomeEntry.ui")
+            .key(key)
+            .set("#PdHomeName.Text", name)
+            .set("#PdHomeCoords.Text", coords)
+            .set("#PdHomeGoButton.Visible", key != null)
+            .set("#PdHomeDeleteButton.Visible", key != null)
+            .bind(CustomUIEventBindingType.Activating, "#PdHomeGoButton", "Action", "pdtphome")
+            .bind(CustomUIEventBindingType.Activating, "#PdHomeDeleteButton", "Action", "pddelhome");
+    }
+
+    private static CardList.Card pdWarpCard(String key, String name, String perm, String coords) {
+        return CardList.card("Pages/EliteEssentials_AdminPdWarpEntry.ui")
+            .key(key)
+            .set("#PdWarpName.Text", name)
+            .set("#PdWarpPerm.Text", perm)
+            .set("#PdWarpCoords.Text", coords)
+            .set("#PdWarpGoButton.Visible", key != null)
+            .set("#PdWarpDeleteButton.Visible", key != null)
+            .bind(CustomUIEventBindingType.Activating, "#PdWarpGoButton", "Action", "pdtpwarp")
+            .bind(CustomUIEventBindingType.Activating, "#PdWarpDeleteButton", "Action", "pddelwarp");
+    }
+
+    private static CardList.Card pdBackCard(String key, String index, String coords) {
+        return CardList.card("Pages/EliteEssentials_AdminPdBackEntry.ui")
+            .key(key)
+            .set("#PdBackIndex.Text", index)
+            .set("#PdBackCoords.Text", coords)
+            .set("#PdBackGoButton.Visible", key != null)
+            .bind(CustomUIEventBindingType.Activating, "#PdBackGoButton", "Action", "pdtpback");
+    }
+
     /** Helper to log admin actions to the ActivityLogService. */
     private void logActivity(String type, String admin, String target, String detail) {
         ActivityLogService als = ActivityLogService.get();
@@ -1639,8 +1669,7 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
         public static final BuilderCodec<AdminEventData> CODEC = BuilderCodec.builder(AdminEventData.class, AdminEventData::new)
             .append(new KeyedCodec<>("Nav", Codec.STRING), (d, s) -> d.nav = s, d -> d.nav).add()
             .append(new KeyedCodec<>("Action", Codec.STRING), (d, s) -> d.action = s, d -> d.action).add()
-            .append(new KeyedCodec<>("Player", Codec.STRING), (d, s) -> d.player = s, d -> d.player).add()
-            .append(new KeyedCodec<>("Target", Codec.STRING), (d, s) -> d.target = s, d -> d.target).add()
+            .append(new KeyedCodec<>(CardList.SLOT_KEY, Codec.STRING), (d, s) -> d.slot = s, d -> d.slot).add()
             .append(new KeyedCodec<>("Index", Codec.STRING), (d, s) -> d.index = s, d -> d.index).add()
             .append(new KeyedCodec<>("@LookupInput", Codec.STRING), (d, s) -> d.lookupInput = s, d -> d.lookupInput).add()
             .append(new KeyedCodec<>("@BanPlayerInput", Codec.STRING), (d, s) -> d.banPlayer = s, d -> d.banPlayer).add()
@@ -1656,13 +1685,16 @@ public class AdminDashboardPage extends InteractiveCustomUIPage<AdminDashboardPa
             .append(new KeyedCodec<>("@EcoPlayerInput", Codec.STRING), (d, s) -> d.ecoPlayer = s, d -> d.ecoPlayer).add()
             .append(new KeyedCodec<>("@EcoAmountInput", Codec.STRING), (d, s) -> d.ecoAmount = s, d -> d.ecoAmount).add()
             .append(new KeyedCodec<>("@PdPlayerInput", Codec.STRING), (d, s) -> d.pdPlayer = s, d -> d.pdPlayer).add()
+            .append(new KeyedCodec<>("@PlayerSearch", Codec.STRING), (d, s) -> d.playerSearch = s, d -> d.playerSearch).add()
+            .append(new KeyedCodec<>("PageAction", Codec.STRING), (d, s) -> d.pageAction = s, d -> d.pageAction).add()
             .build();
 
-        String nav, action, player, target, index, lookupInput;
+        String nav, action, slot, index, lookupInput;
         String banPlayer, banDuration, banReason, unbanPlayer;
         String mutePlayer, muteReason, unmutePlayer;
         String warnPlayer, warnReason, lookupPlayer;
         String ecoPlayer, ecoAmount;
         String pdPlayer;
+        String playerSearch, pageAction;
     }
 }
@@ -70,15 +70,15 @@ public class AdminMutesPage extends InteractiveCustomUIPage<AdminMutesPage.MuteE
             return;
         }
 
-        Map<String, MuteService.MuteEntry> mutes = muteService.getAllMutes();
+        Map<UUID, MuteService.MuteEntry> mutes = muteService.getAllMutes();
         if (mutes.isEmpty()) {
             cmd.set("#MuteList.Text", configManager.getMessage("adminui.mutes.noMutes"));
             return;
         }
 
         StringBuilder sb = new StringBuilder();
-        for (Map.Entry<String, MuteService.MuteEntry> entry : mutes.entrySet()) {
-            String name = entry.getValue().playerName != null ? entry.getValue().playerName : entry.getKey();
+        for (Map.Entry<UUID, MuteService.MuteEntry> entry : mutes.entrySet()) {
+            String name = entry.getValue().playerName != null ? entry.getValue().playerName : entry.getKey().toString();
             String reason = entry.getValue().reason != null ? entry.getValue().reason : "No reason";
             sb.append(name).append(" - ").append(reason).append("\n");
         }
@@ -4,6 +4,7 @@ import com.eliteessentials.EliteEssentials;
 import com.eliteessentials.config.ConfigManager;
 import com.eliteessentials.permissions.Permissions;
 import com.eliteessentials.permissions.PermissionService;
+import com.eliteessentials.gui.components.PlayerBrowser;
 import com.eliteessentials.services.FreezeService;
 import com.eliteessentials.util.PlayerSuggestionProvider;
 import com.eliteessentials.util.MessageFormatter;
@@ -27,25 +28,28 @@ import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import java.util.logging.Logger;
 
 /**
- * Admin UI page for managing online players.
+ * Admin UI page for managing players.
+ * Lists online and offline players through a paged, searchable {@link PlayerBrowser}.
  * Supports lookup, teleport, heal, freeze, and kick actions.
  */
 public class AdminPlayersPage extends InteractiveCustomUIPage<AdminPlayersPage.PlayerEventData> {
 
     private static final Logger logger = Logger.getLogger("EliteEssentials");
     private final ConfigManager configManager;
+    private final PlayerBrowser browser;
     private String selectedPlayer = null;
 
     public AdminPlayersPage(PlayerRef playerRef, ConfigManager configManager) {
         super(playerRef, CustomPageLifetime.CanDismiss, PlayerEventData.CODEC);
         this.configManager = configManager;
+        this.browser = new PlayerBrowser(EliteEssentials.getInstance().getPlayerDirectory(), configManager,
+            "#PlayerListCards", "#PlayerPagination", configManager.getConfig().gui.adminPlayersPerPage);
     }
 
     @Override
@@ -64,7 +68,7 @@ public class AdminPlayersPage extends InteractiveCustomUIPage<AdminPlayersPage.P
         cmd.set("#KickButton.Text", configManager.getMessage("adminui.players.kick"));
         cmd.set("#RefreshButton.Text", configManager.getMessage("adminui.players.refresh"));
 
-        buildPlayerList(cmd, events);
+        browser.build(cmd, events);
 
         events.addEventBinding(CustomUIEventBindingType.Activating, "#BackButton", EventData.of("Action", "back"));
         events.addEventBinding(CustomUIEventBindingType.Activating, "#LookupButton", EventData.of("Action", "lookup"));
@@ -76,31 +80,28 @@ public class AdminPlayersPage extends InteractiveCustomUIPage<AdminPlayersPage.P
         events.addEventBinding(CustomUIEventBindingType.Activating, "#RefreshButton", EventData.of("Action", "refresh"));
     }
 
-    private void buildPlayerList(UICommandBuilder cmd, UIEventBuilder events) {
-        int index = 0;
-        for (PlayerRef p : Universe.get().getPlayers()) {
-            if (!p.isValid()) continue;
-            String selector = "#PlayerListCards[" + index + "]";
-            cmd.append("#PlayerListCards", "Pages/EliteEssentials_AdminPlayerEntry.ui");
-            cmd.set(selector + " #EntryName.Text", p.getUsername());
-            cmd.set(selector + " #EntrySelectButton.Text", configManager.getMessage("adminui.players.select"));
-            events.addEventBinding(CustomUIEventBindingType.Activating, selector + " #EntrySelectButton",
-                new EventData().append("Action", "select").append("Player", p.getUsername()), false);
-            index++;
-        }
-        if (index == 0) {
-            cmd.set("#PlayerStatusMsg.Text", configManager.getMessage("adminui.players.noPlayers"));
-        }
+    /**
+     * Send only the browser's changed rows instead of rebuilding the page.
+     */
+    private void refreshPlayerList() {
+        UICommandBuilder cmd = new UICommandBuilder();
+        UIEventBuilder events = new UIEventBuilder();
+        browser.render(cmd, events);
+        sendUpdate(cmd, events, false);
     }
 
     @Override
     public void handleDataEvent(Ref<EntityStore> ref, Store<EntityStore> store, PlayerEventData data) {
+        if (browser.handle(data.action, data.search, data.pageAction)) {
+            refreshPlayerList();
+            return;
+        }
         if (data.action == null) return;
         switch (data.action) {
             case "back": this.close(); break;
-            case "refresh": this.rebuild(); break;
-            case "select":
-                if (data.player != null) { selectedPlayer = data.player; updatePlayerInfo(); }
+            case PlayerBrowser.ACTION_SELECT:
+                var row = browser.rowAt(data.index);
+                if (row != null) { selectedPlayer = row.name(); updatePlayerInfo(); }
                 break;
             case "lookup":
                 if (data.player != null && !data.player.isEmpty()) selectedPlayer = data.player;
@@ -275,10 +276,16 @@ public class AdminPlayersPage extends InteractiveCustomUIPage<AdminPlayersPage.P
         public static final BuilderCodec<PlayerEventData> CODEC = BuilderCodec.builder(PlayerEventData.class, PlayerEventData::new)
             .append(new KeyedCodec<>("Action", Codec.STRING), (d, s) -> d.action = s, d -> d.action).add()
             .append(new KeyedCodec<>("Player", Codec.STRING), (d, s) -> d.player = s, d -> d.player).add()
+            .append(new KeyedCodec<>("Index", Codec.STRING), (d, s) -> d.index = s, d -> d.index).add()
+            .append(new KeyedCodec<>("PageAction", Codec.STRING), (d, s) -> d.pageAction = s, d -> d.pageAction).add()
+            .append(new KeyedCodec<>("@PlayerSearch", Codec.STRING), (d, s) -> d.search = s, d -> d.search).add()
             .build();
 
         private String action;
         private String player;
+        private String index;
+        private String pageAction;
+        private String search;
 
         public String getAction() { return action; }
         public String getPlayer() { return player; }
@@ -1,6 +1,8 @@
 package com.eliteessentials.gui;
 
+import com.eliteessentials.EliteEssentials;
 import com.eliteessentials.config.ConfigManager;
+import com.eliteessentials.services.ServerStatsSnapshot;
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.codec.KeyedCodec;
@@ -13,19 +15,18 @@ import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import java.util.logging.Logger;
 
 /**
- * Admin UI page showing live server statistics.
- * Displays players, TPS, memory, uptime, and Java info.
+ * Admin UI page showing server statistics.
+ * Displays players, TPS, memory, uptime, and Java info from the background
+ * {@link ServerStatsSnapshot}.
  */
 public class AdminStatsPage extends InteractiveCustomUIPage<AdminStatsPage.StatsEventData> {
 
     private static final Logger logger = Logger.getLogger("EliteEssentials");
-    private static final long START_TIME = System.currentTimeMillis();
     private final ConfigManager configManager;
 
     public AdminStatsPage(PlayerRef playerRef, ConfigManager configManager) {
@@ -60,32 +61,23 @@ public class AdminStatsPage extends InteractiveCustomUIPage<AdminStatsPage.Stats
     }
 
     private void populateStats(UICommandBuilder cmd) {
+        ServerStatsSnapshot.Snapshot stats = EliteEssentials.getInstance().getServerStats().get();
+
         // Players
-        int online = 0;
-        try {
-            for (PlayerRef p : Universe.get().getPlayers()) {
-                online++;
-            }
-        } catch (Exception ignored) {}
-        cmd.set("#StPlayers.Text", String.valueOf(online));
-        cmd.set("#StPlayersMax.Text", online + " online");
-
-        // TPS - not directly exposed by Hytale API
-        cmd.set("#StTPS.Text", "--");
+        cmd.set("#StPlayers.Text", String.valueOf(stats.online()));
+        cmd.set("#StPlayersMax.Text", stats.online() + " online");
+
+        // TPS
+        cmd.set("#StTPS.Text", stats.tps() > 0 ? String.format("%.1f", stats.tps()) : "--");
 
         // Memory
-        Runtime rt = Runtime.getRuntime();
-        long usedMb = (rt.totalMemory() - rt.freeMemory()) / (1024 * 1024);
-        long maxMb = rt.maxMemory() / (1024 * 1024);
-        long freeMb = rt.freeMemory() / (1024 * 1024);
-        cmd.set("#StMemory.Text", usedMb + " MB");
-        cmd.set("#StMemMax.Text", "/ " + maxMb + " MB allocated");
-        cmd.set("#StFreeMem.Text", freeMb + " MB");
+        cmd.set("#StMemory.Text", stats.usedMb() + " MB");
+        cmd.set("#StMemMax.Text", "/ " + stats.maxMb() + " MB allocated");
+        cmd.set("#StFreeMem.Text", (stats.maxMb() - stats.usedMb()) + " MB");
 
         // Uptime
-        long uptimeMs = System.currentTimeMillis() - START_TIME;
-        long hours = uptimeMs / 3_600_000;
-        long minutes = (uptimeMs % 3_600_000) / 60_000;
+        long hours = stats.uptimeMs() / 3_600_000;
+        long minutes = (stats.uptimeMs() % 3_600_000) / 60_000;
         cmd.set("#StUptime.Text", hours + "h " + minutes + "m");
 
         // Java info
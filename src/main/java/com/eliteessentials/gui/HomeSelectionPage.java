@@ -12,6 +12,9 @@ import com.eliteessentials.services.HomeService;
 import com.eliteessentials.services.WarmupService;
 import com.eliteessentials.util.CommandPermissionUtil;
 import com.eliteessentials.util.MessageFormatter;
+import com.eliteessentials.util.TeleportUtil;
+import com.eliteessentials.gui.components.CachedView;
+import com.eliteessentials.gui.components.CardList;
 import com.eliteessentials.gui.components.PaginationControl;
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
@@ -27,7 +30,6 @@ import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.modules.entity.component.HeadRotation;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.modules.entity.teleport.Teleport;
-import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
@@ -58,6 +60,9 @@ public class HomeSelectionPage extends InteractiveCustomUIPage<HomeSelectionPage
     private final ConfigManager configManager;
     private final World world;
     private int pageIndex = 0;
+    // Sorted homes, recomputed only when HomeService reports a change
+    private final CachedView<List<Home>> sortedHomes;
+    private final CardList homeCards = new CardList("homes", "#HomeCards");
 
     public HomeSelectionPage(PlayerRef playerRef, HomeService homeService, BackService backService, 
                              ConfigManager configManager, World world) {
@@ -66,6 +71,11 @@ public class HomeSelectionPage extends InteractiveCustomUIPage<HomeSelectionPage
         this.backService = backService;
         this.configManager = configManager;
         this.world = world;
+        this.sortedHomes = new CachedView<>(homeService::getRevision, () -> {
+            List<Home> homeList = new ArrayList<>(homeService.getHomes(playerRef.getUuid()).values());
+            homeList.sort(Comparator.comparing(Home::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+            return homeList;
+        });
     }
 
     @Override
@@ -93,6 +103,7 @@ public class HomeSelectionPage extends InteractiveCustomUIPage<HomeSelectionPage
         );
         PaginationControl.bind(eventBuilder, "#Pagination");
 
+        homeCards.reset();
         buildHomeList(commandBuilder, eventBuilder);
     }
 
@@ -112,19 +123,18 @@ public class HomeSelectionPage extends InteractiveCustomUIPage<HomeSelectionPage
             return;
         }
 
-        if (ACTION_EDIT.equals(data.action)) {
-            if (data.home == null || data.home.isEmpty()) {
-                return;
-            }
-            openEditPage(ref, store, data.home);
+        // Card buttons send their slot; the home is whatever that slot shows now
+        String selected = homeCards.keyAt(data.slot);
+        if (selected == null || selected.isEmpty()) {
             return;
         }
 
-        if (!ACTION_TELEPORT.equals(data.action)) {
+        if (ACTION_EDIT.equals(data.action)) {
+            openEditPage(ref, store, selected);
             return;
         }
 
-        if (data.home == null || data.home.isEmpty()) {
+        if (!ACTION_TELEPORT.equals(data.action)) {
             return;
         }
 
@@ -132,13 +142,13 @@ public class HomeSelectionPage extends InteractiveCustomUIPage<HomeSelectionPage
         PluginConfig config = configManager.getConfig();
         
         // Check if this is a delete action (D: prefix) or teleport (T: prefix)
-        if (data.home.startsWith("D:")) {
-            String homeName = data.home.substring(2);
+        if (selected.startsWith("D:")) {
+            String homeName = selected.substring(2);
             handleDeleteHome(playerId, homeName);
             return;
         }
         
-        String homeName = data.home.startsWith("T:") ? data.home.substring(2) : data.home;
+        String homeName = selected.startsWith("T:") ? selected.substring(2) : selected;
         
         Optional<Home> homeOpt = homeService.getHome(playerId, homeName);
         
@@ -230,6 +240,7 @@ public class HomeSelectionPage extends InteractiveCustomUIPage<HomeSelectionPage
                 Teleport teleport = new Teleport(finalWorld, targetPos, targetRot);
                 
                 store.putComponent(ref, Teleport.getComponentType(), teleport);
+                TeleportUtil.reanchorFrozen(playerId, targetPos);
                 
                 // Charge cost after successful teleport
                 if (finalCostService != null && finalCost > 0) {
@@ -288,13 +299,6 @@ public class HomeSelectionPage extends InteractiveCustomUIPage<HomeSelectionPage
             "max", maxDisplay);
         cmd.set("#PageTitleLabel.Text", title);
         
-        PaginationControl.setButtonLabels(
-            cmd,
-            "#Pagination",
-            configManager.getMessage("gui.PaginationPrev"),
-            configManager.getMessage("gui.PaginationNext")
-        );
-        PaginationControl.bind(events, "#Pagination");
         buildHomeList(cmd, events);
         
         this.sendUpdate(cmd, events, false);
@@ -312,12 +316,10 @@ public class HomeSelectionPage extends InteractiveCustomUIPage<HomeSelectionPage
     }
 
     private void buildHomeList(UICommandBuilder commandBuilder, UIEventBuilder eventBuilder) {
-        Map<String, Home> homes = homeService.getHomes(playerRef.getUuid());
-        List<Home> homeList = new ArrayList<>(homes.values());
-        homeList.sort(Comparator.comparing(Home::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+        List<Home> homeList = sortedHomes.get();
 
         if (homeList.isEmpty()) {
-            commandBuilder.clear("#HomeCards");
+            homeCards.render(List.of(), commandBuilder, eventBuilder);
             PaginationControl.setEmptyAndHide(commandBuilder, "#Pagination", configManager.getMessage("gui.PaginationLabel"));
             return;
         }
@@ -330,49 +332,27 @@ public class HomeSelectionPage extends InteractiveCustomUIPage<HomeSelectionPage
         int start = pageIndex * pageSize;
         int end = Math.min(start + pageSize, homeList.size());
 
-        commandBuilder.clear("#HomeCards");
-
+        List<CardList.Card> cards = new ArrayList<>(end - start);
         for (int i = start; i < end; i++) {
             Home home = homeList.get(i);
-            int entryIndex = i - start;
-            String selector = "#HomeCards[" + entryIndex + "]";
-
-            commandBuilder.append("#HomeCards", "Pages/EliteEssentials_HomeEntry.ui");
-            commandBuilder.set(selector + " #HomeName.Text", home.getName());
-
             String coords = String.format("%.0f, %.0f, %.0f",
                 home.getLocation().getX(),
                 home.getLocation().getY(),
                 home.getLocation().getZ());
-            commandBuilder.set(
-                selector + " #HomeWorld.Text",
-                configManager.getMessage(
+            cards.add(CardList.card("Pages/EliteEssentials_HomeEntry.ui")
+                .key(home.getName())
+                .set("#HomeName.Text", home.getName())
+                .set("#HomeWorld.Text", configManager.getMessage(
                     "gui.HomeEntryWorld",
                     "world", home.getLocation().getWorld(),
                     "coords", coords
-                )
-            );
-            commandBuilder.set(selector + " #HomeEditButton.Text", configManager.getMessage("gui.HomeEntryEdit"));
-            commandBuilder.set(selector + " #HomeTeleportButton.Text", configManager.getMessage("gui.HomeEntryGo"));
-
-            eventBuilder.addEventBinding(
-                CustomUIEventBindingType.Activating,
-                selector + " #HomeTeleportButton",
-                new EventData()
-                    .append("Action", ACTION_TELEPORT)
-                    .append("Home", home.getName()),
-                false
-            );
-            eventBuilder.addEventBinding(
-                CustomUIEventBindingType.Activating,
-                selector + " #HomeEditButton",
-                new EventData()
-                    .append("Action", ACTION_EDIT)
-                    .append("Home", home.getName()),
-                false
-            );
-
+                ))
+                .set("#HomeEditButton.Text", configManager.getMessage("gui.HomeEntryEdit"))
+                .set("#HomeTeleportButton.Text", configManager.getMessage("gui.HomeEntryGo"))
+                .bind(CustomUIEventBindingType.Activating, "#HomeTeleportButton", "Action", ACTION_TELEPORT)
+                .bind(CustomUIEventBindingType.Activating, "#HomeEditButton", "Action", ACTION_EDIT));
         }
+        homeCards.render(cards, commandBuilder, eventBuilder);
 
         PaginationControl.updateOrHide(commandBuilder, "#Pagination", pageIndex, totalPages, pageLabelFormat);
     }
@@ -386,7 +366,7 @@ public class HomeSelectionPage extends InteractiveCustomUIPage<HomeSelectionPage
      */
     public static class HomePageData {
         public static final BuilderCodec<HomePageData> CODEC = BuilderCodec.builder(HomePageData.class, HomePageData::new)
-                .append(new KeyedCodec<>("Home", Codec.STRING), (data, s) -> data.home = s, data -> data.home)
+                .append(new KeyedCodec<>(CardList.SLOT_KEY, Codec.STRING), (data, s) -> data.slot = s, data -> data.slot)
                 .add()
                 .append(new KeyedCodec<>("Action", Codec.STRING), (data, s) -> data.action = s, data -> data.action)
                 .add()
@@ -394,12 +374,12 @@ public class HomeSelectionPage extends InteractiveCustomUIPage<HomeSelectionPage
                 .add()
                 .build();
 
-        private String home;
+        private String slot;
         private String action;
         private String pageAction;
 
-        public String getHome() {
-            return home;
+        public String getSlot() {
+            return slot;
         }
         
         public String getAction() {
@@ -414,13 +394,6 @@ public class HomeSelectionPage extends InteractiveCustomUIPage<HomeSelectionPage
     private void updateList() {
         UICommandBuilder commandBuilder = new UICommandBuilder();
         UIEventBuilder eventBuilder = new UIEventBuilder();
-        PaginationControl.setButtonLabels(
-            commandBuilder,
-            "#Pagination",
-            configManager.getMessage("gui.PaginationPrev"),
-            configManager.getMessage("gui.PaginationNext")
-        );
-        PaginationControl.bind(eventBuilder, "#Pagination");
         buildHomeList(commandBuilder, eventBuilder);
         sendUpdate(commandBuilder, eventBuilder, false);
     }
@@ -8,6 +8,8 @@ import com.eliteessentials.permissions.Permissions;
 import com.eliteessentials.services.KitService;
 import com.eliteessentials.util.MessageFormatter;
 import com.eliteessentials.util.CommandExecutor;
+import com.eliteessentials.gui.components.CachedView;
+import com.eliteessentials.gui.components.CardList;
 import com.eliteessentials.gui.components.PaginationControl;
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
@@ -24,7 +26,6 @@ import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.inventory.container.CombinedItemContainer;
 import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
 import com.hypixel.hytale.server.core.inventory.transaction.ItemStackTransaction;
-import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
@@ -38,6 +39,10 @@ import java.util.logging.Logger;
 /**
  * EliteEssentials Kit Selection GUI.
  * A unique, stylish interface for selecting and claiming kits.
+ *
+ * The kit list and the player's kit permissions are worked out once per page and
+ * reused until KitService reports a change; cooldowns and claimed state are read
+ * fresh on every update since they tick.
  */
 public class KitSelectionPage extends InteractiveCustomUIPage<KitSelectionPage.KitPageData> {
 
@@ -45,11 +50,17 @@ public class KitSelectionPage extends InteractiveCustomUIPage<KitSelectionPage.K
     private final KitService kitService;
     private final ConfigManager configManager;
     private int pageIndex = 0;
+    private final CachedView<List<KitAccess>> kits;
+    private final CardList kitCards = new CardList("kits", "#KitCards");
+
+    /** A kit plus the permission results that decide how it is shown */
+    private record KitAccess(Kit kit, boolean hasPermission, boolean canBypassOnetime) {}
 
     public KitSelectionPage(PlayerRef playerRef, KitService kitService, ConfigManager configManager) {
         super(playerRef, CustomPageLifetime.CanDismiss, KitPageData.CODEC);
         this.kitService = kitService;
         this.configManager = configManager;
+        this.kits = new CachedView<>(kitService::getRevision, this::loadKitAccess);
     }
 
     @Override
@@ -69,6 +80,7 @@ public class KitSelectionPage extends InteractiveCustomUIPage<KitSelectionPage.K
             configManager.getMessage("gui.PaginationNext")
         );
         PaginationControl.bind(eventBuilder, "#Pagination");
+        kitCards.reset();
         buildKitList(commandBuilder, eventBuilder);
     }
 
@@ -84,12 +96,14 @@ public class KitSelectionPage extends InteractiveCustomUIPage<KitSelectionPage.K
             return;
         }
 
-        if (data.kit == null || data.kit.isEmpty()) {
+        // Claim buttons send their slot; the kit is whatever that slot shows now
+        String kitId = kitCards.keyAt(data.slot);
+        if (kitId == null || kitId.isEmpty()) {
             return;
         }
 
         UUID playerId = playerRef.getUuid();
-        Kit kit = kitService.getKit(data.kit);
+        Kit kit = kitService.getKit(kitId);
         
         if (kit == null) {
             sendMessage(configManager.getMessage("kitNotFound"), "#FF5555");
@@ -299,23 +313,30 @@ public class KitSelectionPage extends InteractiveCustomUIPage<KitSelectionPage.K
     private void updateList() {
         UICommandBuilder commandBuilder = new UICommandBuilder();
         UIEventBuilder eventBuilder = new UIEventBuilder();
-        PaginationControl.setButtonLabels(
-            commandBuilder,
-            "#Pagination",
-            configManager.getMessage("gui.PaginationPrev"),
-            configManager.getMessage("gui.PaginationNext")
-        );
-        PaginationControl.bind(eventBuilder, "#Pagination");
         buildKitList(commandBuilder, eventBuilder);
         sendUpdate(commandBuilder, eventBuilder, false);
     }
 
+    private List<KitAccess> loadKitAccess() {
+        UUID playerId = playerRef.getUuid();
+        PermissionService perms = PermissionService.get();
+        boolean canBypassOnetime = perms.hasPermission(playerId, Permissions.KIT_BYPASS_ONETIME);
+        boolean isAdmin = perms.isAdmin(playerId);
+        List<KitAccess> result = new ArrayList<>();
+        for (Kit kit : kitService.getAllKits()) {
+            boolean hasPermission = isAdmin
+                || perms.canUseEveryoneCommand(playerId, Permissions.kitAccess(kit.getId()), true);
+            result.add(new KitAccess(kit, hasPermission, canBypassOnetime));
+        }
+        return result;
+    }
+
     private void buildKitList(UICommandBuilder commandBuilder, UIEventBuilder eventBuilder) {
-        List<Kit> allKits = new ArrayList<>(kitService.getAllKits());
+        List<KitAccess> allKits = kits.get();
         UUID playerId = playerRef.getUuid();
         
         if (allKits.isEmpty()) {
-            commandBuilder.clear("#KitCards");
+            kitCards.render(List.of(), commandBuilder, eventBuilder);
             PaginationControl.setEmptyAndHide(commandBuilder, "#Pagination", configManager.getMessage("gui.PaginationLabel"));
             return;
         }
@@ -329,29 +350,18 @@ public class KitSelectionPage extends InteractiveCustomUIPage<KitSelectionPage.K
         int start = pageIndex * pageSize;
         int end = Math.min(start + pageSize, allKits.size());
 
-        commandBuilder.clear("#KitCards");
-
+        List<CardList.Card> cards = new ArrayList<>(end - start);
         for (int i = start; i < end; i++) {
-            Kit kit = allKits.get(i);
-            int entryIndex = i - start;
-            String selector = "#KitCards[" + entryIndex + "]";
-
-            // Add kit entry UI element
-            commandBuilder.append("#KitCards", "Pages/EliteEssentials_KitEntry.ui");
-            
-            // Check kit-specific permission
-            String kitPermission = Permissions.kitAccess(kit.getId());
-            boolean hasPermission = PermissionService.get().canUseEveryoneCommand(playerId, kitPermission, true) ||
-                                   PermissionService.get().isAdmin(playerId);
-            boolean canBypassOnetime = PermissionService.get().hasPermission(playerId, Permissions.KIT_BYPASS_ONETIME);
+            KitAccess access = allKits.get(i);
+            Kit kit = access.kit();
 
             String statusText;
             boolean canClaim = true;
             
-            if (!hasPermission) {
+            if (!access.hasPermission()) {
                 statusText = configManager.getMessage("gui.KitStatusLocked");
                 canClaim = false;
-            } else if (kit.isOnetime() && !canBypassOnetime && kitService.hasClaimedOnetime(playerId, kit.getId())) {
+            } else if (kit.isOnetime() && !access.canBypassOnetime() && kitService.hasClaimedOnetime(playerId, kit.getId())) {
                 statusText = configManager.getMessage("gui.KitStatusClaimed");
                 canClaim = false;
             } else {
@@ -365,23 +375,17 @@ public class KitSelectionPage extends InteractiveCustomUIPage<KitSelectionPage.K
                 }
             }
             
-            // Set kit name with status in the same line
-            commandBuilder.set(selector + " #KitName.Text", kit.getDisplayName() + " (" + statusText + ")");
-
-            // Set description
-            commandBuilder.set(selector + " #KitDescription.Text", kit.getDescription());
-
-            commandBuilder.set(selector + " #KitStatus.Text", "");
-            commandBuilder.set(selector + " #KitClaimButton.Disabled", !canClaim);
-            commandBuilder.set(selector + " #KitClaimButton.Text", configManager.getMessage("gui.KitClaimButton"));
-
-            // Bind click event
-            eventBuilder.addEventBinding(
-                CustomUIEventBindingType.Activating,
-                selector + " #KitClaimButton",
-                EventData.of("Kit", kit.getId())
-            );
+            // Kit name carries the status on the same line
+            cards.add(CardList.card("Pages/EliteEssentials_KitEntry.ui")
+                .key(kit.getId())
+                .set("#KitName.Text", kit.getDisplayName() + " (" + statusText + ")")
+                .set("#KitDescription.Text", kit.getDescription())
+                .set("#KitStatus.Text", "")
+                .set("#KitClaimButton.Disabled", !canClaim)
+                .set("#KitClaimButton.Text", configManager.getMessage("gui.KitClaimButton"))
+                .bind(CustomUIEventBindingType.Activating, "#KitClaimButton"));
         }
+        kitCards.render(cards, commandBuilder, eventBuilder);
 
         PaginationControl.updateOrHide(commandBuilder, "#Pagination", pageIndex, totalPages, pageLabelFormat);
     }
@@ -406,17 +410,17 @@ public class KitSelectionPage extends InteractiveCustomUIPage<KitSelectionPage.K
      */
     public static class KitPageData {
         public static final BuilderCodec<KitPageData> CODEC = BuilderCodec.builder(KitPageData.class, KitPageData::new)
-                .append(new KeyedCodec<>("Kit", Codec.STRING), (data, s) -> data.kit = s, data -> data.kit)
+                .append(new KeyedCodec<>(CardList.SLOT_KEY, Codec.STRING), (data, s) -> data.slot = s, data -> data.slot)
                 .add()
                 .append(new KeyedCodec<>("PageAction", Codec.STRING), (data, s) -> data.pageAction = s, data -> data.pageAction)
                 .add()
                 .build();
 
-        private String kit;
+        private String slot;
         private String pageAction;
 
-        public String getKit() {
-            return kit;
+        public String getSlot() {
+            return slot;
         }
 
         public String getPageAction() {
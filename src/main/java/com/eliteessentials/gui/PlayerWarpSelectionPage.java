@@ -12,8 +12,11 @@ import com.eliteessentials.services.CooldownService;
 import com.eliteessentials.services.CostService;
 import com.eliteessentials.services.PlayerWarpService;
 import com.eliteessentials.services.WarmupService;
+import com.eliteessentials.storage.PlayerWarpStorageProvider;
 import com.eliteessentials.util.CommandPermissionUtil;
 import com.eliteessentials.util.MessageFormatter;
+import com.eliteessentials.gui.components.CachedView;
+import com.eliteessentials.gui.components.CardList;
 import com.eliteessentials.gui.components.PaginationControl;
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
@@ -27,7 +30,6 @@ import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
 import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCustomUIPage;
 import com.hypixel.hytale.server.core.modules.entity.component.HeadRotation;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
-import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
@@ -42,6 +44,9 @@ import java.util.logging.Logger;
  * Player Warp Selection GUI.
  * Shows player warps with Public/Private/All filter buttons.
  * Owners can delete their own warps from the GUI.
+ * Can also be opened as a ranking of public warps by visits (see {@link #showRanking}).
+ * The shown page is fetched again only after a page/filter change or when
+ * PlayerWarpService reports that warps changed.
  */
 public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpSelectionPage.PageData> {
 
@@ -60,7 +65,10 @@ public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpS
     private final World world;
     private int pageIndex = 0;
     private FilterMode filterMode = FilterMode.ALL;
+    private PlayerWarpStorageProvider.Sort sort = PlayerWarpStorageProvider.Sort.NAME;
     private final DeleteConfirmState deleteConfirmState;
+    private final CachedView<PlayerWarpStorageProvider.Page> currentPage;
+    private final CardList warpCards = new CardList("playerwarps", "#WarpCards");
 
     public PlayerWarpSelectionPage(PlayerRef playerRef, PlayerWarpService playerWarpService,
                                    BackService backService, ConfigManager configManager, World world,
@@ -75,6 +83,8 @@ public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpS
             configManager.getMessage("gui.PlayerWarpDeleteConfirmButton"),
             250
         );
+        this.currentPage = new CachedView<>(playerWarpService::getRevision, () -> loadPage(
+            playerRef.getUuid(), Math.max(1, configManager.getConfig().gui.playerWarpsPerPage)));
     }
 
     @Override
@@ -82,7 +92,11 @@ public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpS
                       UIEventBuilder eventBuilder, Store<EntityStore> store) {
         commandBuilder.append("Pages/EliteEssentials_WarpPage.ui");
 
-        String title = configManager.getMessage("gui.PlayerWarpsTitle");
+        String title = switch (sort) {
+            case POPULAR -> configManager.getMessage("gui.PlayerWarpsTopTitle");
+            case TRENDING -> configManager.getMessage("gui.PlayerWarpsTrendingTitle");
+            default -> configManager.getMessage("gui.PlayerWarpsTitle");
+        };
         commandBuilder.set("#PageTitleLabel.Text", title);
 
         // Pagination
@@ -93,6 +107,7 @@ public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpS
             configManager.getMessage("gui.PaginationNext"));
         PaginationControl.bind(eventBuilder, "#Pagination");
 
+        warpCards.reset();
         buildWarpList(commandBuilder, eventBuilder);
     }
 
@@ -101,62 +116,83 @@ public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpS
         int pageSize = Math.max(1, configManager.getConfig().gui.playerWarpsPerPage);
         String pageLabelFormat = configManager.getMessage("gui.PaginationLabel");
 
-        List<PlayerWarp> warps = getFilteredWarps(playerId);
-        cmd.clear("#WarpCards");
+        PlayerWarpStorageProvider.Page page = currentPage.get();
 
-        if (warps.isEmpty()) {
+        if (page.total == 0) {
+            warpCards.render(List.of(), cmd, events);
             PaginationControl.setEmptyAndHide(cmd, "#Pagination", pageLabelFormat);
             return;
         }
 
-        int totalPages = (int) Math.ceil(warps.size() / (double) pageSize);
-        if (pageIndex >= totalPages) pageIndex = totalPages - 1;
-        int start = pageIndex * pageSize;
-        int end = Math.min(start + pageSize, warps.size());
-
-        for (int i = start; i < end; i++) {
-            PlayerWarp warp = warps.get(i);
-            int entryIndex = i - start;
-            String selector = "#WarpCards[" + entryIndex + "]";
-            boolean isOwner = warp.getOwnerId().equals(playerId);
-
-            if (isOwner) {
-                cmd.append("#WarpCards", "Pages/EliteEssentials_WarpEntry.ui");
-                cmd.set(selector + " #DeleteButton.Text", getDeleteButtonText(warp.getName()));
-                events.addEventBinding(CustomUIEventBindingType.Activating, selector + " #DeleteButton",
-                    new EventData().append("Action", ACTION_DELETE).append("Warp", warp.getName()), false);
-                events.addEventBinding(CustomUIEventBindingType.MouseExited, selector + " #DeleteButton",
-                    new EventData().append("Action", ACTION_CANCEL_DELETE).append("Warp", warp.getName()), false);
-            } else {
-                cmd.append("#WarpCards", "Pages/EliteEssentials_WarpEntryNoDelete.ui");
-            }
+        int totalPages = (int) Math.ceil(page.total / (double) pageSize);
 
-            // Name field shows description (big blue text), description field shows "[Visibility] - PlayerName" (small gray text)
-            String warpDesc = warp.getDescription();
-            String nameText = (warpDesc != null && !warpDesc.isEmpty()) ? warpDesc : warp.getName();
-            cmd.set(selector + " #WarpName.Text", nameText);
-            String visTag = warp.isPublic()
-                ? configManager.getMessage("gui.PlayerWarpPublicTag")
-                : configManager.getMessage("gui.PlayerWarpPrivateTag");
-            cmd.set(selector + " #WarpDescription.Text", visTag + " - " + warp.getOwnerName());
-            cmd.set(selector + " #WarpButton.Text", configManager.getMessage("gui.PlayerWarpButton"));
-
-            events.addEventBinding(CustomUIEventBindingType.Activating, selector + " #WarpButton",
-                new EventData().append("Action", ACTION_TELEPORT).append("Warp", warp.getName()), false);
+        List<CardList.Card> cards = new ArrayList<>(page.warps.size());
+        for (PlayerWarp warp : page.warps) {
+            cards.add(warpCard(warp, warp.getOwnerId().equals(playerId)));
         }
+        warpCards.render(cards, cmd, events);
 
         PaginationControl.updateOrHide(cmd, "#Pagination", pageIndex, totalPages, pageLabelFormat);
     }
 
-    private List<PlayerWarp> getFilteredWarps(UUID playerId) {
-        List<PlayerWarp> result;
+    private CardList.Card warpCard(PlayerWarp warp, boolean isOwner) {
+        CardList.Card card;
+        if (isOwner) {
+            card = CardList.card("Pages/EliteEssentials_WarpEntry.ui")
+                .set("#DeleteButton.Text", getDeleteButtonText(warp.getName()))
+                .bind(CustomUIEventBindingType.Activating, "#DeleteButton", "Action", ACTION_DELETE)
+                .bind(CustomUIEventBindingType.MouseExited, "#DeleteButton", "Action", ACTION_CANCEL_DELETE);
+        } else {
+            card = CardList.card("Pages/EliteEssentials_WarpEntryNoDelete.ui");
+        }
+
+        // Name field shows description (big blue text), description field shows "[Visibility] - PlayerName" (small gray text)
+        String warpDesc = warp.getDescription();
+        String nameText = (warpDesc != null && !warpDesc.isEmpty()) ? warpDesc : warp.getName();
+        String visTag = warp.isPublic()
+            ? configManager.getMessage("gui.PlayerWarpPublicTag")
+            : configManager.getMessage("gui.PlayerWarpPrivateTag");
+        String details = visTag + " - " + warp.getOwnerName();
+        if (sort == PlayerWarpStorageProvider.Sort.POPULAR || sort == PlayerWarpStorageProvider.Sort.TRENDING) {
+            details += " - " + configManager.getMessage("gui.PlayerWarpVisits",
+                "visits", String.valueOf(playerWarpService.getVisits(warp)));
+        }
+        return card
+            .key(warp.getName())
+            .set("#WarpName.Text", nameText)
+            .set("#WarpDescription.Text", details)
+            .set("#WarpButton.Text", configManager.getMessage("gui.PlayerWarpButton"))
+            .bind(CustomUIEventBindingType.Activating, "#WarpButton", "Action", ACTION_TELEPORT);
+    }
+
+    /**
+     * Show public warps ranked by total visits (POPULAR) or recent visits (TRENDING)
+     * instead of by name. Call before the page is opened.
+     */
+    public void showRanking(PlayerWarpStorageProvider.Sort ranking) {
+        this.sort = ranking;
+        this.filterMode = FilterMode.PUBLIC;
+        this.pageIndex = 0;
+        currentPage.invalidate();
+    }
+
+    /**
+     * Fetch only the current page, clamping pageIndex if warps were removed since it was set.
+     */
+    private PlayerWarpStorageProvider.Page loadPage(UUID playerId, int pageSize) {
+        PlayerWarpStorageProvider.Scope scope;
         switch (filterMode) {
-            case PUBLIC -> result = playerWarpService.getPublicWarps();
-            case PRIVATE -> result = playerWarpService.getWarpsByOwner(playerId);
-            default -> result = playerWarpService.getAccessibleWarps(playerId);
+            case PUBLIC -> scope = PlayerWarpStorageProvider.Scope.PUBLIC;
+            case PRIVATE -> scope = PlayerWarpStorageProvider.Scope.OWNED;
+            default -> scope = PlayerWarpStorageProvider.Scope.ACCESSIBLE;
         }
-        result.sort(Comparator.comparing(PlayerWarp::getName));
-        return result;
+        PlayerWarpStorageProvider.Page page = playerWarpService.getWarpPage(
+                scope, playerId, sort, pageIndex * pageSize, pageSize);
+        if (page.warps.isEmpty() && page.total > 0) {
+            pageIndex = (page.total - 1) / pageSize;
+            page = playerWarpService.getWarpPage(scope, playerId, sort, pageIndex * pageSize, pageSize);
+        }
+        return page;
     }
 
     @Override
@@ -164,27 +200,32 @@ public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpS
         if (data.pageAction != null) {
             if ("Next".equalsIgnoreCase(data.pageAction)) pageIndex++;
             else if ("Prev".equalsIgnoreCase(data.pageAction)) pageIndex = Math.max(0, pageIndex - 1);
+            currentPage.invalidate();
             updateList();
             return;
         }
         if (data.action == null || data.action.isEmpty()) return;
 
+        if (ACTION_FILTER.equals(data.action)) {
+            handleFilter(data.warp);
+            return;
+        }
+
         UUID playerId = playerRef.getUuid();
         PluginConfig config = configManager.getConfig();
+        // Card buttons send their slot; the warp is whatever that slot shows now
+        String warpName = warpCards.keyAt(data.slot);
+        if (warpName == null) return;
 
         switch (data.action) {
             case ACTION_DELETE -> {
-                if (!deleteConfirmState.request(data.warp)) { updateDeleteButtons(); return; }
+                if (!deleteConfirmState.request(warpName)) { updateList(); return; }
                 deleteConfirmState.clear();
-                handleDeleteWarp(playerId, data.warp);
+                handleDeleteWarp(playerId, warpName);
                 return;
             }
             case ACTION_CANCEL_DELETE -> {
-                if (deleteConfirmState.cancel(data.warp)) updateDeleteButtons();
-                return;
-            }
-            case ACTION_FILTER -> {
-                handleFilter(data.warp);
+                if (deleteConfirmState.cancel(warpName)) updateList();
                 return;
             }
             case ACTION_TELEPORT -> deleteConfirmState.clear();
@@ -192,7 +233,7 @@ public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpS
         }
 
         // Teleport logic
-        handleGuiTeleport(ref, store, playerId, data.warp, config);
+        handleGuiTeleport(ref, store, playerId, warpName, config);
     }
 
     private void handleFilter(String filter) {
@@ -200,6 +241,7 @@ public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpS
         else if ("private".equalsIgnoreCase(filter)) filterMode = FilterMode.PRIVATE;
         else filterMode = FilterMode.ALL;
         pageIndex = 0;
+        currentPage.invalidate();
         updateList();
     }
 
@@ -208,7 +250,7 @@ public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpS
         PlayerWarpService.Result result = playerWarpService.deleteWarp(warpName, playerId, isAdmin);
         if (result == PlayerWarpService.Result.SUCCESS) {
             sendMessage(configManager.getMessage("pwarpDeleted", "name", warpName), "#55FF55");
-            refreshList();
+            updateList();
         } else if (result == PlayerWarpService.Result.NOT_OWNER) {
             sendMessage(configManager.getMessage("pwarpNotOwner"), "#FF5555");
         } else {
@@ -285,6 +327,7 @@ public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpS
                 () -> {
                     if (fCostService != null) EliteEssentials.getInstance().getPlayerService().removeMoney(playerId, fCost);
                     if (fCooldown > 0) cooldownService.setCooldown(COMMAND_NAME, playerId, fCooldown);
+                    playerWarpService.recordVisit(finalName, playerId);
                     sendMessage(configManager.getMessage("pwarpTeleported", "name", finalName, "owner", finalOwner), "#55FF55");
                 },
                 () -> sendMessage("&cTeleport failed - destination chunk could not be loaded.", "#FF5555")
@@ -298,47 +341,17 @@ public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpS
         warmupService.startWarmup(playerRef, currentPos, warmupSeconds, doTeleport, COMMAND_NAME, world, store, ref, false);
     }
 
-    private void refreshList() {
-        UICommandBuilder cmd = new UICommandBuilder();
-        UIEventBuilder events = new UIEventBuilder();
-        cmd.set("#PageTitleLabel.Text", configManager.getMessage("gui.PlayerWarpsTitle"));
-        PaginationControl.setButtonLabels(cmd, "#Pagination",
-            configManager.getMessage("gui.PaginationPrev"), configManager.getMessage("gui.PaginationNext"));
-        PaginationControl.bind(events, "#Pagination");
-        buildWarpList(cmd, events);
-        this.sendUpdate(cmd, events, false);
-    }
-
+    /**
+     * Send what changed in the list: new delete-confirm labels, or the cards of a
+     * new page, filter or warp set.
+     */
     private void updateList() {
         UICommandBuilder cmd = new UICommandBuilder();
         UIEventBuilder events = new UIEventBuilder();
-        PaginationControl.setButtonLabels(cmd, "#Pagination",
-            configManager.getMessage("gui.PaginationPrev"), configManager.getMessage("gui.PaginationNext"));
-        PaginationControl.bind(events, "#Pagination");
         buildWarpList(cmd, events);
         sendUpdate(cmd, events, false);
     }
 
-    private void updateDeleteButtons() {
-        UICommandBuilder cmd = new UICommandBuilder();
-        UUID playerId = playerRef.getUuid();
-        List<PlayerWarp> warps = getFilteredWarps(playerId);
-        int pageSize = Math.max(1, configManager.getConfig().gui.playerWarpsPerPage);
-        int totalPages = (int) Math.ceil(warps.size() / (double) pageSize);
-        if (totalPages <= 0) return;
-        if (pageIndex >= totalPages) pageIndex = totalPages - 1;
-        int start = pageIndex * pageSize;
-        int end = Math.min(start + pageSize, warps.size());
-        for (int i = start; i < end; i++) {
-            PlayerWarp warp = warps.get(i);
-            if (warp.getOwnerId().equals(playerId)) {
-                int entryIndex = i - start;
-                cmd.set("#WarpCards[" + entryIndex + "] #DeleteButton.Text", getDeleteButtonText(warp.getName()));
-            }
-        }
-        sendUpdate(cmd, false);
-    }
-
     private void sendMessage(String message, String color) {
         playerRef.sendMessage(MessageFormatter.formatWithFallback(message, color));
     }
@@ -351,6 +364,8 @@ public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpS
         public static final BuilderCodec<PageData> CODEC = BuilderCodec.builder(PageData.class, PageData::new)
                 .append(new KeyedCodec<>("Warp", Codec.STRING), (data, s) -> data.warp = s, data -> data.warp)
                 .add()
+                .append(new KeyedCodec<>(CardList.SLOT_KEY, Codec.STRING), (data, s) -> data.slot = s, data -> data.slot)
+                .add()
                 .append(new KeyedCodec<>("Action", Codec.STRING), (data, s) -> data.action = s, data -> data.action)
                 .add()
                 .append(new KeyedCodec<>("PageAction", Codec.STRING), (data, s) -> data.pageAction = s, data -> data.pageAction)
@@ -358,10 +373,12 @@ public class PlayerWarpSelectionPage extends InteractiveCustomUIPage<PlayerWarpS
                 .build();
 
         private String warp;
+        private String slot;
         private String action;
         private String pageAction;
 
         public String getWarp() { return warp; }
+        public String getSlot() { return slot; }
         public String getAction() { return action; }
         public String getPageAction() { return pageAction; }
     }
@@ -10,6 +10,7 @@ import com.eliteessentials.services.CooldownService;
 import com.eliteessentials.services.WarmupService;
 import com.eliteessentials.util.CommandPermissionUtil;
 import com.eliteessentials.util.MessageFormatter;
+import com.eliteessentials.util.TeleportUtil;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Vector3d;
@@ -132,6 +133,7 @@ public final class TpaAcceptHelper {
                             if (!acceptorRef.isValid()) return;
                             Teleport teleport = new Teleport(requesterWorld, requesterPos, new Vector3f(0, requesterYaw, 0));
                             acceptorStore.putComponent(acceptorRef, Teleport.getComponentType(), teleport);
+                            TeleportUtil.reanchorFrozen(acceptor.getUuid(), requesterPos);
                             CommandPermissionUtil.chargeCostDirect(requester.getUuid(), "tpahere", config.tpa.tpahereCost);
                             int effectiveCooldown = CommandPermissionUtil.getEffectiveTpCooldown(teleportingPlayerId, cooldownCommandName, configCooldown);
                             if (effectiveCooldown > 0) {
@@ -162,6 +164,7 @@ public final class TpaAcceptHelper {
                             if (!requesterRef.isValid()) return;
                             Teleport teleport = new Teleport(acceptorWorld, acceptorPos, new Vector3f(0, acceptorYaw, 0));
                             requesterStore.putComponent(requesterRef, Teleport.getComponentType(), teleport);
+                            TeleportUtil.reanchorFrozen(request.getRequesterId(), acceptorPos);
                             CommandPermissionUtil.chargeCostDirect(request.getRequesterId(), "tpa", config.tpa.cost);
                             requester.sendMessage(MessageFormatter.formatWithFallback(
                                 configManager.getMessage("tpaAcceptedRequester", "player", acceptor.getUsername()), "#55FF55"));
@@ -4,6 +4,7 @@ import com.eliteessentials.EliteEssentials;
 import com.eliteessentials.api.EconomyAPI;
 import com.eliteessentials.config.ConfigManager;
 import com.eliteessentials.config.PluginConfig;
+import com.eliteessentials.model.PlayerFile;
 import com.eliteessentials.model.TpaRequest;
 import com.eliteessentials.permissions.PermissionService;
 import com.eliteessentials.permissions.Permissions;
@@ -11,6 +12,7 @@ import com.eliteessentials.services.CostService;
 import com.eliteessentials.services.TpaService;
 import com.eliteessentials.services.VanishService;
 import com.eliteessentials.util.MessageFormatter;
+import com.eliteessentials.gui.components.CardList;
 import com.eliteessentials.gui.components.PaginationControl;
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
@@ -35,6 +37,8 @@ import java.util.UUID;
 /**
  * UI page for selecting a player to send TPA/TPAHERE requests.
  * Also shows pending incoming requests at the top for easy accept/deny.
+ * The online list has no change signal, so it is rebuilt on each update, but only
+ * cards that differ from what is on screen are sent.
  */
 public class TpaSelectionPage extends InteractiveCustomUIPage<TpaSelectionPage.TpaPageData> {
 
@@ -45,12 +49,16 @@ public class TpaSelectionPage extends InteractiveCustomUIPage<TpaSelectionPage.T
 
     private static final String ACTION_ACCEPT = "accept";
     private static final String ACTION_DENY = "deny";
+    private static final String ACTION_REQUEST = "request";
 
     private final Mode mode;
     private final TpaService tpaService;
     private final ConfigManager configManager;
     private String searchQuery = "";
     private int pageIndex = 0;
+    private final CardList playerCards = new CardList("tpa", "#PlayerCards");
+    // The "no players" label sits in #PlayerCards outside the CardList's slots
+    private boolean emptyLabelShown = false;
 
     public TpaSelectionPage(PlayerRef playerRef, Mode mode, TpaService tpaService, ConfigManager configManager) {
         super(playerRef, CustomPageLifetime.CanDismiss, TpaPageData.CODEC);
@@ -85,16 +93,28 @@ public class TpaSelectionPage extends InteractiveCustomUIPage<TpaSelectionPage.T
         );
         PaginationControl.bind(eventBuilder, "#Pagination");
 
+        playerCards.reset();
+        emptyLabelShown = false;
         buildPlayerList(commandBuilder, eventBuilder);
     }
 
     @Override
     public void handleDataEvent(Ref<EntityStore> ref, Store<EntityStore> store, TpaPageData data) {
-        // Handle accept/deny actions for pending requests
-        if (data.action != null && data.requesterId != null) {
+        // Card buttons send their slot; the player is whatever that slot shows now
+        if (data.action != null && data.slot != null) {
+            String selectedId = playerCards.keyAt(data.slot);
+            if (selectedId == null) {
+                return;
+            }
+
+            if (ACTION_REQUEST.equals(data.action)) {
+                handleRequest(selectedId);
+                return;
+            }
+
             UUID requesterId;
             try {
-                requesterId = UUID.fromString(data.requesterId);
+                requesterId = UUID.fromString(selectedId);
             } catch (IllegalArgumentException e) {
                 return;
             }
@@ -108,11 +128,6 @@ public class TpaSelectionPage extends InteractiveCustomUIPage<TpaSelectionPage.T
             }
         }
 
-        if (data.targetId != null && !data.targetId.isEmpty()) {
-            handleRequest(data.targetId, data.targetName);
-            return;
-        }
-
         if (data.searchQuery != null) {
             searchQuery = data.searchQuery.trim().toLowerCase();
             pageIndex = 0;
@@ -197,39 +212,22 @@ public class TpaSelectionPage extends InteractiveCustomUIPage<TpaSelectionPage.T
     }
 
     private void buildPlayerList(UICommandBuilder commandBuilder, UIEventBuilder eventBuilder) {
-        commandBuilder.clear("#PlayerCards");
-
         UUID selfId = playerRef.getUuid();
+        List<CardList.Card> cards = new ArrayList<>();
         
         // First, show pending incoming requests at the top
         List<TpaRequest> pendingRequests = tpaService.getPendingRequests(selfId);
-        int pendingCount = 0;
+        int pendingCount = pendingRequests.size();
         
         for (TpaRequest request : pendingRequests) {
-            String selector = "#PlayerCards[" + pendingCount + "]";
-            commandBuilder.append("#PlayerCards", "Pages/EliteEssentials_TpaPendingEntry.ui");
-            
-            String label = configManager.getMessage("gui.TpaPendingFrom", "player", request.getRequesterName());
-            commandBuilder.set(selector + " #RequesterName.Text", label);
-            commandBuilder.set(selector + " #AcceptButton.Text", configManager.getMessage("gui.TpaAcceptButton"));
-            commandBuilder.set(selector + " #DenyButton.Text", configManager.getMessage("gui.TpaDenyButton"));
-            
-            eventBuilder.addEventBinding(
-                CustomUIEventBindingType.Activating,
-                selector + " #AcceptButton",
-                new EventData()
-                    .append("Action", ACTION_ACCEPT)
-                    .append("RequesterId", request.getRequesterId().toString())
-            );
-            eventBuilder.addEventBinding(
-                CustomUIEventBindingType.Activating,
-                selector + " #DenyButton",
-                new EventData()
-                    .append("Action", ACTION_DENY)
-                    .append("RequesterId", request.getRequesterId().toString())
-            );
-            
-            pendingCount++;
+            String requesterId = request.getRequesterId().toString();
+            cards.add(CardList.card("Pages/EliteEssentials_TpaPendingEntry.ui")
+                .key(requesterId)
+                .set("#RequesterName.Text", configManager.getMessage("gui.TpaPendingFrom", "player", request.getRequesterName()))
+                .set("#AcceptButton.Text", configManager.getMessage("gui.TpaAcceptButton"))
+                .set("#DenyButton.Text", configManager.getMessage("gui.TpaDenyButton"))
+                .bind(CustomUIEventBindingType.Activating, "#AcceptButton", "Action", ACTION_ACCEPT)
+                .bind(CustomUIEventBindingType.Activating, "#DenyButton", "Action", ACTION_DENY));
         }
 
         // Now show available players to send requests to
@@ -251,8 +249,12 @@ public class TpaSelectionPage extends InteractiveCustomUIPage<TpaSelectionPage.T
         players.sort(Comparator.comparing(PlayerRef::getUsername, String.CASE_INSENSITIVE_ORDER));
 
         if (players.isEmpty() && pendingCount == 0) {
-            commandBuilder.appendInline("#PlayerCards",
-                "Label { Text: \"" + configManager.getMessage("gui.TpaEmpty") + "\"; Style: (Alignment: Center); }");
+            if (!emptyLabelShown) {
+                playerCards.clear(commandBuilder);
+                commandBuilder.appendInline("#PlayerCards",
+                    "Label { Text: \"" + configManager.getMessage("gui.TpaEmpty") + "\"; Style: (Alignment: Center); }");
+                emptyLabelShown = true;
+            }
             PaginationControl.setEmptyAndHide(commandBuilder, "#Pagination", configManager.getMessage("gui.PaginationLabel"));
             return;
         }
@@ -270,21 +272,18 @@ public class TpaSelectionPage extends InteractiveCustomUIPage<TpaSelectionPage.T
 
         for (int i = start; i < end; i++) {
             PlayerRef target = players.get(i);
-            int entryIndex = pendingCount + (i - start);
-            String selector = "#PlayerCards[" + entryIndex + "]";
-
-            commandBuilder.append("#PlayerCards", "Pages/EliteEssentials_TpaEntry.ui");
-            commandBuilder.set(selector + " #PlayerName.Text", target.getUsername());
-            commandBuilder.set(selector + " #PlayerActionButton.Text", configManager.getMessage("gui.TpaRequestButton"));
-
-            eventBuilder.addEventBinding(
-                CustomUIEventBindingType.Activating,
-                selector + " #PlayerActionButton",
-                new EventData()
-                    .append("TargetId", target.getUuid().toString())
-                    .append("TargetName", target.getUsername())
-            );
+            cards.add(CardList.card("Pages/EliteEssentials_TpaEntry.ui")
+                .key(target.getUuid().toString())
+                .set("#PlayerName.Text", target.getUsername())
+                .set("#PlayerActionButton.Text", configManager.getMessage("gui.TpaRequestButton"))
+                .bind(CustomUIEventBindingType.Activating, "#PlayerActionButton", "Action", ACTION_REQUEST));
+        }
+
+        if (emptyLabelShown) {
+            playerCards.clear(commandBuilder);
+            emptyLabelShown = false;
         }
+        playerCards.render(cards, commandBuilder, eventBuilder);
 
         // Only show pagination if there are more players than fit on one page
         if (players.size() > availableSlots) {
@@ -297,23 +296,11 @@ public class TpaSelectionPage extends InteractiveCustomUIPage<TpaSelectionPage.T
     private void updateList() {
         UICommandBuilder commandBuilder = new UICommandBuilder();
         UIEventBuilder eventBuilder = new UIEventBuilder();
-        eventBuilder.addEventBinding(
-            CustomUIEventBindingType.ValueChanged,
-            "#SearchInput",
-            EventData.of("@SearchQuery", "#SearchInput.Value")
-        );
-        PaginationControl.setButtonLabels(
-            commandBuilder,
-            "#Pagination",
-            configManager.getMessage("gui.PaginationPrev"),
-            configManager.getMessage("gui.PaginationNext")
-        );
-        PaginationControl.bind(eventBuilder, "#Pagination");
         buildPlayerList(commandBuilder, eventBuilder);
         sendUpdate(commandBuilder, eventBuilder, false);
     }
 
-    private void handleRequest(String targetIdStr, String targetName) {
+    private void handleRequest(String targetIdStr) {
         UUID targetId;
         try {
             targetId = UUID.fromString(targetIdStr);
@@ -324,7 +311,8 @@ public class TpaSelectionPage extends InteractiveCustomUIPage<TpaSelectionPage.T
 
         PlayerRef target = Universe.get().getPlayer(targetId);
         if (target == null) {
-            String name = (targetName == null || targetName.isBlank()) ? targetIdStr : targetName;
+            String name = EliteEssentials.getInstance().getPlayerService().getPlayer(targetId)
+                .map(PlayerFile::getName).orElse(targetIdStr);
             sendMessage(configManager.getMessage("tpaPlayerOffline", "player", name), "#FF5555");
             return;
         }
@@ -418,9 +406,7 @@ public class TpaSelectionPage extends InteractiveCustomUIPage<TpaSelectionPage.T
      */
     public static class TpaPageData {
         public static final BuilderCodec<TpaPageData> CODEC = BuilderCodec.builder(TpaPageData.class, TpaPageData::new)
-            .append(new KeyedCodec<>("TargetId", Codec.STRING), (data, s) -> data.targetId = s, data -> data.targetId)
-            .add()
-            .append(new KeyedCodec<>("TargetName", Codec.STRING), (data, s) -> data.targetName = s, data -> data.targetName)
+            .append(new KeyedCodec<>(CardList.SLOT_KEY, Codec.STRING), (data, s) -> data.slot = s, data -> data.slot)
             .add()
             .append(new KeyedCodec<>("PageAction", Codec.STRING), (data, s) -> data.pageAction = s, data -> data.pageAction)
             .add()
@@ -428,23 +414,15 @@ public class TpaSelectionPage extends InteractiveCustomUIPage<TpaSelectionPage.T
             .add()
             .append(new KeyedCodec<>("Action", Codec.STRING), (data, s) -> data.action = s, data -> data.action)
             .add()
-            .append(new KeyedCodec<>("RequesterId", Codec.STRING), (data, s) -> data.requesterId = s, data -> data.requesterId)
-            .add()
             .build();
 
-        private String targetId;
-        private String targetName;
+        private String slot;
         private String pageAction;
         private String searchQuery;
         private String action;
-        private String requesterId;
 
-        public String getTargetId() {
-            return targetId;
-        }
-        
-        public String getTargetName() {
-            return targetName;
+        public String getSlot() {
+            return slot;
         }
 
         public String getPageAction() {
@@ -458,9 +436,5 @@ public class TpaSelectionPage extends InteractiveCustomUIPage<TpaSelectionPage.T
         public String getAction() {
             return action;
         }
-        
-        public String getRequesterId() {
-            return requesterId;
-        }
     }
 }
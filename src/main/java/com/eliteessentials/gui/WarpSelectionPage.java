@@ -14,6 +14,9 @@ import com.eliteessentials.services.WarpService;
 import com.eliteessentials.services.WarmupService;
 import com.eliteessentials.util.CommandPermissionUtil;
 import com.eliteessentials.util.MessageFormatter;
+import com.eliteessentials.util.TeleportUtil;
+import com.eliteessentials.gui.components.CachedView;
+import com.eliteessentials.gui.components.CardList;
 import com.eliteessentials.gui.components.PaginationControl;
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.KeyedCodec;
@@ -28,7 +31,6 @@ import com.hypixel.hytale.server.core.entity.entities.player.pages.InteractiveCu
 import com.hypixel.hytale.server.core.modules.entity.component.HeadRotation;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
 import com.hypixel.hytale.server.core.modules.entity.teleport.Teleport;
-import com.hypixel.hytale.server.core.ui.builder.EventData;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
@@ -46,6 +48,9 @@ import java.util.logging.Logger;
 /**
  * EliteEssentials Warp Selection GUI.
  * Shows NAME - Description with optional delete button for admins.
+ *
+ * The permission-filtered warp list is computed once and reused until WarpService
+ * reports a change; page flips and delete-button feedback only send the cards that changed.
  */
 public class WarpSelectionPage extends InteractiveCustomUIPage<WarpSelectionPage.WarpPageData> {
 
@@ -62,6 +67,8 @@ public class WarpSelectionPage extends InteractiveCustomUIPage<WarpSelectionPage
     private final boolean canDelete;
     private int pageIndex = 0;
     private final DeleteConfirmState deleteConfirmState;
+    private final CachedView<List<Warp>> accessibleWarps;
+    private final CardList warpCards = new CardList("warps", "#WarpCards");
 
     public WarpSelectionPage(PlayerRef playerRef, WarpService warpService, BackService backService, 
                              ConfigManager configManager, World world,
@@ -80,6 +87,8 @@ public class WarpSelectionPage extends InteractiveCustomUIPage<WarpSelectionPage
         // Check if player can delete warps
         PermissionService perms = PermissionService.get();
         this.canDelete = perms.canUseAdminCommand(playerRef.getUuid(), Permissions.DELWARP, true);
+        this.accessibleWarps = new CachedView<>(warpService::getRevision,
+            () -> getAccessibleWarps(playerRef.getUuid(), PermissionService.get()));
     }
 
     @Override
@@ -100,19 +109,18 @@ public class WarpSelectionPage extends InteractiveCustomUIPage<WarpSelectionPage
         );
         PaginationControl.bind(eventBuilder, "#Pagination");
 
+        warpCards.reset();
         buildWarpList(commandBuilder, eventBuilder);
     }
     
     private void buildWarpList(UICommandBuilder commandBuilder, UIEventBuilder eventBuilder) {
-        UUID playerId = playerRef.getUuid();
-        PermissionService perms = PermissionService.get();
         int pageSize = Math.max(1, configManager.getConfig().gui.warpsPerPage);
         String pageLabelFormat = configManager.getMessage("gui.PaginationLabel");
 
-        List<Warp> accessibleWarps = getAccessibleWarps(playerId, perms);
-        commandBuilder.clear("#WarpCards");
+        List<Warp> accessibleWarps = this.accessibleWarps.get();
 
         if (accessibleWarps.isEmpty()) {
+            warpCards.render(List.of(), commandBuilder, eventBuilder);
             PaginationControl.setEmptyAndHide(commandBuilder, "#Pagination", pageLabelFormat);
             return;
         }
@@ -124,56 +132,36 @@ public class WarpSelectionPage extends InteractiveCustomUIPage<WarpSelectionPage
         int start = pageIndex * pageSize;
         int end = Math.min(start + pageSize, accessibleWarps.size());
 
+        List<CardList.Card> cards = new ArrayList<>(end - start);
         for (int i = start; i < end; i++) {
-            Warp warp = accessibleWarps.get(i);
-            int entryIndex = i - start;
-            String selector = "#WarpCards[" + entryIndex + "]";
-
-            // Use different UI file based on delete permission
-            if (canDelete) {
-                commandBuilder.append("#WarpCards", "Pages/EliteEssentials_WarpEntry.ui");
-                commandBuilder.set(selector + " #DeleteButton.Text", getDeleteButtonText(warp.getName()));
-                eventBuilder.addEventBinding(
-                    CustomUIEventBindingType.Activating,
-                    selector + " #DeleteButton",
-                    new EventData()
-                        .append("Action", ACTION_DELETE)
-                        .append("Warp", warp.getName()),
-                    false
-                );
-                eventBuilder.addEventBinding(
-                    CustomUIEventBindingType.MouseExited,
-                    selector + " #DeleteButton",
-                    new EventData()
-                        .append("Action", ACTION_CANCEL_DELETE)
-                        .append("Warp", warp.getName()),
-                    false
-                );
-            } else {
-                commandBuilder.append("#WarpCards", "Pages/EliteEssentials_WarpEntryNoDelete.ui");
-            }
-            
-            commandBuilder.set(selector + " #WarpName.Text", warp.getName());
-            
-            // Show description
-            String description = warp.getDescription() != null ? warp.getDescription() : "";
-            commandBuilder.set(selector + " #WarpDescription.Text", description);
-            commandBuilder.set(selector + " #WarpButton.Text", configManager.getMessage("gui.WarpButton"));
-
-            // Bind teleport button
-            eventBuilder.addEventBinding(
-                CustomUIEventBindingType.Activating,
-                selector + " #WarpButton",
-                new EventData()
-                    .append("Action", ACTION_TELEPORT)
-                    .append("Warp", warp.getName()),
-                false
-            );
+            cards.add(warpCard(accessibleWarps.get(i)));
         }
+        warpCards.render(cards, commandBuilder, eventBuilder);
 
         PaginationControl.updateOrHide(commandBuilder, "#Pagination", pageIndex, totalPages, pageLabelFormat);
     }
 
+    private CardList.Card warpCard(Warp warp) {
+        String name = warp.getName();
+        CardList.Card card;
+        // Use different UI file based on delete permission
+        if (canDelete) {
+            card = CardList.card("Pages/EliteEssentials_WarpEntry.ui")
+                .set("#DeleteButton.Text", getDeleteButtonText(name))
+                .bind(CustomUIEventBindingType.Activating, "#DeleteButton", "Action", ACTION_DELETE)
+                .bind(CustomUIEventBindingType.MouseExited, "#DeleteButton", "Action", ACTION_CANCEL_DELETE);
+        } else {
+            card = CardList.card("Pages/EliteEssentials_WarpEntryNoDelete.ui");
+        }
+        String description = warp.getDescription() != null ? warp.getDescription() : "";
+        return card
+            .key(name)
+            .set("#WarpName.Text", name)
+            .set("#WarpDescription.Text", description)
+            .set("#WarpButton.Text", configManager.getMessage("gui.WarpButton"))
+            .bind(CustomUIEventBindingType.Activating, "#WarpButton", "Action", ACTION_TELEPORT);
+    }
+
     @Override
     public void handleDataEvent(Ref<EntityStore> ref, Store<EntityStore> store, WarpPageData data) {
         if (data.pageAction != null) {
@@ -193,7 +181,10 @@ public class WarpSelectionPage extends InteractiveCustomUIPage<WarpSelectionPage
         UUID playerId = playerRef.getUuid();
         PluginConfig config = configManager.getConfig();
         PermissionService perms = PermissionService.get();
-        String warpName = data.warp;
+        String warpName = warpCards.keyAt(data.slot);
+        if (warpName == null) {
+            return;
+        }
 
         switch (data.action) {
             case ACTION_DELETE -> {
@@ -308,6 +299,7 @@ public class WarpSelectionPage extends InteractiveCustomUIPage<WarpSelectionPage
                 Teleport teleport = new Teleport(finalWorld, targetPos, targetRot);
                 
                 store.putComponent(ref, Teleport.getComponentType(), teleport);
+                TeleportUtil.reanchorFrozen(playerId, targetPos);
                 
                 if (finalCostService != null && finalCost > 0) {
                     EliteEssentials.getInstance().getPlayerService().removeMoney(playerId, finalCost);
@@ -345,29 +337,12 @@ public class WarpSelectionPage extends InteractiveCustomUIPage<WarpSelectionPage
         
         if (deleted) {
             sendMessage(configManager.getMessage("warpDeleted", "name", warpName), "#55FF55");
-            refreshWarpList();
+            updateList();
         } else {
             sendMessage(configManager.getMessage("warpDeleteFailed"), "#FF5555");
         }
     }
     
-    private void refreshWarpList() {
-        UICommandBuilder cmd = new UICommandBuilder();
-        UIEventBuilder events = new UIEventBuilder();
-        
-        cmd.set("#PageTitleLabel.Text", configManager.getMessage("gui.WarpsTitle"));
-        PaginationControl.setButtonLabels(
-            cmd,
-            "#Pagination",
-            configManager.getMessage("gui.PaginationPrev"),
-            configManager.getMessage("gui.PaginationNext")
-        );
-        PaginationControl.bind(events, "#Pagination");
-        buildWarpList(cmd, events);
-        
-        this.sendUpdate(cmd, events, false);
-    }
-
     private void sendMessage(String message, String color) {
         playerRef.sendMessage(MessageFormatter.formatWithFallback(message, color));
     }
@@ -391,49 +366,24 @@ public class WarpSelectionPage extends InteractiveCustomUIPage<WarpSelectionPage
         if (!canDelete) {
             return;
         }
-
-        UICommandBuilder cmd = new UICommandBuilder();
-        UUID playerId = playerRef.getUuid();
-        PermissionService perms = PermissionService.get();
-        List<Warp> accessibleWarps = getAccessibleWarps(playerId, perms);
-        int pageSize = Math.max(1, configManager.getConfig().gui.warpsPerPage);
-        int totalPages = (int) Math.ceil(accessibleWarps.size() / (double) pageSize);
-        if (totalPages <= 0) {
-            return;
-        }
-        if (pageIndex >= totalPages) {
-            pageIndex = totalPages - 1;
-        }
-        int start = pageIndex * pageSize;
-        int end = Math.min(start + pageSize, accessibleWarps.size());
-
-        for (int i = start; i < end; i++) {
-            Warp warp = accessibleWarps.get(i);
-            int entryIndex = i - start;
-            String selector = "#WarpCards[" + entryIndex + "] #DeleteButton.Text";
-            cmd.set(selector, getDeleteButtonText(warp.getName()));
-        }
-
-        sendUpdate(cmd, false);
+        // Only the delete label that changed is sent
+        updateList();
     }
 
+    /**
+     * Send the current page as a delta against what the client shows.
+     * Pagination buttons and their bindings were set up in build().
+     */
     private void updateList() {
         UICommandBuilder cmd = new UICommandBuilder();
         UIEventBuilder events = new UIEventBuilder();
-        PaginationControl.setButtonLabels(
-            cmd,
-            "#Pagination",
-            configManager.getMessage("gui.PaginationPrev"),
-            configManager.getMessage("gui.PaginationNext")
-        );
-        PaginationControl.bind(events, "#Pagination");
         buildWarpList(cmd, events);
         sendUpdate(cmd, events, false);
     }
 
     public static class WarpPageData {
         public static final BuilderCodec<WarpPageData> CODEC = BuilderCodec.builder(WarpPageData.class, WarpPageData::new)
-                .append(new KeyedCodec<>("Warp", Codec.STRING), (data, s) -> data.warp = s, data -> data.warp)
+                .append(new KeyedCodec<>(CardList.SLOT_KEY, Codec.STRING), (data, s) -> data.slot = s, data -> data.slot)
                 .add()
                 .append(new KeyedCodec<>("Action", Codec.STRING), (data, s) -> data.action = s, data -> data.action)
                 .add()
@@ -441,12 +391,12 @@ public class WarpSelectionPage extends InteractiveCustomUIPage<WarpSelectionPage
                 .add()
                 .build();
 
-        private String warp;
+        private String slot;
         private String action;
         private String pageAction;
 
-        public String getWarp() {
-            return warp;
+        public String getSlot() {
+            return slot;
         }
 
         public String getAction() {
@@ -0,0 +1,39 @@
+package com.eliteessentials.gui.components;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A value a GUI page computes from a service (a filtered, sorted list, permission
+ * results) and keeps for its lifetime. It is only recomputed when the service's
+ * revision counter has moved or the page calls {@link #invalidate()}, so page flips
+ * and button feedback don't redo permission checks and sorting.
+ */
+public final class CachedView<T> {
+
+    private final LongSupplier revision;
+    private final Supplier<T> compute;
+    private long seenRevision;
+    private T value;
+
+    public CachedView(LongSupplier revision, Supplier<T> compute) {
+        this.revision = revision;
+        this.compute = compute;
+    }
+
+    public T get() {
+        long current = revision.getAsLong();
+        if (value == null || current != seenRevision) {
+            value = compute.get();
+            seenRevision = current;
+        }
+        return value;
+    }
+
+    /**
+     * Recompute on the next {@link #get()} (e.g. after the page changed its filter).
+     */
+    public void invalidate() {
+        value = null;
+    }
+}
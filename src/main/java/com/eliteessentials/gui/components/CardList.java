@@ -0,0 +1,237 @@
+package com.eliteessentials.gui.components;
+
+import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
+import com.hypixel.hytale.server.core.ui.builder.EventData;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A list of entry cards (one .ui template appended per row) that is updated in place.
+ *
+ * Pages describe each visible row as a {@link Card}: its template, the properties to
+ * set, its event bindings and a key naming the row (e.g. the warp name). {@link #render}
+ * compares that with what the client already shows and only sends the difference: new
+ * slots are appended, changed properties are set and slots past the end are hidden
+ * rather than removed.
+ *
+ * Bindings send the slot index ({@value #SLOT_KEY}) rather than the row, and the page
+ * resolves it with {@link #keyAt}, so a slot keeps its bindings when it shows another
+ * row. Bindings added to an element are never cleared by the client, so if a slot needs
+ * a different template or different bindings the list is cleared and rebuilt.
+ *
+ * The slot bookkeeping is in {@link CardSlots}; this class turns its operations into
+ * UI commands. Every render records the bytes it sent and the bytes a clear-and-rebuild
+ * would have sent in {@link UiPayloadStats}.
+ */
+public final class CardList {
+
+    /** EventData key carrying the slot index of the card that sent an event */
+    public static final String SLOT_KEY = "Slot";
+
+    private final String name;
+    private final String listSelector;
+    private final CardSlots<Binding> slots = new CardSlots<>();
+
+    record Binding(CustomUIEventBindingType type, String element, List<String> data) {}
+
+    /**
+     * @param name         key for {@link UiPayloadStats} (e.g. "warps")
+     * @param listSelector the container cards are appended to (e.g. "#WarpCards")
+     */
+    public CardList(String name, String listSelector) {
+        this.name = name;
+        this.listSelector = listSelector;
+    }
+
+    public static Card card(String template) {
+        return new Card(template);
+    }
+
+    /**
+     * Forget the slots, e.g. after the page was built again from scratch.
+     */
+    public void reset() {
+        slots.reset();
+    }
+
+    /**
+     * Clear the container (to show something else in it, like an empty message).
+     */
+    public void clear(UICommandBuilder cmd) {
+        cmd.clear(listSelector);
+        slots.reset();
+    }
+
+    /**
+     * The key of the card shown in a slot, from an event's {@value #SLOT_KEY} value,
+     * or null if the slot is unknown or hidden.
+     */
+    public String keyAt(String slotIndex) {
+        return slots.keyAt(slotIndex);
+    }
+
+    /**
+     * Bring the list in line with {@code cards}, sending only what changed.
+     */
+    public void render(List<Card> cards, UICommandBuilder cmd, UIEventBuilder events) {
+        long full = bytes(listSelector);
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            String selector = selector(i);
+            full += bytes(card.template) + valueBytes(selector, card.values) + bindingBytes(selector, i, card.bindings);
+        }
+        long sent = slots.render(cards, new Commands(cmd, events));
+        UiPayloadStats.record(name, sent, full);
+    }
+
+    private String selector(int slot) {
+        return listSelector + "[" + slot + "]";
+    }
+
+    // ==================== Writing ====================
+
+    /**
+     * Slot operations as UI commands and event bindings.
+     */
+    private final class Commands implements CardSlots.Output<Binding> {
+        private final UICommandBuilder cmd;
+        private final UIEventBuilder events;
+
+        Commands(UICommandBuilder cmd, UIEventBuilder events) {
+            this.cmd = cmd;
+            this.events = events;
+        }
+
+        @Override
+        public long clear() {
+            cmd.clear(listSelector);
+            return bytes(listSelector);
+        }
+
+        @Override
+        public long append(String template) {
+            cmd.append(listSelector, template);
+            return bytes(template);
+        }
+
+        @Override
+        public long set(int slot, String property, Object value) {
+            String target = selector(slot) + " " + property;
+            if (value instanceof Boolean b) {
+                cmd.set(target, b);
+            } else {
+                cmd.set(target, (String) value);
+            }
+            return bytes(target) + bytes(String.valueOf(value));
+        }
+
+        @Override
+        public long bind(int slot, Binding binding) {
+            String selector = selector(slot);
+            String index = String.valueOf(slot);
+            EventData data = new EventData();
+            for (int k = 0; k + 1 < binding.data.size(); k += 2) {
+                data = data.append(binding.data.get(k), binding.data.get(k + 1));
+            }
+            data = data.append(SLOT_KEY, index);
+            events.addEventBinding(binding.type, selector + " " + binding.element, data, false);
+            return bindingBytes(selector, slot, List.of(binding));
+        }
+
+        @Override
+        public long setVisible(int slot, boolean visible) {
+            String selector = selector(slot);
+            cmd.set(selector + ".Visible", visible);
+            return bytes(selector) + 1;
+        }
+    }
+
+    // ==================== Sizes ====================
+
+    private static long valueBytes(String selector, Map<String, Object> values) {
+        long size = 0;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            size += bytes(selector) + 1 + bytes(entry.getKey()) + bytes(String.valueOf(entry.getValue()));
+        }
+        return size;
+    }
+
+    private static long bindingBytes(String selector, int slot, List<Binding> bindings) {
+        long size = 0;
+        for (Binding binding : bindings) {
+            size += bytes(selector) + 1 + bytes(binding.element) + bytes(SLOT_KEY) + bytes(String.valueOf(slot));
+            for (String part : binding.data) size += bytes(part);
+        }
+        return size;
+    }
+
+    private static long bytes(String s) {
+        return s == null ? 0 : s.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    // ==================== Card ====================
+
+    /**
+     * One row: a template plus properties and bindings relative to the row's root.
+     */
+    public static final class Card implements CardSlots.Row<Binding> {
+        private final String template;
+        private final Map<String, Object> values = new LinkedHashMap<>();
+        private final List<Binding> bindings = new ArrayList<>();
+        private String key;
+
+        private Card(String template) {
+            this.template = template;
+        }
+
+        /** Set a property such as {@code "#WarpName.Text"}. */
+        public Card set(String property, String value) {
+            values.put(property, value != null ? value : "");
+            return this;
+        }
+
+        public Card set(String property, boolean value) {
+            values.put(property, value);
+            return this;
+        }
+
+        /** Name the row this card shows; handlers get it back from {@link CardList#keyAt}. */
+        public Card key(String key) {
+            this.key = key;
+            return this;
+        }
+
+        @Override
+        public String template() {
+            return template;
+        }
+
+        @Override
+        public Map<String, Object> values() {
+            return values;
+        }
+
+        @Override
+        public List<Binding> bindings() {
+            return bindings;
+        }
+
+        @Override
+        public String key() {
+            return key;
+        }
+
+        /**
+         * Bind an event on an element of the card. {@code data} is alternating keys and
+         * values for the EventData, and should not depend on the row: the slot index is
+         * added as {@value CardList#SLOT_KEY}.
+         */
+        public Card bind(CustomUIEventBindingType type, String element, String... data) {
+            bindings.add(new Binding(type, element, List.of(data)));
+            return this;
+        }
+    }
+}
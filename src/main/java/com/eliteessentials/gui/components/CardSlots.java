@@ -0,0 +1,152 @@
+package com.eliteessentials.gui.components;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The slot bookkeeping behind {@link CardList}: what each appended slot of a card
+ * container shows, and the operations that turn it into a new list of rows.
+ *
+ * Rows and output go through {@link Row} and {@link Output}, so the diffing has no UI
+ * types in it; CardList turns the operations into UI commands and event bindings.
+ *
+ * @param <B> an event binding of a row, compared with equals()
+ */
+public final class CardSlots<B> {
+
+    /**
+     * One row to show: a template plus properties and bindings relative to its root.
+     */
+    public interface Row<B> {
+        String template();
+
+        Map<String, Object> values();
+
+        List<B> bindings();
+
+        /** Names the row for {@link #keyAt}. */
+        String key();
+    }
+
+    /**
+     * Where the operations go. Each returns the bytes it sent.
+     */
+    public interface Output<B> {
+        long clear();
+
+        long append(String template);
+
+        long set(int slot, String property, Object value);
+
+        long bind(int slot, B binding);
+
+        long setVisible(int slot, boolean visible);
+    }
+
+    /** What the client currently has in one slot */
+    private static final class Slot<B> {
+        String template;
+        Map<String, Object> values;
+        List<B> bindings;
+        String key;
+        boolean hidden;
+    }
+
+    private final List<Slot<B>> slots = new ArrayList<>();
+
+    /**
+     * Forget the slots, e.g. after the container was cleared or built again.
+     */
+    public void reset() {
+        slots.clear();
+    }
+
+    /**
+     * The key of the row shown in a slot, or null if the slot is unknown or hidden.
+     */
+    public String keyAt(String slotIndex) {
+        try {
+            int i = Integer.parseInt(slotIndex);
+            if (i < 0 || i >= slots.size() || slots.get(i).hidden) return null;
+            return slots.get(i).key;
+        } catch (NumberFormatException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    /** Number of appended slots, shown or hidden. */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Bring the slots in line with {@code rows}, sending only what changed: new slots are
+     * appended and bound, changed properties are set and slots past the end are hidden.
+     * If a slot needs a different template or different bindings, everything is cleared
+     * and appended again, since neither can be taken back from an appended element.
+     *
+     * @return bytes sent
+     */
+    public long render(List<? extends Row<B>> rows, Output<B> out) {
+        long sent = 0;
+
+        for (int i = 0; i < rows.size() && i < slots.size(); i++) {
+            Slot<B> slot = slots.get(i);
+            Row<B> row = rows.get(i);
+            if (!slot.template.equals(row.template()) || !slot.bindings.equals(row.bindings())) {
+                sent += out.clear();
+                slots.clear();
+                break;
+            }
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            Row<B> row = rows.get(i);
+            if (i >= slots.size()) {
+                sent += out.append(row.template());
+                sent += writeValues(out, i, row.values(), null);
+                for (B binding : row.bindings()) {
+                    sent += out.bind(i, binding);
+                }
+                Slot<B> slot = new Slot<>();
+                slot.template = row.template();
+                slot.values = row.values();
+                slot.bindings = row.bindings();
+                slot.key = row.key();
+                slots.add(slot);
+                continue;
+            }
+
+            Slot<B> slot = slots.get(i);
+            if (slot.hidden) {
+                sent += out.setVisible(i, true);
+                slot.hidden = false;
+            }
+            sent += writeValues(out, i, row.values(), slot.values);
+            slot.values = row.values();
+            slot.key = row.key();
+        }
+
+        for (int i = rows.size(); i < slots.size(); i++) {
+            Slot<B> slot = slots.get(i);
+            if (!slot.hidden) {
+                sent += out.setVisible(i, false);
+                slot.hidden = true;
+            }
+        }
+        return sent;
+    }
+
+    private static <B> long writeValues(Output<B> out, int slot, Map<String, Object> values,
+                                        Map<String, Object> previous) {
+        long sent = 0;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            Object value = entry.getValue();
+            if (previous != null && Objects.equals(previous.get(entry.getKey()), value)) continue;
+            sent += out.set(slot, entry.getKey(), value);
+        }
+        return sent;
+    }
+}
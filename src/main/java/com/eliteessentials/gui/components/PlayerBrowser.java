@@ -0,0 +1,203 @@
+package com.eliteessentials.gui.components;
+
+import com.eliteessentials.config.ConfigManager;
+import com.eliteessentials.services.PlayerDirectory;
+import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
+import com.hypixel.hytale.server.core.ui.builder.EventData;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Paged, searchable player list for the admin UIs, backed by {@link PlayerDirectory}.
+ *
+ * Only the rows of the current page exist in the UI. Entry slots are appended once
+ * and then reused: a refresh, search or page change sets the text of slots whose row
+ * changed and hides slots that are no longer needed, instead of clearing and
+ * re-appending the list. Select buttons send the slot index, so their bindings never
+ * have to change.
+ *
+ * The search box takes a name prefix and optionally {@code world:<name>}.
+ */
+public final class PlayerBrowser {
+
+    public static final String ACTION_SELECT = "browserSelect";
+    public static final String ACTION_SEARCH = "browserSearch";
+    public static final String ACTION_FILTER = "browserFilter";
+    public static final String ACTION_REFRESH = "refresh";
+
+    private static final String ENTRY_UI = "Pages/EliteEssentials_AdminPlayerEntry.ui";
+
+    private enum Mode { ALL, ONLINE, AFK, VANISHED, FROZEN, MUTED }
+
+    private final PlayerDirectory directory;
+    private final ConfigManager configManager;
+    private final String listSelector;
+    private final String paginationSelector;
+    private final int pageSize;
+
+    private Mode mode = Mode.ALL;
+    private String namePrefix = "";
+    private String world = null;
+    private int pageIndex = 0;
+
+    // Rows currently on screen, and how many entry slots have been appended
+    private List<PlayerDirectory.Row> shown = new ArrayList<>();
+    private int slots = 0;
+
+    public PlayerBrowser(PlayerDirectory directory, ConfigManager configManager,
+                         String listSelector, String paginationSelector, int pageSize) {
+        this.directory = directory;
+        this.configManager = configManager;
+        this.listSelector = listSelector;
+        this.paginationSelector = paginationSelector;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * Set up controls and the first page in a freshly appended page or view.
+     */
+    public void build(UICommandBuilder cmd, UIEventBuilder events) {
+        shown = new ArrayList<>();
+        slots = 0;
+
+        cmd.clear(paginationSelector);
+        cmd.append(paginationSelector, "Pages/EliteEssentials_Pagination.ui");
+        PaginationControl.setButtonLabels(cmd, paginationSelector,
+            configManager.getMessage("gui.PaginationPrev"),
+            configManager.getMessage("gui.PaginationNext"));
+        PaginationControl.bind(events, paginationSelector);
+
+        events.addEventBinding(CustomUIEventBindingType.ValueChanged, "#PlayerSearchInput",
+            new EventData().append("Action", ACTION_SEARCH).append("@PlayerSearch", "#PlayerSearchInput.Value"), false);
+        events.addEventBinding(CustomUIEventBindingType.Activating, "#PlayerFilterButton",
+            EventData.of("Action", ACTION_FILTER), false);
+
+        render(cmd, events);
+    }
+
+    /**
+     * Handle a browser event. Returns true if the list needs to be re-rendered.
+     */
+    public boolean handle(String action, String search, String pageAction) {
+        if (pageAction != null) {
+            if ("Next".equalsIgnoreCase(pageAction)) pageIndex++;
+            else if ("Prev".equalsIgnoreCase(pageAction)) pageIndex = Math.max(0, pageIndex - 1);
+            return true;
+        }
+        if (action == null) return false;
+        switch (action) {
+            case ACTION_SEARCH -> {
+                parseSearch(search);
+                pageIndex = 0;
+                return true;
+            }
+            case ACTION_FILTER -> {
+                mode = Mode.values()[(mode.ordinal() + 1) % Mode.values().length];
+                pageIndex = 0;
+                return true;
+            }
+            case ACTION_REFRESH -> {
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The row shown in a slot, from a select button's Index, or null.
+     */
+    public PlayerDirectory.Row rowAt(String index) {
+        try {
+            int i = Integer.parseInt(index);
+            return i >= 0 && i < shown.size() ? shown.get(i) : null;
+        } catch (NumberFormatException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Write the current page, touching only slots whose row changed.
+     */
+    public void render(UICommandBuilder cmd, UIEventBuilder events) {
+        PlayerDirectory.Filter filter = filter();
+        PlayerDirectory.Page page = directory.query(filter, pageIndex * pageSize, pageSize);
+        if (page.rows().isEmpty() && page.total() > 0) {
+            pageIndex = (page.total() - 1) / pageSize;
+            page = directory.query(filter, pageIndex * pageSize, pageSize);
+        }
+        List<PlayerDirectory.Row> rows = page.rows();
+
+        for (int i = 0; i < rows.size(); i++) {
+            String selector = listSelector + "[" + i + "]";
+            PlayerDirectory.Row row = rows.get(i);
+            if (i >= slots) {
+                cmd.append(listSelector, ENTRY_UI);
+                cmd.set(selector + " #EntrySelectButton.Text", configManager.getMessage("adminui.players.select"));
+                events.addEventBinding(CustomUIEventBindingType.Activating, selector + " #EntrySelectButton",
+                    new EventData().append("Action", ACTION_SELECT).append("Index", String.valueOf(i)), false);
+                slots++;
+                writeRow(cmd, selector, row);
+            } else if (i >= shown.size()) {
+                cmd.set(selector + ".Visible", true);
+                writeRow(cmd, selector, row);
+            } else if (!shown.get(i).equals(row)) {
+                writeRow(cmd, selector, row);
+            }
+        }
+        for (int i = rows.size(); i < Math.min(shown.size(), slots); i++) {
+            cmd.set(listSelector + "[" + i + "].Visible", false);
+        }
+        shown = rows;
+
+        cmd.set("#PlayerFilterButton.Text", configManager.getMessage("adminui.players.filter",
+            "mode", configManager.getMessage("adminui.players.filter." + mode.name().toLowerCase())));
+        String labelFormat = configManager.getMessage("gui.PaginationLabel");
+        if (page.total() == 0) {
+            PaginationControl.setEmptyAndHide(cmd, paginationSelector, labelFormat);
+            cmd.set("#PlayerStatusMsg.Text", configManager.getMessage("adminui.players.noMatches"));
+        } else {
+            int totalPages = (page.total() + pageSize - 1) / pageSize;
+            PaginationControl.updateOrHide(cmd, paginationSelector, pageIndex, totalPages, labelFormat);
+            cmd.set("#PlayerStatusMsg.Text", configManager.getMessage("adminui.players.count",
+                "count", String.valueOf(page.total())));
+        }
+    }
+
+    private void writeRow(UICommandBuilder cmd, String selector, PlayerDirectory.Row row) {
+        cmd.set(selector + " #EntryName.Text", row.name());
+        StringBuilder status = new StringBuilder();
+        if (row.online()) {
+            status.append(row.world() != null ? row.world() : configManager.getMessage("adminui.players.onlineStatus"));
+        } else {
+            status.append(configManager.getMessage("adminui.players.offline"));
+        }
+        if (row.afk()) status.append(" AFK");
+        if (row.vanished()) status.append(" VANISHED");
+        if (row.frozen()) status.append(" FROZEN");
+        if (row.muted()) status.append(" MUTED");
+        cmd.set(selector + " #EntryStatus.Text", status.toString());
+    }
+
+    private PlayerDirectory.Filter filter() {
+        return new PlayerDirectory.Filter(namePrefix, world, mode == Mode.ONLINE,
+            mode == Mode.AFK, mode == Mode.VANISHED, mode == Mode.FROZEN, mode == Mode.MUTED);
+    }
+
+    private void parseSearch(String search) {
+        namePrefix = "";
+        world = null;
+        if (search == null) return;
+        for (String token : search.trim().split("\\s+")) {
+            if (token.regionMatches(true, 0, "world:", 0, 6)) {
+                world = token.substring(6);
+            } else if (!token.isEmpty() && namePrefix.isEmpty()) {
+                namePrefix = token;
+            }
+        }
+    }
+}
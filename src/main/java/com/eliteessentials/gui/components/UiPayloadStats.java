@@ -0,0 +1,57 @@
+package com.eliteessentials.gui.components;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-list counters of GUI update payload, shown by /ee uistats.
+ *
+ * Sizes are the UTF-8 bytes of the selectors, values, template paths and event data
+ * that a {@link CardList} puts into a UI update. That is what dominates the packet;
+ * framing is not counted. "Full" is what the same update would have cost by clearing
+ * the list and appending every card again (how the pages worked before CardList).
+ */
+public final class UiPayloadStats {
+
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private UiPayloadStats() {
+    }
+
+    public record Snapshot(long renders, long bytesSent, long bytesFull) {
+        public double averageSent() {
+            return renders == 0 ? 0 : (double) bytesSent / renders;
+        }
+
+        public double averageFull() {
+            return renders == 0 ? 0 : (double) bytesFull / renders;
+        }
+    }
+
+    private static final class Counter {
+        final LongAdder renders = new LongAdder();
+        final LongAdder sent = new LongAdder();
+        final LongAdder full = new LongAdder();
+    }
+
+    static void record(String list, long bytesSent, long bytesFull) {
+        Counter counter = counters.computeIfAbsent(list, k -> new Counter());
+        counter.renders.increment();
+        counter.sent.add(bytesSent);
+        counter.full.add(bytesFull);
+    }
+
+    /**
+     * Totals since startup by list name, sorted by name.
+     */
+    public static Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            Counter c = entry.getValue();
+            result.put(entry.getKey(), new Snapshot(c.renders.sum(), c.sent.sum(), c.full.sum()));
+        }
+        return result;
+    }
+}
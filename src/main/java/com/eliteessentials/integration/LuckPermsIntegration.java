@@ -352,6 +352,7 @@ public class LuckPermsIntegration {
         perms.add(Permissions.ADMIN_RELOAD);
         perms.add(Permissions.ADMIN_GROUPSYNC);
         perms.add(Permissions.ADMIN_ALIAS);
+        perms.add(Permissions.ADMIN_REGION);
         perms.add(Permissions.GREETINGS_ADMIN);
         perms.add(Permissions.ADMIN_SENDMESSAGE);
         perms.add(Permissions.ADMIN_RTP);
@@ -1,6 +1,8 @@
 package com.eliteessentials.interactions;
 
 import com.eliteessentials.EliteEssentials;
+import com.eliteessentials.model.ProtectedRegion;
+import com.eliteessentials.services.ProtectedRegionIndex;
 import com.eliteessentials.services.SpawnProtectionService;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.component.CommandBuffer;
@@ -22,8 +24,9 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import java.util.Locale;
 
 /**
- * Custom UseBlock interaction that enforces spawn protection for F-key pickups.
- * Prevents picking up flowers, pebbles, mushrooms, etc. in protected spawn areas.
+ * Custom UseBlock interaction that enforces spawn/region protection for F-key pickups.
+ * Prevents picking up flowers, pebbles, mushrooms, etc. in protected spawn areas and
+ * in admin regions that deny the PICKUP or INTERACT flag.
  * 
  * This replaces the vanilla UseBlockInteraction via codec registry, intercepting 
  * at the interaction level BEFORE any event fires. This is necessary because 
@@ -35,6 +38,8 @@ public class SpawnUseBlockInteraction extends UseBlockInteraction {
 
     private static final String PICKUP_MSG = "Item pickups are disabled in spawn.";
     private static final String INTERACTION_MSG = "Interactions are disabled in spawn.";
+    private static final String REGION_PICKUP_MSG = "Item pickups are disabled in this area.";
+    private static final String REGION_INTERACTION_MSG = "Interactions are disabled in this area.";
     private static final String MSG_COLOR = "#FF5555";
 
     public static final BuilderCodec<SpawnUseBlockInteraction> CUSTOM_CODEC =
@@ -87,40 +92,49 @@ public class SpawnUseBlockInteraction extends UseBlockInteraction {
     private boolean shouldBlockInteraction(World world, InteractionContext context,
                                            Vector3i targetBlock, boolean sendMessage) {
         SpawnProtectionService service = EliteEssentials.getInstance().getSpawnProtectionService();
-        if (service == null || !service.isEnabled()) return false;
+        if (service == null) return false;
 
-        // Fast world check - skip worlds that have no spawn protection configured
+        // Fast world check - skip worlds that have no protected regions configured
         // This is critical for arena worlds where spawn protection doesn't apply
         String worldName = world.getName();
-        if (worldName == null || !service.hasSpawnInWorld(worldName)) return false;
+        ProtectedRegionIndex regions = worldName != null ? service.getIndex(worldName) : null;
+        if (regions == null) return false;
 
-        boolean isPickupProtection = service.isItemPickupProtectionEnabled();
-        boolean isInteractionProtection = service.isInteractionProtectionEnabled();
-
-        // Need at least one of these enabled
-        if (!isPickupProtection && !isInteractionProtection) return false;
+        // Need at least one of these denied somewhere in this world
+        if (!regions.anyDenies(ProtectedRegion.Flag.PICKUP) && !regions.anyDenies(ProtectedRegion.Flag.INTERACT)) {
+            return false;
+        }
 
-        // When only pickup protection is enabled (not full interaction protection),
-        // allow functional blocks (doors, chests, benches, etc.) to still work.
-        // Also skip non-harvestable blocks — they can't be picked up, so blocking
-        // them just spams messages (e.g. ground blocks under braziers/NPCs).
-        if (isPickupProtection && !isInteractionProtection) {
+        int x = targetBlock.getX();
+        int y = targetBlock.getY();
+        int z = targetBlock.getZ();
+        ProtectedRegionIndex.Region region = regions.findDenying(x, y, z, ProtectedRegion.Flag.INTERACT);
+        boolean isInteractionProtection = region != null;
+        if (region == null) {
+            region = regions.findDenying(x, y, z, ProtectedRegion.Flag.PICKUP);
+            if (region == null) return false;
+
+            // When only pickup protection applies (not full interaction protection),
+            // allow functional blocks (doors, chests, benches, etc.) to still work.
+            // Also skip non-harvestable blocks — they can't be picked up, so blocking
+            // them just spams messages (e.g. ground blocks under braziers/NPCs).
             if (isFunctionalBlock(world, targetBlock)) return false;
             if (!isHarvestableBlock(world, targetBlock)) return false;
         }
 
-        // Check if player is in a protected area
+        // Check player bypass
         Ref<EntityStore> ref = context.getEntity();
         Store<EntityStore> store = ref.getStore();
         PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
         if (playerRef == null) return false;
 
-        if (!service.isInProtectedArea(worldName, targetBlock)) return false;
-        if (service.canBypass(playerRef.getUuid())) return false;
+        if (service.canBypass(playerRef.getUuid(), region)) return false;
 
         // Block the interaction
         if (sendMessage) {
-            String msg = isInteractionProtection ? INTERACTION_MSG : PICKUP_MSG;
+            String msg = isInteractionProtection
+                    ? (region.isSpawn() ? INTERACTION_MSG : REGION_INTERACTION_MSG)
+                    : (region.isSpawn() ? PICKUP_MSG : REGION_PICKUP_MSG);
             playerRef.sendMessage(Message.raw(msg).color(MSG_COLOR));
         }
         return true;
@@ -1,11 +1,14 @@
 package com.eliteessentials.interactions;
 
 import com.eliteessentials.EliteEssentials;
+import com.eliteessentials.model.ProtectedRegion;
+import com.eliteessentials.services.ProtectedRegionIndex;
 import com.eliteessentials.services.SpawnProtectionService;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.protocol.InteractionState;
 import com.hypixel.hytale.protocol.InteractionSyncData;
 import com.hypixel.hytale.protocol.InteractionType;
@@ -23,8 +26,9 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import javax.annotation.Nonnull;
 
 /**
- * Custom UseEntity interaction that enforces spawn protection for decoration pickups.
- * Prevents picking up entity-based decorations (mushrooms, flowers, etc.) in protected spawn areas.
+ * Custom UseEntity interaction that enforces spawn/region protection for decoration pickups.
+ * Prevents picking up entity-based decorations (mushrooms, flowers, etc.) in protected spawn areas
+ * and in admin regions that deny the PICKUP or INTERACT flag.
  *
  * Extends SimpleInstantInteraction directly because UseEntityInteraction.firstRun() is final.
  * Reimplements the UseEntity logic (resolve target entity, look up its interaction, execute it)
@@ -34,6 +38,8 @@ public class SpawnUseEntityInteraction extends SimpleInstantInteraction {
 
     private static final String PICKUP_MSG = "Item pickups are disabled in spawn.";
     private static final String INTERACTION_MSG = "Interactions are disabled in spawn.";
+    private static final String REGION_PICKUP_MSG = "Item pickups are disabled in this area.";
+    private static final String REGION_INTERACTION_MSG = "Interactions are disabled in this area.";
     private static final String MSG_COLOR = "#FF5555";
 
     public static final BuilderCodec<SpawnUseEntityInteraction> CUSTOM_CODEC =
@@ -110,21 +116,32 @@ public class SpawnUseEntityInteraction extends SimpleInstantInteraction {
                                            Store<EntityStore> store,
                                            Ref<EntityStore> targetRef, EntityStore entityStore) {
         SpawnProtectionService service = EliteEssentials.getInstance().getSpawnProtectionService();
-        if (service == null || !service.isEnabled()) return false;
-
-        boolean isPickupProtection = service.isItemPickupProtectionEnabled();
-        boolean isInteractionProtection = service.isInteractionProtectionEnabled();
-        if (!isPickupProtection && !isInteractionProtection) return false;
+        if (service == null) return false;
 
         String worldName = entityStore.getWorld() != null ? entityStore.getWorld().getName() : null;
-        if (worldName == null || !service.hasSpawnInWorld(worldName)) return false;
-
-        // When only pickup protection is enabled (not full interaction protection),
-        // let Use interactions through (braziers, doors, NPC dialogue, etc.).
-        // Also allow NPCs specifically regardless of interaction type.
-        // Only block Pick/Pickup types which are actual item pickups.
-        // Decoration block pickups (flowers, pebbles) are handled by SpawnUseBlockInteraction.
-        if (isPickupProtection && !isInteractionProtection) {
+        ProtectedRegionIndex regions = worldName != null ? service.getIndex(worldName) : null;
+        if (regions == null) return false;
+
+        boolean anyPickup = regions.anyDenies(ProtectedRegion.Flag.PICKUP);
+        boolean anyInteraction = regions.anyDenies(ProtectedRegion.Flag.INTERACT);
+        if (!anyPickup && !anyInteraction) return false;
+
+        // Check target entity position
+        TransformComponent transform = store.getComponent(targetRef, TransformComponent.getComponentType());
+        if (transform == null) return false;
+        Vector3d pos = transform.getPosition();
+
+        ProtectedRegionIndex.Region region = anyInteraction
+                ? regions.findDenying(pos.getX(), pos.getY(), pos.getZ(), ProtectedRegion.Flag.INTERACT) : null;
+        boolean isInteractionProtection = region != null;
+        if (region == null) {
+            if (!anyPickup) return false;
+
+            // When only pickup protection applies (not full interaction protection),
+            // let Use interactions through (braziers, doors, NPC dialogue, etc.).
+            // Also allow NPCs specifically regardless of interaction type.
+            // Only block Pick/Pickup types which are actual item pickups.
+            // Decoration block pickups (flowers, pebbles) are handled by SpawnUseBlockInteraction.
             // NPCs (merchants, quest givers) always pass through
             NPCEntity npc = store.getComponent(targetRef, NPCEntity.getComponentType());
             if (npc != null) return false;
@@ -132,20 +149,20 @@ public class SpawnUseEntityInteraction extends SimpleInstantInteraction {
             if (type == InteractionType.Use) return false;
             // Only block actual pickup types
             if (type != InteractionType.Pick && type != InteractionType.Pickup) return false;
-        }
 
-        // Check target entity position
-        TransformComponent transform = store.getComponent(targetRef, TransformComponent.getComponentType());
-        if (transform == null) return false;
-        if (!service.isInProtectedArea(worldName, transform.getPosition())) return false;
+            region = regions.findDenying(pos.getX(), pos.getY(), pos.getZ(), ProtectedRegion.Flag.PICKUP);
+            if (region == null) return false;
+        }
 
         // Check player bypass
         Ref<EntityStore> playerEntityRef = context.getEntity();
         PlayerRef player = store.getComponent(playerEntityRef, PlayerRef.getComponentType());
         if (player == null) return false;
-        if (service.canBypass(player.getUuid())) return false;
+        if (service.canBypass(player.getUuid(), region)) return false;
 
-        String msg = isInteractionProtection ? INTERACTION_MSG : PICKUP_MSG;
+        String msg = isInteractionProtection
+                ? (region.isSpawn() ? INTERACTION_MSG : REGION_INTERACTION_MSG)
+                : (region.isSpawn() ? PICKUP_MSG : REGION_PICKUP_MSG);
         player.sendMessage(Message.raw(msg).color(MSG_COLOR));
         return true;
     }
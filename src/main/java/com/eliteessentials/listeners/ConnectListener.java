@@ -10,6 +10,7 @@ import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.event.EventRegistry;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerSetupConnectEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
@@ -51,6 +52,14 @@ public class ConnectListener {
 
         // Post-join: re-apply freeze state once player is in world
         eventRegistry.registerGlobal(PlayerReadyEvent.class, this::onPlayerReady);
+
+        // Drop the freeze anchor so the next session anchors where the player joins
+        eventRegistry.registerGlobal(PlayerDisconnectEvent.class, event -> {
+            PlayerRef playerRef = event.getPlayerRef();
+            if (freezeService != null && playerRef != null) {
+                freezeService.clearAnchor(playerRef.getUuid());
+            }
+        });
     }
 
     /**
@@ -90,14 +99,16 @@ public class ConnectListener {
         // Check IP ban
         if (ipBanService != null && configManager.getConfig().ban.enabled) {
             String ip = IpBanService.getIpFromPacketHandler(event.getPacketHandler());
-            if (ip != null && ipBanService.isBanned(ip)) {
-                IpBanService.IpBanEntry entry = ipBanService.getBanEntry(ip);
-                String reason = entry != null && entry.reason != null ? entry.reason : "No reason specified";
-                String bannedBy = entry != null && entry.bannedBy != null ? entry.bannedBy : "Server";
+            // One lookup: exact address first, then the most specific banned range
+            IpBanService.IpBanEntry entry = ip != null ? ipBanService.getBanEntry(ip) : null;
+            if (entry != null) {
+                String reason = entry.reason != null ? entry.reason : "No reason specified";
+                String bannedBy = entry.bannedBy != null ? entry.bannedBy : "Server";
                 String msg = configManager.getMessage("ipbanConnectDenied", "reason", reason, "bannedBy", bannedBy);
                 event.setReason(Message.raw(MessageFormatter.stripColorCodes(msg)));
                 event.setCancelled(true);
-                logger.info("[IpBanService] Blocked IP-banned player: " + username + " (IP: " + ip + ")");
+                logger.info("[IpBanService] Blocked IP-banned player: " + username + " (IP: " + ip
+                        + (ip.equals(entry.ip) ? "" : ", range: " + entry.ip) + ")");
             }
         }
     }
@@ -126,6 +137,9 @@ public class ConnectListener {
 
                 if (!freezeService.isFrozen(pRef.getUuid())) return;
 
+                // Anchor at the join position, not wherever the last session ended
+                freezeService.clearAnchor(pRef.getUuid());
+
                 // Re-apply freeze via centralized helper
                 FreezeService.applyFreeze(store, ref, pRef);
 
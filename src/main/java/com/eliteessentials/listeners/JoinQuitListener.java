@@ -5,23 +5,24 @@ import com.eliteessentials.config.ConfigManager;
 import com.eliteessentials.model.PlayerFile;
 import com.eliteessentials.config.PluginConfig;
 import com.eliteessentials.integration.PAPIIntegration;
+import com.eliteessentials.services.AltAccountService;
 import com.eliteessentials.services.AfkService;
 import com.eliteessentials.services.GreetingService;
 import com.eliteessentials.services.MailService;
 import com.eliteessentials.services.NickService;
+import com.eliteessentials.services.PlayerDirectory;
 import com.eliteessentials.services.PlayerService;
 import com.eliteessentials.services.IpBanService;
 import com.eliteessentials.services.PlayTimeRewardService;
 import com.eliteessentials.storage.MotdStorage;
 import com.eliteessentials.storage.PlayerStorageProvider;
 import com.eliteessentials.storage.SpawnStorage;
+import com.eliteessentials.util.HytaleSaveFilePatcher;
+import com.eliteessentials.util.HytaleSaveFileReader;
 import com.eliteessentials.util.MessageFormatter;
 import com.eliteessentials.util.TeleportGuard;
 import com.eliteessentials.util.TeleportUtil;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.eliteessentials.util.WorldBlacklistUtil;
 import com.hypixel.hytale.component.Holder;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.event.EventRegistry;
@@ -38,9 +39,7 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Path;
+import java.io.File;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -354,6 +353,8 @@ public class JoinQuitListener {
             seenWorldMotds.remove(playerId);
             // Set initial world for world change detection
             playerLastWorld.put(playerId, worldName);
+            // Save file will change while they're online
+            HytaleSaveFileReader.forgetPosition(playerId);
 
             // Determine first join BEFORE onPlayerJoin: use same criterion as StarterKitEvent
             // (no EE player file on disk). Once we call onPlayerJoin we create/save the file.
@@ -362,12 +363,22 @@ public class JoinQuitListener {
             // Update player cache
             PlayerFile pf = playerService.onPlayerJoin(playerId, playerName);
 
+            // Keep the admin player browser's name index current
+            PlayerDirectory playerDirectory = EliteEssentials.getInstance().getPlayerDirectory();
+            if (playerDirectory != null) {
+                playerDirectory.onPlayerJoin(playerId, playerName);
+            }
+
             // Record IP in player's ipHistory
             String ip = IpBanService.getIpFromPacketHandler(playerRef.getPacketHandler());
             if (ip != null && pf != null && playerFileStorage != null) {
                 pf.recordIp(ip);
                 playerFileStorage.markDirty(playerId);
             }
+            AltAccountService altAccountService = EliteEssentials.getInstance().getAltAccountService();
+            if (ip != null && altAccountService != null) {
+                altAccountService.onPlayerJoin(playerId, ip);
+            }
 
             // Hide vanished players from this joining player and check if they were vanished
             boolean playerIsVanished = false;
@@ -497,6 +508,11 @@ public class JoinQuitListener {
                 greetingService.evaluate(playerRef, "server_join", worldName, isFirstJoin, null);
             }
 
+            // Move mail left in the player file by older versions into the mail store
+            if (mailService != null) {
+                mailService.migrateLegacyMailbox(playerId);
+            }
+
             // Notify about unread mail
             if (config.mail.enabled && config.mail.notifyOnLogin && mailService != null) {
                 int unreadCount = mailService.getUnreadCount(playerId);
@@ -549,15 +565,14 @@ public class JoinQuitListener {
         // like "arena*" covers both death-respawn and login-spawn suppression.
         String lastWorldForExclusionCheck = playerLastWorld.get(playerId);
         boolean loginExcluded = false;
-        if (lastWorldForExclusionCheck != null && config.spawn.respawnExcludedWorlds != null) {
-            for (String excluded : config.spawn.respawnExcludedWorlds) {
-                if (excluded != null && worldMatchesPattern(lastWorldForExclusionCheck, excluded)) {
-                    loginExcluded = true;
-                    if (configManager.isDebugEnabled()) {
-                        logger.info("[SpawnOnLogout] World '" + lastWorldForExclusionCheck +
-                                "' matched excluded pattern '" + excluded + "', skipping save file rewrite.");
-                    }
-                    break;
+        if (lastWorldForExclusionCheck != null) {
+            String excluded = WorldBlacklistUtil.matcherFor(config.spawn.respawnExcludedWorlds)
+                    .findMatch(lastWorldForExclusionCheck);
+            if (excluded != null) {
+                loginExcluded = true;
+                if (configManager.isDebugEnabled()) {
+                    logger.info("[SpawnOnLogout] World '" + lastWorldForExclusionCheck +
+                            "' matched excluded pattern '" + excluded + "', skipping save file rewrite.");
                 }
             }
         }
@@ -576,6 +591,17 @@ public class JoinQuitListener {
             }
         }
 
+        // Remember where they logged out so /playerinfo doesn't have to read the save file.
+        // A spawn-on-logout rewrite replaces this with the spawn once the file is patched.
+        String quitWorld = playerLastWorld.get(playerId);
+        try {
+            Vector3d quitPos = playerRef.getTransform().getPosition();
+            HytaleSaveFileReader.rememberPosition(playerId,
+                new HytaleSaveFileReader.SavedPosition(quitPos.x, quitPos.y, quitPos.z, quitWorld));
+        } catch (Exception e) {
+            HytaleSaveFileReader.forgetPosition(playerId);
+        }
+
         // Clean up tracking data
         worldChangingPlayers.remove(playerId);
         // Clear seen world MOTDs when player disconnects
@@ -789,24 +815,6 @@ public class JoinQuitListener {
         }
     }
 
-    /**
-     * Check if a world name matches a glob pattern (supports * wildcard, case-insensitive).
-     * Shared logic with RespawnListener for consistent exclusion behaviour.
-     */
-    private boolean worldMatchesPattern(String worldName, String pattern) {
-        if (!pattern.contains("*")) {
-            return pattern.equalsIgnoreCase(worldName);
-        }
-        // Build regex by splitting on '*', quoting each literal segment, then joining with '.*'
-        String[] parts = pattern.split("\\*", -1);
-        StringBuilder sb = new StringBuilder("(?i)");
-        for (int i = 0; i < parts.length; i++) {
-            if (i > 0) sb.append(".*");
-            sb.append(java.util.regex.Pattern.quote(parts[i]));
-        }
-        return worldName.matches(sb.toString());
-    }
-
     /**
      * Rewrite the player's Hytale save file on disk to set spawn coordinates.
      * Called on a scheduler thread after a delay to let Hytale finish saving.
@@ -819,90 +827,48 @@ public class JoinQuitListener {
             SpawnStorage.SpawnData spawn, String targetWorldName, String lastWorld) {
         try {
             // Player save files are at universe/players/{uuid}.json
-            Path universePath = Path.of("universe", "players", playerId.toString() + ".json");
-            File saveFile = universePath.toFile();
+            File saveFile = HytaleSaveFileReader.getSaveFile(playerId);
             
             if (!saveFile.exists()) {
                 logger.warning("[SpawnOnLogout] Save file not found for " + playerName + ": " + saveFile.getAbsolutePath());
                 return;
             }
 
-            // Read the JSON
-            JsonObject root;
-            try (Reader reader = new InputStreamReader(new FileInputStream(saveFile), StandardCharsets.UTF_8)) {
-                root = JsonParser.parseReader(reader).getAsJsonObject();
-            }
-
-            JsonObject components = root.getAsJsonObject("Components");
-            if (components == null) {
-                logger.warning("[SpawnOnLogout] No Components in save file for " + playerName);
-                return;
-            }
+            // Only the position fields are touched; the rest of the file is streamed through as-is
+            HytaleSaveFilePatcher patcher = new HytaleSaveFilePatcher();
 
             // Update Transform.Position (where the entity spawns)
-            JsonObject transform = components.getAsJsonObject("Transform");
-            if (transform != null) {
-                JsonObject position = transform.getAsJsonObject("Position");
-                if (position != null) {
-                    position.addProperty("X", spawn.x);
-                    position.addProperty("Y", spawn.y);
-                    position.addProperty("Z", spawn.z);
-                }
-                JsonObject rotation = transform.getAsJsonObject("Rotation");
-                if (rotation != null) {
-                    rotation.addProperty("Pitch", 0.0);
-                    rotation.addProperty("Yaw", spawn.yaw);
-                    rotation.addProperty("Roll", 0.0);
-                }
-            }
+            patcher.object("Components", "Transform", "Position")
+                .set("X", spawn.x).set("Y", spawn.y).set("Z", spawn.z);
+            patcher.object("Components", "Transform", "Rotation")
+                .set("Pitch", 0.0).set("Yaw", spawn.yaw).set("Roll", 0.0);
 
             // Update HeadRotation to match
-            JsonObject headRotation = components.getAsJsonObject("HeadRotation");
-            if (headRotation != null) {
-                JsonObject rotation = headRotation.getAsJsonObject("Rotation");
-                if (rotation != null) {
-                    rotation.addProperty("Pitch", 0.0);
-                    rotation.addProperty("Yaw", spawn.yaw);
-                    rotation.addProperty("Roll", 0.0);
-                }
-            }
+            patcher.object("Components", "HeadRotation", "Rotation")
+                .set("Pitch", 0.0).set("Yaw", spawn.yaw).set("Roll", 0.0);
 
-            // Update Player.PlayerData.PerWorldData.{world}.LastPosition
-            JsonObject player = components.getAsJsonObject("Player");
-            if (player != null) {
-                JsonObject playerData = player.getAsJsonObject("PlayerData");
-                if (playerData != null) {
-                    // Update World field if cross-world
-                    String currentWorld = lastWorld != null ? lastWorld : targetWorldName;
-                    if (!currentWorld.equalsIgnoreCase(targetWorldName)) {
-                        playerData.addProperty("World", targetWorldName);
-                    }
+            // Update World field if cross-world
+            String currentWorld = lastWorld != null ? lastWorld : targetWorldName;
+            boolean crossWorld = !currentWorld.equalsIgnoreCase(targetWorldName);
+            if (crossWorld) {
+                patcher.object("Components", "Player", "PlayerData").set("World", targetWorldName);
+            }
 
-                    JsonObject perWorldData = playerData.getAsJsonObject("PerWorldData");
-                    if (perWorldData != null) {
-                        // Update LastPosition in the world the player was in
-                        String worldKey = currentWorld;
-                        JsonObject worldData = perWorldData.getAsJsonObject(worldKey);
-                        if (worldData != null) {
-                            updateLastPosition(worldData, spawn);
-                        }
-                        // Also update target world if different
-                        if (!currentWorld.equalsIgnoreCase(targetWorldName)) {
-                            JsonObject targetData = perWorldData.getAsJsonObject(targetWorldName);
-                            if (targetData != null) {
-                                updateLastPosition(targetData, spawn);
-                            }
-                        }
-                    }
-                }
+            // Update Player.PlayerData.PerWorldData.{world}.LastPosition in the world the player was in,
+            // and in the target world if different
+            setLastPosition(patcher, currentWorld, spawn);
+            if (crossWorld) {
+                setLastPosition(patcher, targetWorldName, spawn);
             }
 
-            // Write back
-            Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
-            try (Writer writer = new OutputStreamWriter(new FileOutputStream(saveFile), StandardCharsets.UTF_8)) {
-                gson.toJson(root, writer);
+            if (patcher.apply(saveFile) == 0) {
+                logger.warning("[SpawnOnLogout] No position data in save file for " + playerName);
+                return;
             }
 
+            HytaleSaveFileReader.rememberPosition(playerId, new HytaleSaveFileReader.SavedPosition(
+                spawn.x, spawn.y, spawn.z, crossWorld ? targetWorldName : currentWorld));
+
             logger.info("[SpawnOnLogout] Rewrote " + playerName + "'s save file with spawn at " +
                 String.format("%.1f, %.1f, %.1f", spawn.x, spawn.y, spawn.z));
         } catch (Exception e) {
@@ -911,18 +877,12 @@ public class JoinQuitListener {
     }
 
     /**
-     * Update the LastPosition object in a PerWorldData entry.
+     * Set the LastPosition object in a PerWorldData entry.
      */
-    private void updateLastPosition(JsonObject worldData, SpawnStorage.SpawnData spawn) {
-        JsonObject lastPos = worldData.getAsJsonObject("LastPosition");
-        if (lastPos != null) {
-            lastPos.addProperty("X", spawn.x);
-            lastPos.addProperty("Y", spawn.y);
-            lastPos.addProperty("Z", spawn.z);
-            lastPos.addProperty("Pitch", 0.0);
-            lastPos.addProperty("Yaw", spawn.yaw);
-            lastPos.addProperty("Roll", 0.0);
-        }
+    private void setLastPosition(HytaleSaveFilePatcher patcher, String worldName, SpawnStorage.SpawnData spawn) {
+        patcher.object("Components", "Player", "PlayerData", "PerWorldData", worldName, "LastPosition")
+            .set("X", spawn.x).set("Y", spawn.y).set("Z", spawn.z)
+            .set("Pitch", 0.0).set("Yaw", spawn.yaw).set("Roll", 0.0);
     }
 
 }
@@ -4,6 +4,8 @@ import com.eliteessentials.EliteEssentials;
 import com.eliteessentials.config.PluginConfig;
 import com.eliteessentials.storage.SpawnStorage;
 import com.eliteessentials.util.TeleportGuard;
+import com.eliteessentials.util.TeleportUtil;
+import com.eliteessentials.util.WorldBlacklistUtil;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.ComponentType;
 import com.hypixel.hytale.component.Ref;
@@ -24,6 +26,7 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import org.jetbrains.annotations.NotNull;
 
+import com.eliteessentials.services.FreezeService;
 import com.eliteessentials.services.GreetingService;
 import com.eliteessentials.spawn.DeathPositionCache;
 
@@ -140,6 +143,12 @@ public class RespawnListener extends RefChangeSystem<EntityStore, DeathComponent
         PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
         final UUID playerId = playerRef != null ? playerRef.getUuid() : null;
 
+        // The engine has moved the player; a frozen player is held wherever they are next seen
+        FreezeService freezeService = EliteEssentials.getInstance().getFreezeService();
+        if (playerId != null && freezeService != null) {
+            freezeService.clearAnchor(playerId);
+        }
+
         // Get death world
         EntityStore entityStore;
         World deathWorld;
@@ -309,6 +318,7 @@ public class RespawnListener extends RefChangeSystem<EntityStore, DeathComponent
                                     com.hypixel.hytale.server.core.modules.entity.teleport.Teleport teleport = 
                                         new com.hypixel.hytale.server.core.modules.entity.teleport.Teleport(deathWorldFinal2, nearSpawnPos, nearSpawnRot);
                                     storeFinal2.putComponent(refFinal2, com.hypixel.hytale.server.core.modules.entity.teleport.Teleport.getComponentType(), teleport);
+                                    TeleportUtil.reanchorFrozen(playerId, nearSpawnPos);
                                     
                                     // Notify the player which spawn they respawned at
                                     if (playerRef != null && nearestName != null) {
@@ -351,16 +361,13 @@ public class RespawnListener extends RefChangeSystem<EntityStore, DeathComponent
 
         // Check if this world is excluded from respawn teleport (e.g. PVPArena worlds).
         // Entries support wildcards: "arena*" matches "Arena_1vs1-standard_1771781348556_3", etc.
-        if (config.spawn.respawnExcludedWorlds != null) {
-            for (String excluded : config.spawn.respawnExcludedWorlds) {
-                if (excluded != null && worldMatchesPattern(currentWorldName, excluded)) {
-                    if (debugEnabled) {
-                        logger.info("[Respawn] World '" + currentWorldName + "' matched excluded pattern '" + excluded + "', skipping spawn teleport.");
-                        logger.info("[Respawn] ========================================");
-                    }
-                    return;
-                }
+        String excluded = WorldBlacklistUtil.matcherFor(config.spawn.respawnExcludedWorlds).findMatch(currentWorldName);
+        if (excluded != null) {
+            if (debugEnabled) {
+                logger.info("[Respawn] World '" + currentWorldName + "' matched excluded pattern '" + excluded + "', skipping spawn teleport.");
+                logger.info("[Respawn] ========================================");
             }
+            return;
         }
 
         // Cross-world respawn: player died in a non-main world, needs to go to mainWorld
@@ -429,6 +436,7 @@ public class RespawnListener extends RefChangeSystem<EntityStore, DeathComponent
 
                                 Teleport teleport = new Teleport(targetWorld, spawnPos, spawnRot);
                                 storeFinal.putComponent(refFinal, Teleport.getComponentType(), teleport);
+                                TeleportUtil.reanchorFrozen(playerId, spawnPos);
 
                                 // Evaluate greeting rules (respawn trigger, cross-world)
                                 if (greetingService != null && playerRef != null) {
@@ -451,25 +459,6 @@ public class RespawnListener extends RefChangeSystem<EntityStore, DeathComponent
                 });
     }
 
-    /**
-     * Checks whether a world name matches a pattern.
-     * Supports case-insensitive exact matches and glob-style wildcards (*).
-     * e.g. "arena*" matches "Arena_1vs1-standard_1771781348556_3"
-     */
-    private boolean worldMatchesPattern(String worldName, String pattern) {
-        if (!pattern.contains("*")) {
-            return pattern.equalsIgnoreCase(worldName);
-        }
-        // Build regex by splitting on '*', quoting each literal segment, then joining with '.*'
-        String[] parts = pattern.split("\\*", -1);
-        StringBuilder sb = new StringBuilder("(?i)");
-        for (int i = 0; i < parts.length; i++) {
-            if (i > 0) sb.append(".*");
-            sb.append(java.util.regex.Pattern.quote(parts[i]));
-        }
-        return worldName.matches(sb.toString());
-    }
-
     /**
      * Find a world by name (case-insensitive).
      */
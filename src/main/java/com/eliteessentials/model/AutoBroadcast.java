@@ -6,6 +6,7 @@ import java.util.List;
 /**
  * Model for an auto-broadcast entry.
  * Each broadcast has an ID, interval, prefix, and list of messages to cycle through.
+ * The audience can be narrowed by world, permission, and AFK/vanish state.
  */
 public class AutoBroadcast {
     
@@ -17,6 +18,12 @@ public class AutoBroadcast {
     private boolean random;
     private boolean requirePlayers;
     
+    // Audience (all optional; unset means everyone online)
+    private List<String> worlds;
+    private String permission;
+    private boolean excludeAfk;
+    private boolean excludeVanished;
+    
     public AutoBroadcast() {
         this.id = "default";
         this.enabled = true;
@@ -25,6 +32,8 @@ public class AutoBroadcast {
         this.messages = new ArrayList<>();
         this.random = false;
         this.requirePlayers = true;
+        this.worlds = new ArrayList<>();
+        this.permission = "";
     }
     
     public AutoBroadcast(String id, int intervalSeconds, List<String> messages) {
@@ -35,6 +44,8 @@ public class AutoBroadcast {
         this.messages = messages != null ? new ArrayList<>(messages) : new ArrayList<>();
         this.random = false;
         this.requirePlayers = true;
+        this.worlds = new ArrayList<>();
+        this.permission = "";
     }
     
     public String getId() {
@@ -92,4 +103,43 @@ public class AutoBroadcast {
     public void setRequirePlayers(boolean requirePlayers) {
         this.requirePlayers = requirePlayers;
     }
+    
+    /**
+     * Worlds whose players receive this broadcast (exact names or * wildcards).
+     * Empty means all worlds.
+     */
+    public List<String> getWorlds() {
+        return worlds != null ? worlds : new ArrayList<>();
+    }
+    
+    public void setWorlds(List<String> worlds) {
+        this.worlds = worlds != null ? new ArrayList<>(worlds) : new ArrayList<>();
+    }
+    
+    /**
+     * Permission a player needs to receive this broadcast. Empty means no permission needed.
+     */
+    public String getPermission() {
+        return permission != null ? permission : "";
+    }
+    
+    public void setPermission(String permission) {
+        this.permission = permission != null ? permission : "";
+    }
+    
+    public boolean isExcludeAfk() {
+        return excludeAfk;
+    }
+    
+    public void setExcludeAfk(boolean excludeAfk) {
+        this.excludeAfk = excludeAfk;
+    }
+    
+    public boolean isExcludeVanished() {
+        return excludeVanished;
+    }
+    
+    public void setExcludeVanished(boolean excludeVanished) {
+        this.excludeVanished = excludeVanished;
+    }
 }
@@ -0,0 +1,333 @@
+package com.eliteessentials.model;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A player's /back locations in a fixed-capacity ring buffer of primitives.
+ *
+ * Pushing overwrites one slot in place: no list shifting and no Location object kept
+ * per entry. Every entry gets an increasing sequence number, which SqlPlayerStorage
+ * uses as the row position so a push only has to write the slot it changed (see
+ * {@link #takeChanges()}). In player JSON files the history is still a plain array
+ * of locations, most recent first.
+ *
+ * All methods are synchronized: pushes happen on world threads, saves on the flush thread.
+ */
+public final class BackHistory {
+
+    /** {@link Slot#replaces} value for a push that filled an empty slot */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private String[] worlds = new String[0];
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private double[] zs = new double[0];
+    private float[] yaws = new float[0];
+    private float[] pitches = new float[0];
+    private long[] seqs = new long[0];
+    // Sequence number of the entry each slot's last push displaced, or NONE
+    private long[] replaced = new long[0];
+
+    private int head = -1;   // slot of the most recent entry
+    private int size;
+    private long nextSeq;
+
+    // Changes not yet written by SqlPlayerStorage
+    private int unsavedPushes;
+    private boolean rewriteNeeded;
+
+    /**
+     * An entry with its sequence number (higher = more recent).
+     */
+    public static final class Slot {
+        public final long seq;
+        /** Sequence number of the entry this push displaced, or {@link #NONE} */
+        public final long replaces;
+        public final Location location;
+
+        Slot(long seq, long replaces, Location location) {
+            this.seq = seq;
+            this.replaces = replaces;
+            this.location = location;
+        }
+    }
+
+    /**
+     * What changed since the last save.
+     */
+    public static final class Changes {
+        /** True if the stored history must be replaced with {@link #slots} */
+        public final boolean rewrite;
+        /** Rewrite: every entry, most recent first. Otherwise: new entries, oldest first. */
+        public final List<Slot> slots;
+
+        Changes(boolean rewrite, List<Slot> slots) {
+            this.rewrite = rewrite;
+            this.slots = slots;
+        }
+    }
+
+    public BackHistory() {
+    }
+
+    /**
+     * Build from stored locations (most recent first), numbered so the most recent has
+     * {@code newestSeq} and each older one is one less.
+     */
+    public static BackHistory of(List<Location> newestFirst, long newestSeq) {
+        BackHistory history = new BackHistory();
+        if (newestFirst == null || newestFirst.isEmpty()) return history;
+        int count = newestFirst.size();
+        history.resize(count);
+        history.nextSeq = newestSeq - count + 1;
+        for (int i = count - 1; i >= 0; i--) {
+            Location loc = newestFirst.get(i);
+            if (loc != null) history.write(loc);
+        }
+        history.unsavedPushes = 0;
+        history.rewriteNeeded = false;
+        return history;
+    }
+
+    // ==================== Player operations ====================
+
+    /**
+     * Record a location as the most recent, dropping the oldest if the history
+     * already holds {@code capacity} entries.
+     */
+    public synchronized void push(Location location, int capacity) {
+        if (location == null || capacity <= 0) return;
+        if (capacity != worlds.length) {
+            resize(capacity);
+        }
+        write(location);
+        unsavedPushes++;
+    }
+
+    public synchronized Location peek() {
+        return size == 0 ? null : read(head);
+    }
+
+    public synchronized Location pop() {
+        if (size == 0) return null;
+        Location loc = read(head);
+        worlds[head] = null;
+        head = (head - 1 + worlds.length) % worlds.length;
+        size--;
+        nextSeq--;
+        rewriteNeeded = true;
+        return loc;
+    }
+
+    public synchronized void clear() {
+        if (size == 0) return;
+        Arrays.fill(worlds, null);
+        head = -1;
+        size = 0;
+        rewriteNeeded = true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Location at {@code index} (0 = most recent), or null.
+     */
+    public synchronized Location get(int index) {
+        if (index < 0 || index >= size) return null;
+        return read(slotAt(index));
+    }
+
+    /**
+     * Copy of all locations, most recent first.
+     */
+    public synchronized List<Location> toList() {
+        List<Location> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(read(slotAt(i)));
+        }
+        return list;
+    }
+
+    // ==================== Persistence ====================
+
+    /**
+     * Every entry with its sequence number, most recent first.
+     */
+    public synchronized List<Slot> slots() {
+        List<Slot> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int slot = slotAt(i);
+            list.add(new Slot(seqs[slot], replaced[slot], read(slot)));
+        }
+        return list;
+    }
+
+    /**
+     * Take what changed since the last call and reset the change tracking.
+     * Returns null if nothing changed. If writing the changes fails, call
+     * {@link #markRewriteNeeded()} so the next save writes everything.
+     */
+    public synchronized Changes takeChanges() {
+        if (!rewriteNeeded && unsavedPushes == 0) return null;
+        // More pushes than entries means some new entries were already displaced
+        boolean rewrite = rewriteNeeded || unsavedPushes > size;
+        List<Slot> added = null;
+        if (!rewrite) {
+            added = new ArrayList<>(unsavedPushes);
+            long firstNew = nextSeq - unsavedPushes;
+            for (int i = unsavedPushes - 1; i >= 0; i--) {
+                int slot = slotAt(i);
+                // A displaced entry that was never saved has no row to overwrite
+                if (replaced[slot] >= firstNew) {
+                    rewrite = true;
+                    break;
+                }
+                added.add(new Slot(seqs[slot], replaced[slot], read(slot)));
+            }
+        }
+        unsavedPushes = 0;
+        rewriteNeeded = false;
+        return rewrite ? new Changes(true, slots()) : new Changes(false, Collections.unmodifiableList(added));
+    }
+
+    public synchronized void markRewriteNeeded() {
+        rewriteNeeded = true;
+    }
+
+    // ==================== Ring internals (caller holds lock) ====================
+
+    private int slotAt(int index) {
+        return (head - index + worlds.length) % worlds.length;
+    }
+
+    private void write(Location location) {
+        head = (head + 1) % worlds.length;
+        boolean full = size == worlds.length;
+        replaced[head] = full ? seqs[head] : NONE;
+        worlds[head] = location.getWorld();
+        xs[head] = location.getX();
+        ys[head] = location.getY();
+        zs[head] = location.getZ();
+        yaws[head] = location.getYaw();
+        pitches[head] = location.getPitch();
+        seqs[head] = nextSeq++;
+        if (!full) size++;
+    }
+
+    private Location read(int slot) {
+        return new Location(worlds[slot], xs[slot], ys[slot], zs[slot], yaws[slot], pitches[slot]);
+    }
+
+    /**
+     * Change capacity, keeping the most recent entries. Shrinking below the current
+     * size drops entries, so the stored history has to be rewritten.
+     */
+    private void resize(int capacity) {
+        int keep = Math.min(size, capacity);
+        String[] w = new String[capacity];
+        double[] x = new double[capacity];
+        double[] y = new double[capacity];
+        double[] z = new double[capacity];
+        float[] yaw = new float[capacity];
+        float[] pitch = new float[capacity];
+        long[] seq = new long[capacity];
+        long[] rep = new long[capacity];
+        // Oldest kept entry goes to slot 0, most recent to slot keep - 1
+        for (int i = 0; i < keep; i++) {
+            int from = slotAt(keep - 1 - i);
+            w[i] = worlds[from];
+            x[i] = xs[from];
+            y[i] = ys[from];
+            z[i] = zs[from];
+            yaw[i] = yaws[from];
+            pitch[i] = pitches[from];
+            seq[i] = seqs[from];
+            rep[i] = replaced[from];
+        }
+        if (keep < size) {
+            rewriteNeeded = true;
+        }
+        worlds = w;
+        xs = x;
+        ys = y;
+        zs = z;
+        yaws = yaw;
+        pitches = pitch;
+        seqs = seq;
+        replaced = rep;
+        size = keep;
+        head = keep - 1;
+        if (head < 0) head = capacity - 1;
+    }
+
+    // ==================== JSON ====================
+
+    /**
+     * Stores the history in player files as an array of locations, most recent first
+     * (the format used before the ring buffer).
+     */
+    public static final class JsonAdapter extends TypeAdapter<BackHistory> {
+        @Override
+        public void write(JsonWriter out, BackHistory history) throws IOException {
+            out.beginArray();
+            if (history != null) {
+                for (Location loc : history.toList()) {
+                    out.beginObject();
+                    out.name("world").value(loc.getWorld());
+                    out.name("x").value(loc.getX());
+                    out.name("y").value(loc.getY());
+                    out.name("z").value(loc.getZ());
+                    out.name("yaw").value(loc.getYaw());
+                    out.name("pitch").value(loc.getPitch());
+                    out.endObject();
+                }
+            }
+            out.endArray();
+        }
+
+        @Override
+        public BackHistory read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return new BackHistory();
+            }
+            List<Location> locations = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                Location loc = new Location();
+                in.beginObject();
+                while (in.hasNext()) {
+                    switch (in.nextName()) {
+                        case "world" -> loc.setWorld(in.peek() == JsonToken.NULL ? nullValue(in) : in.nextString());
+                        case "x" -> loc.setX(in.nextDouble());
+                        case "y" -> loc.setY(in.nextDouble());
+                        case "z" -> loc.setZ(in.nextDouble());
+                        case "yaw" -> loc.setYaw((float) in.nextDouble());
+                        case "pitch" -> loc.setPitch((float) in.nextDouble());
+                        default -> in.skipValue();
+                    }
+                }
+                in.endObject();
+                locations.add(loc);
+            }
+            in.endArray();
+            return BackHistory.of(locations, locations.size() - 1);
+        }
+
+        private static String nullValue(JsonReader in) throws IOException {
+            in.nextNull();
+            return null;
+        }
+    }
+}
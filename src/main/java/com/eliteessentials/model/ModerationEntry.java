@@ -0,0 +1,88 @@
+package com.eliteessentials.model;
+
+import java.util.UUID;
+
+/**
+ * One moderation record: a ban, temp ban, IP ban, mute or warning.
+ *
+ * Records are immutable once issued. Lifting a ban or removing a warning deletes the
+ * record; a record with {@link #getExpiresAt()} set is removed by the expiry sweep
+ * once that time has passed.
+ */
+public class ModerationEntry {
+
+    public enum Type {
+        BAN,
+        TEMPBAN,
+        IPBAN,
+        MUTE,
+        WARN
+    }
+
+    private String id;
+    private Type type;
+    private UUID playerId;
+    private String ip;
+    private String playerName;
+    private String issuedBy;
+    private String reason;
+    private long issuedAt;
+    private long expiresAt;
+
+    public ModerationEntry() {
+        // For Gson deserialization
+    }
+
+    public ModerationEntry(String id, Type type, UUID playerId, String ip, String playerName,
+                           String issuedBy, String reason, long issuedAt, long expiresAt) {
+        this.id = id;
+        this.type = type;
+        this.playerId = playerId;
+        this.ip = ip;
+        this.playerName = playerName;
+        this.issuedBy = issuedBy;
+        this.reason = reason;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * A new record issued now, with a random id.
+     *
+     * @param durationMs how long it lasts, or 0 for permanent
+     */
+    public static ModerationEntry issue(Type type, UUID playerId, String ip, String playerName,
+                                        String issuedBy, String reason, long durationMs) {
+        long now = System.currentTimeMillis();
+        return new ModerationEntry(UUID.randomUUID().toString(), type, playerId, ip, playerName,
+                issuedBy, reason, now, durationMs > 0 ? now + durationMs : 0);
+    }
+
+    public String getId() { return id; }
+
+    public Type getType() { return type; }
+
+    public UUID getPlayerId() { return playerId; }
+
+    /** Banned address, only set for {@link Type#IPBAN}. */
+    public String getIp() { return ip; }
+
+    public String getPlayerName() { return playerName; }
+
+    public String getIssuedBy() { return issuedBy; }
+
+    public String getReason() { return reason; }
+
+    public long getIssuedAt() { return issuedAt; }
+
+    /** When the record lapses, or 0 if it never does. */
+    public long getExpiresAt() { return expiresAt; }
+
+    public boolean expires() {
+        return expiresAt > 0;
+    }
+
+    public boolean isExpired(long now) {
+        return expiresAt > 0 && now >= expiresAt;
+    }
+}
@@ -1,5 +1,7 @@
 package com.eliteessentials.model;
 
+import com.google.gson.annotations.JsonAdapter;
+
 import java.util.*;
 
 /**
@@ -7,6 +9,9 @@ import java.util.*;
  * Contains all per-player data: homes, back history, kit claims, economy, etc.
  */
 public class PlayerFile {
+
+    /** Most addresses kept in {@link #getIpHistory()} */
+    public static final int MAX_IP_HISTORY = 50;
     
     // Core identity
     private UUID uuid;
@@ -30,8 +35,9 @@ public class PlayerFile {
     // Homes: name -> Home
     private Map<String, Home> homes = new LinkedHashMap<>();
     
-    // Back location history (most recent first)
-    private List<Location> backHistory = new ArrayList<>();
+    // Back location history (ring buffer; a most-recent-first array in JSON)
+    @JsonAdapter(BackHistory.JsonAdapter.class)
+    private BackHistory backHistory = new BackHistory();
     
     // Kit claims (one-time kits that have been claimed)
     private Set<String> kitClaims = new HashSet<>();
@@ -45,8 +51,8 @@ public class PlayerFile {
     // Ignored players (UUIDs of players whose messages are hidden)
     private Set<UUID> ignoredPlayers = new HashSet<>();
     
-    // Mail inbox
-    private List<MailMessage> mailbox = new ArrayList<>();
+    // Legacy mail inbox - mail now lives in MailStorageProvider; only read to migrate old files
+    private List<MailMessage> mailbox;
     
     // Balance change notification (for tooltip display)
     private BalanceChangeNotification balanceChangeNotification;
@@ -213,38 +219,50 @@ public class PlayerFile {
     
     // ==================== Back History ====================
     
+    /**
+     * Copy of the back history, most recent first.
+     */
     public List<Location> getBackHistory() {
-        return backHistory;
+        return getBackHistoryBuffer().toList();
     }
     
     public void setBackHistory(List<Location> backHistory) {
-        this.backHistory = backHistory != null ? backHistory : new ArrayList<>();
+        this.backHistory = BackHistory.of(backHistory, backHistory != null ? backHistory.size() - 1 : 0);
+        this.backHistory.markRewriteNeeded();
     }
     
-    public void pushBackLocation(Location location, int maxHistory) {
-        if (location == null) return;
-        backHistory.add(0, location.clone());
-        while (backHistory.size() > maxHistory) {
-            backHistory.remove(backHistory.size() - 1);
+    /**
+     * The ring buffer itself, for storage implementations.
+     */
+    public BackHistory getBackHistoryBuffer() {
+        if (backHistory == null) {
+            backHistory = new BackHistory();
         }
+        return backHistory;
+    }
+    
+    public void setBackHistoryBuffer(BackHistory backHistory) {
+        this.backHistory = backHistory != null ? backHistory : new BackHistory();
+    }
+    
+    public void pushBackLocation(Location location, int maxHistory) {
+        getBackHistoryBuffer().push(location, maxHistory);
     }
     
     public Optional<Location> peekBackLocation() {
-        if (backHistory.isEmpty()) return Optional.empty();
-        return Optional.of(backHistory.get(0).clone());
+        return Optional.ofNullable(getBackHistoryBuffer().peek());
     }
     
     public Optional<Location> popBackLocation() {
-        if (backHistory.isEmpty()) return Optional.empty();
-        return Optional.of(backHistory.remove(0));
+        return Optional.ofNullable(getBackHistoryBuffer().pop());
     }
     
     public int getBackHistorySize() {
-        return backHistory.size();
+        return getBackHistoryBuffer().size();
     }
     
     public void clearBackHistory() {
-        backHistory.clear();
+        getBackHistoryBuffer().clear();
     }
     
     // ==================== Kit Claims ====================
@@ -318,29 +336,23 @@ public class PlayerFile {
         claims.repeatableCounts.put(rewardId, current + 1);
     }
     
-    // ==================== Mailbox ====================
+    // ==================== Legacy Mailbox ====================
     
+    /**
+     * Mail stored in the player file by older versions. Moved into the mail store
+     * on join (see MailService#migrateLegacyMailbox); not used otherwise.
+     */
     public List<MailMessage> getMailbox() {
-        if (mailbox == null) {
-            mailbox = new ArrayList<>();
-        }
-        return mailbox;
+        return mailbox != null ? mailbox : Collections.emptyList();
     }
     
     public void setMailbox(List<MailMessage> mailbox) {
-        this.mailbox = mailbox != null ? mailbox : new ArrayList<>();
-    }
-    
-    public void addMail(MailMessage mail) {
-        getMailbox().add(0, mail); // Add to front (newest first)
-    }
-    
-    public int getUnreadMailCount() {
-        return (int) getMailbox().stream().filter(m -> !m.isRead()).count();
+        this.mailbox = mailbox;
     }
     
     public void clearMailbox() {
-        getMailbox().clear();
+        // Null so the field is dropped from the file on the next save
+        mailbox = null;
     }
     
     // ==================== Ignored Players ====================
@@ -405,9 +417,9 @@ public class PlayerFile {
     
     /**
      * Record an IP address. Updates lastUsed if already present, otherwise adds.
-     * Caps history at 50 entries (oldest removed).
+     * Caps history at {@link #MAX_IP_HISTORY} entries (oldest removed).
      */
-    public void recordIp(String ip) {
+    public synchronized void recordIp(String ip) {
         if (ip == null || ip.isBlank()) return;
         ip = ip.trim();
         
@@ -422,7 +434,7 @@ public class PlayerFile {
         }
         
         list.add(new IpHistoryEntry(ip, now));
-        while (list.size() > 50) {
+        while (list.size() > MAX_IP_HISTORY) {
             IpHistoryEntry oldest = list.stream()
                 .min((a, b) -> Long.compare(a.lastUsed, b.lastUsed))
                 .orElse(null);
@@ -430,6 +442,28 @@ public class PlayerFile {
         }
     }
     
+    /**
+     * A copy of the IP history, safe to read while another thread records addresses.
+     */
+    public synchronized List<IpHistoryEntry> copyIpHistory() {
+        List<IpHistoryEntry> copy = new ArrayList<>(getIpHistory().size());
+        for (IpHistoryEntry entry : getIpHistory()) {
+            copy.add(new IpHistoryEntry(entry.ip, entry.lastUsed));
+        }
+        return copy;
+    }
+
+    /**
+     * The most recently used address, or null if none is recorded.
+     */
+    public synchronized String getLastIp() {
+        IpHistoryEntry last = null;
+        for (IpHistoryEntry entry : getIpHistory()) {
+            if (last == null || entry.lastUsed > last.lastUsed) last = entry;
+        }
+        return last != null ? last.ip : null;
+    }
+    
     // ==================== Inner Classes ====================
     
     /**
@@ -14,6 +14,10 @@ public class PlayerWarp {
         PRIVATE
     }
 
+    /** Trending score halves after this long without visits */
+    public static final long TRENDING_HALF_LIFE_MS = 3L * 24 * 60 * 60 * 1000;
+    private static final double DECAY_PER_MS = Math.log(2) / TRENDING_HALF_LIFE_MS;
+
     private String name;
     private Location location;
     private UUID ownerId;
@@ -21,6 +25,9 @@ public class PlayerWarp {
     private Visibility visibility;
     private String description;
     private long createdAt;
+    private long visits;
+    private double trendingScore;
+    private long trendingUpdatedAt;
 
     public PlayerWarp() {
         // For Gson deserialization
@@ -61,6 +68,55 @@ public class PlayerWarp {
     public long getCreatedAt() { return createdAt; }
     public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
 
+    public long getVisits() { return visits; }
+    public void setVisits(long visits) { this.visits = visits; }
+
+    public double getTrendingScore() { return trendingScore; }
+    public void setTrendingScore(double trendingScore) { this.trendingScore = trendingScore; }
+
+    public long getTrendingUpdatedAt() { return trendingUpdatedAt; }
+    public void setTrendingUpdatedAt(long trendingUpdatedAt) { this.trendingUpdatedAt = trendingUpdatedAt; }
+
+    /**
+     * Add visits to the total and the trending score (decayed up to {@code now} first).
+     */
+    public void addVisits(long count, long now) {
+        visits += count;
+        trendingScore = getTrendingScoreAt(now) + count;
+        trendingUpdatedAt = now;
+    }
+
+    /**
+     * Trending score decayed to the given time.
+     */
+    public double getTrendingScoreAt(long now) {
+        if (trendingScore <= 0) return 0;
+        long elapsed = Math.max(0, now - trendingUpdatedAt);
+        return trendingScore * Math.exp(-DECAY_PER_MS * elapsed);
+    }
+
+    /**
+     * Sort key for trending order: log of the score projected forward in time.
+     * Every score decays at the same rate, so ordering by this key matches ordering
+     * by current score at any moment and never has to be recomputed.
+     */
+    public double getTrendingRank() {
+        return trendingRank(trendingScore, trendingUpdatedAt);
+    }
+
+    /**
+     * {@link #getTrendingRank()} for raw stored values (also used to build SQL ordering).
+     */
+    public static double trendingRank(double score, long updatedAt) {
+        if (score <= 0) return Double.NEGATIVE_INFINITY;
+        return Math.log(score) + DECAY_PER_MS * updatedAt;
+    }
+
+    /** Decay rate in the trending rank, per millisecond. */
+    public static double trendingDecayPerMs() {
+        return DECAY_PER_MS;
+    }
+
     /**
      * Check if a player can access this warp.
      * Public warps are accessible to everyone, private warps only to the owner.
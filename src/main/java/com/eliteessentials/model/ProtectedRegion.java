@@ -0,0 +1,244 @@
+package com.eliteessentials.model;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Represents an admin-defined protected region (market, arena, event build, ...).
+ *
+ * Regions are either axis-aligned cuboids or vertical cylinders. Each region can
+ * explicitly allow or deny individual {@link Flag}s; flags that are not set fall
+ * through to the next lower-priority region covering the same position.
+ */
+public class ProtectedRegion {
+
+    public enum Shape {
+        CUBOID,   // min/max X, Y, Z box
+        CYLINDER  // centerX/centerZ + radius, min/max Y
+    }
+
+    public enum Flag {
+        BREAK,      // Breaking and damaging blocks
+        PLACE,      // Placing blocks
+        PVP,        // Player-vs-player damage
+        DAMAGE,     // All damage to players (fall, fire, mobs, ...)
+        INTERACT,   // Using blocks (chests, doors, benches, ...)
+        PICKUP,     // Picking up items
+        DROP        // Dropping items
+    }
+
+    private String name;
+    private String world;
+    private Shape shape = Shape.CUBOID;
+
+    // Cuboid bounds (inclusive)
+    private double minX;
+    private double minZ;
+    private double maxX;
+    private double maxZ;
+
+    // Cylinder bounds
+    private double centerX;
+    private double centerZ;
+    private double radius;
+
+    // Vertical bounds (null = unlimited), shared by both shapes
+    private Double minY;
+    private Double maxY;
+
+    private int priority;
+
+    // Flag -> allowed (false = denied). Missing flags inherit from lower priority regions.
+    private Map<Flag, Boolean> flags = new HashMap<>();
+
+    // Permission that bypasses this region (null = spawn protection bypass permission)
+    private String bypassPermission;
+    private long createdAt;
+
+    public ProtectedRegion() {
+        // For Gson deserialization
+    }
+
+    public ProtectedRegion(String name, String world, Shape shape) {
+        this.name = name;
+        this.world = world;
+        this.shape = shape;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Create a cuboid region from two opposite corners (order does not matter).
+     */
+    public static ProtectedRegion cuboid(String name, String world,
+                                         double x1, double y1, double z1,
+                                         double x2, double y2, double z2) {
+        ProtectedRegion region = new ProtectedRegion(name, world, Shape.CUBOID);
+        region.minX = Math.min(x1, x2);
+        region.maxX = Math.max(x1, x2);
+        region.minZ = Math.min(z1, z2);
+        region.maxZ = Math.max(z1, z2);
+        region.minY = Math.min(y1, y2);
+        region.maxY = Math.max(y1, y2);
+        return region;
+    }
+
+    /**
+     * Create a cylinder region around a center column.
+     */
+    public static ProtectedRegion cylinder(String name, String world,
+                                           double centerX, double centerZ, double radius,
+                                           Double minY, Double maxY) {
+        ProtectedRegion region = new ProtectedRegion(name, world, Shape.CYLINDER);
+        region.centerX = centerX;
+        region.centerZ = centerZ;
+        region.radius = radius;
+        region.minY = minY;
+        region.maxY = maxY;
+        return region;
+    }
+
+    /**
+     * The stored form of a region name. Both storage backends key and save regions under
+     * this, so a region reads back with the same name whichever backend is in use.
+     */
+    public static String normalizeName(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getWorld() {
+        return world;
+    }
+
+    public void setWorld(String world) {
+        this.world = world;
+    }
+
+    public Shape getShape() {
+        return shape != null ? shape : Shape.CUBOID;
+    }
+
+    public void setShape(Shape shape) {
+        this.shape = shape;
+    }
+
+    public double getMinX() {
+        return getShape() == Shape.CYLINDER ? centerX - radius : minX;
+    }
+
+    public double getMaxX() {
+        return getShape() == Shape.CYLINDER ? centerX + radius : maxX;
+    }
+
+    public double getMinZ() {
+        return getShape() == Shape.CYLINDER ? centerZ - radius : minZ;
+    }
+
+    public double getMaxZ() {
+        return getShape() == Shape.CYLINDER ? centerZ + radius : maxZ;
+    }
+
+    public void setBounds(double minX, double minZ, double maxX, double maxZ) {
+        this.minX = Math.min(minX, maxX);
+        this.maxX = Math.max(minX, maxX);
+        this.minZ = Math.min(minZ, maxZ);
+        this.maxZ = Math.max(minZ, maxZ);
+    }
+
+    public double getCenterX() {
+        return centerX;
+    }
+
+    public double getCenterZ() {
+        return centerZ;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    public void setCylinder(double centerX, double centerZ, double radius) {
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.radius = radius;
+    }
+
+    public Double getMinY() {
+        return minY;
+    }
+
+    public void setMinY(Double minY) {
+        this.minY = minY;
+    }
+
+    public Double getMaxY() {
+        return maxY;
+    }
+
+    public void setMaxY(Double maxY) {
+        this.maxY = maxY;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public Map<Flag, Boolean> getFlags() {
+        if (flags == null) {
+            flags = new HashMap<>();
+        }
+        return flags;
+    }
+
+    public void setFlags(Map<Flag, Boolean> flags) {
+        this.flags = flags;
+    }
+
+    /**
+     * Explicitly allow or deny a flag in this region.
+     */
+    public void setFlag(Flag flag, boolean allowed) {
+        getFlags().put(flag, allowed);
+    }
+
+    /**
+     * Remove a flag override so it inherits from lower priority regions.
+     */
+    public void clearFlag(Flag flag) {
+        getFlags().remove(flag);
+    }
+
+    public String getBypassPermission() {
+        return bypassPermission;
+    }
+
+    public void setBypassPermission(String bypassPermission) {
+        this.bypassPermission = bypassPermission;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ProtectedRegion{name='" + name + "', world='" + world + "', shape=" + getShape()
+                + ", priority=" + priority + ", flags=" + flags + "}";
+    }
+}
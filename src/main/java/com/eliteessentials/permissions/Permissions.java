@@ -277,6 +277,7 @@ public final class Permissions {
     public static final String ADMIN_RELOAD = ADMIN_BASE + ".reload";
     public static final String ADMIN_GROUPSYNC = ADMIN_BASE + ".groupsync";
     public static final String ADMIN_ALIAS = ADMIN_BASE + ".alias";
+    public static final String ADMIN_REGION = ADMIN_BASE + ".region";
     public static final String ADMIN_SENDMESSAGE = ADMIN_BASE + ".sendmessage";
     public static final String ADMIN_RTP = ADMIN_BASE + ".rtp";
     public static final String ADMIN_MUTE = ADMIN_BASE + ".mute";
@@ -312,6 +313,7 @@ public final class Permissions {
     
     public static final String MAIL = MAIL_CATEGORY + ".use";
     public static final String MAIL_SEND = MAIL_CATEGORY + ".send";
+    public static final String MAIL_SENDALL = MAIL_CATEGORY + ".sendall";
 
     // ==================== HELPER METHODS ====================
     
@@ -66,6 +66,7 @@ public class AfkService {
     private ScheduledExecutorService poller;
     private ScheduledFuture<?> pollTask;
     private TabListService tabListService;
+    private SleepService sleepService;
 
     public AfkService(ConfigManager configManager) {
         this.configManager = configManager;
@@ -75,6 +76,10 @@ public class AfkService {
         this.tabListService = tabListService;
     }
 
+    public void setSleepService(SleepService sleepService) {
+        this.sleepService = sleepService;
+    }
+
     /**
      * Start the AFK detection poller.
      */
@@ -191,6 +196,9 @@ public class AfkService {
         }
         
         afkPlayers.add(playerId);
+        if (sleepService != null) {
+            sleepService.onAfkChanged(playerId);
+        }
         
         PluginConfig.AfkConfig config = configManager.getConfig().afk;
         
@@ -226,6 +234,9 @@ public class AfkService {
         }
         
         manualAfk.remove(playerId);
+        if (sleepService != null) {
+            sleepService.onAfkChanged(playerId);
+        }
         
         // Reset movement time so they don't immediately go AFK again
         lastMovementTime.put(playerId, System.currentTimeMillis());
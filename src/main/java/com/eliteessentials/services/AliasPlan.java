@@ -0,0 +1,143 @@
+package com.eliteessentials.services;
+
+import com.eliteessentials.permissions.PermissionService;
+import com.eliteessentials.storage.AliasStorage.AliasData;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An alias compiled into the steps it runs. Built once when aliases are loaded or
+ * created, so running an alias is a walk over pre-split steps instead of re-parsing
+ * the command chain every time.
+ *
+ * Also keeps run counts and timings (the synchronous part of each run; teleports and
+ * dispatched commands finish later on the world thread).
+ */
+public final class AliasPlan {
+
+    /**
+     * What a step does: one of the optimized EE handlers, or generic dispatch.
+     */
+    public enum Op {
+        WARP, SPAWN, HOME, HOMES, HEAL, GOD, FLY, RULES, MOTD, DISCORD,
+        KIT, BACK, TOP, LIST, CLEARINV, REPAIR, VANISH,
+        DISPATCH;
+
+        static Op forCommand(String commandName) {
+            if (!AliasService.isOptimizedCommand(commandName)) return DISPATCH;
+            return Op.valueOf(commandName.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * One command in the alias chain.
+     */
+    public static final class Step {
+        private final String commandName;
+        private final Op op;
+        private final String args;
+        private final String commandLine;
+        private final boolean savesBack;
+        private final boolean adminOnly;
+        private final String targetPermission;
+
+        private Step(String commandLine) {
+            this.commandLine = commandLine;
+            String[] parts = commandLine.split(" ", 2);
+            this.commandName = parts[0].toLowerCase(Locale.ROOT);
+            this.args = parts.length > 1 ? parts[1].trim() : "";
+            this.op = Op.forCommand(commandName);
+            this.savesBack = commandName.equals("warp") || commandName.equals("spawn") || commandName.equals("home");
+            this.adminOnly = AliasService.isAdminOnlyCommand(commandName);
+            this.targetPermission = AliasService.getTargetPermission(commandName);
+        }
+
+        public String getCommandName() { return commandName; }
+        public Op getOp() { return op; }
+        public boolean isOptimized() { return op != Op.DISPATCH; }
+
+        /** Whether /back should be saved before this step runs */
+        public boolean savesBack() { return savesBack; }
+
+        /** Arguments for an optimized handler, with the player's extra arguments appended */
+        public String args(String extraArgs) {
+            if (extraArgs.isEmpty()) return args;
+            return args.isEmpty() ? extraArgs : args + " " + extraArgs;
+        }
+
+        /** Full command line for generic dispatch, with the player's extra arguments appended */
+        public String commandLine(String extraArgs) {
+            return extraArgs.isEmpty() ? commandLine : commandLine + " " + extraArgs;
+        }
+
+        /**
+         * Gate 2: can the player run the target command (see {@link AliasService})?
+         */
+        public boolean canRun(UUID playerId) {
+            PermissionService ps = PermissionService.get();
+            if (adminOnly) {
+                return ps.isAdmin(playerId);
+            }
+            if (targetPermission != null) {
+                return ps.canUseEveryoneCommand(playerId, targetPermission, true) || ps.isAdmin(playerId);
+            }
+            // Unknown command (other plugin) - let CommandManager handle permission
+            return true;
+        }
+    }
+
+    private final String name;
+    private final String permission;
+    private final boolean silent;
+    private final List<Step> steps;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private AliasPlan(String name, String permission, boolean silent, List<Step> steps) {
+        this.name = name;
+        this.permission = permission;
+        this.silent = silent;
+        this.steps = steps;
+    }
+
+    /**
+     * Compile an alias. Semicolon-separated commands become steps; a leading / is dropped.
+     */
+    public static AliasPlan compile(String name, AliasData data) {
+        List<Step> steps = new ArrayList<>();
+        if (data.command != null) {
+            for (String cmd : data.command.split(";")) {
+                cmd = cmd.trim();
+                if (cmd.isEmpty()) continue;
+                if (cmd.startsWith("/")) cmd = cmd.substring(1);
+                steps.add(new Step(cmd));
+            }
+        }
+        return new AliasPlan(name, data.permission, data.silent, Collections.unmodifiableList(steps));
+    }
+
+    public String getName() { return name; }
+    public String getPermission() { return permission; }
+    public boolean isSilent() { return silent; }
+    public List<Step> getSteps() { return steps; }
+
+    void recordRun(long nanos) {
+        runs.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getRunCount() { return runs.get(); }
+
+    public double getAverageMillis() {
+        long count = runs.get();
+        return count == 0 ? 0 : totalNanos.get() / (double) count / 1_000_000.0;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+}
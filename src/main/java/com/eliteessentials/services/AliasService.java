@@ -8,6 +8,7 @@ import com.eliteessentials.model.Location;
 import com.eliteessentials.storage.AliasStorage;
 import com.eliteessentials.storage.AliasStorage.AliasData;
 import com.eliteessentials.permissions.PermissionService;
+import com.eliteessentials.util.ChunkColumns;
 import com.eliteessentials.util.MessageFormatter;
 
 import com.eliteessentials.util.TeleportUtil;
@@ -16,9 +17,7 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3f;
-import com.hypixel.hytale.protocol.BlockMaterial;
 import com.hypixel.hytale.server.core.Message;
-import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
 import com.hypixel.hytale.server.core.command.system.CommandManager;
 import com.hypixel.hytale.server.core.command.system.CommandRegistry;
@@ -40,6 +39,7 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import javax.annotation.Nonnull;
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
@@ -55,12 +55,16 @@ import java.util.logging.Logger;
  * 
  * EliteEssentials commands that benefit from silent mode and /back saving are handled
  * through optimized paths. All other commands use generic dispatch.
+ * 
+ * Each alias is compiled into an {@link AliasPlan} when aliases are loaded or created;
+ * running an alias walks its plan.
  */
 public class AliasService {
     private static final Logger logger = Logger.getLogger("EliteEssentials");
     private final AliasStorage storage;
     private final CommandRegistry commandRegistry;
     private final Map<String, AbstractPlayerCommand> registeredCommands = new HashMap<>();
+    private final Map<String, AliasPlan> plans = new ConcurrentHashMap<>();
 
     /**
      * Set of EE commands that have optimized handling (silent mode, /back saving, etc.).
@@ -82,7 +86,11 @@ public class AliasService {
 
     private void registerAllAliases() {
         int count = 0;
-        for (Map.Entry<String, AliasData> entry : storage.getAllAliases().entrySet()) {
+        Map<String, AliasData> aliases = storage.getAllAliases();
+        // Deleted aliases stay registered until restart but have no plan to run
+        plans.keySet().retainAll(aliases.keySet());
+        for (Map.Entry<String, AliasData> entry : aliases.entrySet()) {
+            plans.put(entry.getKey(), AliasPlan.compile(entry.getKey(), entry.getValue()));
             if (!registeredCommands.containsKey(entry.getKey())) {
                 try {
                     AliasPlayerCommand cmd = new AliasPlayerCommand(entry.getKey(), entry.getValue());
@@ -99,8 +107,11 @@ public class AliasService {
         // Auto-generate permission node for custom permissions
         String normalizedPermission = normalizePermission(name, permission);
         boolean isNew = storage.createAlias(name, command, normalizedPermission);
+        AliasData data = storage.getAlias(name);
+        if (data != null) {
+            plans.put(name.toLowerCase(), AliasPlan.compile(name.toLowerCase(), data));
+        }
         if (isNew && !registeredCommands.containsKey(name.toLowerCase())) {
-            AliasData data = storage.getAlias(name);
             if (data != null) {
                 try {
                     AliasPlayerCommand cmd = new AliasPlayerCommand(name.toLowerCase(), data);
@@ -126,7 +137,15 @@ public class AliasService {
         return "eliteessentials.command.alias." + aliasName.toLowerCase();
     }
 
-    public boolean deleteAlias(String name) { return storage.deleteAlias(name); }
+    public boolean deleteAlias(String name) {
+        plans.remove(name.toLowerCase());
+        return storage.deleteAlias(name);
+    }
+
+    /**
+     * Get the compiled plan for an alias, or null if it no longer exists.
+     */
+    public AliasPlan getPlan(String name) { return plans.get(name.toLowerCase()); }
     public Map<String, AliasData> getAllAliases() { return storage.getAllAliases(); }
     public boolean hasAlias(String name) { return storage.hasAlias(name); }
     public AliasStorage getStorage() { return storage; }
@@ -206,6 +225,7 @@ public class AliasService {
         COMMAND_PERMISSION_MAP.put("broadcast", com.eliteessentials.permissions.Permissions.BROADCAST);
         COMMAND_PERMISSION_MAP.put("clearchat", com.eliteessentials.permissions.Permissions.CLEARCHAT);
         COMMAND_PERMISSION_MAP.put("alias", com.eliteessentials.permissions.Permissions.ADMIN_ALIAS);
+        COMMAND_PERMISSION_MAP.put("region", com.eliteessentials.permissions.Permissions.ADMIN_REGION);
         COMMAND_PERMISSION_MAP.put("eliteessentials", com.eliteessentials.permissions.Permissions.ADMIN_RELOAD);
         COMMAND_PERMISSION_MAP.put("mute", com.eliteessentials.permissions.Permissions.ADMIN_MUTE);
         COMMAND_PERMISSION_MAP.put("unmute", com.eliteessentials.permissions.Permissions.ADMIN_UNMUTE);
@@ -219,31 +239,20 @@ public class AliasService {
     }
 
     /**
-     * Gate 2: Check if the player has permission to run the target command.
-     * This prevents privilege escalation through aliases - even if the alias
-     * permission is "everyone", the player must still have the target command's
-     * permission to execute it.
+     * Gate 2 lookups, resolved once per step when an alias is compiled (see
+     * {@link AliasPlan.Step#canRun}). Even if the alias permission is "everyone",
+     * the player must still have the target command's permission to run it, which
+     * prevents privilege escalation through aliases.
      *
-     * For unknown commands (other plugins), returns true and relies on
-     * the target command's own permission check via CommandManager dispatch.
+     * Unknown commands (other plugins) have no entry and rely on the target
+     * command's own permission check via CommandManager dispatch.
      */
-    static boolean canRunTargetCommand(UUID playerId, String commandName) {
-        String lowerCmd = commandName.toLowerCase();
-        PermissionService ps = PermissionService.get();
-
-        // Admin-only commands always require admin
-        if (ADMIN_ONLY_COMMANDS.contains(lowerCmd)) {
-            return ps.isAdmin(playerId);
-        }
-
-        // Known EE commands - check their specific permission
-        String permission = COMMAND_PERMISSION_MAP.get(lowerCmd);
-        if (permission != null) {
-            return ps.canUseEveryoneCommand(playerId, permission, true) || ps.isAdmin(playerId);
-        }
+    static boolean isAdminOnlyCommand(String commandName) {
+        return ADMIN_ONLY_COMMANDS.contains(commandName.toLowerCase());
+    }
 
-        // Unknown command (other plugin) - let CommandManager handle permission
-        return true;
+    static String getTargetPermission(String commandName) {
+        return COMMAND_PERMISSION_MAP.get(commandName.toLowerCase());
     }
 
 
@@ -263,19 +272,17 @@ public class AliasService {
         @Override
         protected void execute(@Nonnull CommandContext ctx, @Nonnull Store<EntityStore> store,
                               @Nonnull Ref<EntityStore> ref, @Nonnull PlayerRef player, @Nonnull World world) {
-            AliasData data = EliteEssentials.getInstance().getAliasService().getStorage().getAlias(aliasName);
-            if (data == null) { ctx.sendMessage(Message.raw("Alias no longer exists.").color("#FF5555")); return; }
+            AliasPlan plan = EliteEssentials.getInstance().getAliasService().getPlan(aliasName);
+            if (plan == null) { ctx.sendMessage(Message.raw("Alias no longer exists.").color("#FF5555")); return; }
 
             // Gate 1: Check alias-level permission
-            if (!checkPerm(player.getUuid(), data.permission)) {
+            if (!checkPerm(player.getUuid(), plan.getPermission())) {
                 ctx.sendMessage(MessageFormatter.formatWithFallback(
                     EliteEssentials.getInstance().getConfigManager().getMessage("noPermission"), "#FF5555"));
                 return;
             }
 
             boolean debugEnabled = EliteEssentials.getInstance().getConfigManager().isDebugEnabled();
-            boolean backSaved = false;
-            boolean silent = data.silent;
 
             // Extract any extra arguments the player typed after the alias name
             // e.g., "/lucky editor" -> extraArgs = "editor"
@@ -286,25 +293,31 @@ public class AliasService {
                 extraArgs = rawInput.substring(spaceIdx + 1).trim();
             }
 
-            // Support semicolon-separated command chains
-            for (String cmd : data.command.split(";")) {
-                cmd = cmd.trim();
-                if (cmd.isEmpty()) continue;
-                if (cmd.startsWith("/")) cmd = cmd.substring(1);
-
-                // Append any extra arguments the player typed after the alias
-                if (!extraArgs.isEmpty()) {
-                    cmd = cmd + " " + extraArgs;
+            long start = System.nanoTime();
+            try {
+                runPlan(ctx, store, ref, player, world, plan, extraArgs, debugEnabled);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                plan.recordRun(elapsed);
+                if (debugEnabled) {
+                    logger.info("[Alias] /" + aliasName + " ran " + plan.getSteps().size() + " step(s) in "
+                        + String.format("%.2f", elapsed / 1_000_000.0) + "ms");
                 }
+            }
+        }
+
+        private void runPlan(CommandContext ctx, Store<EntityStore> store, Ref<EntityStore> ref, PlayerRef player,
+                             World world, AliasPlan plan, String extraArgs, boolean debugEnabled) {
+            boolean backSaved = false;
+            boolean silent = plan.isSilent();
 
-                String[] parts = cmd.split(" ", 2);
-                String commandName = parts[0].toLowerCase();
-                String args = parts.length > 1 ? parts[1].trim() : "";
+            for (AliasPlan.Step step : plan.getSteps()) {
+                String commandName = step.getCommandName();
 
                 // Gate 2: Check target command permission to prevent privilege escalation.
                 // Even if the alias permission is "everyone", the player must have
                 // permission to run the actual target command.
-                if (!canRunTargetCommand(player.getUuid(), commandName)) {
+                if (!step.canRun(player.getUuid())) {
                     if (debugEnabled) {
                         logger.info("[Alias] Gate 2 blocked /" + commandName + " for " + player.getUsername() 
                             + " - missing target command permission");
@@ -315,21 +328,23 @@ public class AliasService {
                 }
 
                 // Save /back location before first teleport command
-                if (!backSaved && (commandName.equals("warp") || commandName.equals("spawn") || commandName.equals("home"))) {
+                if (!backSaved && step.savesBack()) {
                     saveBack(store, ref, player, world);
                     backSaved = true;
                 }
 
-                if (isOptimizedCommand(commandName)) {
+                if (step.isOptimized()) {
                     // Optimized path: EE commands with silent/back support
+                    String args = step.args(extraArgs);
                     if (debugEnabled) {
                         logger.info("[Alias] Optimized dispatch: /" + commandName + " " + args);
                     }
-                    runOptimizedCmd(ctx, store, ref, player, world, commandName, args, silent);
+                    runOptimizedCmd(ctx, store, ref, player, world, step.getOp(), args, silent);
                 } else {
                     // Generic dispatch: any command from any mod, runs as the player
+                    String cmd = step.commandLine(extraArgs);
                     if (debugEnabled) {
-                        logger.info("[Alias] Generic dispatch as player: /" + commandName + " " + args);
+                        logger.info("[Alias] Generic dispatch as player: /" + cmd);
                     }
                     dispatchAsPlayer(ctx, player, world, cmd, debugEnabled);
                 }
@@ -374,29 +389,29 @@ public class AliasService {
         // Existing aliases targeting these commands continue to work exactly as before.
 
         private void runOptimizedCmd(CommandContext ctx, Store<EntityStore> store, Ref<EntityStore> ref, 
-                                      PlayerRef player, World world, String cn, String args, boolean silent) {
+                                      PlayerRef player, World world, AliasPlan.Op op, String args, boolean silent) {
             try {
-                switch (cn) {
-                    case "warp": doWarp(ctx, store, ref, player, world, args, silent); break;
-                    case "spawn": doSpawn(ctx, store, ref, player, world, silent); break;
-                    case "home": doHome(ctx, store, ref, player, world, args, silent); break;
-                    case "homes": doHomes(ctx, store, ref, player, world); break;
-                    case "heal": doHeal(ctx, store, ref, player, silent); break;
-                    case "god": doGod(ctx, store, ref, player, silent); break;
-                    case "fly": doFly(ctx, store, ref, player, silent); break;
-                    case "rules": doRules(player); break;
-                    case "motd": doMotd(player, world); break;
-                    case "discord": doDiscord(player); break;
-                    case "kit": doKit(ctx, store, ref, player, world, args); break;
-                    case "back": doBack(ctx, store, ref, player, world, silent); break;
-                    case "top": doTop(ctx, store, ref, player, world, silent); break;
-                    case "list": doList(ctx, player); break;
-                    case "clearinv": doClearInv(ctx, store, ref, player, silent); break;
-                    case "repair": doRepair(ctx, store, ref, player, silent); break;
-                    case "vanish": doVanish(ctx, store, ref, player, silent); break;
-                    default: break; // Should never hit - isOptimizedCommand guards this
+                switch (op) {
+                    case WARP: doWarp(ctx, store, ref, player, world, args, silent); break;
+                    case SPAWN: doSpawn(ctx, store, ref, player, world, silent); break;
+                    case HOME: doHome(ctx, store, ref, player, world, args, silent); break;
+                    case HOMES: doHomes(ctx, store, ref, player, world); break;
+                    case HEAL: doHeal(ctx, store, ref, player, silent); break;
+                    case GOD: doGod(ctx, store, ref, player, silent); break;
+                    case FLY: doFly(ctx, store, ref, player, silent); break;
+                    case RULES: doRules(player); break;
+                    case MOTD: doMotd(player, world); break;
+                    case DISCORD: doDiscord(player); break;
+                    case KIT: doKit(ctx, store, ref, player, world, args); break;
+                    case BACK: doBack(ctx, store, ref, player, world, silent); break;
+                    case TOP: doTop(ctx, store, ref, player, world, silent); break;
+                    case LIST: doList(ctx, player); break;
+                    case CLEARINV: doClearInv(ctx, store, ref, player, silent); break;
+                    case REPAIR: doRepair(ctx, store, ref, player, silent); break;
+                    case VANISH: doVanish(ctx, store, ref, player, silent); break;
+                    default: break; // DISPATCH steps never reach here
                 }
-            } catch (Exception e) { logger.warning("[Alias] " + cn + ": " + e.getMessage()); }
+            } catch (Exception e) { logger.warning("[Alias] " + op.name().toLowerCase() + ": " + e.getMessage()); }
         }
 
         private void doWarp(CommandContext ctx, Store<EntityStore> store, Ref<EntityStore> ref, PlayerRef player, World world, String n, boolean silent) {
@@ -738,19 +753,12 @@ public class AliasService {
                 return;
             }
             
-            int topY = -1;
-            for (int y = 255; y >= 0; y--) {
-                BlockType blockType = chunk.getBlockType(blockX, y, blockZ);
-                if (blockType != null && blockType.getMaterial() == BlockMaterial.Solid) {
-                    topY = y + 1;
-                    break;
-                }
-            }
-            if (topY < 0) {
+            Integer groundY = ChunkColumns.findHighestSolid(world, chunk, blockX, blockZ, 0);
+            if (groundY == null) {
                 ctx.sendMessage(Message.raw("No solid ground found.").color("#FF5555"));
                 return;
             }
-            final int finalY = topY;
+            final int finalY = groundY + 1;
             Vector3d newPos = new Vector3d(pos.getX(), finalY, pos.getZ());
             HeadRotation hr = store.getComponent(ref, HeadRotation.getComponentType());
             Vector3f rot = hr != null ? new Vector3f(0, hr.getRotation().y, 0) : new Vector3f(0, 0, 0);
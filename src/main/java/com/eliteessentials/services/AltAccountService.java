@@ -0,0 +1,228 @@
+package com.eliteessentials.services;
+
+import com.eliteessentials.config.ConfigManager;
+import com.eliteessentials.model.PlayerFile;
+import com.eliteessentials.storage.AltAccountIndex;
+import com.eliteessentials.storage.AltAccountStorage;
+import com.eliteessentials.storage.PlayerStorageProvider;
+import com.eliteessentials.util.IpCidr;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Alt-account detection: which players share addresses with which.
+ *
+ * Keeps an {@link AltAccountIndex} of every player's IP history. It is built once in the
+ * background at startup, from alt_index.dat when the JSON storage has one and otherwise
+ * from the player storage (every player file, or one query on the SQL ip_history
+ * table), then kept current from {@link #onPlayerJoin}. Until the first build finishes,
+ * lookups only know players who joined since startup; {@link #isReady()} says when it
+ * is complete.
+ *
+ * Disk work (build, journal appends, snapshots) runs on one background thread so joins
+ * never wait on it.
+ */
+public class AltAccountService {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+
+    /** Index sizes and the cost of the last build, for /ee alts. */
+    public record Stats(boolean ready, int players, int ips, int pairs, long buildMs,
+                        String source, long snapshotBytes) {}
+
+    private final PlayerStorageProvider playerStorage;
+    private final ConfigManager configManager;
+    // Null with SQL storage: ip_history is read directly
+    private final AltAccountStorage storage;
+    private final AltAccountIndex index = new AltAccountIndex(PlayerFile.MAX_IP_HISTORY);
+    private final ExecutorService executor;
+    private PlayerDirectory playerDirectory;
+
+    private volatile boolean ready;
+    private volatile long buildMs;
+    private volatile String source = "none";
+
+    public AltAccountService(PlayerStorageProvider playerStorage, ConfigManager configManager,
+                             AltAccountStorage storage) {
+        this.playerStorage = playerStorage;
+        this.configManager = configManager;
+        this.storage = storage;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "EliteEssentials-AltIndex");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void setPlayerDirectory(PlayerDirectory playerDirectory) {
+        this.playerDirectory = playerDirectory;
+    }
+
+    /**
+     * Load the index in the background.
+     */
+    public void start() {
+        executor.execute(() -> build(false));
+    }
+
+    /**
+     * Throw the index away and rebuild it from player storage, e.g. after importing
+     * player data from another plugin.
+     */
+    public CompletableFuture<Stats> rebuild() {
+        return CompletableFuture.supplyAsync(() -> {
+            build(true);
+            return getStats();
+        }, executor);
+    }
+
+    /**
+     * Runs on the index thread. The index is built on the side and swapped in, so a
+     * failed build keeps the previous one.
+     */
+    private void build(boolean fromStorage) {
+        long start = System.currentTimeMillis();
+        AltAccountIndex built = new AltAccountIndex(PlayerFile.MAX_IP_HISTORY);
+        String builtFrom;
+        try {
+            if (!fromStorage && storage != null && storage.load(built)) {
+                builtFrom = "alt_index.dat";
+            } else {
+                playerStorage.forEachIpHistory(built::record);
+                builtFrom = storage != null ? "player files" : "ip_history table";
+            }
+        } catch (RuntimeException e) {
+            logger.warning("[AltAccountService] Building the alt-account index failed, keeping the previous one: " + e);
+            return;
+        }
+        index.replaceWith(built, start);
+        if (storage != null && !"alt_index.dat".equals(builtFrom)) {
+            storage.save(index);
+        }
+        source = builtFrom;
+        buildMs = System.currentTimeMillis() - start;
+        ready = true;
+        logger.info("[AltAccountService] Indexed " + index.ipCount() + " addresses used by " + index.playerCount()
+                + " players from " + source + " in " + buildMs + "ms.");
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // A half-built index would overwrite a good snapshot
+        if (storage != null && ready) {
+            storage.save(index);
+        }
+    }
+
+    // ==================== Updates ====================
+
+    /**
+     * Record the address a player connected from.
+     */
+    public void onPlayerJoin(UUID playerId, String ip) {
+        long now = System.currentTimeMillis();
+        if (index.record(playerId, ip, now) && storage != null) {
+            String key = IpCidr.normalize(ip);
+            try {
+                executor.execute(() -> storage.append(playerId, key, now, index));
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the final snapshot includes it
+            }
+        }
+    }
+
+    // ==================== Queries ====================
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** The player's known addresses, most recently used first. */
+    public List<AltAccountIndex.IpUse> getIps(UUID playerId) {
+        return index.getIps(playerId);
+    }
+
+    /**
+     * The address a player last connected from. Read from the player file, which is
+     * saved on every join; the index only journals new pairs, so its last-used times can
+     * be behind after a crash. Peeked, not loaded: callers look up many offline players.
+     */
+    public String getLastIp(UUID playerId) {
+        PlayerFile file = playerStorage.peekPlayer(playerId);
+        String ip = file != null ? file.getLastIp() : null;
+        return ip != null ? ip : index.getLastIp(playerId);
+    }
+
+    /** Every player seen on an address. */
+    public Set<UUID> getPlayers(String ip) {
+        return index.getPlayers(ip);
+    }
+
+    /**
+     * Every player seen on any address covered by an address, CIDR network or
+     * start-end range. Null if the spec is not valid.
+     */
+    public Set<UUID> getPlayersInRange(String spec) {
+        List<IpCidr> networks = IpCidr.parseSpec(spec);
+        if (networks == null) return null;
+        Set<UUID> players = new HashSet<>();
+        for (IpCidr network : networks) {
+            players.addAll(index.getPlayersInRange(network));
+        }
+        return players;
+    }
+
+    /**
+     * Other players who have used one of this player's addresses, with the shared
+     * addresses. Addresses shared by more than ban.altMaxAccountsPerIp players are
+     * ignored.
+     */
+    public Map<UUID, Set<String>> findAlts(UUID playerId) {
+        return index.findAlts(playerId, configManager.getConfig().ban.altMaxAccountsPerIp);
+    }
+
+    /**
+     * {@link #findAlts(UUID)} for many players at once. Players without alts are left
+     * out of the result.
+     */
+    public Map<UUID, Map<UUID, Set<String>>> findAlts(Collection<UUID> playerIds) {
+        return index.findAlts(playerIds, configManager.getConfig().ban.altMaxAccountsPerIp);
+    }
+
+    /**
+     * Player names for display, cut off after {@code limit} with a "(+N more)" suffix.
+     * Only the names shown are looked up, so which players make the cut is decided by
+     * id; those are then listed alphabetically.
+     */
+    public String describe(Collection<UUID> playerIds, int limit) {
+        List<UUID> shown = new ArrayList<>(playerIds);
+        int more = 0;
+        if (shown.size() > limit) {
+            Collections.sort(shown);
+            more = shown.size() - limit;
+            shown = shown.subList(0, limit);
+        }
+        List<String> names = new ArrayList<>(shown.size());
+        for (UUID playerId : shown) {
+            names.add(playerDirectory != null ? playerDirectory.displayName(playerId) : playerId.toString());
+        }
+        names.sort(String.CASE_INSENSITIVE_ORDER);
+        return more == 0 ? String.join(", ", names) : String.join(", ", names) + " (+" + more + " more)";
+    }
+
+    public Stats getStats() {
+        return new Stats(ready, index.playerCount(), index.ipCount(), index.size(), buildMs, source,
+                storage != null ? storage.getSnapshotBytes() : 0);
+    }
+}
@@ -2,12 +2,12 @@ package com.eliteessentials.services;
 
 import com.eliteessentials.model.AutoBroadcast;
 import com.eliteessentials.util.MessageFormatter;
+import com.eliteessentials.util.WorldBlacklistUtil;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.Universe;
 
 import java.io.File;
 import java.io.FileReader;
@@ -16,9 +16,12 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -29,6 +32,11 @@ import java.util.logging.Logger;
 /**
  * Service for managing automatic broadcasts at configurable intervals.
  * Supports multiple broadcast groups with different intervals and messages.
+ *
+ * Messages are formatted into ready {@link Message} lines when the schedules start,
+ * so firing a broadcast only resolves its audience and sends. The audience (worlds,
+ * permission, AFK/vanished exclusion) is read from the {@link OnlinePlayerIndex}.
+ * All broadcasts run on one scheduler thread.
  */
 public class AutoBroadcastService {
     
@@ -44,12 +52,31 @@ public class AutoBroadcastService {
     private final Map<String, ScheduledFuture<?>> scheduledTasks = new ConcurrentHashMap<>();
     private ScheduledExecutorService scheduler;
     
+    // Broadcast ID -> pre-rendered messages, rebuilt on start/reload
+    private final Map<String, List<List<Message>>> renderedMessages = new ConcurrentHashMap<>();
+    
+    private OnlinePlayerIndex onlinePlayerIndex;
+    private AfkService afkService;
+    private VanishService vanishService;
+    
     public AutoBroadcastService(File dataFolder) {
         this.dataFile = new File(dataFolder, "autobroadcast.json");
         this.broadcasts = new ArrayList<>();
         load();
     }
     
+    public void setOnlinePlayerIndex(OnlinePlayerIndex onlinePlayerIndex) {
+        this.onlinePlayerIndex = onlinePlayerIndex;
+    }
+    
+    public void setAfkService(AfkService afkService) {
+        this.afkService = afkService;
+    }
+    
+    public void setVanishService(VanishService vanishService) {
+        this.vanishService = vanishService;
+    }
+    
     /**
      * Load broadcasts from file or create defaults.
      */
@@ -99,14 +126,16 @@ public class AutoBroadcastService {
             shutdown();
         }
         
-        scheduler = Executors.newScheduledThreadPool(1, r -> {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread t = new Thread(r, "EliteEssentials-AutoBroadcast");
             t.setDaemon(true);
             return t;
         });
         
+        renderedMessages.clear();
         for (AutoBroadcast broadcast : broadcasts) {
             if (broadcast.isEnabled() && broadcast.getIntervalSeconds() > 0) {
+                renderedMessages.put(broadcast.getId(), render(broadcast));
                 scheduleBroadcast(broadcast);
             }
         }
@@ -132,70 +161,108 @@ public class AutoBroadcastService {
         scheduledTasks.put(broadcast.getId(), task);
     }
     
+    /**
+     * Format every message of a broadcast into its lines, with the prefix on the first line.
+     * Supports \n for multi-line messages.
+     */
+    private List<List<Message>> render(AutoBroadcast broadcast) {
+        List<List<Message>> rendered = new ArrayList<>();
+        List<String> messages = broadcast.getMessages();
+        if (messages == null) return rendered;
+        
+        String prefix = broadcast.getPrefix();
+        for (String text : messages) {
+            if (text == null) continue;
+            // Prepend prefix if set
+            if (prefix != null && !prefix.isEmpty()) {
+                text = prefix + " " + text;
+            }
+            
+            List<Message> lines = new ArrayList<>();
+            for (String line : text.split("\\\\n|\\n")) {
+                if (line.isEmpty()) continue;
+                lines.add(MessageFormatter.format(line));
+            }
+            rendered.add(lines);
+        }
+        return rendered;
+    }
+    
     /**
      * Send the next message for a broadcast.
      */
     private void sendBroadcast(AutoBroadcast broadcast) {
         try {
-            // Check if players are required and none are online
-            if (broadcast.isRequirePlayers()) {
-                Universe universe = Universe.get();
-                if (universe == null || universe.getPlayers().isEmpty()) {
-                    return; // Skip broadcast - no players online
-                }
-            }
-            
-            List<String> messages = broadcast.getMessages();
+            List<List<Message>> messages = renderedMessages.get(broadcast.getId());
             if (messages == null || messages.isEmpty()) return;
             
-            String message;
+            List<PlayerRef> audience = resolveAudience(broadcast);
+            
+            // Check if players are required and none would receive it
+            if (broadcast.isRequirePlayers() && audience.isEmpty()) {
+                return; // Skip broadcast - no players in the audience
+            }
+            
+            List<Message> lines;
             if (broadcast.isRandom()) {
                 // Random message selection
-                message = messages.get(random.nextInt(messages.size()));
+                lines = messages.get(random.nextInt(messages.size()));
             } else {
                 // Sequential message selection
-                int index = messageIndices.getOrDefault(broadcast.getId(), 0);
-                message = messages.get(index);
+                int index = messageIndices.getOrDefault(broadcast.getId(), 0) % messages.size();
+                lines = messages.get(index);
                 messageIndices.put(broadcast.getId(), (index + 1) % messages.size());
             }
             
-            // Prepend prefix if set
-            String prefix = broadcast.getPrefix();
-            if (prefix != null && !prefix.isEmpty()) {
-                message = prefix + " " + message;
+            for (Message line : lines) {
+                for (PlayerRef player : audience) {
+                    try {
+                        player.sendMessage(line);
+                    } catch (Exception e) {
+                        // Player may have just disconnected
+                    }
+                }
             }
-            
-            broadcastToAll(message);
         } catch (Exception e) {
             logger.warning("Error sending auto-broadcast '" + broadcast.getId() + "': " + e.getMessage());
         }
     }
     
     /**
-     * Broadcast a message to all online players with color code support.
-     * Supports \n for multi-line messages.
+     * Players who should receive a broadcast, from the online player index.
      */
-    private void broadcastToAll(String text) {
-        try {
-            Universe universe = Universe.get();
-            if (universe == null) return;
-            
-            var players = universe.getPlayers();
-            if (players.isEmpty()) return;
-            
-            // Split by \n for multi-line support
-            String[] lines = text.split("\\\\n|\\n");
-            
-            for (String line : lines) {
-                if (line.isEmpty()) continue;
-                Message message = MessageFormatter.format(line);
-                for (PlayerRef player : players) {
-                    player.sendMessage(message);
+    private List<PlayerRef> resolveAudience(AutoBroadcast broadcast) {
+        if (onlinePlayerIndex == null || onlinePlayerIndex.size() == 0) {
+            return Collections.emptyList();
+        }
+        
+        // Narrow to the targeted worlds first (only occupied worlds are looked at)
+        Collection<OnlinePlayerIndex.OnlinePlayer> candidates;
+        List<String> worlds = broadcast.getWorlds();
+        if (worlds.isEmpty()) {
+            candidates = onlinePlayerIndex.getPlayers();
+        } else {
+            candidates = new ArrayList<>();
+            for (String world : onlinePlayerIndex.getOccupiedWorlds()) {
+                if (WorldBlacklistUtil.matchesAny(world, worlds)) {
+                    candidates.addAll(onlinePlayerIndex.getPlayersInWorld(world));
                 }
             }
-        } catch (Exception e) {
-            logger.warning("Could not broadcast message: " + e.getMessage());
         }
+        
+        String permission = broadcast.getPermission();
+        boolean checkAfk = broadcast.isExcludeAfk() && afkService != null;
+        boolean checkVanished = broadcast.isExcludeVanished() && vanishService != null;
+        
+        List<PlayerRef> audience = new ArrayList<>(candidates.size());
+        for (OnlinePlayerIndex.OnlinePlayer player : candidates) {
+            UUID playerId = player.getUuid();
+            if (!permission.isEmpty() && !onlinePlayerIndex.hasPermission(playerId, permission)) continue;
+            if (checkAfk && afkService.isAfk(playerId)) continue;
+            if (checkVanished && vanishService.isVanished(playerId)) continue;
+            audience.add(player.getPlayerRef());
+        }
+        return audience;
     }
     
     /**
@@ -207,6 +274,7 @@ public class AutoBroadcastService {
             task.cancel(false);
         }
         scheduledTasks.clear();
+        renderedMessages.clear();
         
         // Shutdown scheduler
         if (scheduler != null && !scheduler.isShutdown()) {
@@ -13,6 +13,10 @@ import java.util.logging.Logger;
 /**
  * Service for tracking player locations and providing /back functionality.
  * Maintains a history of locations for each player, persisted to player files.
+ * 
+ * Pushes and pops only mark the player dirty: the history is written with the next
+ * save of the player's data (disconnect, shutdown, SQL periodic flush or any other
+ * change that saves the file) instead of on every teleport.
  */
 public class BackService {
 
@@ -46,7 +50,7 @@ public class BackService {
         }
         
         playerFile.pushBackLocation(location, maxHistory);
-        storage.saveAndMarkDirty(playerId);
+        storage.markDirty(playerId);
         
         if (configManager.isDebugEnabled()) {
             logger.info("[BackService] Saved back location for " + playerId + ": " + 
@@ -106,7 +110,7 @@ public class BackService {
         
         Optional<Location> location = playerFile.popBackLocation();
         if (location.isPresent()) {
-            storage.saveAndMarkDirty(playerId);
+            storage.markDirty(playerId);
             logger.fine("Popped location for " + playerId + ": " + location.get());
         }
         return location;
@@ -1,84 +1,30 @@
 package com.eliteessentials.services;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.eliteessentials.model.ModerationEntry;
+import com.eliteessentials.model.ModerationEntry.Type;
+import com.eliteessentials.storage.ModerationStorageProvider;
 
-import java.io.*;
-import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.logging.Logger;
 
 /**
  * Manages permanent player bans.
- * Persists to bans.json keyed by UUID string.
+ * Records live in the shared moderation store, keyed by player UUID.
  */
 public class BanService {
 
-    private static final Logger logger = Logger.getLogger("EliteEssentials");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
-    private static final Type BAN_MAP_TYPE = new TypeToken<Map<String, BanEntry>>(){}.getType();
+    private final ModerationStorageProvider storage;
 
-    private final File banFile;
-    private final Object fileLock = new Object();
-    private final Map<String, BanEntry> bans = new ConcurrentHashMap<>();
-
-    public BanService(File dataFolder) {
-        this.banFile = new File(dataFolder, "bans.json");
-        load();
-    }
-
-    public void load() {
-        if (!banFile.exists()) {
-            return;
-        }
-        synchronized (fileLock) {
-            try (Reader reader = new InputStreamReader(new FileInputStream(banFile), StandardCharsets.UTF_8)) {
-                Map<String, BanEntry> loaded = gson.fromJson(reader, BAN_MAP_TYPE);
-                bans.clear();
-                if (loaded != null) {
-                    bans.putAll(loaded);
-                }
-                logger.info("[BanService] Loaded " + bans.size() + " banned players.");
-            } catch (IOException e) {
-                logger.severe("Could not load bans.json: " + e.getMessage());
-            }
-        }
-    }
-
-    private void save() {
-        synchronized (fileLock) {
-            try (Writer writer = new OutputStreamWriter(new FileOutputStream(banFile), StandardCharsets.UTF_8)) {
-                gson.toJson(bans, BAN_MAP_TYPE, writer);
-            } catch (IOException e) {
-                logger.severe("Could not save bans.json: " + e.getMessage());
-            }
-        }
+    public BanService(ModerationStorageProvider storage) {
+        this.storage = storage;
     }
 
     public boolean ban(UUID playerId, String playerName, String bannedBy, String reason) {
-        String key = playerId.toString();
-        if (bans.containsKey(key)) {
-            return false;
-        }
-        BanEntry entry = new BanEntry();
-        entry.playerName = playerName;
-        entry.bannedBy = bannedBy;
-        entry.reason = reason;
-        entry.bannedAt = System.currentTimeMillis();
-        bans.put(key, entry);
-        save();
-        return true;
+        return storage.add(ModerationEntry.issue(Type.BAN, playerId, null, playerName, bannedBy, reason, 0));
     }
 
     public boolean unban(UUID playerId) {
-        if (bans.remove(playerId.toString()) != null) {
-            save();
-            return true;
-        }
-        return false;
+        ModerationEntry entry = storage.get(Type.BAN, playerId);
+        return entry != null && storage.remove(entry.getId()) != null;
     }
 
     /**
@@ -86,37 +32,33 @@ public class BanService {
      * @return the UUID that was unbanned, or null if not found
      */
     public UUID unbanByName(String playerName) {
-        for (Map.Entry<String, BanEntry> entry : bans.entrySet()) {
-            if (entry.getValue().playerName != null && entry.getValue().playerName.equalsIgnoreCase(playerName)) {
-                UUID uuid = UUID.fromString(entry.getKey());
-                bans.remove(entry.getKey());
-                save();
-                return uuid;
-            }
+        ModerationEntry entry = storage.findByName(Type.BAN, playerName);
+        if (entry != null && storage.remove(entry.getId()) != null) {
+            return entry.getPlayerId();
         }
         return null;
     }
 
     public boolean isBanned(UUID playerId) {
-        return bans.containsKey(playerId.toString());
+        return storage.get(Type.BAN, playerId) != null;
     }
 
     public BanEntry getBanEntry(UUID playerId) {
-        return bans.get(playerId.toString());
+        return BanEntry.of(storage.get(Type.BAN, playerId));
     }
 
     /** Get the number of active permanent bans. */
     public int getBanCount() {
-        return bans.size();
-    }
-
-    /** Get all ban entries (unmodifiable view). */
-    public Map<String, BanEntry> getAllBans() {
-        return Collections.unmodifiableMap(bans);
+        return storage.count(Type.BAN);
     }
 
-    public void reload() {
-        load();
+    /** Get all ban entries by player UUID. */
+    public Map<UUID, BanEntry> getAllBans() {
+        Map<UUID, BanEntry> result = new HashMap<>();
+        for (ModerationEntry entry : storage.getAll(Type.BAN)) {
+            result.put(entry.getPlayerId(), BanEntry.of(entry));
+        }
+        return result;
     }
 
     public static class BanEntry {
@@ -124,5 +66,15 @@ public class BanService {
         public String bannedBy;
         public String reason;
         public long bannedAt;
+
+        static BanEntry of(ModerationEntry entry) {
+            if (entry == null) return null;
+            BanEntry ban = new BanEntry();
+            ban.playerName = entry.getPlayerName();
+            ban.bannedBy = entry.getIssuedBy();
+            ban.reason = entry.getReason();
+            ban.bannedAt = entry.getIssuedAt();
+            return ban;
+        }
     }
 }
@@ -0,0 +1,96 @@
+package com.eliteessentials.services;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Server-wide cap on concurrent chunk loads started by EliteEssentials (RTP searches
+ * and RTP pool refills), so many simultaneous /rtp users cannot flood world generation.
+ *
+ * Searches that find no free permit queue a callback and receive the next released
+ * permit directly; background work uses {@link #tryAcquire()} and simply skips.
+ */
+public class ChunkLoadBudget {
+
+    private final Deque<Runnable> waiters = new ArrayDeque<>();
+    private int capacity;
+    private int inUse;
+
+    public ChunkLoadBudget(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Change the number of permits (config reload). Loads already running keep their permits.
+     */
+    public void setCapacity(int capacity) {
+        Runnable granted;
+        synchronized (this) {
+            this.capacity = Math.max(1, capacity);
+            granted = inUse < this.capacity ? grantToWaiter() : null;
+        }
+        if (granted != null) {
+            granted.run();
+        }
+    }
+
+    /**
+     * Take a permit if one is free.
+     *
+     * @return true if a permit was taken and must later be released
+     */
+    public synchronized boolean tryAcquire() {
+        if (inUse >= capacity) return false;
+        inUse++;
+        return true;
+    }
+
+    /**
+     * Take a permit now or as soon as one is released. The callback runs with the
+     * permit already held (possibly on the releasing thread) and must release it.
+     */
+    public void acquire(Runnable onGranted) {
+        synchronized (this) {
+            if (inUse >= capacity) {
+                waiters.addLast(onGranted);
+                return;
+            }
+            inUse++;
+        }
+        onGranted.run();
+    }
+
+    /**
+     * Return a permit, handing it to the oldest waiter if there is one.
+     */
+    public void release() {
+        Runnable granted;
+        synchronized (this) {
+            inUse = Math.max(0, inUse - 1);
+            granted = grantToWaiter();
+        }
+        if (granted != null) {
+            granted.run();
+        }
+    }
+
+    private Runnable grantToWaiter() {
+        Runnable next = waiters.pollFirst();
+        if (next != null) {
+            inUse++;
+        }
+        return next;
+    }
+
+    public synchronized int getInUse() {
+        return inUse;
+    }
+
+    public synchronized int getWaiting() {
+        return waiters.size();
+    }
+
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+}
@@ -4,9 +4,6 @@ import com.eliteessentials.model.*;
 import com.eliteessentials.storage.GlobalStorageProvider;
 import com.eliteessentials.storage.PlayerStorageProvider;
 import com.eliteessentials.storage.SpawnStorage;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
 
 import java.io.*;
 import java.lang.reflect.Type;
@@ -28,7 +25,8 @@ import java.util.logging.Logger;
 public class EssentialsCoreMigrationService {
     
     private static final Logger logger = Logger.getLogger("EliteEssentials");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Type LOCATION_TYPE = EssentialsCoreLocation.class;
+    private static final Type STRING_TYPE = String.class;
     
     private final File modsFolder;
     private final GlobalStorageProvider warpStorage;
@@ -46,6 +44,7 @@ public class EssentialsCoreMigrationService {
     private int homesImported = 0;
     private int kitCooldownsImported = 0;
     private final List<String> errors = new ArrayList<>();
+    private StreamingImporter importer;
     
     public EssentialsCoreMigrationService(File dataFolder, GlobalStorageProvider warpStorage, SpawnStorage spawnStorage,
                                           KitService kitService, PlayerStorageProvider playerFileStorage) {
@@ -78,6 +77,16 @@ public class EssentialsCoreMigrationService {
      * @return MigrationResult with stats and any errors
      */
     public MigrationResult migrate(boolean force) {
+        return migrate(force, false);
+    }
+    
+    /**
+     * Run the full migration.
+     * @param force if true, overwrite existing homes/cooldowns with EssentialsCore data
+     * @param dryRun if true, only count what would be imported without writing anything
+     * @return MigrationResult with stats and any errors
+     */
+    public MigrationResult migrate(boolean force, boolean dryRun) {
         // Reset stats
         warpsImported = 0;
         spawnsImported = 0;
@@ -88,6 +97,7 @@ public class EssentialsCoreMigrationService {
         homesImported = 0;
         kitCooldownsImported = 0;
         errors.clear();
+        importer = new StreamingImporter(playerFileStorage, dryRun, errors);
         
         File essentialsFolder = getEssentialsCoreFolder();
         
@@ -97,7 +107,8 @@ public class EssentialsCoreMigrationService {
         }
         
         logger.info("[Migration] ========================================");
-        logger.info("[Migration] Starting EssentialsCore migration" + (force ? " (FORCE MODE)" : "") + "...");
+        logger.info("[Migration] Starting EssentialsCore migration" + (force ? " (FORCE MODE)" : "")
+            + (dryRun ? " (DRY RUN)" : "") + "...");
         logger.info("[Migration] Source: " + essentialsFolder.getAbsolutePath());
         logger.info("[Migration] ========================================");
         
@@ -115,6 +126,7 @@ public class EssentialsCoreMigrationService {
         
         // Migrate player data (homes + kit cooldowns)
         migratePlayerData(essentialsFolder, uuidToName, force);
+        importer.endStage();
         
         logger.info("[Migration] ========================================");
         logger.info("[Migration] Migration complete!");
@@ -155,23 +167,17 @@ public class EssentialsCoreMigrationService {
         
         logger.info("[Migration] Migrating warps.json...");
         
-        try (Reader reader = new InputStreamReader(new FileInputStream(warpsFile), StandardCharsets.UTF_8)) {
-            Type type = new TypeToken<Map<String, EssentialsCoreLocation>>(){}.getType();
-            Map<String, EssentialsCoreLocation> ecWarps = gson.fromJson(reader, type);
-            
-            if (ecWarps == null || ecWarps.isEmpty()) {
-                logger.info("[Migration] - No warps found in file.");
-                return;
-            }
-            
-            for (Map.Entry<String, EssentialsCoreLocation> entry : ecWarps.entrySet()) {
-                String warpName = entry.getKey();
-                EssentialsCoreLocation ecLoc = entry.getValue();
+        importer.beginStage("warps.json");
+        
+        try {
+            StreamingImporter.<EssentialsCoreLocation>forEachEntry(warpsFile, LOCATION_TYPE, (warpName, ecLoc) -> {
+                importer.countItem();
+                if (ecLoc == null) return;
                 
                 // Check if warp already exists
                 if (warpStorage.hasWarp(warpName)) {
                     logger.info("[Migration] - Skipping warp '" + warpName + "' (already exists)");
-                    continue;
+                    return;
                 }
                 
                 // Convert to our format
@@ -184,12 +190,13 @@ public class EssentialsCoreMigrationService {
                     ecLoc.pitch
                 );
                 
-                Warp warp = new Warp(warpName, location, Warp.Permission.ALL, "EssentialsCore Migration");
-                warpStorage.setWarp(warp);
+                if (!importer.isDryRun()) {
+                    Warp warp = new Warp(warpName, location, Warp.Permission.ALL, "EssentialsCore Migration");
+                    warpStorage.setWarp(warp);
+                }
                 warpsImported++;
                 logger.info("[Migration] - Imported warp: " + warpName);
-            }
-            
+            });
         } catch (Exception e) {
             String error = "Failed to migrate warps: " + e.getMessage();
             logger.severe("[Migration] " + error);
@@ -209,6 +216,7 @@ public class EssentialsCoreMigrationService {
         }
         
         logger.info("[Migration] Migrating kits.toml...");
+        importer.beginStage("kits.toml");
         
         try {
             List<String> lines = Files.readAllLines(kitsFile.toPath(), StandardCharsets.UTF_8);
@@ -220,6 +228,7 @@ public class EssentialsCoreMigrationService {
             }
             
             for (Map.Entry<String, EssentialsCoreKit> entry : parsedKits.entrySet()) {
+                importer.countItem();
                 String kitId = entry.getKey();
                 EssentialsCoreKit ecKit = entry.getValue();
                 
@@ -256,7 +265,9 @@ public class EssentialsCoreMigrationService {
                     items
                 );
                 
-                kitService.saveKit(kit);
+                if (!importer.isDryRun()) {
+                    kitService.saveKit(kit);
+                }
                 kitsImported++;
                 logger.info("[Migration] - Imported kit: " + kitId + " (" + items.size() + " items)");
             }
@@ -390,9 +401,11 @@ public class EssentialsCoreMigrationService {
         }
         
         logger.info("[Migration] Migrating spawn.json...");
+        importer.beginStage("spawn.json");
         
-        try (Reader reader = new InputStreamReader(new FileInputStream(spawnFile), StandardCharsets.UTF_8)) {
-            EssentialsCoreLocation ecSpawn = gson.fromJson(reader, EssentialsCoreLocation.class);
+        try {
+            EssentialsCoreLocation ecSpawn = StreamingImporter.read(spawnFile, LOCATION_TYPE);
+            importer.countItem();
             
             if (ecSpawn == null || ecSpawn.world == null) {
                 logger.info("[Migration] - spawn.json is empty or invalid.");
@@ -405,7 +418,9 @@ public class EssentialsCoreMigrationService {
                 return;
             }
             
-            spawnStorage.setSpawn(ecSpawn.world, ecSpawn.x, ecSpawn.y, ecSpawn.z, ecSpawn.yaw, ecSpawn.pitch);
+            if (!importer.isDryRun()) {
+                spawnStorage.setSpawn(ecSpawn.world, ecSpawn.x, ecSpawn.y, ecSpawn.z, ecSpawn.yaw, ecSpawn.pitch);
+            }
             spawnsImported++;
             logger.info("[Migration] - Imported spawn for world: " + ecSpawn.world + 
                 " at " + String.format("%.1f, %.1f, %.1f", ecSpawn.x, ecSpawn.y, ecSpawn.z));
@@ -431,16 +446,13 @@ public class EssentialsCoreMigrationService {
             return uuidToName;
         }
         
-        try (Reader reader = new InputStreamReader(new FileInputStream(uuidsFile), StandardCharsets.UTF_8)) {
-            Type type = new TypeToken<Map<String, String>>(){}.getType();
-            Map<String, String> nameToUuid = gson.fromJson(reader, type);
-            
-            if (nameToUuid != null) {
-                for (Map.Entry<String, String> entry : nameToUuid.entrySet()) {
-                    uuidToName.put(entry.getValue(), entry.getKey());
-                }
-                logger.info("[Migration] Loaded " + uuidToName.size() + " player name(s) from uuids.json");
-            }
+        importer.beginStage("uuids.json");
+        try {
+            StreamingImporter.<String>forEachEntry(uuidsFile, STRING_TYPE, (name, uuid) -> {
+                importer.countItem();
+                if (uuid != null) uuidToName.put(uuid, name);
+            });
+            logger.info("[Migration] Loaded " + uuidToName.size() + " player name(s) from uuids.json");
         } catch (Exception e) {
             logger.warning("[Migration] Failed to load uuids.json: " + e.getMessage());
         }
@@ -471,116 +483,40 @@ public class EssentialsCoreMigrationService {
         playerFilesFound = playerFiles.length;
         logger.info("[Migration] Found " + playerFilesFound + " player file(s) in: " + playersFolder.getAbsolutePath());
         
-        int skippedEmpty = 0;
+        importer.beginStage("players/");
+        int[] skippedEmpty = {0};
         
-        for (File playerFile : playerFiles) {
-            try {
-                String filename = playerFile.getName();
-                String uuidStr = filename.replace(".json", "");
-                UUID uuid = UUID.fromString(uuidStr);
-                
-                try (Reader reader = new InputStreamReader(new FileInputStream(playerFile), StandardCharsets.UTF_8)) {
-                    EssentialsCorePlayer ecPlayer = gson.fromJson(reader, EssentialsCorePlayer.class);
-                    
-                    if (ecPlayer == null) {
-                        skippedEmpty++;
-                        continue;
-                    }
-                    
-                    boolean hasHomes = ecPlayer.homes != null && !ecPlayer.homes.isEmpty();
-                    boolean hasCooldowns = ecPlayer.kitCooldowns != null && !ecPlayer.kitCooldowns.isEmpty();
-                    
-                    if (!hasHomes && !hasCooldowns) {
-                        skippedEmpty++;
-                        continue;
-                    }
-                    
-                    // Resolve player name from uuids.json cache
-                    String playerName = uuidToName.getOrDefault(uuidStr, "Unknown");
-                    
-                    PlayerFile ourPlayer = playerFileStorage.getPlayer(uuid);
-                    if (ourPlayer == null) {
-                        ourPlayer = playerFileStorage.getPlayer(uuid, playerName);
-                    } else if ("Unknown".equals(ourPlayer.getName()) && !"Unknown".equals(playerName)) {
-                        ourPlayer.setName(playerName);
-                    }
-                    
-                    // Migrate homes
-                    int homesForPlayer = 0;
-                    int homesSkipped = 0;
-                    if (hasHomes) {
-                        for (Map.Entry<String, EssentialsCoreHome> entry : ecPlayer.homes.entrySet()) {
-                            String homeName = entry.getKey();
-                            EssentialsCoreHome ecHome = entry.getValue();
-                            
-                            if (homeName == null || homeName.isEmpty()) continue;
-                            if (!force && ourPlayer.hasHome(homeName)) {
-                                homesSkipped++;
-                                continue;
-                            }
-                            
-                            Location location = new Location(
-                                ecHome.world,
-                                ecHome.x,
-                                ecHome.y,
-                                ecHome.z,
-                                ecHome.yaw,
-                                ecHome.pitch
-                            );
-                            
-                            Home home = new Home(homeName, location);
-                            if (ecHome.createdAt > 0) {
-                                home.setCreatedAt(ecHome.createdAt);
-                            }
-                            
-                            ourPlayer.setHome(home);
-                            homesForPlayer++;
-                            homesImported++;
-                        }
+        try {
+            // Parse the next files on the parse thread while earlier ones are being applied
+            importer.<PlayerRecord>pipe(
+                out -> {
+                    for (File playerFile : playerFiles) {
+                        out.accept(parsePlayerFile(playerFile));
                     }
-                    
-                    // Migrate kit cooldowns
-                    int cooldownsForPlayer = 0;
-                    if (hasCooldowns) {
-                        for (Map.Entry<String, Long> entry : ecPlayer.kitCooldowns.entrySet()) {
-                            String kitId = entry.getKey();
-                            Long lastUsed = entry.getValue();
-                            
-                            if (kitId == null || lastUsed == null) continue;
-                            
-                            if (force || ourPlayer.getKitLastUsed(kitId) == 0L) {
-                                ourPlayer.getKitCooldowns().put(kitId.toLowerCase(), lastUsed);
-                                cooldownsForPlayer++;
-                                kitCooldownsImported++;
-                            }
-                        }
+                },
+                record -> {
+                    if (record.uuid == null) {
+                        return; // invalid file name, already logged
                     }
-                    
-                    boolean changed = homesForPlayer > 0 || cooldownsForPlayer > 0;
-                    
-                    if (changed) {
-                        playerFileStorage.saveAndMarkDirty(uuid);
-                        playersImported++;
-                        logger.info("[Migration] - Player " + playerName + " (" + uuidStr + "): " +
-                            homesForPlayer + " homes, " + cooldownsForPlayer + " kit cooldowns");
-                    } else if (homesSkipped > 0) {
-                        playersSkippedExist++;
+                    if (record.error != null) {
+                        errors.add(record.error);
+                    } else if (record.data == null) {
+                        skippedEmpty[0]++;
+                    } else if (!importPlayer(record, uuidToName, force)) {
+                        skippedEmpty[0]++;
                     }
                 }
-                
-            } catch (IllegalArgumentException e) {
-                logger.warning("[Migration] - Skipping invalid player file: " + playerFile.getName());
-            } catch (Exception e) {
-                String error = "Failed to migrate player " + playerFile.getName() + ": " + e.getMessage();
-                logger.warning("[Migration] " + error);
-                errors.add(error);
-            }
+            );
+        } catch (Exception e) {
+            String error = "Failed to migrate player data: " + e.getMessage();
+            logger.severe("[Migration] " + error);
+            errors.add(error);
         }
         
         logger.info("[Migration] - Migrated " + homesImported + " homes and " + kitCooldownsImported + 
             " kit cooldowns for " + playersImported + " players");
-        if (skippedEmpty > 0) {
-            logger.info("[Migration] - Skipped " + skippedEmpty + " player(s) with no homes/cooldowns");
+        if (skippedEmpty[0] > 0) {
+            logger.info("[Migration] - Skipped " + skippedEmpty[0] + " player(s) with no homes/cooldowns");
         }
         if (playersSkippedExist > 0) {
             logger.info("[Migration] - Skipped " + playersSkippedExist + " player(s) whose homes already exist (previously migrated)");
@@ -588,9 +524,120 @@ public class EssentialsCoreMigrationService {
     }
 
     
+    /**
+     * Parse one players/{uuid}.json file. Runs on the parse thread.
+     * Invalid file names are reported as skipped, as before.
+     */
+    private PlayerRecord parsePlayerFile(File playerFile) {
+        String uuidStr = playerFile.getName().replace(".json", "");
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(uuidStr);
+        } catch (IllegalArgumentException e) {
+            logger.warning("[Migration] - Skipping invalid player file: " + playerFile.getName());
+            return new PlayerRecord(null, uuidStr, null, null);
+        }
+        try {
+            EssentialsCorePlayer ecPlayer = StreamingImporter.read(playerFile, EssentialsCorePlayer.class);
+            return new PlayerRecord(uuid, uuidStr, ecPlayer, null);
+        } catch (Exception e) {
+            String error = "Failed to migrate player " + playerFile.getName() + ": " + e.getMessage();
+            logger.warning("[Migration] " + error);
+            return new PlayerRecord(uuid, uuidStr, null, error);
+        }
+    }
+    
+    /**
+     * Apply one parsed player file.
+     * @return false if the file had no homes or kit cooldowns
+     */
+    private boolean importPlayer(PlayerRecord record, Map<String, String> uuidToName, boolean force) {
+        EssentialsCorePlayer ecPlayer = record.data;
+        String uuidStr = record.uuidStr;
+        
+        boolean hasHomes = ecPlayer.homes != null && !ecPlayer.homes.isEmpty();
+        boolean hasCooldowns = ecPlayer.kitCooldowns != null && !ecPlayer.kitCooldowns.isEmpty();
+        
+        if (!hasHomes && !hasCooldowns) {
+            return false;
+        }
+        
+        // Resolve player name from uuids.json cache
+        String playerName = uuidToName.getOrDefault(uuidStr, "Unknown");
+        
+        PlayerFile ourPlayer = importer.player(record.uuid, playerName);
+        if ("Unknown".equals(ourPlayer.getName()) && !"Unknown".equals(playerName)) {
+            ourPlayer.setName(playerName);
+        }
+        
+        // Migrate homes
+        int homesForPlayer = 0;
+        int homesSkipped = 0;
+        if (hasHomes) {
+            for (Map.Entry<String, EssentialsCoreHome> entry : ecPlayer.homes.entrySet()) {
+                String homeName = entry.getKey();
+                EssentialsCoreHome ecHome = entry.getValue();
+                
+                if (homeName == null || homeName.isEmpty()) continue;
+                if (!force && ourPlayer.hasHome(homeName)) {
+                    homesSkipped++;
+                    continue;
+                }
+                
+                Location location = new Location(
+                    ecHome.world,
+                    ecHome.x,
+                    ecHome.y,
+                    ecHome.z,
+                    ecHome.yaw,
+                    ecHome.pitch
+                );
+                
+                Home home = new Home(homeName, location);
+                if (ecHome.createdAt > 0) {
+                    home.setCreatedAt(ecHome.createdAt);
+                }
+                
+                ourPlayer.setHome(home);
+                homesForPlayer++;
+                homesImported++;
+            }
+        }
+        
+        // Migrate kit cooldowns
+        int cooldownsForPlayer = 0;
+        if (hasCooldowns) {
+            for (Map.Entry<String, Long> entry : ecPlayer.kitCooldowns.entrySet()) {
+                String kitId = entry.getKey();
+                Long lastUsed = entry.getValue();
+                
+                if (kitId == null || lastUsed == null) continue;
+                
+                if (force || ourPlayer.getKitLastUsed(kitId) == 0L) {
+                    ourPlayer.getKitCooldowns().put(kitId.toLowerCase(), lastUsed);
+                    cooldownsForPlayer++;
+                    kitCooldownsImported++;
+                }
+            }
+        }
+        
+        boolean changed = homesForPlayer > 0 || cooldownsForPlayer > 0;
+        
+        if (changed) {
+            importer.markChanged(ourPlayer);
+            playersImported++;
+            logger.info("[Migration] - Player " + playerName + " (" + uuidStr + "): " +
+                homesForPlayer + " homes, " + cooldownsForPlayer + " kit cooldowns");
+        } else if (homesSkipped > 0) {
+            playersSkippedExist++;
+        }
+        return true;
+    }
+    
     private MigrationResult buildResult(boolean success) {
-        return new MigrationResult(success, warpsImported, spawnsImported, kitsImported,
-            playerFilesFound, playersImported, playersSkippedExist, homesImported, kitCooldownsImported, errors);
+        return new MigrationResult(success, importer.isDryRun(), warpsImported, spawnsImported, kitsImported,
+            playerFilesFound, playersImported, playersSkippedExist, homesImported, kitCooldownsImported, errors,
+            importer.getTimings());
     }
     
     // ==================== Inner Classes for EssentialsCore Format ====================
@@ -628,6 +675,24 @@ public class EssentialsCoreMigrationService {
         Map<String, Long> kitCooldowns;
     }
     
+    /**
+     * One parsed player file, handed from the parse thread to the writer.
+     * uuid is null for invalid file names; data is null for empty or unreadable files.
+     */
+    private static class PlayerRecord {
+        final UUID uuid;
+        final String uuidStr;
+        final EssentialsCorePlayer data;
+        final String error;
+        
+        PlayerRecord(UUID uuid, String uuidStr, EssentialsCorePlayer data, String error) {
+            this.uuid = uuid;
+            this.uuidStr = uuidStr;
+            this.data = data;
+            this.error = error;
+        }
+    }
+    
     /**
      * EssentialsCore kit format (parsed from TOML).
      */
@@ -664,11 +729,16 @@ public class EssentialsCoreMigrationService {
         private final int homesImported;
         private final int kitCooldownsImported;
         private final List<String> errors;
+        private final boolean dryRun;
+        private final List<StreamingImporter.StageTiming> timings;
         
-        public MigrationResult(boolean success, int warpsImported, int spawnsImported, int kitsImported, 
+        public MigrationResult(boolean success, boolean dryRun, int warpsImported, int spawnsImported, int kitsImported, 
                               int playerFilesFound, int playersImported, int playersSkippedExist,
-                              int homesImported, int kitCooldownsImported, List<String> errors) {
+                              int homesImported, int kitCooldownsImported, List<String> errors,
+                              List<StreamingImporter.StageTiming> timings) {
             this.success = success;
+            this.dryRun = dryRun;
+            this.timings = timings;
             this.warpsImported = warpsImported;
             this.spawnsImported = spawnsImported;
             this.kitsImported = kitsImported;
@@ -681,6 +751,8 @@ public class EssentialsCoreMigrationService {
         }
         
         public boolean isSuccess() { return success; }
+        public boolean isDryRun() { return dryRun; }
+        public List<StreamingImporter.StageTiming> getTimings() { return timings; }
         public int getWarpsImported() { return warpsImported; }
         public int getSpawnsImported() { return spawnsImported; }
         public int getKitsImported() { return kitsImported; }
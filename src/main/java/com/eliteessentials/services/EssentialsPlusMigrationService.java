@@ -4,10 +4,7 @@ import com.eliteessentials.model.*;
 import com.eliteessentials.storage.GlobalStorageProvider;
 import com.eliteessentials.storage.PlayerStorageProvider;
 import com.eliteessentials.storage.SpawnStorage;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.logging.Logger;
 
@@ -24,7 +21,6 @@ import java.util.logging.Logger;
 public class EssentialsPlusMigrationService {
     
     private static final Logger logger = Logger.getLogger("EliteEssentials");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
     
     private final File modsFolder;
     private final GlobalStorageProvider warpStorage;
@@ -40,6 +36,7 @@ public class EssentialsPlusMigrationService {
     private int spawnsImported = 0;
     private int usersImported = 0;
     private final List<String> errors = new ArrayList<>();
+    private StreamingImporter importer;
     
     // Collected during kit migration: uuid -> (kitId -> lastUsed timestamp)
     private final Map<UUID, Map<String, Long>> kitCooldownsFromKits = new HashMap<>();
@@ -77,6 +74,16 @@ public class EssentialsPlusMigrationService {
      * @return MigrationResult with stats and any errors
      */
     public MigrationResult migrate(boolean force) {
+        return migrate(force, false);
+    }
+    
+    /**
+     * Run the full migration.
+     * @param force if true, overwrite existing warps, kits, homes, spawns, and player data
+     * @param dryRun if true, only count what would be imported without writing anything
+     * @return MigrationResult with stats and any errors
+     */
+    public MigrationResult migrate(boolean force, boolean dryRun) {
         // Reset stats and collected data
         warpsImported = 0;
         kitsImported = 0;
@@ -86,17 +93,19 @@ public class EssentialsPlusMigrationService {
         usersImported = 0;
         errors.clear();
         kitCooldownsFromKits.clear();
+        importer = new StreamingImporter(playerFileStorage, dryRun, errors);
         
         File essentialsFolder = getEssentialsPlusFolder();
         
         if (!essentialsFolder.exists()) {
             errors.add("EssentialsPlus folder not found at: " + essentialsFolder.getAbsolutePath());
-            return new MigrationResult(false, warpsImported, kitsImported, playersImported,
-                    homesImported, spawnsImported, usersImported, errors);
+            return new MigrationResult(false, dryRun, warpsImported, kitsImported, playersImported,
+                    homesImported, spawnsImported, usersImported, errors, importer.getTimings());
         }
         
         logger.info("[Migration] ========================================");
-        logger.info("[Migration] Starting EssentialsPlus migration" + (force ? " (FORCE MODE)" : "") + "...");
+        logger.info("[Migration] Starting EssentialsPlus migration" + (force ? " (FORCE MODE)" : "")
+            + (dryRun ? " (DRY RUN)" : "") + "...");
         logger.info("[Migration] Source: " + essentialsFolder.getAbsolutePath());
         logger.info("[Migration] ========================================");
         
@@ -114,6 +123,7 @@ public class EssentialsPlusMigrationService {
         
         // Migrate user data (balance, playtime, ipHistory, ignoredPlayers, kit cooldowns)
         migrateUserData(essentialsFolder, force);
+        List<StreamingImporter.StageTiming> timings = importer.getTimings();
         
         logger.info("[Migration] ========================================");
         logger.info("[Migration] EssentialsPlus migration complete!");
@@ -128,8 +138,8 @@ public class EssentialsPlusMigrationService {
         }
         logger.info("[Migration] ========================================");
         
-        return new MigrationResult(errors.isEmpty(), warpsImported, kitsImported, playersImported,
-                homesImported, spawnsImported, usersImported, errors);
+        return new MigrationResult(errors.isEmpty(), dryRun, warpsImported, kitsImported, playersImported,
+                homesImported, spawnsImported, usersImported, errors, timings);
     }
     
     /**
@@ -145,20 +155,17 @@ public class EssentialsPlusMigrationService {
         
         logger.info("[Migration] Migrating EssentialsPlus warps.json...");
         
-        try (Reader reader = new InputStreamReader(new FileInputStream(warpsFile), StandardCharsets.UTF_8)) {
-            EssentialsPlusWarpsFile warpsData = gson.fromJson(reader, EssentialsPlusWarpsFile.class);
-            
-            if (warpsData == null || warpsData.warps == null || warpsData.warps.isEmpty()) {
-                logger.info("[Migration] - No warps found in file.");
-                return;
-            }
-            
-            for (EssentialsPlusWarp epWarp : warpsData.warps) {
+        importer.beginStage("warps.json");
+        
+        try {
+            StreamingImporter.<EssentialsPlusWarp>forEachInArray(warpsFile, "warps", EssentialsPlusWarp.class, epWarp -> {
+                importer.countItem();
                 String warpName = epWarp.name;
+                if (warpName == null || epWarp.position == null || epWarp.rotation == null) return;
                 
                 if (!force && warpStorage.hasWarp(warpName)) {
                     logger.info("[Migration] - Skipping warp '" + warpName + "' (already exists)");
-                    continue;
+                    return;
                 }
                 
                 // Convert to our format - use world UUID as world name
@@ -171,12 +178,13 @@ public class EssentialsPlusMigrationService {
                     0f // pitch - set to 0 to avoid player tilt
                 );
                 
-                Warp warp = new Warp(warpName, location, Warp.Permission.ALL, "EssentialsPlus Migration");
-                warpStorage.setWarp(warp);
+                if (!importer.isDryRun()) {
+                    Warp warp = new Warp(warpName, location, Warp.Permission.ALL, "EssentialsPlus Migration");
+                    warpStorage.setWarp(warp);
+                }
                 warpsImported++;
                 logger.info("[Migration] - Imported warp: " + warpName);
-            }
-            
+            });
         } catch (Exception e) {
             String error = "Failed to migrate EssentialsPlus warps: " + e.getMessage();
             logger.severe("[Migration] " + error);
@@ -205,7 +213,9 @@ public class EssentialsPlusMigrationService {
             return;
         }
         
+        importer.beginStage("kits/");
         for (File kitFile : kitFiles) {
+            importer.countItem();
             try {
                 migrateKitFile(kitFile, force);
             } catch (Exception e) {
@@ -216,91 +226,91 @@ public class EssentialsPlusMigrationService {
         }
     }
     
-    private void migrateKitFile(File kitFile, boolean force) throws Exception {
-        try (Reader reader = new InputStreamReader(new FileInputStream(kitFile), StandardCharsets.UTF_8)) {
-            EssentialsPlusKit epKit = gson.fromJson(reader, EssentialsPlusKit.class);
-            
-            if (epKit == null || epKit.name == null) {
-                logger.warning("[Migration] - Invalid kit file: " + kitFile.getName());
-                return;
-            }
-            
-            String kitId = epKit.name.toLowerCase();
-            
-            // Collect lastClaimed for kit cooldown migration
-            if (epKit.lastClaimed != null && !epKit.lastClaimed.isEmpty()) {
-                for (Map.Entry<String, Long> entry : epKit.lastClaimed.entrySet()) {
-                    try {
-                        UUID uuid = UUID.fromString(entry.getKey());
-                        kitCooldownsFromKits.computeIfAbsent(uuid, k -> new HashMap<>()).put(kitId, entry.getValue());
-                    } catch (IllegalArgumentException ignored) { /* skip invalid uuid */ }
-                }
-            }
-            
-            if (!force && kitService.getKit(kitId) != null) {
-                logger.info("[Migration] - Skipping kit '" + kitId + "' (already exists)");
-                return;
+    private void migrateKitFile(File kitFile, boolean force) throws IOException {
+        EssentialsPlusKit epKit = StreamingImporter.read(kitFile, EssentialsPlusKit.class);
+        
+        if (epKit == null || epKit.name == null) {
+            logger.warning("[Migration] - Invalid kit file: " + kitFile.getName());
+            return;
+        }
+        
+        String kitId = epKit.name.toLowerCase();
+        
+        // Collect lastClaimed for kit cooldown migration
+        if (epKit.lastClaimed != null && !epKit.lastClaimed.isEmpty()) {
+            for (Map.Entry<String, Long> entry : epKit.lastClaimed.entrySet()) {
+                try {
+                    UUID uuid = UUID.fromString(entry.getKey());
+                    kitCooldownsFromKits.computeIfAbsent(uuid, k -> new HashMap<>()).put(kitId, entry.getValue());
+                } catch (IllegalArgumentException ignored) { /* skip invalid uuid */ }
             }
-            
-            // Convert items from all sections
-            List<KitItem> items = new ArrayList<>();
-            
-            // Process hotbar items
-            if (epKit.hotbar != null && epKit.hotbar.items != null) {
-                for (Map.Entry<String, EssentialsPlusItem> entry : epKit.hotbar.items.entrySet()) {
-                    int slot = parseIntSafe(entry.getKey(), 0);
-                    EssentialsPlusItem epItem = entry.getValue();
-                    items.add(new KitItem(epItem.itemId, epItem.quantity, "hotbar", slot));
-                }
+        }
+        
+        if (!force && kitService.getKit(kitId) != null) {
+            logger.info("[Migration] - Skipping kit '" + kitId + "' (already exists)");
+            return;
+        }
+        
+        // Convert items from all sections
+        List<KitItem> items = new ArrayList<>();
+        
+        // Process hotbar items
+        if (epKit.hotbar != null && epKit.hotbar.items != null) {
+            for (Map.Entry<String, EssentialsPlusItem> entry : epKit.hotbar.items.entrySet()) {
+                int slot = parseIntSafe(entry.getKey(), 0);
+                EssentialsPlusItem epItem = entry.getValue();
+                items.add(new KitItem(epItem.itemId, epItem.quantity, "hotbar", slot));
             }
-            
-            // Process storage items
-            if (epKit.storage != null && epKit.storage.items != null) {
-                for (Map.Entry<String, EssentialsPlusItem> entry : epKit.storage.items.entrySet()) {
-                    int slot = parseIntSafe(entry.getKey(), 0);
-                    EssentialsPlusItem epItem = entry.getValue();
-                    items.add(new KitItem(epItem.itemId, epItem.quantity, "storage", slot));
-                }
+        }
+        
+        // Process storage items
+        if (epKit.storage != null && epKit.storage.items != null) {
+            for (Map.Entry<String, EssentialsPlusItem> entry : epKit.storage.items.entrySet()) {
+                int slot = parseIntSafe(entry.getKey(), 0);
+                EssentialsPlusItem epItem = entry.getValue();
+                items.add(new KitItem(epItem.itemId, epItem.quantity, "storage", slot));
             }
-            
-            // Process armor items
-            if (epKit.armor != null && epKit.armor.items != null) {
-                for (Map.Entry<String, EssentialsPlusItem> entry : epKit.armor.items.entrySet()) {
-                    int slot = parseIntSafe(entry.getKey(), 0);
-                    EssentialsPlusItem epItem = entry.getValue();
-                    items.add(new KitItem(epItem.itemId, epItem.quantity, "armor", slot));
-                }
+        }
+        
+        // Process armor items
+        if (epKit.armor != null && epKit.armor.items != null) {
+            for (Map.Entry<String, EssentialsPlusItem> entry : epKit.armor.items.entrySet()) {
+                int slot = parseIntSafe(entry.getKey(), 0);
+                EssentialsPlusItem epItem = entry.getValue();
+                items.add(new KitItem(epItem.itemId, epItem.quantity, "armor", slot));
             }
-            
-            // Process utility items
-            if (epKit.utility != null && epKit.utility.items != null) {
-                for (Map.Entry<String, EssentialsPlusItem> entry : epKit.utility.items.entrySet()) {
-                    int slot = parseIntSafe(entry.getKey(), 0);
-                    EssentialsPlusItem epItem = entry.getValue();
-                    items.add(new KitItem(epItem.itemId, epItem.quantity, "utility", slot));
-                }
+        }
+        
+        // Process utility items
+        if (epKit.utility != null && epKit.utility.items != null) {
+            for (Map.Entry<String, EssentialsPlusItem> entry : epKit.utility.items.entrySet()) {
+                int slot = parseIntSafe(entry.getKey(), 0);
+                EssentialsPlusItem epItem = entry.getValue();
+                items.add(new KitItem(epItem.itemId, epItem.quantity, "utility", slot));
             }
-            
-            // Convert cooldown from milliseconds to seconds
-            int cooldownSeconds = (int) (epKit.cooldown / 1000);
-            
-            // Create kit
-            Kit kit = new Kit(
-                kitId,
-                epKit.name, // displayName
-                "Imported from EssentialsPlus",
-                null, // icon
-                cooldownSeconds,
-                false, // replaceInventory - EssentialsPlus adds items
-                false, // onetime
-                kitId.equalsIgnoreCase("starter"), // starterKit if named "starter"
-                items
-            );
-            
+        }
+        
+        // Convert cooldown from milliseconds to seconds
+        int cooldownSeconds = (int) (epKit.cooldown / 1000);
+        
+        // Create kit
+        Kit kit = new Kit(
+            kitId,
+            epKit.name, // displayName
+            "Imported from EssentialsPlus",
+            null, // icon
+            cooldownSeconds,
+            false, // replaceInventory - EssentialsPlus adds items
+            false, // onetime
+            kitId.equalsIgnoreCase("starter"), // starterKit if named "starter"
+            items
+        );
+        
+        if (!importer.isDryRun()) {
             kitService.saveKit(kit);
-            kitsImported++;
-            logger.info("[Migration] - Imported kit: " + kitId + " (" + items.size() + " items, " + cooldownSeconds + "s cooldown)");
         }
+        kitsImported++;
+        logger.info("[Migration] - Imported kit: " + kitId + " (" + items.size() + " items, " + cooldownSeconds + "s cooldown)");
     }
     
     private int parseIntSafe(String value, int defaultValue) {
@@ -325,19 +335,20 @@ public class EssentialsPlusMigrationService {
         
         logger.info("[Migration] Migrating EssentialsPlus spawns.json...");
         
-        try (Reader reader = new InputStreamReader(new FileInputStream(spawnsFile), StandardCharsets.UTF_8)) {
-            EssentialsPlusSpawnsFile spawnsData = gson.fromJson(reader, EssentialsPlusSpawnsFile.class);
-            
-            if (spawnsData == null || spawnsData.spawns == null || spawnsData.spawns.isEmpty()) {
-                logger.info("[Migration] - No spawns found in file.");
-                return;
-            }
-            
+        importer.beginStage("spawns.json");
+        
+        try {
             // Group spawns by world to assign primary and names per world
             Map<String, List<EssentialsPlusSpawn>> byWorld = new LinkedHashMap<>();
-            for (EssentialsPlusSpawn ep : spawnsData.spawns) {
-                if (ep == null || ep.world == null || ep.position == null || ep.rotation == null) continue;
+            StreamingImporter.<EssentialsPlusSpawn>forEachInArray(spawnsFile, "spawns", EssentialsPlusSpawn.class, ep -> {
+                importer.countItem();
+                if (ep.world == null || ep.position == null || ep.rotation == null) return;
                 byWorld.computeIfAbsent(ep.world, k -> new ArrayList<>()).add(ep);
+            });
+            
+            if (byWorld.isEmpty()) {
+                logger.info("[Migration] - No spawns found in file.");
+                return;
             }
             
             for (Map.Entry<String, List<EssentialsPlusSpawn>> entry : byWorld.entrySet()) {
@@ -349,6 +360,12 @@ public class EssentialsPlusMigrationService {
                     continue;
                 }
                 
+                if (importer.isDryRun()) {
+                    spawnsImported += worldSpawns.size();
+                    logger.info("[Migration] - Would import " + worldSpawns.size() + " spawn(s) for world: " + world);
+                    continue;
+                }
+                
                 if (force && spawnStorage.hasSpawn(world)) {
                     for (SpawnStorage.SpawnData existing : new ArrayList<>(spawnStorage.getSpawns(world))) {
                         if (existing.name != null) {
@@ -397,78 +414,71 @@ public class EssentialsPlusMigrationService {
         
         logger.info("[Migration] Migrating EssentialsPlus homes.json...");
         
-        try (Reader reader = new InputStreamReader(new FileInputStream(homesFile), StandardCharsets.UTF_8)) {
-            EssentialsPlusHomesFile homesData = gson.fromJson(reader, EssentialsPlusHomesFile.class);
-            
-            if (homesData == null || homesData.homes == null || homesData.homes.isEmpty()) {
-                logger.info("[Migration] - No homes found in file.");
-                return;
-            }
-            
-            // Group homes by player UUID
-            Map<UUID, List<EssentialsPlusHome>> homesByPlayer = new HashMap<>();
-            for (EssentialsPlusHome epHome : homesData.homes) {
-                try {
-                    UUID uuid = UUID.fromString(epHome.uuid);
-                    homesByPlayer.computeIfAbsent(uuid, k -> new ArrayList<>()).add(epHome);
-                } catch (IllegalArgumentException e) {
-                    logger.warning("[Migration] - Skipping home with invalid UUID: " + epHome.uuid);
-                }
-            }
-            
-            // Process each player's homes
-            for (Map.Entry<UUID, List<EssentialsPlusHome>> entry : homesByPlayer.entrySet()) {
-                UUID uuid = entry.getKey();
-                List<EssentialsPlusHome> playerHomes = entry.getValue();
-                
-                // Get or create our player file
-                PlayerFile ourPlayer = playerFileStorage.getPlayer(uuid);
-                if (ourPlayer == null) {
-                    // Create new player with unknown name (will update when they join)
-                    ourPlayer = playerFileStorage.getPlayer(uuid, "Unknown");
-                }
-                
-                int homesForPlayer = 0;
-                for (EssentialsPlusHome epHome : playerHomes) {
-                    String homeName = epHome.name;
-                    
-                    if (!force && ourPlayer.hasHome(homeName)) {
-                        logger.info("[Migration] - Skipping home '" + homeName + "' for " + uuid + " (already exists)");
-                        continue;
+        importer.beginStage("homes.json");
+        
+        // Homes are applied one at a time as they stream in; a player's homes don't
+        // need to be adjacent in the file
+        Set<UUID> playersWithHomes = new HashSet<>();
+        try {
+            importer.<EssentialsPlusHome>pipe(
+                out -> StreamingImporter.forEachInArray(homesFile, "homes", EssentialsPlusHome.class, out),
+                epHome -> {
+                    if (importHome(epHome, force)) {
+                        playersWithHomes.add(UUID.fromString(epHome.uuid));
                     }
-                    
-                    // Convert to our format - use world UUID as world name
-                    Location location = new Location(
-                        epHome.world,
-                        epHome.position.x,
-                        epHome.position.y,
-                        epHome.position.z,
-                        epHome.rotation.y, // yaw
-                        0f // pitch - set to 0 to avoid player tilt
-                    );
-                    
-                    Home home = new Home(homeName, location);
-                    ourPlayer.setHome(home);
-                    homesForPlayer++;
-                    homesImported++;
-                }
-                
-                if (homesForPlayer > 0) {
-                    playerFileStorage.saveAndMarkDirty(uuid);
-                    playersImported++;
-                    logger.info("[Migration] - Imported " + homesForPlayer + " home(s) for player " + uuid);
                 }
-            }
-            
+            );
         } catch (Exception e) {
             String error = "Failed to migrate EssentialsPlus homes: " + e.getMessage();
             logger.severe("[Migration] " + error);
             errors.add(error);
         }
+        playersImported = playersWithHomes.size();
         
         logger.info("[Migration] - Migrated " + homesImported + " homes for " + playersImported + " players");
     }
     
+    /**
+     * Apply one home entry.
+     * @return true if the home was imported
+     */
+    private boolean importHome(EssentialsPlusHome epHome, boolean force) {
+        if (epHome.name == null || epHome.position == null || epHome.rotation == null) {
+            return false;
+        }
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(epHome.uuid);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            logger.warning("[Migration] - Skipping home with invalid UUID: " + epHome.uuid);
+            return false;
+        }
+        
+        // Get or create our player file (unknown name is updated when they join)
+        PlayerFile ourPlayer = importer.player(uuid, "Unknown");
+        
+        String homeName = epHome.name;
+        if (!force && ourPlayer.hasHome(homeName)) {
+            logger.info("[Migration] - Skipping home '" + homeName + "' for " + uuid + " (already exists)");
+            return false;
+        }
+        
+        // Convert to our format - use world UUID as world name
+        Location location = new Location(
+            epHome.world,
+            epHome.position.x,
+            epHome.position.y,
+            epHome.position.z,
+            epHome.rotation.y, // yaw
+            0f // pitch - set to 0 to avoid player tilt
+        );
+        
+        ourPlayer.setHome(new Home(homeName, location));
+        importer.markChanged(ourPlayer);
+        homesImported++;
+        return true;
+    }
+    
     /**
      * Migrate user data from EssentialsPlus users/{uuid}.json.
      * Format: { uuid, username, balance, playtime, firstJoinTimestamp, lastJoinTimestamp, ipHistory, ignoredPlayers }
@@ -489,128 +499,148 @@ public class EssentialsPlusMigrationService {
             return;
         }
         
-        for (File userFile : userFiles) {
-            try {
-                String baseName = userFile.getName();
-                if (baseName.endsWith(".json")) baseName = baseName.substring(0, baseName.length() - 5);
-                UUID uuid;
-                try {
-                    uuid = UUID.fromString(baseName);
-                } catch (IllegalArgumentException e) {
-                    logger.warning("[Migration] - Skipping invalid user file (bad UUID): " + userFile.getName());
-                    continue;
+        importer.beginStage("users/");
+        try {
+            // Parse the next files on the parse thread while earlier ones are being applied
+            importer.<UserRecord>pipe(
+                out -> {
+                    for (File userFile : userFiles) {
+                        out.accept(parseUserFile(userFile));
+                    }
+                },
+                record -> {
+                    if (record.error != null) {
+                        errors.add(record.error);
+                    } else if (record.uuid != null && record.user != null) {
+                        applyUser(record.user, record.uuid, force);
+                    }
                 }
-                
-                migrateUserFile(userFile, uuid, force);
-            } catch (Exception e) {
-                String error = "Failed to migrate user " + userFile.getName() + ": " + e.getMessage();
-                logger.warning("[Migration] " + error);
-                errors.add(error);
-            }
+            );
+        } catch (Exception e) {
+            String error = "Failed to migrate EssentialsPlus users: " + e.getMessage();
+            logger.severe("[Migration] " + error);
+            errors.add(error);
         }
     }
     
-    private void migrateUserFile(File userFile, UUID uuid, boolean force) throws Exception {
-        try (Reader reader = new InputStreamReader(new FileInputStream(userFile), StandardCharsets.UTF_8)) {
-            EssentialsPlusUser epUser = gson.fromJson(reader, EssentialsPlusUser.class);
-            if (epUser == null) return;
-            
-            PlayerFile ourPlayer = playerFileStorage.getPlayer(uuid);
-            if (ourPlayer == null) {
-                ourPlayer = playerFileStorage.getPlayer(uuid, epUser.username != null ? epUser.username : "Unknown");
-            } else if (!force) {
-                // Only migrate if we have new data and force is set, or player is basically empty
-                boolean hasData = ourPlayer.getWallet() != 0 || ourPlayer.getPlayTime() != 0
-                        || !ourPlayer.getIpHistory().isEmpty() || !ourPlayer.getIgnoredPlayers().isEmpty();
-                if (hasData) {
-                    logger.info("[Migration] - Skipping user " + uuid + " (already has data)");
-                    return;
-                }
-            }
-            
-            boolean changed = false;
-            
-            // Username / name
-            if (epUser.username != null && !epUser.username.isEmpty() && (force || ourPlayer.getName() == null || "Unknown".equals(ourPlayer.getName()))) {
-                ourPlayer.setName(epUser.username);
-                changed = true;
-            }
-            
-            // Balance
-            if (epUser.balance != 0.0 && (force || ourPlayer.getWallet() == 0.0)) {
-                ourPlayer.setWallet(epUser.balance);
-                changed = true;
-            }
-            
-            // Playtime - EP uses milliseconds, we use seconds
-            if (epUser.playtime != 0 && (force || ourPlayer.getPlayTime() == 0)) {
-                long playtimeSeconds = epUser.playtime / 1000;
-                ourPlayer.setPlayTime(playtimeSeconds);
-                changed = true;
-            }
-            
-            // First join
-            if (epUser.firstJoinTimestamp != 0 && (force || ourPlayer.getFirstJoin() == 0)) {
-                ourPlayer.setFirstJoin(epUser.firstJoinTimestamp);
-                changed = true;
-            }
-            
-            // Last seen
-            if (epUser.lastJoinTimestamp != 0 && (force || ourPlayer.getLastSeen() == 0)) {
-                ourPlayer.setLastSeen(epUser.lastJoinTimestamp);
-                changed = true;
+    /**
+     * Parse one users/{uuid}.json file. Runs on the parse thread.
+     */
+    private UserRecord parseUserFile(File userFile) {
+        String baseName = userFile.getName();
+        if (baseName.endsWith(".json")) baseName = baseName.substring(0, baseName.length() - 5);
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(baseName);
+        } catch (IllegalArgumentException e) {
+            logger.warning("[Migration] - Skipping invalid user file (bad UUID): " + userFile.getName());
+            return new UserRecord(null, null, null);
+        }
+        try {
+            EssentialsPlusUser epUser = StreamingImporter.read(userFile, EssentialsPlusUser.class);
+            return new UserRecord(uuid, epUser, null);
+        } catch (Exception e) {
+            String error = "Failed to migrate user " + userFile.getName() + ": " + e.getMessage();
+            logger.warning("[Migration] " + error);
+            return new UserRecord(uuid, null, error);
+        }
+    }
+    
+    private void applyUser(EssentialsPlusUser epUser, UUID uuid, boolean force) {
+        boolean existed = playerFileStorage.hasPlayer(uuid);
+        PlayerFile ourPlayer = importer.player(uuid, epUser.username != null ? epUser.username : "Unknown");
+        if (existed && !force) {
+            // Only migrate if we have new data and force is set, or player is basically empty
+            boolean hasData = ourPlayer.getWallet() != 0 || ourPlayer.getPlayTime() != 0
+                    || !ourPlayer.getIpHistory().isEmpty() || !ourPlayer.getIgnoredPlayers().isEmpty();
+            if (hasData) {
+                logger.info("[Migration] - Skipping user " + uuid + " (already has data)");
+                return;
             }
-            
-            // IP history
-            if (epUser.ipHistory != null && !epUser.ipHistory.isEmpty() && (force || ourPlayer.getIpHistory().isEmpty())) {
-                List<PlayerFile.IpHistoryEntry> entries = new ArrayList<>();
-                for (EssentialsPlusIpEntry ipEntry : epUser.ipHistory) {
-                    if (ipEntry != null && ipEntry.ip != null && !ipEntry.ip.isBlank()) {
-                        entries.add(new PlayerFile.IpHistoryEntry(ipEntry.ip, ipEntry.lastUsed));
-                    }
-                }
-                if (!entries.isEmpty()) {
-                    ourPlayer.setIpHistory(entries);
-                    changed = true;
+        }
+        
+        boolean changed = false;
+        
+        // Username / name
+        if (epUser.username != null && !epUser.username.isEmpty() && (force || ourPlayer.getName() == null || "Unknown".equals(ourPlayer.getName()))) {
+            ourPlayer.setName(epUser.username);
+            changed = true;
+        }
+        
+        // Balance
+        if (epUser.balance != 0.0 && (force || ourPlayer.getWallet() == 0.0)) {
+            ourPlayer.setWallet(epUser.balance);
+            changed = true;
+        }
+        
+        // Playtime - EP uses milliseconds, we use seconds
+        if (epUser.playtime != 0 && (force || ourPlayer.getPlayTime() == 0)) {
+            long playtimeSeconds = epUser.playtime / 1000;
+            ourPlayer.setPlayTime(playtimeSeconds);
+            changed = true;
+        }
+        
+        // First join
+        if (epUser.firstJoinTimestamp != 0 && (force || ourPlayer.getFirstJoin() == 0)) {
+            ourPlayer.setFirstJoin(epUser.firstJoinTimestamp);
+            changed = true;
+        }
+        
+        // Last seen
+        if (epUser.lastJoinTimestamp != 0 && (force || ourPlayer.getLastSeen() == 0)) {
+            ourPlayer.setLastSeen(epUser.lastJoinTimestamp);
+            changed = true;
+        }
+        
+        // IP history
+        if (epUser.ipHistory != null && !epUser.ipHistory.isEmpty() && (force || ourPlayer.getIpHistory().isEmpty())) {
+            List<PlayerFile.IpHistoryEntry> entries = new ArrayList<>();
+            for (EssentialsPlusIpEntry ipEntry : epUser.ipHistory) {
+                if (ipEntry != null && ipEntry.ip != null && !ipEntry.ip.isBlank()) {
+                    entries.add(new PlayerFile.IpHistoryEntry(ipEntry.ip, ipEntry.lastUsed));
                 }
             }
-            
-            // Ignored players - EP stores as array of UUID strings (or usernames; assume UUIDs)
-            if (epUser.ignoredPlayers != null && !epUser.ignoredPlayers.isEmpty()) {
-                if (force || ourPlayer.getIgnoredPlayers().isEmpty()) {
-                    if (force) ourPlayer.clearIgnored();
-                    for (String ignored : epUser.ignoredPlayers) {
-                        if (ignored == null || ignored.isBlank()) continue;
-                        try {
-                            UUID ignoredUuid = UUID.fromString(ignored);
-                            ourPlayer.addIgnored(ignoredUuid);
-                            changed = true;
-                        } catch (IllegalArgumentException ignoredEx) {
-                            // Might be username - we can't resolve, skip
-                        }
-                    }
-                }
+            if (!entries.isEmpty()) {
+                ourPlayer.setIpHistory(entries);
+                changed = true;
             }
-            
-            // Kit cooldowns from lastClaimed (collected during kit migration)
-            Map<String, Long> cooldowns = kitCooldownsFromKits.get(uuid);
-            if (cooldowns != null && !cooldowns.isEmpty()) {
-                for (Map.Entry<String, Long> entry : cooldowns.entrySet()) {
-                    String kitId = entry.getKey();
-                    long lastUsed = entry.getValue();
-                    if (force || ourPlayer.getKitLastUsed(kitId) == 0L) {
-                        ourPlayer.getKitCooldowns().put(kitId, lastUsed);
+        }
+        
+        // Ignored players - EP stores as array of UUID strings (or usernames; assume UUIDs)
+        if (epUser.ignoredPlayers != null && !epUser.ignoredPlayers.isEmpty()) {
+            if (force || ourPlayer.getIgnoredPlayers().isEmpty()) {
+                if (force) ourPlayer.clearIgnored();
+                for (String ignored : epUser.ignoredPlayers) {
+                    if (ignored == null || ignored.isBlank()) continue;
+                    try {
+                        UUID ignoredUuid = UUID.fromString(ignored);
+                        ourPlayer.addIgnored(ignoredUuid);
                         changed = true;
+                    } catch (IllegalArgumentException ignoredEx) {
+                        // Might be username - we can't resolve, skip
                     }
                 }
             }
-            
-            if (changed) {
-                playerFileStorage.saveAndMarkDirty(uuid);
-                usersImported++;
-                logger.info("[Migration] - Imported user data for " + uuid);
+        }
+        
+        // Kit cooldowns from lastClaimed (collected during kit migration)
+        Map<String, Long> cooldowns = kitCooldownsFromKits.get(uuid);
+        if (cooldowns != null && !cooldowns.isEmpty()) {
+            for (Map.Entry<String, Long> entry : cooldowns.entrySet()) {
+                String kitId = entry.getKey();
+                long lastUsed = entry.getValue();
+                if (force || ourPlayer.getKitLastUsed(kitId) == 0L) {
+                    ourPlayer.getKitCooldowns().put(kitId, lastUsed);
+                    changed = true;
+                }
             }
         }
+        
+        if (changed) {
+            importer.markChanged(ourPlayer);
+            usersImported++;
+            logger.info("[Migration] - Imported user data for " + uuid);
+        }
     }
 
     
@@ -634,14 +664,6 @@ public class EssentialsPlusMigrationService {
         float z; // roll
     }
     
-    /**
-     * EssentialsPlus warps.json file format.
-     */
-    private static class EssentialsPlusWarpsFile {
-        String version;
-        List<EssentialsPlusWarp> warps;
-    }
-    
     /**
      * EssentialsPlus warp entry.
      */
@@ -652,14 +674,6 @@ public class EssentialsPlusMigrationService {
         String world;
     }
     
-    /**
-     * EssentialsPlus homes.json file format.
-     */
-    private static class EssentialsPlusHomesFile {
-        String version;
-        List<EssentialsPlusHome> homes;
-    }
-    
     /**
      * EssentialsPlus home entry.
      */
@@ -671,14 +685,6 @@ public class EssentialsPlusMigrationService {
         String world;
     }
     
-    /**
-     * EssentialsPlus spawns.json file format.
-     */
-    private static class EssentialsPlusSpawnsFile {
-        String version;
-        List<EssentialsPlusSpawn> spawns;
-    }
-    
     /**
      * EssentialsPlus spawn entry.
      */
@@ -705,6 +711,22 @@ public class EssentialsPlusMigrationService {
         List<String> ignoredPlayers;
     }
     
+    /**
+     * One parsed users/ file, handed from the parse thread to the writer.
+     * uuid is null for invalid file names; user is null for empty or unreadable files.
+     */
+    private static class UserRecord {
+        final UUID uuid;
+        final EssentialsPlusUser user;
+        final String error;
+        
+        UserRecord(UUID uuid, EssentialsPlusUser user, String error) {
+            this.uuid = uuid;
+            this.user = user;
+            this.error = error;
+        }
+    }
+    
     /**
      * EssentialsPlus IP history entry.
      */
@@ -761,11 +783,16 @@ public class EssentialsPlusMigrationService {
         private final int spawnsImported;
         private final int usersImported;
         private final List<String> errors;
+        private final boolean dryRun;
+        private final List<StreamingImporter.StageTiming> timings;
         
-        public MigrationResult(boolean success, int warpsImported, int kitsImported,
+        public MigrationResult(boolean success, boolean dryRun, int warpsImported, int kitsImported,
                               int playersImported, int homesImported, int spawnsImported,
-                              int usersImported, List<String> errors) {
+                              int usersImported, List<String> errors,
+                              List<StreamingImporter.StageTiming> timings) {
             this.success = success;
+            this.dryRun = dryRun;
+            this.timings = timings;
             this.warpsImported = warpsImported;
             this.kitsImported = kitsImported;
             this.playersImported = playersImported;
@@ -776,6 +803,8 @@ public class EssentialsPlusMigrationService {
         }
         
         public boolean isSuccess() { return success; }
+        public boolean isDryRun() { return dryRun; }
+        public List<StreamingImporter.StageTiming> getTimings() { return timings; }
         public int getWarpsImported() { return warpsImported; }
         public int getKitsImported() { return kitsImported; }
         public int getPlayersImported() { return playersImported; }
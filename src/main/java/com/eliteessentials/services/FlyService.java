@@ -6,11 +6,9 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3f;
-import com.hypixel.hytale.protocol.BlockMaterial;
 import com.hypixel.hytale.protocol.MovementStates;
 import com.hypixel.hytale.protocol.SavedMovementStates;
 import com.hypixel.hytale.protocol.packets.player.SetMovementStates;
-import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
 import com.hypixel.hytale.server.core.entity.entities.player.movement.MovementManager;
 import com.hypixel.hytale.server.core.entity.movement.MovementStatesComponent;
 import com.hypixel.hytale.server.core.modules.entity.component.HeadRotation;
@@ -22,7 +20,9 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.eliteessentials.config.PluginConfig;
+import com.eliteessentials.util.ChunkColumns;
 import com.eliteessentials.util.MessageFormatter;
+import com.eliteessentials.util.TeleportUtil;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -41,7 +41,6 @@ import java.util.logging.Logger;
  */
 public class FlyService {
 
-    private static final int MAX_HEIGHT = 256;
     private static final Logger logger = Logger.getLogger("EliteEssentials");
 
     private final ConfigManager configManager;
@@ -160,7 +159,7 @@ public class FlyService {
             WorldChunk chunk = world.getChunk(chunkIndex);
             if (chunk == null) return;
 
-            Integer groundY = findHighestSolidBlock(chunk, blockX, blockZ, (int) pos.y);
+            Integer groundY = ChunkColumns.findHighestSolidBelow(world, chunk, blockX, blockZ, (int) pos.y);
             if (groundY == null) return;
 
             // Only teleport if player is above the ground (would actually fall)
@@ -180,25 +179,12 @@ public class FlyService {
 
             Teleport teleport = Teleport.createForPlayer(world, targetPos, targetRot);
             store.addComponent(ref, Teleport.getComponentType(), teleport);
+            TeleportUtil.reanchorFrozen(player.getUuid(), targetPos);
         } catch (Exception e) {
             logger.warning("[FlyService] Safe landing failed: " + e.getMessage());
         }
     }
 
-    /**
-     * Finds the highest solid block at the given X/Z position, starting from the player's Y level downward.
-     */
-    private Integer findHighestSolidBlock(WorldChunk chunk, int x, int z, int startY) {
-        int scanFrom = Math.min(startY, MAX_HEIGHT);
-        for (int y = scanFrom; y >= 0; y--) {
-            BlockType blockType = chunk.getBlockType(x, y, z);
-            if (blockType != null && blockType.getMaterial() == BlockMaterial.Solid) {
-                return y;
-            }
-        }
-        return null;
-    }
-
     /**
      * Shutdown the scheduler. Call on plugin disable.
      */
@@ -9,8 +9,6 @@ import com.hypixel.hytale.protocol.MovementSettings;
 import com.hypixel.hytale.server.core.entity.entities.player.movement.MovementConfig;
 import com.hypixel.hytale.server.core.entity.entities.player.movement.MovementManager;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
-import com.hypixel.hytale.server.core.universe.Universe;
-import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import java.io.*;
@@ -18,17 +16,15 @@ import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 /**
  * Manages frozen players.
  * Freeze works by setting all movement speeds to 0 via MovementSettings.
- * A scheduled enforcement loop re-applies freeze every 500ms to prevent
- * the engine from resetting movement (e.g. on respawn, game mode change).
+ * The engine can reset movement (e.g. on respawn, game mode change), so
+ * FreezeEnforcementSystem watches frozen players' positions on the world tick and,
+ * once a player drifts past the configured threshold, re-applies the freeze and puts
+ * them back where it was first applied.
  * State persists across restarts via freezes.json.
  */
 public class FreezeService {
@@ -36,50 +32,110 @@ public class FreezeService {
     private static final Logger logger = Logger.getLogger("EliteEssentials");
     private static final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
     private static final Type FREEZE_MAP_TYPE = new TypeToken<Map<String, FreezeEntry>>(){}.getType();
-    private static final long ENFORCE_INTERVAL_MS = 500;
+
+    /** Outcome of {@link #checkDrift}. */
+    public enum Drift {
+        /** Within the threshold of the anchor; nothing to do */
+        HELD,
+        /** First observation since the anchor was cleared; anchored here, re-apply the freeze in place */
+        ANCHORED,
+        /** Drifted off the anchor; re-apply the freeze and move the player back to it */
+        DRIFTED
+    }
 
     private final File freezeFile;
     private final Object fileLock = new Object();
-    private final Map<String, FreezeEntry> frozenPlayers = new ConcurrentHashMap<>();
-    private ScheduledExecutorService scheduler;
-    private ScheduledFuture<?> enforcementTask;
+    private final Map<UUID, FreezeEntry> frozenPlayers = new ConcurrentHashMap<>();
+    // Position the player is held at; only touched on the player's world thread
+    private final Map<UUID, double[]> anchors = new ConcurrentHashMap<>();
+    private volatile boolean enforcing;
+    private volatile double driftThresholdSq = 0.25;
 
     public FreezeService(File dataFolder) {
         this.freezeFile = new File(dataFolder, "freezes.json");
         load();
     }
 
-    /** Start the periodic enforcement loop that re-applies freeze to online players. */
+    /** Enable drift-triggered enforcement (FreezeEnforcementSystem must be registered). */
     public void start() {
-        if (scheduler != null) return;
-        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "EliteEssentials-FreezeEnforce");
-            t.setDaemon(true);
-            return t;
-        });
-        enforcementTask = scheduler.scheduleAtFixedRate(
-                this::enforceAllFrozen, ENFORCE_INTERVAL_MS, ENFORCE_INTERVAL_MS, TimeUnit.MILLISECONDS);
-        logger.info("[FreezeService] Enforcement loop started (interval: " + ENFORCE_INTERVAL_MS + "ms).");
-    }
-
-    /** Stop the enforcement loop. Call on plugin disable. */
+        enforcing = true;
+        logger.info("[FreezeService] Movement-triggered enforcement enabled.");
+    }
+
+    /** Stop enforcement. Call on plugin disable. */
     public void shutdown() {
-        if (enforcementTask != null) {
-            enforcementTask.cancel(false);
-            enforcementTask = null;
+        enforcing = false;
+        anchors.clear();
+    }
+
+    public boolean isEnforcing() {
+        return enforcing;
+    }
+
+    /**
+     * Set how far (in blocks) a frozen player may drift before freeze is re-applied.
+     */
+    public void setDriftThreshold(double blocks) {
+        double threshold = Math.max(0.05, blocks);
+        this.driftThresholdSq = threshold * threshold;
+    }
+
+    /**
+     * @return true if there is at least one frozen player (cheap check for the tick system)
+     */
+    public boolean hasFrozenPlayers() {
+        return !frozenPlayers.isEmpty();
+    }
+
+    /**
+     * Compare a frozen player's position with their anchor.
+     * The first observation after a freeze (or join) sets the anchor. After that the anchor
+     * stays put: movement beyond the drift threshold is undone by moving the player back to
+     * it, so repeated small drifts cannot add up, and neither can one long move sent by the
+     * client. Only the server moves the anchor, through {@link #reanchor}.
+     * Must be called on the player's world thread.
+     */
+    public Drift checkDrift(UUID playerId, double x, double y, double z) {
+        double[] anchor = anchors.get(playerId);
+        if (anchor == null) {
+            anchors.put(playerId, new double[] {x, y, z});
+            return Drift.ANCHORED;
         }
-        if (scheduler != null) {
-            scheduler.shutdown();
-            try {
-                if (!scheduler.awaitTermination(3, TimeUnit.SECONDS)) {
-                    scheduler.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                scheduler.shutdownNow();
-            }
-            scheduler = null;
+        double dx = x - anchor[0];
+        double dy = y - anchor[1];
+        double dz = z - anchor[2];
+        double distSq = dx * dx + dy * dy + dz * dz;
+        if (distSq <= driftThresholdSq) {
+            return Drift.HELD;
         }
+        return Drift.DRIFTED;
+    }
+
+    /**
+     * Position a frozen player is held at, or null before the first observation.
+     * The returned array is {x, y, z}; do not modify it.
+     */
+    public double[] getAnchor(UUID playerId) {
+        return anchors.get(playerId);
+    }
+
+    /**
+     * Hold a frozen player at the position the server is teleporting them to, so the
+     * teleport is not undone as drift. No-op for players who are not frozen.
+     */
+    public void reanchor(UUID playerId, double x, double y, double z) {
+        if (playerId == null || !frozenPlayers.containsKey(playerId)) return;
+        anchors.put(playerId, new double[] {x, y, z});
+    }
+
+    /**
+     * Forget a player's anchor so the next observation sets a fresh one.
+     * Called on join and quit, so a rejoining player is not compared with (or pulled
+     * back to) where they stood in an earlier session, and on respawn, where the
+     * engine picks the position.
+     */
+    public void clearAnchor(UUID playerId) {
+        anchors.remove(playerId);
     }
 
     public void load() {
@@ -90,8 +146,15 @@ public class FreezeService {
             try (Reader reader = new InputStreamReader(new FileInputStream(freezeFile), StandardCharsets.UTF_8)) {
                 Map<String, FreezeEntry> loaded = gson.fromJson(reader, FREEZE_MAP_TYPE);
                 frozenPlayers.clear();
+                anchors.clear();
                 if (loaded != null) {
-                    frozenPlayers.putAll(loaded);
+                    for (Map.Entry<String, FreezeEntry> entry : loaded.entrySet()) {
+                        try {
+                            frozenPlayers.put(UUID.fromString(entry.getKey()), entry.getValue());
+                        } catch (IllegalArgumentException e) {
+                            logger.warning("[FreezeService] Skipping invalid UUID in freezes.json: " + entry.getKey());
+                        }
+                    }
                 }
                 logger.info("[FreezeService] Loaded " + frozenPlayers.size() + " frozen players.");
             } catch (IOException e) {
@@ -102,8 +165,12 @@ public class FreezeService {
 
     private void save() {
         synchronized (fileLock) {
+            Map<String, FreezeEntry> out = new LinkedHashMap<>();
+            for (Map.Entry<UUID, FreezeEntry> entry : frozenPlayers.entrySet()) {
+                out.put(entry.getKey().toString(), entry.getValue());
+            }
             try (Writer writer = new OutputStreamWriter(new FileOutputStream(freezeFile), StandardCharsets.UTF_8)) {
-                gson.toJson(frozenPlayers, FREEZE_MAP_TYPE, writer);
+                gson.toJson(out, FREEZE_MAP_TYPE, writer);
             } catch (IOException e) {
                 logger.severe("Could not save freezes.json: " + e.getMessage());
             }
@@ -111,21 +178,22 @@ public class FreezeService {
     }
 
     public boolean freeze(UUID playerId, String playerName, String frozenBy) {
-        String key = playerId.toString();
-        if (frozenPlayers.containsKey(key)) {
+        if (frozenPlayers.containsKey(playerId)) {
             return false;
         }
         FreezeEntry entry = new FreezeEntry();
         entry.playerName = playerName;
         entry.frozenBy = frozenBy;
         entry.frozenAt = System.currentTimeMillis();
-        frozenPlayers.put(key, entry);
+        anchors.remove(playerId);
+        frozenPlayers.put(playerId, entry);
         save();
         return true;
     }
 
     public boolean unfreeze(UUID playerId) {
-        if (frozenPlayers.remove(playerId.toString()) != null) {
+        anchors.remove(playerId);
+        if (frozenPlayers.remove(playerId) != null) {
             save();
             return true;
         }
@@ -137,10 +205,11 @@ public class FreezeService {
      * @return the UUID that was unfrozen, or null if not found
      */
     public UUID unfreezeByName(String playerName) {
-        for (Map.Entry<String, FreezeEntry> entry : frozenPlayers.entrySet()) {
+        for (Map.Entry<UUID, FreezeEntry> entry : frozenPlayers.entrySet()) {
             if (entry.getValue().playerName != null && entry.getValue().playerName.equalsIgnoreCase(playerName)) {
-                UUID uuid = UUID.fromString(entry.getKey());
-                frozenPlayers.remove(entry.getKey());
+                UUID uuid = entry.getKey();
+                frozenPlayers.remove(uuid);
+                anchors.remove(uuid);
                 save();
                 return uuid;
             }
@@ -149,11 +218,11 @@ public class FreezeService {
     }
 
     public boolean isFrozen(UUID playerId) {
-        return frozenPlayers.containsKey(playerId.toString());
+        return frozenPlayers.containsKey(playerId);
     }
 
     public FreezeEntry getFreezeEntry(UUID playerId) {
-        return frozenPlayers.get(playerId.toString());
+        return frozenPlayers.get(playerId);
     }
 
     /** Get the number of currently frozen players. */
@@ -195,45 +264,6 @@ public class FreezeService {
         movementManager.update(playerRef.getPacketHandler());
     }
 
-    /**
-     * Periodic enforcement: re-apply freeze to all frozen online players.
-     * Runs off the main thread, dispatches to each player's world thread.
-     */
-    private void enforceAllFrozen() {
-        if (frozenPlayers.isEmpty()) return;
-        Universe universe = Universe.get();
-        if (universe == null) return;
-
-        for (String key : frozenPlayers.keySet()) {
-            try {
-                UUID playerId = UUID.fromString(key);
-                PlayerRef playerRef = universe.getPlayer(playerId);
-                if (playerRef == null || !playerRef.isValid()) continue;
-
-                Ref<EntityStore> ref = playerRef.getReference();
-                if (ref == null || !ref.isValid()) continue;
-
-                Store<EntityStore> store = ref.getStore();
-                EntityStore entityStore = store.getExternalData();
-                World world = entityStore != null ? entityStore.getWorld() : null;
-                if (world == null) continue;
-
-                world.execute(() -> {
-                    try {
-                        Ref<EntityStore> freshRef = playerRef.getReference();
-                        if (freshRef == null || !freshRef.isValid()) return;
-                        Store<EntityStore> freshStore = freshRef.getStore();
-                        applyFreeze(freshStore, freshRef, playerRef);
-                    } catch (Exception e) {
-                        // Silently ignore - player may have disconnected
-                    }
-                });
-            } catch (Exception e) {
-                // Malformed UUID or other issue - skip
-            }
-        }
-    }
-
     public static class FreezeEntry {
         public String playerName;
         public String frozenBy;
@@ -10,6 +10,8 @@ import com.eliteessentials.storage.GreetingStorage;
 import com.eliteessentials.storage.GreetingStorage.GreetingConditions;
 import com.eliteessentials.storage.GreetingStorage.GreetingRule;
 import com.eliteessentials.util.MessageFormatter;
+import com.eliteessentials.util.WorldBlacklistUtil;
+import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 
 import java.util.*;
@@ -17,6 +19,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 
 /**
@@ -28,6 +31,11 @@ import java.util.logging.Logger;
  *  - respawn:      player respawns after death
  *
  * Conditions are AND between types, OR within lists.
+ *
+ * greetings.json is compiled on load/reload: enabled rules are grouped by trigger,
+ * conditions become predicates (world patterns pre-compiled, names lowercased), and
+ * message lines become templates. Lines without per-player placeholders are formatted
+ * once at compile time.
  */
 public class GreetingService {
 
@@ -40,6 +48,9 @@ public class GreetingService {
     /** Track showOnce rules: playerId -> set of rule IDs already shown this session */
     private final ConcurrentHashMap<UUID, Set<String>> shownRules = new ConcurrentHashMap<>();
 
+    /** Lowercase trigger -> enabled rules for it, in file order. Replaced whole on reload. */
+    private volatile Map<String, List<CompiledRule>> rulesByTrigger = Collections.emptyMap();
+
     public GreetingService(GreetingStorage greetingStorage, ConfigManager configManager) {
         this.greetingStorage = greetingStorage;
         this.configManager = configManager;
@@ -48,6 +59,7 @@ public class GreetingService {
             t.setDaemon(true);
             return t;
         });
+        compileRules();
     }
 
     /**
@@ -66,12 +78,14 @@ public class GreetingService {
         PluginConfig config = configManager.getConfig();
         if (!config.greetings.enabled) return;
 
+        List<CompiledRule> rules = rulesByTrigger.get(trigger.toLowerCase(Locale.ROOT));
+        if (rules == null) return;
+
         UUID playerId = playerRef.getUuid();
-        List<GreetingRule> rules = greetingStorage.getRules();
+        GreetingContext context = new GreetingContext(playerId, worldName, isFirstJoin, spawnName);
 
-        for (GreetingRule rule : rules) {
-            if (!rule.enabled) continue;
-            if (!trigger.equalsIgnoreCase(rule.trigger)) continue;
+        for (CompiledRule compiled : rules) {
+            GreetingRule rule = compiled.rule;
 
             // Check showOnce: skip if already shown this session
             if (rule.showOnce) {
@@ -79,7 +93,7 @@ public class GreetingService {
                 if (shown != null && shown.contains(rule.id)) continue;
             }
 
-            if (!matchesConditions(rule.conditions, playerId, playerRef, worldName, isFirstJoin, spawnName)) {
+            if (!compiled.matches(context)) {
                 continue;
             }
 
@@ -103,11 +117,10 @@ public class GreetingService {
 
             // Send messages (with optional delay)
             if (rule.delaySeconds > 0) {
-                final GreetingRule matchedRule = rule;
-                scheduler.schedule(() -> sendMessages(playerRef, matchedRule, worldName, spawnName),
+                scheduler.schedule(() -> sendMessages(playerRef, compiled, worldName, spawnName),
                         rule.delaySeconds, TimeUnit.SECONDS);
             } else {
-                sendMessages(playerRef, rule, worldName, spawnName);
+                sendMessages(playerRef, compiled, worldName, spawnName);
             }
 
             if (rule.stopAfterMatch) {
@@ -128,6 +141,7 @@ public class GreetingService {
      */
     public void reload() {
         greetingStorage.load();
+        compileRules();
     }
 
     public void shutdown() {
@@ -142,115 +156,249 @@ public class GreetingService {
         }
     }
 
-    // ==================== CONDITION MATCHING ====================
+    // ==================== COMPILATION ====================
 
-    private boolean matchesConditions(GreetingConditions cond, UUID playerId,
-                                       PlayerRef playerRef, String worldName,
-                                       boolean isFirstJoin, String spawnName) {
-        if (cond == null) return true;
+    /**
+     * Build the per-trigger rule lists from the loaded greetings.json.
+     */
+    private void compileRules() {
+        PluginConfig config = configManager.getConfig();
+        Map<String, List<CompiledRule>> compiled = new HashMap<>();
+        for (GreetingRule rule : greetingStorage.getRules()) {
+            if (rule == null || !rule.enabled || rule.trigger == null) continue;
+            compiled.computeIfAbsent(rule.trigger.toLowerCase(Locale.ROOT), k -> new ArrayList<>())
+                    .add(new CompiledRule(rule, config.motd.serverName, config.chatFormat.placeholderapi));
+        }
+        rulesByTrigger = compiled;
+    }
 
-        // firstJoin check
-        if (cond.firstJoin != null && cond.firstJoin != isFirstJoin) {
-            return false;
+    /**
+     * The facts about one event that rule conditions test. Group lookups are done at most once.
+     */
+    private static final class GreetingContext {
+        final UUID playerId;
+        final String worldName;
+        final boolean firstJoin;
+        final String spawnName;
+        private Set<String> groups;
+
+        GreetingContext(UUID playerId, String worldName, boolean firstJoin, String spawnName) {
+            this.playerId = playerId;
+            this.worldName = worldName;
+            this.firstJoin = firstJoin;
+            this.spawnName = spawnName;
         }
 
-        // Groups check (OR within list)
-        if (cond.groups != null && !cond.groups.isEmpty()) {
-            List<String> playerGroups = getPlayerGroups(playerId);
-            boolean anyMatch = false;
-            for (String requiredGroup : cond.groups) {
-                for (String playerGroup : playerGroups) {
-                    if (playerGroup.equalsIgnoreCase(requiredGroup)) {
-                        anyMatch = true;
-                        break;
+        Set<String> groups() {
+            if (groups == null) {
+                groups = new HashSet<>();
+                try {
+                    for (String group : LuckPermsIntegration.getGroups(playerId)) {
+                        groups.add(group.toLowerCase(Locale.ROOT));
                     }
+                } catch (Exception e) {
+                    // No groups
                 }
-                if (anyMatch) break;
             }
-            if (!anyMatch) return false;
+            return groups;
         }
+    }
 
-        // Permissions check (OR within list)
-        if (cond.permissions != null && !cond.permissions.isEmpty()) {
-            PermissionService perms = PermissionService.get();
-            boolean anyMatch = false;
-            for (String perm : cond.permissions) {
-                if (perms.hasPermission(playerId, perm)) {
-                    anyMatch = true;
-                    break;
+    /**
+     * A rule with its conditions turned into predicates (cheapest first) and its
+     * message lines into templates.
+     */
+    private static final class CompiledRule {
+        final GreetingRule rule;
+        final List<Predicate<GreetingContext>> conditions = new ArrayList<>();
+        final List<LineTemplate> lines = new ArrayList<>();
+        final EnumSet<Placeholder> placeholders = EnumSet.noneOf(Placeholder.class);
+
+        CompiledRule(GreetingRule rule, String serverName, boolean placeholderApi) {
+            this.rule = rule;
+            compileConditions(rule.conditions);
+            if (rule.messages != null) {
+                for (String line : rule.messages) {
+                    if (line == null) continue;
+                    LineTemplate template = new LineTemplate(line.replace("{server}", serverName), placeholderApi);
+                    lines.add(template);
+                    placeholders.addAll(Arrays.asList(template.tokens));
                 }
             }
-            if (!anyMatch) return false;
         }
 
-        // Worlds check (OR within list, supports * wildcards)
-        if (cond.worlds != null && !cond.worlds.isEmpty() && worldName != null) {
-            boolean anyMatch = false;
-            for (String pattern : cond.worlds) {
-                if (worldMatchesPattern(worldName, pattern)) {
-                    anyMatch = true;
-                    break;
-                }
+        private void compileConditions(GreetingConditions cond) {
+            if (cond == null) return;
+
+            // firstJoin check
+            if (cond.firstJoin != null) {
+                boolean required = cond.firstJoin;
+                conditions.add(ctx -> ctx.firstJoin == required);
+            }
+
+            // Spawns check (OR within list)
+            if (cond.spawns != null && !cond.spawns.isEmpty()) {
+                Set<String> spawns = lowercase(cond.spawns);
+                conditions.add(ctx -> ctx.spawnName != null && spawns.contains(ctx.spawnName.toLowerCase(Locale.ROOT)));
+            }
+
+            // Worlds check (OR within list, supports * wildcards); skipped when the world is unknown
+            if (cond.worlds != null && !cond.worlds.isEmpty()) {
+                WorldBlacklistUtil.WorldMatcher worlds = WorldBlacklistUtil.compile(cond.worlds);
+                conditions.add(ctx -> ctx.worldName == null || worlds.matches(ctx.worldName));
+            }
+
+            // Permissions check (OR within list)
+            if (cond.permissions != null && !cond.permissions.isEmpty()) {
+                List<String> permissions = new ArrayList<>(cond.permissions);
+                conditions.add(ctx -> {
+                    PermissionService perms = PermissionService.get();
+                    for (String perm : permissions) {
+                        if (perms.hasPermission(ctx.playerId, perm)) return true;
+                    }
+                    return false;
+                });
+            }
+
+            // Groups check (OR within list)
+            if (cond.groups != null && !cond.groups.isEmpty()) {
+                Set<String> groups = lowercase(cond.groups);
+                conditions.add(ctx -> {
+                    for (String group : ctx.groups()) {
+                        if (groups.contains(group)) return true;
+                    }
+                    return false;
+                });
+            }
+        }
+
+        boolean matches(GreetingContext context) {
+            for (Predicate<GreetingContext> condition : conditions) {
+                if (!condition.test(context)) return false;
             }
-            if (!anyMatch) return false;
+            return true;
         }
 
-        // Spawns check (OR within list)
-        if (cond.spawns != null && !cond.spawns.isEmpty()) {
-            if (spawnName == null) return false;
-            boolean anyMatch = false;
-            for (String s : cond.spawns) {
-                if (s.equalsIgnoreCase(spawnName)) {
-                    anyMatch = true;
-                    break;
+        private static Set<String> lowercase(List<String> values) {
+            Set<String> result = new HashSet<>();
+            for (String value : values) {
+                if (value != null) result.add(value.toLowerCase(Locale.ROOT));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Per-player placeholders a message line can use ({server} is filled in at compile time).
+     */
+    private enum Placeholder {
+        PLAYER("{player}"),
+        DISPLAYNAME("{displayname}"),
+        WORLD("{world}"),
+        PLAYERCOUNT("{playercount}"),
+        GROUP("{group}"),
+        SPAWN("{spawn}");
+
+        final String token;
+
+        Placeholder(String token) {
+            this.token = token;
+        }
+    }
+
+    /**
+     * A message line split into literal text and placeholders. Lines with no
+     * per-player content are formatted once here.
+     */
+    private static final class LineTemplate {
+        final String[] literals;
+        final Placeholder[] tokens;
+        final boolean placeholderApi;
+        final Message rendered;
+
+        LineTemplate(String line, boolean placeholderApi) {
+            List<String> literalList = new ArrayList<>();
+            List<Placeholder> tokenList = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            int i = 0;
+            outer:
+            while (i < line.length()) {
+                if (line.charAt(i) == '{') {
+                    for (Placeholder placeholder : Placeholder.values()) {
+                        if (line.startsWith(placeholder.token, i)) {
+                            literalList.add(literal.toString());
+                            literal.setLength(0);
+                            tokenList.add(placeholder);
+                            i += placeholder.token.length();
+                            continue outer;
+                        }
+                    }
                 }
+                literal.append(line.charAt(i++));
             }
-            if (!anyMatch) return false;
+            literalList.add(literal.toString());
+
+            this.literals = literalList.toArray(new String[0]);
+            this.tokens = tokenList.toArray(new Placeholder[0]);
+            // PlaceholderAPI only touches %...% placeholders
+            this.placeholderApi = placeholderApi && line.indexOf('%') >= 0;
+            this.rendered = tokens.length == 0 && !this.placeholderApi ? MessageFormatter.format(line) : null;
         }
 
-        return true;
+        String fill(String[] values) {
+            StringBuilder sb = new StringBuilder(literals[0]);
+            for (int i = 0; i < tokens.length; i++) {
+                sb.append(values[tokens[i].ordinal()]).append(literals[i + 1]);
+            }
+            return sb.toString();
+        }
     }
 
     // ==================== MESSAGE SENDING ====================
 
-    private void sendMessages(PlayerRef playerRef, GreetingRule rule,
+    private void sendMessages(PlayerRef playerRef, CompiledRule compiled,
                                String worldName, String spawnName) {
-        if (rule.messages == null || rule.messages.isEmpty()) return;
+        GreetingRule rule = compiled.rule;
+        if (compiled.lines.isEmpty()) return;
         if (!playerRef.isValid()) return;
 
-        PluginConfig config = configManager.getConfig();
+        // Only look up what the rule's lines use
+        String[] values = new String[Placeholder.values().length];
         String playerName = playerRef.getUsername();
+        for (Placeholder placeholder : compiled.placeholders) {
+            switch (placeholder) {
+                case PLAYER -> values[placeholder.ordinal()] = playerName;
+                case DISPLAYNAME -> {
+                    // Use display name (nick) if available
+                    NickService nickService = com.eliteessentials.EliteEssentials.getInstance().getNickService();
+                    values[placeholder.ordinal()] = (nickService != null)
+                            ? nickService.getDisplayName(playerRef.getUuid(), playerName)
+                            : playerName;
+                }
+                case WORLD -> values[placeholder.ordinal()] = worldName != null ? worldName : "";
+                case PLAYERCOUNT -> values[placeholder.ordinal()] = String.valueOf(getVisiblePlayerCount());
+                case GROUP -> {
+                    String group = getPrimaryGroup(playerRef.getUuid());
+                    values[placeholder.ordinal()] = group != null ? group : "";
+                }
+                case SPAWN -> values[placeholder.ordinal()] = spawnName != null ? spawnName : "";
+            }
+        }
 
-        // Use display name (nick) if available
-        NickService nickService = com.eliteessentials.EliteEssentials.getInstance().getNickService();
-        String displayName = (nickService != null)
-                ? nickService.getDisplayName(playerRef.getUuid(), playerName)
-                : playerName;
-
-        String serverName = config.motd.serverName;
-        String group = getPrimaryGroup(playerRef.getUuid());
-        int playerCount = getVisiblePlayerCount();
-
-        for (String line : rule.messages) {
-            if (line == null) continue;
-
-            String processed = line
-                    .replace("{player}", playerName)
-                    .replace("{displayname}", displayName)
-                    .replace("{server}", serverName)
-                    .replace("{world}", worldName != null ? worldName : "")
-                    .replace("{playercount}", String.valueOf(playerCount))
-                    .replace("{group}", group != null ? group : "")
-                    .replace("{spawn}", spawnName != null ? spawnName : "");
-
-            if (config.chatFormat.placeholderapi) {
-                processed = PAPIIntegration.setPlaceholders(playerRef, processed);
+        for (LineTemplate line : compiled.lines) {
+            Message message = line.rendered;
+            if (message == null) {
+                String processed = line.fill(values);
+                if (line.placeholderApi) {
+                    processed = PAPIIntegration.setPlaceholders(playerRef, processed);
+                }
+                message = MessageFormatter.format(processed);
             }
 
             if (rule.broadcast) {
-                broadcastGreeting(processed, playerRef);
+                broadcastGreeting(message, playerRef);
             } else {
-                playerRef.sendMessage(MessageFormatter.format(processed));
+                playerRef.sendMessage(message);
             }
         }
 
@@ -266,12 +414,11 @@ public class GreetingService {
      * but the triggering player's identity is not hidden (they chose to
      * have a broadcast greeting, so visibility is intentional).
      */
-    private void broadcastGreeting(String formattedLine, PlayerRef triggeringPlayer) {
+    private void broadcastGreeting(Message message, PlayerRef triggeringPlayer) {
         try {
             var universe = com.hypixel.hytale.server.core.universe.Universe.get();
             if (universe == null) return;
 
-            var message = MessageFormatter.format(formattedLine);
             for (PlayerRef player : universe.getPlayers()) {
                 try {
                     if (player.isValid()) {
@@ -288,14 +435,6 @@ public class GreetingService {
 
     // ==================== HELPERS ====================
 
-    private List<String> getPlayerGroups(UUID playerId) {
-        try {
-            return LuckPermsIntegration.getGroups(playerId);
-        } catch (Exception e) {
-            return Collections.emptyList();
-        }
-    }
-
     private String getPrimaryGroup(UUID playerId) {
         try {
             return LuckPermsIntegration.getPrimaryGroup(playerId);
@@ -318,16 +457,4 @@ public class GreetingService {
         }
     }
 
-    private boolean worldMatchesPattern(String worldName, String pattern) {
-        if (!pattern.contains("*")) {
-            return pattern.equalsIgnoreCase(worldName);
-        }
-        String[] parts = pattern.split("\\*", -1);
-        StringBuilder sb = new StringBuilder("(?i)");
-        for (int i = 0; i < parts.length; i++) {
-            if (i > 0) sb.append(".*");
-            sb.append(java.util.regex.Pattern.quote(parts[i]));
-        }
-        return worldName.matches(sb.toString());
-    }
 }
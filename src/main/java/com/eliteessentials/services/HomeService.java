@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 /**
@@ -23,6 +24,7 @@ public class HomeService {
     private static final Logger logger = Logger.getLogger("EliteEssentials");
 
     private final PlayerStorageProvider storage;
+    private final AtomicLong revision = new AtomicLong();
 
     public HomeService(PlayerStorageProvider storage) {
         this.storage = storage;
@@ -70,6 +72,7 @@ public class HomeService {
 
         Home home = new Home(normalizedName, location);
         playerFile.setHome(home);
+        revision.incrementAndGet();
         
         // Persist immediately to disk so data isn't lost on crash
         storage.saveAndMarkDirty(playerId);
@@ -109,6 +112,7 @@ public class HomeService {
         if (!deleted) {
             return Result.HOME_NOT_FOUND;
         }
+        revision.incrementAndGet();
         
         // Persist the change to disk
         storage.saveAndMarkDirty(playerId);
@@ -150,6 +154,7 @@ public class HomeService {
         home.setName(newKey);
         playerFile.deleteHome(oldKey);
         playerFile.setHome(home);
+        revision.incrementAndGet();
 
         storage.saveAndMarkDirty(playerId);
 
@@ -157,6 +162,14 @@ public class HomeService {
         return Result.SUCCESS;
     }
 
+    /**
+     * Incremented whenever a home is set, renamed or deleted (for any player), so the
+     * homes GUI can reuse its sorted list until then.
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
     /**
      * Get all homes for a player.
      */
@@ -2,13 +2,10 @@ package com.eliteessentials.services;
 
 import com.eliteessentials.model.*;
 import com.eliteessentials.storage.PlayerStorageProvider;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 
 import java.io.*;
 import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.logging.Logger;
 
@@ -21,7 +18,7 @@ import java.util.logging.Logger;
 public class HomesPlusMigrationService {
     
     private static final Logger logger = Logger.getLogger("EliteEssentials");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Type PLAYER_HOMES_TYPE = new TypeToken<Map<String, HomesPlusLocation>>(){}.getType();
     
     private final File modsFolder;
     private final PlayerStorageProvider playerFileStorage;
@@ -30,6 +27,7 @@ public class HomesPlusMigrationService {
     private int playersImported = 0;
     private int homesImported = 0;
     private final List<String> errors = new ArrayList<>();
+    private StreamingImporter importer;
     
     public HomesPlusMigrationService(File dataFolder, PlayerStorageProvider playerFileStorage) {
         this.modsFolder = dataFolder.getParentFile();
@@ -56,23 +54,34 @@ public class HomesPlusMigrationService {
      * @return MigrationResult with stats and any errors
      */
     public MigrationResult migrate() {
+        return migrate(false);
+    }
+    
+    /**
+     * Run the full migration.
+     * @param dryRun if true, only count what would be imported without writing anything
+     * @return MigrationResult with stats and any errors
+     */
+    public MigrationResult migrate(boolean dryRun) {
         playersImported = 0;
         homesImported = 0;
         errors.clear();
+        importer = new StreamingImporter(playerFileStorage, dryRun, errors);
         
         File homesPlusFolder = getHomesPlusFolder();
         
         if (!homesPlusFolder.exists()) {
             errors.add("HomesPlus folder not found at: " + homesPlusFolder.getAbsolutePath());
-            return new MigrationResult(false, playersImported, homesImported, errors);
+            return new MigrationResult(false, dryRun, playersImported, homesImported, errors, importer.getTimings());
         }
         
         logger.info("[Migration] ========================================");
-        logger.info("[Migration] Starting HomesPlus migration...");
+        logger.info("[Migration] Starting HomesPlus migration" + (dryRun ? " (DRY RUN)" : "") + "...");
         logger.info("[Migration] Source: " + homesPlusFolder.getAbsolutePath());
         logger.info("[Migration] ========================================");
         
         migrateHomes(homesPlusFolder);
+        List<StreamingImporter.StageTiming> timings = importer.getTimings();
         
         logger.info("[Migration] ========================================");
         logger.info("[Migration] HomesPlus migration complete!");
@@ -83,7 +92,7 @@ public class HomesPlusMigrationService {
         }
         logger.info("[Migration] ========================================");
         
-        return new MigrationResult(errors.isEmpty(), playersImported, homesImported, errors);
+        return new MigrationResult(errors.isEmpty(), dryRun, playersImported, homesImported, errors, timings);
     }
     
     /**
@@ -98,79 +107,89 @@ public class HomesPlusMigrationService {
         }
         
         logger.info("[Migration] Migrating HomesPlus homes.json...");
+        importer.beginStage("homes.json");
         
-        try (Reader reader = new InputStreamReader(new FileInputStream(homesFile), StandardCharsets.UTF_8)) {
-            Type type = new TypeToken<Map<String, Map<String, HomesPlusLocation>>>(){}.getType();
-            Map<String, Map<String, HomesPlusLocation>> hpHomes = gson.fromJson(reader, type);
-            
-            if (hpHomes == null || hpHomes.isEmpty()) {
-                logger.info("[Migration] - No homes found in file.");
-                return;
-            }
-            
-            for (Map.Entry<String, Map<String, HomesPlusLocation>> playerEntry : hpHomes.entrySet()) {
-                String uuidStr = playerEntry.getKey();
-                Map<String, HomesPlusLocation> playerHomes = playerEntry.getValue();
-                
-                if (playerHomes == null || playerHomes.isEmpty()) {
-                    continue;
-                }
-                
-                try {
-                    UUID uuid = UUID.fromString(uuidStr);
-                    
-                    PlayerFile ourPlayer = playerFileStorage.getPlayer(uuid);
-                    if (ourPlayer == null) {
-                        ourPlayer = playerFileStorage.getPlayer(uuid, "Unknown");
-                    }
-                    
-                    int homesForPlayer = 0;
-                    for (Map.Entry<String, HomesPlusLocation> homeEntry : playerHomes.entrySet()) {
-                        String homeName = homeEntry.getKey();
-                        HomesPlusLocation hpLoc = homeEntry.getValue();
-                        
-                        if (ourPlayer.hasHome(homeName)) {
-                            logger.info("[Migration] - Skipping home '" + homeName + "' for " + uuidStr + " (already exists)");
-                            continue;
-                        }
-                        
-                        Location location = new Location(
-                            hpLoc.worldName,
-                            hpLoc.x,
-                            hpLoc.y,
-                            hpLoc.z,
-                            hpLoc.yaw,
-                            0f // pitch set to 0 to avoid player tilt
-                        );
-                        
-                        Home home = new Home(homeName, location);
-                        ourPlayer.setHome(home);
-                        homesForPlayer++;
-                        homesImported++;
-                    }
-                    
-                    if (homesForPlayer > 0) {
-                        playerFileStorage.saveAndMarkDirty(uuid);
-                        playersImported++;
-                        logger.info("[Migration] - Imported " + homesForPlayer + " home(s) for player " + uuidStr);
-                    }
-                    
-                } catch (IllegalArgumentException e) {
-                    logger.warning("[Migration] - Skipping invalid UUID: " + uuidStr);
-                }
-            }
-            
+        try {
+            importer.<PlayerHomes>pipe(
+                out -> StreamingImporter.<Map<String, HomesPlusLocation>>forEachEntry(homesFile, PLAYER_HOMES_TYPE,
+                    (uuidStr, homes) -> out.accept(new PlayerHomes(uuidStr, homes))),
+                this::importPlayerHomes
+            );
         } catch (Exception e) {
             String error = "Failed to migrate HomesPlus homes: " + e.getMessage();
             logger.severe("[Migration] " + error);
             errors.add(error);
         }
+        importer.endStage();
         
         logger.info("[Migration] - Migrated " + homesImported + " homes for " + playersImported + " players");
     }
     
+    private void importPlayerHomes(PlayerHomes entry) {
+        String uuidStr = entry.uuid;
+        Map<String, HomesPlusLocation> playerHomes = entry.homes;
+        
+        if (playerHomes == null || playerHomes.isEmpty()) {
+            return;
+        }
+        
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(uuidStr);
+        } catch (IllegalArgumentException e) {
+            logger.warning("[Migration] - Skipping invalid UUID: " + uuidStr);
+            return;
+        }
+        
+        PlayerFile ourPlayer = importer.player(uuid, "Unknown");
+        
+        int homesForPlayer = 0;
+        for (Map.Entry<String, HomesPlusLocation> homeEntry : playerHomes.entrySet()) {
+            String homeName = homeEntry.getKey();
+            HomesPlusLocation hpLoc = homeEntry.getValue();
+            
+            if (ourPlayer.hasHome(homeName)) {
+                logger.info("[Migration] - Skipping home '" + homeName + "' for " + uuidStr + " (already exists)");
+                continue;
+            }
+            
+            Location location = new Location(
+                hpLoc.worldName,
+                hpLoc.x,
+                hpLoc.y,
+                hpLoc.z,
+                hpLoc.yaw,
+                0f // pitch set to 0 to avoid player tilt
+            );
+            
+            Home home = new Home(homeName, location);
+            ourPlayer.setHome(home);
+            homesForPlayer++;
+            homesImported++;
+        }
+        
+        if (homesForPlayer > 0) {
+            importer.markChanged(ourPlayer);
+            playersImported++;
+            logger.info("[Migration] - Imported " + homesForPlayer + " home(s) for player " + uuidStr);
+        }
+    }
+    
     // ==================== Inner Classes ====================
     
+    /**
+     * One player's entry from homes.json, handed from the parse thread to the writer.
+     */
+    private static class PlayerHomes {
+        final String uuid;
+        final Map<String, HomesPlusLocation> homes;
+        
+        PlayerHomes(String uuid, Map<String, HomesPlusLocation> homes) {
+            this.uuid = uuid;
+            this.homes = homes;
+        }
+    }
+    
     private static class HomesPlusLocation {
         String worldName;
         double x;
@@ -184,18 +203,25 @@ public class HomesPlusMigrationService {
     
     public static class MigrationResult {
         private final boolean success;
+        private final boolean dryRun;
         private final int playersImported;
         private final int homesImported;
         private final List<String> errors;
+        private final List<StreamingImporter.StageTiming> timings;
         
-        public MigrationResult(boolean success, int playersImported, int homesImported, List<String> errors) {
+        public MigrationResult(boolean success, boolean dryRun, int playersImported, int homesImported,
+                              List<String> errors, List<StreamingImporter.StageTiming> timings) {
             this.success = success;
+            this.dryRun = dryRun;
             this.playersImported = playersImported;
             this.homesImported = homesImported;
             this.errors = new ArrayList<>(errors);
+            this.timings = timings;
         }
         
         public boolean isSuccess() { return success; }
+        public boolean isDryRun() { return dryRun; }
+        public List<StreamingImporter.StageTiming> getTimings() { return timings; }
         public int getPlayersImported() { return playersImported; }
         public int getHomesImported() { return homesImported; }
         public List<String> getErrors() { return errors; }
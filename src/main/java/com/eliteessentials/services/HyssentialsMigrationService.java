@@ -3,13 +3,10 @@ package com.eliteessentials.services;
 import com.eliteessentials.model.*;
 import com.eliteessentials.storage.GlobalStorageProvider;
 import com.eliteessentials.storage.PlayerStorageProvider;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 
 import java.io.*;
 import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.logging.Logger;
 
@@ -23,7 +20,8 @@ import java.util.logging.Logger;
 public class HyssentialsMigrationService {
     
     private static final Logger logger = Logger.getLogger("EliteEssentials");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Type LOCATION_TYPE = HyssentialsLocation.class;
+    private static final Type PLAYER_HOMES_TYPE = new TypeToken<Map<String, HyssentialsLocation>>(){}.getType();
     
     private final File modsFolder;
     private final GlobalStorageProvider warpStorage;
@@ -34,6 +32,7 @@ public class HyssentialsMigrationService {
     private int playersImported = 0;
     private int homesImported = 0;
     private final List<String> errors = new ArrayList<>();
+    private StreamingImporter importer;
     
     public HyssentialsMigrationService(File dataFolder, GlobalStorageProvider warpStorage, 
                                        PlayerStorageProvider playerFileStorage) {
@@ -63,21 +62,32 @@ public class HyssentialsMigrationService {
      * @return MigrationResult with stats and any errors
      */
     public MigrationResult migrate() {
+        return migrate(false);
+    }
+    
+    /**
+     * Run the full migration.
+     * @param dryRun if true, only count what would be imported without writing anything
+     * @return MigrationResult with stats and any errors
+     */
+    public MigrationResult migrate(boolean dryRun) {
         // Reset stats
         warpsImported = 0;
         playersImported = 0;
         homesImported = 0;
         errors.clear();
+        importer = new StreamingImporter(playerFileStorage, dryRun, errors);
         
         File hyssentialsFolder = getHyssentialsFolder();
         
         if (!hyssentialsFolder.exists()) {
             errors.add("Hyssentials folder not found at: " + hyssentialsFolder.getAbsolutePath());
-            return new MigrationResult(false, warpsImported, playersImported, homesImported, errors);
+            return new MigrationResult(false, dryRun, warpsImported, playersImported, homesImported, errors,
+                    importer.getTimings());
         }
         
         logger.info("[Migration] ========================================");
-        logger.info("[Migration] Starting Hyssentials migration...");
+        logger.info("[Migration] Starting Hyssentials migration" + (dryRun ? " (DRY RUN)" : "") + "...");
         logger.info("[Migration] Source: " + hyssentialsFolder.getAbsolutePath());
         logger.info("[Migration] ========================================");
         
@@ -86,6 +96,7 @@ public class HyssentialsMigrationService {
         
         // Migrate homes
         migrateHomes(hyssentialsFolder);
+        List<StreamingImporter.StageTiming> timings = importer.getTimings();
         
         logger.info("[Migration] ========================================");
         logger.info("[Migration] Hyssentials migration complete!");
@@ -97,7 +108,8 @@ public class HyssentialsMigrationService {
         }
         logger.info("[Migration] ========================================");
         
-        return new MigrationResult(errors.isEmpty(), warpsImported, playersImported, homesImported, errors);
+        return new MigrationResult(errors.isEmpty(), dryRun, warpsImported, playersImported, homesImported, errors,
+                timings);
     }
     
     /**
@@ -113,23 +125,17 @@ public class HyssentialsMigrationService {
         
         logger.info("[Migration] Migrating Hyssentials warps.json...");
         
-        try (Reader reader = new InputStreamReader(new FileInputStream(warpsFile), StandardCharsets.UTF_8)) {
-            Type type = new TypeToken<Map<String, HyssentialsLocation>>(){}.getType();
-            Map<String, HyssentialsLocation> hysWarps = gson.fromJson(reader, type);
-            
-            if (hysWarps == null || hysWarps.isEmpty()) {
-                logger.info("[Migration] - No warps found in file.");
-                return;
-            }
-            
-            for (Map.Entry<String, HyssentialsLocation> entry : hysWarps.entrySet()) {
-                String warpName = entry.getKey();
-                HyssentialsLocation hysLoc = entry.getValue();
+        importer.beginStage("warps.json");
+        
+        try {
+            StreamingImporter.<HyssentialsLocation>forEachEntry(warpsFile, LOCATION_TYPE, (warpName, hysLoc) -> {
+                importer.countItem();
+                if (hysLoc == null) return;
                 
                 // Check if warp already exists
                 if (warpStorage.hasWarp(warpName)) {
                     logger.info("[Migration] - Skipping warp '" + warpName + "' (already exists)");
-                    continue;
+                    return;
                 }
                 
                 // Convert to our format
@@ -142,17 +148,19 @@ public class HyssentialsMigrationService {
                     hysLoc.pitch
                 );
                 
-                Warp warp = new Warp(warpName, location, Warp.Permission.ALL, "Hyssentials Migration");
-                warpStorage.setWarp(warp);
+                if (!importer.isDryRun()) {
+                    Warp warp = new Warp(warpName, location, Warp.Permission.ALL, "Hyssentials Migration");
+                    warpStorage.setWarp(warp);
+                }
                 warpsImported++;
                 logger.info("[Migration] - Imported warp: " + warpName);
-            }
-            
+            });
         } catch (Exception e) {
             String error = "Failed to migrate Hyssentials warps: " + e.getMessage();
             logger.severe("[Migration] " + error);
             errors.add(error);
         }
+        importer.endStage();
     }
     
     /**
@@ -168,83 +176,93 @@ public class HyssentialsMigrationService {
         
         logger.info("[Migration] Migrating Hyssentials homes.json...");
         
-        try (Reader reader = new InputStreamReader(new FileInputStream(homesFile), StandardCharsets.UTF_8)) {
+        importer.beginStage("homes.json");
+        
+        try {
             // Format: UUID string -> Map of home name -> location
-            Type type = new TypeToken<Map<String, Map<String, HyssentialsLocation>>>(){}.getType();
-            Map<String, Map<String, HyssentialsLocation>> hysHomes = gson.fromJson(reader, type);
-            
-            if (hysHomes == null || hysHomes.isEmpty()) {
-                logger.info("[Migration] - No homes found in file.");
-                return;
-            }
-            
-            for (Map.Entry<String, Map<String, HyssentialsLocation>> playerEntry : hysHomes.entrySet()) {
-                String uuidStr = playerEntry.getKey();
-                Map<String, HyssentialsLocation> playerHomes = playerEntry.getValue();
-                
-                if (playerHomes == null || playerHomes.isEmpty()) {
-                    continue;
-                }
-                
-                try {
-                    UUID uuid = UUID.fromString(uuidStr);
-                    
-                    // Get or create our player file
-                    PlayerFile ourPlayer = playerFileStorage.getPlayer(uuid);
-                    if (ourPlayer == null) {
-                        // Create new player with unknown name (will update when they join)
-                        ourPlayer = playerFileStorage.getPlayer(uuid, "Unknown");
-                    }
-                    
-                    int homesForPlayer = 0;
-                    for (Map.Entry<String, HyssentialsLocation> homeEntry : playerHomes.entrySet()) {
-                        String homeName = homeEntry.getKey();
-                        HyssentialsLocation hysLoc = homeEntry.getValue();
-                        
-                        // Skip if home already exists
-                        if (ourPlayer.hasHome(homeName)) {
-                            logger.info("[Migration] - Skipping home '" + homeName + "' for " + uuidStr + " (already exists)");
-                            continue;
-                        }
-                        
-                        // Convert to our format
-                        Location location = new Location(
-                            hysLoc.worldName,
-                            hysLoc.x,
-                            hysLoc.y,
-                            hysLoc.z,
-                            hysLoc.yaw,
-                            hysLoc.pitch
-                        );
-                        
-                        Home home = new Home(homeName, location);
-                        ourPlayer.setHome(home);
-                        homesForPlayer++;
-                        homesImported++;
-                    }
-                    
-                    if (homesForPlayer > 0) {
-                        playerFileStorage.saveAndMarkDirty(uuid);
-                        playersImported++;
-                        logger.info("[Migration] - Imported " + homesForPlayer + " home(s) for player " + uuidStr);
-                    }
-                    
-                } catch (IllegalArgumentException e) {
-                    logger.warning("[Migration] - Skipping invalid UUID: " + uuidStr);
-                }
-            }
-            
+            importer.<PlayerHomes>pipe(
+                out -> StreamingImporter.<Map<String, HyssentialsLocation>>forEachEntry(homesFile, PLAYER_HOMES_TYPE,
+                    (uuidStr, homes) -> out.accept(new PlayerHomes(uuidStr, homes))),
+                this::importPlayerHomes
+            );
         } catch (Exception e) {
             String error = "Failed to migrate Hyssentials homes: " + e.getMessage();
             logger.severe("[Migration] " + error);
             errors.add(error);
         }
+        importer.endStage();
         
         logger.info("[Migration] - Migrated " + homesImported + " homes for " + playersImported + " players");
     }
     
+    private void importPlayerHomes(PlayerHomes entry) {
+        String uuidStr = entry.uuid;
+        Map<String, HyssentialsLocation> playerHomes = entry.homes;
+        
+        if (playerHomes == null || playerHomes.isEmpty()) {
+            return;
+        }
+        
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(uuidStr);
+        } catch (IllegalArgumentException e) {
+            logger.warning("[Migration] - Skipping invalid UUID: " + uuidStr);
+            return;
+        }
+        
+        // Get or create our player file (unknown name is updated when they join)
+        PlayerFile ourPlayer = importer.player(uuid, "Unknown");
+        
+        int homesForPlayer = 0;
+        for (Map.Entry<String, HyssentialsLocation> homeEntry : playerHomes.entrySet()) {
+            String homeName = homeEntry.getKey();
+            HyssentialsLocation hysLoc = homeEntry.getValue();
+            
+            // Skip if home already exists
+            if (ourPlayer.hasHome(homeName)) {
+                logger.info("[Migration] - Skipping home '" + homeName + "' for " + uuidStr + " (already exists)");
+                continue;
+            }
+            
+            // Convert to our format
+            Location location = new Location(
+                hysLoc.worldName,
+                hysLoc.x,
+                hysLoc.y,
+                hysLoc.z,
+                hysLoc.yaw,
+                hysLoc.pitch
+            );
+            
+            Home home = new Home(homeName, location);
+            ourPlayer.setHome(home);
+            homesForPlayer++;
+            homesImported++;
+        }
+        
+        if (homesForPlayer > 0) {
+            importer.markChanged(ourPlayer);
+            playersImported++;
+            logger.info("[Migration] - Imported " + homesForPlayer + " home(s) for player " + uuidStr);
+        }
+    }
+    
     // ==================== Inner Classes for Hyssentials Format ====================
     
+    /**
+     * One player's entry from homes.json, handed from the parse thread to the writer.
+     */
+    private static class PlayerHomes {
+        final String uuid;
+        final Map<String, HyssentialsLocation> homes;
+        
+        PlayerHomes(String uuid, Map<String, HyssentialsLocation> homes) {
+            this.uuid = uuid;
+            this.homes = homes;
+        }
+    }
+    
     /**
      * Hyssentials location format.
      * Note: Uses "worldName" instead of "world", and pitch/yaw order differs.
@@ -265,21 +283,28 @@ public class HyssentialsMigrationService {
      */
     public static class MigrationResult {
         private final boolean success;
+        private final boolean dryRun;
         private final int warpsImported;
         private final int playersImported;
         private final int homesImported;
         private final List<String> errors;
+        private final List<StreamingImporter.StageTiming> timings;
         
-        public MigrationResult(boolean success, int warpsImported, 
-                              int playersImported, int homesImported, List<String> errors) {
+        public MigrationResult(boolean success, boolean dryRun, int warpsImported,
+                              int playersImported, int homesImported, List<String> errors,
+                              List<StreamingImporter.StageTiming> timings) {
             this.success = success;
+            this.dryRun = dryRun;
             this.warpsImported = warpsImported;
             this.playersImported = playersImported;
             this.homesImported = homesImported;
             this.errors = new ArrayList<>(errors);
+            this.timings = timings;
         }
         
         public boolean isSuccess() { return success; }
+        public boolean isDryRun() { return dryRun; }
+        public List<StreamingImporter.StageTiming> getTimings() { return timings; }
         public int getWarpsImported() { return warpsImported; }
         public int getPlayersImported() { return playersImported; }
         public int getHomesImported() { return homesImported; }
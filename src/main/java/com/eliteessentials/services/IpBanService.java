@@ -1,24 +1,34 @@
 package com.eliteessentials.services;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.eliteessentials.model.ModerationEntry;
+import com.eliteessentials.model.ModerationEntry.Type;
+import com.eliteessentials.storage.AltAccountIndex;
+import com.eliteessentials.storage.ModerationStorageProvider;
+import com.eliteessentials.util.IpCidr;
 import com.hypixel.hytale.server.core.io.PacketHandler;
 import com.hypixel.hytale.server.core.io.netty.NettyUtil;
 import io.netty.channel.Channel;
 
-import java.io.*;
-import java.lang.reflect.Type;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 /**
  * Manages IP-based bans.
- * Persists to ipbans.json keyed by IP address string.
+ * Records live in the shared moderation store, keyed by IP address string. A ban can
+ * also cover a network (CIDR "10.0.0.0/8" or a "start-end" range, split into CIDR
+ * blocks); connecting addresses are matched against all of them through the store's
+ * prefix trie. Blocklists are imported from text files in the plugin folder.
  * 
  * IP extraction uses PacketHandler -> Netty Channel -> NettyUtil.getRemoteSocketAddress()
  * which works with both TCP and QUIC connections.
@@ -26,44 +36,31 @@ import java.util.logging.Logger;
 public class IpBanService {
 
     private static final Logger logger = Logger.getLogger("EliteEssentials");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
-    private static final Type IPBAN_MAP_TYPE = new TypeToken<Map<String, IpBanEntry>>(){}.getType();
 
-    private final File ipBanFile;
-    private final Object fileLock = new Object();
-    private final Map<String, IpBanEntry> ipBans = new ConcurrentHashMap<>();
+    /** Outcome of a blocklist import. */
+    public record ImportResult(int lines, int networks, int added, int invalid, long elapsedMs) {}
 
-    public IpBanService(File dataFolder) {
-        this.ipBanFile = new File(dataFolder, "ipbans.json");
-        load();
+    private final ModerationStorageProvider storage;
+    private final File dataFolder;
+    private final ExecutorService importExecutor;
+    private AltAccountService altAccountService;
+
+    public IpBanService(ModerationStorageProvider storage, File dataFolder) {
+        this.storage = storage;
+        this.dataFolder = dataFolder;
+        this.importExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "EliteEssentials-IpBlocklist");
+            t.setDaemon(true);
+            return t;
+        });
     }
 
-    public void load() {
-        if (!ipBanFile.exists()) {
-            return;
-        }
-        synchronized (fileLock) {
-            try (Reader reader = new InputStreamReader(new FileInputStream(ipBanFile), StandardCharsets.UTF_8)) {
-                Map<String, IpBanEntry> loaded = gson.fromJson(reader, IPBAN_MAP_TYPE);
-                ipBans.clear();
-                if (loaded != null) {
-                    ipBans.putAll(loaded);
-                }
-                logger.info("[IpBanService] Loaded " + ipBans.size() + " IP bans.");
-            } catch (IOException e) {
-                logger.severe("Could not load ipbans.json: " + e.getMessage());
-            }
-        }
+    public void setAltAccountService(AltAccountService altAccountService) {
+        this.altAccountService = altAccountService;
     }
 
-    private void save() {
-        synchronized (fileLock) {
-            try (Writer writer = new OutputStreamWriter(new FileOutputStream(ipBanFile), StandardCharsets.UTF_8)) {
-                gson.toJson(ipBans, IPBAN_MAP_TYPE, writer);
-            } catch (IOException e) {
-                logger.severe("Could not save ipbans.json: " + e.getMessage());
-            }
-        }
+    public void shutdown() {
+        importExecutor.shutdown();
     }
 
     /**
@@ -86,28 +83,141 @@ public class IpBanService {
     }
 
     public boolean banIp(String ip, UUID playerId, String playerName, String bannedBy, String reason) {
-        if (ipBans.containsKey(ip)) {
+        String effectiveReason = reason != null && !reason.trim().isEmpty() ? reason : "No reason specified";
+        if (!storage.add(ModerationEntry.issue(Type.IPBAN, playerId, ip, playerName, bannedBy, effectiveReason, 0))) {
             return false;
         }
-        IpBanEntry entry = new IpBanEntry();
-        entry.playerUuid = playerId != null ? playerId.toString() : null;
-        entry.playerName = playerName;
-        entry.bannedBy = bannedBy;
-        entry.reason = reason != null && !reason.trim().isEmpty() ? reason : "No reason specified";
-        entry.bannedAt = System.currentTimeMillis();
-        ipBans.put(ip, entry);
-        save();
-        logger.info("[IpBanService] IP banned: " + ip + " (" + playerName + ") - " + entry.reason);
+        logger.info("[IpBanService] IP banned: " + ip + " (" + playerName + ") - " + effectiveReason);
         return true;
     }
 
+    /**
+     * Ban every address in a network or range.
+     *
+     * @param spec an address, CIDR network or "start-end" range
+     * @return the networks newly banned (empty if all were already banned), or null if
+     *         the spec is not valid
+     */
+    public List<String> banRange(String spec, String bannedBy, String reason) {
+        List<IpCidr> networks = IpCidr.parseSpec(spec);
+        if (networks == null) return null;
+        String effectiveReason = reason != null && !reason.trim().isEmpty() ? reason : "No reason specified";
+        List<String> banned = new ArrayList<>();
+        for (IpCidr network : networks) {
+            String key = network.toString();
+            if (storage.add(ModerationEntry.issue(Type.IPBAN, null, key, null, bannedBy, effectiveReason, 0))) {
+                banned.add(key);
+            }
+        }
+        if (!banned.isEmpty()) {
+            logger.info("[IpBanService] Range banned: " + spec + " (" + banned.size() + " network(s)) - " + effectiveReason);
+        }
+        return banned;
+    }
+
+    /**
+     * Lift a ban on an address, network or range. A range lifts each of the CIDR
+     * blocks it was split into; addresses inside a banned network stay banned.
+     */
     public boolean unbanIp(String ip) {
-        if (ipBans.remove(ip) != null) {
-            save();
+        List<String> keys = new ArrayList<>();
+        keys.add(ip);
+        List<IpCidr> networks = IpCidr.parseSpec(ip);
+        if (networks != null) {
+            for (IpCidr network : networks) keys.add(network.toString());
+        }
+        boolean removed = false;
+        for (String key : keys) {
+            ModerationEntry entry = storage.getIpBan(key);
+            if (entry != null && storage.remove(entry.getId()) != null) {
+                removed = true;
+            }
+        }
+        if (removed) {
             logger.info("[IpBanService] IP unbanned: " + ip);
-            return true;
         }
-        return false;
+        return removed;
+    }
+
+    /**
+     * Import a blocklist from a text file inside the plugin folder, in the background.
+     *
+     * One entry per line: an address, CIDR network or "start-end" range. Anything after
+     * the entry (whitespace, ',', ';' or '#') is ignored, as are blank and comment lines.
+     * Everything found is stored in a single write.
+     *
+     * @param path file path relative to the plugin folder
+     */
+    public CompletableFuture<ImportResult> importBlocklist(String path, String bannedBy, String reason) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.currentTimeMillis();
+            File file = resolveBlocklist(path);
+            String effectiveReason = reason != null && !reason.trim().isEmpty() ? reason : "Blocklist: " + file.getName();
+
+            int lines = 0;
+            int invalid = 0;
+            List<ModerationEntry> entries = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines++;
+                    String spec = blocklistEntry(line);
+                    if (spec == null) continue;
+                    List<IpCidr> networks = IpCidr.parseSpec(spec);
+                    if (networks == null) {
+                        invalid++;
+                        continue;
+                    }
+                    for (IpCidr network : networks) {
+                        entries.add(ModerationEntry.issue(Type.IPBAN, null, network.toString(), null,
+                                bannedBy, effectiveReason, 0));
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+
+            int added = storage.addAll(entries);
+            long elapsed = System.currentTimeMillis() - start;
+            logger.info("[IpBanService] Imported " + added + "/" + entries.size() + " networks from "
+                    + file.getName() + " in " + elapsed + "ms (" + invalid + " invalid lines)");
+            return new ImportResult(lines, entries.size(), added, invalid, elapsed);
+        }, importExecutor);
+    }
+
+    /**
+     * A blocklist file under the plugin folder. Paths leading outside it are refused.
+     */
+    private File resolveBlocklist(String path) {
+        File base = dataFolder.getAbsoluteFile().toPath().normalize().toFile();
+        File file = new File(base, path).toPath().normalize().toFile();
+        if (!file.toPath().startsWith(base.toPath())) {
+            throw new IllegalArgumentException("path must be inside the plugin folder");
+        }
+        if (!file.isFile()) {
+            throw new IllegalArgumentException("file not found");
+        }
+        return file;
+    }
+
+    /**
+     * The entry on a blocklist line, or null for blank and comment lines.
+     */
+    private static String blocklistEntry(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.startsWith(";") || trimmed.startsWith("//")) {
+            return null;
+        }
+        // "1.2.3.4 - 1.2.3.9" is one range, not three tokens
+        trimmed = trimmed.replaceAll("\\s*-\\s*", "-");
+        int end = 0;
+        while (end < trimmed.length()) {
+            char c = trimmed.charAt(end);
+            if (Character.isWhitespace(c) || c == ',' || c == ';' || c == '#') break;
+            end++;
+        }
+        return end > 0 ? trimmed.substring(0, end) : null;
     }
 
     /**
@@ -115,35 +225,84 @@ public class IpBanService {
      * @return the IP that was unbanned, or null if not found
      */
     public String unbanByName(String playerName) {
-        for (Map.Entry<String, IpBanEntry> entry : ipBans.entrySet()) {
-            if (entry.getValue().playerName != null && entry.getValue().playerName.equalsIgnoreCase(playerName)) {
-                String ip = entry.getKey();
-                ipBans.remove(ip);
-                save();
-                logger.info("[IpBanService] IP unbanned by name: " + ip + " (" + playerName + ")");
-                return ip;
-            }
+        ModerationEntry entry = storage.findByName(Type.IPBAN, playerName);
+        if (entry != null && storage.remove(entry.getId()) != null) {
+            logger.info("[IpBanService] IP unbanned by name: " + entry.getIp() + " (" + playerName + ")");
+            return entry.getIp();
         }
         return null;
     }
 
+    /**
+     * Whether an address is banned, directly or by a range containing it.
+     */
     public boolean isBanned(String ip) {
-        return ip != null && ipBans.containsKey(ip);
+        return storage.matchIpBan(ip) != null;
     }
 
+    /**
+     * The ban covering an address: its own, or the most specific range containing it.
+     */
     public IpBanEntry getBanEntry(String ip) {
-        return ipBans.get(ip);
+        return IpBanEntry.of(storage.matchIpBan(ip));
+    }
+
+    // ==================== Known players ====================
+
+    /**
+     * The address a player last connected from, or null if none is known.
+     */
+    public String getLastKnownIp(UUID playerId) {
+        return altAccountService != null ? altAccountService.getLastIp(playerId) : null;
+    }
+
+    /**
+     * Known players who have connected from an address, CIDR network or range, i.e. the
+     * accounts a ban on it shuts out. Empty if the spec is not valid.
+     */
+    public Set<UUID> getKnownPlayers(String spec) {
+        if (altAccountService == null) return Set.of();
+        Set<UUID> players = altAccountService.getPlayersInRange(spec);
+        return players != null ? players : Set.of();
     }
 
-    public void reload() {
-        load();
+    /**
+     * The IP ban covering any address the player has used, checking the most recent
+     * address first, or null.
+     */
+    public IpBanEntry getBanForPlayer(UUID playerId) {
+        if (altAccountService == null) return null;
+        for (AltAccountIndex.IpUse use : altAccountService.getIps(playerId)) {
+            ModerationEntry entry = storage.matchIpBan(use.ip());
+            if (entry != null) return IpBanEntry.of(entry);
+        }
+        return null;
+    }
+
+    /** Number of IP bans, counting each network once. */
+    public int getBanCount() {
+        return storage.count(Type.IPBAN);
     }
 
     public static class IpBanEntry {
+        /** The banned address or network */
+        public String ip;
         public String playerUuid;
         public String playerName;
         public String bannedBy;
         public String reason;
         public long bannedAt;
+
+        static IpBanEntry of(ModerationEntry entry) {
+            if (entry == null) return null;
+            IpBanEntry ban = new IpBanEntry();
+            ban.ip = entry.getIp();
+            ban.playerUuid = entry.getPlayerId() != null ? entry.getPlayerId().toString() : null;
+            ban.playerName = entry.getPlayerName();
+            ban.bannedBy = entry.getIssuedBy();
+            ban.reason = entry.getReason();
+            ban.bannedAt = entry.getIssuedAt();
+            return ban;
+        }
     }
 }
@@ -12,6 +12,7 @@ import java.io.*;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 /**
@@ -26,6 +27,7 @@ public class KitService {
 
     private final File dataFolder;
     private final Map<String, Kit> kits = new LinkedHashMap<>();
+    private final AtomicLong revision = new AtomicLong();
     private PlayerStorageProvider playerFileStorage;
     
     // Lock for file I/O operations to prevent concurrent writes
@@ -47,6 +49,7 @@ public class KitService {
      * Load kits from kits.json
      */
     public void loadKits() {
+        revision.incrementAndGet();
         File kitsFile = new File(dataFolder, "kits.json");
         
         if (!kitsFile.exists()) {
@@ -113,11 +116,24 @@ public class KitService {
         return kits.values();
     }
 
+    public int getKitCount() {
+        return kits.size();
+    }
+
+    /**
+     * Incremented when kits are loaded, saved or deleted. The kit GUI keeps its
+     * per-kit permission results until this changes.
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
     /**
      * Create or update a kit
      */
     public void saveKit(Kit kit) {
         kits.put(kit.getId().toLowerCase(), kit);
+        revision.incrementAndGet();
         saveKits();
     }
 
@@ -127,6 +143,7 @@ public class KitService {
     public boolean deleteKit(String kitId) {
         Kit removed = kits.remove(kitId.toLowerCase());
         if (removed != null) {
+            revision.incrementAndGet();
             saveKits();
             return true;
         }
@@ -3,10 +3,14 @@ package com.eliteessentials.services;
 import com.eliteessentials.config.ConfigManager;
 import com.eliteessentials.model.MailMessage;
 import com.eliteessentials.model.PlayerFile;
+import com.eliteessentials.storage.MailStorageProvider;
 import com.eliteessentials.storage.PlayerStorageProvider;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 /**
@@ -14,24 +18,43 @@ import java.util.logging.Logger;
  * 
  * Features:
  * - Send mail to offline/online players
- * - Read/list mail
+ * - Send mail to every known player (admin)
+ * - Read/list mail (paged)
  * - Mark as read
  * - Clear mail
  * - Spam protection (cooldown between sends to same player)
+ * 
+ * Mail lives in its own store ({@link MailStorageProvider}), not in player files,
+ * so sending never loads or rewrites the recipient's player file. Mailboxes left in
+ * player files by older versions are moved into the store when the player joins.
  */
 public class MailService {
     
     private static final Logger logger = Logger.getLogger("EliteEssentials");
     
     private final PlayerStorageProvider playerFileStorage;
+    private final MailStorageProvider mailStorage;
     private final ConfigManager configManager;
+    private final ExecutorService bulkExecutor;
     
     // Spam protection: sender UUID -> (recipient UUID -> last send timestamp)
     private final Map<UUID, Map<UUID, Long>> sendCooldowns = new ConcurrentHashMap<>();
     
-    public MailService(PlayerStorageProvider playerFileStorage, ConfigManager configManager) {
+    public MailService(PlayerStorageProvider playerFileStorage, MailStorageProvider mailStorage,
+                       ConfigManager configManager) {
         this.playerFileStorage = playerFileStorage;
+        this.mailStorage = mailStorage;
         this.configManager = configManager;
+        this.bulkExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "EliteEssentials-MailBulk");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+    
+    public void shutdown() {
+        bulkExecutor.shutdown();
+        mailStorage.shutdown();
     }
     
     /**
@@ -50,149 +73,136 @@ public class MailService {
             return new SendResult(false, "cooldown", remaining);
         }
         
-        // Get recipient's player file
-        PlayerFile recipientFile = playerFileStorage.getPlayer(recipientUuid);
-        if (recipientFile == null) {
+        if (!playerFileStorage.hasPlayer(recipientUuid)) {
             return new SendResult(false, "playerNotFound", 0);
         }
         
-        // Check mailbox limit
+        // Append to the recipient's inbox (checks the mailbox limit)
         int maxMail = configManager.getConfig().mail.maxMailPerPlayer;
-        List<MailMessage> mailbox = recipientFile.getMailbox();
-        if (mailbox.size() >= maxMail) {
+        MailMessage mail = new MailMessage(senderUuid, senderName, message);
+        if (!mailStorage.append(recipientUuid, mail, maxMail)) {
             return new SendResult(false, "mailboxFull", 0);
         }
         
-        // Create and add the mail
-        MailMessage mail = new MailMessage(senderUuid, senderName, message);
-        recipientFile.addMail(mail);
-        
-        // Save the recipient's file
-        playerFileStorage.saveAndMarkDirty(recipientUuid);
-        
         // Record cooldown
         recordSend(senderUuid, recipientUuid);
         
         if (configManager.isDebugEnabled()) {
-            logger.info("[Mail] " + senderName + " sent mail to " + recipientFile.getName() + ": " + message);
+            logger.info("[Mail] " + senderName + " sent mail to " + recipientUuid + ": " + message);
         }
         
         return new SendResult(true, "success", 0);
     }
     
     /**
-     * Get all mail for a player.
+     * Send the same mail to every player who has ever joined (except the sender).
+     * Runs on a background thread; full mailboxes are skipped.
      */
-    public List<MailMessage> getMail(UUID playerId) {
+    public CompletableFuture<BulkSendResult> sendMailToAll(UUID senderUuid, String senderName, String message) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.currentTimeMillis();
+            List<UUID> recipients = new ArrayList<>(playerFileStorage.getAllPlayerUuids());
+            if (senderUuid != null) {
+                recipients.remove(senderUuid);
+            }
+            int maxMail = configManager.getConfig().mail.maxMailPerPlayer;
+            List<UUID> delivered = mailStorage.appendToAll(recipients, senderUuid, senderName, message, maxMail);
+            long elapsed = System.currentTimeMillis() - start;
+            logger.info("[Mail] " + senderName + " sent mail to " + delivered.size() + "/" + recipients.size()
+                    + " players in " + elapsed + "ms");
+            return new BulkSendResult(new HashSet<>(delivered), recipients.size() - delivered.size());
+        }, bulkExecutor);
+    }
+    
+    /**
+     * Move mail stored in the player's file by older versions into the mail store.
+     * Called on join, when the player file is loaded anyway. Safe to repeat if the server
+     * stops before the cleared player file is saved: the store skips ids it already has.
+     */
+    public void migrateLegacyMailbox(UUID playerId) {
         PlayerFile playerFile = playerFileStorage.getPlayer(playerId);
-        if (playerFile == null) {
-            return Collections.emptyList();
+        if (playerFile == null || playerFile.getMailbox().isEmpty()) {
+            return;
         }
-        return playerFile.getMailbox();
+        List<MailMessage> legacy = new ArrayList<>(playerFile.getMailbox());
+        mailStorage.importMail(playerId, legacy);
+        playerFile.clearMailbox();
+        playerFileStorage.saveAndMarkDirty(playerId);
+        logger.info("[Mail] Moved " + legacy.size() + " messages for " + playerFile.getName() + " into the mail store.");
+    }
+    
+    /**
+     * Get all mail for a player, newest first.
+     */
+    public List<MailMessage> getMail(UUID playerId) {
+        return mailStorage.getAll(playerId);
+    }
+    
+    /**
+     * Get one page of a player's mail, newest first.
+     * 
+     * @param page 0-based page number
+     */
+    public List<MailMessage> getMailPage(UUID playerId, int page, int pageSize) {
+        return mailStorage.getPage(playerId, Math.max(0, page) * pageSize, pageSize);
+    }
+    
+    /**
+     * Get one message by its position in the newest-first listing (0-based).
+     */
+    public MailMessage getMailAt(UUID playerId, int index) {
+        if (index < 0) return null;
+        List<MailMessage> page = mailStorage.getPage(playerId, index, 1);
+        return page.isEmpty() ? null : page.get(0);
+    }
+    
+    /**
+     * Get the number of messages in a player's mailbox.
+     */
+    public int getMailCount(UUID playerId) {
+        return mailStorage.getCount(playerId);
     }
     
     /**
      * Get unread mail count for a player.
      */
     public int getUnreadCount(UUID playerId) {
-        PlayerFile playerFile = playerFileStorage.getPlayer(playerId);
-        if (playerFile == null) {
-            return 0;
-        }
-        return (int) playerFile.getMailbox().stream().filter(m -> !m.isRead()).count();
+        return mailStorage.getUnreadCount(playerId);
     }
     
     /**
      * Mark a specific mail as read.
      */
     public boolean markAsRead(UUID playerId, String mailId) {
-        PlayerFile playerFile = playerFileStorage.getPlayer(playerId);
-        if (playerFile == null) {
-            return false;
-        }
-        
-        for (MailMessage mail : playerFile.getMailbox()) {
-            if (mail.getId().equals(mailId)) {
-                mail.markAsRead();
-                playerFileStorage.saveAndMarkDirty(playerId);
-                return true;
-            }
-        }
-        return false;
+        return mailStorage.markAsRead(playerId, mailId);
     }
     
     /**
      * Mark all mail as read for a player.
      */
     public int markAllAsRead(UUID playerId) {
-        PlayerFile playerFile = playerFileStorage.getPlayer(playerId);
-        if (playerFile == null) {
-            return 0;
-        }
-        
-        int count = 0;
-        for (MailMessage mail : playerFile.getMailbox()) {
-            if (!mail.isRead()) {
-                mail.markAsRead();
-                count++;
-            }
-        }
-        
-        if (count > 0) {
-            playerFileStorage.saveAndMarkDirty(playerId);
-        }
-        return count;
+        return mailStorage.markAllAsRead(playerId);
     }
     
     /**
      * Clear all mail for a player.
      */
     public int clearMail(UUID playerId) {
-        PlayerFile playerFile = playerFileStorage.getPlayer(playerId);
-        if (playerFile == null) {
-            return 0;
-        }
-        
-        int count = playerFile.getMailbox().size();
-        playerFile.clearMailbox();
-        playerFileStorage.saveAndMarkDirty(playerId);
-        return count;
+        return mailStorage.clear(playerId);
     }
     
     /**
      * Clear only read mail for a player.
      */
     public int clearReadMail(UUID playerId) {
-        PlayerFile playerFile = playerFileStorage.getPlayer(playerId);
-        if (playerFile == null) {
-            return 0;
-        }
-        
-        List<MailMessage> mailbox = playerFile.getMailbox();
-        int before = mailbox.size();
-        mailbox.removeIf(MailMessage::isRead);
-        int removed = before - mailbox.size();
-        
-        if (removed > 0) {
-            playerFileStorage.saveAndMarkDirty(playerId);
-        }
-        return removed;
+        return mailStorage.clearRead(playerId);
     }
     
     /**
      * Delete a specific mail message.
      */
     public boolean deleteMail(UUID playerId, String mailId) {
-        PlayerFile playerFile = playerFileStorage.getPlayer(playerId);
-        if (playerFile == null) {
-            return false;
-        }
-        
-        boolean removed = playerFile.getMailbox().removeIf(m -> m.getId().equals(mailId));
-        if (removed) {
-            playerFileStorage.saveAndMarkDirty(playerId);
-        }
-        return removed;
+        return mailStorage.delete(playerId, mailId);
     }
     
     // ==================== Spam Protection ====================
@@ -262,4 +272,20 @@ public class MailService {
             this.cooldownRemaining = cooldownRemaining;
         }
     }
+    
+    /**
+     * Result of a send-to-all operation.
+     */
+    public static class BulkSendResult {
+        public final int delivered;
+        public final int skipped;
+        /** Players the mail was delivered to */
+        public final Set<UUID> recipients;
+        
+        public BulkSendResult(Set<UUID> recipients, int skipped) {
+            this.delivered = recipients.size();
+            this.skipped = skipped;
+            this.recipients = recipients;
+        }
+    }
 }
@@ -0,0 +1,61 @@
+package com.eliteessentials.services;
+
+import com.eliteessentials.model.ModerationEntry;
+import com.eliteessentials.storage.ModerationStorageProvider;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Lifts temp bans and timed mutes once they run out.
+ *
+ * Every few seconds the moderation store is asked for records whose expiry has
+ * passed; it answers from its expiry-ordered index, so a sweep with nothing due is a
+ * single comparison. Between sweeps the services treat an expired record as inactive
+ * without deleting it.
+ */
+public class ModerationSweeper {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+    private static final long SWEEP_INTERVAL_SECONDS = 10;
+
+    private final ModerationStorageProvider storage;
+    private ScheduledExecutorService scheduler;
+
+    public ModerationSweeper(ModerationStorageProvider storage) {
+        this.storage = storage;
+    }
+
+    public void start() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "EE-ModerationSweep");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::sweep, 0, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void sweep() {
+        try {
+            List<ModerationEntry> expired = storage.expire(System.currentTimeMillis());
+            for (ModerationEntry entry : expired) {
+                String what = entry.getType() == ModerationEntry.Type.MUTE ? "Mute" : "Temp ban";
+                logger.info("[ModerationSweeper] " + what + " on " + entry.getPlayerName() + " expired.");
+            }
+        } catch (Exception e) {
+            // Keep the task alive; anything missed is picked up next sweep
+            logger.warning("[ModerationSweeper] Sweep failed: " + e.getMessage());
+        }
+    }
+}
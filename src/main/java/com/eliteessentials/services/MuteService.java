@@ -1,117 +1,82 @@
 package com.eliteessentials.services;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.eliteessentials.model.ModerationEntry;
+import com.eliteessentials.model.ModerationEntry.Type;
+import com.eliteessentials.storage.ModerationStorageProvider;
 
-import java.io.*;
-import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.logging.Logger;
 
+/**
+ * Manages player mutes.
+ * Records live in the shared moderation store, keyed by player UUID. A mute given a
+ * duration is lifted by {@link ModerationSweeper} once it runs out.
+ */
 public class MuteService {
 
-    private static final Logger logger = Logger.getLogger("EliteEssentials");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
-    private static final Type MUTE_MAP_TYPE = new TypeToken<Map<String, MuteEntry>>(){}.getType();
+    private final ModerationStorageProvider storage;
 
-    private final File muteFile;
-    private final Object fileLock = new Object();
-    private final Map<String, MuteEntry> mutes = new ConcurrentHashMap<>();
-
-    public MuteService(File dataFolder) {
-        this.muteFile = new File(dataFolder, "mutes.json");
-        load();
+    public MuteService(ModerationStorageProvider storage) {
+        this.storage = storage;
     }
 
-    public void load() {
-        if (!muteFile.exists()) {
-            return;
-        }
-        synchronized (fileLock) {
-            try (Reader reader = new InputStreamReader(new FileInputStream(muteFile), StandardCharsets.UTF_8)) {
-                Map<String, MuteEntry> loaded = gson.fromJson(reader, MUTE_MAP_TYPE);
-                mutes.clear();
-                if (loaded != null) {
-                    mutes.putAll(loaded);
-                }
-                logger.info("[MuteService] Loaded " + mutes.size() + " muted players.");
-            } catch (IOException e) {
-                logger.severe("Could not load mutes.json: " + e.getMessage());
-            }
-        }
-    }
-
-    private void save() {
-        synchronized (fileLock) {
-            try (Writer writer = new OutputStreamWriter(new FileOutputStream(muteFile), StandardCharsets.UTF_8)) {
-                gson.toJson(mutes, MUTE_MAP_TYPE, writer);
-            } catch (IOException e) {
-                logger.severe("Could not save mutes.json: " + e.getMessage());
-            }
-        }
+    public boolean mute(UUID playerId, String playerName, String mutedBy, String reason) {
+        return mute(playerId, playerName, mutedBy, reason, 0);
     }
 
-    public boolean mute(UUID playerId, String playerName, String mutedBy, String reason) {
-        String key = playerId.toString();
-        if (mutes.containsKey(key)) {
-            return false;
+    /**
+     * Mute a player for a limited time.
+     * @param durationMs duration in milliseconds from now, or 0 for permanent
+     */
+    public boolean mute(UUID playerId, String playerName, String mutedBy, String reason, long durationMs) {
+        ModerationEntry current = storage.get(Type.MUTE, playerId);
+        if (current != null && current.isExpired(System.currentTimeMillis())) {
+            storage.remove(current.getId());
         }
-        MuteEntry entry = new MuteEntry();
-        entry.playerName = playerName;
-        entry.mutedBy = mutedBy;
-        entry.reason = reason;
-        entry.mutedAt = System.currentTimeMillis();
-        mutes.put(key, entry);
-        save();
-        return true;
+        return storage.add(ModerationEntry.issue(Type.MUTE, playerId, null, playerName, mutedBy, reason, durationMs));
     }
 
     public boolean unmute(UUID playerId) {
-        if (mutes.remove(playerId.toString()) != null) {
-            save();
-            return true;
-        }
-        return false;
+        ModerationEntry entry = storage.get(Type.MUTE, playerId);
+        return entry != null && storage.remove(entry.getId()) != null;
     }
+
     /**
      * Unmute by player name (for offline players where UUID may not be known).
      * @return the UUID that was unmuted, or null if not found
      */
     public UUID unmuteByName(String playerName) {
-        for (Map.Entry<String, MuteEntry> entry : mutes.entrySet()) {
-            if (entry.getValue().playerName != null && entry.getValue().playerName.equalsIgnoreCase(playerName)) {
-                UUID uuid = UUID.fromString(entry.getKey());
-                mutes.remove(entry.getKey());
-                save();
-                return uuid;
-            }
+        ModerationEntry entry = storage.findByName(Type.MUTE, playerName);
+        if (entry != null && storage.remove(entry.getId()) != null) {
+            return entry.getPlayerId();
         }
         return null;
     }
 
     public boolean isMuted(UUID playerId) {
-        return mutes.containsKey(playerId.toString());
+        return active(playerId) != null;
     }
 
     public MuteEntry getMuteEntry(UUID playerId) {
-        return mutes.get(playerId.toString());
+        return MuteEntry.of(active(playerId));
     }
 
     /** Get the number of active mutes. */
     public int getMuteCount() {
-        return mutes.size();
+        return storage.count(Type.MUTE);
     }
 
-    /** Get all mute entries (unmodifiable view). */
-    public Map<String, MuteEntry> getAllMutes() {
-        return Collections.unmodifiableMap(mutes);
+    /** Get all mute entries by player UUID. */
+    public Map<UUID, MuteEntry> getAllMutes() {
+        Map<UUID, MuteEntry> result = new HashMap<>();
+        for (ModerationEntry entry : storage.getAll(Type.MUTE)) {
+            result.put(entry.getPlayerId(), MuteEntry.of(entry));
+        }
+        return result;
     }
 
-    public void reload() {
-        load();
+    private ModerationEntry active(UUID playerId) {
+        ModerationEntry entry = storage.get(Type.MUTE, playerId);
+        return entry != null && !entry.isExpired(System.currentTimeMillis()) ? entry : null;
     }
 
     public static class MuteEntry {
@@ -119,5 +84,18 @@ public class MuteService {
         public String mutedBy;
         public String reason;
         public long mutedAt;
+        /** When the mute lifts, or 0 if it is permanent */
+        public long expiresAt;
+
+        static MuteEntry of(ModerationEntry entry) {
+            if (entry == null) return null;
+            MuteEntry mute = new MuteEntry();
+            mute.playerName = entry.getPlayerName();
+            mute.mutedBy = entry.getIssuedBy();
+            mute.reason = entry.getReason();
+            mute.mutedAt = entry.getIssuedAt();
+            mute.expiresAt = entry.getExpiresAt();
+            return mute;
+        }
     }
 }
@@ -0,0 +1,239 @@
+package com.eliteessentials.services;
+
+import com.eliteessentials.permissions.PermissionService;
+import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.event.EventRegistry;
+import com.hypixel.hytale.server.core.event.events.player.AddPlayerToWorldEvent;
+import com.hypixel.hytale.server.core.event.events.player.DrainPlayerFromWorldEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Index of online players and the world each one is in, kept up to date from
+ * join/world-change/quit events so features that target a subset of players don't
+ * have to walk the whole universe. This is the one player-to-world tracker: services
+ * that keep per-world state (e.g. {@link SleepService}) register a {@link WorldListener}
+ * instead of following the events themselves.
+ *
+ * Permission lookups made through {@link #hasPermission} are cached per player and
+ * node, and the cache is dropped every {@link #PERMISSION_CACHE_TTL_MS} so permission
+ * changes still show up within a minute.
+ */
+public class OnlinePlayerIndex {
+
+    private static final long PERMISSION_CACHE_TTL_MS = 60_000;
+
+    private final Map<UUID, OnlinePlayer> players = new ConcurrentHashMap<>();
+    // Lowercase world name -> players in that world
+    private final Map<String, Set<UUID>> playersByWorld = new ConcurrentHashMap<>();
+
+    // Permission node -> (player -> has it)
+    private final Map<String, Map<UUID, Boolean>> permissionCache = new ConcurrentHashMap<>();
+    private volatile long permissionCacheCreatedAt = System.currentTimeMillis();
+
+    private final List<WorldListener> worldListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Notified when a player enters or leaves a world, after the index is updated.
+     * Called on the event thread with the index locked, so listeners must not block.
+     */
+    public interface WorldListener {
+        void onPlayerEnterWorld(UUID playerId, World world);
+
+        void onPlayerLeaveWorld(UUID playerId, String worldName);
+    }
+
+    /**
+     * One online player and the world they are in.
+     */
+    public static final class OnlinePlayer {
+        private final PlayerRef playerRef;
+        private volatile String worldName;
+
+        OnlinePlayer(PlayerRef playerRef, String worldName) {
+            this.playerRef = playerRef;
+            this.worldName = worldName;
+        }
+
+        public PlayerRef getPlayerRef() { return playerRef; }
+        public UUID getUuid() { return playerRef.getUuid(); }
+        public String getWorldName() { return worldName; }
+    }
+
+    public void registerEvents(@Nonnull EventRegistry eventRegistry) {
+        // Fires on server join and on every world change
+        eventRegistry.registerGlobal(AddPlayerToWorldEvent.class, event -> {
+            Holder<EntityStore> holder = event.getHolder();
+            PlayerRef playerRef = holder != null ? holder.getComponent(PlayerRef.getComponentType()) : null;
+            if (playerRef != null && event.getWorld() != null) {
+                onPlayerEnterWorld(playerRef, event.getWorld());
+            }
+        });
+        // Fires for both world changes and disconnects
+        eventRegistry.registerGlobal(DrainPlayerFromWorldEvent.class, event -> {
+            Holder<EntityStore> holder = event.getHolder();
+            PlayerRef playerRef = holder != null ? holder.getComponent(PlayerRef.getComponentType()) : null;
+            if (playerRef != null && event.getWorld() != null) {
+                onPlayerLeaveWorld(playerRef.getUuid(), event.getWorld().getName());
+            }
+        });
+        eventRegistry.registerGlobal(PlayerDisconnectEvent.class, event -> {
+            PlayerRef playerRef = event.getPlayerRef();
+            if (playerRef != null) {
+                onPlayerQuit(playerRef.getUuid());
+            }
+        });
+    }
+
+    /**
+     * Rebuild the index from the universe, for players who were online before the
+     * events were registered.
+     */
+    public void seedFromUniverse() {
+        try {
+            Universe universe = Universe.get();
+            if (universe == null) return;
+            for (World world : universe.getWorlds().values()) {
+                for (PlayerRef playerRef : world.getPlayerRefs()) {
+                    if (playerRef != null && !players.containsKey(playerRef.getUuid())) {
+                        onPlayerEnterWorld(playerRef, world);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // Universe not ready yet - events will fill the index
+        }
+    }
+
+    public void addWorldListener(WorldListener listener) {
+        worldListeners.add(listener);
+    }
+
+    public synchronized void onPlayerEnterWorld(PlayerRef playerRef, World world) {
+        UUID playerId = playerRef.getUuid();
+        String worldName = world.getName();
+        OnlinePlayer existing = players.get(playerId);
+        if (existing != null && existing.playerRef == playerRef) {
+            if (!worldName.equals(existing.worldName)) {
+                removeFromWorld(playerId, existing.worldName);
+            }
+            existing.worldName = worldName;
+        } else {
+            if (existing != null) {
+                removeFromWorld(playerId, existing.worldName);
+            }
+            players.put(playerId, new OnlinePlayer(playerRef, worldName));
+        }
+        playersByWorld.computeIfAbsent(worldKey(worldName), k -> ConcurrentHashMap.newKeySet()).add(playerId);
+        for (WorldListener listener : worldListeners) {
+            listener.onPlayerEnterWorld(playerId, world);
+        }
+    }
+
+    /**
+     * A player was drained from a world (world change or disconnect). A late leave for a
+     * world the player has already moved on from is ignored.
+     */
+    public synchronized void onPlayerLeaveWorld(UUID playerId, String worldName) {
+        OnlinePlayer player = players.get(playerId);
+        if (player != null && worldName.equals(player.worldName)) {
+            removeFromWorld(playerId, worldName);
+        }
+    }
+
+    public synchronized void onPlayerQuit(UUID playerId) {
+        OnlinePlayer removed = players.remove(playerId);
+        if (removed != null) {
+            removeFromWorld(playerId, removed.worldName);
+        }
+        for (Map<UUID, Boolean> cached : permissionCache.values()) {
+            cached.remove(playerId);
+        }
+    }
+
+    private void removeFromWorld(UUID playerId, String worldName) {
+        Set<UUID> inWorld = playersByWorld.get(worldKey(worldName));
+        if (inWorld != null && inWorld.remove(playerId)) {
+            for (WorldListener listener : worldListeners) {
+                listener.onPlayerLeaveWorld(playerId, worldName);
+            }
+        }
+    }
+
+    private static String worldKey(String worldName) {
+        return worldName != null ? worldName.toLowerCase() : "";
+    }
+
+    // ==================== Queries ====================
+
+    public Collection<OnlinePlayer> getPlayers() {
+        return Collections.unmodifiableCollection(players.values());
+    }
+
+    public OnlinePlayer getPlayer(UUID playerId) {
+        return players.get(playerId);
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * Names of worlds that currently have players in them (lowercase).
+     */
+    public Set<String> getOccupiedWorlds() {
+        Set<String> worlds = new HashSet<>();
+        for (Map.Entry<String, Set<UUID>> entry : playersByWorld.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                worlds.add(entry.getKey());
+            }
+        }
+        return worlds;
+    }
+
+    /**
+     * Players in a world (case-insensitive name).
+     */
+    public List<OnlinePlayer> getPlayersInWorld(String worldName) {
+        Set<UUID> inWorld = playersByWorld.get(worldKey(worldName));
+        if (inWorld == null || inWorld.isEmpty()) return Collections.emptyList();
+        List<OnlinePlayer> result = new ArrayList<>(inWorld.size());
+        for (UUID playerId : inWorld) {
+            OnlinePlayer player = players.get(playerId);
+            if (player != null) {
+                result.add(player);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cached permission check (see class docs for staleness).
+     */
+    public boolean hasPermission(UUID playerId, String permission) {
+        long now = System.currentTimeMillis();
+        if (now - permissionCacheCreatedAt > PERMISSION_CACHE_TTL_MS) {
+            permissionCache.clear();
+            permissionCacheCreatedAt = now;
+        }
+        return permissionCache
+            .computeIfAbsent(permission, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(playerId, id -> PermissionService.get().hasPermission(id, permission));
+    }
+
+    /**
+     * Drop cached permission results (e.g. after a config reload).
+     */
+    public void clearPermissionCache() {
+        permissionCache.clear();
+        permissionCacheCreatedAt = System.currentTimeMillis();
+    }
+}
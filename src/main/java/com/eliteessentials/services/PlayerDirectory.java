@@ -0,0 +1,220 @@
+package com.eliteessentials.services;
+
+import com.eliteessentials.model.PlayerFile;
+import com.eliteessentials.storage.PlayerStorageProvider;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Name-sorted directory of every known player (online and offline) for the admin
+ * player browser.
+ *
+ * Names come from the player storage's name index once, then stay current through
+ * {@link #onPlayerJoin}. Queries walk the sorted names (a range query for a name
+ * prefix, or only the online players when a filter needs them) and build full rows
+ * (world, status flags, display name) only for the page being shown.
+ */
+public class PlayerDirectory {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+
+    /**
+     * What to show. Online-only flags (world, AFK, vanished) skip offline players.
+     */
+    public record Filter(String namePrefix, String world, boolean onlineOnly,
+                         boolean afk, boolean vanished, boolean frozen, boolean muted) {
+
+        boolean needsOnline() {
+            return onlineOnly || afk || vanished || (world != null && !world.isEmpty());
+        }
+    }
+
+    /**
+     * One player as shown in the browser. Rows are compared with equals() to find
+     * which visible rows changed between refreshes.
+     */
+    public record Row(UUID uuid, String name, boolean online, String world,
+                      boolean afk, boolean vanished, boolean frozen, boolean muted) {}
+
+    public record Page(List<Row> rows, int total) {}
+
+    private final PlayerStorageProvider playerStorage;
+    private AfkService afkService;
+    private VanishService vanishService;
+    private FreezeService freezeService;
+    private MuteService muteService;
+
+    // lowercase name -> uuid, plus the reverse to handle renames
+    private final TreeMap<String, UUID> byName = new TreeMap<>();
+    private final Map<UUID, String> keyByUuid = new HashMap<>();
+    // Display-case names, filled in as players join or appear on a page
+    private final Map<UUID, String> displayNames = new HashMap<>();
+    private boolean loaded;
+
+    public PlayerDirectory(PlayerStorageProvider playerStorage) {
+        this.playerStorage = playerStorage;
+    }
+
+    public void setAfkService(AfkService afkService) {
+        this.afkService = afkService;
+    }
+
+    public void setVanishService(VanishService vanishService) {
+        this.vanishService = vanishService;
+    }
+
+    public void setFreezeService(FreezeService freezeService) {
+        this.freezeService = freezeService;
+    }
+
+    public void setMuteService(MuteService muteService) {
+        this.muteService = muteService;
+    }
+
+    // ==================== Updates ====================
+
+    /**
+     * Rebuild from the player storage's name index (startup and /ee reload).
+     */
+    public synchronized void reload() {
+        byName.clear();
+        keyByUuid.clear();
+        for (Map.Entry<String, UUID> entry : playerStorage.getNameIndex().entrySet()) {
+            file(entry.getValue(), entry.getKey());
+        }
+        loaded = true;
+        logger.info("[PlayerDirectory] Indexed " + byName.size() + " players.");
+    }
+
+    public synchronized void onPlayerJoin(UUID uuid, String name) {
+        if (!loaded) reload();
+        file(uuid, name.toLowerCase());
+        displayNames.put(uuid, name);
+    }
+
+    private void file(UUID uuid, String key) {
+        String previous = keyByUuid.put(uuid, key);
+        if (previous != null && !previous.equals(key)) {
+            byName.remove(previous, uuid);
+        }
+        byName.put(key, uuid);
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * One page of players matching the filter, in name order.
+     */
+    public Page query(Filter filter, int offset, int limit) {
+        Map<UUID, PlayerRef> online = onlinePlayers();
+        String prefix = filter.namePrefix() == null ? "" : filter.namePrefix().toLowerCase();
+
+        // Without status filters every candidate matches: stop once the page is full
+        boolean unfiltered = !filter.needsOnline() && !filter.frozen() && !filter.muted();
+        List<UUID> page = new ArrayList<>(Math.max(0, Math.min(limit, 64)));
+        int total = 0;
+        synchronized (this) {
+            if (!loaded) reload();
+            Collection<UUID> candidates = candidates(filter, prefix, online);
+            for (UUID uuid : candidates) {
+                if (!unfiltered && !matches(filter, uuid, online.get(uuid))) continue;
+                if (total >= offset && page.size() < limit) {
+                    page.add(uuid);
+                } else if (unfiltered && page.size() >= limit) {
+                    break;
+                }
+                total++;
+            }
+            if (unfiltered) {
+                total = candidates.size();
+            }
+        }
+
+        List<Row> rows = new ArrayList<>(page.size());
+        for (UUID uuid : page) {
+            rows.add(row(uuid, online.get(uuid)));
+        }
+        return new Page(rows, total);
+    }
+
+    /**
+     * Players to test against the filter, in name order. Caller holds the lock.
+     */
+    private Collection<UUID> candidates(Filter filter, String prefix, Map<UUID, PlayerRef> online) {
+        if (filter.needsOnline()) {
+            TreeMap<String, UUID> sorted = new TreeMap<>();
+            for (Map.Entry<UUID, PlayerRef> entry : online.entrySet()) {
+                String key = entry.getValue().getUsername().toLowerCase();
+                if (key.startsWith(prefix)) sorted.put(key, entry.getKey());
+            }
+            return sorted.values();
+        }
+        // Online players who joined before the directory saw them are added here
+        for (Map.Entry<UUID, PlayerRef> entry : online.entrySet()) {
+            if (!keyByUuid.containsKey(entry.getKey())) {
+                file(entry.getKey(), entry.getValue().getUsername().toLowerCase());
+            }
+        }
+        if (prefix.isEmpty()) return byName.values();
+        return byName.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+    }
+
+    private boolean matches(Filter filter, UUID uuid, PlayerRef ref) {
+        if (filter.needsOnline() && ref == null) return false;
+        if (filter.afk() && (afkService == null || !afkService.isAfk(uuid))) return false;
+        if (filter.vanished() && (vanishService == null || !vanishService.isVanished(uuid))) return false;
+        if (filter.frozen() && (freezeService == null || !freezeService.isFrozen(uuid))) return false;
+        if (filter.muted() && (muteService == null || !muteService.isMuted(uuid))) return false;
+        if (filter.world() != null && !filter.world().isEmpty()) {
+            String world = worldName(ref);
+            return world != null && world.toLowerCase().startsWith(filter.world().toLowerCase());
+        }
+        return true;
+    }
+
+    private Row row(UUID uuid, PlayerRef ref) {
+        String name = ref != null ? ref.getUsername() : displayName(uuid);
+        return new Row(uuid, name, ref != null, ref != null ? worldName(ref) : null,
+                afkService != null && afkService.isAfk(uuid),
+                vanishService != null && vanishService.isVanished(uuid),
+                freezeService != null && freezeService.isFrozen(uuid),
+                muteService != null && muteService.isMuted(uuid));
+    }
+
+    /**
+     * Stored name for a player. Asked for rows on screen and alt-account lists, and
+     * remembered, so each player file is read at most once. The file is only peeked
+     * at: paging through offline players must not pull them all into the cache.
+     */
+    public String displayName(UUID uuid) {
+        synchronized (this) {
+            String known = displayNames.get(uuid);
+            if (known != null) return known;
+        }
+        PlayerFile file = playerStorage.peekPlayer(uuid);
+        String name = file != null && file.getName() != null ? file.getName() : null;
+        synchronized (this) {
+            if (name == null) name = keyByUuid.getOrDefault(uuid, uuid.toString());
+            displayNames.put(uuid, name);
+            return name;
+        }
+    }
+
+    private static Map<UUID, PlayerRef> onlinePlayers() {
+        Map<UUID, PlayerRef> online = new HashMap<>();
+        for (PlayerRef p : Universe.get().getPlayers()) {
+            if (p.isValid()) online.put(p.getUuid(), p);
+        }
+        return online;
+    }
+
+    private static String worldName(PlayerRef ref) {
+        if (ref == null || ref.getWorldUuid() == null) return null;
+        World world = Universe.get().getWorld(ref.getWorldUuid());
+        return world != null ? world.getName() : null;
+    }
+}
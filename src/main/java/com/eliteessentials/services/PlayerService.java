@@ -32,6 +32,9 @@ public class PlayerService {
     
     // Reference to reward service for session sync during periodic flush
     private PlayTimeRewardService playTimeRewardService;
+    
+    // Told about new players and wallet changes so dashboard totals stay current
+    private ServerStatsSnapshot serverStats;
 
     public PlayerService(PlayerStorageProvider storage, ConfigManager configManager) {
         this.storage = storage;
@@ -44,12 +47,20 @@ public class PlayerService {
     public void setPlayTimeRewardService(PlayTimeRewardService service) {
         this.playTimeRewardService = service;
     }
+    
+    public void setServerStats(ServerStatsSnapshot serverStats) {
+        this.serverStats = serverStats;
+    }
 
     /**
      * Called when a player joins the server.
      * Creates or updates their player data.
      */
     public PlayerFile onPlayerJoin(UUID playerId, String playerName) {
+        // Track session start first, so the player counts as online before their
+        // data is loaded (bulk importers check this before evicting cached players)
+        sessionStartTimes.put(playerId, System.currentTimeMillis());
+
         boolean isNew = !storage.hasPlayer(playerId);
         PlayerFile data = storage.getPlayer(playerId, playerName);
         
@@ -70,12 +81,12 @@ public class PlayerService {
             }
         }
         
-        // Track session start
-        sessionStartTimes.put(playerId, System.currentTimeMillis());
-        
         // Save if new player
         if (isNew) {
             storage.savePlayer(playerId);
+            if (serverStats != null) {
+                serverStats.onPlayerCreated(playerId, data.getWallet());
+            }
         }
         
         return data;
@@ -105,6 +116,13 @@ public class PlayerService {
         storage.unloadPlayer(playerId);
     }
 
+    /**
+     * Check if a player is online (joined and not yet quit).
+     */
+    public boolean isOnline(UUID playerId) {
+        return sessionStartTimes.containsKey(playerId);
+    }
+
     /**
      * Check if this is a player's first time joining.
      */
@@ -178,6 +196,7 @@ public class PlayerService {
         double oldBalance = data.getWallet();
         data.modifyWallet(amount);
         storage.saveAndMarkDirty(playerId);
+        walletChanged(playerId, oldBalance, data.getWallet());
         
         // Notify player of balance change if configured
         notifyBalanceChange(playerId, oldBalance, data.getWallet(), playerRef, senderName);
@@ -222,6 +241,7 @@ public class PlayerService {
         }
         
         storage.saveAndMarkDirty(playerId);
+        walletChanged(playerId, oldBalance, data.getWallet());
         
         // Notify player of balance change if configured
         notifyBalanceChange(playerId, oldBalance, data.getWallet(), playerRef, senderName);
@@ -262,6 +282,7 @@ public class PlayerService {
         double oldBalance = data.getWallet();
         data.setWallet(amount);
         storage.saveAndMarkDirty(playerId);
+        walletChanged(playerId, oldBalance, data.getWallet());
         
         // Notify player of balance change if configured
         notifyBalanceChange(playerId, oldBalance, data.getWallet(), playerRef, senderName);
@@ -269,8 +290,15 @@ public class PlayerService {
         return true;
     }
 
+    private void walletChanged(UUID playerId, double oldBalance, double newBalance) {
+        if (serverStats != null) {
+            serverStats.onWalletChanged(playerId, oldBalance, newBalance);
+        }
+    }
+
     /**
      * Get total unique player count.
+     * Lists the player storage; the admin dashboard reads {@link ServerStatsSnapshot} instead.
      */
     public int getTotalPlayerCount() {
         return storage.getPlayerCount();
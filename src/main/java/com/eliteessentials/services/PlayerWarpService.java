@@ -10,12 +10,22 @@ import com.eliteessentials.permissions.Permissions;
 import com.eliteessentials.storage.PlayerWarpStorageProvider;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 import java.util.logging.Logger;
 
 /**
  * Service for managing player-created warps.
  * Handles creation, deletion, visibility toggling, and limit enforcement.
+ *
+ * Visits are counted in memory (one LongAdder per warp, so teleports never contend
+ * or touch storage) and flushed to storage in one batch every
+ * playerWarps.visitFlushSeconds and on shutdown.
  */
 public class PlayerWarpService {
 
@@ -26,6 +36,12 @@ public class PlayerWarpService {
 
     private final PlayerWarpStorageProvider storage;
     private ConfigManager configManager;
+    private final AtomicLong revision = new AtomicLong();
+
+    // Visits not yet flushed, by lowercase warp name
+    private final Map<String, LongAdder> pendingVisits = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private ScheduledExecutorService visitFlusher;
 
     public PlayerWarpService(PlayerWarpStorageProvider storage) {
         this.storage = storage;
@@ -87,6 +103,7 @@ public class PlayerWarpService {
 
         PlayerWarp warp = new PlayerWarp(name, location, ownerId, ownerName, visibility, description);
         storage.setWarp(warp);
+        revision.incrementAndGet();
         logger.info("Player " + ownerName + " (" + ownerId + ") created player warp '" + name + "' [" + visibility + "]");
         return Result.SUCCESS;
     }
@@ -106,6 +123,8 @@ public class PlayerWarpService {
         }
 
         storage.deleteWarp(name);
+        pendingVisits.remove(name.toLowerCase());
+        revision.incrementAndGet();
         logger.info("Player warp '" + name + "' deleted by " + requesterId);
         return Result.SUCCESS;
     }
@@ -129,6 +148,7 @@ public class PlayerWarpService {
                 : PlayerWarp.Visibility.PUBLIC;
         warp.setVisibility(newVis);
         storage.setWarp(warp);
+        revision.incrementAndGet();
         return Result.SUCCESS;
     }
 
@@ -152,6 +172,7 @@ public class PlayerWarpService {
 
         warp.setDescription(description);
         storage.setWarp(warp);
+        revision.incrementAndGet();
         return Result.SUCCESS;
     }
 
@@ -171,9 +192,18 @@ public class PlayerWarpService {
 
         warp.setLocation(location);
         storage.setWarp(warp);
+        revision.incrementAndGet();
         return Result.SUCCESS;
     }
 
+    /**
+     * Incremented on create, edit, delete, reload and every visit flush. The player
+     * warp GUI only refetches its page when this changes.
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
     public Optional<PlayerWarp> getWarp(String name) {
         return storage.getWarp(name);
     }
@@ -201,6 +231,21 @@ public class PlayerWarpService {
         return storage.getAccessibleWarps(playerId);
     }
 
+    /**
+     * Get one page of warps, ordered and counted by the storage backend.
+     */
+    public PlayerWarpStorageProvider.Page getWarpPage(PlayerWarpStorageProvider.Scope scope, UUID playerId,
+                                                      PlayerWarpStorageProvider.Sort sort, int offset, int limit) {
+        return storage.getWarpPage(scope, playerId, sort, offset, Math.max(0, limit));
+    }
+
+    /**
+     * Names of warps the player can use that start with a prefix, for suggestions.
+     */
+    public List<String> findWarpNames(String prefix, UUID playerId, int limit) {
+        return storage.findWarpNames(prefix, playerId, limit);
+    }
+
     /**
      * Get the warp limit for a player based on permissions/groups.
      * Returns -1 for unlimited.
@@ -269,8 +314,87 @@ public class PlayerWarpService {
         return storage.getWarpCountByOwner(playerId) < limit;
     }
 
+    // ==================== Visits ====================
+
+    /**
+     * Start the periodic visit flush. Call once after setConfigManager.
+     */
+    public void start() {
+        if (visitFlusher != null) return;
+        int interval = configManager != null
+                ? Math.max(5, configManager.getConfig().playerWarps.visitFlushSeconds)
+                : 60;
+        visitFlusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "EliteEssentials-PwarpVisits");
+            t.setDaemon(true);
+            return t;
+        });
+        visitFlusher.scheduleAtFixedRate(() -> {
+            try {
+                flushVisits();
+            } catch (Exception e) {
+                logger.warning("[PlayerWarpService] Visit flush failed: " + e.getMessage());
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Count a teleport to a warp. Owners visiting their own warp are not counted.
+     */
+    public void recordVisit(String warpName, UUID visitorId) {
+        Optional<PlayerWarp> warp = storage.getWarp(warpName);
+        if (warp.isEmpty() || warp.get().getOwnerId().equals(visitorId)) {
+            return;
+        }
+        pendingVisits.computeIfAbsent(warpName.toLowerCase(), k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Total visits for a warp, including ones not yet flushed.
+     */
+    public long getVisits(PlayerWarp warp) {
+        LongAdder pending = pendingVisits.get(warp.getName().toLowerCase());
+        return warp.getVisits() + (pending != null ? pending.sum() : 0);
+    }
+
+    /**
+     * Apply pending visits to the warps and save them in one batch.
+     */
+    public void flushVisits() {
+        synchronized (flushLock) {
+            long now = System.currentTimeMillis();
+            List<PlayerWarp> changed = new ArrayList<>();
+            for (Map.Entry<String, LongAdder> entry : pendingVisits.entrySet()) {
+                // Entries are kept (not removed) so a concurrent increment is never lost
+                long count = entry.getValue().sumThenReset();
+                if (count == 0) continue;
+                storage.getWarp(entry.getKey()).ifPresent(warp -> {
+                    warp.addVisits(count, now);
+                    changed.add(warp);
+                });
+            }
+            if (!changed.isEmpty()) {
+                storage.updateVisitStats(changed);
+                revision.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Stop the flush task and save pending visits. Call before the storage shuts down.
+     */
+    public void shutdown() {
+        if (visitFlusher != null) {
+            visitFlusher.shutdownNow();
+            visitFlusher = null;
+        }
+        flushVisits();
+    }
+
     public void reload() {
+        flushVisits();
         storage.load();
+        revision.incrementAndGet();
     }
 
     public void save() {
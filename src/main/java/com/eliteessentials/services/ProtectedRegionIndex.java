@@ -0,0 +1,270 @@
+package com.eliteessentials.services;
+
+import com.eliteessentials.model.ProtectedRegion;
+
+import java.util.*;
+
+/**
+ * Immutable point-lookup index over the protected regions of a single world.
+ *
+ * Regions are split into X slabs: every distinct region X boundary starts a new slab,
+ * and each slab stores the regions overlapping it sorted by priority (highest first).
+ * A lookup binary-searches the slab for the X coordinate and then walks only that
+ * slab's candidates, so event handling is O(log n + k) in the number of regions and
+ * never allocates. The index is rebuilt (and swapped) whenever regions change.
+ */
+public final class ProtectedRegionIndex {
+
+    private static final Region[] NO_REGIONS = new Region[0];
+    private static final ProtectedRegion.Flag[] FLAGS = ProtectedRegion.Flag.values();
+
+    /** Flag state: no override, fall through to the next region */
+    static final byte INHERIT = 0;
+    /** Flag state: explicitly denied */
+    static final byte DENY = 1;
+    /** Flag state: explicitly allowed */
+    static final byte ALLOW = 2;
+
+    private final double[] bounds;
+    private final Region[][] slabs;
+    private final int size;
+    private final boolean[] anyDenied;
+
+    private ProtectedRegionIndex(double[] bounds, Region[][] slabs, int size, boolean[] anyDenied) {
+        this.bounds = bounds;
+        this.slabs = slabs;
+        this.size = size;
+        this.anyDenied = anyDenied;
+    }
+
+    /**
+     * Build an index from compiled regions (all regions must belong to the same world).
+     */
+    static ProtectedRegionIndex build(List<Region> regions) {
+        if (regions.isEmpty()) {
+            return new ProtectedRegionIndex(new double[0], new Region[0][], 0, new boolean[FLAGS.length]);
+        }
+
+        boolean[] anyDenied = new boolean[FLAGS.length];
+        TreeSet<Double> edges = new TreeSet<>();
+        for (Region region : regions) {
+            edges.add(region.minX);
+            edges.add(region.maxX);
+            for (int i = 0; i < FLAGS.length; i++) {
+                if (region.flagStates[i] == DENY) anyDenied[i] = true;
+            }
+        }
+
+        double[] bounds = new double[edges.size()];
+        int idx = 0;
+        for (Double edge : edges) {
+            bounds[idx++] = edge;
+        }
+
+        // One slab per gap between consecutive bounds; a single-point index keeps one slab
+        int slabCount = Math.max(1, bounds.length - 1);
+        Region[][] slabs = new Region[slabCount][];
+        List<Region> overlapping = new ArrayList<>();
+        for (int s = 0; s < slabCount; s++) {
+            double lo = bounds[s];
+            double hi = bounds.length > 1 ? bounds[s + 1] : bounds[s];
+            overlapping.clear();
+            for (Region region : regions) {
+                if (region.minX <= hi && region.maxX >= lo) {
+                    overlapping.add(region);
+                }
+            }
+            overlapping.sort(Comparator.comparingInt((Region r) -> r.priority).reversed());
+            slabs[s] = overlapping.isEmpty() ? NO_REGIONS : overlapping.toArray(new Region[0]);
+        }
+
+        return new ProtectedRegionIndex(bounds, slabs, regions.size(), anyDenied);
+    }
+
+    /**
+     * @return number of regions in this index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if at least one region in this index denies the flag
+     */
+    public boolean anyDenies(ProtectedRegion.Flag flag) {
+        return anyDenied[flag.ordinal()];
+    }
+
+    /**
+     * Find the region that decides a flag at a position.
+     * Walks covering regions from highest priority down and returns the first one
+     * that explicitly allows or denies the flag.
+     *
+     * @return the deciding region, or null if no covering region sets the flag
+     */
+    public Region resolve(double x, double y, double z, ProtectedRegion.Flag flag) {
+        Region[] candidates = candidatesAt(x);
+        int ordinal = flag.ordinal();
+        for (Region region : candidates) {
+            if (region.flagStates[ordinal] == INHERIT) continue;
+            if (region.contains(x, y, z)) {
+                return region;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the region denying a flag at a position (null if allowed).
+     */
+    public Region findDenying(double x, double y, double z, ProtectedRegion.Flag flag) {
+        Region decider = resolve(x, y, z, flag);
+        return decider != null && decider.flagStates[flag.ordinal()] == DENY ? decider : null;
+    }
+
+    /**
+     * Check if any region covers a position, regardless of flags.
+     */
+    public boolean covers(double x, double y, double z) {
+        for (Region region : candidatesAt(x)) {
+            if (region.contains(x, y, z)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check if any region covers an X/Z column, ignoring vertical bounds.
+     */
+    public boolean coversColumn(double x, double z) {
+        for (Region region : candidatesAt(x)) {
+            if (region.containsColumn(x, z)) return true;
+        }
+        return false;
+    }
+
+    private Region[] candidatesAt(double x) {
+        int n = bounds.length;
+        if (n == 0 || x < bounds[0] || x > bounds[n - 1]) {
+            return NO_REGIONS;
+        }
+        if (slabs.length == 1) {
+            return slabs[0];
+        }
+        // Largest i with bounds[i] <= x, clamped to the last slab
+        int lo = 0;
+        int hi = n - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (bounds[mid] <= x) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return slabs[Math.min(lo, slabs.length - 1)];
+    }
+
+    /**
+     * Compiled, read-only form of a region used on the event hot path.
+     */
+    public static final class Region {
+        private final String name;
+        private final boolean cylinder;
+        private final double minX;
+        private final double maxX;
+        private final double minZ;
+        private final double maxZ;
+        private final double minY;
+        private final double maxY;
+        private final double centerX;
+        private final double centerZ;
+        private final double radiusSq;
+        private final int priority;
+        private final byte[] flagStates;
+        private final String bypassPermission;
+        private final boolean spawn;
+
+        private Region(String name, boolean cylinder, double minX, double maxX, double minZ, double maxZ,
+                       double minY, double maxY, double centerX, double centerZ, double radius,
+                       int priority, byte[] flagStates, String bypassPermission, boolean spawn) {
+            this.name = name;
+            this.cylinder = cylinder;
+            this.minX = minX;
+            this.maxX = maxX;
+            this.minZ = minZ;
+            this.maxZ = maxZ;
+            this.minY = minY;
+            this.maxY = maxY;
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.radiusSq = radius * radius;
+            this.priority = priority;
+            this.flagStates = flagStates;
+            this.bypassPermission = bypassPermission;
+            this.spawn = spawn;
+        }
+
+        /**
+         * Compile an admin-defined region.
+         */
+        static Region of(ProtectedRegion region) {
+            byte[] states = new byte[FLAGS.length];
+            for (Map.Entry<ProtectedRegion.Flag, Boolean> entry : region.getFlags().entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) continue;
+                states[entry.getKey().ordinal()] = entry.getValue() ? ALLOW : DENY;
+            }
+            boolean cylinder = region.getShape() == ProtectedRegion.Shape.CYLINDER;
+            return new Region(region.getName(), cylinder,
+                    region.getMinX(), region.getMaxX(), region.getMinZ(), region.getMaxZ(),
+                    region.getMinY() != null ? region.getMinY() : Double.NEGATIVE_INFINITY,
+                    region.getMaxY() != null ? region.getMaxY() : Double.POSITIVE_INFINITY,
+                    region.getCenterX(), region.getCenterZ(), region.getRadius(),
+                    region.getPriority(), states, region.getBypassPermission(), false);
+        }
+
+        /**
+         * Compile the square protection area around a spawn point.
+         */
+        static Region spawn(String name, double x, double z, int radius, double minY, double maxY,
+                            int priority, byte[] flagStates) {
+            return new Region(name, false, x - radius, x + radius, z - radius, z + radius,
+                    minY, maxY, x, z, radius, priority, flagStates, null, true);
+        }
+
+        boolean contains(double x, double y, double z) {
+            if (y < minY || y > maxY) return false;
+            return containsColumn(x, z);
+        }
+
+        boolean containsColumn(double x, double z) {
+            if (cylinder) {
+                double dx = x - centerX;
+                double dz = z - centerZ;
+                return dx * dx + dz * dz <= radiusSq;
+            }
+            return x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        /**
+         * @return the custom bypass permission, or null to use the default
+         */
+        public String getBypassPermission() {
+            return bypassPermission;
+        }
+
+        /**
+         * @return true if this region was generated from a protected spawn point
+         */
+        public boolean isSpawn() {
+            return spawn;
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.eliteessentials.services;
+
+import com.eliteessentials.config.ConfigManager;
+import com.eliteessentials.config.PluginConfig;
+import com.eliteessentials.util.RtpLocationUtil;
+import com.eliteessentials.util.WorldBlacklistUtil;
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.math.util.MathUtil;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a small pool of pre-validated safe RTP locations per world.
+ *
+ * A background pass validates at most one new location per world at a time, and
+ * only while the server has TPS headroom. Validation (ground scan and fluid check)
+ * runs on the world thread, loading the chunk asynchronously when needed, exactly
+ * like a live /rtp search. /rtp takes from the pool first and only searches live
+ * when the pool is empty.
+ *
+ * Pooled locations are discarded when they outlive the configured TTL or when a
+ * block is broken/placed in their chunk, and are re-checked on take when their
+ * chunk is already in memory.
+ */
+public class RtpLocationPool {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+
+    /** /rtp searches around the world center, so pooled locations use the same origin */
+    public static final double CENTER_X = 1.0;
+    public static final double CENTER_Z = 1.0;
+
+    /** How long one refill attempt may take before the world is free for the next one */
+    private static final long REFILL_TIMEOUT_SECONDS = 60;
+
+    private final ConfigManager configManager;
+    private final Map<String, WorldPool> pools = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refillAttempts = new LongAdder();
+    private final LongAdder refillSuccesses = new LongAdder();
+    private final LongAdder refillChecks = new LongAdder();
+    private final LongAdder refillNanos = new LongAdder();
+    private final LongAdder invalidated = new LongAdder();
+
+    private volatile ScheduledExecutorService scheduler;
+    private ChunkLoadBudget chunkLoadBudget;
+
+    public RtpLocationPool(ConfigManager configManager) {
+        this.configManager = configManager;
+    }
+
+    /**
+     * Share the /rtp chunk-load budget; refills skip chunk loads when it is exhausted.
+     */
+    public void setChunkLoadBudget(ChunkLoadBudget chunkLoadBudget) {
+        this.chunkLoadBudget = chunkLoadBudget;
+    }
+
+    /**
+     * A validated standing position (Y is the block above solid ground).
+     */
+    public static final class PooledLocation {
+        private final double x;
+        private final double y;
+        private final double z;
+        private final long chunkIndex;
+        private final long createdAt;
+
+        PooledLocation(double x, double y, double z, long chunkIndex, long createdAt) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.chunkIndex = chunkIndex;
+            this.createdAt = createdAt;
+        }
+
+        public double getX() {
+            return x;
+        }
+
+        public double getY() {
+            return y;
+        }
+
+        public double getZ() {
+            return z;
+        }
+    }
+
+    private static final class WorldPool {
+        final ConcurrentLinkedDeque<PooledLocation> locations = new ConcurrentLinkedDeque<>();
+        final AtomicBoolean refilling = new AtomicBoolean(false);
+    }
+
+    /**
+     * Start the background refill loop. Safe to call more than once.
+     */
+    public synchronized void start() {
+        PluginConfig.RtpConfig rtpConfig = configManager.getConfig().rtp;
+        if (scheduler != null || !rtpConfig.enabled || !rtpConfig.poolEnabled) return;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "EliteEssentials-RtpPool");
+            t.setDaemon(true);
+            return t;
+        });
+
+        if (rtpConfig.forceWorldEnabled && rtpConfig.forceWorld != null && !rtpConfig.forceWorld.isEmpty()) {
+            warm(rtpConfig.forceWorld);
+        }
+
+        long interval = Math.max(1, rtpConfig.poolRefillIntervalSeconds);
+        scheduler.scheduleWithFixedDelay(this::refillPass, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop the refill loop and drop all pooled locations.
+     */
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        pools.clear();
+    }
+
+    /**
+     * Re-read pool settings. Pooled locations are dropped because ranges may have changed;
+     * worlds that were warm stay warm.
+     */
+    public synchronized void reload() {
+        Set<String> warmWorlds = new HashSet<>(pools.keySet());
+        shutdown();
+        start();
+        if (scheduler != null) {
+            for (String worldName : warmWorlds) {
+                warm(worldName);
+            }
+        }
+    }
+
+    /**
+     * Start keeping locations ready for a world.
+     */
+    public void warm(String worldName) {
+        if (worldName == null) return;
+        pools.computeIfAbsent(worldName, k -> new WorldPool());
+    }
+
+    /**
+     * Take a pooled location for a world, or null if none is ready.
+     * Marks the world as warm so later /rtp calls can be served from the pool.
+     *
+     * @param world       the target world
+     * @param onWorldThread true when called on the world's thread; the location's chunk
+     *                    is then re-checked if it is already in memory
+     */
+    public PooledLocation take(World world, boolean onWorldThread) {
+        if (scheduler == null) return null;
+
+        WorldPool pool = pools.computeIfAbsent(world.getName(), k -> new WorldPool());
+        long ttlMillis = configManager.getConfig().rtp.poolTtlSeconds * 1000L;
+        long now = System.currentTimeMillis();
+
+        PooledLocation location;
+        while ((location = pool.locations.pollFirst()) != null) {
+            if (now - location.createdAt > ttlMillis) {
+                invalidated.increment();
+                continue;
+            }
+            if (onWorldThread && !stillSafe(world, location)) {
+                invalidated.increment();
+                continue;
+            }
+            hits.increment();
+            return location;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Drop pooled locations in a chunk that was just modified.
+     * Called from block break/place systems, so it returns immediately for cold worlds.
+     */
+    public void invalidateChunk(String worldName, long chunkIndex) {
+        WorldPool pool = pools.get(worldName);
+        if (pool == null || pool.locations.isEmpty()) return;
+
+        Iterator<PooledLocation> it = pool.locations.iterator();
+        while (it.hasNext()) {
+            if (it.next().chunkIndex == chunkIndex) {
+                it.remove();
+                invalidated.increment();
+            }
+        }
+    }
+
+    // ==================== REFILL ====================
+
+    private void refillPass() {
+        // Must never throw: an uncaught exception silently cancels the scheduled task
+        try {
+            PluginConfig.RtpConfig rtpConfig = configManager.getConfig().rtp;
+            if (!rtpConfig.enabled || !rtpConfig.poolEnabled) return;
+
+            expireStale(rtpConfig.poolTtlSeconds * 1000L);
+            if (!hasHeadroom(rtpConfig.poolMinTpsPercent)) return;
+
+            Universe universe = Universe.get();
+            if (universe == null) return;
+
+            int target = Math.max(1, rtpConfig.poolSize);
+            for (Map.Entry<String, WorldPool> entry : pools.entrySet()) {
+                String worldName = entry.getKey();
+                WorldPool pool = entry.getValue();
+                if (pool.locations.size() >= target) continue;
+
+                if (WorldBlacklistUtil.isWorldBlacklisted(worldName, rtpConfig.blacklistedWorlds)) {
+                    pools.remove(worldName);
+                    continue;
+                }
+                World world = universe.getWorld(worldName);
+                if (world == null) {
+                    pools.remove(worldName);
+                    continue;
+                }
+                if (pool.refilling.compareAndSet(false, true)) {
+                    refillOne(world, pool, rtpConfig);
+                }
+            }
+        } catch (Exception e) {
+            logger.warning("[RtpPool] Refill pass failed: " + e.getMessage());
+        }
+    }
+
+    private void expireStale(long ttlMillis) {
+        long now = System.currentTimeMillis();
+        for (WorldPool pool : pools.values()) {
+            Iterator<PooledLocation> it = pool.locations.iterator();
+            while (it.hasNext()) {
+                if (now - it.next().createdAt > ttlMillis) {
+                    it.remove();
+                    invalidated.increment();
+                }
+            }
+        }
+    }
+
+    private boolean hasHeadroom(int minTpsPercent) {
+        double tps = TpsTracker.get().getTps();
+        if (tps <= 0) return false; // Not measured yet
+        World defaultWorld = Universe.get().getWorld("default");
+        int targetTps = defaultWorld != null ? defaultWorld.getTps() : 30;
+        return tps >= targetTps * (minTpsPercent / 100.0);
+    }
+
+    private void refillOne(World world, WorldPool pool, PluginConfig.RtpConfig rtpConfig) {
+        var worldRange = rtpConfig.getRangeForWorld(world.getName());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double angle = random.nextDouble() * 2 * Math.PI;
+        double distance = worldRange.minRange + random.nextDouble() * (worldRange.maxRange - worldRange.minRange);
+        double targetX = CENTER_X + Math.cos(angle) * distance;
+        double targetZ = CENTER_Z + Math.sin(angle) * distance;
+        long chunkIndex = ChunkUtil.indexChunkFromBlock(targetX, targetZ);
+        int minSurfaceY = rtpConfig.minSurfaceY;
+
+        // Runs once per attempt, whichever of completion, failure or the timeout comes first
+        AtomicBoolean finished = new AtomicBoolean(false);
+        Runnable finish = () -> {
+            if (finished.compareAndSet(false, true)) {
+                pool.refilling.set(false);
+            }
+        };
+
+        refillAttempts.increment();
+        try {
+            // A task dropped by a stopping world or a chunk load that never completes
+            // would otherwise leave this world's pool without refills for good
+            scheduler.schedule(finish, REFILL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            world.execute(() -> {
+                try {
+                    WorldChunk chunk = world.getChunkIfLoaded(chunkIndex);
+                    if (chunk == null) {
+                        chunk = world.getChunkIfInMemory(chunkIndex);
+                    }
+                    if (chunk != null) {
+                        validateAndAdd(world, pool, chunk, targetX, targetZ, chunkIndex, minSurfaceY, finish);
+                        return;
+                    }
+                    // Players' searches come first: only load when a budget permit is free
+                    ChunkLoadBudget budget = chunkLoadBudget;
+                    if (budget != null && !budget.tryAcquire()) {
+                        finish.run();
+                        return;
+                    }
+                    world.getChunkAsync(chunkIndex).whenComplete((loadedChunk, error) -> {
+                        if (budget != null) {
+                            budget.release();
+                        }
+                        if (error != null || loadedChunk == null) {
+                            finish.run();
+                            return;
+                        }
+                        try {
+                            world.execute(() -> validateAndAdd(world, pool, loadedChunk, targetX, targetZ,
+                                    chunkIndex, minSurfaceY, finish));
+                        } catch (Exception e) {
+                            finish.run();
+                        }
+                    });
+                } catch (Exception e) {
+                    finish.run();
+                }
+            });
+        } catch (Exception e) {
+            finish.run();
+        }
+    }
+
+    private void validateAndAdd(World world, WorldPool pool, WorldChunk chunk, double targetX, double targetZ,
+                                long chunkIndex, int minSurfaceY, Runnable finish) {
+        long start = System.nanoTime();
+        try {
+            int blockX = MathUtil.floor(targetX);
+            int blockZ = MathUtil.floor(targetZ);
+            Integer groundY = RtpLocationUtil.findHighestSolidBlock(world, chunk, blockX, blockZ, minSurfaceY);
+            if (groundY == null) return;
+
+            int standY = groundY + 1;
+            if (!RtpLocationUtil.isSafeLocation(chunk, blockX, standY, blockZ, false)) return;
+
+            pool.locations.offerLast(new PooledLocation(targetX, standY, targetZ, chunkIndex, System.currentTimeMillis()));
+            refillSuccesses.increment();
+        } catch (Exception e) {
+            // Treat as a rejected candidate
+        } finally {
+            refillChecks.increment();
+            refillNanos.add(System.nanoTime() - start);
+            finish.run();
+        }
+    }
+
+    private boolean stillSafe(World world, PooledLocation location) {
+        try {
+            WorldChunk chunk = world.getChunkIfLoaded(location.chunkIndex);
+            if (chunk == null) {
+                chunk = world.getChunkIfInMemory(location.chunkIndex);
+            }
+            if (chunk == null) return true; // Not in memory, rely on TTL and block-change invalidation
+
+            int blockX = MathUtil.floor(location.x);
+            int blockZ = MathUtil.floor(location.z);
+            int minSurfaceY = configManager.getConfig().rtp.minSurfaceY;
+            Integer groundY = RtpLocationUtil.findHighestSolidBlock(world, chunk, blockX, blockZ, minSurfaceY);
+            return groundY != null && groundY + 1 == (int) location.y
+                    && RtpLocationUtil.isSafeLocation(chunk, blockX, (int) location.y, blockZ, false);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // ==================== STATS ====================
+
+    /**
+     * @return world name -> number of ready locations
+     */
+    public Map<String, Integer> getPoolDepths() {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        for (Map.Entry<String, WorldPool> entry : pools.entrySet()) {
+            depths.put(entry.getKey(), entry.getValue().locations.size());
+        }
+        return depths;
+    }
+
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return fraction of /rtp requests served from the pool (0.0 - 1.0)
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public long getRefillAttempts() {
+        return refillAttempts.sum();
+    }
+
+    public long getRefillSuccesses() {
+        return refillSuccesses.sum();
+    }
+
+    public long getInvalidated() {
+        return invalidated.sum();
+    }
+
+    /**
+     * @return average world-thread time spent validating one refill candidate, in milliseconds
+     */
+    public double getAverageRefillMs() {
+        long checks = refillChecks.sum();
+        return checks == 0 ? 0.0 : refillNanos.sum() / 1_000_000.0 / checks;
+    }
+}
@@ -0,0 +1,180 @@
+package com.eliteessentials.services;
+
+import com.eliteessentials.model.Location;
+import com.eliteessentials.util.RtpLocationUtil;
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.math.util.MathUtil;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * One multi-candidate search for a safe RTP location.
+ *
+ * All candidates are generated up front. Candidates whose chunk is already loaded
+ * are checked first, synchronously; the rest are loaded with at most
+ * {@code maxConcurrentLoads} chunk loads in flight, each holding a permit from the
+ * shared {@link ChunkLoadBudget}. The first safe candidate completes the search and
+ * stops further loads. Loads already in flight are left to finish, since cancelling the
+ * future would neither stop generation nor be safe for a future the engine may share;
+ * their chunks are ignored and their permits go back only once they really complete.
+ *
+ * All state is only touched on the world thread, so {@link #start()} must be called there.
+ */
+public final class RtpSearch {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+
+    /**
+     * Search outcome, always delivered on the world thread.
+     */
+    public interface Callback {
+        void onFound(double x, double y, double z);
+
+        void onFailed(int candidatesTried);
+    }
+
+    private final World world;
+    private final Location[] candidates;
+    private final int minSurfaceY;
+    private final int maxConcurrentLoads;
+    private final ChunkLoadBudget budget;
+    private final boolean debug;
+    private final Callback callback;
+
+    private final List<Integer> unloaded = new ArrayList<>();
+    private int nextUnloaded;
+    private int inFlight;
+    private int tried;
+    private boolean waitingForPermit;
+    private boolean finished;
+
+    public RtpSearch(World world, Location[] candidates, int minSurfaceY, int maxConcurrentLoads,
+                     ChunkLoadBudget budget, boolean debug, Callback callback) {
+        this.world = world;
+        this.candidates = candidates;
+        this.minSurfaceY = minSurfaceY;
+        this.maxConcurrentLoads = Math.max(1, maxConcurrentLoads);
+        this.budget = budget;
+        this.debug = debug;
+        this.callback = callback;
+    }
+
+    /**
+     * Run the search. Must be called on the world thread.
+     */
+    public void start() {
+        // Already-loaded chunks first: no I/O, decided within this tick
+        for (int i = 0; i < candidates.length; i++) {
+            long chunkIndex = chunkIndexOf(i);
+            WorldChunk chunk = world.getChunkIfLoaded(chunkIndex);
+            if (chunk == null) {
+                chunk = world.getChunkIfInMemory(chunkIndex);
+            }
+            if (chunk == null) {
+                unloaded.add(i);
+                continue;
+            }
+            if (check(i, chunk)) return;
+        }
+
+        if (debug) {
+            logger.info("[RTP] " + tried + " loaded candidate(s) rejected, " + unloaded.size() + " need chunk loads");
+        }
+        pump();
+    }
+
+    private void pump() {
+        if (finished) return;
+
+        while (inFlight < maxConcurrentLoads && nextUnloaded < unloaded.size() && !waitingForPermit) {
+            if (!budget.tryAcquire()) {
+                if (inFlight == 0) {
+                    // Nothing of ours is loading; queue for the next free permit
+                    waitingForPermit = true;
+                    budget.acquire(() -> world.execute(this::onPermitGranted));
+                }
+                break;
+            }
+            launch(unloaded.get(nextUnloaded++));
+        }
+
+        if (inFlight == 0 && !waitingForPermit && nextUnloaded >= unloaded.size()) {
+            fail();
+        }
+    }
+
+    private void onPermitGranted() {
+        waitingForPermit = false;
+        if (finished || nextUnloaded >= unloaded.size()) {
+            budget.release();
+            if (!finished && inFlight == 0) fail();
+            return;
+        }
+        launch(unloaded.get(nextUnloaded++));
+        pump();
+    }
+
+    private void launch(int candidate) {
+        inFlight++;
+        try {
+            world.getChunkAsync(chunkIndexOf(candidate)).whenComplete((chunk, error) -> {
+                // Exactly one release per launched load, when the engine is done with it
+                budget.release();
+                world.execute(() -> onLoaded(candidate, error == null ? chunk : null));
+            });
+        } catch (Exception e) {
+            budget.release();
+            inFlight--;
+        }
+    }
+
+    private void onLoaded(int candidate, WorldChunk chunk) {
+        inFlight--;
+        // A load that outlives the search is dropped; its permit went back on completion
+        if (finished) return;
+
+        if (chunk != null && check(candidate, chunk)) return;
+        pump();
+    }
+
+    private boolean check(int candidate, WorldChunk chunk) {
+        tried++;
+        Location location = candidates[candidate];
+        int blockX = MathUtil.floor(location.getX());
+        int blockZ = MathUtil.floor(location.getZ());
+
+        Integer groundY = RtpLocationUtil.findHighestSolidBlock(world, chunk, blockX, blockZ, minSurfaceY);
+        if (groundY == null) {
+            if (debug) {
+                logger.info("[RTP] No solid ground found at (" + blockX + ", " + blockZ + ")");
+            }
+            return false;
+        }
+        int standY = groundY + 1;
+        if (!RtpLocationUtil.isSafeLocation(chunk, blockX, standY, blockZ, debug)) {
+            if (debug) {
+                logger.info("[RTP] Location rejected - unsafe (water/lava detected)");
+            }
+            return false;
+        }
+
+        finished = true;
+        callback.onFound(location.getX(), standY, location.getZ());
+        return true;
+    }
+
+    private void fail() {
+        if (finished) return;
+        finished = true;
+        callback.onFailed(tried);
+    }
+
+    private long chunkIndexOf(int candidate) {
+        Location location = candidates[candidate];
+        return ChunkUtil.indexChunkFromBlock(location.getX(), location.getZ());
+    }
+}
@@ -3,11 +3,12 @@ package com.eliteessentials.services;
 import com.eliteessentials.config.ConfigManager;
 import com.eliteessentials.model.Location;
 import com.eliteessentials.permissions.PermissionService;
+import com.hypixel.hytale.server.core.universe.world.World;
 
 import java.util.Map;
-import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service for random teleportation functionality.
@@ -15,15 +16,60 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class RtpService {
 
-    private static final Random random = new Random();
-
     private final ConfigManager configManager;
+    private final ChunkLoadBudget chunkLoadBudget;
+    private RtpLocationPool locationPool;
     
     // UUID -> Last RTP timestamp
     private final Map<UUID, Long> cooldowns = new ConcurrentHashMap<>();
 
     public RtpService(ConfigManager configManager) {
         this.configManager = configManager;
+        this.chunkLoadBudget = new ChunkLoadBudget(configManager.getConfig().rtp.globalChunkLoadBudget);
+    }
+
+    /**
+     * Set the pre-validated location pool used to serve /rtp without a live search.
+     */
+    public void setLocationPool(RtpLocationPool locationPool) {
+        this.locationPool = locationPool;
+    }
+
+    /**
+     * @return the location pool, or null if not configured
+     */
+    public RtpLocationPool getLocationPool() {
+        return locationPool;
+    }
+
+    /**
+     * @return the shared budget for RTP chunk loads
+     */
+    public ChunkLoadBudget getChunkLoadBudget() {
+        return chunkLoadBudget;
+    }
+
+    /**
+     * Create a multi-candidate safe-location search for a world.
+     * Call {@link RtpSearch#start()} on the world thread.
+     *
+     * @param centerX  Center X of the search range
+     * @param centerZ  Center Z of the search range
+     * @param world    Target world
+     * @param callback Receives the result on the world thread
+     */
+    public RtpSearch createSearch(double centerX, double centerZ, World world, RtpSearch.Callback callback) {
+        var rtpConfig = configManager.getConfig().rtp;
+        Location[] candidates = generateRandomLocations(centerX, centerZ, world.getName(), Math.max(1, rtpConfig.maxAttempts));
+        return new RtpSearch(world, candidates, rtpConfig.minSurfaceY, rtpConfig.maxConcurrentChunkLoads,
+                chunkLoadBudget, configManager.isDebugEnabled(), callback);
+    }
+
+    /**
+     * Re-read budget settings after a config reload.
+     */
+    public void reload() {
+        chunkLoadBudget.setCapacity(configManager.getConfig().rtp.globalChunkLoadBudget);
     }
 
     /**
@@ -98,6 +144,7 @@ public class RtpService {
         int maxRange = worldRange.maxRange;
         
         // Generate random distance and angle
+        ThreadLocalRandom random = ThreadLocalRandom.current();
         int distance = minRange + random.nextInt(maxRange - minRange + 1);
         double angle = random.nextDouble() * 2 * Math.PI;
         
@@ -0,0 +1,374 @@
+package com.eliteessentials.services;
+
+import com.eliteessentials.config.ConfigManager;
+import com.eliteessentials.model.PlayerFile;
+import com.eliteessentials.storage.PlayerStorageProvider;
+import com.hypixel.hytale.server.core.universe.Universe;
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.logging.Logger;
+
+/**
+ * Server-wide numbers for the admin dashboard, kept ready to read.
+ *
+ * A background task rebuilds an immutable {@link Snapshot} every
+ * {@code gui.statsRefreshSeconds} from counters the services already hold in memory,
+ * so opening or refreshing the dashboard never walks players or storage.
+ *
+ * Economy totals are the exception to "already in memory": every player's balance is
+ * read by one storage scan at startup and on /ee reload into a per-player map, which
+ * then follows every wallet change PlayerService reports; the total is kept alongside
+ * it. The top-balance list is picked from that map on the next refresh after a balance
+ * changes, with names remembered from the scan or taken from the storage name index.
+ *
+ * Each refresh also appends a {@link Sample} to a ring holding the last hour.
+ */
+public class ServerStatsSnapshot {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+    private static final long START_TIME = System.currentTimeMillis();
+    private static final int TOP_BALANCES = 10;
+    private static final long HISTORY_MS = 60 * 60_000L;
+
+    /**
+     * Everything the dashboard shows, as of {@link #takenAt}.
+     */
+    public record Snapshot(long takenAt, int online, double tps, int targetTps,
+                           long usedMb, long maxMb, long uptimeMs,
+                           int bans, int mutes, int frozen, int warps, int kits,
+                           int totalPlayers, double economyTotal, List<TopBalance> topBalances) {
+
+        public double economyAverage() {
+            return totalPlayers > 0 ? economyTotal / totalPlayers : 0;
+        }
+    }
+
+    /**
+     * One row of the top-balance list.
+     */
+    public record TopBalance(UUID uuid, String name, double balance) {}
+
+    /**
+     * One point of the last-hour history.
+     */
+    public record Sample(long time, int online, double tps, long usedMb, double economyTotal) {}
+
+    private final PlayerStorageProvider playerStorage;
+    private final ConfigManager configManager;
+    private BanService banService;
+    private TempBanService tempBanService;
+    private MuteService muteService;
+    private FreezeService freezeService;
+    private WarpService warpService;
+    private KitService kitService;
+
+    // Economy aggregates, kept current by onWalletChanged/onPlayerCreated
+    private final ConcurrentHashMap<UUID, Double> balances = new ConcurrentHashMap<>();
+    private final DoubleAdder economyTotal = new DoubleAdder();
+    // Display names read by the last scan, for the top-balance list
+    private final ConcurrentHashMap<UUID, String> scannedNames = new ConcurrentHashMap<>();
+    // Players whose wallet changed while a scan is running, or null between scans
+    private volatile Set<UUID> changedDuringScan;
+    private volatile List<TopBalance> topBalances = List.of();
+    private volatile boolean balancesChanged = false;
+
+    private volatile Snapshot current;
+
+    // Last hour of samples, oldest at head
+    private Sample[] history = new Sample[1];
+    private int historyHead = 0;
+    private int historySize = 0;
+
+    private ScheduledExecutorService scheduler;
+
+    public ServerStatsSnapshot(PlayerStorageProvider playerStorage, ConfigManager configManager) {
+        this.playerStorage = playerStorage;
+        this.configManager = configManager;
+    }
+
+    public void setBanService(BanService banService) {
+        this.banService = banService;
+    }
+
+    public void setTempBanService(TempBanService tempBanService) {
+        this.tempBanService = tempBanService;
+    }
+
+    public void setMuteService(MuteService muteService) {
+        this.muteService = muteService;
+    }
+
+    public void setFreezeService(FreezeService freezeService) {
+        this.freezeService = freezeService;
+    }
+
+    public void setWarpService(WarpService warpService) {
+        this.warpService = warpService;
+    }
+
+    public void setKitService(KitService kitService) {
+        this.kitService = kitService;
+    }
+
+    // ==================== Lifecycle ====================
+
+    /**
+     * Scan the economy once and start the refresh task.
+     */
+    public void start() {
+        if (scheduler != null) return;
+        int interval = refreshSeconds();
+        resizeHistory(interval);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "EE-ServerStats");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.execute(() -> {
+            try {
+                scanEconomy();
+                topBalances = pickTopBalances();
+                refresh();
+            } catch (Exception e) {
+                logger.warning("[ServerStats] Initial scan failed: " + e.getMessage());
+            }
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                if (balancesChanged) {
+                    balancesChanged = false;
+                    topBalances = pickTopBalances();
+                }
+                refresh();
+            } catch (Exception e) {
+                // Keep the task alive; a failed refresh just leaves the previous snapshot
+                logger.warning("[ServerStats] Refresh failed: " + e.getMessage());
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Pick up a new refresh interval and re-read the economy (player storage may
+     * have been reloaded or migrated).
+     */
+    public void reload() {
+        shutdown();
+        start();
+    }
+
+    // ==================== Economy updates ====================
+
+    /**
+     * A player's wallet changed to {@code newBalance}.
+     */
+    public void onWalletChanged(UUID playerId, double oldBalance, double newBalance) {
+        if (oldBalance == newBalance) return;
+        setBalance(playerId, newBalance, true);
+        balancesChanged = true;
+    }
+
+    /**
+     * A player file was created with the given starting balance.
+     */
+    public void onPlayerCreated(UUID playerId, double startingBalance) {
+        setBalance(playerId, startingBalance, true);
+        if (startingBalance > 0) balancesChanged = true;
+    }
+
+    /**
+     * Record a player's balance and move the total by the difference. A live change
+     * always wins; a scanned value is dropped if the player changed during the scan.
+     */
+    private void setBalance(UUID playerId, double balance, boolean live) {
+        double[] delta = new double[1];
+        balances.compute(playerId, (id, previous) -> {
+            Set<UUID> changed = changedDuringScan;
+            if (live) {
+                if (changed != null) changed.add(id);
+            } else if (changed != null && changed.contains(id)) {
+                return previous;
+            }
+            delta[0] = balance - (previous != null ? previous : 0);
+            return balance;
+        });
+        if (delta[0] != 0) economyTotal.add(delta[0]);
+    }
+
+    /**
+     * Full pass over player storage, run at startup and on /ee reload only: the one
+     * place every player file is loaded. Scanned balances replace the stored ones,
+     * except for players whose wallet changed while the scan ran: their reported
+     * balance is newer than what was read.
+     */
+    private void scanEconomy() {
+        long started = System.currentTimeMillis();
+        balancesChanged = false;
+        changedDuringScan = ConcurrentHashMap.newKeySet();
+
+        List<PlayerFile> byWallet;
+        try {
+            byWallet = playerStorage.getPlayersByWallet();
+            scannedNames.clear();
+            for (PlayerFile pf : byWallet) {
+                setBalance(pf.getUuid(), pf.getWallet(), false);
+                if (pf.getName() != null) scannedNames.put(pf.getUuid(), pf.getName());
+            }
+        } finally {
+            changedDuringScan = null;
+        }
+
+        if (configManager.isDebugEnabled()) {
+            logger.info("[ServerStats] Economy scan: " + byWallet.size() + " players in "
+                + (System.currentTimeMillis() - started) + "ms");
+        }
+    }
+
+    /**
+     * The highest balances, picked from the in-memory map with a bounded heap. Players
+     * created since the last scan are named from the storage name index.
+     */
+    private List<TopBalance> pickTopBalances() {
+        PriorityQueue<Map.Entry<UUID, Double>> heap = new PriorityQueue<>(TOP_BALANCES + 1,
+            Map.Entry.comparingByValue());
+        for (Map.Entry<UUID, Double> entry : balances.entrySet()) {
+            heap.add(Map.entry(entry.getKey(), entry.getValue()));
+            if (heap.size() > TOP_BALANCES) heap.poll();
+        }
+
+        List<Map.Entry<UUID, Double>> top = new ArrayList<>(heap);
+        top.sort(Map.Entry.<UUID, Double>comparingByValue().reversed());
+
+        Map<UUID, String> names = new HashMap<>();
+        Set<UUID> unnamed = new HashSet<>();
+        for (Map.Entry<UUID, Double> entry : top) {
+            String name = scannedNames.get(entry.getKey());
+            if (name != null) names.put(entry.getKey(), name);
+            else unnamed.add(entry.getKey());
+        }
+        if (!unnamed.isEmpty()) {
+            for (Map.Entry<String, UUID> indexed : playerStorage.getNameIndex().entrySet()) {
+                if (unnamed.contains(indexed.getValue())) names.put(indexed.getValue(), indexed.getKey());
+            }
+        }
+
+        List<TopBalance> result = new ArrayList<>(top.size());
+        for (Map.Entry<UUID, Double> entry : top) {
+            UUID uuid = entry.getKey();
+            result.add(new TopBalance(uuid, names.getOrDefault(uuid, uuid.toString()), entry.getValue()));
+        }
+        return List.copyOf(result);
+    }
+
+    // ==================== Refresh ====================
+
+    private void refresh() {
+        long now = System.currentTimeMillis();
+
+        int online = 0;
+        int targetTps = 30;
+        try {
+            online = Universe.get().getPlayers().size();
+            World world = Universe.get().getWorld("default");
+            if (world != null) targetTps = world.getTps();
+        } catch (Exception ignored) {
+            // Universe not ready yet
+        }
+
+        Runtime rt = Runtime.getRuntime();
+        long usedMb = (rt.totalMemory() - rt.freeMemory()) / (1024 * 1024);
+        long maxMb = rt.maxMemory() / (1024 * 1024);
+
+        int bans = 0, mutes = 0, frozen = 0, warps = 0, kits = 0;
+        if (banService != null) bans += banService.getBanCount();
+        if (tempBanService != null) bans += tempBanService.getBanCount();
+        if (muteService != null) mutes = muteService.getMuteCount();
+        if (freezeService != null) frozen = freezeService.getFrozenCount();
+        if (warpService != null) warps = warpService.getWarpCount();
+        if (kitService != null) kits = kitService.getKitCount();
+
+        double tps = TpsTracker.get().getTps();
+        double economy = economyTotal.sum();
+        current = new Snapshot(now, online, tps, targetTps, usedMb, maxMb, now - START_TIME,
+            bans, mutes, frozen, warps, kits, balances.size(), economy, topBalances);
+        addSample(new Sample(now, online, tps, usedMb, economy));
+    }
+
+    // ==================== Reads ====================
+
+    /**
+     * The latest snapshot. Before the first refresh has run, one is taken on the
+     * calling thread.
+     */
+    public Snapshot get() {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            refresh();
+            snapshot = current;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Samples from the last hour, oldest first.
+     */
+    public synchronized List<Sample> getHistory() {
+        List<Sample> result = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            result.add(history[(historyHead + i) % history.length]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    // ==================== History ring ====================
+
+    private synchronized void resizeHistory(int intervalSeconds) {
+        int capacity = (int) Math.max(1, HISTORY_MS / (intervalSeconds * 1000L));
+        if (capacity == history.length) return;
+        List<Sample> kept = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            kept.add(history[(historyHead + i) % history.length]);
+        }
+        history = new Sample[capacity];
+        historyHead = 0;
+        historySize = 0;
+        for (Sample sample : kept.subList(Math.max(0, kept.size() - capacity), kept.size())) {
+            history[historySize++] = sample;
+        }
+    }
+
+    private synchronized void addSample(Sample sample) {
+        if (historySize < history.length) {
+            history[(historyHead + historySize) % history.length] = sample;
+            historySize++;
+        } else {
+            history[historyHead] = sample;
+            historyHead = (historyHead + 1) % history.length;
+        }
+    }
+
+    private int refreshSeconds() {
+        return Math.max(1, configManager.getConfig().gui.statsRefreshSeconds);
+    }
+}
@@ -18,33 +18,58 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
 /**
- * Service that monitors sleeping players and triggers night skip
+ * Service that tracks sleeping players and triggers night skip
  * when the configured percentage of players are sleeping.
+ *
+ * Counts are kept per world and updated from events: bed enter/leave
+ * ({@link com.eliteessentials.systems.SleepTrackingSystem}), world join/leave (from the
+ * {@link OnlinePlayerIndex}, which owns player-to-world tracking) and AFK changes. A world is only evaluated (on its own thread) when one of its counts changes,
+ * plus once when a nodding-off player crosses the counting threshold. A slow full recount
+ * of every world runs as a safety net in case an event was missed.
  */
-public class SleepService {
+public class SleepService implements OnlinePlayerIndex.WorldListener {
 
     private static final Logger logger = Logger.getLogger("EliteEssentials");
 
     // Time in milliseconds a player must be in NoddingOff state before counting as sleeping
     private static final long NODDING_OFF_THRESHOLD_MS = 3200;
 
+    // Full recount of every world, in case a state change was missed
+    private static final long SAFETY_NET_INTERVAL_SECONDS = 15;
+
     private final ConfigManager configManager;
     private final ScheduledExecutorService scheduler;
     private volatile boolean initialized = false;
     
     // Per-world sleep state tracking to prevent race conditions
     private final Map<String, WorldSleepState> worldSleepStates = new ConcurrentHashMap<>();
+    private OnlinePlayerIndex onlinePlayerIndex;
     
+    /**
+     * Running counts for one world. Guarded by synchronizing on the instance.
+     */
     private static class WorldSleepState {
+        volatile World world;
+        final Set<UUID> players = new HashSet<>();
+        // Player UUID -> epoch millis from which they count as sleeping (0 = Slumber)
+        final Map<UUID, Long> sleepers = new HashMap<>();
+        final AtomicBoolean evaluationQueued = new AtomicBoolean();
+        long recheckAt = 0;
+
         volatile boolean slumberTriggered = false;
         volatile int lastSleepingCount = -1;
         volatile int lastAfkCount = -1;
@@ -68,19 +93,128 @@ public class SleepService {
         // Delay start by 10 seconds to let the world fully initialize
         scheduler.schedule(() -> initialized = true, 10, TimeUnit.SECONDS);
         
-        // Check every 1 second
-        scheduler.scheduleAtFixedRate(this::checkSleepingPlayers, 10, 1, TimeUnit.SECONDS);
+        // Safety net: full recount, also picks up players already online at startup/reload
+        scheduler.scheduleAtFixedRate(this::recountAllWorlds, 10, SAFETY_NET_INTERVAL_SECONDS, TimeUnit.SECONDS);
     }
 
-    private void checkSleepingPlayers() {
-        if (!initialized || !configManager.getConfig().sleep.enabled) {
-            return;
+    /**
+     * Follow world join/leave for running player counts.
+     */
+    public void setOnlinePlayerIndex(OnlinePlayerIndex onlinePlayerIndex) {
+        this.onlinePlayerIndex = onlinePlayerIndex;
+        onlinePlayerIndex.addWorldListener(this);
+    }
+
+    // ==================== Count updates ====================
+
+    @Override
+    public void onPlayerEnterWorld(UUID playerId, World world) {
+        WorldSleepState sleepState = getState(world);
+        synchronized (sleepState) {
+            sleepState.players.add(playerId);
         }
-        
-        int requiredPercent = configManager.getConfig().sleep.sleepPercentage;
-        
+        requestEvaluation(sleepState);
+    }
+
+    @Override
+    public void onPlayerLeaveWorld(UUID playerId, String worldName) {
+        WorldSleepState sleepState = worldSleepStates.get(worldName);
+        if (sleepState == null) return;
+        synchronized (sleepState) {
+            sleepState.players.remove(playerId);
+            sleepState.sleepers.remove(playerId);
+        }
+        requestEvaluation(sleepState);
+    }
+
+    /**
+     * A player's sleep state changed (bed enter/leave, nodding off, waking up).
+     * Called on the world thread by {@link com.eliteessentials.systems.SleepTrackingSystem}.
+     *
+     * @param state new sleep state, or null if the component was removed
+     */
+    public void onSleepStateChanged(UUID playerId, World world, PlayerSleep state) {
+        WorldSleepState sleepState = getState(world);
+        boolean changed;
+        synchronized (sleepState) {
+            Long countsFrom = countsAsSleepingFrom(state);
+            if (countsFrom == null) {
+                changed = sleepState.sleepers.remove(playerId) != null;
+            } else {
+                sleepState.players.add(playerId);
+                changed = !countsFrom.equals(sleepState.sleepers.put(playerId, countsFrom));
+            }
+        }
+        if (changed) {
+            requestEvaluation(sleepState);
+        }
+    }
+
+    /**
+     * A player went AFK or came back; changes the total when AFK players are excluded.
+     */
+    public void onAfkChanged(UUID playerId) {
+        if (!configManager.getConfig().afk.excludeFromSleep || onlinePlayerIndex == null) return;
+        OnlinePlayerIndex.OnlinePlayer player = onlinePlayerIndex.getPlayer(playerId);
+        if (player == null) return;
+        WorldSleepState sleepState = worldSleepStates.get(player.getWorldName());
+        if (sleepState != null) {
+            requestEvaluation(sleepState);
+        }
+    }
+
+    /**
+     * @return epoch millis from which a player in this state counts as sleeping
+     *         (0 for Slumber), or null if they are awake
+     */
+    private static Long countsAsSleepingFrom(PlayerSleep state) {
+        // Only count players in Slumber state (fully asleep - game only allows this at night)
+        if (state instanceof PlayerSleep.Slumber) {
+            return 0L;
+        }
+        // Count NoddingOff only once enough time has passed
+        if (state instanceof PlayerSleep.NoddingOff noddingOff) {
+            return noddingOff.realTimeStart().toEpochMilli() + NODDING_OFF_THRESHOLD_MS;
+        }
+        return null;
+    }
+
+    private WorldSleepState getState(World world) {
+        WorldSleepState sleepState = worldSleepStates.computeIfAbsent(world.getName(), k -> new WorldSleepState());
+        sleepState.world = world;
+        return sleepState;
+    }
+
+    // ==================== Evaluation ====================
+
+    /**
+     * Queue an evaluation on the world's thread. Several changes before it runs
+     * collapse into one evaluation.
+     */
+    private void requestEvaluation(WorldSleepState sleepState) {
+        World world = sleepState.world;
+        if (!initialized || world == null || !isActive()) return;
+        if (!sleepState.evaluationQueued.compareAndSet(false, true)) return;
+        try {
+            world.execute(() -> {
+                sleepState.evaluationQueued.set(false);
+                evaluateWorld(world, sleepState);
+            });
+        } catch (Exception e) {
+            sleepState.evaluationQueued.set(false);
+        }
+    }
+
+    private boolean isActive() {
         // If 100%, let vanilla handle it
-        if (requiredPercent >= 100) {
+        return configManager.getConfig().sleep.enabled && configManager.getConfig().sleep.sleepPercentage < 100;
+    }
+
+    /**
+     * Safety net: rebuild every world's counts from the live components, then evaluate.
+     */
+    private void recountAllWorlds() {
+        if (!initialized || !isActive()) {
             return;
         }
         
@@ -89,137 +223,186 @@ public class SleepService {
             if (universe == null) return;
             
             for (World world : universe.getWorlds().values()) {
-                checkWorldSleep(world, requiredPercent);
+                WorldSleepState sleepState = getState(world);
+                world.execute(() -> recountWorld(world, sleepState));
             }
         } catch (Exception e) {
             // Silently ignore - universe might not be ready
         }
     }
 
-    private void checkWorldSleep(World world, int requiredPercent) {
-        // Get or create per-world state BEFORE entering world.execute()
-        String worldName = world.getName();
-        WorldSleepState sleepState = worldSleepStates.computeIfAbsent(worldName, k -> new WorldSleepState());
-        
-        world.execute(() -> {
-            try {
-                EntityStore entityStore = world.getEntityStore();
-                if (entityStore == null) return;
-                
-                Store<EntityStore> store = entityStore.getStore();
-                if (store == null) return;
-                
-                // Get WorldSomnolence resource - this tracks the world's sleep state
-                WorldSomnolence worldSomnolence = store.getResource(WorldSomnolence.getResourceType());
-                if (worldSomnolence == null) return;
-                
-                // If world is already in slumber (skipping to morning), don't interfere
-                if (worldSomnolence.getState() instanceof WorldSlumber) {
-                    return;
+    private void recountWorld(World world, WorldSleepState sleepState) {
+        try {
+            EntityStore entityStore = world.getEntityStore();
+            if (entityStore == null) return;
+            Store<EntityStore> store = entityStore.getStore();
+            if (store == null) return;
+
+            Set<UUID> players = new HashSet<>();
+            Map<UUID, Long> sleepers = new HashMap<>();
+            for (PlayerRef player : world.getPlayerRefs()) {
+                if (player == null || player.getUuid() == null) continue;
+                players.add(player.getUuid());
+
+                Ref<EntityStore> ref = player.getReference();
+                if (ref == null) continue;
+                PlayerSomnolence somnolence = store.getComponent(ref, PlayerSomnolence.getComponentType());
+                Long countsFrom = somnolence != null ? countsAsSleepingFrom(somnolence.getSleepState()) : null;
+                if (countsFrom != null) {
+                    sleepers.put(player.getUuid(), countsFrom);
+                }
+            }
+
+            synchronized (sleepState) {
+                if (configManager.isDebugEnabled()
+                        && (!players.equals(sleepState.players) || !sleepers.equals(sleepState.sleepers))) {
+                    logger.info("[Sleep] " + world.getName() + ": recount corrected tracked sleep counts");
                 }
-                
-                List<PlayerRef> players = new ArrayList<>(world.getPlayerRefs());
-                if (players.isEmpty()) return;
-                
-                // Exclude AFK players from total count if configured
-                int afkCount = 0;
-                AfkService afkService = com.eliteessentials.EliteEssentials.getInstance().getAfkService();
-                boolean excludeAfk = configManager.getConfig().afk.excludeFromSleep && afkService != null;
+                sleepState.players.clear();
+                sleepState.players.addAll(players);
+                sleepState.sleepers.clear();
+                sleepState.sleepers.putAll(sleepers);
+            }
+        } catch (Exception e) {
+            // Silently ignore errors
+        }
+        evaluateWorld(world, sleepState);
+    }
+
+    /**
+     * Check a world's counts against the required percentage. Runs on the world thread.
+     */
+    private void evaluateWorld(World world, WorldSleepState sleepState) {
+        if (!isActive()) return;
+        String worldName = world.getName();
+        int requiredPercent = configManager.getConfig().sleep.sleepPercentage;
+
+        try {
+            EntityStore entityStore = world.getEntityStore();
+            if (entityStore == null) return;
+            
+            Store<EntityStore> store = entityStore.getStore();
+            if (store == null) return;
+            
+            // Get WorldSomnolence resource - this tracks the world's sleep state
+            WorldSomnolence worldSomnolence = store.getResource(WorldSomnolence.getResourceType());
+            if (worldSomnolence == null) return;
+            
+            // If world is already in slumber (skipping to morning), don't interfere
+            if (worldSomnolence.getState() instanceof WorldSlumber) {
+                return;
+            }
+            
+            // Read the running counts
+            int playerCount;
+            int afkCount = 0;
+            int sleepingPlayers = 0;
+            long nextThreshold = Long.MAX_VALUE;
+            long now = System.currentTimeMillis();
+            AfkService afkService = com.eliteessentials.EliteEssentials.getInstance().getAfkService();
+            boolean excludeAfk = configManager.getConfig().afk.excludeFromSleep && afkService != null;
+            synchronized (sleepState) {
+                playerCount = sleepState.players.size();
                 if (excludeAfk) {
-                    for (PlayerRef player : players) {
-                        if (player != null && player.getUuid() != null && afkService.isAfk(player.getUuid())) {
+                    for (UUID playerId : sleepState.players) {
+                        if (afkService.isAfk(playerId)) {
                             afkCount++;
                         }
                     }
-                    if (afkCount > 0 && configManager.isDebugEnabled() && afkCount != sleepState.lastAfkCount) {
-                        logger.info("[Sleep] Excluding " + afkCount + " AFK player(s) from sleep percentage");
-                    }
-                    sleepState.lastAfkCount = afkCount;
                 }
-                
-                int totalPlayers = players.size() - afkCount;
-                if (totalPlayers <= 0) return; // All players are AFK
-                int sleepingPlayers = 0;
-                
-                // Check if it's nighttime using game time. Hytale's getGameTime() returns
-                // an Instant whose UTC hour maps directly to the in-game hour.
-                WorldTimeResource timeResource = store.getResource(WorldTimeResource.getResourceType());
-                if (timeResource == null) return;
-                
-                Instant gameTime = timeResource.getGameTime();
-                LocalDateTime currentDateTime = LocalDateTime.ofInstant(gameTime, ZoneOffset.UTC);
-                double currentFractionalHour = currentDateTime.getHour() + currentDateTime.getMinute() / 60.0;
-                
-                double nightStart = configManager.getConfig().sleep.nightStartHour;
-                double morningHour = configManager.getConfig().sleep.morningHour;
-                
-                boolean isNighttime;
-                if (nightStart > morningHour) {
-                    // Night spans midnight (e.g., 19.5 to 5.5)
-                    isNighttime = currentFractionalHour >= nightStart || currentFractionalHour < morningHour;
-                } else {
-                    isNighttime = currentFractionalHour >= nightStart && currentFractionalHour < morningHour;
-                }
-                
-                if (!isNighttime) {
-                    sleepState.reset();
-                    return;
-                }
-                
-                for (PlayerRef player : players) {
-                    Ref<EntityStore> ref = player.getReference();
-                    if (ref == null) continue;
-                    
-                    PlayerSomnolence somnolence = store.getComponent(ref, PlayerSomnolence.getComponentType());
-                    if (somnolence == null) continue;
-                    
-                    PlayerSleep state = somnolence.getSleepState();
-                    
-                    // Only count players in Slumber state (fully asleep - game only allows this at night)
-                    if (state instanceof PlayerSleep.Slumber) {
+                for (long countsFrom : sleepState.sleepers.values()) {
+                    if (countsFrom <= now) {
                         sleepingPlayers++;
+                    } else {
+                        nextThreshold = Math.min(nextThreshold, countsFrom);
                     }
-                    // Count NoddingOff only if enough time has passed
-                    else if (state instanceof PlayerSleep.NoddingOff noddingOff) {
-                        Instant threshold = noddingOff.realTimeStart().plusMillis(NODDING_OFF_THRESHOLD_MS);
-                        if (Instant.now().isAfter(threshold)) {
-                            sleepingPlayers++;
-                        }
-                    }
-                }
-                
-                // Reset when no one is sleeping
-                if (sleepingPlayers == 0) {
-                    sleepState.reset();
-                    return;
                 }
-                
-                if (configManager.isDebugEnabled() && sleepingPlayers != sleepState.lastSleepingCount) {
-                    logger.info("[Sleep] " + worldName + ": " + sleepingPlayers + "/" + totalPlayers 
-                            + " players sleeping (need " + requiredPercent + "%)");
+            }
+            if (playerCount == 0) return;
+            
+            // Re-evaluate when the next nodding-off player starts to count
+            if (nextThreshold != Long.MAX_VALUE) {
+                scheduleRecheck(sleepState, nextThreshold);
+            }
+            
+            // Exclude AFK players from total count if configured
+            if (excludeAfk) {
+                if (afkCount > 0 && configManager.isDebugEnabled() && afkCount != sleepState.lastAfkCount) {
+                    logger.info("[Sleep] Excluding " + afkCount + " AFK player(s) from sleep percentage");
                 }
-                
-                // Calculate percentage and check threshold
-                int currentPercent = (sleepingPlayers * 100) / totalPlayers;
-                int playersNeeded = Math.max(1, (int) Math.ceil(totalPlayers * requiredPercent / 100.0));
-                
-                // Synchronized block to prevent race conditions between check and update
-                synchronized (sleepState) {
-                    if (currentPercent >= requiredPercent && !sleepState.slumberTriggered) {
-                        triggerSlumber(store, world, worldSomnolence, players, sleepingPlayers, playersNeeded);
-                        sleepState.slumberTriggered = true;
-                        sleepState.lastSleepingCount = sleepingPlayers;
-                    } else if (sleepingPlayers != sleepState.lastSleepingCount && !sleepState.slumberTriggered && sleepingPlayers > 0) {
-                        // Only send message if count changed, slumber not triggered, and someone is sleeping
-                        sleepState.lastSleepingCount = sleepingPlayers;
-                        sendSleepMessage(players, sleepingPlayers, playersNeeded);
-                    }
+                sleepState.lastAfkCount = afkCount;
+            }
+            
+            int totalPlayers = playerCount - afkCount;
+            if (totalPlayers <= 0) return; // All players are AFK
+            
+            // Check if it's nighttime using game time. Hytale's getGameTime() returns
+            // an Instant whose UTC hour maps directly to the in-game hour.
+            WorldTimeResource timeResource = store.getResource(WorldTimeResource.getResourceType());
+            if (timeResource == null) return;
+            
+            Instant gameTime = timeResource.getGameTime();
+            LocalDateTime currentDateTime = LocalDateTime.ofInstant(gameTime, ZoneOffset.UTC);
+            double currentFractionalHour = currentDateTime.getHour() + currentDateTime.getMinute() / 60.0;
+            
+            double nightStart = configManager.getConfig().sleep.nightStartHour;
+            double morningHour = configManager.getConfig().sleep.morningHour;
+            
+            boolean isNighttime;
+            if (nightStart > morningHour) {
+                // Night spans midnight (e.g., 19.5 to 5.5)
+                isNighttime = currentFractionalHour >= nightStart || currentFractionalHour < morningHour;
+            } else {
+                isNighttime = currentFractionalHour >= nightStart && currentFractionalHour < morningHour;
+            }
+            
+            if (!isNighttime) {
+                sleepState.reset();
+                return;
+            }
+            
+            // Reset when no one is sleeping
+            if (sleepingPlayers == 0) {
+                sleepState.reset();
+                return;
+            }
+            
+            if (configManager.isDebugEnabled() && sleepingPlayers != sleepState.lastSleepingCount) {
+                logger.info("[Sleep] " + worldName + ": " + sleepingPlayers + "/" + totalPlayers 
+                        + " players sleeping (need " + requiredPercent + "%)");
+            }
+            
+            // Calculate percentage and check threshold
+            int currentPercent = (sleepingPlayers * 100) / totalPlayers;
+            int playersNeeded = Math.max(1, (int) Math.ceil(totalPlayers * requiredPercent / 100.0));
+            
+            // Synchronized block to prevent race conditions between check and update
+            synchronized (sleepState) {
+                if (currentPercent >= requiredPercent && !sleepState.slumberTriggered) {
+                    List<PlayerRef> players = new ArrayList<>(world.getPlayerRefs());
+                    triggerSlumber(store, world, worldSomnolence, players, sleepingPlayers, playersNeeded);
+                    sleepState.slumberTriggered = true;
+                    sleepState.lastSleepingCount = sleepingPlayers;
+                } else if (sleepingPlayers != sleepState.lastSleepingCount && !sleepState.slumberTriggered && sleepingPlayers > 0) {
+                    // Only send message if count changed, slumber not triggered, and someone is sleeping
+                    sleepState.lastSleepingCount = sleepingPlayers;
+                    sendSleepMessage(new ArrayList<>(world.getPlayerRefs()), sleepingPlayers, playersNeeded);
                 }
-                
-            } catch (Exception e) {
-                // Silently ignore errors
             }
-        });
+            
+        } catch (Exception e) {
+            // Silently ignore errors
+        }
+    }
+
+    private void scheduleRecheck(WorldSleepState sleepState, long at) {
+        synchronized (sleepState) {
+            // An earlier (or the same) recheck is already pending
+            if (sleepState.recheckAt > System.currentTimeMillis() && sleepState.recheckAt <= at) return;
+            sleepState.recheckAt = at;
+        }
+        long delay = Math.max(0, at - System.currentTimeMillis());
+        scheduler.schedule(() -> requestEvaluation(sleepState), delay, TimeUnit.MILLISECONDS);
     }
     
     private void sendSleepMessage(List<PlayerRef> players, int sleeping, int needed) {
@@ -1,72 +1,234 @@
 package com.eliteessentials.services;
 
 import com.eliteessentials.config.ConfigManager;
+import com.eliteessentials.config.PluginConfig;
+import com.eliteessentials.model.ProtectedRegion;
 import com.eliteessentials.permissions.PermissionService;
 import com.eliteessentials.permissions.Permissions;
+import com.eliteessentials.storage.GlobalStorageProvider;
 import com.eliteessentials.storage.SpawnStorage;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3i;
 
 import java.util.*;
+import java.util.logging.Logger;
 
 /**
- * Service for managing spawn protection.
- * Protects blocks within a configurable radius of spawn points from being modified.
- * Supports per-world, multi-spawn protection - each spawn point with protection=true
- * gets its own protection zone.
+ * Service for managing spawn protection and admin-defined protected regions.
+ *
+ * Every protected spawn point becomes a square region of the configured radius whose
+ * flags come from the spawnProtection config. Admin regions (cuboids/cylinders with
+ * priorities and per-flag overrides) are stored through {@link GlobalStorageProvider}
+ * and layered on top. Lookups go through a per-world {@link ProtectedRegionIndex}
+ * which is rebuilt and swapped whenever spawns, regions or config change, so the
+ * ECS event handlers never scan or allocate.
  */
 public class SpawnProtectionService {
 
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+
+    /** Priority of generated spawn regions. Admin regions at the same priority win ties. */
+    public static final int SPAWN_PRIORITY = 0;
+
     private final ConfigManager configManager;
-    
+    private GlobalStorageProvider regionStorage;
+
     // Per-world spawn coordinates (supports multiple per world)
     private final Map<String, List<SpawnLocation>> worldSpawns = new HashMap<>();
 
+    // World name -> immutable lookup index, swapped atomically on rebuild
+    private volatile Map<String, ProtectedRegionIndex> worldIndexes = Collections.emptyMap();
+
     public SpawnProtectionService(ConfigManager configManager) {
         this.configManager = configManager;
     }
 
+    /**
+     * Set the storage used to persist admin-defined regions.
+     */
+    public void setRegionStorage(GlobalStorageProvider regionStorage) {
+        this.regionStorage = regionStorage;
+        rebuildIndex();
+    }
+
     /**
      * Set a single spawn location for a world (backward compatible).
      * Replaces all spawn locations for that world with just this one.
      */
     public void setSpawnLocation(String worldName, double x, double y, double z) {
-        List<SpawnLocation> list = new ArrayList<>();
-        list.add(new SpawnLocation(x, y, z));
-        worldSpawns.put(worldName, list);
+        synchronized (worldSpawns) {
+            List<SpawnLocation> list = new ArrayList<>();
+            list.add(new SpawnLocation(x, y, z));
+            worldSpawns.put(worldName, list);
+        }
+        rebuildIndex();
     }
-    
+
     /**
      * Load spawn locations from SpawnStorage.
      * Only loads spawn points that have protection=true.
+     * Also re-reads the spawn protection config, so this doubles as the reload hook.
      */
     public void loadFromStorage(SpawnStorage spawnStorage) {
-        worldSpawns.clear();
-        Map<String, List<SpawnStorage.SpawnData>> protectedSpawns = spawnStorage.getAllProtectedSpawns();
-        for (Map.Entry<String, List<SpawnStorage.SpawnData>> entry : protectedSpawns.entrySet()) {
-            List<SpawnLocation> locations = new ArrayList<>();
-            for (SpawnStorage.SpawnData spawn : entry.getValue()) {
-                locations.add(new SpawnLocation(spawn.x, spawn.y, spawn.z));
+        synchronized (worldSpawns) {
+            worldSpawns.clear();
+            Map<String, List<SpawnStorage.SpawnData>> protectedSpawns = spawnStorage.getAllProtectedSpawns();
+            for (Map.Entry<String, List<SpawnStorage.SpawnData>> entry : protectedSpawns.entrySet()) {
+                List<SpawnLocation> locations = new ArrayList<>();
+                for (SpawnStorage.SpawnData spawn : entry.getValue()) {
+                    locations.add(new SpawnLocation(spawn.x, spawn.y, spawn.z));
+                }
+                if (!locations.isEmpty()) {
+                    worldSpawns.put(entry.getKey(), locations);
+                }
             }
-            if (!locations.isEmpty()) {
-                worldSpawns.put(entry.getKey(), locations);
+        }
+        rebuildIndex();
+    }
+
+    // ==================== Admin Regions ====================
+
+    /**
+     * Get all admin-defined regions, keyed by lowercase name.
+     */
+    public Map<String, ProtectedRegion> getRegions() {
+        return regionStorage != null ? regionStorage.getAllRegions() : Collections.emptyMap();
+    }
+
+    /**
+     * Get an admin-defined region by name.
+     */
+    public Optional<ProtectedRegion> getRegion(String name) {
+        return regionStorage != null ? regionStorage.getRegion(name) : Optional.empty();
+    }
+
+    /**
+     * Create or replace an admin-defined region and refresh the lookup index.
+     */
+    public void saveRegion(ProtectedRegion region) {
+        if (regionStorage == null) {
+            logger.warning("[Regions] Cannot save region '" + region.getName() + "': no storage configured.");
+            return;
+        }
+        regionStorage.setRegion(region);
+        rebuildIndex();
+    }
+
+    /**
+     * Delete an admin-defined region and refresh the lookup index.
+     */
+    public boolean deleteRegion(String name) {
+        if (regionStorage == null) return false;
+        boolean removed = regionStorage.deleteRegion(name);
+        if (removed) {
+            rebuildIndex();
+        }
+        return removed;
+    }
+
+    /**
+     * Rebuild all per-world indexes from the current spawns, regions and config.
+     */
+    public synchronized void rebuildIndex() {
+        Map<String, List<ProtectedRegionIndex.Region>> byWorld = new HashMap<>();
+
+        // Admin regions first so they win priority ties against spawn regions (stable sort)
+        for (ProtectedRegion region : getRegions().values()) {
+            if (region.getWorld() == null || region.getName() == null) continue;
+            byWorld.computeIfAbsent(region.getWorld(), k -> new ArrayList<>())
+                    .add(ProtectedRegionIndex.Region.of(region));
+        }
+
+        PluginConfig.SpawnProtectionConfig config = configManager.getConfig().spawnProtection;
+        if (config.enabled) {
+            byte[] spawnFlags = buildSpawnFlagStates(config);
+            double minY = config.minY == -1 ? Double.NEGATIVE_INFINITY : config.minY;
+            double maxY = config.maxY == -1 ? Double.POSITIVE_INFINITY : config.maxY;
+            synchronized (worldSpawns) {
+                for (Map.Entry<String, List<SpawnLocation>> entry : worldSpawns.entrySet()) {
+                    List<SpawnLocation> spawns = entry.getValue();
+                    for (int i = 0; i < spawns.size(); i++) {
+                        SpawnLocation spawn = spawns.get(i);
+                        byWorld.computeIfAbsent(entry.getKey(), k -> new ArrayList<>())
+                                .add(ProtectedRegionIndex.Region.spawn("spawn:" + entry.getKey() + "#" + i,
+                                        spawn.x, spawn.z, config.radius, minY, maxY, SPAWN_PRIORITY, spawnFlags));
+                    }
+                }
             }
         }
+
+        Map<String, ProtectedRegionIndex> indexes = new HashMap<>();
+        for (Map.Entry<String, List<ProtectedRegionIndex.Region>> entry : byWorld.entrySet()) {
+            indexes.put(entry.getKey(), ProtectedRegionIndex.build(entry.getValue()));
+        }
+        worldIndexes = Collections.unmodifiableMap(indexes);
+    }
+
+    private byte[] buildSpawnFlagStates(PluginConfig.SpawnProtectionConfig config) {
+        byte[] states = new byte[ProtectedRegion.Flag.values().length];
+        states[ProtectedRegion.Flag.BREAK.ordinal()] = ProtectedRegionIndex.DENY;
+        states[ProtectedRegion.Flag.PLACE.ordinal()] = ProtectedRegionIndex.DENY;
+        if (config.disablePvp) states[ProtectedRegion.Flag.PVP.ordinal()] = ProtectedRegionIndex.DENY;
+        if (config.disableAllDamage) states[ProtectedRegion.Flag.DAMAGE.ordinal()] = ProtectedRegionIndex.DENY;
+        if (config.disableInteractions) states[ProtectedRegion.Flag.INTERACT.ordinal()] = ProtectedRegionIndex.DENY;
+        if (config.disableItemPickup) states[ProtectedRegion.Flag.PICKUP.ordinal()] = ProtectedRegionIndex.DENY;
+        if (config.disableItemDrop) states[ProtectedRegion.Flag.DROP.ordinal()] = ProtectedRegionIndex.DENY;
+        return states;
+    }
+
+    // ==================== Lookups ====================
+
+    /**
+     * Get the lookup index for a world, or null if the world has no regions.
+     * This is the hot-path entry point used by the ECS protection systems.
+     */
+    public ProtectedRegionIndex getIndex(String worldName) {
+        return worldIndexes.get(worldName);
+    }
+
+    /**
+     * Find the region denying a flag at a position.
+     *
+     * @return the deciding region, or null if the action is allowed
+     */
+    public ProtectedRegionIndex.Region findDenyingRegion(String worldName, double x, double y, double z,
+                                                         ProtectedRegion.Flag flag) {
+        ProtectedRegionIndex index = worldIndexes.get(worldName);
+        if (index == null || !index.anyDenies(flag)) return null;
+        return index.findDenying(x, y, z, flag);
     }
 
     /**
-     * Check if spawn protection is enabled and at least one spawn is set.
+     * Check if a flag is denied for a player at a position, taking bypass permissions into account.
+     */
+    public boolean isDenied(UUID playerId, String worldName, double x, double y, double z,
+                            ProtectedRegion.Flag flag) {
+        ProtectedRegionIndex.Region region = findDenyingRegion(worldName, x, y, z, flag);
+        return region != null && (playerId == null || !canBypass(playerId, region));
+    }
+
+    /**
+     * Check if spawn protection or any admin region is active.
      */
     public boolean isEnabled() {
-        return configManager.getConfig().spawnProtection.enabled && !worldSpawns.isEmpty();
+        return !worldIndexes.isEmpty();
     }
-    
+
     /**
-     * Check if a specific world has spawn protection.
+     * Check if a specific world has a protected spawn point.
      */
     public boolean hasSpawnInWorld(String worldName) {
-        List<SpawnLocation> list = worldSpawns.get(worldName);
-        return list != null && !list.isEmpty();
+        synchronized (worldSpawns) {
+            List<SpawnLocation> list = worldSpawns.get(worldName);
+            return list != null && !list.isEmpty();
+        }
+    }
+
+    /**
+     * Check if a specific world has any protected regions (spawn or admin).
+     */
+    public boolean hasRegionsInWorld(String worldName) {
+        return worldIndexes.containsKey(worldName);
     }
 
     /**
@@ -75,28 +237,28 @@ public class SpawnProtectionService {
     public boolean isPvpProtectionEnabled() {
         return configManager.getConfig().spawnProtection.disablePvp;
     }
-    
+
     /**
      * Check if ALL damage protection is enabled in spawn area.
      */
     public boolean isAllDamageProtectionEnabled() {
         return configManager.getConfig().spawnProtection.disableAllDamage;
     }
-    
+
     /**
      * Check if block interactions are disabled in spawn area.
      */
     public boolean isInteractionProtectionEnabled() {
         return configManager.getConfig().spawnProtection.disableInteractions;
     }
-    
+
     /**
      * Check if item pickups are disabled in spawn area.
      */
     public boolean isItemPickupProtectionEnabled() {
         return configManager.getConfig().spawnProtection.disableItemPickup;
     }
-    
+
     /**
      * Check if item drops are disabled in spawn area.
      */
@@ -112,133 +274,75 @@ public class SpawnProtectionService {
     }
 
     /**
-     * Check if X/Z coordinates are within ANY protected spawn area of a specific world.
+     * Check if X/Z coordinates are within ANY protected area of a specific world.
      */
     public boolean isInProtectedArea(String worldName, int x, int z) {
-        if (!isEnabled()) return false;
-        
-        List<SpawnLocation> spawns = worldSpawns.get(worldName);
-        if (spawns == null) return false;
-        
-        int radius = getRadius();
-        for (SpawnLocation spawn : spawns) {
-            double dx = Math.abs(x - spawn.x);
-            double dz = Math.abs(z - spawn.z);
-            if (dx <= radius && dz <= radius) {
-                return true;
-            }
-        }
-        return false;
+        ProtectedRegionIndex index = worldIndexes.get(worldName);
+        return index != null && index.coversColumn(x, z);
     }
 
     /**
-     * Check if a block position is within ANY protected spawn area of a specific world.
+     * Check if a block position is within ANY protected area of a specific world.
      */
     public boolean isInProtectedArea(String worldName, Vector3i blockPos) {
-        if (!isEnabled()) return false;
-        
-        List<SpawnLocation> spawns = worldSpawns.get(worldName);
-        if (spawns == null) return false;
-        
-        int radius = getRadius();
-        for (SpawnLocation spawn : spawns) {
-            double dx = Math.abs(blockPos.getX() - spawn.x);
-            double dz = Math.abs(blockPos.getZ() - spawn.z);
-            
-            if (dx <= radius && dz <= radius && isInYRange(blockPos.getY())) {
-                return true;
-            }
-        }
-        return false;
+        ProtectedRegionIndex index = worldIndexes.get(worldName);
+        return index != null && index.covers(blockPos.getX(), blockPos.getY(), blockPos.getZ());
     }
-    
+
     /**
-     * Check if a block position is within ANY protected spawn area (any world).
+     * Check if a block position is within ANY protected area (any world).
      * Used when world name is not available.
      */
     public boolean isInProtectedArea(Vector3i blockPos) {
-        if (!isEnabled()) return false;
-        
-        int radius = getRadius();
-        for (List<SpawnLocation> spawns : worldSpawns.values()) {
-            for (SpawnLocation spawn : spawns) {
-                double dx = Math.abs(blockPos.getX() - spawn.x);
-                double dz = Math.abs(blockPos.getZ() - spawn.z);
-
-                if (dx <= radius && dz <= radius && isInYRange(blockPos.getY())) {
-                    return true;
-                }
+        for (ProtectedRegionIndex index : worldIndexes.values()) {
+            if (index.covers(blockPos.getX(), blockPos.getY(), blockPos.getZ())) {
+                return true;
             }
         }
         return false;
     }
 
     /**
-     * Check if an entity position is within ANY protected spawn area of a specific world.
+     * Check if an entity position is within ANY protected area of a specific world.
      */
     public boolean isInProtectedArea(String worldName, Vector3d entityPos) {
-        if (!isEnabled()) return false;
-        
-        List<SpawnLocation> spawns = worldSpawns.get(worldName);
-        if (spawns == null) return false;
-        
-        int radius = getRadius();
-        for (SpawnLocation spawn : spawns) {
-            double dx = Math.abs(entityPos.getX() - spawn.x);
-            double dz = Math.abs(entityPos.getZ() - spawn.z);
-
-            if (dx <= radius && dz <= radius && isInYRange((int) entityPos.getY())) {
-                return true;
-            }
-        }
-        return false;
+        ProtectedRegionIndex index = worldIndexes.get(worldName);
+        return index != null && index.covers(entityPos.getX(), entityPos.getY(), entityPos.getZ());
     }
-    
+
     /**
-     * Check if an entity position is within ANY protected spawn area (any world).
+     * Check if an entity position is within ANY protected area (any world).
      * Used when world name is not available.
      */
     public boolean isInProtectedArea(Vector3d entityPos) {
-        if (!isEnabled()) return false;
-        
-        int radius = getRadius();
-        for (List<SpawnLocation> spawns : worldSpawns.values()) {
-            for (SpawnLocation spawn : spawns) {
-                double dx = Math.abs(entityPos.getX() - spawn.x);
-                double dz = Math.abs(entityPos.getZ() - spawn.z);
-
-                if (dx <= radius && dz <= radius && isInYRange((int) entityPos.getY())) {
-                    return true;
-                }
+        for (ProtectedRegionIndex index : worldIndexes.values()) {
+            if (index.covers(entityPos.getX(), entityPos.getY(), entityPos.getZ())) {
+                return true;
             }
         }
         return false;
     }
 
     /**
-     * Check if a Y coordinate is within the configured Y range.
+     * Check if a player can bypass spawn protection (for block breaking/placing).
      */
-    private boolean isInYRange(int y) {
-        int minY = configManager.getConfig().spawnProtection.minY;
-        int maxY = configManager.getConfig().spawnProtection.maxY;
-
-        if (minY == -1 && maxY == -1) {
-            return true;
-        }
-
-        if (minY != -1 && y < minY) return false;
-        if (maxY != -1 && y > maxY) return false;
-
-        return true;
+    public boolean canBypass(UUID playerId) {
+        return PermissionService.get().hasPermission(playerId, Permissions.SPAWN_PROTECTION_BYPASS);
     }
 
     /**
-     * Check if a player can bypass spawn protection (for block breaking/placing).
+     * Check if a player can bypass a specific region.
+     * Admin regions may define their own bypass permission; otherwise the
+     * spawn protection bypass permission applies.
      */
-    public boolean canBypass(UUID playerId) {
-        return PermissionService.get().hasPermission(playerId, Permissions.SPAWN_PROTECTION_BYPASS);
+    public boolean canBypass(UUID playerId, ProtectedRegionIndex.Region region) {
+        String permission = region.getBypassPermission();
+        if (permission == null || permission.isEmpty()) {
+            return canBypass(playerId);
+        }
+        return PermissionService.get().hasPermission(playerId, permission);
     }
-    
+
     /**
      * Check if a player can bypass damage protection.
      * Nobody bypasses damage protection by default.
@@ -246,24 +350,28 @@ public class SpawnProtectionService {
     public boolean canBypassDamageProtection(UUID playerId) {
         return false;
     }
-    
+
     /**
      * Get spawn locations for a world (for debugging).
      * Returns the first spawn location for backward compatibility.
      */
     public SpawnLocation getSpawnForWorld(String worldName) {
-        List<SpawnLocation> list = worldSpawns.get(worldName);
-        return (list != null && !list.isEmpty()) ? list.get(0) : null;
+        synchronized (worldSpawns) {
+            List<SpawnLocation> list = worldSpawns.get(worldName);
+            return (list != null && !list.isEmpty()) ? list.get(0) : null;
+        }
     }
-    
+
     /**
      * Get all worlds with spawn protection.
      */
     public Set<String> getProtectedWorlds() {
         Set<String> result = new HashSet<>();
-        for (Map.Entry<String, List<SpawnLocation>> entry : worldSpawns.entrySet()) {
-            if (!entry.getValue().isEmpty()) {
-                result.add(entry.getKey());
+        synchronized (worldSpawns) {
+            for (Map.Entry<String, List<SpawnLocation>> entry : worldSpawns.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    result.add(entry.getKey());
+                }
             }
         }
         return result;
@@ -276,7 +384,7 @@ public class SpawnProtectionService {
         public final double x;
         public final double y;
         public final double z;
-        
+
         public SpawnLocation(double x, double y, double z) {
             this.x = x;
             this.y = y;
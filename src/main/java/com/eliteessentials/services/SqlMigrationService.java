@@ -1,8 +1,13 @@
 package com.eliteessentials.services;
 
+import com.eliteessentials.config.PluginConfig;
+import com.eliteessentials.model.MailMessage;
 import com.eliteessentials.model.PlayerFile;
+import com.eliteessentials.model.ProtectedRegion;
 import com.eliteessentials.model.Warp;
 import com.eliteessentials.storage.GlobalStorageProvider;
+import com.eliteessentials.storage.MailStorage;
+import com.eliteessentials.storage.MailStorageProvider;
 import com.eliteessentials.storage.PlayerStorageProvider;
 import com.eliteessentials.storage.SpawnStorage;
 import com.google.gson.Gson;
@@ -16,23 +21,46 @@ import java.io.*;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 /**
- * Migrates existing JSON file data (players, warps, spawns) into the configured SQL database.
+ * Migrates existing JSON file data (players, mail, warps, spawns, regions) into the configured SQL database.
  * Used by the /eemigration sql command when switching from JSON to SQL storage.
+ *
+ * Player files are parsed in parallel and written in batched transactions. Progress is
+ * checkpointed to sql_migration.checkpoint so an interrupted run resumes where it stopped.
+ * The checkpoint records the database and table prefix it was written for, and is ignored
+ * when the migration now targets a different one.
  */
 public class SqlMigrationService {
 
     private static final Logger logger = Logger.getLogger("EliteEssentials");
     private static final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
     private static final Type WARP_MAP_TYPE = new TypeToken<Map<String, Warp>>() {}.getType();
+    private static final Type REGION_MAP_TYPE = new TypeToken<Map<String, ProtectedRegion>>() {}.getType();
     private static final Type SPAWN_LIST_MAP_TYPE = new TypeToken<Map<String, List<SpawnStorage.SpawnData>>>() {}.getType();
 
+    /** Players written per SQL transaction */
+    private static final int PLAYER_BATCH_SIZE = 200;
+    private static final int MAX_PARSE_WORKERS = 4;
+    /** Parsed players waiting for the writer; bounds memory when the database is the bottleneck */
+    private static final int PARSE_QUEUE_CAPACITY = 1000;
+    private static final long PROGRESS_INTERVAL_MS = 2000;
+    /** Target header line, then player file names already committed to SQL, one per line */
+    private static final String CHECKPOINT_FILE = "sql_migration.checkpoint";
+    private static final String CHECKPOINT_TARGET = "# target: ";
+
     private final PlayerStorageProvider sqlPlayerStorage;
     private final GlobalStorageProvider sqlGlobalStorage;
     private final File dataFolder;
+    private MailStorageProvider sqlMailStorage;
+    private String target = "";
 
     public SqlMigrationService(PlayerStorageProvider sqlPlayerStorage,
                                GlobalStorageProvider sqlGlobalStorage,
@@ -42,6 +70,34 @@ public class SqlMigrationService {
         this.dataFolder = dataFolder;
     }
 
+    /**
+     * Set the SQL mail store. Mail is skipped if not set.
+     */
+    public void setMailStorage(MailStorageProvider sqlMailStorage) {
+        this.sqlMailStorage = sqlMailStorage;
+    }
+
+    /**
+     * Set the identity of the target database (see {@link #describeTarget}). A checkpoint
+     * written for another target is not resumed.
+     */
+    public void setTarget(String target) {
+        this.target = target != null ? target : "";
+    }
+
+    /**
+     * Identify the database and table prefix a storage config points at, without credentials.
+     */
+    public static String describeTarget(PluginConfig.StorageConfig config) {
+        String type = config.storageType != null ? config.storageType.toLowerCase(Locale.ROOT).trim() : "json";
+        PluginConfig.StorageConfig.MysqlConfig mysql = config.mysql;
+        String prefix = mysql != null && mysql.tablePrefix != null ? mysql.tablePrefix : "ee_";
+        if ("h2".equals(type) || mysql == null) {
+            return type + " prefix=" + prefix;
+        }
+        return type + "://" + mysql.host + ":" + mysql.port + "/" + mysql.database + " prefix=" + prefix;
+    }
+
     /**
      * Check if the target SQL tables already contain data.
      * @return true if players or warps already exist in SQL
@@ -50,6 +106,14 @@ public class SqlMigrationService {
         return sqlPlayerStorage.getPlayerCount() > 0 || sqlGlobalStorage.getWarpCount() > 0;
     }
 
+    /**
+     * Check if a previous player migration was interrupted and can be resumed.
+     */
+    public boolean hasCheckpoint() {
+        File checkpointFile = new File(dataFolder, CHECKPOINT_FILE);
+        return checkpointFile.exists() && target.equals(readCheckpointTarget(checkpointFile));
+    }
+
     /**
      * Run the full JSON-to-SQL migration.
      *
@@ -71,43 +135,9 @@ public class SqlMigrationService {
         if (playersFolder.exists() && playersFolder.isDirectory()) {
             File[] playerFiles = playersFolder.listFiles((dir, name) -> name.endsWith(".json"));
             if (playerFiles != null && playerFiles.length > 0) {
-                progressCallback.accept("Migrating " + playerFiles.length + " player file(s)...");
-                int count = 0;
-                for (File pf : playerFiles) {
-                    String uuidStr = pf.getName().replace(".json", "");
-                    try {
-                        PlayerFile data;
-                        try (Reader reader = new InputStreamReader(new FileInputStream(pf), StandardCharsets.UTF_8)) {
-                            data = gson.fromJson(reader, PlayerFile.class);
-                        }
-                        if (data == null) {
-                            errors.add("Player file empty/null: " + uuidStr);
-                            playersFailed++;
-                            continue;
-                        }
-                        // Ensure UUID is set (some old files may not have it serialized)
-                        if (data.getUuid() == null) {
-                            try {
-                                data.setUuid(UUID.fromString(uuidStr));
-                            } catch (IllegalArgumentException e) {
-                                errors.add("Invalid UUID filename: " + pf.getName());
-                                playersFailed++;
-                                continue;
-                            }
-                        }
-                        sqlPlayerStorage.savePlayerDirect(data);
-                        playersMigrated++;
-                        count++;
-                        if (count % 50 == 0) {
-                            progressCallback.accept("  Players: " + count + "/" + playerFiles.length + " processed...");
-                        }
-                    } catch (Exception e) {
-                        logger.severe("[SqlMigration] Failed to migrate player " + uuidStr + ": " + e.getMessage());
-                        errors.add("Player " + uuidStr + ": " + e.getMessage());
-                        playersFailed++;
-                    }
-                }
-                progressCallback.accept("  Players: " + playersMigrated + " migrated, " + playersFailed + " failed.");
+                int[] counts = migratePlayers(playerFiles, progressCallback, errors);
+                playersMigrated = counts[0];
+                playersFailed = counts[1];
             } else {
                 progressCallback.accept("No player files found in players/ folder.");
             }
@@ -115,6 +145,9 @@ public class SqlMigrationService {
             progressCallback.accept("No players/ folder found, skipping player migration.");
         }
 
+        // --- Migrate mail inboxes (mail/<uuid>.jsonl) ---
+        migrateMail(progressCallback, errors);
+
         // --- Migrate warps ---
         File warpsFile = new File(dataFolder, "warps.json");
         if (warpsFile.exists()) {
@@ -189,6 +222,29 @@ public class SqlMigrationService {
             }
         }
 
+        // --- Migrate protected regions ---
+        File regionsFile = new File(dataFolder, "regions.json");
+        if (regionsFile.exists()) {
+            try {
+                Map<String, ProtectedRegion> regions;
+                try (Reader reader = new InputStreamReader(new FileInputStream(regionsFile), StandardCharsets.UTF_8)) {
+                    regions = gson.fromJson(reader, REGION_MAP_TYPE);
+                }
+                if (regions != null && !regions.isEmpty()) {
+                    int regionsMigrated = 0;
+                    for (ProtectedRegion region : regions.values()) {
+                        if (region == null || region.getName() == null) continue;
+                        sqlGlobalStorage.setRegion(region);
+                        regionsMigrated++;
+                    }
+                    progressCallback.accept("  Regions: " + regionsMigrated + " migrated.");
+                }
+            } catch (Exception e) {
+                logger.severe("[SqlMigration] Failed to read regions.json: " + e.getMessage());
+                errors.add("regions.json: " + e.getMessage());
+            }
+        }
+
         long elapsed = System.currentTimeMillis() - startTime;
 
         return new MigrationResult(
@@ -203,6 +259,316 @@ public class SqlMigrationService {
         );
     }
 
+    // ==================== Player pipeline ====================
+
+    /**
+     * Migrate player files: parse workers read JSON in parallel into a bounded queue,
+     * and the calling thread writes them to SQL in batches of {@link #PLAYER_BATCH_SIZE}
+     * players per transaction. Each committed batch is appended to the checkpoint file,
+     * so an interrupted run skips those players when it is started again.
+     *
+     * @return {migrated, failed}
+     */
+    private int[] migratePlayers(File[] playerFiles, Consumer<String> progressCallback, List<String> errors) {
+        File checkpointFile = new File(dataFolder, CHECKPOINT_FILE);
+        Set<String> done = readCheckpoint(checkpointFile);
+        if (done.isEmpty()) {
+            // Missing, unreadable or written for another database: start over for this target
+            deleteCheckpoint(checkpointFile);
+        }
+
+        List<File> pending = new ArrayList<>(playerFiles.length);
+        for (File file : playerFiles) {
+            if (!done.contains(file.getName())) pending.add(file);
+        }
+        int alreadyMigrated = playerFiles.length - pending.size();
+        if (alreadyMigrated > 0) {
+            progressCallback.accept("Resuming: " + alreadyMigrated + " player(s) already migrated by a previous run.");
+        }
+        if (pending.isEmpty()) {
+            deleteCheckpoint(checkpointFile);
+            return new int[] {alreadyMigrated, 0};
+        }
+
+        int workerCount = Math.max(1, Math.min(MAX_PARSE_WORKERS, Runtime.getRuntime().availableProcessors()));
+        progressCallback.accept("Migrating " + pending.size() + " player file(s) with " + workerCount
+                + " parse worker(s), " + PLAYER_BATCH_SIZE + " players per transaction...");
+
+        BlockingQueue<ParsedPlayer> queue = new ArrayBlockingQueue<>(PARSE_QUEUE_CAPACITY);
+        AtomicInteger nextFile = new AtomicInteger();
+        AtomicInteger workersLeft = new AtomicInteger(workerCount);
+        ExecutorService parsers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread t = new Thread(r, "EliteEssentials-MigrationParser");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            parsers.execute(() -> {
+                try {
+                    int index;
+                    while ((index = nextFile.getAndIncrement()) < pending.size()) {
+                        queue.put(parsePlayerFile(pending.get(index)));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    // Last worker out signals the writer
+                    if (workersLeft.decrementAndGet() == 0) {
+                        try {
+                            queue.put(ParsedPlayer.END);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+            });
+        }
+
+        int migrated = 0;
+        int failed = 0;
+        long startNanos = System.nanoTime();
+        long lastProgress = System.currentTimeMillis();
+        List<ParsedPlayer> batch = new ArrayList<>(PLAYER_BATCH_SIZE);
+
+        try (Writer checkpoint = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(checkpointFile, true), StandardCharsets.UTF_8))) {
+            if (done.isEmpty()) {
+                checkpoint.write(CHECKPOINT_TARGET + target + "\n");
+                checkpoint.flush();
+            }
+            while (true) {
+                ParsedPlayer parsed = queue.take();
+                if (parsed != ParsedPlayer.END) {
+                    if (parsed.data == null) {
+                        errors.add(parsed.error);
+                        failed++;
+                        continue;
+                    }
+                    batch.add(parsed);
+                    if (batch.size() < PLAYER_BATCH_SIZE) continue;
+                }
+
+                if (!batch.isEmpty()) {
+                    int batchFailed = writeBatch(batch, checkpoint, errors);
+                    migrated += batch.size() - batchFailed;
+                    failed += batchFailed;
+                    batch.clear();
+                }
+                if (parsed == ParsedPlayer.END) break;
+
+                long now = System.currentTimeMillis();
+                if (now - lastProgress >= PROGRESS_INTERVAL_MS) {
+                    lastProgress = now;
+                    progressCallback.accept("  Players: " + (migrated + failed) + "/" + pending.size()
+                            + " processed (" + formatRate(migrated, startNanos) + " players/sec)...");
+                }
+            }
+        } catch (IOException e) {
+            logger.severe("[SqlMigration] Failed to write checkpoint file: " + e.getMessage());
+            errors.add("Checkpoint file: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.add("Player migration interrupted; run the command again to resume.");
+        } finally {
+            parsers.shutdownNow();
+        }
+
+        progressCallback.accept("  Players: " + migrated + " migrated, " + failed + " failed ("
+                + formatRate(migrated, startNanos) + " players/sec).");
+
+        // Keep the checkpoint while anything is left, so a re-run only retries those players
+        if (failed == 0 && migrated == pending.size()) {
+            deleteCheckpoint(checkpointFile);
+        }
+        return new int[] {alreadyMigrated + migrated, failed};
+    }
+
+    /**
+     * Write one batch and record the committed players in the checkpoint.
+     *
+     * @return number of players in the batch that failed
+     */
+    private int writeBatch(List<ParsedPlayer> batch, Writer checkpoint, List<String> errors) throws IOException {
+        List<PlayerFile> players = new ArrayList<>(batch.size());
+        for (ParsedPlayer parsed : batch) {
+            players.add(parsed.data);
+        }
+
+        Set<UUID> failedUuids;
+        try {
+            failedUuids = new HashSet<>(sqlPlayerStorage.savePlayersDirect(players));
+        } catch (Exception e) {
+            logger.severe("[SqlMigration] Failed to migrate batch of " + batch.size() + " players: " + e.getMessage());
+            for (ParsedPlayer parsed : batch) {
+                errors.add("Player " + parsed.fileName + ": " + e.getMessage());
+            }
+            return batch.size();
+        }
+
+        for (ParsedPlayer parsed : batch) {
+            if (failedUuids.contains(parsed.data.getUuid())) {
+                errors.add("Player " + parsed.data.getUuid() + ": failed to write to database (see server log)");
+            } else {
+                importLegacyMailbox(parsed.data);
+                checkpoint.write(parsed.fileName);
+                checkpoint.write('\n');
+            }
+        }
+        checkpoint.flush();
+        return failedUuids.size();
+    }
+
+    // ==================== Mail ====================
+
+    /**
+     * Mail kept in player files by older versions is not part of the player tables,
+     * so it goes straight into the SQL mail store.
+     */
+    private void importLegacyMailbox(PlayerFile data) {
+        if (sqlMailStorage == null || data.getMailbox().isEmpty()) return;
+        if (sqlMailStorage.getCount(data.getUuid()) > 0) return; // Already migrated
+        sqlMailStorage.importMail(data.getUuid(), data.getMailbox());
+    }
+
+    /**
+     * Copy JSON inboxes into the SQL mail store. Inboxes that already have mail in SQL
+     * are skipped, so resumed or forced runs do not duplicate messages.
+     */
+    private void migrateMail(Consumer<String> progressCallback, List<String> errors) {
+        File mailFolder = new File(dataFolder, "mail");
+        if (sqlMailStorage == null || !mailFolder.isDirectory()) return;
+
+        MailStorage jsonMail = new MailStorage(dataFolder);
+        jsonMail.load();
+        File[] inboxFiles = mailFolder.listFiles((dir, name) -> name.endsWith(".jsonl"));
+        if (inboxFiles == null) return;
+
+        int inboxes = 0;
+        int messages = 0;
+        for (File file : inboxFiles) {
+            String name = file.getName();
+            UUID playerId;
+            try {
+                playerId = UUID.fromString(name.substring(0, name.length() - ".jsonl".length()));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (sqlMailStorage.getCount(playerId) > 0) continue;
+            List<MailMessage> mail = jsonMail.getAll(playerId);
+            if (mail.isEmpty()) continue;
+            try {
+                sqlMailStorage.importMail(playerId, mail);
+                inboxes++;
+                messages += mail.size();
+            } catch (Exception e) {
+                logger.severe("[SqlMigration] Failed to migrate mail for " + playerId + ": " + e.getMessage());
+                errors.add("Mail " + name + ": " + e.getMessage());
+            }
+        }
+        progressCallback.accept("  Mail: " + messages + " messages in " + inboxes + " inboxes migrated.");
+    }
+
+    /**
+     * Parse one player file. Runs on a parse worker thread.
+     */
+    private ParsedPlayer parsePlayerFile(File file) {
+        String uuidStr = file.getName().replace(".json", "");
+        try {
+            PlayerFile data;
+            try (Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                data = gson.fromJson(reader, PlayerFile.class);
+            }
+            if (data == null) {
+                return ParsedPlayer.failed(file.getName(), "Player file empty/null: " + uuidStr);
+            }
+            // Ensure UUID is set (some old files may not have it serialized)
+            if (data.getUuid() == null) {
+                try {
+                    data.setUuid(UUID.fromString(uuidStr));
+                } catch (IllegalArgumentException e) {
+                    return ParsedPlayer.failed(file.getName(), "Invalid UUID filename: " + file.getName());
+                }
+            }
+            return new ParsedPlayer(file.getName(), data, null);
+        } catch (Exception e) {
+            logger.severe("[SqlMigration] Failed to migrate player " + uuidStr + ": " + e.getMessage());
+            return ParsedPlayer.failed(file.getName(), "Player " + uuidStr + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Read the player files recorded in the checkpoint. Returns an empty set when there is
+     * no checkpoint or it was written for a different target.
+     */
+    private Set<String> readCheckpoint(File checkpointFile) {
+        Set<String> done = new HashSet<>();
+        if (!checkpointFile.exists()) return done;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(checkpointFile), StandardCharsets.UTF_8))) {
+            String written = parseTarget(reader.readLine());
+            if (!target.equals(written)) {
+                logger.warning("[SqlMigration] Ignoring checkpoint written for " + (written != null ? written : "an unknown target")
+                        + "; migrating all players to " + target);
+                return done;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) done.add(line.trim());
+            }
+        } catch (IOException e) {
+            logger.warning("[SqlMigration] Could not read checkpoint, migrating all players: " + e.getMessage());
+            done.clear();
+        }
+        return done;
+    }
+
+    private static String readCheckpointTarget(File checkpointFile) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(checkpointFile), StandardCharsets.UTF_8))) {
+            return parseTarget(reader.readLine());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String parseTarget(String header) {
+        return header != null && header.startsWith(CHECKPOINT_TARGET)
+                ? header.substring(CHECKPOINT_TARGET.length()) : null;
+    }
+
+    private void deleteCheckpoint(File checkpointFile) {
+        if (checkpointFile.exists() && !checkpointFile.delete()) {
+            logger.warning("[SqlMigration] Could not delete " + checkpointFile.getName());
+        }
+    }
+
+    private static String formatRate(int players, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        if (seconds <= 0) return "0";
+        return String.format("%.1f", players / seconds);
+    }
+
+    /**
+     * A parsed player file (or the reason it could not be parsed) handed from a parse worker to the writer.
+     */
+    private static final class ParsedPlayer {
+        static final ParsedPlayer END = new ParsedPlayer(null, null, null);
+
+        final String fileName;
+        final PlayerFile data;
+        final String error;
+
+        ParsedPlayer(String fileName, PlayerFile data, String error) {
+            this.fileName = fileName;
+            this.data = data;
+            this.error = error;
+        }
+
+        static ParsedPlayer failed(String fileName, String error) {
+            return new ParsedPlayer(fileName, null, error);
+        }
+    }
+
     /**
      * Read spawn.json, handling both v1 (object) and v2 (array) formats.
      */
@@ -0,0 +1,339 @@
+package com.eliteessentials.services;
+
+import com.eliteessentials.EliteEssentials;
+import com.eliteessentials.model.PlayerFile;
+import com.eliteessentials.storage.PlayerStorageProvider;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Shared plumbing for the third-party importers (EssentialsCore, EssentialsPlus,
+ * Hyssentials, HomesPlus).
+ *
+ * - Source files are read incrementally with {@link JsonReader}: one map entry or
+ *   array element is bound at a time, so a large homes.json never sits in memory whole.
+ * - {@link #pipe} runs the parsing on a background thread feeding a bounded queue, while
+ *   the calling thread applies records to player data.
+ * - Changed players are written in batches through {@link PlayerStorageProvider#savePlayersDirect}
+ *   (one transaction per batch on SQL) and evicted from the cache unless they were
+ *   already loaded when the import started, are online now, or have unsaved changes.
+ * - In dry-run mode nothing is written: players are edited as detached copies so the
+ *   importer can still count what it would change.
+ * - Each stage is timed; the timings are logged and returned with the migration result.
+ *
+ * One instance per migration run, used from a single thread (apart from the parse threads it owns).
+ */
+public class StreamingImporter {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+    private static final Gson gson = new GsonBuilder().create();
+
+    /** Players written per bulk save */
+    private static final int PLAYER_BATCH_SIZE = 200;
+    /** Parsed records buffered ahead of the writer */
+    private static final int QUEUE_CAPACITY = 256;
+    private static final Object END = new Object();
+
+    private final PlayerStorageProvider playerStorage;
+    private final boolean dryRun;
+    private final Set<UUID> cachedAtStart = new HashSet<>();
+    private final Map<UUID, PlayerFile> pending = new LinkedHashMap<>();
+    private final Map<UUID, PlayerFile> dryRunCopies = new HashMap<>();
+    private final List<StageTiming> timings = new ArrayList<>();
+    private final List<String> errors;
+
+    private String stageName;
+    private long stageStart;
+    private int stageItems;
+
+    public StreamingImporter(PlayerStorageProvider playerStorage, boolean dryRun, List<String> errors) {
+        this.playerStorage = playerStorage;
+        this.dryRun = dryRun;
+        this.errors = errors;
+        for (PlayerFile cached : playerStorage.getCachedPlayers()) {
+            cachedAtStart.add(cached.getUuid());
+        }
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    // ==================== Stage timing ====================
+
+    /**
+     * Start timing a stage, ending the previous one if it is still open.
+     */
+    public void beginStage(String name) {
+        endStage();
+        stageName = name;
+        stageStart = System.nanoTime();
+        stageItems = 0;
+    }
+
+    /**
+     * Count one processed source record towards the current stage.
+     */
+    public void countItem() {
+        stageItems++;
+    }
+
+    /**
+     * Finish the current stage, flushing any pending player writes first so they are
+     * included in its time.
+     */
+    public void endStage() {
+        if (stageName == null) return;
+        flush();
+        long elapsedMs = (System.nanoTime() - stageStart) / 1_000_000;
+        StageTiming timing = new StageTiming(stageName, stageItems, elapsedMs);
+        timings.add(timing);
+        logger.info("[Migration] Stage " + timing);
+        stageName = null;
+    }
+
+    public List<StageTiming> getTimings() {
+        endStage();
+        return new ArrayList<>(timings);
+    }
+
+    // ==================== Streaming readers ====================
+
+    /**
+     * Handler for one entry of a top-level JSON object.
+     */
+    public interface EntryHandler<T> {
+        void accept(String key, T value) throws Exception;
+    }
+
+    /**
+     * Stream a file shaped as { "key": value, ... }, binding one value at a time.
+     */
+    public static <T> void forEachEntry(File file, Type valueType, EntryHandler<T> handler) throws Exception {
+        try (JsonReader reader = open(file)) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) return;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                T value = gson.fromJson(reader, valueType);
+                handler.accept(key, value);
+            }
+            reader.endObject();
+        }
+    }
+
+    /**
+     * Stream the elements of one array field in a file shaped as
+     * { "version": ..., "field": [ ... ] }. Other fields are skipped.
+     */
+    public static <T> void forEachInArray(File file, String arrayField, Type elementType,
+                                          Consumer<T> handler) throws IOException {
+        try (JsonReader reader = open(file)) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) return;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (!arrayField.equals(name) || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    T element = gson.fromJson(reader, elementType);
+                    if (element != null) handler.accept(element);
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+        }
+    }
+
+    /**
+     * Bind a whole (small) file, e.g. a single player or kit file.
+     */
+    public static <T> T read(File file, Type type) throws IOException {
+        try (JsonReader reader = open(file)) {
+            return gson.fromJson(reader, type);
+        }
+    }
+
+    private static JsonReader open(File file) throws IOException {
+        return new JsonReader(new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)));
+    }
+
+    // ==================== Producer / consumer ====================
+
+    /**
+     * Produces records by parsing a source; runs on the parse thread.
+     */
+    public interface Source<T> {
+        void produce(Consumer<T> out) throws Exception;
+    }
+
+    /**
+     * Applies one record; runs on the calling thread.
+     */
+    public interface RecordHandler<T> {
+        void accept(T record) throws Exception;
+    }
+
+    /**
+     * Run a source on a parse thread and apply its records on the calling thread,
+     * with at most {@link #QUEUE_CAPACITY} parsed records waiting.
+     * Errors thrown by the source end the stream and are rethrown here.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void pipe(Source<T> source, RecordHandler<T> handler) throws Exception {
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        AtomicReference<Exception> sourceError = new AtomicReference<>();
+
+        Thread parser = new Thread(() -> {
+            try {
+                source.produce(record -> {
+                    try {
+                        queue.put(record);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CancellationException();
+                    }
+                });
+            } catch (CancellationException e) {
+                return;
+            } catch (Exception e) {
+                sourceError.set(e);
+            }
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "EliteEssentials-ImportParser");
+        parser.setDaemon(true);
+        parser.start();
+
+        try {
+            Object next;
+            while ((next = queue.take()) != END) {
+                countItem();
+                handler.accept((T) next);
+            }
+        } finally {
+            parser.interrupt();
+        }
+
+        Exception error = sourceError.get();
+        if (error != null) throw error;
+    }
+
+    private static final class CancellationException extends RuntimeException {
+        CancellationException() {
+            super(null, null, false, false);
+        }
+    }
+
+    // ==================== Player writes ====================
+
+    /**
+     * Get a player's data for editing, creating it if needed. In dry-run mode this is a
+     * detached copy so the live data is never touched.
+     */
+    public PlayerFile player(UUID uuid, String defaultName) {
+        PlayerFile data = pending.get(uuid);
+        if (data != null) return data;
+
+        if (dryRun) {
+            data = dryRunCopies.get(uuid);
+            if (data == null) {
+                PlayerFile live = playerStorage.getPlayer(uuid);
+                data = live != null ? gson.fromJson(gson.toJson(live), PlayerFile.class)
+                        : new PlayerFile(uuid, defaultName);
+                dryRunCopies.put(uuid, data);
+            }
+            return data;
+        }
+
+        data = playerStorage.getPlayer(uuid);
+        return data != null ? data : playerStorage.getPlayer(uuid, defaultName);
+    }
+
+    /**
+     * Queue a changed player for the next bulk write.
+     */
+    public void markChanged(PlayerFile data) {
+        if (dryRun) return;
+        pending.put(data.getUuid(), data);
+        if (pending.size() >= PLAYER_BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Write all queued players.
+     */
+    public void flush() {
+        if (pending.isEmpty()) return;
+        List<PlayerFile> batch = new ArrayList<>(pending.values());
+        pending.clear();
+
+        List<UUID> failed;
+        try {
+            failed = playerStorage.savePlayersDirect(batch);
+        } catch (Exception e) {
+            logger.severe("[Migration] Failed to write " + batch.size() + " player(s): " + e.getMessage());
+            errors.add("Failed to write " + batch.size() + " player(s): " + e.getMessage());
+            return;
+        }
+        for (UUID uuid : failed) {
+            errors.add("Failed to write player " + uuid + " (see server log)");
+        }
+
+        // Players nobody is using don't need to stay cached. Someone who joined
+        // mid-import holds this same PlayerFile, so evicting them would detach it.
+        PlayerService playerService = EliteEssentials.getInstance().getPlayerService();
+        for (PlayerFile data : batch) {
+            UUID uuid = data.getUuid();
+            if (cachedAtStart.contains(uuid)) continue;
+            if (playerService != null && playerService.isOnline(uuid)) continue;
+            playerStorage.evictPlayer(uuid);
+        }
+    }
+
+    // ==================== Timing result ====================
+
+    /**
+     * Time spent on one import stage.
+     */
+    public static class StageTiming {
+        private final String name;
+        private final int items;
+        private final long elapsedMs;
+
+        public StageTiming(String name, int items, long elapsedMs) {
+            this.name = name;
+            this.items = items;
+            this.elapsedMs = elapsedMs;
+        }
+
+        public String getName() { return name; }
+        public int getItems() { return items; }
+        public long getElapsedMs() { return elapsedMs; }
+
+        @Override
+        public String toString() {
+            return name + ": " + items + " record(s) in " + elapsedMs + "ms";
+        }
+    }
+}
@@ -12,7 +12,12 @@ import com.hypixel.hytale.protocol.packets.interface_.ServerPlayerListPlayer;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
 /**
@@ -21,17 +26,41 @@ import java.util.logging.Logger;
  * Builds display names by combining optional prefixes (AFK, LuckPerms)
  * with the player's username. Other services (like AfkService) call into
  * this to ensure consistent tab list formatting.
+ * 
+ * Updates are coalesced: changed players are marked dirty and flushed after
+ * {@link #FLUSH_DELAY_MS}, so each recipient gets one multi-entry remove/add pair
+ * per flush, and a joining player gets one snapshot of everyone, instead of a
+ * packet pair per entry.
  */
 public class TabListService {
 
     private static final Logger logger = Logger.getLogger("EliteEssentials");
 
+    /** How long changes are collected before being sent (about one server tick) */
+    private static final long FLUSH_DELAY_MS = 50;
+
     private final ConfigManager configManager;
     private AfkService afkService;
     private NickService nickService;
 
+    // Players whose entry changed since the last flush
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    // Joined players waiting for a snapshot of everyone else's entry
+    private final Set<UUID> pendingSnapshots = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushQueued = new AtomicBoolean(false);
+    private final ScheduledExecutorService scheduler;
+
     public TabListService(ConfigManager configManager) {
         this.configManager = configManager;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "EliteEssentials-TabList");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
     }
 
     public void setAfkService(AfkService afkService) {
@@ -100,37 +129,12 @@ public class TabListService {
      * Update a player's tab list entry for all online players.
      * Call this whenever something that affects the display name changes
      * (AFK toggle, join, LuckPerms group change, etc.)
+     * The update is sent with the next flush.
      */
     public void updatePlayer(UUID targetId) {
-        try {
-            Universe universe = Universe.get();
-            if (universe == null) return;
-
-            PlayerRef targetPlayer = universe.getPlayer(targetId);
-            if (targetPlayer == null || !targetPlayer.isValid()) return;
-
-            String displayName = buildDisplayName(targetId, targetPlayer.getUsername());
-
-            RemoveFromServerPlayerList removePacket = new RemoveFromServerPlayerList(new UUID[] { targetId });
-            ServerPlayerListPlayer listPlayer = new ServerPlayerListPlayer(
-                targetPlayer.getUuid(),
-                displayName,
-                targetPlayer.getWorldUuid(),
-                0
-            );
-            AddToServerPlayerList addPacket = new AddToServerPlayerList(new ServerPlayerListPlayer[] { listPlayer });
-
-            for (PlayerRef player : universe.getPlayers()) {
-                try {
-                    player.getPacketHandler().write(removePacket);
-                    player.getPacketHandler().write(addPacket);
-                } catch (Exception e) {
-                    // Skip players with packet issues
-                }
-            }
-        } catch (Exception e) {
-            logger.warning("[TabList] Failed to update tab list for " + targetId + ": " + e.getMessage());
-        }
+        if (targetId == null) return;
+        dirty.add(targetId);
+        scheduleFlush();
     }
 
     /**
@@ -145,42 +149,135 @@ public class TabListService {
 
         // Update this player's entry for everyone already online
         if (config.tabList.showLuckPermsPrefix || hasNick) {
-            updatePlayer(playerId);
+            dirty.add(playerId);
         }
 
         // Push all already-online nicked/prefixed players to the new joiner.
         // Without this, the new joiner receives Hytale's native player list which
         // uses real usernames, so they'd see real names instead of nicks.
-        if (nickService == null && !config.tabList.showLuckPermsPrefix) {
-            return;
+        if (nickService != null || config.tabList.showLuckPermsPrefix) {
+            pendingSnapshots.add(playerId);
+        }
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (!flushQueued.compareAndSet(false, true)) return;
+        try {
+            scheduler.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // Shutting down
+            flushQueued.set(false);
+        }
+    }
+
+    /**
+     * Send everything collected since the last flush: changed entries to every online
+     * player, plus a snapshot of all other nicked/prefixed entries to new joiners.
+     */
+    private void flush() {
+        flushQueued.set(false);
+        try {
+            Set<UUID> changed = drain(dirty);
+            Set<UUID> joiners = drain(pendingSnapshots);
+            if (changed.isEmpty() && joiners.isEmpty()) return;
+
+            Universe universe = Universe.get();
+            if (universe == null) return;
+
+            PluginConfig config = configManager.getConfig();
+            Collection<PlayerRef> online = universe.getPlayers();
+
+            // Build each entry once per flush
+            Map<UUID, ServerPlayerListPlayer> entries = new HashMap<>();
+            Map<UUID, ServerPlayerListPlayer> changedEntries = new LinkedHashMap<>();
+            for (UUID targetId : changed) {
+                PlayerRef target = universe.getPlayer(targetId);
+                if (target == null || !target.isValid()) continue;
+                ServerPlayerListPlayer entry = entry(target);
+                entries.put(targetId, entry);
+                changedEntries.put(targetId, entry);
+            }
+
+            TabListPackets broadcast = changedEntries.isEmpty() ? null : new TabListPackets(changedEntries);
+            for (PlayerRef player : online) {
+                if (joiners.contains(player.getUuid())) {
+                    sendSnapshot(player, online, entries, changedEntries, config);
+                } else if (broadcast != null) {
+                    broadcast.send(player);
+                }
+            }
+
+            if (configManager.isDebugEnabled()) {
+                logger.info("[TabList] Flushed " + changedEntries.size() + " changed entries to " + online.size()
+                        + " players, " + joiners.size() + " join snapshot(s)");
+            }
+        } catch (Exception e) {
+            logger.warning("[TabList] Failed to flush tab list updates: " + e.getMessage());
         }
+    }
 
-        Universe universe = Universe.get();
-        if (universe == null) return;
+    /**
+     * One packet pair for a joiner: the entries changed this flush plus every other
+     * online player with a nick or prefix.
+     */
+    private void sendSnapshot(PlayerRef joiner, Collection<PlayerRef> online, Map<UUID, ServerPlayerListPlayer> entries,
+                              Map<UUID, ServerPlayerListPlayer> changedEntries, PluginConfig config) {
+        Map<UUID, ServerPlayerListPlayer> snapshot = new LinkedHashMap<>(changedEntries);
+        for (PlayerRef other : online) {
+            UUID otherId = other.getUuid();
+            // The joiner's own entry only goes out if it changed
+            if (otherId.equals(joiner.getUuid()) || snapshot.containsKey(otherId)) continue;
 
-        PlayerRef joiningPlayer = universe.getPlayer(playerId);
-        if (joiningPlayer == null || !joiningPlayer.isValid()) return;
+            boolean otherHasNick = nickService != null && nickService.hasNick(otherId);
+            if (!config.tabList.showLuckPermsPrefix && !otherHasNick) continue;
 
-        for (PlayerRef online : universe.getPlayers()) {
-            UUID onlineId = online.getUuid();
-            // Skip the joining player themselves - already handled above
-            if (onlineId.equals(playerId)) continue;
+            try {
+                snapshot.put(otherId, entries.computeIfAbsent(otherId, id -> entry(other)));
+            } catch (Exception e) {
+                // Skip players with missing data
+            }
+        }
+        if (!snapshot.isEmpty()) {
+            new TabListPackets(snapshot).send(joiner);
+        }
+    }
 
-            boolean onlineHasNick = nickService != null && nickService.hasNick(onlineId);
-            if (!config.tabList.showLuckPermsPrefix && !onlineHasNick) continue;
+    private ServerPlayerListPlayer entry(PlayerRef player) {
+        return new ServerPlayerListPlayer(
+            player.getUuid(),
+            buildDisplayName(player.getUuid(), player.getUsername()),
+            player.getWorldUuid(),
+            0
+        );
+    }
+
+    private static Set<UUID> drain(Set<UUID> pending) {
+        Set<UUID> drained = new HashSet<>();
+        Iterator<UUID> it = pending.iterator();
+        while (it.hasNext()) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    /**
+     * A remove + add pair replacing a set of entries.
+     */
+    private static final class TabListPackets {
+        private final RemoveFromServerPlayerList remove;
+        private final AddToServerPlayerList add;
+
+        TabListPackets(Map<UUID, ServerPlayerListPlayer> entries) {
+            this.remove = new RemoveFromServerPlayerList(entries.keySet().toArray(new UUID[0]));
+            this.add = new AddToServerPlayerList(entries.values().toArray(new ServerPlayerListPlayer[0]));
+        }
 
+        void send(PlayerRef player) {
             try {
-                String displayName = buildDisplayName(onlineId, online.getUsername());
-                RemoveFromServerPlayerList removePacket = new RemoveFromServerPlayerList(new UUID[]{onlineId});
-                ServerPlayerListPlayer listPlayer = new ServerPlayerListPlayer(
-                    onlineId,
-                    displayName,
-                    online.getWorldUuid(),
-                    0
-                );
-                AddToServerPlayerList addPacket = new AddToServerPlayerList(new ServerPlayerListPlayer[]{listPlayer});
-                joiningPlayer.getPacketHandler().write(removePacket);
-                joiningPlayer.getPacketHandler().write(addPacket);
+                player.getPacketHandler().write(remove);
+                player.getPacketHandler().write(add);
             } catch (Exception e) {
                 // Skip players with packet issues
             }
@@ -1,72 +1,22 @@
 package com.eliteessentials.services;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.eliteessentials.model.ModerationEntry;
+import com.eliteessentials.model.ModerationEntry.Type;
+import com.eliteessentials.storage.ModerationStorageProvider;
 
-import java.io.*;
-import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.logging.Logger;
 
 /**
  * Manages temporary player bans with expiration.
- * Persists to tempbans.json keyed by UUID string.
+ * Records live in the shared moderation store, keyed by player UUID. Expired bans
+ * are removed by {@link ModerationSweeper}; lookups here only read.
  */
 public class TempBanService {
 
-    private static final Logger logger = Logger.getLogger("EliteEssentials");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
-    private static final Type TEMPBAN_MAP_TYPE = new TypeToken<Map<String, TempBanEntry>>(){}.getType();
+    private final ModerationStorageProvider storage;
 
-    private final File tempBanFile;
-    private final Object fileLock = new Object();
-    private final Map<String, TempBanEntry> tempBans = new ConcurrentHashMap<>();
-
-    public TempBanService(File dataFolder) {
-        this.tempBanFile = new File(dataFolder, "tempbans.json");
-        load();
-    }
-
-    public void load() {
-        if (!tempBanFile.exists()) {
-            return;
-        }
-        synchronized (fileLock) {
-            try (Reader reader = new InputStreamReader(new FileInputStream(tempBanFile), StandardCharsets.UTF_8)) {
-                Map<String, TempBanEntry> loaded = gson.fromJson(reader, TEMPBAN_MAP_TYPE);
-                tempBans.clear();
-                if (loaded != null) {
-                    // Clean up expired bans on load
-                    long now = System.currentTimeMillis();
-                    for (Map.Entry<String, TempBanEntry> entry : loaded.entrySet()) {
-                        if (entry.getValue().banEndTimestamp > now) {
-                            tempBans.put(entry.getKey(), entry.getValue());
-                        }
-                    }
-                    int expired = loaded.size() - tempBans.size();
-                    if (expired > 0) {
-                        logger.info("[TempBanService] Cleaned up " + expired + " expired temp bans.");
-                        save();
-                    }
-                }
-                logger.info("[TempBanService] Loaded " + tempBans.size() + " temp banned players.");
-            } catch (IOException e) {
-                logger.severe("Could not load tempbans.json: " + e.getMessage());
-            }
-        }
-    }
-
-    private void save() {
-        synchronized (fileLock) {
-            try (Writer writer = new OutputStreamWriter(new FileOutputStream(tempBanFile), StandardCharsets.UTF_8)) {
-                gson.toJson(tempBans, TEMPBAN_MAP_TYPE, writer);
-            } catch (IOException e) {
-                logger.severe("Could not save tempbans.json: " + e.getMessage());
-            }
-        }
+    public TempBanService(ModerationStorageProvider storage) {
+        this.storage = storage;
     }
 
     /**
@@ -74,40 +24,28 @@ public class TempBanService {
      * @param durationMs duration in milliseconds from now
      */
     public boolean tempBan(UUID playerId, String playerName, String bannedBy, String reason, long durationMs) {
-        String key = playerId.toString();
-        if (tempBans.containsKey(key)) {
-            return false;
+        ModerationEntry current = storage.get(Type.TEMPBAN, playerId);
+        if (current != null && current.isExpired(System.currentTimeMillis())) {
+            // Ran out but not swept yet; make room for the new ban
+            storage.remove(current.getId());
         }
-        TempBanEntry entry = new TempBanEntry();
-        entry.playerName = playerName;
-        entry.bannedBy = bannedBy;
-        entry.reason = reason;
-        entry.bannedAt = System.currentTimeMillis();
-        entry.banEndTimestamp = System.currentTimeMillis() + durationMs;
-        tempBans.put(key, entry);
-        save();
-        return true;
+        return storage.add(ModerationEntry.issue(Type.TEMPBAN, playerId, null, playerName, bannedBy, reason,
+                Math.max(1, durationMs)));
     }
 
     public boolean unban(UUID playerId) {
-        if (tempBans.remove(playerId.toString()) != null) {
-            save();
-            return true;
-        }
-        return false;
+        ModerationEntry entry = storage.get(Type.TEMPBAN, playerId);
+        return entry != null && storage.remove(entry.getId()) != null;
     }
+
     /**
      * Unban by player name (for offline players where UUID may not be known).
      * @return the UUID that was unbanned, or null if not found
      */
     public UUID unbanByName(String playerName) {
-        for (Map.Entry<String, TempBanEntry> entry : tempBans.entrySet()) {
-            if (entry.getValue().playerName != null && entry.getValue().playerName.equalsIgnoreCase(playerName)) {
-                UUID uuid = UUID.fromString(entry.getKey());
-                tempBans.remove(entry.getKey());
-                save();
-                return uuid;
-            }
+        ModerationEntry entry = storage.findByName(Type.TEMPBAN, playerName);
+        if (entry != null && storage.remove(entry.getId()) != null) {
+            return entry.getPlayerId();
         }
         return null;
     }
@@ -116,43 +54,42 @@ public class TempBanService {
      * Check if a player is currently temp banned (not expired).
      */
     public boolean isTempBanned(UUID playerId) {
-        TempBanEntry entry = tempBans.get(playerId.toString());
-        if (entry == null) return false;
-        if (entry.isExpired()) {
-            // Auto-remove expired ban
-            tempBans.remove(playerId.toString());
-            save();
-            return false;
-        }
-        return true;
+        return active(playerId) != null;
     }
 
     public TempBanEntry getTempBanEntry(UUID playerId) {
-        return tempBans.get(playerId.toString());
+        return TempBanEntry.of(active(playerId));
     }
 
-    /**
-     * Get remaining ban time in milliseconds, or 0 if not banned/expired.
-     */
     /** Get the number of active temp bans. */
     public int getBanCount() {
-        return tempBans.size();
+        return storage.count(Type.TEMPBAN);
     }
 
-    /** Get all temp ban entries (unmodifiable view). */
-    public Map<String, TempBanEntry> getAllTempBans() {
-        return Collections.unmodifiableMap(tempBans);
+    /** Get all temp ban entries by player UUID. */
+    public Map<UUID, TempBanEntry> getAllTempBans() {
+        Map<UUID, TempBanEntry> result = new HashMap<>();
+        for (ModerationEntry entry : storage.getAll(Type.TEMPBAN)) {
+            result.put(entry.getPlayerId(), TempBanEntry.of(entry));
+        }
+        return result;
     }
 
+    /**
+     * Get remaining ban time in milliseconds, or 0 if not banned/expired.
+     */
     public long getRemainingTime(UUID playerId) {
-        TempBanEntry entry = tempBans.get(playerId.toString());
+        ModerationEntry entry = storage.get(Type.TEMPBAN, playerId);
         if (entry == null) return 0;
-        long remaining = entry.banEndTimestamp - System.currentTimeMillis();
-        return Math.max(0, remaining);
+        return Math.max(0, entry.getExpiresAt() - System.currentTimeMillis());
     }
 
-    public void reload() {
-        load();
+    /**
+     * The ban if it has not run out. One that has is left for the sweep to delete.
+     */
+    private ModerationEntry active(UUID playerId) {
+        ModerationEntry entry = storage.get(Type.TEMPBAN, playerId);
+        return entry != null && !entry.isExpired(System.currentTimeMillis()) ? entry : null;
     }
 
     /**
@@ -222,6 +159,17 @@ public class TempBanService {
         public long bannedAt;
         public long banEndTimestamp;
 
+        static TempBanEntry of(ModerationEntry entry) {
+            if (entry == null) return null;
+            TempBanEntry ban = new TempBanEntry();
+            ban.playerName = entry.getPlayerName();
+            ban.bannedBy = entry.getIssuedBy();
+            ban.reason = entry.getReason();
+            ban.bannedAt = entry.getIssuedAt();
+            ban.banEndTimestamp = entry.getExpiresAt();
+            return ban;
+        }
+
         public boolean isExpired() {
             return System.currentTimeMillis() >= banEndTimestamp;
         }
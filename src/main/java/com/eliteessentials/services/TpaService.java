@@ -5,11 +5,17 @@ import com.eliteessentials.model.TpaRequest;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 /**
  * Service for managing teleport requests between players.
  * Handles request creation, expiration, acceptance, and denial.
+ *
+ * Requests are indexed by target and by requester, so accept/deny/cancel touch only the
+ * players involved. Each request's expiry is a one-shot task on the scheduler's delay
+ * queue; there is no periodic scan. A request that was answered before its expiry task
+ * runs is simply no longer indexed when the task fires.
  */
 public class TpaService {
 
@@ -17,10 +23,21 @@ public class TpaService {
 
     private final ConfigManager configManager;
     
-    // Target UUID -> List of pending requests to that player
-    private final Map<UUID, List<TpaRequest>> pendingRequests = new ConcurrentHashMap<>();
+    // Target UUID -> pending requests to that player by requester UUID, oldest first.
+    // Both indexes are guarded by lock.
+    private final Map<UUID, LinkedHashMap<UUID, TpaRequest>> requestsByTarget = new HashMap<>();
+    // Requester UUID -> targets they have a pending request with
+    private final Map<UUID, Set<UUID>> targetsByRequester = new HashMap<>();
+    private final Object lock = new Object();
+    private int activeRequests = 0;
     
-    // Scheduler for cleaning up expired requests
+    // Counters for /ee tpastats
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong deniedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    
+    // Runs each request's expiry at its deadline
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
         Thread t = new Thread(r, "EliteEssentials-TpaCleanup");
         t.setDaemon(true);
@@ -29,9 +46,6 @@ public class TpaService {
 
     public TpaService(ConfigManager configManager) {
         this.configManager = configManager;
-        
-        // Schedule cleanup every 5 seconds
-        scheduler.scheduleAtFixedRate(this::cleanupExpired, 5, 5, TimeUnit.SECONDS);
     }
 
     /**
@@ -64,26 +78,34 @@ public class TpaService {
             return Result.SELF_REQUEST;
         }
 
-        // Check for existing request from same player
-        List<TpaRequest> targetRequests = pendingRequests.computeIfAbsent(targetId, k -> new CopyOnWriteArrayList<>());
-        
-        boolean alreadyPending = targetRequests.stream()
-                .anyMatch(r -> r.getRequesterId().equals(requesterId) && !r.isExpired());
-        
-        if (alreadyPending) {
-            return Result.ALREADY_PENDING;
-        }
-
-        TpaRequest request = new TpaRequest(
-                requesterId,
-                requesterName,
-                targetId,
-                targetName,
-                type,
-                configManager.getTpaTimeout()
-        );
-        
-        targetRequests.add(request);
+        TpaRequest request;
+        synchronized (lock) {
+            // Check for existing request from same player
+            TpaRequest existing = findRequest(targetId, requesterId);
+            if (existing != null) {
+                if (!existing.isExpired()) {
+                    return Result.ALREADY_PENDING;
+                }
+                // Expired but its expiry task hasn't run yet
+                removeRequest(existing);
+                expiredCount.incrementAndGet();
+            }
+
+            request = new TpaRequest(
+                    requesterId,
+                    requesterName,
+                    targetId,
+                    targetName,
+                    type,
+                    configManager.getTpaTimeout()
+            );
+            
+            requestsByTarget.computeIfAbsent(targetId, k -> new LinkedHashMap<>()).put(requesterId, request);
+            targetsByRequester.computeIfAbsent(requesterId, k -> new HashSet<>()).add(targetId);
+            activeRequests++;
+        }
+        createdCount.incrementAndGet();
+        scheduleExpiry(request);
         logger.info("TPA request created: " + requesterName + " -> " + targetName + " (type: " + type + ")");
         
         return Result.REQUEST_SENT;
@@ -103,25 +125,15 @@ public class TpaService {
      * @return The accepted request, or empty if none pending
      */
     public Optional<TpaRequest> acceptRequest(UUID targetId) {
-        List<TpaRequest> requests = pendingRequests.get(targetId);
-        if (requests == null || requests.isEmpty()) {
-            return Optional.empty();
-        }
-
-        // Get most recent non-expired request
-        TpaRequest request = null;
-        for (int i = requests.size() - 1; i >= 0; i--) {
-            TpaRequest r = requests.get(i);
-            if (!r.isExpired()) {
-                request = r;
-                requests.remove(i);
-                break;
+        TpaRequest request;
+        synchronized (lock) {
+            request = findMostRecent(targetId);
+            if (request == null) {
+                return Optional.empty();
             }
+            removeRequest(request);
         }
-
-        if (request == null) {
-            return Optional.empty();
-        }
+        acceptedCount.incrementAndGet();
 
         logger.info("TPA request accepted: " + request.getRequesterName() + " -> " + request.getTargetName());
         return Optional.of(request);
@@ -131,99 +143,173 @@ public class TpaService {
      * Accept a specific request from a player.
      */
     public Optional<TpaRequest> acceptRequestFrom(UUID targetId, UUID requesterId) {
-        List<TpaRequest> requests = pendingRequests.get(targetId);
-        if (requests == null) return Optional.empty();
-
-        for (int i = 0; i < requests.size(); i++) {
-            TpaRequest r = requests.get(i);
-            if (r.getRequesterId().equals(requesterId) && !r.isExpired()) {
-                requests.remove(i);
-                logger.info("TPA request accepted: " + r.getRequesterName() + " -> " + r.getTargetName());
-                return Optional.of(r);
+        TpaRequest request;
+        synchronized (lock) {
+            request = findRequest(targetId, requesterId);
+            if (request == null || request.isExpired()) {
+                return Optional.empty();
             }
+            removeRequest(request);
         }
-        return Optional.empty();
+        acceptedCount.incrementAndGet();
+
+        logger.info("TPA request accepted: " + request.getRequesterName() + " -> " + request.getTargetName());
+        return Optional.of(request);
     }
 
     /**
      * Deny the most recent teleport request for a player.
      */
     public Optional<TpaRequest> denyRequest(UUID targetId) {
-        List<TpaRequest> requests = pendingRequests.get(targetId);
-        if (requests == null || requests.isEmpty()) {
-            return Optional.empty();
-        }
-
-        // Remove most recent non-expired request
-        for (int i = requests.size() - 1; i >= 0; i--) {
-            TpaRequest r = requests.get(i);
-            if (!r.isExpired()) {
-                requests.remove(i);
-                logger.info("TPA request denied: " + r.getRequesterName() + " -> " + r.getTargetName());
-                return Optional.of(r);
+        TpaRequest request;
+        synchronized (lock) {
+            request = findMostRecent(targetId);
+            if (request == null) {
+                return Optional.empty();
             }
+            removeRequest(request);
         }
-        return Optional.empty();
+        deniedCount.incrementAndGet();
+
+        logger.info("TPA request denied: " + request.getRequesterName() + " -> " + request.getTargetName());
+        return Optional.of(request);
     }
 
     /**
      * Deny a specific request from a player.
      */
     public Optional<TpaRequest> denyRequestFrom(UUID targetId, UUID requesterId) {
-        List<TpaRequest> requests = pendingRequests.get(targetId);
-        if (requests == null) return Optional.empty();
-
-        for (int i = 0; i < requests.size(); i++) {
-            TpaRequest r = requests.get(i);
-            if (r.getRequesterId().equals(requesterId)) {
-                requests.remove(i);
-                logger.info("TPA request denied: " + r.getRequesterName() + " -> " + r.getTargetName());
-                return Optional.of(r);
+        TpaRequest request;
+        synchronized (lock) {
+            request = findRequest(targetId, requesterId);
+            if (request == null) {
+                return Optional.empty();
             }
+            removeRequest(request);
         }
-        return Optional.empty();
+        deniedCount.incrementAndGet();
+
+        logger.info("TPA request denied: " + request.getRequesterName() + " -> " + request.getTargetName());
+        return Optional.of(request);
     }
 
     /**
      * Get all pending requests for a player.
      */
     public List<TpaRequest> getPendingRequests(UUID targetId) {
-        List<TpaRequest> requests = pendingRequests.get(targetId);
-        if (requests == null) return Collections.emptyList();
-        
-        // Return only non-expired
-        return requests.stream()
-                .filter(r -> !r.isExpired())
-                .toList();
+        synchronized (lock) {
+            LinkedHashMap<UUID, TpaRequest> requests = requestsByTarget.get(targetId);
+            if (requests == null) return Collections.emptyList();
+            
+            // Return only non-expired
+            List<TpaRequest> pending = new ArrayList<>(requests.size());
+            for (TpaRequest request : requests.values()) {
+                if (!request.isExpired()) {
+                    pending.add(request);
+                }
+            }
+            return pending;
+        }
     }
 
     /**
      * Check if a player has any pending requests.
      */
     public boolean hasPendingRequests(UUID targetId) {
-        List<TpaRequest> requests = pendingRequests.get(targetId);
-        if (requests == null) return false;
-        return requests.stream().anyMatch(r -> !r.isExpired());
+        synchronized (lock) {
+            return findMostRecent(targetId) != null;
+        }
     }
 
     /**
      * Cancel all outgoing requests from a player.
      */
     public void cancelOutgoingRequests(UUID requesterId) {
-        for (List<TpaRequest> requests : pendingRequests.values()) {
-            requests.removeIf(r -> r.getRequesterId().equals(requesterId));
+        synchronized (lock) {
+            Set<UUID> targets = targetsByRequester.get(requesterId);
+            if (targets == null) return;
+            for (UUID targetId : new ArrayList<>(targets)) {
+                TpaRequest request = findRequest(targetId, requesterId);
+                if (request != null) {
+                    removeRequest(request);
+                }
+            }
         }
     }
 
+    // ==================== Registry internals (call with lock held) ====================
+
+    private TpaRequest findRequest(UUID targetId, UUID requesterId) {
+        LinkedHashMap<UUID, TpaRequest> requests = requestsByTarget.get(targetId);
+        return requests != null ? requests.get(requesterId) : null;
+    }
+
     /**
-     * Clean up expired requests.
+     * Most recent non-expired request to a player. Expired entries are only passed over
+     * until their expiry task removes them, so this is normally the last entry.
      */
-    private void cleanupExpired() {
-        for (List<TpaRequest> requests : pendingRequests.values()) {
-            requests.removeIf(TpaRequest::isExpired);
+    private TpaRequest findMostRecent(UUID targetId) {
+        LinkedHashMap<UUID, TpaRequest> requests = requestsByTarget.get(targetId);
+        if (requests == null) return null;
+        for (TpaRequest request : requests.sequencedValues().reversed()) {
+            if (!request.isExpired()) {
+                return request;
+            }
+        }
+        return null;
+    }
+
+    private void removeRequest(TpaRequest request) {
+        LinkedHashMap<UUID, TpaRequest> requests = requestsByTarget.get(request.getTargetId());
+        if (requests == null || !requests.remove(request.getRequesterId(), request)) return;
+        if (requests.isEmpty()) {
+            requestsByTarget.remove(request.getTargetId());
+        }
+        Set<UUID> targets = targetsByRequester.get(request.getRequesterId());
+        if (targets != null) {
+            targets.remove(request.getTargetId());
+            if (targets.isEmpty()) {
+                targetsByRequester.remove(request.getRequesterId());
+            }
+        }
+        activeRequests--;
+    }
+
+    // ==================== Expiry ====================
+
+    private void scheduleExpiry(TpaRequest request) {
+        long delayMs = Math.max(0, request.getExpiresAt() - System.currentTimeMillis()) + 1;
+        try {
+            scheduler.schedule(() -> expire(request), delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
         }
     }
 
+    /**
+     * Drop a request at its deadline, unless it was already answered or replaced.
+     */
+    private void expire(TpaRequest request) {
+        synchronized (lock) {
+            if (findRequest(request.getTargetId(), request.getRequesterId()) != request) return;
+            removeRequest(request);
+        }
+        expiredCount.incrementAndGet();
+    }
+
+    // ==================== Stats ====================
+
+    public int getActiveCount() {
+        synchronized (lock) {
+            return activeRequests;
+        }
+    }
+
+    public long getCreatedCount() { return createdCount.get(); }
+    public long getAcceptedCount() { return acceptedCount.get(); }
+    public long getDeniedCount() { return deniedCount.get(); }
+    public long getExpiredCount() { return expiredCount.get(); }
+
     /**
      * Shutdown the service and cleanup scheduler.
      */
@@ -237,6 +323,10 @@ public class TpaService {
             scheduler.shutdownNow();
             Thread.currentThread().interrupt();
         }
-        pendingRequests.clear();
+        synchronized (lock) {
+            requestsByTarget.clear();
+            targetsByRequester.clear();
+            activeRequests = 0;
+        }
     }
 }
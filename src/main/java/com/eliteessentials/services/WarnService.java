@@ -1,61 +1,21 @@
 package com.eliteessentials.services;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.eliteessentials.model.ModerationEntry;
+import com.eliteessentials.model.ModerationEntry.Type;
+import com.eliteessentials.storage.ModerationStorageProvider;
 
-import java.io.*;
-import java.lang.reflect.Type;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.logging.Logger;
 
 /**
- * Manages player warnings with persistence.
- * Persists to warns.json keyed by UUID string -> List of WarnEntry.
+ * Manages player warnings.
+ * Warnings live in the shared moderation store, listed per player UUID oldest first.
  */
 public class WarnService {
 
-    private static final Logger logger = Logger.getLogger("EliteEssentials");
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
-    private static final Type WARN_MAP_TYPE = new TypeToken<Map<String, List<WarnEntry>>>(){}.getType();
+    private final ModerationStorageProvider storage;
 
-    private final File warnFile;
-    private final Object fileLock = new Object();
-    private final Map<String, List<WarnEntry>> warns = new ConcurrentHashMap<>();
-
-    public WarnService(File dataFolder) {
-        this.warnFile = new File(dataFolder, "warns.json");
-        load();
-    }
-
-    public void load() {
-        if (!warnFile.exists()) {
-            return;
-        }
-        synchronized (fileLock) {
-            try (Reader reader = new InputStreamReader(new FileInputStream(warnFile), StandardCharsets.UTF_8)) {
-                Map<String, List<WarnEntry>> loaded = gson.fromJson(reader, WARN_MAP_TYPE);
-                warns.clear();
-                if (loaded != null) {
-                    warns.putAll(loaded);
-                }
-                logger.info("[WarnService] Loaded warnings for " + warns.size() + " players.");
-            } catch (IOException e) {
-                logger.severe("Could not load warns.json: " + e.getMessage());
-            }
-        }
-    }
-
-    private void save() {
-        synchronized (fileLock) {
-            try (Writer writer = new OutputStreamWriter(new FileOutputStream(warnFile), StandardCharsets.UTF_8)) {
-                gson.toJson(warns, WARN_MAP_TYPE, writer);
-            } catch (IOException e) {
-                logger.severe("Could not save warns.json: " + e.getMessage());
-            }
-        }
+    public WarnService(ModerationStorageProvider storage) {
+        this.storage = storage;
     }
 
     /**
@@ -63,16 +23,8 @@ public class WarnService {
      * @return the new total warning count for this player
      */
     public int warn(UUID playerId, String playerName, String warnedBy, String reason) {
-        String key = playerId.toString();
-        WarnEntry entry = new WarnEntry();
-        entry.playerName = playerName;
-        entry.warnedBy = warnedBy;
-        entry.reason = reason;
-        entry.warnedAt = System.currentTimeMillis();
-
-        warns.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
-        save();
-        return warns.get(key).size();
+        storage.add(ModerationEntry.issue(Type.WARN, playerId, null, playerName, warnedBy, reason, 0));
+        return getWarningCount(playerId);
     }
 
     /**
@@ -80,16 +32,19 @@ public class WarnService {
      * @return list of warnings, or empty list if none
      */
     public List<WarnEntry> getWarnings(UUID playerId) {
-        List<WarnEntry> list = warns.get(playerId.toString());
-        return list != null ? Collections.unmodifiableList(list) : Collections.emptyList();
+        List<ModerationEntry> stored = storage.getWarnings(playerId);
+        List<WarnEntry> result = new ArrayList<>(stored.size());
+        for (ModerationEntry entry : stored) {
+            result.add(WarnEntry.of(entry));
+        }
+        return Collections.unmodifiableList(result);
     }
 
     /**
      * Get the warning count for a player.
      */
     public int getWarningCount(UUID playerId) {
-        List<WarnEntry> list = warns.get(playerId.toString());
-        return list != null ? list.size() : 0;
+        return storage.getWarnings(playerId).size();
     }
 
     /**
@@ -97,17 +52,11 @@ public class WarnService {
      * @return true if the warning was removed
      */
     public boolean removeWarning(UUID playerId, int index) {
-        String key = playerId.toString();
-        List<WarnEntry> list = warns.get(key);
-        if (list == null || index < 0 || index >= list.size()) {
+        List<ModerationEntry> stored = storage.getWarnings(playerId);
+        if (index < 0 || index >= stored.size()) {
             return false;
         }
-        list.remove(index);
-        if (list.isEmpty()) {
-            warns.remove(key);
-        }
-        save();
-        return true;
+        return storage.remove(stored.get(index).getId()) != null;
     }
 
     /**
@@ -115,16 +64,11 @@ public class WarnService {
      * @return the number of warnings that were cleared
      */
     public int clearWarnings(UUID playerId) {
-        List<WarnEntry> removed = warns.remove(playerId.toString());
-        if (removed != null) {
-            save();
-            return removed.size();
+        List<String> ids = new ArrayList<>();
+        for (ModerationEntry entry : storage.getWarnings(playerId)) {
+            ids.add(entry.getId());
         }
-        return 0;
-    }
-
-    public void reload() {
-        load();
+        return ids.isEmpty() ? 0 : storage.removeAll(ids).size();
     }
 
     public static class WarnEntry {
@@ -132,5 +76,14 @@ public class WarnService {
         public String warnedBy;
         public String reason;
         public long warnedAt;
+
+        static WarnEntry of(ModerationEntry entry) {
+            WarnEntry warn = new WarnEntry();
+            warn.playerName = entry.getPlayerName();
+            warn.warnedBy = entry.getIssuedBy();
+            warn.reason = entry.getReason();
+            warn.warnedAt = entry.getIssuedAt();
+            return warn;
+        }
     }
 }
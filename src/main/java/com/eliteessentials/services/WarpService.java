@@ -10,6 +10,7 @@ import com.eliteessentials.permissions.Permissions;
 import com.eliteessentials.storage.GlobalStorageProvider;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 /**
@@ -22,6 +23,7 @@ public class WarpService {
 
     private final GlobalStorageProvider storage;
     private ConfigManager configManager;
+    private final AtomicLong revision = new AtomicLong();
 
     public WarpService(GlobalStorageProvider storage) {
         this.storage = storage;
@@ -71,6 +73,7 @@ public class WarpService {
 
         Warp warp = new Warp(name, location, permission, createdBy, description);
         storage.setWarp(warp);
+        revision.incrementAndGet();
         return null;
     }
 
@@ -86,6 +89,7 @@ public class WarpService {
         Warp warp = warpOpt.get();
         warp.setDescription(description);
         storage.setWarp(warp);
+        revision.incrementAndGet();
         return true;
     }
 
@@ -101,7 +105,9 @@ public class WarpService {
      * @return true if deleted, false if not found
      */
     public boolean deleteWarp(String name) {
-        return storage.deleteWarp(name);
+        boolean deleted = storage.deleteWarp(name);
+        if (deleted) revision.incrementAndGet();
+        return deleted;
     }
 
     /**
@@ -173,6 +179,7 @@ public class WarpService {
         Warp warp = warpOpt.get();
         warp.setPermission(permission);
         storage.setWarp(warp);
+        revision.incrementAndGet();
         return true;
     }
 
@@ -182,6 +189,21 @@ public class WarpService {
     public void save() {
         storage.save();
     }
+
+    /**
+     * Record that warps were changed outside this service (storage reload, migration).
+     */
+    public void markChanged() {
+        revision.incrementAndGet();
+    }
+
+    /**
+     * Incremented on every warp change. The warp GUI keeps its permission-filtered,
+     * sorted list until this moves.
+     */
+    public long getRevision() {
+        return revision.get();
+    }
     
     /**
      * Get the warp limit for a player based on their permissions/groups.
@@ -0,0 +1,218 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.util.IpCidr;
+
+import java.util.*;
+
+/**
+ * Which players have connected from which addresses, in both directions, for alt-account
+ * lookups.
+ *
+ * Indexes (all maintained on record):
+ * - address -> players seen on it
+ * - player -> address -> last used, capped like the player file's own history
+ * - address bytes in numeric order, so "who connected from inside this network" is a
+ *   range walk instead of a scan of every address
+ *
+ * Addresses are stored in canonical form ({@link IpCidr#normalize}) so "::1" and
+ * "0:0:0:0:0:0:0:1" are one address.
+ */
+public class AltAccountIndex {
+
+    /** IPv4 before IPv6, then unsigned byte order. */
+    private static final Comparator<byte[]> ADDRESS_ORDER = (a, b) ->
+            a.length != b.length ? Integer.compare(a.length, b.length) : Arrays.compareUnsigned(a, b);
+
+    /** One address a player used. */
+    public record IpUse(String ip, long lastUsed) {}
+
+    private final Map<String, Set<UUID>> playersByIp = new HashMap<>();
+    private final Map<UUID, Map<String, Long>> ipsByPlayer = new HashMap<>();
+    private final TreeMap<byte[], String> ipsByAddress = new TreeMap<>(ADDRESS_ORDER);
+    private final int maxIpsPerPlayer;
+    private int pairs;
+
+    public AltAccountIndex(int maxIpsPerPlayer) {
+        this.maxIpsPerPlayer = maxIpsPerPlayer;
+    }
+
+    // ==================== Updates ====================
+
+    public synchronized void clear() {
+        playersByIp.clear();
+        ipsByPlayer.clear();
+        ipsByAddress.clear();
+        pairs = 0;
+    }
+
+    /**
+     * Take over the contents of an index built elsewhere, after copying into it anything
+     * recorded here at or after {@code since} (joins while it was being built).
+     */
+    public synchronized void replaceWith(AltAccountIndex built, long since) {
+        synchronized (built) {
+            forEach((playerId, ip, lastUsed) -> {
+                if (lastUsed >= since) built.record(playerId, ip, lastUsed);
+            });
+            clear();
+            playersByIp.putAll(built.playersByIp);
+            ipsByPlayer.putAll(built.ipsByPlayer);
+            ipsByAddress.putAll(built.ipsByAddress);
+            pairs = built.pairs;
+        }
+    }
+
+    /**
+     * Note that a player used an address. A known pair only moves its last-used time
+     * forward, so history can be fed in any order.
+     *
+     * @return true if the player had not been seen on this address before
+     */
+    public synchronized boolean record(UUID playerId, String ip, long lastUsed) {
+        if (playerId == null || ip == null || ip.isBlank()) return false;
+        String key = IpCidr.normalize(ip);
+
+        Map<String, Long> ips = ipsByPlayer.computeIfAbsent(playerId, k -> new HashMap<>());
+        Long previous = ips.get(key);
+        if (previous != null) {
+            if (lastUsed > previous) ips.put(key, lastUsed);
+            return false;
+        }
+        ips.put(key, lastUsed);
+        if (playersByIp.computeIfAbsent(key, k -> new HashSet<>(2)).add(playerId)) {
+            pairs++;
+        }
+        byte[] address = IpCidr.parseAddress(key);
+        if (address != null) {
+            ipsByAddress.putIfAbsent(address, key);
+        }
+        if (ips.size() > maxIpsPerPlayer) {
+            dropOldest(playerId, ips);
+        }
+        return true;
+    }
+
+    private void dropOldest(UUID playerId, Map<String, Long> ips) {
+        String oldest = null;
+        long oldestUsed = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : ips.entrySet()) {
+            if (entry.getValue() < oldestUsed) {
+                oldest = entry.getKey();
+                oldestUsed = entry.getValue();
+            }
+        }
+        if (oldest == null) return;
+        ips.remove(oldest);
+        Set<UUID> players = playersByIp.get(oldest);
+        if (players != null && players.remove(playerId)) {
+            pairs--;
+            if (players.isEmpty()) {
+                playersByIp.remove(oldest);
+                byte[] address = IpCidr.parseAddress(oldest);
+                if (address != null) ipsByAddress.remove(address);
+            }
+        }
+    }
+
+    // ==================== Lookups ====================
+
+    /** The player's addresses, most recently used first. */
+    public synchronized List<IpUse> getIps(UUID playerId) {
+        Map<String, Long> ips = ipsByPlayer.get(playerId);
+        if (ips == null) return List.of();
+        List<IpUse> list = new ArrayList<>(ips.size());
+        for (Map.Entry<String, Long> entry : ips.entrySet()) {
+            list.add(new IpUse(entry.getKey(), entry.getValue()));
+        }
+        list.sort(Comparator.comparingLong(IpUse::lastUsed).reversed());
+        return list;
+    }
+
+    /** The address the player used most recently, or null. */
+    public synchronized String getLastIp(UUID playerId) {
+        Map<String, Long> ips = ipsByPlayer.get(playerId);
+        if (ips == null) return null;
+        String last = null;
+        long lastUsed = Long.MIN_VALUE;
+        for (Map.Entry<String, Long> entry : ips.entrySet()) {
+            if (entry.getValue() > lastUsed) {
+                last = entry.getKey();
+                lastUsed = entry.getValue();
+            }
+        }
+        return last;
+    }
+
+    /** Every player seen on this address. */
+    public synchronized Set<UUID> getPlayers(String ip) {
+        if (ip == null) return Set.of();
+        Set<UUID> players = playersByIp.get(IpCidr.normalize(ip));
+        return players != null ? Set.copyOf(players) : Set.of();
+    }
+
+    /** Every player seen on any address inside the network. */
+    public synchronized Set<UUID> getPlayersInRange(IpCidr network) {
+        Set<UUID> result = new HashSet<>();
+        for (String ip : ipsByAddress.subMap(network.address(), true, network.lastAddress(), true).values()) {
+            Set<UUID> players = playersByIp.get(ip);
+            if (players != null) result.addAll(players);
+        }
+        return result;
+    }
+
+    /**
+     * Other players who share an address with this one, each with the shared addresses.
+     * Addresses used by more than {@code maxAccountsPerIp} players (VPN exits, schools,
+     * carrier NAT) say nothing about who is an alt and are skipped; 0 disables the limit.
+     */
+    public synchronized Map<UUID, Set<String>> findAlts(UUID playerId, int maxAccountsPerIp) {
+        Map<String, Long> ips = ipsByPlayer.get(playerId);
+        if (ips == null) return Map.of();
+        Map<UUID, Set<String>> alts = new HashMap<>();
+        for (String ip : ips.keySet()) {
+            Set<UUID> players = playersByIp.get(ip);
+            if (players == null || (maxAccountsPerIp > 0 && players.size() > maxAccountsPerIp)) continue;
+            for (UUID other : players) {
+                if (!other.equals(playerId)) {
+                    alts.computeIfAbsent(other, k -> new TreeSet<>()).add(ip);
+                }
+            }
+        }
+        return alts;
+    }
+
+    /**
+     * {@link #findAlts(UUID, int)} for many players under one lock. Players without
+     * alts are left out of the result.
+     */
+    public synchronized Map<UUID, Map<UUID, Set<String>>> findAlts(Collection<UUID> playerIds, int maxAccountsPerIp) {
+        Map<UUID, Map<UUID, Set<String>>> result = new HashMap<>();
+        for (UUID playerId : playerIds) {
+            Map<UUID, Set<String>> alts = findAlts(playerId, maxAccountsPerIp);
+            if (!alts.isEmpty()) result.put(playerId, alts);
+        }
+        return result;
+    }
+
+    /** Visit every (player, address, last used) entry, for snapshots. */
+    public synchronized void forEach(PlayerStorageProvider.IpHistoryVisitor visitor) {
+        for (Map.Entry<UUID, Map<String, Long>> player : ipsByPlayer.entrySet()) {
+            for (Map.Entry<String, Long> ip : player.getValue().entrySet()) {
+                visitor.accept(player.getKey(), ip.getKey(), ip.getValue());
+            }
+        }
+    }
+
+    public synchronized int playerCount() {
+        return ipsByPlayer.size();
+    }
+
+    public synchronized int ipCount() {
+        return playersByIp.size();
+    }
+
+    /** Number of distinct (player, address) pairs. */
+    public synchronized int size() {
+        return pairs;
+    }
+}
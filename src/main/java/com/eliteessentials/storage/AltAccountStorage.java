@@ -0,0 +1,191 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.util.IpCidr;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Saves the alt-account index for JSON player storage, so startup reads one small file
+ * instead of every player file.
+ *
+ * alt_index.dat is binary: a table of distinct addresses (4 or 16 raw bytes each),
+ * then per player its UUID and (address number, last used) pairs. Players who first
+ * show up on a new address between snapshots are appended to alt_index.journal, one
+ * text line each, and folded in on the next load or save. Last-used times that only
+ * moved forward are not journaled; the next snapshot picks them up.
+ *
+ * Not used with SQL storage, where the ip_history table is read in a single query.
+ */
+public class AltAccountStorage {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+    private static final int MAGIC = 0x45454149; // "EEAI"
+    private static final int VERSION = 1;
+    private static final int COMPACT_THRESHOLD = 1000;
+
+    private final File dataFolder;
+    private final File snapshotFile;
+    private final File journalFile;
+    private int journalEntries;
+
+    public AltAccountStorage(File dataFolder) {
+        this.dataFolder = dataFolder;
+        this.snapshotFile = new File(dataFolder, "alt_index.dat");
+        this.journalFile = new File(dataFolder, "alt_index.journal");
+    }
+
+    /**
+     * Read the snapshot and journal into the index.
+     *
+     * @return false if there is no readable snapshot, in which case the index has to be
+     *         built from player storage
+     */
+    public synchronized boolean load(AltAccountIndex index) {
+        if (!snapshotFile.exists()) return false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.warning("[AltAccountStorage] alt_index.dat has an unknown format, rebuilding.");
+                return false;
+            }
+            String[] ips = new String[in.readInt()];
+            for (int i = 0; i < ips.length; i++) {
+                int length = in.readUnsignedByte();
+                if (length == 0) {
+                    ips[i] = in.readUTF();
+                } else {
+                    byte[] address = new byte[length];
+                    in.readFully(address);
+                    ips[i] = IpCidr.formatAddress(address);
+                }
+            }
+            int players = in.readInt();
+            for (int p = 0; p < players; p++) {
+                UUID playerId = new UUID(in.readLong(), in.readLong());
+                int count = in.readUnsignedShort();
+                for (int i = 0; i < count; i++) {
+                    index.record(playerId, ips[in.readInt()], in.readLong());
+                }
+            }
+        } catch (Exception e) {
+            // Whatever was read is still true; the rebuild adds the rest
+            logger.warning("[AltAccountStorage] Failed to read alt_index.dat, rebuilding: " + e.getMessage());
+            return false;
+        }
+        replayJournal(index);
+        return true;
+    }
+
+    /**
+     * Append one new (player, address) pair to the journal.
+     */
+    public synchronized void append(UUID playerId, String ip, long lastUsed, AltAccountIndex index) {
+        if (!dataFolder.exists()) {
+            dataFolder.mkdirs();
+        }
+        try {
+            Files.writeString(journalFile.toPath(), playerId + " " + ip + " " + lastUsed + "\n",
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            journalEntries++;
+        } catch (IOException e) {
+            logger.warning("[AltAccountStorage] Failed to append to alt_index.journal, saving full file: " + e.getMessage());
+            save(index);
+            return;
+        }
+        if (journalEntries >= COMPACT_THRESHOLD) {
+            save(index);
+        }
+    }
+
+    /**
+     * Write the whole index to alt_index.dat (temp file + move) and empty the journal.
+     */
+    public synchronized boolean save(AltAccountIndex index) {
+        // Group by player and number the distinct addresses
+        Map<UUID, List<AltAccountIndex.IpUse>> byPlayer = new LinkedHashMap<>();
+        Map<String, Integer> ipNumbers = new LinkedHashMap<>();
+        index.forEach((playerId, ip, lastUsed) -> {
+            byPlayer.computeIfAbsent(playerId, k -> new ArrayList<>()).add(new AltAccountIndex.IpUse(ip, lastUsed));
+            ipNumbers.putIfAbsent(ip, ipNumbers.size());
+        });
+
+        if (!dataFolder.exists()) {
+            dataFolder.mkdirs();
+        }
+        File temp = new File(dataFolder, "alt_index.dat.tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(ipNumbers.size());
+            for (String ip : ipNumbers.keySet()) {
+                byte[] address = IpCidr.parseAddress(ip);
+                if (address != null) {
+                    out.writeByte(address.length);
+                    out.write(address);
+                } else {
+                    out.writeByte(0);
+                    out.writeUTF(ip);
+                }
+            }
+            out.writeInt(byPlayer.size());
+            for (Map.Entry<UUID, List<AltAccountIndex.IpUse>> player : byPlayer.entrySet()) {
+                out.writeLong(player.getKey().getMostSignificantBits());
+                out.writeLong(player.getKey().getLeastSignificantBits());
+                out.writeShort(player.getValue().size());
+                for (AltAccountIndex.IpUse use : player.getValue()) {
+                    out.writeInt(ipNumbers.get(use.ip()));
+                    out.writeLong(use.lastUsed());
+                }
+            }
+        } catch (IOException e) {
+            logger.severe("[AltAccountStorage] Failed to save alt_index.dat: " + e.getMessage());
+            temp.delete();
+            return false;
+        }
+        try {
+            try {
+                Files.move(temp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.severe("[AltAccountStorage] Failed to replace alt_index.dat: " + e.getMessage());
+            temp.delete();
+            return false;
+        }
+        journalFile.delete();
+        journalEntries = 0;
+        return true;
+    }
+
+    /** Size of the snapshot on disk, for /ee alts. */
+    public long getSnapshotBytes() {
+        return snapshotFile.length();
+    }
+
+    private void replayJournal(AltAccountIndex index) {
+        if (!journalFile.exists()) return;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(journalFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.trim().split(" ");
+                if (parts.length != 3) continue;
+                try {
+                    index.record(UUID.fromString(parts[0]), parts[1], Long.parseLong(parts[2]));
+                    journalEntries++;
+                } catch (IllegalArgumentException e) {
+                    // A torn last line from a crash mid-append
+                }
+            }
+        } catch (IOException e) {
+            logger.warning("[AltAccountStorage] Failed to read alt_index.journal: " + e.getMessage());
+        }
+    }
+}
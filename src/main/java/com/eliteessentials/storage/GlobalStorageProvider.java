@@ -1,11 +1,12 @@
 package com.eliteessentials.storage;
 
+import com.eliteessentials.model.ProtectedRegion;
 import com.eliteessentials.model.Warp;
 
 import java.util.*;
 
 /**
- * Abstraction interface for server-wide data storage (warps, spawns).
+ * Abstraction interface for server-wide data storage (warps, spawns, protected regions).
  * Implemented by JSON file storage (WarpStorage) and SQL storage (SqlGlobalStorage).
  * 
  * Note: SpawnStorage's world-sync methods (syncSpawnToWorld, etc.) are NOT part of
@@ -33,6 +34,12 @@ public interface GlobalStorageProvider {
     void saveFirstJoinSpawn(SpawnStorage.SpawnData spawn);
     void deleteFirstJoinSpawn();
 
+    // Protected regions (keyed by lowercase name)
+    Map<String, ProtectedRegion> getAllRegions();
+    Optional<ProtectedRegion> getRegion(String name);
+    void setRegion(ProtectedRegion region);
+    boolean deleteRegion(String name);
+
     // Lifecycle
     void load();
     void save();
@@ -0,0 +1,147 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.util.IpCidr;
+
+import java.util.Arrays;
+
+/**
+ * Binary prefix trie over IPv4 and IPv6 networks, answering "which stored network
+ * contains this address" in at most 32 (IPv4) or 128 (IPv6) steps regardless of how
+ * many networks are stored.
+ *
+ * Nodes live in parallel int arrays (two child indexes per node) rather than as
+ * objects, so a trie holding 100k ranges is a few flat arrays instead of millions of
+ * small objects. Each family has its own root. Removing a network only clears its
+ * value; the owner rebuilds the trie once {@link #needsCompaction()} says dead
+ * nodes outweigh live ones.
+ *
+ * Not thread-safe; ModerationIndex guards it with its own lock.
+ */
+public class IpPrefixTrie<T> {
+
+    private static final int ROOT_V4 = 0;
+    private static final int ROOT_V6 = 1;
+    private static final int NONE = 0;
+
+    private int[] zero;
+    private int[] one;
+    private Object[] values;
+    private int nodeCount;
+    private int size;
+    private int removed;
+
+    public IpPrefixTrie() {
+        clear();
+    }
+
+    public void clear() {
+        zero = new int[64];
+        one = new int[64];
+        values = new Object[64];
+        // Nodes 0 and 1 are the roots; 0 doubles as "no child" since no node points at a root
+        nodeCount = 2;
+        size = 0;
+        removed = 0;
+    }
+
+    /**
+     * Store a value for a network, replacing any value already stored for exactly
+     * that network.
+     */
+    public void put(IpCidr network, T value) {
+        byte[] address = network.address();
+        int node = network.isIpv4() ? ROOT_V4 : ROOT_V6;
+        for (int i = 0; i < network.prefixLength(); i++) {
+            int[] children = IpCidr.bit(address, i) == 0 ? zero : one;
+            int next = children[node];
+            if (next == NONE) {
+                next = newNode();
+                // newNode may have grown the arrays
+                children = IpCidr.bit(address, i) == 0 ? zero : one;
+                children[node] = next;
+            }
+            node = next;
+        }
+        if (values[node] == null) size++;
+        values[node] = value;
+    }
+
+    /**
+     * The value stored for exactly this network, or null.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(IpCidr network) {
+        int node = find(network);
+        return node < 0 ? null : (T) values[node];
+    }
+
+    /**
+     * Remove the value stored for exactly this network. Returns it, or null.
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(IpCidr network) {
+        int node = find(network);
+        if (node < 0 || values[node] == null) return null;
+        T old = (T) values[node];
+        values[node] = null;
+        size--;
+        removed++;
+        return old;
+    }
+
+    /**
+     * The value of the most specific stored network containing the address, or null.
+     */
+    @SuppressWarnings("unchecked")
+    public T match(byte[] address) {
+        int node = address.length == 4 ? ROOT_V4 : ROOT_V6;
+        Object best = values[node];
+        int bits = address.length * 8;
+        for (int i = 0; i < bits; i++) {
+            node = IpCidr.bit(address, i) == 0 ? zero[node] : one[node];
+            if (node == NONE) break;
+            if (values[node] != null) best = values[node];
+        }
+        return (T) best;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Whether enough networks were removed that rebuilding would reclaim most nodes.
+     */
+    public boolean needsCompaction() {
+        return removed > 1024 && removed > size;
+    }
+
+    /** Rough heap use of the node arrays, for diagnostics. */
+    public long estimatedBytes() {
+        return (long) zero.length * 4 * 2 + (long) values.length * 4;
+    }
+
+    private int find(IpCidr network) {
+        byte[] address = network.address();
+        int node = network.isIpv4() ? ROOT_V4 : ROOT_V6;
+        for (int i = 0; i < network.prefixLength(); i++) {
+            node = IpCidr.bit(address, i) == 0 ? zero[node] : one[node];
+            if (node == NONE) return -1;
+        }
+        return node;
+    }
+
+    private int newNode() {
+        if (nodeCount == zero.length) {
+            int capacity = zero.length * 2;
+            zero = Arrays.copyOf(zero, capacity);
+            one = Arrays.copyOf(one, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        return nodeCount++;
+    }
+}
@@ -0,0 +1,128 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.model.ModerationEntry;
+import com.eliteessentials.model.ModerationEntry.Type;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Reads the per-service files used before the moderation store (bans.json,
+ * tempbans.json, ipbans.json, mutes.json, warns.json) so the first start on the new
+ * store keeps every existing punishment. After a successful import the old files are
+ * renamed to *.migrated and are not read again.
+ */
+public final class LegacyModerationImport {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+    private static final String[] FILES = {"bans.json", "tempbans.json", "ipbans.json", "mutes.json", "warns.json"};
+
+    private LegacyModerationImport() {
+    }
+
+    public static boolean hasLegacyFiles(File dataFolder) {
+        for (String name : FILES) {
+            if (new File(dataFolder, name).exists()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Every record in the old files. Temp bans that have already run out are skipped.
+     */
+    public static List<ModerationEntry> read(File dataFolder) {
+        List<ModerationEntry> entries = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        for (Map.Entry<String, JsonElement> e : readObject(dataFolder, "bans.json").entrySet()) {
+            UUID uuid = parseUuid(e.getKey());
+            if (uuid == null) continue;
+            JsonObject o = e.getValue().getAsJsonObject();
+            entries.add(entry(Type.BAN, uuid, null, o, "bannedBy", "bannedAt", 0));
+        }
+        for (Map.Entry<String, JsonElement> e : readObject(dataFolder, "tempbans.json").entrySet()) {
+            UUID uuid = parseUuid(e.getKey());
+            if (uuid == null) continue;
+            JsonObject o = e.getValue().getAsJsonObject();
+            long end = getLong(o, "banEndTimestamp");
+            if (end <= now) continue;
+            entries.add(entry(Type.TEMPBAN, uuid, null, o, "bannedBy", "bannedAt", end));
+        }
+        for (Map.Entry<String, JsonElement> e : readObject(dataFolder, "ipbans.json").entrySet()) {
+            JsonObject o = e.getValue().getAsJsonObject();
+            entries.add(entry(Type.IPBAN, parseUuid(getString(o, "playerUuid")), e.getKey(), o, "bannedBy", "bannedAt", 0));
+        }
+        for (Map.Entry<String, JsonElement> e : readObject(dataFolder, "mutes.json").entrySet()) {
+            UUID uuid = parseUuid(e.getKey());
+            if (uuid == null) continue;
+            JsonObject o = e.getValue().getAsJsonObject();
+            entries.add(entry(Type.MUTE, uuid, null, o, "mutedBy", "mutedAt", 0));
+        }
+        for (Map.Entry<String, JsonElement> e : readObject(dataFolder, "warns.json").entrySet()) {
+            UUID uuid = parseUuid(e.getKey());
+            if (uuid == null || !e.getValue().isJsonArray()) continue;
+            for (JsonElement warn : e.getValue().getAsJsonArray()) {
+                entries.add(entry(Type.WARN, uuid, null, warn.getAsJsonObject(), "warnedBy", "warnedAt", 0));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Rename the old files so they are not imported again.
+     */
+    public static void markMigrated(File dataFolder) {
+        for (String name : FILES) {
+            File file = new File(dataFolder, name);
+            if (!file.exists()) continue;
+            File target = new File(dataFolder, name + ".migrated");
+            if (target.exists()) target.delete();
+            if (!file.renameTo(target)) {
+                logger.warning("[ModerationStorage] Could not rename " + name + " after import; delete it manually.");
+            }
+        }
+    }
+
+    private static ModerationEntry entry(Type type, UUID uuid, String ip, JsonObject o,
+                                         String byField, String atField, long expiresAt) {
+        return new ModerationEntry(UUID.randomUUID().toString(), type, uuid, ip,
+                getString(o, "playerName"), getString(o, byField), getString(o, "reason"),
+                getLong(o, atField), expiresAt);
+    }
+
+    private static JsonObject readObject(File dataFolder, String name) {
+        File file = new File(dataFolder, name);
+        if (!file.exists()) return new JsonObject();
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            JsonElement root = JsonParser.parseReader(reader);
+            return root != null && root.isJsonObject() ? root.getAsJsonObject() : new JsonObject();
+        } catch (Exception e) {
+            logger.severe("[ModerationStorage] Could not read " + name + " for import: " + e.getMessage());
+            return new JsonObject();
+        }
+    }
+
+    private static String getString(JsonObject o, String field) {
+        JsonElement e = o.get(field);
+        return e != null && !e.isJsonNull() ? e.getAsString() : null;
+    }
+
+    private static long getLong(JsonObject o, String field) {
+        JsonElement e = o.get(field);
+        return e != null && !e.isJsonNull() ? e.getAsLong() : 0;
+    }
+
+    private static UUID parseUuid(String s) {
+        if (s == null) return null;
+        try {
+            return UUID.fromString(s);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.model.MailMessage;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * JSON file-based mail storage.
+ * Each inbox is mail/{uuid}.jsonl with one message per line, oldest first.
+ *
+ * Sending appends a line to the recipient's file. Changes made by the owner (read,
+ * delete, clear) rewrite only their own inbox file. {@link #load()} only lists the inbox
+ * files; an inbox's message count is taken from its line count the first time it is
+ * needed, and its unread count when it is first parsed. Pages are read from the end of
+ * the file, and recently read whole inboxes are cached.
+ */
+public class MailStorage implements MailStorageProvider {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+    private static final Gson gson = new GsonBuilder()
+            .disableHtmlEscaping()
+            .create();
+    private static final String EXTENSION = ".jsonl";
+    private static final int MAX_CACHED_INBOXES = 256;
+    private static final int TAIL_CHUNK_BYTES = 8192;
+    /** Count not known yet */
+    private static final int UNKNOWN = -1;
+
+    private final File mailFolder;
+    private final Object lock = new Object();
+
+    // Counts for every inbox on disk (fields are UNKNOWN until first needed)
+    private final Map<UUID, Counts> counts = new HashMap<>();
+
+    // Recently read inboxes, oldest message first
+    private final Map<UUID, List<MailMessage>> inboxes = new LinkedHashMap<UUID, List<MailMessage>>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, List<MailMessage>> eldest) {
+            return size() > MAX_CACHED_INBOXES;
+        }
+    };
+
+    private static final class Counts {
+        int total;
+        int unread;
+
+        static Counts unknown() {
+            Counts c = new Counts();
+            c.total = UNKNOWN;
+            c.unread = UNKNOWN;
+            return c;
+        }
+    }
+
+    public MailStorage(File dataFolder) {
+        this.mailFolder = new File(dataFolder, "mail");
+    }
+
+    @Override
+    public void load() {
+        synchronized (lock) {
+            counts.clear();
+            inboxes.clear();
+            if (!mailFolder.exists()) {
+                mailFolder.mkdirs();
+                return;
+            }
+            File[] files = mailFolder.listFiles((dir, name) -> name.endsWith(EXTENSION));
+            if (files == null) return;
+
+            for (File file : files) {
+                String name = file.getName();
+                UUID playerId;
+                try {
+                    playerId = UUID.fromString(name.substring(0, name.length() - EXTENSION.length()));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                counts.put(playerId, Counts.unknown());
+            }
+            logger.info("[MailStorage] Found " + counts.size() + " inboxes.");
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        // Every change is written immediately
+    }
+
+    // ==================== Sending ====================
+
+    @Override
+    public boolean append(UUID recipient, MailMessage mail, int maxPerInbox) {
+        synchronized (lock) {
+            if (getCount(recipient) >= maxPerInbox) {
+                return false;
+            }
+            return appendLines(recipient, List.of(mail));
+        }
+    }
+
+    @Override
+    public List<UUID> appendToAll(Collection<UUID> recipients, UUID senderUuid, String senderName, String message, int maxPerInbox) {
+        List<UUID> delivered = new ArrayList<>();
+        for (UUID recipient : recipients) {
+            // Lock per recipient so players can use their mail during a long bulk send
+            if (append(recipient, new MailMessage(senderUuid, senderName, message), maxPerInbox)) {
+                delivered.add(recipient);
+            }
+        }
+        return delivered;
+    }
+
+    @Override
+    public void importMail(UUID recipient, List<MailMessage> mail) {
+        if (mail == null || mail.isEmpty()) return;
+        synchronized (lock) {
+            List<MailMessage> inbox = new ArrayList<>(readInbox(recipient));
+            Set<String> existing = new HashSet<>();
+            for (MailMessage message : inbox) {
+                existing.add(message.getId());
+            }
+            boolean added = false;
+            for (MailMessage message : mail) {
+                if (existing.add(message.getId())) {
+                    inbox.add(message);
+                    added = true;
+                }
+            }
+            if (!added) return;
+            inbox.sort(Comparator.comparingLong(MailMessage::getTimestamp));
+            writeInbox(recipient, inbox);
+        }
+    }
+
+    // ==================== Reading ====================
+
+    @Override
+    public int getCount(UUID playerId) {
+        synchronized (lock) {
+            Counts c = counts.get(playerId);
+            if (c == null) return 0;
+            if (c.total == UNKNOWN) {
+                c.total = countLines(inboxFile(playerId));
+            }
+            return c.total;
+        }
+    }
+
+    @Override
+    public int getUnreadCount(UUID playerId) {
+        synchronized (lock) {
+            Counts c = counts.get(playerId);
+            if (c == null) return 0;
+            if (c.unread == UNKNOWN) {
+                readInbox(playerId);
+                c = counts.get(playerId);
+                if (c == null) return 0;
+            }
+            return c.unread;
+        }
+    }
+
+    @Override
+    public List<MailMessage> getPage(UUID playerId, int offset, int limit) {
+        synchronized (lock) {
+            if (offset < 0 || limit <= 0 || !counts.containsKey(playerId)) return new ArrayList<>();
+
+            // Newest mail is at the end of the file: parse only the lines the page needs
+            List<MailMessage> inbox = inboxes.get(playerId);
+            if (inbox == null) {
+                inbox = parseLines(readTailLines(inboxFile(playerId), offset + limit), playerId + EXTENSION);
+            }
+            List<MailMessage> page = new ArrayList<>();
+            for (int i = inbox.size() - 1 - offset; i >= 0 && page.size() < limit; i--) {
+                page.add(inbox.get(i));
+            }
+            return page;
+        }
+    }
+
+    @Override
+    public List<MailMessage> getAll(UUID playerId) {
+        synchronized (lock) {
+            List<MailMessage> all = new ArrayList<>(readInbox(playerId));
+            Collections.reverse(all);
+            return all;
+        }
+    }
+
+    // ==================== Owner changes ====================
+
+    @Override
+    public boolean markAsRead(UUID playerId, String mailId) {
+        synchronized (lock) {
+            List<MailMessage> inbox = readInbox(playerId);
+            for (MailMessage mail : inbox) {
+                if (mail.getId().equals(mailId)) {
+                    if (!mail.isRead()) {
+                        mail.markAsRead();
+                        writeInbox(playerId, inbox);
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public int markAllAsRead(UUID playerId) {
+        synchronized (lock) {
+            if (getUnreadCount(playerId) == 0) return 0;
+            List<MailMessage> inbox = readInbox(playerId);
+            int count = 0;
+            for (MailMessage mail : inbox) {
+                if (!mail.isRead()) {
+                    mail.markAsRead();
+                    count++;
+                }
+            }
+            if (count > 0) {
+                writeInbox(playerId, inbox);
+            }
+            return count;
+        }
+    }
+
+    @Override
+    public boolean delete(UUID playerId, String mailId) {
+        synchronized (lock) {
+            List<MailMessage> inbox = new ArrayList<>(readInbox(playerId));
+            boolean removed = inbox.removeIf(m -> m.getId().equals(mailId));
+            if (removed) {
+                writeInbox(playerId, inbox);
+            }
+            return removed;
+        }
+    }
+
+    @Override
+    public int clear(UUID playerId) {
+        synchronized (lock) {
+            int count = getCount(playerId);
+            if (count > 0) {
+                writeInbox(playerId, Collections.emptyList());
+            }
+            return count;
+        }
+    }
+
+    @Override
+    public int clearRead(UUID playerId) {
+        synchronized (lock) {
+            List<MailMessage> inbox = new ArrayList<>(readInbox(playerId));
+            int before = inbox.size();
+            inbox.removeIf(MailMessage::isRead);
+            int removed = before - inbox.size();
+            if (removed > 0) {
+                writeInbox(playerId, inbox);
+            }
+            return removed;
+        }
+    }
+
+    // ==================== Files (caller holds lock) ====================
+
+    private File inboxFile(UUID playerId) {
+        return new File(mailFolder, playerId + EXTENSION);
+    }
+
+    /**
+     * Parse a whole inbox and cache it; also makes its counts exact.
+     */
+    private List<MailMessage> readInbox(UUID playerId) {
+        List<MailMessage> inbox = inboxes.get(playerId);
+        if (inbox == null) {
+            if (!counts.containsKey(playerId)) {
+                return Collections.emptyList();
+            }
+            File file = inboxFile(playerId);
+            List<String> lines = new ArrayList<>();
+            try {
+                if (file.exists()) {
+                    lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+                }
+            } catch (IOException e) {
+                logger.severe("[MailStorage] Failed to read " + file.getName() + ": " + e.getMessage());
+            }
+            inbox = parseLines(lines, file.getName());
+            inboxes.put(playerId, inbox);
+            counts.put(playerId, countsOf(inbox));
+        }
+        return inbox;
+    }
+
+    private List<MailMessage> parseLines(List<String> lines, String fileName) {
+        List<MailMessage> mail = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            if (line.isBlank()) continue;
+            try {
+                MailMessage message = gson.fromJson(line, MailMessage.class);
+                if (message != null && message.getId() != null) {
+                    mail.add(message);
+                }
+            } catch (Exception e) {
+                logger.warning("[MailStorage] Skipping unreadable line in " + fileName + ": " + e.getMessage());
+            }
+        }
+        return mail;
+    }
+
+    /**
+     * Number of messages in an inbox file, without parsing them.
+     */
+    private int countLines(File file) {
+        int lines = 0;
+        if (!file.exists()) return lines;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) lines++;
+            }
+        } catch (IOException e) {
+            logger.severe("[MailStorage] Failed to read " + file.getName() + ": " + e.getMessage());
+        }
+        return lines;
+    }
+
+    /**
+     * The last {@code count} non-blank lines of a file, oldest first. Reads backwards in
+     * chunks, so a page of recent mail doesn't read the whole inbox.
+     */
+    static List<String> readTailLines(File file, int count) {
+        if (count <= 0 || !file.exists()) return new ArrayList<>();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            long start = raf.length();
+            byte[] tail = new byte[0];
+            int newlines = 0;
+            // One extra newline so the first line kept is complete
+            while (start > 0 && newlines <= count) {
+                int size = (int) Math.min(TAIL_CHUNK_BYTES, start);
+                start -= size;
+                byte[] chunk = new byte[size];
+                raf.seek(start);
+                raf.readFully(chunk);
+                for (byte b : chunk) {
+                    if (b == '\n') newlines++;
+                }
+                byte[] joined = new byte[size + tail.length];
+                System.arraycopy(chunk, 0, joined, 0, size);
+                System.arraycopy(tail, 0, joined, size, tail.length);
+                tail = joined;
+            }
+
+            String[] split = new String(tail, StandardCharsets.UTF_8).split("\n");
+            // Without reaching the file start, the first piece may be a partial line
+            int first = start > 0 ? 1 : 0;
+            List<String> lines = new ArrayList<>();
+            for (int i = split.length - 1; i >= first && lines.size() < count; i--) {
+                if (!split[i].isBlank()) lines.add(split[i]);
+            }
+            Collections.reverse(lines);
+            return lines;
+        } catch (IOException e) {
+            logger.severe("[MailStorage] Failed to read " + file.getName() + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private boolean appendLines(UUID playerId, List<MailMessage> mail) {
+        if (!mailFolder.exists()) {
+            mailFolder.mkdirs();
+        }
+        StringBuilder sb = new StringBuilder();
+        for (MailMessage message : mail) {
+            sb.append(gson.toJson(message)).append('\n');
+        }
+        try {
+            Files.writeString(inboxFile(playerId).toPath(), sb.toString(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.severe("[MailStorage] Failed to append mail for " + playerId + ": " + e.getMessage());
+            return false;
+        }
+
+        // Unknown counts stay unknown; they are read from the file (which has these lines) later
+        Counts c = counts.computeIfAbsent(playerId, k -> new Counts());
+        List<MailMessage> cached = inboxes.get(playerId);
+        for (MailMessage message : mail) {
+            if (c.total != UNKNOWN) c.total++;
+            if (c.unread != UNKNOWN && !message.isRead()) c.unread++;
+            if (cached != null) cached.add(message);
+        }
+        return true;
+    }
+
+    private void writeInbox(UUID playerId, List<MailMessage> inbox) {
+        File file = inboxFile(playerId);
+        if (inbox.isEmpty()) {
+            file.delete();
+            counts.remove(playerId);
+            inboxes.remove(playerId);
+            return;
+        }
+
+        if (!mailFolder.exists()) {
+            mailFolder.mkdirs();
+        }
+        File temp = new File(mailFolder, file.getName() + ".tmp");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8))) {
+            for (MailMessage message : inbox) {
+                writer.write(gson.toJson(message));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            logger.severe("[MailStorage] Failed to write inbox for " + playerId + ": " + e.getMessage());
+            temp.delete();
+            return;
+        }
+        try {
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.severe("[MailStorage] Failed to replace inbox for " + playerId + ": " + e.getMessage());
+            temp.delete();
+            return;
+        }
+
+        counts.put(playerId, countsOf(inbox));
+        inboxes.put(playerId, new ArrayList<>(inbox));
+    }
+
+    private static Counts countsOf(List<MailMessage> mail) {
+        Counts c = new Counts();
+        for (MailMessage message : mail) {
+            c.total++;
+            if (!message.isRead()) c.unread++;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,64 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.model.MailMessage;
+
+import java.util.*;
+
+/**
+ * Abstraction interface for player mail storage.
+ * Implemented by JSON inbox files (MailStorage) and SQL storage (SqlMailStorage).
+ *
+ * Inboxes are append-only for senders: sending never reads or rewrites the
+ * recipient's other mail or player file. Message and unread counts are kept in
+ * memory per inbox once known, so repeated count checks don't touch disk. Listings
+ * are newest first.
+ */
+public interface MailStorageProvider {
+
+    /** Add a message to a player's inbox. Returns false if the inbox already holds maxPerInbox messages. */
+    boolean append(UUID recipient, MailMessage mail, int maxPerInbox);
+
+    /**
+     * Send the same message to many inboxes in one pass (each recipient gets its own copy).
+     * Full inboxes are skipped. Returns the recipients it was delivered to.
+     */
+    List<UUID> appendToAll(Collection<UUID> recipients, UUID senderUuid, String senderName, String message, int maxPerInbox);
+
+    /**
+     * Add existing messages (e.g. a mailbox migrated out of a player file), keeping their ids
+     * and read state. Messages whose id is already in the inbox are skipped, so importing the
+     * same mail twice is harmless.
+     */
+    void importMail(UUID recipient, List<MailMessage> mail);
+
+    /** Number of messages in a player's inbox. */
+    int getCount(UUID playerId);
+
+    /** Number of unread messages in a player's inbox. */
+    int getUnreadCount(UUID playerId);
+
+    /** A page of a player's mail, newest first. */
+    List<MailMessage> getPage(UUID playerId, int offset, int limit);
+
+    /** All of a player's mail, newest first. */
+    List<MailMessage> getAll(UUID playerId);
+
+    /** Mark one message as read. Returns true if it exists. */
+    boolean markAsRead(UUID playerId, String mailId);
+
+    /** Mark every message as read. Returns how many were unread. */
+    int markAllAsRead(UUID playerId);
+
+    /** Delete one message. Returns true if it existed. */
+    boolean delete(UUID playerId, String mailId);
+
+    /** Delete all of a player's mail. Returns how many messages were removed. */
+    int clear(UUID playerId);
+
+    /** Delete a player's read mail. Returns how many messages were removed. */
+    int clearRead(UUID playerId);
+
+    /** Lifecycle methods. */
+    void load();
+    void shutdown();
+}
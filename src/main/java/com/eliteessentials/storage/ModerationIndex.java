@@ -0,0 +1,241 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.model.ModerationEntry;
+import com.eliteessentials.model.ModerationEntry.Type;
+import com.eliteessentials.util.IpCidr;
+
+import java.util.*;
+
+/**
+ * In-memory moderation records with the lookups the services need, shared by the
+ * JSON and SQL moderation storages.
+ *
+ * Indexes (all maintained on add/remove):
+ * - id -> record
+ * - bans, temp bans and mutes by player UUID (at most one active record of each type)
+ * - IP bans by address or network text, plus an {@link IpPrefixTrie} of the networks
+ *   so a connecting address is matched against every range in O(address bits)
+ * - warnings by player UUID, oldest first
+ * - per type, lowercase player name -> records, for the by-name commands
+ * - records with an expiry, ordered by expiry time, so a sweep only looks at the
+ *   ones that are due
+ */
+public class ModerationIndex {
+
+    private static final Comparator<ModerationEntry> BY_EXPIRY =
+            Comparator.comparingLong(ModerationEntry::getExpiresAt).thenComparing(ModerationEntry::getId);
+
+    private final Map<String, ModerationEntry> byId = new HashMap<>();
+    private final Map<Type, Map<UUID, ModerationEntry>> byPlayer = new EnumMap<>(Type.class);
+    private final Map<String, ModerationEntry> byIp = new HashMap<>();
+    private final IpPrefixTrie<ModerationEntry> ipTrie = new IpPrefixTrie<>();
+    private final Map<UUID, List<ModerationEntry>> warnings = new HashMap<>();
+    private final Map<Type, Map<String, List<ModerationEntry>>> byName = new EnumMap<>(Type.class);
+    private final TreeSet<ModerationEntry> byExpiry = new TreeSet<>(BY_EXPIRY);
+
+    public ModerationIndex() {
+        byPlayer.put(Type.BAN, new HashMap<>());
+        byPlayer.put(Type.TEMPBAN, new HashMap<>());
+        byPlayer.put(Type.MUTE, new HashMap<>());
+        for (Type type : Type.values()) {
+            byName.put(type, new HashMap<>());
+        }
+    }
+
+    // ==================== Updates ====================
+
+    public synchronized void clear() {
+        byId.clear();
+        for (Map<UUID, ModerationEntry> map : byPlayer.values()) map.clear();
+        byIp.clear();
+        ipTrie.clear();
+        warnings.clear();
+        for (Map<String, List<ModerationEntry>> map : byName.values()) map.clear();
+        byExpiry.clear();
+    }
+
+    /**
+     * File a record. Returns false (and changes nothing) if it is malformed or the
+     * player/address already has an active record of that type. Warnings always stack.
+     */
+    public synchronized boolean add(ModerationEntry entry) {
+        if (entry == null || entry.getId() == null || entry.getType() == null) return false;
+        if (byId.containsKey(entry.getId())) return false;
+
+        switch (entry.getType()) {
+            case IPBAN -> {
+                if (entry.getIp() == null || byIp.containsKey(entry.getIp())) return false;
+                IpCidr network = IpCidr.parse(entry.getIp());
+                if (network != null) {
+                    // Same network written differently (e.g. 10.0.0.1/24 and 10.0.0.0/24)
+                    if (ipTrie.get(network) != null) return false;
+                    ipTrie.put(network, entry);
+                }
+                byIp.put(entry.getIp(), entry);
+            }
+            case WARN -> {
+                if (entry.getPlayerId() == null) return false;
+                List<ModerationEntry> list = warnings.computeIfAbsent(entry.getPlayerId(), k -> new ArrayList<>());
+                int at = list.size();
+                while (at > 0 && list.get(at - 1).getIssuedAt() > entry.getIssuedAt()) at--;
+                list.add(at, entry);
+            }
+            default -> {
+                if (entry.getPlayerId() == null
+                        || byPlayer.get(entry.getType()).putIfAbsent(entry.getPlayerId(), entry) != null) {
+                    return false;
+                }
+            }
+        }
+
+        byId.put(entry.getId(), entry);
+        String key = nameKey(entry);
+        if (key != null) {
+            byName.get(entry.getType()).computeIfAbsent(key, k -> new ArrayList<>(1)).add(entry);
+        }
+        if (entry.expires()) {
+            byExpiry.add(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Remove a record by id. Returns the removed record or null.
+     */
+    public synchronized ModerationEntry remove(String id) {
+        ModerationEntry entry = byId.remove(id);
+        if (entry == null) return null;
+
+        switch (entry.getType()) {
+            case IPBAN -> {
+                byIp.remove(entry.getIp(), entry);
+                IpCidr network = IpCidr.parse(entry.getIp());
+                if (network != null && ipTrie.get(network) == entry) {
+                    ipTrie.remove(network);
+                    if (ipTrie.needsCompaction()) rebuildTrie();
+                }
+            }
+            case WARN -> {
+                List<ModerationEntry> list = warnings.get(entry.getPlayerId());
+                if (list != null) {
+                    list.remove(entry);
+                    if (list.isEmpty()) warnings.remove(entry.getPlayerId());
+                }
+            }
+            default -> byPlayer.get(entry.getType()).remove(entry.getPlayerId(), entry);
+        }
+
+        String key = nameKey(entry);
+        if (key != null) {
+            Map<String, List<ModerationEntry>> names = byName.get(entry.getType());
+            List<ModerationEntry> list = names.get(key);
+            if (list != null) {
+                list.remove(entry);
+                if (list.isEmpty()) names.remove(key);
+            }
+        }
+        if (entry.expires()) {
+            byExpiry.remove(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Remove every record whose expiry is at or before {@code now}, soonest first.
+     */
+    public synchronized List<ModerationEntry> pollExpired(long now) {
+        List<ModerationEntry> expired = new ArrayList<>();
+        while (!byExpiry.isEmpty() && byExpiry.first().getExpiresAt() <= now) {
+            expired.add(remove(byExpiry.first().getId()));
+        }
+        return expired;
+    }
+
+    // ==================== Lookups ====================
+
+    /**
+     * The player's record of a per-player type (BAN, TEMPBAN or MUTE), or null.
+     */
+    public synchronized ModerationEntry get(Type type, UUID playerId) {
+        Map<UUID, ModerationEntry> map = byPlayer.get(type);
+        return map != null && playerId != null ? map.get(playerId) : null;
+    }
+
+    public synchronized ModerationEntry getByIp(String ip) {
+        return ip != null ? byIp.get(ip) : null;
+    }
+
+    /**
+     * The IP ban covering an address: an exact ban if there is one, otherwise the most
+     * specific range containing it. Null if the address is not banned or not an IP.
+     */
+    public synchronized ModerationEntry matchIp(String ip) {
+        if (ip == null) return null;
+        ModerationEntry exact = byIp.get(ip);
+        if (exact != null) return exact;
+        byte[] address = IpCidr.parseAddress(ip);
+        return address != null ? ipTrie.match(address) : null;
+    }
+
+    /**
+     * Some record of the given type under this player name (case-insensitive), or null.
+     */
+    public synchronized ModerationEntry findByName(Type type, String playerName) {
+        if (playerName == null) return null;
+        List<ModerationEntry> list = byName.get(type).get(playerName.toLowerCase());
+        return list != null && !list.isEmpty() ? list.get(0) : null;
+    }
+
+    /** The player's warnings, oldest first. */
+    public synchronized List<ModerationEntry> getWarnings(UUID playerId) {
+        List<ModerationEntry> list = warnings.get(playerId);
+        return list != null ? List.copyOf(list) : List.of();
+    }
+
+    public synchronized List<ModerationEntry> getAll(Type type) {
+        return switch (type) {
+            case IPBAN -> new ArrayList<>(byIp.values());
+            case WARN -> {
+                List<ModerationEntry> all = new ArrayList<>();
+                for (List<ModerationEntry> list : warnings.values()) all.addAll(list);
+                yield all;
+            }
+            default -> new ArrayList<>(byPlayer.get(type).values());
+        };
+    }
+
+    public synchronized int count(Type type) {
+        return switch (type) {
+            case IPBAN -> byIp.size();
+            case WARN -> {
+                int total = 0;
+                for (List<ModerationEntry> list : warnings.values()) total += list.size();
+                yield total;
+            }
+            default -> byPlayer.get(type).size();
+        };
+    }
+
+    /** Every record, ordered by issue time. */
+    public synchronized List<ModerationEntry> snapshot() {
+        List<ModerationEntry> all = new ArrayList<>(byId.values());
+        all.sort(Comparator.comparingLong(ModerationEntry::getIssuedAt).thenComparing(ModerationEntry::getId));
+        return all;
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    private void rebuildTrie() {
+        ipTrie.clear();
+        for (ModerationEntry entry : byIp.values()) {
+            IpCidr network = IpCidr.parse(entry.getIp());
+            if (network != null) ipTrie.put(network, entry);
+        }
+    }
+
+    private static String nameKey(ModerationEntry entry) {
+        return entry.getPlayerName() != null ? entry.getPlayerName().toLowerCase() : null;
+    }
+}
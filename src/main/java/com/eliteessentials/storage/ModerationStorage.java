@@ -0,0 +1,321 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.model.ModerationEntry;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * JSON file-based storage for moderation records, in moderation.json.
+ *
+ * Like the player warp storage, changes are appended to moderation.journal (one JSON
+ * line per add/remove) and folded into moderation.json on load, on shutdown and every
+ * {@link #COMPACT_THRESHOLD} entries. On the first load, records from the old
+ * bans/tempbans/ipbans/mutes/warns files are imported.
+ */
+public class ModerationStorage implements ModerationStorageProvider {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+    private static final Gson gson = new GsonBuilder()
+            .setPrettyPrinting()
+            .disableHtmlEscaping()
+            .create();
+    private static final Gson journalGson = new GsonBuilder()
+            .disableHtmlEscaping()
+            .create();
+    private static final Type DATA_TYPE = new TypeToken<List<ModerationEntry>>() {}.getType();
+    private static final int COMPACT_THRESHOLD = 500;
+
+    private final File dataFolder;
+    private final File dataFile;
+    private final File journalFile;
+    private final ModerationIndex index = new ModerationIndex();
+    // Held across the index change and its journal line so the journal order matches
+    private final Object fileLock = new Object();
+    private int journalEntries;
+
+    public ModerationStorage(File dataFolder) {
+        this.dataFolder = dataFolder;
+        this.dataFile = new File(dataFolder, "moderation.json");
+        this.journalFile = new File(dataFolder, "moderation.journal");
+    }
+
+    @Override
+    public void load() {
+        synchronized (fileLock) {
+            index.clear();
+            if (!dataFile.exists() && !journalFile.exists()) {
+                if (LegacyModerationImport.hasLegacyFiles(dataFolder)) {
+                    importLegacy();
+                }
+                return;
+            }
+            if (dataFile.exists()) {
+                try (Reader reader = new InputStreamReader(new FileInputStream(dataFile), StandardCharsets.UTF_8)) {
+                    List<ModerationEntry> loaded = gson.fromJson(reader, DATA_TYPE);
+                    if (loaded != null) {
+                        for (ModerationEntry entry : loaded) index.add(entry);
+                    }
+                } catch (Exception e) {
+                    logger.severe("Failed to load moderation.json: " + e.getMessage());
+                }
+            }
+
+            int replayed = replayJournal();
+            logger.info("[ModerationStorage] Loaded " + index.size() + " moderation records.");
+            if (replayed > 0) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Write every record to moderation.json and empty the journal.
+     */
+    @Override
+    public void save() {
+        synchronized (fileLock) {
+            compact();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        save();
+    }
+
+    // ==================== Changes ====================
+
+    @Override
+    public boolean add(ModerationEntry entry) {
+        synchronized (fileLock) {
+            if (!index.add(entry)) return false;
+            JsonObject line = new JsonObject();
+            line.addProperty("op", "add");
+            line.add("entry", journalGson.toJsonTree(entry));
+            appendJournal(List.of(line));
+            return true;
+        }
+    }
+
+    @Override
+    public int addAll(Collection<ModerationEntry> entries) {
+        synchronized (fileLock) {
+            List<JsonObject> lines = new ArrayList<>();
+            for (ModerationEntry entry : entries) {
+                if (!index.add(entry)) continue;
+                JsonObject line = new JsonObject();
+                line.addProperty("op", "add");
+                line.add("entry", journalGson.toJsonTree(entry));
+                lines.add(line);
+            }
+            if (!lines.isEmpty()) {
+                appendJournal(lines);
+            }
+            return lines.size();
+        }
+    }
+
+    @Override
+    public ModerationEntry remove(String id) {
+        List<ModerationEntry> removed = removeAll(List.of(id));
+        return removed.isEmpty() ? null : removed.get(0);
+    }
+
+    @Override
+    public List<ModerationEntry> removeAll(Collection<String> ids) {
+        synchronized (fileLock) {
+            List<ModerationEntry> removed = new ArrayList<>();
+            for (String id : ids) {
+                ModerationEntry entry = index.remove(id);
+                if (entry != null) removed.add(entry);
+            }
+            journalRemovals(removed);
+            return removed;
+        }
+    }
+
+    @Override
+    public List<ModerationEntry> expire(long now) {
+        synchronized (fileLock) {
+            List<ModerationEntry> expired = index.pollExpired(now);
+            journalRemovals(expired);
+            return expired;
+        }
+    }
+
+    // ==================== Lookups ====================
+
+    @Override
+    public ModerationEntry get(ModerationEntry.Type type, UUID playerId) {
+        return index.get(type, playerId);
+    }
+
+    @Override
+    public ModerationEntry getIpBan(String ip) {
+        return index.getByIp(ip);
+    }
+
+    @Override
+    public ModerationEntry matchIpBan(String ip) {
+        return index.matchIp(ip);
+    }
+
+    @Override
+    public ModerationEntry findByName(ModerationEntry.Type type, String playerName) {
+        return index.findByName(type, playerName);
+    }
+
+    @Override
+    public List<ModerationEntry> getWarnings(UUID playerId) {
+        return index.getWarnings(playerId);
+    }
+
+    @Override
+    public List<ModerationEntry> getAll(ModerationEntry.Type type) {
+        return index.getAll(type);
+    }
+
+    @Override
+    public int count(ModerationEntry.Type type) {
+        return index.count(type);
+    }
+
+    // ==================== Journal ====================
+
+    /**
+     * Caller holds fileLock.
+     */
+    private void journalRemovals(List<ModerationEntry> removed) {
+        if (removed.isEmpty()) return;
+        List<JsonObject> lines = new ArrayList<>(removed.size());
+        for (ModerationEntry entry : removed) {
+            JsonObject line = new JsonObject();
+            line.addProperty("op", "remove");
+            line.addProperty("id", entry.getId());
+            lines.add(line);
+        }
+        appendJournal(lines);
+    }
+
+    /**
+     * Caller holds fileLock.
+     */
+    private void appendJournal(List<JsonObject> lines) {
+        StringBuilder sb = new StringBuilder();
+        for (JsonObject line : lines) {
+            sb.append(journalGson.toJson(line)).append('\n');
+        }
+        if (!dataFolder.exists()) {
+            dataFolder.mkdirs();
+        }
+        try {
+            Files.writeString(journalFile.toPath(), sb.toString(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            journalEntries += lines.size();
+        } catch (IOException e) {
+            logger.severe("Failed to append to moderation.journal, saving full file: " + e.getMessage());
+            compact();
+            return;
+        }
+        if (journalEntries >= COMPACT_THRESHOLD) {
+            compact();
+        }
+    }
+
+    /**
+     * Apply journal entries on top of moderation.json. Caller holds fileLock.
+     *
+     * @return number of entries applied
+     */
+    private int replayJournal() {
+        if (!journalFile.exists()) return 0;
+        int applied = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(journalFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try {
+                    JsonObject entry = JsonParser.parseString(line).getAsJsonObject();
+                    String op = entry.get("op").getAsString();
+                    if ("add".equals(op)) {
+                        index.add(journalGson.fromJson(entry.get("entry"), ModerationEntry.class));
+                    } else if ("remove".equals(op)) {
+                        index.remove(entry.get("id").getAsString());
+                    }
+                    applied++;
+                } catch (Exception e) {
+                    // A torn last line from a crash mid-append; everything before it is applied
+                    logger.warning("Skipping unreadable moderation.journal entry: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.severe("Failed to read moderation.journal: " + e.getMessage());
+        }
+        return applied;
+    }
+
+    /**
+     * Rewrite moderation.json from the index (temp file + move) and delete the journal.
+     * Caller holds fileLock.
+     *
+     * @return true if moderation.json was written
+     */
+    private boolean compact() {
+        if (!dataFolder.exists()) {
+            dataFolder.mkdirs();
+        }
+        File temp = new File(dataFolder, "moderation.json.tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            gson.toJson(index.snapshot(), DATA_TYPE, writer);
+        } catch (Exception e) {
+            logger.severe("Failed to save moderation.json: " + e.getMessage());
+            temp.delete();
+            return false;
+        }
+        try {
+            try {
+                Files.move(temp.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.severe("Failed to replace moderation.json: " + e.getMessage());
+            temp.delete();
+            return false;
+        }
+        // The journal is only dropped once the full file is safely in place
+        journalFile.delete();
+        journalEntries = 0;
+        return true;
+    }
+
+    /**
+     * First start on the moderation store: take over the old per-service files.
+     * Caller holds fileLock.
+     */
+    private void importLegacy() {
+        List<ModerationEntry> entries = LegacyModerationImport.read(dataFolder);
+        int imported = 0;
+        for (ModerationEntry entry : entries) {
+            if (index.add(entry)) imported++;
+        }
+        if (compact()) {
+            LegacyModerationImport.markMigrated(dataFolder);
+            logger.info("[ModerationStorage] Imported " + imported + " records from the old ban, mute and warning files.");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.model.ModerationEntry;
+import com.eliteessentials.model.ModerationEntry.Type;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Abstraction interface for moderation records (bans, temp bans, IP bans, mutes and
+ * warnings), shared by the five moderation services.
+ * Implemented by JSON file storage (ModerationStorage) and SQL storage (SqlModerationStorage).
+ *
+ * Lookups are served from a {@link ModerationIndex}; each change is persisted on its own
+ * (a journal line or a single row), never by rewriting every record.
+ */
+public interface ModerationStorageProvider {
+
+    /**
+     * Store a new record. Returns false if the player or address already has an active
+     * record of that type (warnings always succeed) or the write failed.
+     */
+    boolean add(ModerationEntry entry);
+
+    /**
+     * Store many records in one write (blocklist imports). Records whose player or
+     * address already has one of that type are skipped.
+     *
+     * @return how many were stored
+     */
+    int addAll(Collection<ModerationEntry> entries);
+
+    /** Delete a record by id. Returns the removed record or null. */
+    ModerationEntry remove(String id);
+
+    /** Delete several records at once. Returns the ones that existed. */
+    List<ModerationEntry> removeAll(Collection<String> ids);
+
+    /** The player's BAN, TEMPBAN or MUTE record, or null. Expired records are not filtered. */
+    ModerationEntry get(Type type, UUID playerId);
+
+    /** The IP ban stored under exactly this address or network text, or null. */
+    ModerationEntry getIpBan(String ip);
+
+    /** The exact or range IP ban covering a connecting address, or null. */
+    ModerationEntry matchIpBan(String ip);
+
+    /** A record of the given type by player name (case-insensitive), or null. */
+    ModerationEntry findByName(Type type, String playerName);
+
+    /** The player's warnings, oldest first. */
+    List<ModerationEntry> getWarnings(UUID playerId);
+
+    List<ModerationEntry> getAll(Type type);
+
+    int count(Type type);
+
+    /**
+     * Delete every record that has expired by {@code now}. Called by the expiry sweep.
+     *
+     * @return the records removed
+     */
+    List<ModerationEntry> expire(long now);
+
+    /** Lifecycle methods. */
+    void load();
+    void save();
+    void shutdown();
+}
@@ -4,6 +4,8 @@ import com.eliteessentials.model.PlayerFile;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import java.io.*;
 import java.lang.reflect.Type;
@@ -246,6 +248,15 @@ public class PlayerFileStorage implements PlayerStorageProvider {
         return null;
     }
     
+    /**
+     * Get a player's data without adding it to the cache (read-only lookups).
+     * Returns null if player doesn't exist.
+     */
+    public PlayerFile peekPlayer(UUID uuid) {
+        PlayerFile data = cache.get(uuid);
+        return data != null ? data : loadFromDisk(uuid);
+    }
+    
     /**
      * Get a player's UUID by name (case-insensitive).
      */
@@ -311,6 +322,15 @@ public class PlayerFileStorage implements PlayerStorageProvider {
         cache.remove(uuid);
     }
     
+    /**
+     * Drop a player from cache without saving (already written directly).
+     * Players with unsaved changes are kept.
+     */
+    public void evictPlayer(UUID uuid) {
+        if (dirtyPlayers.contains(uuid)) return;
+        cache.remove(uuid);
+    }
+    
     /**
      * Save all dirty players.
      */
@@ -337,6 +357,13 @@ public class PlayerFileStorage implements PlayerStorageProvider {
         return Collections.unmodifiableCollection(cache.values());
     }
     
+    /**
+     * Lowercase name to UUID for every indexed player (read-only view).
+     */
+    public Map<String, UUID> getNameIndex() {
+        return Collections.unmodifiableMap(nameIndex);
+    }
+    
     /**
      * Get all player UUIDs (from index).
      */
@@ -380,6 +407,72 @@ public class PlayerFileStorage implements PlayerStorageProvider {
         return all;
     }
     
+    /**
+     * Streams each player file and reads only its ipHistory array; everything else in
+     * the file is skipped without being parsed into objects. Cached players are taken
+     * from memory, since their file may be behind.
+     */
+    @Override
+    public void forEachIpHistory(IpHistoryVisitor visitor) {
+        Map<UUID, PlayerFile> cached = new HashMap<>(cache);
+        for (PlayerFile data : cached.values()) {
+            // The join thread may be recording an address into this player right now
+            for (PlayerFile.IpHistoryEntry entry : data.copyIpHistory()) {
+                visitor.accept(data.getUuid(), entry.ip, entry.lastUsed);
+            }
+        }
+
+        File[] files = playersFolder.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files == null) return;
+        for (File file : files) {
+            UUID uuid;
+            try {
+                uuid = UUID.fromString(file.getName().replace(".json", ""));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (cached.containsKey(uuid)) continue;
+            try (JsonReader reader = new JsonReader(new BufferedReader(
+                    new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)))) {
+                readIpHistory(reader, uuid, visitor);
+            } catch (Exception e) {
+                logger.warning("[PlayerFileStorage] Could not read IP history from " + file.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static void readIpHistory(JsonReader reader, UUID uuid, IpHistoryVisitor visitor) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) return;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!"ipHistory".equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                String ip = null;
+                long lastUsed = 0;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String field = reader.nextName();
+                    if ("ip".equals(field) && reader.peek() == JsonToken.STRING) {
+                        ip = reader.nextString();
+                    } else if ("lastUsed".equals(field) && reader.peek() == JsonToken.NUMBER) {
+                        lastUsed = reader.nextLong();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                if (ip != null) visitor.accept(uuid, ip, lastUsed);
+            }
+            reader.endArray();
+            // Nothing else in the file is needed
+            return;
+        }
+    }
+
     /**
      * Get players sorted by wallet (highest first).
      */
@@ -14,6 +14,13 @@ public interface PlayerStorageProvider {
     // Core player access
     PlayerFile getPlayer(UUID uuid, String name);
     PlayerFile getPlayer(UUID uuid);
+
+    /**
+     * A player's data without caching it: the cached copy if the player is loaded,
+     * otherwise a fresh read, or null. For read-only lookups that touch many offline
+     * players (browser rows, alt lists), which would otherwise fill the cache.
+     */
+    PlayerFile peekPlayer(UUID uuid);
     PlayerFile getPlayerByName(String name);
     Optional<UUID> getUuidByName(String name);
     boolean hasPlayer(UUID uuid);
@@ -27,11 +34,27 @@ public interface PlayerStorageProvider {
 
     // Cache lifecycle
     void unloadPlayer(UUID uuid);
+
+    /**
+     * Drop a player from the cache without saving, for data that was just written
+     * with {@link #savePlayersDirect(List)}. A player marked dirty since then is in use
+     * and stays cached, so those changes still get saved.
+     */
+    void evictPlayer(UUID uuid);
     Collection<PlayerFile> getCachedPlayers();
 
     // Queries
     Collection<UUID> getAllPlayerUuids();
+
+    /** Read-only view of lowercase player name to UUID for every known player. */
+    Map<String, UUID> getNameIndex();
     List<PlayerFile> getAllPlayersSorted(Comparator<PlayerFile> comparator);
+
+    /**
+     * Visit every stored IP history entry (player, address, last used) without loading
+     * whole player files into the cache. Used to build the alt-account index.
+     */
+    void forEachIpHistory(IpHistoryVisitor visitor);
     List<PlayerFile> getPlayersByWallet();
     List<PlayerFile> getPlayersByPlayTime();
     List<PlayerFile> getPlayersByLastSeen();
@@ -42,5 +65,23 @@ public interface PlayerStorageProvider {
 
     // Migration support
     void savePlayerDirect(PlayerFile data);
+
+    /**
+     * Write a batch of players, bypassing the cache. SQL storage writes the whole
+     * batch in one transaction.
+     *
+     * @return UUIDs of players that could not be written
+     */
+    default List<UUID> savePlayersDirect(List<PlayerFile> players) {
+        for (PlayerFile data : players) {
+            savePlayerDirect(data);
+        }
+        return Collections.emptyList();
+    }
     File getPlayersFolder();
+
+    @FunctionalInterface
+    interface IpHistoryVisitor {
+        void accept(UUID uuid, String ip, long lastUsed);
+    }
 }
@@ -0,0 +1,300 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.model.PlayerWarp;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * In-memory player warp catalog with secondary indexes, shared by the JSON and SQL
+ * player warp storages.
+ *
+ * Indexes (all maintained on put/remove, never rebuilt by scanning):
+ * - name (lowercase) -> warp, sorted, so name-prefix lookups are a range query
+ * - owner -> their warps, sorted by name
+ * - public warps sorted by name, creation time (newest first), total visits and
+ *   trending rank (both highest first)
+ *
+ * Callers mutate PlayerWarp objects before saving them (e.g. toggling visibility,
+ * adding visits), so the index keeps the keys it filed each warp under and uses
+ * those to unfile it.
+ */
+public class PlayerWarpIndex {
+
+    /** What a warp was filed under */
+    private record Filed(PlayerWarp warp, String key, UUID owner, boolean isPublic,
+                         RankKey newest, RankKey popular, RankKey trending) {}
+
+    /** Sort key for highest-first ordering; ties broken by name */
+    private record RankKey(double value, String name) implements Comparable<RankKey> {
+        @Override
+        public int compareTo(RankKey other) {
+            int c = Double.compare(other.value, value);
+            return c != 0 ? c : name.compareTo(other.name);
+        }
+    }
+
+    private final TreeMap<String, Filed> byName = new TreeMap<>();
+    private final Map<UUID, TreeMap<String, PlayerWarp>> byOwner = new HashMap<>();
+    private final TreeMap<String, PlayerWarp> publicByName = new TreeMap<>();
+    private final TreeMap<RankKey, PlayerWarp> publicByNewest = new TreeMap<>();
+    private final TreeMap<RankKey, PlayerWarp> publicByPopular = new TreeMap<>();
+    private final TreeMap<RankKey, PlayerWarp> publicByTrending = new TreeMap<>();
+
+    // ==================== Updates ====================
+
+    public synchronized void clear() {
+        byName.clear();
+        byOwner.clear();
+        publicByName.clear();
+        publicByNewest.clear();
+        publicByPopular.clear();
+        publicByTrending.clear();
+    }
+
+    /**
+     * Add or re-file a warp.
+     */
+    public synchronized void put(PlayerWarp warp) {
+        String key = warp.getName().toLowerCase();
+        unfile(key);
+        Filed filed = new Filed(warp, key, warp.getOwnerId(), warp.isPublic(),
+                new RankKey(warp.getCreatedAt(), key),
+                new RankKey(warp.getVisits(), key),
+                new RankKey(warp.getTrendingRank(), key));
+        byName.put(key, filed);
+        if (filed.owner != null) {
+            byOwner.computeIfAbsent(filed.owner, k -> new TreeMap<>()).put(key, warp);
+        }
+        if (filed.isPublic) {
+            publicByName.put(key, warp);
+            publicByNewest.put(filed.newest, warp);
+            publicByPopular.put(filed.popular, warp);
+            publicByTrending.put(filed.trending, warp);
+        }
+    }
+
+    /**
+     * Remove a warp. Returns the removed warp or null.
+     */
+    public synchronized PlayerWarp remove(String name) {
+        Filed filed = unfile(name.toLowerCase());
+        return filed != null ? filed.warp : null;
+    }
+
+    private Filed unfile(String key) {
+        Filed filed = byName.remove(key);
+        if (filed == null) return null;
+        if (filed.owner != null) {
+            TreeMap<String, PlayerWarp> owned = byOwner.get(filed.owner);
+            if (owned != null) {
+                owned.remove(key);
+                if (owned.isEmpty()) byOwner.remove(filed.owner);
+            }
+        }
+        if (filed.isPublic) {
+            publicByName.remove(key);
+            publicByNewest.remove(filed.newest);
+            publicByPopular.remove(filed.popular);
+            publicByTrending.remove(filed.trending);
+        }
+        return filed;
+    }
+
+    // ==================== Lookups ====================
+
+    public synchronized PlayerWarp get(String name) {
+        Filed filed = byName.get(name.toLowerCase());
+        return filed != null ? filed.warp : null;
+    }
+
+    public synchronized boolean contains(String name) {
+        return byName.containsKey(name.toLowerCase());
+    }
+
+    public synchronized int size() {
+        return byName.size();
+    }
+
+    public synchronized Map<String, PlayerWarp> snapshot() {
+        Map<String, PlayerWarp> copy = new HashMap<>(byName.size() * 2);
+        for (Map.Entry<String, Filed> entry : byName.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().warp);
+        }
+        return copy;
+    }
+
+    public synchronized List<PlayerWarp> getByOwner(UUID ownerId) {
+        TreeMap<String, PlayerWarp> owned = byOwner.get(ownerId);
+        return owned != null ? new ArrayList<>(owned.values()) : new ArrayList<>();
+    }
+
+    public synchronized int countByOwner(UUID ownerId) {
+        TreeMap<String, PlayerWarp> owned = byOwner.get(ownerId);
+        return owned != null ? owned.size() : 0;
+    }
+
+    public synchronized List<PlayerWarp> getPublic() {
+        return new ArrayList<>(publicByName.values());
+    }
+
+    /**
+     * Warps the player can use (all public plus their own private ones), sorted by name.
+     */
+    public synchronized List<PlayerWarp> getAccessible(UUID playerId) {
+        List<PlayerWarp> result = new ArrayList<>();
+        Iterator<PlayerWarp> it = accessibleByName(playerId);
+        while (it.hasNext()) result.add(it.next());
+        return result;
+    }
+
+    // ==================== Paging ====================
+
+    /**
+     * One page of warps for a scope and sort order.
+     */
+    public synchronized PlayerWarpStorageProvider.Page page(PlayerWarpStorageProvider.Scope scope, UUID playerId,
+                                                            PlayerWarpStorageProvider.Sort sort, int offset, int limit) {
+        int total;
+        Iterator<PlayerWarp> it;
+        switch (scope) {
+            case PUBLIC -> {
+                total = publicByName.size();
+                it = switch (sort) {
+                    case NEWEST -> publicByNewest.values().iterator();
+                    case POPULAR -> publicByPopular.values().iterator();
+                    case TRENDING -> publicByTrending.values().iterator();
+                    default -> publicByName.values().iterator();
+                };
+            }
+            case OWNED -> {
+                TreeMap<String, PlayerWarp> owned = byOwner.getOrDefault(playerId, new TreeMap<>());
+                total = owned.size();
+                it = sort == PlayerWarpStorageProvider.Sort.NAME
+                        ? owned.values().iterator()
+                        : sortedBy(owned.values(), sort).iterator();
+            }
+            default -> {
+                total = publicByName.size() + countPrivate(playerId);
+                it = switch (sort) {
+                    case NEWEST -> withPrivate(publicByNewest, playerId, Filed::newest);
+                    case POPULAR -> withPrivate(publicByPopular, playerId, Filed::popular);
+                    case TRENDING -> withPrivate(publicByTrending, playerId, Filed::trending);
+                    default -> accessibleByName(playerId);
+                };
+            }
+        }
+        return new PlayerWarpStorageProvider.Page(slice(it, offset, limit), total);
+    }
+
+    /**
+     * Names of warps the player can use that start with the prefix (case-insensitive),
+     * in name order. A range query on the sorted name index.
+     */
+    public synchronized List<String> findNames(String prefix, UUID playerId, int limit) {
+        String from = prefix.toLowerCase();
+        List<String> names = new ArrayList<>();
+        for (Filed filed : byName.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            if (names.size() >= limit) break;
+            if (playerId == null || filed.isPublic || playerId.equals(filed.owner)) {
+                names.add(filed.warp.getName());
+            }
+        }
+        return names;
+    }
+
+    // ==================== Internals (caller holds lock) ====================
+
+    private int countPrivate(UUID playerId) {
+        TreeMap<String, PlayerWarp> owned = byOwner.get(playerId);
+        if (owned == null) return 0;
+        int count = 0;
+        for (String key : owned.keySet()) {
+            if (!byName.get(key).isPublic) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Merge of the public name index and the player's private warps, in name order.
+     */
+    private Iterator<PlayerWarp> accessibleByName(UUID playerId) {
+        return withPrivate(publicByName, playerId, Filed::key);
+    }
+
+    /**
+     * Walk an already sorted public index with the player's private warps merged in at
+     * their place in the same order. Only the private warps are sorted, so the cost
+     * doesn't grow with the public catalog beyond the page being read.
+     */
+    private <K extends Comparable<K>> Iterator<PlayerWarp> withPrivate(TreeMap<K, PlayerWarp> publicIndex, UUID playerId,
+                                                                       Function<Filed, K> keyOf) {
+        TreeMap<String, PlayerWarp> owned = byOwner.get(playerId);
+        List<Filed> privateWarps = new ArrayList<>();
+        if (owned != null) {
+            for (String key : owned.keySet()) {
+                Filed filed = byName.get(key);
+                // Owned public warps already come from the public index
+                if (!filed.isPublic) privateWarps.add(filed);
+            }
+        }
+        if (privateWarps.isEmpty()) {
+            return publicIndex.values().iterator();
+        }
+        privateWarps.sort(Comparator.comparing(keyOf));
+
+        Iterator<Map.Entry<K, PlayerWarp>> pub = publicIndex.entrySet().iterator();
+        Iterator<Filed> own = privateWarps.iterator();
+        return new Iterator<>() {
+            Map.Entry<K, PlayerWarp> nextPub = pub.hasNext() ? pub.next() : null;
+            Filed nextOwn = own.hasNext() ? own.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextPub != null || nextOwn != null;
+            }
+
+            @Override
+            public PlayerWarp next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                if (nextOwn == null || (nextPub != null && nextPub.getKey().compareTo(keyOf.apply(nextOwn)) < 0)) {
+                    PlayerWarp w = nextPub.getValue();
+                    nextPub = pub.hasNext() ? pub.next() : null;
+                    return w;
+                }
+                PlayerWarp w = nextOwn.warp;
+                nextOwn = own.hasNext() ? own.next() : null;
+                return w;
+            }
+        };
+    }
+
+    /**
+     * Sort a player's own warps by a rank order. Only used for the owned scope, which is
+     * small next to the public catalog.
+     */
+    private List<PlayerWarp> sortedBy(Collection<PlayerWarp> warps, PlayerWarpStorageProvider.Sort sort) {
+        Function<Filed, RankKey> key = switch (sort) {
+            case POPULAR -> Filed::popular;
+            case TRENDING -> Filed::trending;
+            default -> Filed::newest;
+        };
+        List<PlayerWarp> sorted = new ArrayList<>(warps);
+        sorted.sort((a, b) -> key.apply(byName.get(a.getName().toLowerCase()))
+                .compareTo(key.apply(byName.get(b.getName().toLowerCase()))));
+        return sorted;
+    }
+
+    private static List<PlayerWarp> slice(Iterator<PlayerWarp> it, int offset, int limit) {
+        List<PlayerWarp> page = new ArrayList<>(Math.max(0, Math.min(limit, 64)));
+        int skipped = 0;
+        while (it.hasNext() && skipped < offset) {
+            it.next();
+            skipped++;
+        }
+        while (it.hasNext() && page.size() < limit) {
+            page.add(it.next());
+        }
+        return page;
+    }
+}
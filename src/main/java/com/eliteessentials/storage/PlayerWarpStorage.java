@@ -3,18 +3,28 @@ package com.eliteessentials.storage;
 import com.eliteessentials.model.PlayerWarp;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.google.gson.reflect.TypeToken;
 
 import java.io.*;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
  * JSON file-based storage for player warps.
  * Data is stored in player_warps.json keyed by warp name (lowercase).
+ *
+ * Changes are appended to player_warps.journal (one JSON line per set/delete) instead
+ * of rewriting player_warps.json each time. The journal is replayed on load and folded
+ * into player_warps.json on load, on shutdown and once it reaches
+ * {@link #COMPACT_THRESHOLD} entries.
  */
 public class PlayerWarpStorage implements PlayerWarpStorageProvider {
 
@@ -23,126 +33,239 @@ public class PlayerWarpStorage implements PlayerWarpStorageProvider {
             .setPrettyPrinting()
             .disableHtmlEscaping()
             .create();
+    private static final Gson journalGson = new GsonBuilder()
+            .disableHtmlEscaping()
+            .create();
     private static final Type DATA_TYPE = new TypeToken<Map<String, PlayerWarp>>() {}.getType();
+    private static final int COMPACT_THRESHOLD = 500;
 
     private final File dataFolder;
     private final File warpsFile;
-    private final Map<String, PlayerWarp> warps = new ConcurrentHashMap<>();
+    private final File journalFile;
+    private final PlayerWarpIndex index = new PlayerWarpIndex();
     private final Object fileLock = new Object();
+    private int journalEntries;
 
     public PlayerWarpStorage(File dataFolder) {
         this.dataFolder = dataFolder;
         this.warpsFile = new File(dataFolder, "player_warps.json");
+        this.journalFile = new File(dataFolder, "player_warps.journal");
     }
 
     @Override
     public void load() {
-        if (!warpsFile.exists()) {
-            logger.info("No player_warps.json found, starting fresh.");
-            return;
-        }
-        try (Reader reader = new InputStreamReader(new FileInputStream(warpsFile), StandardCharsets.UTF_8)) {
-            Map<String, PlayerWarp> loaded = gson.fromJson(reader, DATA_TYPE);
-            if (loaded != null) {
-                warps.clear();
-                warps.putAll(loaded);
-                logger.info("Loaded " + warps.size() + " player warps.");
+        synchronized (fileLock) {
+            index.clear();
+            if (warpsFile.exists()) {
+                try (Reader reader = new InputStreamReader(new FileInputStream(warpsFile), StandardCharsets.UTF_8)) {
+                    Map<String, PlayerWarp> loaded = gson.fromJson(reader, DATA_TYPE);
+                    if (loaded != null) {
+                        for (PlayerWarp warp : loaded.values()) {
+                            if (warp != null && warp.getName() != null) index.put(warp);
+                        }
+                    }
+                } catch (Exception e) {
+                    logger.severe("Failed to load player_warps.json: " + e.getMessage());
+                }
+            } else if (!journalFile.exists()) {
+                logger.info("No player_warps.json found, starting fresh.");
+                return;
+            }
+
+            int replayed = replayJournal();
+            logger.info("Loaded " + index.size() + " player warps.");
+            if (replayed > 0) {
+                compact();
             }
-        } catch (Exception e) {
-            logger.severe("Failed to load player_warps.json: " + e.getMessage());
         }
     }
 
+    /**
+     * Write the full catalog to player_warps.json and empty the journal.
+     */
     @Override
     public void save() {
         synchronized (fileLock) {
-            if (!dataFolder.exists()) {
-                dataFolder.mkdirs();
-            }
-            try (Writer writer = new OutputStreamWriter(new FileOutputStream(warpsFile), StandardCharsets.UTF_8)) {
-                gson.toJson(warps, DATA_TYPE, writer);
-            } catch (Exception e) {
-                logger.severe("Failed to save player_warps.json: " + e.getMessage());
-            }
+            compact();
         }
     }
 
     @Override
     public Map<String, PlayerWarp> getAllWarps() {
-        return new HashMap<>(warps);
+        return index.snapshot();
     }
 
     @Override
     public Optional<PlayerWarp> getWarp(String name) {
-        return Optional.ofNullable(warps.get(name.toLowerCase()));
+        return Optional.ofNullable(index.get(name));
     }
 
     @Override
     public void setWarp(PlayerWarp warp) {
-        warps.put(warp.getName().toLowerCase(), warp);
-        save();
+        index.put(warp);
+        JsonObject entry = new JsonObject();
+        entry.addProperty("op", "set");
+        entry.add("warp", journalGson.toJsonTree(warp));
+        appendJournal(List.of(entry));
+    }
+
+    @Override
+    public void updateVisitStats(Collection<PlayerWarp> warps) {
+        List<JsonObject> entries = new ArrayList<>(warps.size());
+        for (PlayerWarp warp : warps) {
+            if (!index.contains(warp.getName())) continue;
+            index.put(warp);
+            JsonObject entry = new JsonObject();
+            entry.addProperty("op", "set");
+            entry.add("warp", journalGson.toJsonTree(warp));
+            entries.add(entry);
+        }
+        if (!entries.isEmpty()) {
+            appendJournal(entries);
+        }
     }
 
     @Override
     public boolean deleteWarp(String name) {
-        boolean removed = warps.remove(name.toLowerCase()) != null;
+        boolean removed = index.remove(name) != null;
         if (removed) {
-            save();
+            JsonObject entry = new JsonObject();
+            entry.addProperty("op", "delete");
+            entry.addProperty("name", name.toLowerCase());
+            appendJournal(List.of(entry));
         }
         return removed;
     }
 
     @Override
     public boolean hasWarp(String name) {
-        return warps.containsKey(name.toLowerCase());
+        return index.contains(name);
     }
 
     @Override
     public List<PlayerWarp> getWarpsByOwner(UUID ownerId) {
-        List<PlayerWarp> result = new ArrayList<>();
-        for (PlayerWarp warp : warps.values()) {
-            if (ownerId.equals(warp.getOwnerId())) {
-                result.add(warp);
-            }
-        }
-        return result;
+        return index.getByOwner(ownerId);
     }
 
     @Override
     public int getWarpCountByOwner(UUID ownerId) {
-        int count = 0;
-        for (PlayerWarp warp : warps.values()) {
-            if (ownerId.equals(warp.getOwnerId())) {
-                count++;
-            }
-        }
-        return count;
+        return index.countByOwner(ownerId);
     }
 
     @Override
     public List<PlayerWarp> getPublicWarps() {
-        List<PlayerWarp> result = new ArrayList<>();
-        for (PlayerWarp warp : warps.values()) {
-            if (warp.isPublic()) {
-                result.add(warp);
-            }
-        }
-        return result;
+        return index.getPublic();
     }
 
     @Override
     public List<PlayerWarp> getAccessibleWarps(UUID playerId) {
-        List<PlayerWarp> result = new ArrayList<>();
-        for (PlayerWarp warp : warps.values()) {
-            if (warp.canAccess(playerId)) {
-                result.add(warp);
-            }
-        }
-        return result;
+        return index.getAccessible(playerId);
+    }
+
+    @Override
+    public Page getWarpPage(Scope scope, UUID playerId, Sort sort, int offset, int limit) {
+        return index.page(scope, playerId, sort, offset, limit);
+    }
+
+    @Override
+    public List<String> findWarpNames(String prefix, UUID playerId, int limit) {
+        return index.findNames(prefix, playerId, limit);
     }
 
     @Override
     public void shutdown() {
-        // No-op for JSON storage
+        save();
+    }
+
+    // ==================== Journal ====================
+
+    private void appendJournal(List<JsonObject> entries) {
+        StringBuilder sb = new StringBuilder();
+        for (JsonObject entry : entries) {
+            sb.append(journalGson.toJson(entry)).append('\n');
+        }
+        synchronized (fileLock) {
+            if (!dataFolder.exists()) {
+                dataFolder.mkdirs();
+            }
+            try {
+                Files.writeString(journalFile.toPath(), sb.toString(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                journalEntries += entries.size();
+            } catch (IOException e) {
+                logger.severe("Failed to append to player_warps.journal, saving full file: " + e.getMessage());
+                compact();
+                return;
+            }
+            if (journalEntries >= COMPACT_THRESHOLD) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Apply journal entries on top of the loaded catalog. Caller holds fileLock.
+     *
+     * @return number of entries applied
+     */
+    private int replayJournal() {
+        if (!journalFile.exists()) return 0;
+        int applied = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(journalFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try {
+                    JsonObject entry = JsonParser.parseString(line).getAsJsonObject();
+                    String op = entry.get("op").getAsString();
+                    if ("set".equals(op)) {
+                        PlayerWarp warp = journalGson.fromJson(entry.get("warp"), PlayerWarp.class);
+                        if (warp != null && warp.getName() != null) index.put(warp);
+                    } else if ("delete".equals(op)) {
+                        index.remove(entry.get("name").getAsString());
+                    }
+                    applied++;
+                } catch (Exception e) {
+                    // A torn last line from a crash mid-append; everything before it is applied
+                    logger.warning("Skipping unreadable player_warps.journal entry: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.severe("Failed to read player_warps.journal: " + e.getMessage());
+        }
+        return applied;
+    }
+
+    /**
+     * Rewrite player_warps.json from the index (temp file + move) and delete the journal.
+     * Caller holds fileLock.
+     */
+    private void compact() {
+        if (!dataFolder.exists()) {
+            dataFolder.mkdirs();
+        }
+        File temp = new File(dataFolder, "player_warps.json.tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            gson.toJson(index.snapshot(), DATA_TYPE, writer);
+        } catch (Exception e) {
+            logger.severe("Failed to save player_warps.json: " + e.getMessage());
+            temp.delete();
+            return;
+        }
+        try {
+            try {
+                Files.move(temp.toPath(), warpsFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), warpsFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.severe("Failed to replace player_warps.json: " + e.getMessage());
+            temp.delete();
+            return;
+        }
+        // The journal is only dropped once the full file is safely in place
+        journalFile.delete();
+        journalEntries = 0;
     }
 }
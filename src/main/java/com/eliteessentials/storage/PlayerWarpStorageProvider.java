@@ -7,9 +7,46 @@ import java.util.*;
 /**
  * Abstraction interface for player warp data storage.
  * Implemented by JSON file storage (PlayerWarpStorage) and SQL storage (SqlPlayerWarpStorage).
+ *
+ * Owner, visibility and name lookups are served from {@link PlayerWarpIndex}, so none
+ * of them scan every warp. GUIs and lists should use {@link #getWarpPage} rather than
+ * fetching a whole list and slicing it.
  */
 public interface PlayerWarpStorageProvider {
 
+    /** Which warps a page is drawn from. */
+    enum Scope {
+        /** All public warps */
+        PUBLIC,
+        /** Warps owned by the player */
+        OWNED,
+        /** Public warps plus the player's own private ones */
+        ACCESSIBLE
+    }
+
+    /** Page ordering. */
+    enum Sort {
+        /** Name, A-Z */
+        NAME,
+        /** Creation time, newest first */
+        NEWEST,
+        /** Total visits, most first */
+        POPULAR,
+        /** Recent visits (decaying score), highest first */
+        TRENDING
+    }
+
+    /** One page of warps and the total number matching the query. */
+    final class Page {
+        public final List<PlayerWarp> warps;
+        public final int total;
+
+        public Page(List<PlayerWarp> warps, int total) {
+            this.warps = warps;
+            this.total = total;
+        }
+    }
+
     /** Get all player warps. */
     Map<String, PlayerWarp> getAllWarps();
 
@@ -37,6 +74,25 @@ public interface PlayerWarpStorageProvider {
     /** Get warps accessible to a player (their own + all public). */
     List<PlayerWarp> getAccessibleWarps(UUID playerId);
 
+    /**
+     * Persist visit statistics (visits, trending score) for warps that are already stored,
+     * re-filing them in the popularity indexes. Called in batches by PlayerWarpService.
+     */
+    void updateVisitStats(Collection<PlayerWarp> warps);
+
+    /**
+     * Get one page of warps.
+     *
+     * @param playerId the viewing player (owner for OWNED/ACCESSIBLE; ignored for PUBLIC)
+     */
+    Page getWarpPage(Scope scope, UUID playerId, Sort sort, int offset, int limit);
+
+    /**
+     * Names of warps starting with a prefix (case-insensitive) that the player can use,
+     * in name order. A null player matches every warp.
+     */
+    List<String> findWarpNames(String prefix, UUID playerId, int limit);
+
     /** Lifecycle methods. */
     void load();
     void save();
@@ -2,6 +2,8 @@ package com.eliteessentials.storage;
 
 import com.eliteessentials.config.PluginConfig;
 import com.eliteessentials.storage.sql.SchemaManager;
+import com.eliteessentials.storage.sql.SqlMailStorage;
+import com.eliteessentials.storage.sql.SqlModerationStorage;
 import com.eliteessentials.storage.sql.SqlGlobalStorage;
 import com.eliteessentials.storage.sql.SqlPlayerStorage;
 import com.eliteessentials.storage.sql.SqlPlayerWarpStorage;
@@ -108,6 +110,52 @@ public class StorageFactory {
         }
     }
 
+    /**
+     * Create a MailStorageProvider based on the configured storage type.
+     */
+    public MailStorageProvider createMailStorage(PluginConfig.StorageConfig config, File dataFolder) {
+        String type = normalizeType(config);
+
+        switch (type) {
+            case "h2":
+            case "mysql":
+                if (dataSource == null) {
+                    logger.severe("No active connection pool for mail storage, falling back to JSON.");
+                    return new MailStorage(dataFolder);
+                }
+                return new SqlMailStorage(dataSource, getTablePrefix(config));
+
+            case "json":
+                return new MailStorage(dataFolder);
+
+            default:
+                return new MailStorage(dataFolder);
+        }
+    }
+
+    /**
+     * Create a ModerationStorageProvider based on the configured storage type.
+     */
+    public ModerationStorageProvider createModerationStorage(PluginConfig.StorageConfig config, File dataFolder) {
+        String type = normalizeType(config);
+
+        switch (type) {
+            case "h2":
+            case "mysql":
+                if (dataSource == null) {
+                    logger.severe("No active connection pool for moderation storage, falling back to JSON.");
+                    return new ModerationStorage(dataFolder);
+                }
+                return new SqlModerationStorage(dataSource, getTablePrefix(config), dataFolder);
+
+            case "json":
+                return new ModerationStorage(dataFolder);
+
+            default:
+                return new ModerationStorage(dataFolder);
+        }
+    }
+
     /**
      * Shut down the HikariCP connection pool gracefully.
      * Waits up to 30 seconds for active queries to complete.
@@ -162,7 +210,8 @@ public class StorageFactory {
             PluginConfig.StorageConfig.MysqlConfig mysql = config.mysql;
             hikari.setDriverClassName("com.mysql.cj.jdbc.Driver");
             hikari.setJdbcUrl("jdbc:mysql://" + mysql.host + ":" + mysql.port + "/" + mysql.database
-                    + "?useSSL=false&allowPublicKeyRetrieval=true&characterEncoding=utf8");
+                    + "?useSSL=false&allowPublicKeyRetrieval=true&characterEncoding=utf8"
+                    + "&rewriteBatchedStatements=true");
             hikari.setUsername(mysql.username);
             hikari.setPassword(mysql.password);
             logger.info("Initializing MySQL connection to " + mysql.host + ":" + mysql.port + "/" + mysql.database);
@@ -1,5 +1,6 @@
 package com.eliteessentials.storage;
 
+import com.eliteessentials.model.ProtectedRegion;
 import com.eliteessentials.model.Warp;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -13,8 +14,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
- * Handles persistent storage of server warps.
- * Data is stored in warps.json keyed by warp name.
+ * Handles persistent storage of server warps and protected regions.
+ * Warps are stored in warps.json and regions in regions.json, both keyed by lowercase name.
  */
 public class WarpStorage implements GlobalStorageProvider {
 
@@ -24,22 +25,29 @@ public class WarpStorage implements GlobalStorageProvider {
             .disableHtmlEscaping()
             .create();
     private static final Type DATA_TYPE = new TypeToken<Map<String, Warp>>() {}.getType();
+    private static final Type REGION_TYPE = new TypeToken<Map<String, ProtectedRegion>>() {}.getType();
 
     private final File dataFolder;
     private final File warpsFile;
+    private final File regionsFile;
     
     // WarpName (lowercase) -> Warp
     private final Map<String, Warp> warps = new ConcurrentHashMap<>();
     
+    // RegionName (lowercase) -> ProtectedRegion
+    private final Map<String, ProtectedRegion> regions = new ConcurrentHashMap<>();
+    
     // Lock for file I/O operations to prevent concurrent writes
     private final Object fileLock = new Object();
 
     public WarpStorage(File dataFolder) {
         this.dataFolder = dataFolder;
         this.warpsFile = new File(dataFolder, "warps.json");
+        this.regionsFile = new File(dataFolder, "regions.json");
     }
 
     public void load() {
+        loadRegions();
         if (!warpsFile.exists()) {
             logger.info("No warps.json found, starting fresh.");
             return;
@@ -146,6 +154,70 @@ public class WarpStorage implements GlobalStorageProvider {
         // No-op: first-join spawn is managed by SpawnStorage in JSON mode
     }
 
+    // ==================== Protected Regions ====================
+
+    private void loadRegions() {
+        regions.clear();
+        if (!regionsFile.exists()) {
+            return;
+        }
+
+        try (Reader reader = new InputStreamReader(new FileInputStream(regionsFile), StandardCharsets.UTF_8)) {
+            Map<String, ProtectedRegion> loaded = gson.fromJson(reader, REGION_TYPE);
+            if (loaded != null) {
+                for (ProtectedRegion region : loaded.values()) {
+                    if (region != null && region.getName() != null) {
+                        region.setName(ProtectedRegion.normalizeName(region.getName()));
+                        regions.put(region.getName(), region);
+                    }
+                }
+                logger.info("Loaded " + regions.size() + " protected regions.");
+            }
+        } catch (Exception e) {
+            logger.severe("Failed to load regions.json: " + e.getMessage());
+        }
+    }
+
+    private void saveRegions() {
+        synchronized (fileLock) {
+            if (!dataFolder.exists()) {
+                dataFolder.mkdirs();
+            }
+
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(regionsFile), StandardCharsets.UTF_8)) {
+                gson.toJson(regions, REGION_TYPE, writer);
+            } catch (Exception e) {
+                logger.severe("Failed to save regions.json: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public Map<String, ProtectedRegion> getAllRegions() {
+        return new HashMap<>(regions);
+    }
+
+    @Override
+    public Optional<ProtectedRegion> getRegion(String name) {
+        return Optional.ofNullable(regions.get(ProtectedRegion.normalizeName(name)));
+    }
+
+    @Override
+    public void setRegion(ProtectedRegion region) {
+        region.setName(ProtectedRegion.normalizeName(region.getName()));
+        regions.put(region.getName(), region);
+        saveRegions();
+    }
+
+    @Override
+    public boolean deleteRegion(String name) {
+        boolean removed = regions.remove(ProtectedRegion.normalizeName(name)) != null;
+        if (removed) {
+            saveRegions();
+        }
+        return removed;
+    }
+
     @Override
     public void shutdown() {
         // No-op: no resources to clean up for JSON file storage
@@ -15,7 +15,7 @@ import java.util.logging.Logger;
 public class SchemaManager {
 
     private static final Logger logger = Logger.getLogger("EliteEssentials");
-    private static final int CURRENT_SCHEMA_VERSION = 3;
+    private static final int CURRENT_SCHEMA_VERSION = 8;
 
     /**
      * Initialize the database schema. Creates all tables if they don't exist
@@ -128,6 +128,77 @@ public class SchemaManager {
                             + tablePrefix + "player_warps(visibility)");
                 }
                 break;
+            case 4:
+                // Add protected regions table
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("CREATE TABLE IF NOT EXISTS " + tablePrefix + "regions ("
+                            + "name              VARCHAR(64)  PRIMARY KEY,"
+                            + "world             VARCHAR(128) NOT NULL,"
+                            + "shape             VARCHAR(16)  NOT NULL DEFAULT 'CUBOID',"
+                            + "min_x             DOUBLE       NOT NULL DEFAULT 0,"
+                            + "min_z             DOUBLE       NOT NULL DEFAULT 0,"
+                            + "max_x             DOUBLE       NOT NULL DEFAULT 0,"
+                            + "max_z             DOUBLE       NOT NULL DEFAULT 0,"
+                            + "center_x          DOUBLE       NOT NULL DEFAULT 0,"
+                            + "center_z          DOUBLE       NOT NULL DEFAULT 0,"
+                            + "radius            DOUBLE       NOT NULL DEFAULT 0,"
+                            + "min_y             DOUBLE,"
+                            + "max_y             DOUBLE,"
+                            + "priority          INT          NOT NULL DEFAULT 0,"
+                            + "flags             VARCHAR(255) NOT NULL DEFAULT '',"
+                            + "bypass_permission VARCHAR(128),"
+                            + "created_at        BIGINT       NOT NULL DEFAULT 0"
+                            + ")");
+                    stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "regions_world ON "
+                            + tablePrefix + "regions(world)");
+                }
+                break;
+            case 5:
+                // Back history position becomes a sequence number (higher = more recent)
+                // instead of an index (0 = most recent)
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("UPDATE " + tablePrefix + "back_history SET position = -position");
+                }
+                break;
+            case 6:
+                // Composite indexes for paged player warp queries
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "pwarp_vis_name ON "
+                            + tablePrefix + "player_warps(visibility, name)");
+                    stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "pwarp_vis_created ON "
+                            + tablePrefix + "player_warps(visibility, created_at)");
+                }
+                break;
+            case 7:
+                // Player warp visit statistics
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("ALTER TABLE " + tablePrefix + "player_warps ADD COLUMN visits BIGINT NOT NULL DEFAULT 0");
+                    stmt.executeUpdate("ALTER TABLE " + tablePrefix + "player_warps ADD COLUMN trending_score DOUBLE NOT NULL DEFAULT 0");
+                    stmt.executeUpdate("ALTER TABLE " + tablePrefix + "player_warps ADD COLUMN trending_at BIGINT NOT NULL DEFAULT 0");
+                    stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "pwarp_vis_visits ON "
+                            + tablePrefix + "player_warps(visibility, visits)");
+                }
+                break;
+            case 8:
+                // Bans, temp bans, IP bans, mutes and warnings in one table
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("CREATE TABLE IF NOT EXISTS " + tablePrefix + "moderation ("
+                            + "id          VARCHAR(36)  PRIMARY KEY,"
+                            + "type        VARCHAR(16)  NOT NULL,"
+                            + "player_uuid VARCHAR(36),"
+                            + "ip          VARCHAR(45),"
+                            + "player_name VARCHAR(64),"
+                            + "issued_by   VARCHAR(64),"
+                            + "reason      TEXT,"
+                            + "issued_at   BIGINT       NOT NULL DEFAULT 0,"
+                            + "expires_at  BIGINT       NOT NULL DEFAULT 0"
+                            + ")");
+                    stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "moderation_player ON "
+                            + tablePrefix + "moderation(type, player_uuid)");
+                    stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "moderation_expires ON "
+                            + tablePrefix + "moderation(expires_at)");
+                }
+                break;
             default:
                 break;
         }
@@ -174,7 +245,7 @@ public class SchemaManager {
                     + "FOREIGN KEY (uuid) REFERENCES " + tablePrefix + "players(uuid) ON DELETE CASCADE"
                     + ")");
 
-            // Back history
+            // Back history (position is a sequence number, higher = more recent)
             stmt.executeUpdate("CREATE TABLE IF NOT EXISTS " + tablePrefix + "back_history ("
                     + "id         INT          AUTO_INCREMENT PRIMARY KEY,"
                     + "uuid       VARCHAR(36)  NOT NULL,"
@@ -331,12 +402,60 @@ public class SchemaManager {
                     + "owner_name  VARCHAR(64)  NOT NULL,"
                     + "visibility  VARCHAR(16)  NOT NULL DEFAULT 'PUBLIC',"
                     + "description TEXT,"
-                    + "created_at  BIGINT       NOT NULL DEFAULT 0"
+                    + "created_at  BIGINT       NOT NULL DEFAULT 0,"
+                    + "visits      BIGINT       NOT NULL DEFAULT 0,"
+                    + "trending_score DOUBLE    NOT NULL DEFAULT 0,"
+                    + "trending_at BIGINT       NOT NULL DEFAULT 0"
                     + ")");
             stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "pwarp_owner ON "
                     + tablePrefix + "player_warps(owner_uuid)");
             stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "pwarp_vis ON "
                     + tablePrefix + "player_warps(visibility)");
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "pwarp_vis_name ON "
+                    + tablePrefix + "player_warps(visibility, name)");
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "pwarp_vis_created ON "
+                    + tablePrefix + "player_warps(visibility, created_at)");
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "pwarp_vis_visits ON "
+                    + tablePrefix + "player_warps(visibility, visits)");
+
+            // Moderation records
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS " + tablePrefix + "moderation ("
+                    + "id          VARCHAR(36)  PRIMARY KEY,"
+                    + "type        VARCHAR(16)  NOT NULL,"
+                    + "player_uuid VARCHAR(36),"
+                    + "ip          VARCHAR(45),"
+                    + "player_name VARCHAR(64),"
+                    + "issued_by   VARCHAR(64),"
+                    + "reason      TEXT,"
+                    + "issued_at   BIGINT       NOT NULL DEFAULT 0,"
+                    + "expires_at  BIGINT       NOT NULL DEFAULT 0"
+                    + ")");
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "moderation_player ON "
+                    + tablePrefix + "moderation(type, player_uuid)");
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "moderation_expires ON "
+                    + tablePrefix + "moderation(expires_at)");
+
+            // Protected regions
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS " + tablePrefix + "regions ("
+                    + "name              VARCHAR(64)  PRIMARY KEY,"
+                    + "world             VARCHAR(128) NOT NULL,"
+                    + "shape             VARCHAR(16)  NOT NULL DEFAULT 'CUBOID',"
+                    + "min_x             DOUBLE       NOT NULL DEFAULT 0,"
+                    + "min_z             DOUBLE       NOT NULL DEFAULT 0,"
+                    + "max_x             DOUBLE       NOT NULL DEFAULT 0,"
+                    + "max_z             DOUBLE       NOT NULL DEFAULT 0,"
+                    + "center_x          DOUBLE       NOT NULL DEFAULT 0,"
+                    + "center_z          DOUBLE       NOT NULL DEFAULT 0,"
+                    + "radius            DOUBLE       NOT NULL DEFAULT 0,"
+                    + "min_y             DOUBLE,"
+                    + "max_y             DOUBLE,"
+                    + "priority          INT          NOT NULL DEFAULT 0,"
+                    + "flags             VARCHAR(255) NOT NULL DEFAULT '',"
+                    + "bypass_permission VARCHAR(128),"
+                    + "created_at        BIGINT       NOT NULL DEFAULT 0"
+                    + ")");
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + tablePrefix + "regions_world ON "
+                    + tablePrefix + "regions(world)");
         }
     }
 }
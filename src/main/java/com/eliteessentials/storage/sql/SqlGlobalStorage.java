@@ -1,6 +1,7 @@
 package com.eliteessentials.storage.sql;
 
 import com.eliteessentials.model.Location;
+import com.eliteessentials.model.ProtectedRegion;
 import com.eliteessentials.model.Warp;
 import com.eliteessentials.storage.GlobalStorageProvider;
 import com.eliteessentials.storage.SpawnStorage;
@@ -13,7 +14,7 @@ import java.util.logging.Logger;
 
 /**
  * SQL-backed implementation of {@link GlobalStorageProvider}.
- * Handles warps, spawns, and first-join spawn persistence.
+ * Handles warps, spawns, first-join spawn and protected region persistence.
  * Maintains in-memory caches populated on {@link #load()}.
  */
 public class SqlGlobalStorage implements GlobalStorageProvider {
@@ -28,6 +29,7 @@ public class SqlGlobalStorage implements GlobalStorageProvider {
     private final ConcurrentHashMap<String, Warp> warps = new ConcurrentHashMap<>();
     private Map<String, List<SpawnStorage.SpawnData>> spawns = new ConcurrentHashMap<>();
     private SpawnStorage.SpawnData firstJoinSpawn;
+    private final ConcurrentHashMap<String, ProtectedRegion> regions = new ConcurrentHashMap<>();
 
     public SqlGlobalStorage(HikariDataSource dataSource, String tablePrefix, boolean isMySQL) {
         this.dataSource = dataSource;
@@ -41,6 +43,7 @@ public class SqlGlobalStorage implements GlobalStorageProvider {
     public void load() {
         loadWarpsFromDb();
         loadSpawns();
+        loadRegionsFromDb();
     }
 
     @Override
@@ -144,6 +147,42 @@ public class SqlGlobalStorage implements GlobalStorageProvider {
         }
     }
 
+    // ==================== Protected region operations ====================
+
+    @Override
+    public Map<String, ProtectedRegion> getAllRegions() {
+        return new HashMap<>(regions);
+    }
+
+    @Override
+    public Optional<ProtectedRegion> getRegion(String name) {
+        return Optional.ofNullable(regions.get(ProtectedRegion.normalizeName(name)));
+    }
+
+    @Override
+    public void setRegion(ProtectedRegion region) {
+        region.setName(ProtectedRegion.normalizeName(region.getName()));
+        regions.put(region.getName(), region);
+        upsertRegionToDb(region);
+    }
+
+    @Override
+    public boolean deleteRegion(String name) {
+        ProtectedRegion removed = regions.remove(ProtectedRegion.normalizeName(name));
+        if (removed != null) {
+            String sql = "DELETE FROM " + prefix + "regions WHERE name = ?";
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setString(1, removed.getName());
+                ps.executeUpdate();
+            } catch (SQLException e) {
+                logger.severe("[SqlGlobalStorage] Failed to delete region '" + name + "': " + e.getMessage());
+            }
+            return true;
+        }
+        return false;
+    }
+
     // ==================== Private DB helpers — Warps ====================
 
     private void loadWarpsFromDb() {
@@ -346,4 +385,105 @@ public class SqlGlobalStorage implements GlobalStorageProvider {
             logger.severe("[SqlGlobalStorage] Failed to save first-join spawn: " + e.getMessage());
         }
     }
+
+    // ==================== Private DB helpers — Regions ====================
+
+    private void loadRegionsFromDb() {
+        regions.clear();
+        String sql = "SELECT * FROM " + prefix + "regions";
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                ProtectedRegion region = new ProtectedRegion(ProtectedRegion.normalizeName(rs.getString("name")), rs.getString("world"),
+                        ProtectedRegion.Shape.valueOf(rs.getString("shape")));
+                region.setBounds(rs.getDouble("min_x"), rs.getDouble("min_z"), rs.getDouble("max_x"), rs.getDouble("max_z"));
+                region.setCylinder(rs.getDouble("center_x"), rs.getDouble("center_z"), rs.getDouble("radius"));
+                double minY = rs.getDouble("min_y");
+                region.setMinY(rs.wasNull() ? null : minY);
+                double maxY = rs.getDouble("max_y");
+                region.setMaxY(rs.wasNull() ? null : maxY);
+                region.setPriority(rs.getInt("priority"));
+                region.setFlags(decodeFlags(rs.getString("flags")));
+                region.setBypassPermission(rs.getString("bypass_permission"));
+                region.setCreatedAt(rs.getLong("created_at"));
+                regions.put(region.getName(), region);
+            }
+            if (!regions.isEmpty()) {
+                logger.info("[SqlGlobalStorage] Loaded " + regions.size() + " protected region(s) from SQL.");
+            }
+        } catch (SQLException | IllegalArgumentException e) {
+            logger.severe("[SqlGlobalStorage] Failed to load regions: " + e.getMessage());
+        }
+    }
+
+    private void upsertRegionToDb(ProtectedRegion region) {
+        String columns = "(name, world, shape, min_x, min_z, max_x, max_z, center_x, center_z, radius, "
+                + "min_y, max_y, priority, flags, bypass_permission, created_at)";
+        String sql;
+        if (isMySQL) {
+            sql = "INSERT INTO " + prefix + "regions " + columns + " "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE world=VALUES(world), shape=VALUES(shape), min_x=VALUES(min_x), "
+                    + "min_z=VALUES(min_z), max_x=VALUES(max_x), max_z=VALUES(max_z), center_x=VALUES(center_x), "
+                    + "center_z=VALUES(center_z), radius=VALUES(radius), min_y=VALUES(min_y), max_y=VALUES(max_y), "
+                    + "priority=VALUES(priority), flags=VALUES(flags), bypass_permission=VALUES(bypass_permission), "
+                    + "created_at=VALUES(created_at)";
+        } else {
+            sql = "MERGE INTO " + prefix + "regions " + columns + " "
+                    + "KEY (name) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        }
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            boolean cylinder = region.getShape() == ProtectedRegion.Shape.CYLINDER;
+            ps.setString(1, region.getName());
+            ps.setString(2, region.getWorld());
+            ps.setString(3, region.getShape().name());
+            ps.setDouble(4, cylinder ? 0 : region.getMinX());
+            ps.setDouble(5, cylinder ? 0 : region.getMinZ());
+            ps.setDouble(6, cylinder ? 0 : region.getMaxX());
+            ps.setDouble(7, cylinder ? 0 : region.getMaxZ());
+            ps.setDouble(8, region.getCenterX());
+            ps.setDouble(9, region.getCenterZ());
+            ps.setDouble(10, region.getRadius());
+            if (region.getMinY() != null) ps.setDouble(11, region.getMinY()); else ps.setNull(11, Types.DOUBLE);
+            if (region.getMaxY() != null) ps.setDouble(12, region.getMaxY()); else ps.setNull(12, Types.DOUBLE);
+            ps.setInt(13, region.getPriority());
+            ps.setString(14, encodeFlags(region.getFlags()));
+            ps.setString(15, region.getBypassPermission());
+            ps.setLong(16, region.getCreatedAt());
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            logger.severe("[SqlGlobalStorage] Failed to upsert region '" + region.getName() + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Encode region flags as "FLAG=true,FLAG=false".
+     */
+    private static String encodeFlags(Map<ProtectedRegion.Flag, Boolean> flags) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<ProtectedRegion.Flag, Boolean> entry : flags.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) continue;
+            if (sb.length() > 0) sb.append(',');
+            sb.append(entry.getKey().name()).append('=').append(entry.getValue());
+        }
+        return sb.toString();
+    }
+
+    private static Map<ProtectedRegion.Flag, Boolean> decodeFlags(String encoded) {
+        Map<ProtectedRegion.Flag, Boolean> flags = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) return flags;
+        for (String part : encoded.split(",")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0) continue;
+            try {
+                flags.put(ProtectedRegion.Flag.valueOf(part.substring(0, eq).trim()),
+                        Boolean.parseBoolean(part.substring(eq + 1).trim()));
+            } catch (IllegalArgumentException e) {
+                logger.warning("[SqlGlobalStorage] Ignoring unknown region flag: " + part);
+            }
+        }
+        return flags;
+    }
 }
@@ -0,0 +1,384 @@
+package com.eliteessentials.storage.sql;
+
+import com.eliteessentials.model.MailMessage;
+import com.eliteessentials.storage.MailStorageProvider;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * SQL-backed implementation of {@link MailStorageProvider}, using the mailbox table.
+ * Messages are inserted, updated and deleted row by row; message/unread counts per
+ * inbox are loaded on {@link #load()} and kept in memory.
+ *
+ * The lock only guards the in-memory counts and is never held across a database call.
+ * Sends reserve their slot in the recipient's count before inserting (so two senders
+ * can't both pass the limit check) and give it back if the insert fails; owner changes
+ * apply the row counts the database reports.
+ */
+public class SqlMailStorage implements MailStorageProvider {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+    private static final int BATCH_SIZE = 500;
+
+    private final HikariDataSource dataSource;
+    private final String prefix;
+
+    // Guards counts only
+    private final Object lock = new Object();
+    private final Map<UUID, Counts> counts = new HashMap<>();
+
+    private static final class Counts {
+        int total;
+        int unread;
+    }
+
+    public SqlMailStorage(HikariDataSource dataSource, String tablePrefix) {
+        this.dataSource = dataSource;
+        this.prefix = tablePrefix;
+    }
+
+    @Override
+    public void load() {
+        String sql = "SELECT uuid, COUNT(*) AS total, SUM(CASE WHEN is_read THEN 0 ELSE 1 END) AS unread FROM "
+                + prefix + "mailbox GROUP BY uuid";
+        Map<UUID, Counts> loaded = new HashMap<>();
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                Counts c = new Counts();
+                c.total = rs.getInt("total");
+                c.unread = rs.getInt("unread");
+                try {
+                    loaded.put(UUID.fromString(rs.getString("uuid")), c);
+                } catch (IllegalArgumentException e) {
+                    logger.warning("[SqlMailStorage] Skipping mail for invalid UUID: " + rs.getString("uuid"));
+                }
+            }
+        } catch (SQLException e) {
+            logger.severe("[SqlMailStorage] Failed to load mail counts: " + e.getMessage());
+            return;
+        }
+        synchronized (lock) {
+            counts.clear();
+            counts.putAll(loaded);
+        }
+        logger.info("[SqlMailStorage] Indexed " + loaded.size() + " inboxes.");
+    }
+
+    @Override
+    public void shutdown() {
+        // Connection pool managed by StorageFactory
+    }
+
+    // ==================== Sending ====================
+
+    @Override
+    public boolean append(UUID recipient, MailMessage mail, int maxPerInbox) {
+        int unread = mail.isRead() ? 0 : 1;
+        if (!reserve(recipient, unread, maxPerInbox)) {
+            return false;
+        }
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(insertSql())) {
+            bindMail(ps, recipient, mail);
+            ps.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            logger.severe("[SqlMailStorage] Failed to insert mail for " + recipient + ": " + e.getMessage());
+            adjustLocked(recipient, -1, -unread);
+            return false;
+        }
+    }
+
+    @Override
+    public List<UUID> appendToAll(Collection<UUID> recipients, UUID senderUuid, String senderName, String message, int maxPerInbox) {
+        // Reserve every slot up front; recipients whose inbox is full are skipped
+        List<UUID> targets = new ArrayList<>();
+        synchronized (lock) {
+            for (UUID recipient : recipients) {
+                Counts c = counts.get(recipient);
+                if (c == null || c.total < maxPerInbox) {
+                    adjust(recipient, 1, 1);
+                    targets.add(recipient);
+                }
+            }
+        }
+        if (targets.isEmpty()) return new ArrayList<>();
+
+        List<UUID> delivered = new ArrayList<>(targets.size());
+        try (Connection conn = dataSource.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            try {
+                conn.setAutoCommit(false);
+                try (PreparedStatement ps = conn.prepareStatement(insertSql())) {
+                    List<UUID> batch = new ArrayList<>(BATCH_SIZE);
+                    for (UUID recipient : targets) {
+                        bindMail(ps, recipient, new MailMessage(senderUuid, senderName, message));
+                        ps.addBatch();
+                        batch.add(recipient);
+                        if (batch.size() >= BATCH_SIZE) {
+                            ps.executeBatch();
+                            conn.commit();
+                            delivered.addAll(batch);
+                            batch.clear();
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        ps.executeBatch();
+                        conn.commit();
+                        delivered.addAll(batch);
+                    }
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        } catch (SQLException e) {
+            logger.severe("[SqlMailStorage] Bulk send failed after " + delivered.size() + " inboxes: " + e.getMessage());
+        }
+
+        // Give back the slots of recipients the failed batch didn't reach
+        if (delivered.size() < targets.size()) {
+            synchronized (lock) {
+                for (UUID recipient : targets.subList(delivered.size(), targets.size())) {
+                    adjust(recipient, -1, -1);
+                }
+            }
+        }
+        return delivered;
+    }
+
+    @Override
+    public void importMail(UUID recipient, List<MailMessage> mail) {
+        if (mail == null || mail.isEmpty()) return;
+        try (Connection conn = dataSource.getConnection()) {
+            // Skip messages already in the inbox, so a repeated import adds nothing
+            Set<String> existing = new HashSet<>();
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT message_id FROM " + prefix + "mailbox WHERE uuid = ?")) {
+                ps.setString(1, recipient.toString());
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        existing.add(rs.getString("message_id"));
+                    }
+                }
+            }
+
+            int added = 0;
+            int unread = 0;
+            try (PreparedStatement ps = conn.prepareStatement(insertSql())) {
+                for (MailMessage message : mail) {
+                    if (!existing.add(message.getId())) continue;
+                    bindMail(ps, recipient, message);
+                    ps.addBatch();
+                    added++;
+                    if (!message.isRead()) unread++;
+                }
+                if (added > 0) {
+                    ps.executeBatch();
+                }
+            }
+            if (added > 0) {
+                adjustLocked(recipient, added, unread);
+            }
+        } catch (SQLException e) {
+            logger.severe("[SqlMailStorage] Failed to import mail for " + recipient + ": " + e.getMessage());
+        }
+    }
+
+    // ==================== Reading ====================
+
+    @Override
+    public int getCount(UUID playerId) {
+        synchronized (lock) {
+            Counts c = counts.get(playerId);
+            return c != null ? c.total : 0;
+        }
+    }
+
+    @Override
+    public int getUnreadCount(UUID playerId) {
+        synchronized (lock) {
+            Counts c = counts.get(playerId);
+            return c != null ? c.unread : 0;
+        }
+    }
+
+    @Override
+    public List<MailMessage> getPage(UUID playerId, int offset, int limit) {
+        if (getCount(playerId) == 0) return new ArrayList<>();
+        String sql = "SELECT message_id, sender_uuid, sender, message, sent_at, is_read FROM " + prefix
+                + "mailbox WHERE uuid = ? ORDER BY sent_at DESC, id DESC LIMIT ? OFFSET ?";
+        return query(sql, playerId, limit, offset);
+    }
+
+    @Override
+    public List<MailMessage> getAll(UUID playerId) {
+        if (getCount(playerId) == 0) return new ArrayList<>();
+        String sql = "SELECT message_id, sender_uuid, sender, message, sent_at, is_read FROM " + prefix
+                + "mailbox WHERE uuid = ? ORDER BY sent_at DESC, id DESC";
+        return query(sql, playerId, -1, -1);
+    }
+
+    private List<MailMessage> query(String sql, UUID playerId, int limit, int offset) {
+        List<MailMessage> mail = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, playerId.toString());
+            if (limit >= 0) {
+                ps.setInt(2, limit);
+                ps.setInt(3, offset);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    MailMessage msg = new MailMessage();
+                    msg.setId(rs.getString("message_id"));
+                    String senderUuidStr = rs.getString("sender_uuid");
+                    if (senderUuidStr != null) {
+                        msg.setSenderUuid(UUID.fromString(senderUuidStr));
+                    }
+                    msg.setSenderName(rs.getString("sender"));
+                    msg.setMessage(rs.getString("message"));
+                    msg.setTimestamp(rs.getLong("sent_at"));
+                    msg.setRead(rs.getBoolean("is_read"));
+                    mail.add(msg);
+                }
+            }
+        } catch (SQLException e) {
+            logger.severe("[SqlMailStorage] Failed to read mail for " + playerId + ": " + e.getMessage());
+        }
+        return mail;
+    }
+
+    // ==================== Owner changes ====================
+
+    @Override
+    public boolean markAsRead(UUID playerId, String mailId) {
+        int updated = update("UPDATE " + prefix + "mailbox SET is_read = TRUE WHERE uuid = ? AND message_id = ? AND is_read = FALSE",
+                playerId, mailId);
+        if (updated > 0) {
+            adjustLocked(playerId, 0, -updated);
+            return true;
+        }
+        return exists(playerId, mailId);
+    }
+
+    @Override
+    public int markAllAsRead(UUID playerId) {
+        if (getUnreadCount(playerId) == 0) return 0;
+        int updated = update("UPDATE " + prefix + "mailbox SET is_read = TRUE WHERE uuid = ? AND is_read = FALSE",
+                playerId, null);
+        adjustLocked(playerId, 0, -updated);
+        return updated;
+    }
+
+    @Override
+    public boolean delete(UUID playerId, String mailId) {
+        int unread = update("DELETE FROM " + prefix + "mailbox WHERE uuid = ? AND message_id = ? AND is_read = FALSE",
+                playerId, mailId);
+        int read = update("DELETE FROM " + prefix + "mailbox WHERE uuid = ? AND message_id = ? AND is_read = TRUE",
+                playerId, mailId);
+        adjustLocked(playerId, -(unread + read), -unread);
+        return unread + read > 0;
+    }
+
+    @Override
+    public int clear(UUID playerId) {
+        if (getCount(playerId) == 0) return 0;
+        // Unread first so the unread count comes from the rows actually removed
+        int unread = update("DELETE FROM " + prefix + "mailbox WHERE uuid = ? AND is_read = FALSE", playerId, null);
+        int read = update("DELETE FROM " + prefix + "mailbox WHERE uuid = ? AND is_read = TRUE", playerId, null);
+        adjustLocked(playerId, -(unread + read), -unread);
+        return unread + read;
+    }
+
+    @Override
+    public int clearRead(UUID playerId) {
+        if (getCount(playerId) == getUnreadCount(playerId)) return 0;
+        int removed = update("DELETE FROM " + prefix + "mailbox WHERE uuid = ? AND is_read = TRUE", playerId, null);
+        adjustLocked(playerId, -removed, 0);
+        return removed;
+    }
+
+    // ==================== Private DB helpers ====================
+
+    private String insertSql() {
+        return "INSERT INTO " + prefix + "mailbox (uuid, message_id, sender_uuid, sender, message, sent_at, is_read) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    private void bindMail(PreparedStatement ps, UUID recipient, MailMessage msg) throws SQLException {
+        ps.setString(1, recipient.toString());
+        ps.setString(2, msg.getId());
+        ps.setString(3, msg.getSenderUuid() != null ? msg.getSenderUuid().toString() : null);
+        ps.setString(4, msg.getSenderName());
+        ps.setString(5, msg.getMessage());
+        ps.setLong(6, msg.getTimestamp());
+        ps.setBoolean(7, msg.isRead());
+    }
+
+    private int update(String sql, UUID playerId, String mailId) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, playerId.toString());
+            if (mailId != null) {
+                ps.setString(2, mailId);
+            }
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            logger.severe("[SqlMailStorage] Mail update failed for " + playerId + ": " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private boolean exists(UUID playerId, String mailId) {
+        String sql = "SELECT 1 FROM " + prefix + "mailbox WHERE uuid = ? AND message_id = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, playerId.toString());
+            ps.setString(2, mailId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            logger.severe("[SqlMailStorage] Mail lookup failed for " + playerId + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Take one slot in a recipient's inbox, or return false if it is full.
+     */
+    private boolean reserve(UUID recipient, int unread, int maxPerInbox) {
+        synchronized (lock) {
+            Counts c = counts.get(recipient);
+            if (c != null && c.total >= maxPerInbox) {
+                return false;
+            }
+            adjust(recipient, 1, unread);
+            return true;
+        }
+    }
+
+    private void adjustLocked(UUID playerId, int total, int unread) {
+        synchronized (lock) {
+            adjust(playerId, total, unread);
+        }
+    }
+
+    /** Caller holds lock. */
+    private void adjust(UUID playerId, int total, int unread) {
+        Counts c = counts.computeIfAbsent(playerId, k -> new Counts());
+        c.total = Math.max(0, c.total + total);
+        c.unread = Math.max(0, c.unread + unread);
+        if (c.total == 0) {
+            counts.remove(playerId);
+        }
+    }
+}
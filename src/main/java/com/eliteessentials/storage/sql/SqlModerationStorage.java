@@ -0,0 +1,281 @@
+package com.eliteessentials.storage.sql;
+
+import com.eliteessentials.model.ModerationEntry;
+import com.eliteessentials.storage.LegacyModerationImport;
+import com.eliteessentials.storage.ModerationIndex;
+import com.eliteessentials.storage.ModerationStorageProvider;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.io.File;
+import java.sql.*;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * SQL-backed implementation of {@link ModerationStorageProvider}, using the moderation
+ * table. Active records are loaded into a {@link ModerationIndex} on {@link #load()};
+ * each change is a single-row insert or delete. If the table is empty on load, the old
+ * JSON ban, mute and warning files are imported.
+ */
+public class SqlModerationStorage implements ModerationStorageProvider {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+    private static final int BATCH_SIZE = 500;
+
+    private final HikariDataSource dataSource;
+    private final String prefix;
+    private final File dataFolder;
+    private final ModerationIndex index = new ModerationIndex();
+    // Keeps the index and the table in the same order of changes
+    private final Object lock = new Object();
+
+    public SqlModerationStorage(HikariDataSource dataSource, String tablePrefix, File dataFolder) {
+        this.dataSource = dataSource;
+        this.prefix = tablePrefix;
+        this.dataFolder = dataFolder;
+    }
+
+    @Override
+    public void load() {
+        synchronized (lock) {
+            index.clear();
+            long now = System.currentTimeMillis();
+            try (Connection conn = dataSource.getConnection()) {
+                // Drop what ran out while the server was down
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "DELETE FROM " + prefix + "moderation WHERE expires_at > 0 AND expires_at <= ?")) {
+                    ps.setLong(1, now);
+                    ps.executeUpdate();
+                }
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT * FROM " + prefix + "moderation")) {
+                    while (rs.next()) {
+                        index.add(readEntry(rs));
+                    }
+                }
+                logger.info("[SqlModerationStorage] Loaded " + index.size() + " moderation records from SQL.");
+            } catch (SQLException e) {
+                logger.severe("[SqlModerationStorage] Failed to load moderation records: " + e.getMessage());
+                return;
+            }
+
+            if (index.size() == 0 && LegacyModerationImport.hasLegacyFiles(dataFolder)) {
+                importLegacy();
+            }
+        }
+    }
+
+    @Override
+    public void save() {
+        // Individual operations already persist to DB; full save is a no-op
+    }
+
+    @Override
+    public void shutdown() {
+        // Connection pool managed by StorageFactory
+    }
+
+    // ==================== Changes ====================
+
+    @Override
+    public boolean add(ModerationEntry entry) {
+        synchronized (lock) {
+            if (!index.add(entry)) return false;
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(insertSql())) {
+                bindEntry(ps, entry);
+                ps.executeUpdate();
+                return true;
+            } catch (SQLException e) {
+                logger.severe("[SqlModerationStorage] Failed to insert " + entry.getType() + " for "
+                        + entry.getPlayerName() + ": " + e.getMessage());
+                index.remove(entry.getId());
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public int addAll(Collection<ModerationEntry> entries) {
+        synchronized (lock) {
+            List<ModerationEntry> added = new ArrayList<>();
+            for (ModerationEntry entry : entries) {
+                if (index.add(entry)) added.add(entry);
+            }
+            if (added.isEmpty()) return 0;
+            try {
+                insertBatch(added);
+                return added.size();
+            } catch (SQLException e) {
+                logger.severe("[SqlModerationStorage] Failed to insert " + added.size() + " records: " + e.getMessage());
+                for (ModerationEntry entry : added) {
+                    index.remove(entry.getId());
+                }
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public ModerationEntry remove(String id) {
+        List<ModerationEntry> removed = removeAll(List.of(id));
+        return removed.isEmpty() ? null : removed.get(0);
+    }
+
+    @Override
+    public List<ModerationEntry> removeAll(Collection<String> ids) {
+        synchronized (lock) {
+            List<ModerationEntry> removed = new ArrayList<>();
+            for (String id : ids) {
+                ModerationEntry entry = index.remove(id);
+                if (entry != null) removed.add(entry);
+            }
+            deleteFromDb(removed);
+            return removed;
+        }
+    }
+
+    @Override
+    public List<ModerationEntry> expire(long now) {
+        synchronized (lock) {
+            List<ModerationEntry> expired = index.pollExpired(now);
+            deleteFromDb(expired);
+            return expired;
+        }
+    }
+
+    // ==================== Lookups ====================
+
+    @Override
+    public ModerationEntry get(ModerationEntry.Type type, UUID playerId) {
+        return index.get(type, playerId);
+    }
+
+    @Override
+    public ModerationEntry getIpBan(String ip) {
+        return index.getByIp(ip);
+    }
+
+    @Override
+    public ModerationEntry matchIpBan(String ip) {
+        return index.matchIp(ip);
+    }
+
+    @Override
+    public ModerationEntry findByName(ModerationEntry.Type type, String playerName) {
+        return index.findByName(type, playerName);
+    }
+
+    @Override
+    public List<ModerationEntry> getWarnings(UUID playerId) {
+        return index.getWarnings(playerId);
+    }
+
+    @Override
+    public List<ModerationEntry> getAll(ModerationEntry.Type type) {
+        return index.getAll(type);
+    }
+
+    @Override
+    public int count(ModerationEntry.Type type) {
+        return index.count(type);
+    }
+
+    // ==================== Internal ====================
+
+    private String insertSql() {
+        return "INSERT INTO " + prefix + "moderation (id, type, player_uuid, ip, player_name, issued_by, reason, issued_at, expires_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    private void bindEntry(PreparedStatement ps, ModerationEntry entry) throws SQLException {
+        ps.setString(1, entry.getId());
+        ps.setString(2, entry.getType().name());
+        ps.setString(3, entry.getPlayerId() != null ? entry.getPlayerId().toString() : null);
+        ps.setString(4, entry.getIp());
+        ps.setString(5, entry.getPlayerName());
+        ps.setString(6, entry.getIssuedBy());
+        ps.setString(7, entry.getReason());
+        ps.setLong(8, entry.getIssuedAt());
+        ps.setLong(9, entry.getExpiresAt());
+    }
+
+    private ModerationEntry readEntry(ResultSet rs) throws SQLException {
+        String uuid = rs.getString("player_uuid");
+        return new ModerationEntry(
+                rs.getString("id"),
+                ModerationEntry.Type.valueOf(rs.getString("type")),
+                uuid != null ? UUID.fromString(uuid) : null,
+                rs.getString("ip"),
+                rs.getString("player_name"),
+                rs.getString("issued_by"),
+                rs.getString("reason"),
+                rs.getLong("issued_at"),
+                rs.getLong("expires_at"));
+    }
+
+    /**
+     * Insert records in one transaction, sent to the database {@link #BATCH_SIZE} rows at a time.
+     */
+    private void insertBatch(List<ModerationEntry> entries) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            try {
+                conn.setAutoCommit(false);
+                try (PreparedStatement ps = conn.prepareStatement(insertSql())) {
+                    int pending = 0;
+                    for (ModerationEntry entry : entries) {
+                        bindEntry(ps, entry);
+                        ps.addBatch();
+                        if (++pending >= BATCH_SIZE) {
+                            ps.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        ps.executeBatch();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        }
+    }
+
+    private void deleteFromDb(List<ModerationEntry> removed) {
+        if (removed.isEmpty()) return;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement("DELETE FROM " + prefix + "moderation WHERE id = ?")) {
+            for (ModerationEntry entry : removed) {
+                ps.setString(1, entry.getId());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            logger.severe("[SqlModerationStorage] Failed to delete " + removed.size() + " moderation records: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Caller holds the lock.
+     */
+    private void importLegacy() {
+        List<ModerationEntry> entries = new ArrayList<>();
+        for (ModerationEntry entry : LegacyModerationImport.read(dataFolder)) {
+            if (index.add(entry)) entries.add(entry);
+        }
+        try {
+            insertBatch(entries);
+        } catch (SQLException e) {
+            // Still enforced for this run from memory; the files are kept for the next attempt
+            logger.severe("[SqlModerationStorage] Failed to import old moderation files: " + e.getMessage());
+            return;
+        }
+        LegacyModerationImport.markMigrated(dataFolder);
+        logger.info("[SqlModerationStorage] Imported " + entries.size() + " records from the old ban, mute and warning files.");
+    }
+}
@@ -22,6 +22,8 @@ public class SqlPlayerStorage implements PlayerStorageProvider {
     private final HikariDataSource dataSource;
     private final String prefix;
     private final boolean mysqlMode;
+    // {table, insert sql} per child table, with this storage's prefix
+    private final String[][] childSql;
 
     // In-memory cache (online players)
     private final ConcurrentHashMap<UUID, PlayerFile> cache = new ConcurrentHashMap<>();
@@ -37,6 +39,7 @@ public class SqlPlayerStorage implements PlayerStorageProvider {
         this.dataSource = dataSource;
         this.prefix = tablePrefix;
         this.mysqlMode = mysqlMode;
+        this.childSql = childTableSql(tablePrefix);
 
         // Load name index from DB on startup
         loadNameIndex();
@@ -119,6 +122,12 @@ public class SqlPlayerStorage implements PlayerStorageProvider {
         return null;
     }
 
+    @Override
+    public PlayerFile peekPlayer(UUID uuid) {
+        PlayerFile data = cache.get(uuid);
+        return data != null ? data : loadFromDb(uuid);
+    }
+
     @Override
     public PlayerFile getPlayerByName(String name) {
         UUID uuid = getUuidByName(name).orElse(null);
@@ -213,6 +222,12 @@ public class SqlPlayerStorage implements PlayerStorageProvider {
         cache.remove(uuid);
     }
 
+    @Override
+    public void evictPlayer(UUID uuid) {
+        if (dirtyPlayers.contains(uuid)) return;
+        cache.remove(uuid);
+    }
+
     @Override
     public Collection<PlayerFile> getCachedPlayers() {
         return Collections.unmodifiableCollection(cache.values());
@@ -220,6 +235,11 @@ public class SqlPlayerStorage implements PlayerStorageProvider {
 
     // ==================== Queries ====================
 
+    @Override
+    public Map<String, UUID> getNameIndex() {
+        return Collections.unmodifiableMap(nameIndex);
+    }
+
     @Override
     public Collection<UUID> getAllPlayerUuids() {
         Set<UUID> uuids = new HashSet<>();
@@ -236,6 +256,38 @@ public class SqlPlayerStorage implements PlayerStorageProvider {
         return uuids;
     }
 
+    @Override
+    public void forEachIpHistory(IpHistoryVisitor visitor) {
+        // Cached players may have addresses the flush has not written yet
+        Map<UUID, PlayerFile> cached = new HashMap<>(cache);
+        for (PlayerFile pf : cached.values()) {
+            // The join thread may be recording an address into this player right now
+            for (PlayerFile.IpHistoryEntry entry : pf.copyIpHistory()) {
+                visitor.accept(pf.getUuid(), entry.ip, entry.lastUsed);
+            }
+        }
+        String sql = "SELECT uuid, ip, last_used FROM " + prefix + "ip_history";
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.setFetchSize(1000);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    UUID uuid;
+                    try {
+                        uuid = UUID.fromString(rs.getString(1));
+                    } catch (IllegalArgumentException | NullPointerException e) {
+                        continue;
+                    }
+                    if (!cached.containsKey(uuid)) {
+                        visitor.accept(uuid, rs.getString(2), rs.getLong(3));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.severe("[SqlPlayerStorage] forEachIpHistory failed: " + e.getMessage());
+        }
+    }
+
     @Override
     public List<PlayerFile> getAllPlayersSorted(Comparator<PlayerFile> comparator) {
         List<PlayerFile> all = new ArrayList<>();
@@ -290,12 +342,55 @@ public class SqlPlayerStorage implements PlayerStorageProvider {
     @Override
     public void savePlayerDirect(PlayerFile data) {
         if (data == null || data.getUuid() == null) return;
+        // Imported data replaces whatever back history the player had
+        data.getBackHistoryBuffer().markRewriteNeeded();
         writePlayerToDb(data);
         if (data.getName() != null) {
             updateNameIndex(data.getUuid(), data.getName());
         }
     }
 
+    @Override
+    public List<UUID> savePlayersDirect(List<PlayerFile> players) {
+        List<PlayerFile> valid = new ArrayList<>(players.size());
+        for (PlayerFile pf : players) {
+            if (pf != null && pf.getUuid() != null) valid.add(pf);
+        }
+        if (valid.isEmpty()) return Collections.emptyList();
+
+        try (Connection conn = dataSource.getConnection()) {
+            boolean originalAutoCommit = conn.getAutoCommit();
+            try {
+                conn.setAutoCommit(false);
+                writePlayersBatch(conn, valid);
+                conn.commit();
+                for (PlayerFile pf : valid) {
+                    if (pf.getName() != null) updateNameIndex(pf.getUuid(), pf.getName());
+                }
+                return Collections.emptyList();
+            } catch (SQLException e) {
+                conn.rollback();
+                logger.warning("[SqlPlayerStorage] Batch save of " + valid.size() + " players failed, retrying one by one: " + e.getMessage());
+            } finally {
+                conn.setAutoCommit(originalAutoCommit);
+            }
+        } catch (SQLException e) {
+            logger.severe("[SqlPlayerStorage] Failed to get connection for batch save: " + e.getMessage());
+        }
+
+        // Retry individually so one bad player doesn't fail the whole batch
+        List<UUID> failed = new ArrayList<>();
+        for (PlayerFile pf : valid) {
+            pf.getBackHistoryBuffer().markRewriteNeeded();
+            if (writePlayerToDb(pf)) {
+                if (pf.getName() != null) updateNameIndex(pf.getUuid(), pf.getName());
+            } else {
+                failed.add(pf.getUuid());
+            }
+        }
+        return failed;
+    }
+
     @Override
     public File getPlayersFolder() {
         // Not applicable for SQL storage, but required by interface for migration
@@ -381,7 +476,6 @@ public class SqlPlayerStorage implements PlayerStorageProvider {
             loadKitCooldowns(conn, pf);
             loadPlaytimeClaims(conn, pf);
             loadIgnoredPlayers(conn, pf);
-            loadMailbox(conn, pf);
             loadIpHistory(conn, pf);
             loadBalanceNotification(conn, pf);
 
@@ -435,20 +529,36 @@ public class SqlPlayerStorage implements PlayerStorageProvider {
         }
     }
 
+    /**
+     * Back history rows are numbered by sequence (position), higher = more recent.
+     */
     private void loadBackHistory(Connection conn, PlayerFile pf) throws SQLException {
-        String sql = "SELECT * FROM " + prefix + "back_history WHERE uuid = ? ORDER BY position ASC";
+        String sql = "SELECT * FROM " + prefix + "back_history WHERE uuid = ? ORDER BY position DESC";
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, pf.getUuid().toString());
             try (ResultSet rs = ps.executeQuery()) {
                 List<Location> history = new ArrayList<>();
+                long newest = 0;
+                boolean contiguous = true;
                 while (rs.next()) {
+                    long position = rs.getLong("position");
+                    if (history.isEmpty()) {
+                        newest = position;
+                    } else if (position != newest - history.size()) {
+                        contiguous = false;
+                    }
                     history.add(new Location(
                             rs.getString("world"),
                             rs.getDouble("x"), rs.getDouble("y"), rs.getDouble("z"),
                             rs.getFloat("yaw"), rs.getFloat("pitch")
                     ));
                 }
-                pf.setBackHistory(history);
+                BackHistory buffer = BackHistory.of(history, newest);
+                if (!contiguous) {
+                    // Renumber on the next save so slot overwrites line up
+                    buffer.markRewriteNeeded();
+                }
+                pf.setBackHistoryBuffer(buffer);
             }
         }
     }
@@ -516,30 +626,6 @@ public class SqlPlayerStorage implements PlayerStorageProvider {
         }
     }
 
-    private void loadMailbox(Connection conn, PlayerFile pf) throws SQLException {
-        String sql = "SELECT * FROM " + prefix + "mailbox WHERE uuid = ? ORDER BY sent_at ASC";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, pf.getUuid().toString());
-            try (ResultSet rs = ps.executeQuery()) {
-                List<MailMessage> mail = new ArrayList<>();
-                while (rs.next()) {
-                    MailMessage msg = new MailMessage();
-                    msg.setId(rs.getString("message_id"));
-                    String senderUuidStr = rs.getString("sender_uuid");
-                    if (senderUuidStr != null) {
-                        msg.setSenderUuid(UUID.fromString(senderUuidStr));
-                    }
-                    msg.setSenderName(rs.getString("sender"));
-                    msg.setMessage(rs.getString("message"));
-                    msg.setTimestamp(rs.getLong("sent_at"));
-                    msg.setRead(rs.getBoolean("is_read"));
-                    mail.add(msg);
-                }
-                pf.setMailbox(mail);
-            }
-        }
-    }
-
     private void loadIpHistory(Connection conn, PlayerFile pf) throws SQLException {
         String sql = "SELECT ip, last_used FROM " + prefix + "ip_history WHERE uuid = ? ORDER BY last_used DESC";
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
@@ -574,232 +660,349 @@ public class SqlPlayerStorage implements PlayerStorageProvider {
 
     // ==================== Write operations ====================
 
+    /**
+     * Binds one player's rows for a child table onto a batched insert statement.
+     * Returns the number of rows added.
+     */
+    private interface RowBinder {
+        int addRows(PreparedStatement ps, PlayerFile pf, String uuidStr) throws SQLException;
+    }
+
+    /**
+     * A per-player child table: rows are replaced wholesale on every full save.
+     * Back history is not one of these; see {@link #writeBackHistory}.
+     */
+    private static final class ChildTable {
+        final String name;
+        final String columns;
+        final RowBinder binder;
+
+        ChildTable(String name, String columns, RowBinder binder) {
+            this.name = name;
+            this.columns = columns;
+            this.binder = binder;
+        }
+    }
+
+    private static final List<ChildTable> CHILD_TABLES = List.of(
+            new ChildTable("homes", "uuid, name, world, x, y, z, yaw, pitch, created_at", SqlPlayerStorage::addHomeRows),
+            new ChildTable("kit_claims", "uuid, kit_id", SqlPlayerStorage::addKitClaimRows),
+            new ChildTable("kit_cooldowns", "uuid, kit_id, last_used", SqlPlayerStorage::addKitCooldownRows),
+            new ChildTable("playtime_claims", "uuid, reward_id, type, count", SqlPlayerStorage::addPlaytimeClaimRows),
+            new ChildTable("ignored_players", "uuid, ignored_uuid", SqlPlayerStorage::addIgnoredPlayerRows),
+            new ChildTable("ip_history", "uuid, ip, last_used", SqlPlayerStorage::addIpHistoryRows),
+            new ChildTable("balance_notifications", "uuid, old_balance, new_balance, diff", SqlPlayerStorage::addBalanceNotificationRows)
+    );
+
+    /**
+     * Prefixed table names and insert statements for {@link #CHILD_TABLES}, by index.
+     */
+    private static String[][] childTableSql(String prefix) {
+        String[][] sql = new String[CHILD_TABLES.size()][];
+        for (int i = 0; i < sql.length; i++) {
+            ChildTable child = CHILD_TABLES.get(i);
+            String table = prefix + child.name;
+            String placeholders = "?" + ", ?".repeat(child.columns.split(",").length - 1);
+            sql[i] = new String[] {table, "INSERT INTO " + table + " (" + child.columns + ") VALUES (" + placeholders + ")"};
+        }
+        return sql;
+    }
+
     /**
      * Upsert a full PlayerFile across all normalized tables within a single transaction.
+     *
+     * @return true if the transaction committed
      */
-    private void writePlayerToDb(PlayerFile pf) {
-        if (pf == null || pf.getUuid() == null) return;
+    private boolean writePlayerToDb(PlayerFile pf) {
+        if (pf == null || pf.getUuid() == null) return false;
         String uuidStr = pf.getUuid().toString();
+        BackHistory backHistory = pf.getBackHistoryBuffer();
+        BackHistory.Changes backChanges = backHistory.takeChanges();
 
         try (Connection conn = dataSource.getConnection()) {
             boolean originalAutoCommit = conn.getAutoCommit();
             try {
                 conn.setAutoCommit(false);
 
-                upsertPlayerRow(conn, pf, uuidStr);
-                replaceHomes(conn, pf, uuidStr);
-                replaceBackHistory(conn, pf, uuidStr);
-                replaceKitClaims(conn, pf, uuidStr);
-                replaceKitCooldowns(conn, pf, uuidStr);
-                replacePlaytimeClaims(conn, pf, uuidStr);
-                replaceIgnoredPlayers(conn, pf, uuidStr);
-                replaceMailbox(conn, pf, uuidStr);
-                replaceIpHistory(conn, pf, uuidStr);
-                replaceBalanceNotification(conn, pf, uuidStr);
+                try (PreparedStatement ps = conn.prepareStatement(playerUpsertSql())) {
+                    bindPlayerRow(ps, pf, uuidStr);
+                    ps.executeUpdate();
+                }
+                for (int i = 0; i < CHILD_TABLES.size(); i++) {
+                    deleteByUuid(conn, childSql[i][0], uuidStr);
+                    try (PreparedStatement ps = conn.prepareStatement(childSql[i][1])) {
+                        if (CHILD_TABLES.get(i).binder.addRows(ps, pf, uuidStr) > 0) {
+                            ps.executeBatch();
+                        }
+                    }
+                }
+                writeBackHistory(conn, uuidStr, backChanges);
 
                 conn.commit();
+                return true;
             } catch (SQLException e) {
                 conn.rollback();
+                if (backChanges != null) backHistory.markRewriteNeeded();
                 logger.severe("[SqlPlayerStorage] Failed to save player " + uuidStr + ": " + e.getMessage());
+                return false;
             } finally {
                 conn.setAutoCommit(originalAutoCommit);
             }
         } catch (SQLException e) {
+            if (backChanges != null) backHistory.markRewriteNeeded();
             logger.severe("[SqlPlayerStorage] Failed to get connection for save " + uuidStr + ": " + e.getMessage());
+            return false;
         }
     }
 
-    private void upsertPlayerRow(Connection conn, PlayerFile pf, String uuidStr) throws SQLException {
-        String sql;
-        if (mysqlMode) {
-            sql = "INSERT INTO " + prefix + "players (uuid, name, nickname, first_join, last_seen, play_time, wallet, vanished, default_group_chat) "
-                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
-                    + "ON DUPLICATE KEY UPDATE name=VALUES(name), nickname=VALUES(nickname), first_join=VALUES(first_join), "
-                    + "last_seen=VALUES(last_seen), play_time=VALUES(play_time), wallet=VALUES(wallet), "
-                    + "vanished=VALUES(vanished), default_group_chat=VALUES(default_group_chat)";
-        } else {
-            sql = "MERGE INTO " + prefix + "players (uuid, name, nickname, first_join, last_seen, play_time, wallet, vanished, default_group_chat) "
-                    + "KEY (uuid) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        }
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, uuidStr);
-            ps.setString(2, pf.getName());
-            ps.setString(3, pf.getNickname());
-            ps.setLong(4, pf.getFirstJoin());
-            ps.setLong(5, pf.getLastSeen());
-            ps.setLong(6, pf.getPlayTime());
-            ps.setDouble(7, pf.getWallet());
-            ps.setBoolean(8, pf.isVanished());
-            ps.setString(9, pf.getDefaultGroupChat());
-            ps.executeUpdate();
+    /**
+     * Write back history changes. A push overwrites the row of the entry it displaced
+     * (or appends a row while the history is still filling up), so saving after a
+     * teleport touches one row instead of deleting and re-inserting the whole history.
+     * Pops, clears and anything the slot writes can't express rewrite the player's rows.
+     */
+    private void writeBackHistory(Connection conn, String uuidStr, BackHistory.Changes changes) throws SQLException {
+        if (changes == null) return;
+        String insertSql = "INSERT INTO " + prefix + "back_history (uuid, position, world, x, y, z, yaw, pitch) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        if (changes.rewrite) {
+            deleteByUuid(conn, prefix + "back_history", uuidStr);
+            if (changes.slots.isEmpty()) return;
+            try (PreparedStatement ps = conn.prepareStatement(insertSql)) {
+                for (BackHistory.Slot slot : changes.slots) {
+                    bindBackRow(ps, uuidStr, slot);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            return;
+        }
+
+        String updateSql = "UPDATE " + prefix + "back_history SET position = ?, world = ?, x = ?, y = ?, z = ?, yaw = ?, pitch = ? "
+                + "WHERE uuid = ? AND position = ?";
+        try (PreparedStatement update = conn.prepareStatement(updateSql);
+             PreparedStatement insert = conn.prepareStatement(insertSql)) {
+            for (BackHistory.Slot slot : changes.slots) {
+                if (slot.replaces != BackHistory.NONE) {
+                    Location loc = slot.location;
+                    update.setLong(1, slot.seq);
+                    update.setString(2, loc.getWorld());
+                    update.setDouble(3, loc.getX());
+                    update.setDouble(4, loc.getY());
+                    update.setDouble(5, loc.getZ());
+                    update.setFloat(6, loc.getYaw());
+                    update.setFloat(7, loc.getPitch());
+                    update.setString(8, uuidStr);
+                    update.setLong(9, slot.replaces);
+                    if (update.executeUpdate() > 0) continue;
+                }
+                bindBackRow(insert, uuidStr, slot);
+                insert.executeUpdate();
+            }
         }
     }
 
-    private void replaceHomes(Connection conn, PlayerFile pf, String uuidStr) throws SQLException {
-        deleteByUuid(conn, prefix + "homes", uuidStr);
-        if (pf.getHomes().isEmpty()) return;
-        String sql = "INSERT INTO " + prefix + "homes (uuid, name, world, x, y, z, yaw, pitch, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            for (Home home : pf.getHomes().values()) {
-                Location loc = home.getLocation();
-                ps.setString(1, uuidStr);
-                ps.setString(2, home.getName());
-                ps.setString(3, loc.getWorld());
-                ps.setDouble(4, loc.getX());
-                ps.setDouble(5, loc.getY());
-                ps.setDouble(6, loc.getZ());
-                ps.setFloat(7, loc.getYaw());
-                ps.setFloat(8, loc.getPitch());
-                ps.setLong(9, home.getCreatedAt());
-                ps.addBatch();
-            }
-            ps.executeBatch();
-        }
+    private void bindBackRow(PreparedStatement ps, String uuidStr, BackHistory.Slot slot) throws SQLException {
+        Location loc = slot.location;
+        ps.setString(1, uuidStr);
+        ps.setLong(2, slot.seq);
+        ps.setString(3, loc.getWorld());
+        ps.setDouble(4, loc.getX());
+        ps.setDouble(5, loc.getY());
+        ps.setDouble(6, loc.getZ());
+        ps.setFloat(7, loc.getYaw());
+        ps.setFloat(8, loc.getPitch());
     }
 
-    private void replaceBackHistory(Connection conn, PlayerFile pf, String uuidStr) throws SQLException {
-        deleteByUuid(conn, prefix + "back_history", uuidStr);
-        List<Location> history = pf.getBackHistory();
-        if (history.isEmpty()) return;
-        String sql = "INSERT INTO " + prefix + "back_history (uuid, position, world, x, y, z, yaw, pitch) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            for (int i = 0; i < history.size(); i++) {
-                Location loc = history.get(i);
-                ps.setString(1, uuidStr);
-                ps.setInt(2, i);
-                ps.setString(3, loc.getWorld());
-                ps.setDouble(4, loc.getX());
-                ps.setDouble(5, loc.getY());
-                ps.setDouble(6, loc.getZ());
-                ps.setFloat(7, loc.getYaw());
-                ps.setFloat(8, loc.getPitch());
+    /**
+     * Write many players in one transaction: one batched upsert for the player rows,
+     * one multi-row DELETE per child table, and one batched insert per child table
+     * (sent as multi-row INSERTs on MySQL via rewriteBatchedStatements).
+     */
+    private void writePlayersBatch(Connection conn, List<PlayerFile> players) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(playerUpsertSql())) {
+            for (PlayerFile pf : players) {
+                bindPlayerRow(ps, pf, pf.getUuid().toString());
                 ps.addBatch();
             }
             ps.executeBatch();
         }
-    }
 
-    private void replaceKitClaims(Connection conn, PlayerFile pf, String uuidStr) throws SQLException {
-        deleteByUuid(conn, prefix + "kit_claims", uuidStr);
-        if (pf.getKitClaims().isEmpty()) return;
-        String sql = "INSERT INTO " + prefix + "kit_claims (uuid, kit_id) VALUES (?, ?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            for (String kitId : pf.getKitClaims()) {
-                ps.setString(1, uuidStr);
-                ps.setString(2, kitId);
-                ps.addBatch();
-            }
-            ps.executeBatch();
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < players.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
         }
-    }
 
-    private void replaceKitCooldowns(Connection conn, PlayerFile pf, String uuidStr) throws SQLException {
-        deleteByUuid(conn, prefix + "kit_cooldowns", uuidStr);
-        if (pf.getKitCooldowns().isEmpty()) return;
-        String sql = "INSERT INTO " + prefix + "kit_cooldowns (uuid, kit_id, last_used) VALUES (?, ?, ?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            for (Map.Entry<String, Long> entry : pf.getKitCooldowns().entrySet()) {
-                ps.setString(1, uuidStr);
-                ps.setString(2, entry.getKey());
-                ps.setLong(3, entry.getValue());
-                ps.addBatch();
+        for (int c = 0; c < CHILD_TABLES.size(); c++) {
+            RowBinder binder = CHILD_TABLES.get(c).binder;
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "DELETE FROM " + childSql[c][0] + " WHERE uuid IN (" + placeholders + ")")) {
+                for (int i = 0; i < players.size(); i++) {
+                    ps.setString(i + 1, players.get(i).getUuid().toString());
+                }
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = conn.prepareStatement(childSql[c][1])) {
+                int rows = 0;
+                for (PlayerFile pf : players) {
+                    rows += binder.addRows(ps, pf, pf.getUuid().toString());
+                }
+                if (rows > 0) {
+                    ps.executeBatch();
+                }
             }
-            ps.executeBatch();
         }
-    }
-
-    private void replacePlaytimeClaims(Connection conn, PlayerFile pf, String uuidStr) throws SQLException {
-        deleteByUuid(conn, prefix + "playtime_claims", uuidStr);
-        PlayerFile.PlaytimeClaims claims = pf.getPlaytimeClaims();
-        if (claims == null) return;
-        boolean hasData = (claims.claimedMilestones != null && !claims.claimedMilestones.isEmpty())
-                || (claims.repeatableCounts != null && !claims.repeatableCounts.isEmpty());
-        if (!hasData) return;
 
-        String sql = "INSERT INTO " + prefix + "playtime_claims (uuid, reward_id, type, count) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            if (claims.claimedMilestones != null) {
-                for (String rewardId : claims.claimedMilestones) {
-                    ps.setString(1, uuidStr);
-                    ps.setString(2, rewardId);
-                    ps.setString(3, "milestone");
-                    ps.setInt(4, 1);
-                    ps.addBatch();
-                }
+        // Back history: every entry, replacing whatever the players had
+        try (PreparedStatement ps = conn.prepareStatement(
+                "DELETE FROM " + prefix + "back_history WHERE uuid IN (" + placeholders + ")")) {
+            for (int i = 0; i < players.size(); i++) {
+                ps.setString(i + 1, players.get(i).getUuid().toString());
             }
-            if (claims.repeatableCounts != null) {
-                for (Map.Entry<String, Integer> entry : claims.repeatableCounts.entrySet()) {
-                    ps.setString(1, uuidStr);
-                    ps.setString(2, entry.getKey());
-                    ps.setString(3, "repeatable");
-                    ps.setInt(4, entry.getValue());
+            ps.executeUpdate();
+        }
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO " + prefix + "back_history (uuid, position, world, x, y, z, yaw, pitch) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            int rows = 0;
+            for (PlayerFile pf : players) {
+                String uuidStr = pf.getUuid().toString();
+                for (BackHistory.Slot slot : pf.getBackHistoryBuffer().slots()) {
+                    bindBackRow(ps, uuidStr, slot);
                     ps.addBatch();
+                    rows++;
                 }
             }
-            ps.executeBatch();
+            if (rows > 0) {
+                ps.executeBatch();
+            }
         }
     }
 
-    private void replaceIgnoredPlayers(Connection conn, PlayerFile pf, String uuidStr) throws SQLException {
-        deleteByUuid(conn, prefix + "ignored_players", uuidStr);
-        if (pf.getIgnoredPlayers().isEmpty()) return;
-        String sql = "INSERT INTO " + prefix + "ignored_players (uuid, ignored_uuid) VALUES (?, ?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            for (UUID ignored : pf.getIgnoredPlayers()) {
-                ps.setString(1, uuidStr);
-                ps.setString(2, ignored.toString());
-                ps.addBatch();
-            }
-            ps.executeBatch();
+    private String playerUpsertSql() {
+        if (mysqlMode) {
+            return "INSERT INTO " + prefix + "players (uuid, name, nickname, first_join, last_seen, play_time, wallet, vanished, default_group_chat) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE name=VALUES(name), nickname=VALUES(nickname), first_join=VALUES(first_join), "
+                    + "last_seen=VALUES(last_seen), play_time=VALUES(play_time), wallet=VALUES(wallet), "
+                    + "vanished=VALUES(vanished), default_group_chat=VALUES(default_group_chat)";
         }
+        return "MERGE INTO " + prefix + "players (uuid, name, nickname, first_join, last_seen, play_time, wallet, vanished, default_group_chat) "
+                + "KEY (uuid) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
     }
 
-    private void replaceMailbox(Connection conn, PlayerFile pf, String uuidStr) throws SQLException {
-        deleteByUuid(conn, prefix + "mailbox", uuidStr);
-        if (pf.getMailbox().isEmpty()) return;
-        String sql = "INSERT INTO " + prefix + "mailbox (uuid, message_id, sender_uuid, sender, message, sent_at, is_read) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            for (MailMessage msg : pf.getMailbox()) {
+    private void bindPlayerRow(PreparedStatement ps, PlayerFile pf, String uuidStr) throws SQLException {
+        ps.setString(1, uuidStr);
+        ps.setString(2, pf.getName());
+        ps.setString(3, pf.getNickname());
+        ps.setLong(4, pf.getFirstJoin());
+        ps.setLong(5, pf.getLastSeen());
+        ps.setLong(6, pf.getPlayTime());
+        ps.setDouble(7, pf.getWallet());
+        ps.setBoolean(8, pf.isVanished());
+        ps.setString(9, pf.getDefaultGroupChat());
+    }
+
+    private static int addHomeRows(PreparedStatement ps, PlayerFile pf, String uuidStr) throws SQLException {
+        int rows = 0;
+        for (Home home : pf.getHomes().values()) {
+            Location loc = home.getLocation();
+            ps.setString(1, uuidStr);
+            ps.setString(2, home.getName());
+            ps.setString(3, loc.getWorld());
+            ps.setDouble(4, loc.getX());
+            ps.setDouble(5, loc.getY());
+            ps.setDouble(6, loc.getZ());
+            ps.setFloat(7, loc.getYaw());
+            ps.setFloat(8, loc.getPitch());
+            ps.setLong(9, home.getCreatedAt());
+            ps.addBatch();
+            rows++;
+        }
+        return rows;
+    }
+
+    private static int addKitClaimRows(PreparedStatement ps, PlayerFile pf, String uuidStr) throws SQLException {
+        int rows = 0;
+        for (String kitId : pf.getKitClaims()) {
+            ps.setString(1, uuidStr);
+            ps.setString(2, kitId);
+            ps.addBatch();
+            rows++;
+        }
+        return rows;
+    }
+
+    private static int addKitCooldownRows(PreparedStatement ps, PlayerFile pf, String uuidStr) throws SQLException {
+        int rows = 0;
+        for (Map.Entry<String, Long> entry : pf.getKitCooldowns().entrySet()) {
+            ps.setString(1, uuidStr);
+            ps.setString(2, entry.getKey());
+            ps.setLong(3, entry.getValue());
+            ps.addBatch();
+            rows++;
+        }
+        return rows;
+    }
+
+    private static int addPlaytimeClaimRows(PreparedStatement ps, PlayerFile pf, String uuidStr) throws SQLException {
+        PlayerFile.PlaytimeClaims claims = pf.getPlaytimeClaims();
+        if (claims == null) return 0;
+
+        int rows = 0;
+        if (claims.claimedMilestones != null) {
+            for (String rewardId : claims.claimedMilestones) {
                 ps.setString(1, uuidStr);
-                ps.setString(2, msg.getId());
-                ps.setString(3, msg.getSenderUuid() != null ? msg.getSenderUuid().toString() : null);
-                ps.setString(4, msg.getSenderName());
-                ps.setString(5, msg.getMessage());
-                ps.setLong(6, msg.getTimestamp());
-                ps.setBoolean(7, msg.isRead());
+                ps.setString(2, rewardId);
+                ps.setString(3, "milestone");
+                ps.setInt(4, 1);
                 ps.addBatch();
+                rows++;
             }
-            ps.executeBatch();
         }
-    }
-
-    private void replaceIpHistory(Connection conn, PlayerFile pf, String uuidStr) throws SQLException {
-        deleteByUuid(conn, prefix + "ip_history", uuidStr);
-        if (pf.getIpHistory().isEmpty()) return;
-        String sql = "INSERT INTO " + prefix + "ip_history (uuid, ip, last_used) VALUES (?, ?, ?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            for (PlayerFile.IpHistoryEntry entry : pf.getIpHistory()) {
+        if (claims.repeatableCounts != null) {
+            for (Map.Entry<String, Integer> entry : claims.repeatableCounts.entrySet()) {
                 ps.setString(1, uuidStr);
-                ps.setString(2, entry.ip);
-                ps.setLong(3, entry.lastUsed);
+                ps.setString(2, entry.getKey());
+                ps.setString(3, "repeatable");
+                ps.setInt(4, entry.getValue());
                 ps.addBatch();
+                rows++;
             }
-            ps.executeBatch();
         }
+        return rows;
     }
 
-    private void replaceBalanceNotification(Connection conn, PlayerFile pf, String uuidStr) throws SQLException {
-        deleteByUuid(conn, prefix + "balance_notifications", uuidStr);
-        PlayerFile.BalanceChangeNotification notif = pf.getBalanceChangeNotification();
-        if (notif == null) return;
-        String sql = "INSERT INTO " + prefix + "balance_notifications (uuid, old_balance, new_balance, diff) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+    private static int addIgnoredPlayerRows(PreparedStatement ps, PlayerFile pf, String uuidStr) throws SQLException {
+        int rows = 0;
+        for (UUID ignored : pf.getIgnoredPlayers()) {
             ps.setString(1, uuidStr);
-            ps.setDouble(2, notif.oldBalance);
-            ps.setDouble(3, notif.newBalance);
-            ps.setDouble(4, notif.diff);
-            ps.executeUpdate();
+            ps.setString(2, ignored.toString());
+            ps.addBatch();
+            rows++;
+        }
+        return rows;
+    }
+
+    private static int addIpHistoryRows(PreparedStatement ps, PlayerFile pf, String uuidStr) throws SQLException {
+        int rows = 0;
+        for (PlayerFile.IpHistoryEntry entry : pf.copyIpHistory()) {
+            ps.setString(1, uuidStr);
+            ps.setString(2, entry.ip);
+            ps.setLong(3, entry.lastUsed);
+            ps.addBatch();
+            rows++;
         }
+        return rows;
+    }
+
+    private static int addBalanceNotificationRows(PreparedStatement ps, PlayerFile pf, String uuidStr) throws SQLException {
+        PlayerFile.BalanceChangeNotification notif = pf.getBalanceChangeNotification();
+        if (notif == null) return 0;
+        ps.setString(1, uuidStr);
+        ps.setDouble(2, notif.oldBalance);
+        ps.setDouble(3, notif.newBalance);
+        ps.setDouble(4, notif.diff);
+        ps.addBatch();
+        return 1;
     }
 
     private void deleteByUuid(Connection conn, String table, String uuidStr) throws SQLException {
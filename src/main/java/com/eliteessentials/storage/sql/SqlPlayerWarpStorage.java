@@ -2,17 +2,20 @@ package com.eliteessentials.storage.sql;
 
 import com.eliteessentials.model.Location;
 import com.eliteessentials.model.PlayerWarp;
+import com.eliteessentials.storage.PlayerWarpIndex;
 import com.eliteessentials.storage.PlayerWarpStorageProvider;
 import com.zaxxer.hikari.HikariDataSource;
 
 import java.sql.*;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
  * SQL-backed implementation of {@link PlayerWarpStorageProvider}.
- * Maintains in-memory cache populated on {@link #load()}.
+ * Maintains an indexed in-memory cache populated on {@link #load()}; every change is
+ * written as a single-row upsert or delete. Pages are served from the cache, which is
+ * what every other lookup uses; the database is only paged with LIMIT/OFFSET if the
+ * cache could not be loaded.
  */
 public class SqlPlayerWarpStorage implements PlayerWarpStorageProvider {
 
@@ -21,7 +24,8 @@ public class SqlPlayerWarpStorage implements PlayerWarpStorageProvider {
     private final HikariDataSource dataSource;
     private final String prefix;
     private final boolean isMySQL;
-    private final ConcurrentHashMap<String, PlayerWarp> warps = new ConcurrentHashMap<>();
+    private final PlayerWarpIndex warps = new PlayerWarpIndex();
+    private volatile boolean loaded;
 
     public SqlPlayerWarpStorage(HikariDataSource dataSource, String tablePrefix, boolean isMySQL) {
         this.dataSource = dataSource;
@@ -32,25 +36,15 @@ public class SqlPlayerWarpStorage implements PlayerWarpStorageProvider {
     @Override
     public void load() {
         warps.clear();
+        loaded = false;
         String sql = "SELECT * FROM " + prefix + "player_warps";
         try (Connection conn = dataSource.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
-                PlayerWarp warp = new PlayerWarp();
-                warp.setName(rs.getString("name"));
-                warp.setLocation(new Location(
-                        rs.getString("world"),
-                        rs.getDouble("x"), rs.getDouble("y"), rs.getDouble("z"),
-                        rs.getFloat("yaw"), rs.getFloat("pitch")
-                ));
-                warp.setOwnerId(UUID.fromString(rs.getString("owner_uuid")));
-                warp.setOwnerName(rs.getString("owner_name"));
-                warp.setVisibility(PlayerWarp.Visibility.valueOf(rs.getString("visibility")));
-                warp.setDescription(rs.getString("description"));
-                warp.setCreatedAt(rs.getLong("created_at"));
-                warps.put(warp.getName().toLowerCase(), warp);
+                warps.put(readWarp(rs));
             }
+            loaded = true;
             logger.info("[SqlPlayerWarpStorage] Loaded " + warps.size() + " player warps from SQL.");
         } catch (SQLException e) {
             logger.severe("[SqlPlayerWarpStorage] Failed to load player warps: " + e.getMessage());
@@ -69,23 +63,50 @@ public class SqlPlayerWarpStorage implements PlayerWarpStorageProvider {
 
     @Override
     public Map<String, PlayerWarp> getAllWarps() {
-        return new HashMap<>(warps);
+        return warps.snapshot();
     }
 
     @Override
     public Optional<PlayerWarp> getWarp(String name) {
-        return Optional.ofNullable(warps.get(name.toLowerCase()));
+        return Optional.ofNullable(warps.get(name));
     }
 
     @Override
     public void setWarp(PlayerWarp warp) {
-        warps.put(warp.getName().toLowerCase(), warp);
+        warps.put(warp);
         upsertToDb(warp);
     }
 
+    @Override
+    public void updateVisitStats(Collection<PlayerWarp> batch) {
+        List<PlayerWarp> stored = new ArrayList<>(batch.size());
+        for (PlayerWarp warp : batch) {
+            if (warps.contains(warp.getName())) {
+                warps.put(warp);
+                stored.add(warp);
+            }
+        }
+        if (stored.isEmpty()) return;
+
+        String sql = "UPDATE " + prefix + "player_warps SET visits = ?, trending_score = ?, trending_at = ? WHERE name = ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (PlayerWarp warp : stored) {
+                ps.setLong(1, warp.getVisits());
+                ps.setDouble(2, warp.getTrendingScore());
+                ps.setLong(3, warp.getTrendingUpdatedAt());
+                ps.setString(4, warp.getName().toLowerCase());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            logger.severe("[SqlPlayerWarpStorage] Failed to save visit stats for " + stored.size() + " warps: " + e.getMessage());
+        }
+    }
+
     @Override
     public boolean deleteWarp(String name) {
-        PlayerWarp removed = warps.remove(name.toLowerCase());
+        PlayerWarp removed = warps.remove(name);
         if (removed != null) {
             deleteFromDb(name.toLowerCase());
             return true;
@@ -95,51 +116,96 @@ public class SqlPlayerWarpStorage implements PlayerWarpStorageProvider {
 
     @Override
     public boolean hasWarp(String name) {
-        return warps.containsKey(name.toLowerCase());
+        return warps.contains(name);
     }
 
     @Override
     public List<PlayerWarp> getWarpsByOwner(UUID ownerId) {
-        List<PlayerWarp> result = new ArrayList<>();
-        for (PlayerWarp warp : warps.values()) {
-            if (ownerId.equals(warp.getOwnerId())) {
-                result.add(warp);
-            }
-        }
-        return result;
+        return warps.getByOwner(ownerId);
     }
 
     @Override
     public int getWarpCountByOwner(UUID ownerId) {
-        int count = 0;
-        for (PlayerWarp warp : warps.values()) {
-            if (ownerId.equals(warp.getOwnerId())) {
-                count++;
-            }
-        }
-        return count;
+        return warps.countByOwner(ownerId);
     }
 
     @Override
     public List<PlayerWarp> getPublicWarps() {
-        List<PlayerWarp> result = new ArrayList<>();
-        for (PlayerWarp warp : warps.values()) {
-            if (warp.isPublic()) {
-                result.add(warp);
-            }
-        }
-        return result;
+        return warps.getPublic();
     }
 
     @Override
     public List<PlayerWarp> getAccessibleWarps(UUID playerId) {
-        List<PlayerWarp> result = new ArrayList<>();
-        for (PlayerWarp warp : warps.values()) {
-            if (warp.canAccess(playerId)) {
-                result.add(warp);
+        return warps.getAccessible(playerId);
+    }
+
+    @Override
+    public Page getWarpPage(Scope scope, UUID playerId, Sort sort, int offset, int limit) {
+        // Called on the world thread for every GUI render; the index pages without a round trip
+        if (loaded) {
+            return warps.page(scope, playerId, sort, offset, limit);
+        }
+        return queryPage(scope, playerId, sort, offset, limit);
+    }
+
+    /**
+     * Page straight from the table, for when the cache failed to load.
+     */
+    private Page queryPage(Scope scope, UUID playerId, Sort sort, int offset, int limit) {
+        String where;
+        switch (scope) {
+            case PUBLIC -> where = "visibility = 'PUBLIC'";
+            case OWNED -> where = "owner_uuid = ?";
+            default -> where = "(visibility = 'PUBLIC' OR owner_uuid = ?)";
+        }
+        boolean bindOwner = scope != Scope.PUBLIC;
+        String order = switch (sort) {
+            case NEWEST -> "created_at DESC, name";
+            case POPULAR -> "visits DESC, name";
+            // Same key as PlayerWarp.getTrendingRank(), so it agrees with the cache. This sorts
+            // every matching row, which is only acceptable because pages normally come from the index
+            case TRENDING -> "CASE WHEN trending_score > 0 THEN LN(trending_score) + trending_at * "
+                    + PlayerWarp.trendingDecayPerMs() + " ELSE -1.0E300 END DESC, name";
+            default -> "name";
+        };
+        String countSql = "SELECT COUNT(*) FROM " + prefix + "player_warps WHERE " + where;
+        String pageSql = "SELECT * FROM " + prefix + "player_warps WHERE " + where
+                + " ORDER BY " + order + " LIMIT ? OFFSET ?";
+
+        try (Connection conn = dataSource.getConnection()) {
+            int total;
+            try (PreparedStatement ps = conn.prepareStatement(countSql)) {
+                if (bindOwner) ps.setString(1, playerId.toString());
+                try (ResultSet rs = ps.executeQuery()) {
+                    total = rs.next() ? rs.getInt(1) : 0;
+                }
+            }
+            List<PlayerWarp> page = new ArrayList<>();
+            if (offset < total) {
+                try (PreparedStatement ps = conn.prepareStatement(pageSql)) {
+                    int i = 1;
+                    if (bindOwner) ps.setString(i++, playerId.toString());
+                    ps.setInt(i++, limit);
+                    ps.setInt(i, offset);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            // Return the cached instance so callers edit the same object they save
+                            PlayerWarp cached = warps.get(rs.getString("name"));
+                            page.add(cached != null ? cached : readWarp(rs));
+                        }
+                    }
+                }
             }
+            return new Page(page, total);
+        } catch (SQLException e) {
+            logger.warning("[SqlPlayerWarpStorage] Page query failed: " + e.getMessage());
+            return new Page(new ArrayList<>(), 0);
         }
-        return result;
+    }
+
+    @Override
+    public List<String> findWarpNames(String namePrefix, UUID playerId, int limit) {
+        return warps.findNames(namePrefix, playerId, limit);
     }
 
     // ==================== Private DB helpers ====================
@@ -147,14 +213,15 @@ public class SqlPlayerWarpStorage implements PlayerWarpStorageProvider {
     private void upsertToDb(PlayerWarp warp) {
         String sql;
         if (isMySQL) {
-            sql = "INSERT INTO " + prefix + "player_warps (name, world, x, y, z, yaw, pitch, owner_uuid, owner_name, visibility, description, created_at) "
-                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            sql = "INSERT INTO " + prefix + "player_warps (name, world, x, y, z, yaw, pitch, owner_uuid, owner_name, visibility, description, created_at, visits, trending_score, trending_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
                     + "ON DUPLICATE KEY UPDATE world=VALUES(world), x=VALUES(x), y=VALUES(y), z=VALUES(z), "
                     + "yaw=VALUES(yaw), pitch=VALUES(pitch), owner_uuid=VALUES(owner_uuid), owner_name=VALUES(owner_name), "
-                    + "visibility=VALUES(visibility), description=VALUES(description), created_at=VALUES(created_at)";
+                    + "visibility=VALUES(visibility), description=VALUES(description), created_at=VALUES(created_at), "
+                    + "visits=VALUES(visits), trending_score=VALUES(trending_score), trending_at=VALUES(trending_at)";
         } else {
-            sql = "MERGE INTO " + prefix + "player_warps (name, world, x, y, z, yaw, pitch, owner_uuid, owner_name, visibility, description, created_at) "
-                    + "KEY (name) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+            sql = "MERGE INTO " + prefix + "player_warps (name, world, x, y, z, yaw, pitch, owner_uuid, owner_name, visibility, description, created_at, visits, trending_score, trending_at) "
+                    + "KEY (name) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         }
         try (Connection conn = dataSource.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
@@ -176,6 +243,25 @@ public class SqlPlayerWarpStorage implements PlayerWarpStorageProvider {
         }
     }
 
+    private PlayerWarp readWarp(ResultSet rs) throws SQLException {
+        PlayerWarp warp = new PlayerWarp();
+        warp.setName(rs.getString("name"));
+        warp.setLocation(new Location(
+                rs.getString("world"),
+                rs.getDouble("x"), rs.getDouble("y"), rs.getDouble("z"),
+                rs.getFloat("yaw"), rs.getFloat("pitch")
+        ));
+        warp.setOwnerId(UUID.fromString(rs.getString("owner_uuid")));
+        warp.setOwnerName(rs.getString("owner_name"));
+        warp.setVisibility(PlayerWarp.Visibility.valueOf(rs.getString("visibility")));
+        warp.setDescription(rs.getString("description"));
+        warp.setCreatedAt(rs.getLong("created_at"));
+        warp.setVisits(rs.getLong("visits"));
+        warp.setTrendingScore(rs.getDouble("trending_score"));
+        warp.setTrendingUpdatedAt(rs.getLong("trending_at"));
+        return warp;
+    }
+
     private void setParams(PreparedStatement ps, PlayerWarp warp) throws SQLException {
         Location loc = warp.getLocation();
         ps.setString(1, warp.getName().toLowerCase());
@@ -190,5 +276,8 @@ public class SqlPlayerWarpStorage implements PlayerWarpStorageProvider {
         ps.setString(10, warp.getVisibility().name());
         ps.setString(11, warp.getDescription());
         ps.setLong(12, warp.getCreatedAt());
+        ps.setLong(13, warp.getVisits());
+        ps.setDouble(14, warp.getTrendingScore());
+        ps.setLong(15, warp.getTrendingUpdatedAt());
     }
 }
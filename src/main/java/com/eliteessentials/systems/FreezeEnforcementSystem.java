@@ -0,0 +1,82 @@
+package com.eliteessentials.systems;
+
+import com.eliteessentials.services.FreezeService;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.tick.EntityTickingSystem;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3f;
+import com.hypixel.hytale.server.core.modules.entity.component.HeadRotation;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.modules.entity.teleport.Teleport;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * Movement-triggered freeze enforcement.
+ * Runs as part of each world's tick, so re-applies for all frozen players in a world
+ * happen inline on that world's thread with no scheduling. Players who stay within the
+ * drift threshold of their anchor cost a map lookup; players who drift further are
+ * re-frozen and moved back to the anchor.
+ */
+public class FreezeEnforcementSystem extends EntityTickingSystem<EntityStore> {
+
+    private final FreezeService freezeService;
+
+    public FreezeEnforcementSystem(FreezeService freezeService) {
+        this.freezeService = freezeService;
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return PlayerRef.getComponentType();
+    }
+
+    @Override
+    public void tick(float dt, int index, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
+                     CommandBuffer<EntityStore> buffer) {
+        if (!freezeService.isEnforcing() || !freezeService.hasFrozenPlayers()) return;
+
+        PlayerRef player = chunk.getComponent(index, PlayerRef.getComponentType());
+        if (player == null || !freezeService.isFrozen(player.getUuid())) return;
+
+        TransformComponent transform = chunk.getComponent(index, TransformComponent.getComponentType());
+        if (transform == null) return;
+
+        Vector3d pos = transform.getPosition();
+        FreezeService.Drift drift = freezeService.checkDrift(player.getUuid(), pos.getX(), pos.getY(), pos.getZ());
+        if (drift == FreezeService.Drift.HELD) return;
+
+        try {
+            Ref<EntityStore> ref = player.getReference();
+            if (ref == null || !ref.isValid()) return;
+            FreezeService.applyFreeze(store, ref, player);
+            if (drift == FreezeService.Drift.DRIFTED) {
+                snapBack(ref, store, buffer, freezeService.getAnchor(player.getUuid()));
+            }
+        } catch (Exception e) {
+            // Player may be mid-disconnect; the next drift retries
+        }
+    }
+
+    /**
+     * Move the player back to their anchor, keeping their yaw.
+     * Queued on the command buffer since components can't be added mid-tick.
+     */
+    private static void snapBack(Ref<EntityStore> ref, Store<EntityStore> store,
+                                 CommandBuffer<EntityStore> buffer, double[] anchor) {
+        if (anchor == null) return;
+        World world = store.getExternalData().getWorld();
+        Vector3f rotation = new Vector3f(0, 0, 0);
+        HeadRotation headRotation = store.getComponent(ref, HeadRotation.getComponentType());
+        if (headRotation != null) {
+            rotation = new Vector3f(0, headRotation.getRotation().y, 0);
+        }
+        Teleport teleport = Teleport.createForPlayer(world, new Vector3d(anchor[0], anchor[1], anchor[2]), rotation);
+        buffer.addComponent(ref, Teleport.getComponentType(), teleport);
+    }
+}
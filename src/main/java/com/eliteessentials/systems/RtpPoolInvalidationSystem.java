@@ -0,0 +1,89 @@
+package com.eliteessentials.systems;
+
+import com.eliteessentials.services.RtpLocationPool;
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentRegistry;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.EntityEventSystem;
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
+import com.hypixel.hytale.server.core.event.events.ecs.PlaceBlockEvent;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * ECS systems that drop pooled RTP locations when a player changes a block in their chunk.
+ * Only a map lookup for worlds without pooled locations.
+ */
+public class RtpPoolInvalidationSystem {
+
+    private final RtpLocationPool pool;
+
+    public RtpPoolInvalidationSystem(RtpLocationPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Register the block break/place listeners.
+     */
+    public void register(ComponentRegistry<EntityStore> registry) {
+        registry.registerSystem(new BreakBlockInvalidation(pool));
+        registry.registerSystem(new PlaceBlockInvalidation(pool));
+    }
+
+    private static class BreakBlockInvalidation extends EntityEventSystem<EntityStore, BreakBlockEvent> {
+        private final RtpLocationPool pool;
+
+        BreakBlockInvalidation(RtpLocationPool pool) {
+            super(BreakBlockEvent.class);
+            this.pool = pool;
+        }
+
+        @Override
+        public Query<EntityStore> getQuery() {
+            return PlayerRef.getComponentType();
+        }
+
+        @Override
+        public void handle(int index, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
+                          CommandBuffer<EntityStore> buffer, BreakBlockEvent event) {
+            if (event.isCancelled()) return;
+            invalidate(pool, store, event.getTargetBlock());
+        }
+    }
+
+    private static class PlaceBlockInvalidation extends EntityEventSystem<EntityStore, PlaceBlockEvent> {
+        private final RtpLocationPool pool;
+
+        PlaceBlockInvalidation(RtpLocationPool pool) {
+            super(PlaceBlockEvent.class);
+            this.pool = pool;
+        }
+
+        @Override
+        public Query<EntityStore> getQuery() {
+            return PlayerRef.getComponentType();
+        }
+
+        @Override
+        public void handle(int index, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
+                          CommandBuffer<EntityStore> buffer, PlaceBlockEvent event) {
+            if (event.isCancelled()) return;
+            invalidate(pool, store, event.getTargetBlock());
+        }
+    }
+
+    private static void invalidate(RtpLocationPool pool, Store<EntityStore> store, Vector3i block) {
+        if (block == null) return;
+        EntityStore entityStore = store.getExternalData();
+        if (entityStore == null) return;
+        World world = entityStore.getWorld();
+        if (world == null) return;
+
+        pool.invalidateChunk(world.getName(), ChunkUtil.indexChunkFromBlock(block.getX(), block.getZ()));
+    }
+}
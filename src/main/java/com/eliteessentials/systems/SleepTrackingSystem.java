@@ -0,0 +1,69 @@
+package com.eliteessentials.systems;
+
+import com.eliteessentials.services.SleepService;
+import com.hypixel.hytale.builtin.beds.sleep.components.PlayerSleep;
+import com.hypixel.hytale.builtin.beds.sleep.components.PlayerSomnolence;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.RefChangeSystem;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+/**
+ * Reports player sleep state changes (getting into bed, nodding off, falling asleep,
+ * waking up) to the SleepService, so sleep counts update only when someone's state
+ * actually changes.
+ */
+public class SleepTrackingSystem extends RefChangeSystem<EntityStore, PlayerSomnolence> {
+
+    private final SleepService sleepService;
+
+    public SleepTrackingSystem(SleepService sleepService) {
+        this.sleepService = sleepService;
+    }
+
+    @Override
+    public ComponentType<EntityStore, PlayerSomnolence> componentType() {
+        return PlayerSomnolence.getComponentType();
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return PlayerRef.getComponentType();
+    }
+
+    @Override
+    public void onComponentAdded(Ref<EntityStore> ref, PlayerSomnolence somnolence,
+                                 Store<EntityStore> store, CommandBuffer<EntityStore> commandBuffer) {
+        report(ref, store, somnolence.getSleepState());
+    }
+
+    @Override
+    public void onComponentSet(Ref<EntityStore> ref, PlayerSomnolence oldComponent,
+                               PlayerSomnolence newComponent,
+                               Store<EntityStore> store, CommandBuffer<EntityStore> commandBuffer) {
+        report(ref, store, newComponent.getSleepState());
+    }
+
+    @Override
+    public void onComponentRemoved(Ref<EntityStore> ref, PlayerSomnolence somnolence,
+                                   Store<EntityStore> store, CommandBuffer<EntityStore> commandBuffer) {
+        report(ref, store, null);
+    }
+
+    private void report(Ref<EntityStore> ref, Store<EntityStore> store, PlayerSleep state) {
+        try {
+            PlayerRef player = store.getComponent(ref, PlayerRef.getComponentType());
+            if (player == null || player.getUuid() == null) return;
+            World world = store.getExternalData().getWorld();
+            if (world == null) return;
+            sleepService.onSleepStateChanged(player.getUuid(), world, state);
+        } catch (Exception e) {
+            // Entity may be mid-removal; the SleepService recount catches up
+        }
+    }
+}
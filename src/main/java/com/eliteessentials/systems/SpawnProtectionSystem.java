@@ -1,5 +1,7 @@
 package com.eliteessentials.systems;
 
+import com.eliteessentials.model.ProtectedRegion;
+import com.eliteessentials.services.ProtectedRegionIndex;
 import com.eliteessentials.services.SpawnProtectionService;
 import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
@@ -11,6 +13,8 @@ import com.hypixel.hytale.component.dependency.Dependency;
 import com.hypixel.hytale.component.dependency.RootDependency;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.EntityEventSystem;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.event.events.ecs.BreakBlockEvent;
 import com.hypixel.hytale.server.core.event.events.ecs.DamageBlockEvent;
@@ -29,8 +33,9 @@ import java.util.Collections;
 import java.util.Set;
 
 /**
- * ECS systems for spawn protection.
- * Prevents block breaking/placing and PvP in the spawn area.
+ * ECS systems for spawn protection and protected regions.
+ * Prevents block breaking/placing, PvP, damage, interactions, pickups and drops
+ * wherever the highest-priority covering region denies the matching flag.
  */
 public class SpawnProtectionSystem {
 
@@ -39,6 +44,10 @@ public class SpawnProtectionSystem {
     private static final String INTERACTION_MSG = "Interactions are disabled in spawn.";
     private static final String PICKUP_MSG = "Item pickups are disabled in spawn.";
     private static final String DROP_MSG = "Item drops are disabled in spawn.";
+    private static final String REGION_PVP_MSG = "PvP is disabled in this area.";
+    private static final String REGION_INTERACTION_MSG = "Interactions are disabled in this area.";
+    private static final String REGION_PICKUP_MSG = "Item pickups are disabled in this area.";
+    private static final String REGION_DROP_MSG = "Item drops are disabled in this area.";
     private static final String MSG_COLOR = "#FF5555";
 
     private final SpawnProtectionService protectionService;
@@ -78,16 +87,13 @@ public class SpawnProtectionSystem {
         @Override
         public void handle(int index, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
                           CommandBuffer<EntityStore> buffer, BreakBlockEvent event) {
-            if (!service.isEnabled() || event.isCancelled()) return;
+            if (event.isCancelled()) return;
             
-            // Fast world check - skip worlds that have no spawn protection configured
-            String worldName = getWorldName(store);
-            if (worldName == null || !service.hasSpawnInWorld(worldName)) return;
-            
-            if (!service.isInProtectedArea(worldName, event.getTargetBlock())) return;
+            ProtectedRegionIndex.Region region = findDenyingRegion(service, store, event.getTargetBlock(), ProtectedRegion.Flag.BREAK);
+            if (region == null) return;
 
             PlayerRef player = chunk.getComponent(index, PlayerRef.getComponentType());
-            if (player != null && service.canBypass(player.getUuid())) return;
+            if (player != null && service.canBypass(player.getUuid(), region)) return;
 
             event.setCancelled(true);
             if (player != null) {
@@ -114,16 +120,13 @@ public class SpawnProtectionSystem {
         @Override
         public void handle(int index, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
                           CommandBuffer<EntityStore> buffer, PlaceBlockEvent event) {
-            if (!service.isEnabled() || event.isCancelled()) return;
-            
-            // Fast world check - skip worlds that have no spawn protection configured
-            String worldName = getWorldName(store);
-            if (worldName == null || !service.hasSpawnInWorld(worldName)) return;
+            if (event.isCancelled()) return;
             
-            if (!service.isInProtectedArea(worldName, event.getTargetBlock())) return;
+            ProtectedRegionIndex.Region region = findDenyingRegion(service, store, event.getTargetBlock(), ProtectedRegion.Flag.PLACE);
+            if (region == null) return;
 
             PlayerRef player = chunk.getComponent(index, PlayerRef.getComponentType());
-            if (player != null && service.canBypass(player.getUuid())) return;
+            if (player != null && service.canBypass(player.getUuid(), region)) return;
 
             event.setCancelled(true);
             if (player != null) {
@@ -150,16 +153,13 @@ public class SpawnProtectionSystem {
         @Override
         public void handle(int index, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
                           CommandBuffer<EntityStore> buffer, DamageBlockEvent event) {
-            if (!service.isEnabled() || event.isCancelled()) return;
-            
-            // Fast world check - skip worlds that have no spawn protection configured
-            String worldName = getWorldName(store);
-            if (worldName == null || !service.hasSpawnInWorld(worldName)) return;
+            if (event.isCancelled()) return;
             
-            if (!service.isInProtectedArea(worldName, event.getTargetBlock())) return;
+            ProtectedRegionIndex.Region region = findDenyingRegion(service, store, event.getTargetBlock(), ProtectedRegion.Flag.BREAK);
+            if (region == null) return;
 
             PlayerRef player = chunk.getComponent(index, PlayerRef.getComponentType());
-            if (player != null && service.canBypass(player.getUuid())) return;
+            if (player != null && service.canBypass(player.getUuid(), region)) return;
 
             event.setCancelled(true);
         }
@@ -193,29 +193,22 @@ public class SpawnProtectionSystem {
                 return;
             }
             
-            // Check if spawn protection is enabled at all
-            if (!service.isEnabled()) {
-                return;
-            }
-
-            // Fast world check - skip worlds that have no spawn protection configured
+            // Fast world check - skip worlds that have no regions denying damage or PvP
             // This is critical for arena worlds where spawn protection doesn't apply
-            String worldName = getWorldName(store);
-            if (worldName == null || !service.hasSpawnInWorld(worldName)) {
-                return;
-            }
+            ProtectedRegionIndex regions = getIndex(service, store);
+            if (regions == null) return;
+            boolean damageDenied = regions.anyDenies(ProtectedRegion.Flag.DAMAGE);
+            boolean pvpDenied = regions.anyDenies(ProtectedRegion.Flag.PVP);
+            if (!damageDenied && !pvpDenied) return;
 
             // Check if victim is a player
             PlayerRef victim = chunk.getComponent(index, PlayerRef.getComponentType());
             if (victim == null) return;
-
-            // Check if victim is in protected area (world-specific)
-            if (!service.isInProtectedArea(worldName, victim.getTransform().getPosition())) {
-                return;
-            }
+            Vector3d pos = victim.getTransform().getPosition();
             
-            // Check if ALL damage protection is enabled (blocks everything including NPC/mob damage)
-            if (service.isAllDamageProtectionEnabled()) {
+            // Check if ALL damage is denied here (blocks everything including NPC/mob damage)
+            if (damageDenied
+                    && regions.findDenying(pos.getX(), pos.getY(), pos.getZ(), ProtectedRegion.Flag.DAMAGE) != null) {
                 // Use damage-specific bypass check (nobody bypasses by default - even admins are protected)
                 if (!service.canBypassDamageProtection(victim.getUuid())) {
                     event.setCancelled(true);
@@ -225,7 +218,11 @@ public class SpawnProtectionSystem {
             }
 
             // If all damage protection didn't block, check PvP protection
-            if (!service.isPvpProtectionEnabled()) {
+            if (!pvpDenied) {
+                return;
+            }
+            ProtectedRegionIndex.Region region = regions.findDenying(pos.getX(), pos.getY(), pos.getZ(), ProtectedRegion.Flag.PVP);
+            if (region == null) {
                 return;
             }
 
@@ -244,7 +241,7 @@ public class SpawnProtectionSystem {
             // Cancel PvP damage
             event.setCancelled(true);
             event.setAmount(0);
-            attacker.sendMessage(Message.raw(PVP_MSG).color(MSG_COLOR));
+            attacker.sendMessage(Message.raw(region.isSpawn() ? PVP_MSG : REGION_PVP_MSG).color(MSG_COLOR));
         }
     }
 
@@ -266,21 +263,17 @@ public class SpawnProtectionSystem {
         @Override
         public void handle(int index, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
                           CommandBuffer<EntityStore> buffer, UseBlockEvent.Pre event) {
-            if (!service.isEnabled() || event.isCancelled()) return;
-            if (!service.isInteractionProtectionEnabled()) return;
-            
-            // Fast world check - skip worlds that have no spawn protection configured
-            String worldName = getWorldName(store);
-            if (worldName == null || !service.hasSpawnInWorld(worldName)) return;
+            if (event.isCancelled()) return;
             
-            if (!service.isInProtectedArea(worldName, event.getTargetBlock())) return;
+            ProtectedRegionIndex.Region region = findDenyingRegion(service, store, event.getTargetBlock(), ProtectedRegion.Flag.INTERACT);
+            if (region == null) return;
 
             PlayerRef player = chunk.getComponent(index, PlayerRef.getComponentType());
-            if (player != null && service.canBypass(player.getUuid())) return;
+            if (player != null && service.canBypass(player.getUuid(), region)) return;
 
             event.setCancelled(true);
             if (player != null) {
-                player.sendMessage(Message.raw(INTERACTION_MSG).color(MSG_COLOR));
+                player.sendMessage(Message.raw(region.isSpawn() ? INTERACTION_MSG : REGION_INTERACTION_MSG).color(MSG_COLOR));
             }
         }
     }
@@ -312,21 +305,22 @@ public class SpawnProtectionSystem {
         @Override
         public void handle(int index, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
                           CommandBuffer<EntityStore> buffer, InteractivelyPickupItemEvent event) {
-            if (!service.isEnabled() || event.isCancelled()) return;
-            if (!service.isItemPickupProtectionEnabled()) return;
+            if (event.isCancelled()) return;
 
-            // Fast world check - skip worlds that have no spawn protection configured
-            String worldName = getWorldName(store);
-            if (worldName == null || !service.hasSpawnInWorld(worldName)) return;
+            // Fast world check - skip worlds where no region denies item pickups
+            ProtectedRegionIndex regions = getIndex(service, store);
+            if (regions == null || !regions.anyDenies(ProtectedRegion.Flag.PICKUP)) return;
 
             PlayerRef player = chunk.getComponent(index, PlayerRef.getComponentType());
             if (player == null) return;
             
-            if (!service.isInProtectedArea(worldName, player.getTransform().getPosition())) return;
-            if (service.canBypass(player.getUuid())) return;
+            Vector3d pos = player.getTransform().getPosition();
+            ProtectedRegionIndex.Region region = regions.findDenying(pos.getX(), pos.getY(), pos.getZ(), ProtectedRegion.Flag.PICKUP);
+            if (region == null) return;
+            if (service.canBypass(player.getUuid(), region)) return;
 
             event.setCancelled(true);
-            player.sendMessage(Message.raw(PICKUP_MSG).color(MSG_COLOR));
+            player.sendMessage(Message.raw(region.isSpawn() ? PICKUP_MSG : REGION_PICKUP_MSG).color(MSG_COLOR));
         }
     }
 
@@ -352,37 +346,49 @@ public class SpawnProtectionSystem {
         @Override
         public void handle(int index, ArchetypeChunk<EntityStore> chunk, Store<EntityStore> store,
                           CommandBuffer<EntityStore> buffer, DropItemEvent.PlayerRequest event) {
-            if (!service.isEnabled() || event.isCancelled()) return;
-            if (!service.isItemDropProtectionEnabled()) return;
+            if (event.isCancelled()) return;
 
-            // Fast world check - skip worlds that have no spawn protection configured
-            String worldName = getWorldName(store);
-            if (worldName == null || !service.hasSpawnInWorld(worldName)) return;
+            // Fast world check - skip worlds where no region denies item drops
+            ProtectedRegionIndex regions = getIndex(service, store);
+            if (regions == null || !regions.anyDenies(ProtectedRegion.Flag.DROP)) return;
 
             PlayerRef player = chunk.getComponent(index, PlayerRef.getComponentType());
             if (player == null) return;
             
-            if (!service.isInProtectedArea(worldName, player.getTransform().getPosition())) return;
-            if (service.canBypass(player.getUuid())) return;
+            Vector3d pos = player.getTransform().getPosition();
+            ProtectedRegionIndex.Region region = regions.findDenying(pos.getX(), pos.getY(), pos.getZ(), ProtectedRegion.Flag.DROP);
+            if (region == null) return;
+            if (service.canBypass(player.getUuid(), region)) return;
 
             event.setCancelled(true);
-            player.sendMessage(Message.raw(DROP_MSG).color(MSG_COLOR));
+            player.sendMessage(Message.raw(region.isSpawn() ? DROP_MSG : REGION_DROP_MSG).color(MSG_COLOR));
         }
     }
     
     // ==================== HELPER METHODS ====================
     
     /**
-     * Get the world name from the store's external data.
-     * Returns null if world cannot be determined.
+     * Get the region index for the store's world.
+     * Returns null if the world cannot be determined or has no protected regions.
      */
-    private static String getWorldName(Store<EntityStore> store) {
+    private static ProtectedRegionIndex getIndex(SpawnProtectionService service, Store<EntityStore> store) {
         EntityStore entityStore = store.getExternalData();
         if (entityStore == null) return null;
         
         World world = entityStore.getWorld();
         if (world == null) return null;
         
-        return world.getName();
+        return service.getIndex(world.getName());
+    }
+
+    /**
+     * Find the region denying a flag at a block position in the store's world.
+     * Returns null if the action is allowed.
+     */
+    private static ProtectedRegionIndex.Region findDenyingRegion(SpawnProtectionService service, Store<EntityStore> store,
+                                                                 Vector3i block, ProtectedRegion.Flag flag) {
+        ProtectedRegionIndex regions = getIndex(service, store);
+        if (regions == null || !regions.anyDenies(flag)) return null;
+        return regions.findDenying(block.getX(), block.getY(), block.getZ(), flag);
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.eliteessentials.util;
+
+import com.hypixel.hytale.protocol.BlockMaterial;
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ground lookups on loaded chunks, through the per-world {@link ColumnScanner}.
+ *
+ * The chunk heightmap and the per-section "all air" flag are not part of the stable
+ * plugin API, so they are looked up reflectively once per server run (like the fluid
+ * lookup in {@link RtpLocationUtil}); without them every lookup is a plain walk.
+ *
+ * Must be called on the chunk's world thread.
+ */
+public final class ChunkColumns {
+
+    private static final int CHUNK_MASK = 31;
+
+    // World name -> scanner holding that world's heightmap trust
+    private static final Map<String, ColumnScanner> scanners = new ConcurrentHashMap<>();
+
+    // Reflective accessors, resolved once per server run
+    private static volatile boolean resolved;
+    private static Method getBlockChunkMethod;
+    private static Method getHeightMethod;
+    private static Method getSectionMethod;
+    private static Method isSolidAirMethod;
+
+    private ChunkColumns() {}
+
+    /**
+     * Highest solid block in a column.
+     *
+     * @return the Y of the highest solid block, or null if none at or above minY
+     */
+    public static Integer findHighestSolid(World world, WorldChunk chunk, int x, int z, int minY) {
+        return scanner(world).findHighestSolid(new ChunkColumn(chunk, x, z), minY);
+    }
+
+    /**
+     * Highest solid block at or below startY (e.g. under a falling player).
+     *
+     * @return the Y of the solid block, or null if the column is empty below startY
+     */
+    public static Integer findHighestSolidBelow(World world, WorldChunk chunk, int x, int z, int startY) {
+        return scanner(world).findHighestSolidBelow(new ChunkColumn(chunk, x, z), startY);
+    }
+
+    private static ColumnScanner scanner(World world) {
+        return scanners.computeIfAbsent(world.getName(), ColumnScanner::new);
+    }
+
+    /**
+     * One column of a chunk. Created per lookup and used on the world thread only.
+     */
+    private static final class ChunkColumn implements ColumnScanner.Column {
+        private final WorldChunk chunk;
+        private final int x;
+        private final int z;
+        private Object blockChunk;
+
+        ChunkColumn(WorldChunk chunk, int x, int z) {
+            resolveAccessors(chunk);
+            this.chunk = chunk;
+            this.x = x;
+            this.z = z;
+        }
+
+        @Override
+        public boolean isSolid(int y) {
+            try {
+                BlockType blockType = chunk.getBlockType(x, y, z);
+                return blockType != null && blockType.getMaterial() == BlockMaterial.Solid;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        @Override
+        public int heightHint() {
+            if (getHeightMethod == null) return ColumnScanner.NO_HINT;
+            try {
+                Object target = getHeightMethod.getDeclaringClass().isInstance(chunk) ? chunk : blockChunk();
+                if (target == null) return ColumnScanner.NO_HINT;
+                Object height = getHeightMethod.invoke(target, x & CHUNK_MASK, z & CHUNK_MASK);
+                return height instanceof Number number ? number.intValue() : ColumnScanner.NO_HINT;
+            } catch (Exception e) {
+                return ColumnScanner.NO_HINT;
+            }
+        }
+
+        @Override
+        public boolean isSectionEmpty(int sectionIndex) {
+            if (isSolidAirMethod == null) return false;
+            try {
+                Object owner = blockChunk();
+                if (owner == null) return false;
+                Object section = getSectionMethod.invoke(owner, sectionIndex);
+                return section != null && Boolean.TRUE.equals(isSolidAirMethod.invoke(section));
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        private Object blockChunk() throws Exception {
+            if (blockChunk == null && getBlockChunkMethod != null) {
+                blockChunk = getBlockChunkMethod.invoke(chunk);
+            }
+            return blockChunk;
+        }
+    }
+
+    private static void resolveAccessors(WorldChunk chunk) {
+        if (resolved) return;
+        synchronized (ChunkColumns.class) {
+            if (resolved) return;
+            Class<?> chunkClass = chunk.getClass();
+            getHeightMethod = findMethod(chunkClass, "getHeight", int.class, int.class);
+            getBlockChunkMethod = findMethod(chunkClass, "getBlockChunk");
+            if (getBlockChunkMethod != null) {
+                Class<?> blockChunkClass = getBlockChunkMethod.getReturnType();
+                if (getHeightMethod == null) {
+                    getHeightMethod = findMethod(blockChunkClass, "getHeight", int.class, int.class);
+                }
+                getSectionMethod = findMethod(blockChunkClass, "getSectionAtIndex", int.class);
+                if (getSectionMethod == null) {
+                    getSectionMethod = findMethod(blockChunkClass, "getSection", int.class);
+                }
+                if (getSectionMethod != null) {
+                    isSolidAirMethod = findMethod(getSectionMethod.getReturnType(), "isSolidAir");
+                }
+            }
+            resolved = true;
+        }
+    }
+
+    private static Method findMethod(Class<?> type, String name, Class<?>... params) {
+        try {
+            return type.getMethod(name, params);
+        } catch (NoSuchMethodException | SecurityException e) {
+            return null;
+        }
+    }
+}
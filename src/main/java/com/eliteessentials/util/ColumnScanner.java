@@ -0,0 +1,129 @@
+package com.eliteessentials.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Finds the highest solid block in a column without walking every Y from the top.
+ *
+ * The scan starts at the column's heightmap value when one is available and skips
+ * sections the column reports as empty. Block access goes through {@link Column}, so
+ * the algorithm has no server types in it; {@link ChunkColumns} adapts a WorldChunk.
+ *
+ * One scanner is kept per world because that is the scope a heightmap is right or
+ * wrong in. The heightmap only has to be an upper bound of the highest solid block;
+ * it is trusted once the first {@value #CALIBRATION_COLUMNS} columns agree with a plain
+ * top-down walk, and every {@value #VERIFY_INTERVAL}th column after that is walked in
+ * full again. The first disagreement stops heightmap use for that world.
+ *
+ * Results are not cached: every lookup reads the column as it is now.
+ */
+public final class ColumnScanner {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+
+    /** Highest Y scanned (matches the previous top-down walks) */
+    public static final int MAX_Y = 255;
+
+    /** Height of a chunk section, the unit of {@link Column#isSectionEmpty} */
+    public static final int SECTION_HEIGHT = 32;
+
+    /** Returned by {@link Column#heightHint()} when the column has no heightmap */
+    public static final int NO_HINT = Integer.MIN_VALUE;
+
+    private static final int NO_SOLID = -1;
+    private static final int CALIBRATION_COLUMNS = 8;
+    private static final int VERIFY_INTERVAL = 64;
+
+    /**
+     * Block access for one column. Implementations may be called many times per lookup,
+     * so they should not allocate.
+     */
+    public interface Column {
+        boolean isSolid(int y);
+
+        /** Heightmap value for this column, or {@link #NO_HINT}. */
+        int heightHint();
+
+        /** True only if the whole section is known to be air. */
+        boolean isSectionEmpty(int sectionIndex);
+    }
+
+    private final String name;
+    private final AtomicLong lookups = new AtomicLong();
+    private volatile boolean heightmapDisabled;
+
+    public ColumnScanner(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Highest solid block in a column.
+     *
+     * @param minY lowest acceptable result
+     * @return the Y of the highest solid block, or null if there is none at or above minY
+     */
+    public Integer findHighestSolid(Column column, int minY) {
+        int y = highestSolid(column);
+        return y != NO_SOLID && y >= minY ? y : null;
+    }
+
+    /**
+     * Highest solid block at or below a starting height (e.g. under a falling player).
+     *
+     * @return the Y of the solid block, or null if the column is empty below startY
+     */
+    public Integer findHighestSolidBelow(Column column, int startY) {
+        if (startY < 0) return null;
+        int top = highestSolid(column);
+        if (top == NO_SOLID) return null;
+        if (top <= startY) return top;
+
+        // Something solid above the start height (overhang); walk down from the start instead
+        int y = scanDown(column, Math.min(startY, MAX_Y));
+        return y == NO_SOLID ? null : y;
+    }
+
+    /**
+     * Whether lookups in this world currently start at the heightmap.
+     */
+    public boolean isHeightmapTrusted() {
+        return !heightmapDisabled && lookups.get() >= CALIBRATION_COLUMNS;
+    }
+
+    private int highestSolid(Column column) {
+        int hint = heightmapDisabled ? NO_HINT : column.heightHint();
+        if (hint == NO_HINT) {
+            return scanDown(column, MAX_Y);
+        }
+
+        long lookup = lookups.getAndIncrement();
+        if (lookup < CALIBRATION_COLUMNS || lookup % VERIFY_INTERVAL == 0) {
+            int actual = scanDown(column, MAX_Y);
+            if (actual != NO_SOLID && hint < actual) {
+                heightmapDisabled = true;
+                logger.fine("[ColumnScanner] Heightmap in " + name + " is below the highest solid block, using full column scans");
+            }
+            return actual;
+        }
+        return scanDown(column, Math.min(hint, MAX_Y));
+    }
+
+    /**
+     * Walk down from fromY to 0, skipping sections the column reports as empty.
+     */
+    static int scanDown(Column column, int fromY) {
+        int y = fromY;
+        while (y >= 0) {
+            if ((y & (SECTION_HEIGHT - 1)) == SECTION_HEIGHT - 1 && column.isSectionEmpty(y / SECTION_HEIGHT)) {
+                y -= SECTION_HEIGHT;
+                continue;
+            }
+            if (column.isSolid(y)) {
+                return y;
+            }
+            y--;
+        }
+        return NO_SOLID;
+    }
+}
@@ -9,7 +9,9 @@ import com.hypixel.hytale.server.core.universe.world.World;
 
 import javax.annotation.Nonnull;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -22,6 +24,9 @@ import java.util.logging.Logger;
  *
  * Supported placeholders:
  * - {player} or %player% - replaced with player's username
+ *
+ * Commands are compiled into {@link CommandTemplate}s the first time they run and
+ * reused after that, since kit and reward commands come from config and repeat.
  */
 public final class CommandExecutor {
 
@@ -31,6 +36,39 @@ public final class CommandExecutor {
     private static volatile int delayBetweenCommandsMs = 0;
     private static volatile ScheduledExecutorService delayScheduler;
 
+    /** Compiled templates by command text; reset if it grows past MAX_TEMPLATES */
+    private static final int MAX_TEMPLATES = 1024;
+    private static final Map<String, CommandTemplate> templates = new ConcurrentHashMap<>();
+
+    private static final CommandSender CONSOLE_SENDER = new CommandSender() {
+        @Override
+        public String getDisplayName() {
+            return "Console";
+        }
+
+        @Override
+        public UUID getUuid() {
+            return new UUID(0, 0);
+        }
+
+        @Override
+        public void sendMessage(@Nonnull Message message) {
+            if (debugEnabled) {
+                logger.info("[Console] " + message.toString());
+            }
+        }
+
+        @Override
+        public boolean hasPermission(@Nonnull String permission) {
+            return true;
+        }
+
+        @Override
+        public boolean hasPermission(@Nonnull String permission, boolean defaultValue) {
+            return true;
+        }
+    };
+
     private CommandExecutor() {}
 
     /**
@@ -73,13 +111,30 @@ public final class CommandExecutor {
         ScheduledExecutorService scheduler = getDelayScheduler();
         for (int i = 0; i < commands.size(); i++) {
             String command = commands.get(i);
+            if (command == null) continue;
+            CommandTemplate template = getTemplate(command);
             long delay = (long) initialDelayMs + (long) i * delayMs;
             if (delay == 0) {
-                executeCommand(command, playerName, playerId, source);
+                executeTemplate(template, playerName, playerId, source);
             } else {
-                scheduler.schedule(() -> executeCommand(command, playerName, playerId, source), delay, TimeUnit.MILLISECONDS);
+                scheduler.schedule(() -> executeTemplate(template, playerName, playerId, source), delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Get the compiled template for a command.
+     */
+    public static CommandTemplate getTemplate(String command) {
+        CommandTemplate template = templates.get(command);
+        if (template == null) {
+            if (templates.size() >= MAX_TEMPLATES) {
+                templates.clear();
             }
+            template = CommandTemplate.compile(command);
+            templates.put(command, template);
         }
+        return template;
     }
 
     private static ScheduledExecutorService getDelayScheduler() {
@@ -101,24 +156,20 @@ public final class CommandExecutor {
      * Execute a single command as console with placeholder replacement.
      */
     public static void executeCommand(String command, String playerName, UUID playerId, String source) {
-        try {
-            String processedCommand = command
-                    .replace("{player}", playerName)
-                    .replace("%player%", playerName)
-                    .trim();
-
-            if (processedCommand.startsWith("/")) {
-                processedCommand = processedCommand.substring(1);
-            }
-
-            if (processedCommand.startsWith("\"") && processedCommand.endsWith("\"")) {
-                processedCommand = processedCommand.substring(1, processedCommand.length() - 1);
-            }
+        if (command == null) return;
+        executeTemplate(getTemplate(command), playerName, playerId, source);
+    }
 
-            if (processedCommand.isEmpty()) {
-                logger.warning("[" + source + "] Empty command after processing: " + command);
+    /**
+     * Execute a compiled command as console for a player.
+     */
+    public static void executeTemplate(CommandTemplate template, String playerName, UUID playerId, String source) {
+        try {
+            if (template.isEmpty()) {
+                logger.warning("[" + source + "] Empty command after processing: " + template.getSource());
                 return;
             }
+            String processedCommand = template.render(playerName);
 
             PlayerRef playerRef = Universe.get().getPlayer(playerId);
             World world = null;
@@ -142,40 +193,11 @@ public final class CommandExecutor {
                 try {
                     CommandManager cm = CommandManager.get();
 
-                    CommandSender consoleSender = new CommandSender() {
-                        @Override
-                        public String getDisplayName() {
-                            return "Console";
-                        }
-
-                        @Override
-                        public UUID getUuid() {
-                            return new UUID(0, 0);
-                        }
-
-                        @Override
-                        public void sendMessage(@Nonnull Message message) {
-                            if (debugEnabled) {
-                                logger.info("[" + logSource + "-Console] " + message.toString());
-                            }
-                        }
-
-                        @Override
-                        public boolean hasPermission(@Nonnull String permission) {
-                            return true;
-                        }
-
-                        @Override
-                        public boolean hasPermission(@Nonnull String permission, boolean defaultValue) {
-                            return true;
-                        }
-                    };
-
                     if (debugEnabled) {
                         logger.info("[" + logSource + "] Executing command: " + finalCommand);
                     }
 
-                    cm.handleCommand(consoleSender, finalCommand);
+                    cm.handleCommand(CONSOLE_SENDER, finalCommand);
 
                 } catch (Exception e) {
                     logger.warning("[" + logSource + "] Failed to execute command '" + finalCommand + "': " + e.getMessage());
@@ -183,7 +205,7 @@ public final class CommandExecutor {
             });
 
         } catch (Exception e) {
-            logger.warning("[" + source + "] Failed to process command '" + command + "': " + e.getMessage());
+            logger.warning("[" + source + "] Failed to process command '" + template.getSource() + "': " + e.getMessage());
         }
     }
 }
@@ -0,0 +1,77 @@
+package com.eliteessentials.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A console command from config (kits, playtime rewards) compiled once: the leading /
+ * and surrounding quotes are stripped and the text is split around the player
+ * placeholders ({player} or %player%), so running it is a single concatenation.
+ */
+public final class CommandTemplate {
+
+    private static final String[] PLAYER_PLACEHOLDERS = {"{player}", "%player%"};
+
+    private final String source;
+    // Literal text; a player name goes between each pair
+    private final String[] literals;
+
+    private CommandTemplate(String source, String[] literals) {
+        this.source = source;
+        this.literals = literals;
+    }
+
+    /**
+     * Compile a command as written in config.
+     */
+    public static CommandTemplate compile(String command) {
+        String processed = command.trim();
+        if (processed.startsWith("/")) {
+            processed = processed.substring(1);
+        }
+        if (processed.startsWith("\"") && processed.endsWith("\"")) {
+            processed = processed.substring(1, processed.length() - 1);
+        }
+
+        List<String> literals = new ArrayList<>();
+        int start = 0;
+        int i = 0;
+        outer:
+        while (i < processed.length()) {
+            for (String placeholder : PLAYER_PLACEHOLDERS) {
+                if (processed.startsWith(placeholder, i)) {
+                    literals.add(processed.substring(start, i));
+                    i += placeholder.length();
+                    start = i;
+                    continue outer;
+                }
+            }
+            i++;
+        }
+        literals.add(processed.substring(start));
+        return new CommandTemplate(command, literals.toArray(new String[0]));
+    }
+
+    /**
+     * The command as written in config.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public boolean isEmpty() {
+        return literals.length == 1 && literals[0].isEmpty();
+    }
+
+    /**
+     * Fill in the player name.
+     */
+    public String render(String playerName) {
+        if (literals.length == 1) return literals[0];
+        StringBuilder sb = new StringBuilder(literals[0]);
+        for (int i = 1; i < literals.length; i++) {
+            sb.append(playerName).append(literals[i]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,186 @@
+package com.eliteessentials.util;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Sets a few fields in a Hytale save file (universe/players/{uuid}.json) without
+ * loading it into a tree. Used by spawn-on-logout to move a player's saved position.
+ *
+ * The file is streamed token by token into a temp file next to it, replacing only the
+ * requested fields, then moved over the original. Everything else (inventories, numbers
+ * as written) is copied through unchanged.
+ *
+ * Usage:
+ * <pre>
+ * HytaleSaveFilePatcher patcher = new HytaleSaveFilePatcher();
+ * patcher.object("Components", "Transform", "Position").set("X", x).set("Y", y).set("Z", z);
+ * int patched = patcher.apply(file);
+ * </pre>
+ */
+public final class HytaleSaveFilePatcher {
+
+    /** Separates path segments in keys; world names can contain dots */
+    private static final char SEPARATOR = '\u0000';
+
+    private final Map<String, Fields> objects = new HashMap<>();
+    private final Set<String> parents = new HashSet<>();
+
+    /**
+     * Select an object by its key path from the root. Fields set on it are only written if
+     * the object exists in the file; fields it doesn't have yet are added.
+     */
+    public Fields object(String... path) {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < path.length; i++) {
+            if (i > 0) {
+                parents.add(key.toString());
+                key.append(SEPARATOR);
+            }
+            key.append(path[i]);
+        }
+        return objects.computeIfAbsent(key.toString(), k -> new Fields());
+    }
+
+    /**
+     * Rewrite the file with the selected fields replaced.
+     *
+     * @return number of selected objects found and patched; the file is left untouched if 0
+     */
+    public int apply(File file) throws IOException {
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        int patched;
+        try (JsonReader reader = new JsonReader(new BufferedReader(
+                     new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)));
+             JsonWriter writer = new JsonWriter(new BufferedWriter(
+                     new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)))) {
+            writer.setIndent("  ");
+            patched = copyValue(reader, writer, "");
+        } catch (IOException | RuntimeException e) {
+            temp.delete();
+            throw e;
+        }
+
+        if (patched == 0) {
+            temp.delete();
+            return 0;
+        }
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return patched;
+    }
+
+    /**
+     * Copy one value. {@code path} is the key of the value, or null when nothing below it
+     * is patched.
+     */
+    private int copyValue(JsonReader reader, JsonWriter writer, String path) throws IOException {
+        JsonToken token = reader.peek();
+        switch (token) {
+            case BEGIN_OBJECT:
+                return copyObject(reader, writer, path);
+            case BEGIN_ARRAY: {
+                int patched = 0;
+                reader.beginArray();
+                writer.beginArray();
+                while (reader.hasNext()) {
+                    patched += copyValue(reader, writer, null);
+                }
+                reader.endArray();
+                writer.endArray();
+                return patched;
+            }
+            case STRING:
+                writer.value(reader.nextString());
+                return 0;
+            case NUMBER:
+                // Keep the number exactly as written
+                writer.jsonValue(reader.nextString());
+                return 0;
+            case BOOLEAN:
+                writer.value(reader.nextBoolean());
+                return 0;
+            case NULL:
+                reader.nextNull();
+                writer.nullValue();
+                return 0;
+            default:
+                throw new IOException("Unexpected " + token + " in save file");
+        }
+    }
+
+    private int copyObject(JsonReader reader, JsonWriter writer, String path) throws IOException {
+        Fields fields = path != null ? objects.get(path) : null;
+        Set<String> replaced = fields != null ? new HashSet<>() : null;
+        int patched = 0;
+
+        reader.beginObject();
+        writer.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            writer.name(name);
+            if (fields != null && fields.values.containsKey(name)) {
+                reader.skipValue();
+                writeField(writer, fields.values.get(name));
+                replaced.add(name);
+                continue;
+            }
+            String child = null;
+            if (path != null) {
+                String key = path.isEmpty() ? name : path + SEPARATOR + name;
+                if (parents.contains(key) || objects.containsKey(key)) {
+                    child = key;
+                }
+            }
+            patched += copyValue(reader, writer, child);
+        }
+        if (fields != null) {
+            for (Map.Entry<String, Object> entry : fields.values.entrySet()) {
+                if (!replaced.contains(entry.getKey())) {
+                    writer.name(entry.getKey());
+                    writeField(writer, entry.getValue());
+                }
+            }
+            patched++;
+        }
+        reader.endObject();
+        writer.endObject();
+        return patched;
+    }
+
+    private static void writeField(JsonWriter writer, Object value) throws IOException {
+        if (value instanceof Number) {
+            writer.value((Number) value);
+        } else {
+            writer.value((String) value);
+        }
+    }
+
+    /**
+     * Fields to set on one selected object.
+     */
+    public static final class Fields {
+        private final Map<String, Object> values = new LinkedHashMap<>();
+
+        public Fields set(String name, Number value) {
+            values.put(name, value);
+            return this;
+        }
+
+        public Fields set(String name, String value) {
+            values.put(name, value);
+            return this;
+        }
+    }
+}
@@ -1,23 +1,45 @@
 package com.eliteessentials.util;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 /**
  * Reads position (and world) from a player's Hytale save file (universe/players/{uuid}.json).
  * Used for /playerinfo to show "last saved" coordinates when the player is offline.
- * The same file is rewritten by spawn-on-logout to set spawn coordinates.
+ * The same file is rewritten by spawn-on-logout to set spawn coordinates (see {@link HytaleSaveFilePatcher}).
+ *
+ * Save files carry the whole entity (inventories and every component), so the file is
+ * streamed and only the requested paths are bound. Positions recorded at quit are kept in
+ * a small cache so most offline lookups never open the file.
  */
 public final class HytaleSaveFileReader {
 
+    private static final String POSITION_PATH = "Components.Transform.Position";
+    private static final String WORLD_PATH = "Components.Player.PlayerData.World";
+
+    /** Offline players whose last position is remembered */
+    private static final int CACHE_SIZE = 1024;
+
+    private static final Map<UUID, SavedPosition> offlinePositions =
+        new LinkedHashMap<UUID, SavedPosition>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, SavedPosition> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+
     private HytaleSaveFileReader() {}
 
     /**
@@ -37,6 +59,13 @@ public final class HytaleSaveFileReader {
         }
     }
 
+    /**
+     * Get the path of a player's Hytale save file.
+     */
+    public static File getSaveFile(UUID playerId) {
+        return Path.of("universe", "players", playerId.toString() + ".json").toFile();
+    }
+
     /**
      * Read the last saved position from the player's Hytale save file.
      * Path: universe/players/{uuid}.json. Reads Components.Transform.Position and
@@ -47,39 +76,107 @@ public final class HytaleSaveFileReader {
      */
     public static Optional<SavedPosition> readPosition(UUID playerId) {
         if (playerId == null) return Optional.empty();
-        Path path = Path.of("universe", "players", playerId.toString() + ".json");
-        File file = path.toFile();
-        if (!file.exists()) return Optional.empty();
 
-        try (var reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
-            JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
-            JsonObject components = root.getAsJsonObject("Components");
-            if (components == null) return Optional.empty();
+        synchronized (offlinePositions) {
+            SavedPosition cached = offlinePositions.get(playerId);
+            if (cached != null) return Optional.of(cached);
+        }
 
-            JsonObject transform = components.getAsJsonObject("Transform");
-            if (transform == null) return Optional.empty();
-            JsonObject position = transform.getAsJsonObject("Position");
-            if (position == null) return Optional.empty();
+        File file = getSaveFile(playerId);
+        if (!file.exists()) return Optional.empty();
+
+        try {
+            Map<String, JsonElement> values = extract(file, POSITION_PATH, WORLD_PATH);
+            JsonElement positionElement = values.get(POSITION_PATH);
+            if (positionElement == null || !positionElement.isJsonObject()) return Optional.empty();
+            JsonObject position = positionElement.getAsJsonObject();
 
             double x = getDouble(position, "X", 0);
             double y = getDouble(position, "Y", 0);
             double z = getDouble(position, "Z", 0);
 
             String world = "?";
-            JsonObject player = components.getAsJsonObject("Player");
-            if (player != null) {
-                JsonObject playerData = player.getAsJsonObject("PlayerData");
-                if (playerData != null && playerData.has("World")) {
-                    world = playerData.get("World").getAsString();
-                }
+            JsonElement worldElement = values.get(WORLD_PATH);
+            if (worldElement != null && worldElement.isJsonPrimitive()) {
+                world = worldElement.getAsString();
             }
 
-            return Optional.of(new SavedPosition(x, y, z, world));
+            SavedPosition saved = new SavedPosition(x, y, z, world);
+            rememberPosition(playerId, saved);
+            return Optional.of(saved);
         } catch (Exception e) {
             return Optional.empty();
         }
     }
 
+    /**
+     * Record where an offline player's save file puts them (called at quit and after
+     * spawn-on-logout rewrites the file).
+     */
+    public static void rememberPosition(UUID playerId, SavedPosition position) {
+        synchronized (offlinePositions) {
+            offlinePositions.put(playerId, position);
+        }
+    }
+
+    /**
+     * Forget a player's cached position (called when they join, since the save file
+     * will change again).
+     */
+    public static void forgetPosition(UUID playerId) {
+        synchronized (offlinePositions) {
+            offlinePositions.remove(playerId);
+        }
+    }
+
+    /**
+     * Read only the values at the given dotted paths (object keys from the root), stopping
+     * as soon as all of them have been read. Everything else is skipped without building
+     * a tree. Paths that don't exist are absent from the result.
+     */
+    public static Map<String, JsonElement> extract(File file, String... paths) throws IOException {
+        Set<String> wanted = new HashSet<>(Arrays.asList(paths));
+        Set<String> parents = new HashSet<>();
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+            while (dot >= 0) {
+                parents.add(path.substring(0, dot));
+                dot = path.indexOf('.', dot + 1);
+            }
+        }
+
+        Map<String, JsonElement> found = new HashMap<>();
+        try (JsonReader reader = new JsonReader(new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)))) {
+            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                extractObject(reader, null, wanted, parents, found);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return true once every wanted path has been found (the caller stops reading)
+     */
+    private static boolean extractObject(JsonReader reader, String path, Set<String> wanted,
+                                         Set<String> parents, Map<String, JsonElement> found) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            String child = path == null ? name : path + "." + name;
+            if (wanted.contains(child)) {
+                found.put(child, JsonParser.parseReader(reader));
+                if (found.size() == wanted.size()) return true;
+            } else if (parents.contains(child) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                if (extractObject(reader, child, wanted, parents, found)) return true;
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return false;
+    }
+
     private static double getDouble(JsonObject obj, String key, double defaultValue) {
         if (!obj.has(key)) return defaultValue;
         try {
@@ -0,0 +1,297 @@
+package com.eliteessentials.util;
+
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An IPv4 or IPv6 network: address bytes plus prefix length. A single address is a
+ * network with a full-length prefix (/32 or /128).
+ *
+ * Parsing never does a DNS lookup: both families are parsed by hand, and anything else
+ * is rejected. IPv4-mapped IPv6 addresses (::ffff:1.2.3.4) come out as
+ * IPv4, so a player connecting over a dual-stack socket still matches IPv4 bans.
+ */
+public final class IpCidr {
+
+    private final byte[] address;
+    private final int prefixLength;
+
+    private IpCidr(byte[] address, int prefixLength) {
+        this.address = address;
+        this.prefixLength = prefixLength;
+    }
+
+    /** Address bytes with the host bits cleared (4 or 16 bytes). */
+    public byte[] address() {
+        return address;
+    }
+
+    public int prefixLength() {
+        return prefixLength;
+    }
+
+    public boolean isIpv4() {
+        return address.length == 4;
+    }
+
+    public boolean isSingleAddress() {
+        return prefixLength == address.length * 8;
+    }
+
+    /** The highest address in the network (host bits all set). */
+    public byte[] lastAddress() {
+        byte[] last = Arrays.copyOf(address, address.length);
+        for (int i = 0; i < last.length; i++) {
+            int keep = Math.max(0, Math.min(8, prefixLength - i * 8));
+            last[i] |= (byte) (0xFF >>> keep);
+        }
+        return last;
+    }
+
+    /**
+     * Parse "1.2.3.4", "1.2.3.0/24", "2001:db8::/32" and the like.
+     *
+     * @return the network, or null if the text is not one
+     */
+    public static IpCidr parse(String text) {
+        if (text == null) return null;
+        text = text.trim();
+        int slash = text.indexOf('/');
+        byte[] bytes = parseAddress(slash >= 0 ? text.substring(0, slash) : text);
+        if (bytes == null) return null;
+        int bits = bytes.length * 8;
+        int length = bits;
+        if (slash >= 0) {
+            try {
+                length = Integer.parseInt(text.substring(slash + 1).trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (length < 0 || length > bits) return null;
+        }
+        return new IpCidr(mask(bytes, length), length);
+    }
+
+    /**
+     * Address bytes of an IP literal (4 for IPv4, 16 for IPv6), or null.
+     */
+    public static byte[] parseAddress(String text) {
+        if (text == null || text.isEmpty()) return null;
+        if (text.indexOf(':') < 0) {
+            return parseIpv4(text);
+        }
+        // Zone ids (fe80::1%eth0) never appear in bans; drop them
+        int zone = text.indexOf('%');
+        if (zone >= 0) text = text.substring(0, zone);
+        if (text.startsWith("[") && text.endsWith("]")) text = text.substring(1, text.length() - 1);
+        byte[] bytes = parseIpv6(text);
+        if (bytes == null) return null;
+        // IPv4-mapped (::ffff:a.b.c.d) is the IPv4 address
+        for (int i = 0; i < 10; i++) {
+            if (bytes[i] != 0) return bytes;
+        }
+        return bytes[10] == (byte) 0xFF && bytes[11] == (byte) 0xFF ? Arrays.copyOfRange(bytes, 12, 16) : bytes;
+    }
+
+    /**
+     * Hex groups with at most one "::" and an optional dotted IPv4 tail. Done by hand:
+     * InetAddress costs microseconds per call, and this runs on every connect.
+     */
+    private static byte[] parseIpv6(String text) {
+        byte[] bytes = new byte[16];
+        int length = text.length();
+        int pos = 0;
+        int out = 0;
+        int gap = -1;
+        if (text.startsWith("::")) {
+            gap = 0;
+            pos = 2;
+        }
+        while (pos < length) {
+            if (out >= 16) return null;
+            int end = pos;
+            int value = 0;
+            while (end < length) {
+                int digit = hexDigit(text.charAt(end));
+                if (digit < 0) break;
+                value = (value << 4) | digit;
+                if (value > 0xFFFF) return null;
+                end++;
+            }
+            if (end < length && text.charAt(end) == '.') {
+                // Dotted IPv4 tail takes the last 4 bytes
+                byte[] v4 = out <= 12 ? parseIpv4(text.substring(pos)) : null;
+                if (v4 == null) return null;
+                System.arraycopy(v4, 0, bytes, out, 4);
+                out += 4;
+                pos = length;
+                break;
+            }
+            if (end == pos) return null;
+            bytes[out++] = (byte) (value >>> 8);
+            bytes[out++] = (byte) value;
+            pos = end;
+            if (pos == length) break;
+            if (text.charAt(pos) != ':') return null;
+            pos++;
+            if (pos < length && text.charAt(pos) == ':') {
+                if (gap >= 0) return null;
+                gap = out;
+                pos++;
+            } else if (pos == length) {
+                return null;
+            }
+        }
+        if (gap >= 0) {
+            if (out == 16) return null;
+            int tail = out - gap;
+            System.arraycopy(bytes, gap, bytes, 16 - tail, tail);
+            Arrays.fill(bytes, gap, 16 - tail, (byte) 0);
+        } else if (out != 16) {
+            return null;
+        }
+        return bytes;
+    }
+
+    private static byte[] parseIpv4(String text) {
+        byte[] bytes = new byte[4];
+        int part = 0;
+        int value = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : '.';
+            if (c == '.') {
+                if (value < 0 || part >= 4) return null;
+                bytes[part++] = (byte) value;
+                value = -1;
+            } else if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 255) return null;
+            } else {
+                return null;
+            }
+        }
+        return part == 4 ? bytes : null;
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+    /**
+     * The smallest set of networks covering {@code from} to {@code to} inclusive
+     * (e.g. 10.0.0.0-10.0.1.255 is 10.0.0.0/23).
+     *
+     * @return the networks, or null if the bounds are invalid, of different families or reversed
+     */
+    public static List<IpCidr> fromRange(String from, String to) {
+        byte[] start = parseAddress(from != null ? from.trim() : null);
+        byte[] end = parseAddress(to != null ? to.trim() : null);
+        if (start == null || end == null || start.length != end.length) return null;
+
+        int bits = start.length * 8;
+        BigInteger lo = new BigInteger(1, start);
+        BigInteger hi = new BigInteger(1, end);
+        if (lo.compareTo(hi) > 0) return null;
+
+        List<IpCidr> result = new ArrayList<>();
+        while (lo.compareTo(hi) <= 0) {
+            // Largest block aligned at lo that does not run past hi
+            int size = lo.signum() == 0 ? bits : lo.getLowestSetBit();
+            int remaining = hi.subtract(lo).add(BigInteger.ONE).bitLength() - 1;
+            size = Math.min(size, remaining);
+            result.add(new IpCidr(toBytes(lo, start.length), bits - size));
+            lo = lo.add(BigInteger.ONE.shiftLeft(size));
+        }
+        return result;
+    }
+
+    /**
+     * Parse a blocklist or command entry: a single address, a CIDR network or a
+     * "start-end" range.
+     *
+     * @return the networks it covers, or null if it is none of those
+     */
+    public static List<IpCidr> parseSpec(String spec) {
+        if (spec == null) return null;
+        spec = spec.trim();
+        int dash = spec.indexOf('-');
+        if (dash > 0) {
+            return fromRange(spec.substring(0, dash), spec.substring(dash + 1));
+        }
+        IpCidr cidr = parse(spec);
+        return cidr != null ? List.of(cidr) : null;
+    }
+
+    /**
+     * The bit at {@code index} (0 = most significant) of an address.
+     */
+    public static int bit(byte[] address, int index) {
+        return (address[index >>> 3] >>> (7 - (index & 7))) & 1;
+    }
+
+    private static byte[] mask(byte[] bytes, int length) {
+        byte[] masked = Arrays.copyOf(bytes, bytes.length);
+        for (int i = 0; i < masked.length; i++) {
+            int keep = Math.max(0, Math.min(8, length - i * 8));
+            masked[i] &= (byte) (0xFF << (8 - keep));
+        }
+        return masked;
+    }
+
+    private static byte[] toBytes(BigInteger value, int length) {
+        byte[] raw = value.toByteArray();
+        byte[] bytes = new byte[length];
+        int copy = Math.min(raw.length, length);
+        System.arraycopy(raw, raw.length - copy, bytes, length - copy, copy);
+        return bytes;
+    }
+
+    /**
+     * Canonical text: the bare address for a single address (as Java prints it, which
+     * is also how connecting IPs are reported), otherwise "address/length".
+     */
+    @Override
+    public String toString() {
+        String host = formatAddress(address);
+        return isSingleAddress() ? host : host + "/" + prefixLength;
+    }
+
+    /**
+     * Address bytes (4 or 16) as text, in the same form Java reports connecting IPs.
+     */
+    public static String formatAddress(byte[] address) {
+        if (address.length == 4) {
+            return (address[0] & 0xFF) + "." + (address[1] & 0xFF) + "." + (address[2] & 0xFF) + "." + (address[3] & 0xFF);
+        }
+        try {
+            return InetAddress.getByAddress(address).getHostAddress();
+        } catch (Exception e) {
+            return "?";
+        }
+    }
+
+    /**
+     * The canonical text of an address, so differently written forms of one address
+     * compare equal. Text that is not an address is returned trimmed.
+     */
+    public static String normalize(String address) {
+        byte[] bytes = parseAddress(address);
+        return bytes != null ? formatAddress(bytes) : address.trim();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof IpCidr other && prefixLength == other.prefixLength && Arrays.equals(address, other.address);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(address) + prefixLength;
+    }
+}
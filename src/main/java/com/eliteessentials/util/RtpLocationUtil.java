@@ -0,0 +1,97 @@
+package com.eliteessentials.util;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+
+import java.lang.reflect.Method;
+import java.util.logging.Logger;
+
+/**
+ * Shared ground and hazard checks for random teleport locations.
+ * Used by /rtp directly and by the background RTP location pool.
+ * All methods must be called on the chunk's world thread.
+ */
+public final class RtpLocationUtil {
+
+    private static final Logger logger = Logger.getLogger("EliteEssentials");
+
+    private static final int FLUID_LAVA = 6;
+    private static final int FLUID_WATER = 7;
+    private static final int[][] NEIGHBOR_OFFSETS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+
+    // getFluidId is not part of the public chunk API yet, so it is resolved once and reused
+    private static volatile Method getFluidIdMethod;
+    private static volatile boolean fluidLookupUnavailable;
+
+    private RtpLocationUtil() {}
+
+    /**
+     * Find the highest solid block in a column.
+     *
+     * @return the Y of the highest solid block, or null if none at or above minY
+     * @see ChunkColumns
+     */
+    public static Integer findHighestSolidBlock(World world, WorldChunk chunk, int x, int z, int minY) {
+        return ChunkColumns.findHighestSolid(world, chunk, x, z, minY);
+    }
+
+    /**
+     * Check that a standing position has no water or lava around the player's body
+     * or in the four horizontally adjacent blocks.
+     * Assumes safe if fluid data cannot be read.
+     */
+    public static boolean isSafeLocation(WorldChunk chunk, int x, int y, int z, boolean debug) {
+        Method method = resolveFluidMethod(chunk);
+        if (method == null) {
+            return true;
+        }
+        try {
+            // Check vertical range
+            for (int yOffset = -2; yOffset <= 3; yOffset++) {
+                int checkY = y + yOffset;
+                if (checkY < 0 || checkY >= 256) continue;
+
+                int fluidId = fluidAt(method, chunk, x, checkY, z);
+                if (fluidId == FLUID_LAVA || fluidId == FLUID_WATER) {
+                    if (debug) {
+                        String fluidType = (fluidId == FLUID_LAVA) ? "LAVA" : "WATER";
+                        logger.info("[RTP-SAFETY] " + fluidType + " detected at Y" + (yOffset >= 0 ? "+" : "") + yOffset);
+                    }
+                    return false;
+                }
+            }
+
+            // Check adjacent blocks
+            for (int[] offset : NEIGHBOR_OFFSETS) {
+                int fluidId = fluidAt(method, chunk, x + offset[0], y, z + offset[1]);
+                if (fluidId == FLUID_LAVA || fluidId == FLUID_WATER) {
+                    return false;
+                }
+            }
+
+            return true;
+        } catch (Exception e) {
+            return true; // Assume safe if can't check
+        }
+    }
+
+    private static int fluidAt(Method method, WorldChunk chunk, int x, int y, int z) throws Exception {
+        Object fluidIdObj = method.invoke(chunk, x, y, z);
+        return fluidIdObj instanceof Integer ? (Integer) fluidIdObj : 0;
+    }
+
+    private static Method resolveFluidMethod(WorldChunk chunk) {
+        Method method = getFluidIdMethod;
+        if (method != null || fluidLookupUnavailable) {
+            return method;
+        }
+        try {
+            method = chunk.getClass().getMethod("getFluidId", int.class, int.class, int.class);
+            getFluidIdMethod = method;
+            return method;
+        } catch (NoSuchMethodException e) {
+            fluidLookupUnavailable = true;
+            return null;
+        }
+    }
+}
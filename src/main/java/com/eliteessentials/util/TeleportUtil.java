@@ -1,5 +1,7 @@
 package com.eliteessentials.util;
 
+import com.eliteessentials.EliteEssentials;
+import com.eliteessentials.services.FreezeService;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Vector3d;
@@ -9,6 +11,7 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
+import java.util.UUID;
 import java.util.logging.Logger;
 
 /**
@@ -63,6 +66,10 @@ public class TeleportUtil {
 
         Teleport teleport = Teleport.createForPlayer(targetWorld, targetPos, targetRot);
         store.addComponent(ref, Teleport.getComponentType(), teleport);
+        PlayerRef playerRef = store.getComponent(ref, PlayerRef.getComponentType());
+        if (playerRef != null) {
+            reanchorFrozen(playerRef.getUuid(), targetPos);
+        }
 
         if (onSuccess != null) {
             onSuccess.run();
@@ -130,9 +137,23 @@ public class TeleportUtil {
             }
             Teleport teleport = Teleport.createForPlayer(targetWorld, targetPos, targetRot);
             store.addComponent(ref, Teleport.getComponentType(), teleport);
+            reanchorFrozen(playerRef.getUuid(), targetPos);
             if (onSuccess != null) {
                 onSuccess.run();
             }
         });
     }
+
+    /**
+     * Move a frozen player's freeze anchor to a teleport destination, so freeze
+     * enforcement holds them there instead of pulling them back. Call wherever a
+     * Teleport component is added for a player.
+     */
+    public static void reanchorFrozen(UUID playerId, Vector3d targetPos) {
+        if (playerId == null || targetPos == null) return;
+        FreezeService freezeService = EliteEssentials.getInstance().getFreezeService();
+        if (freezeService != null) {
+            freezeService.reanchor(playerId, targetPos.getX(), targetPos.getY(), targetPos.getZ());
+        }
+    }
 }
@@ -1,15 +1,31 @@
 package com.eliteessentials.util;
 
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
- * Shared utility for checking whether a world name matches a blacklist.
+ * Shared utility for checking whether a world name matches a list of world patterns,
+ * used for blacklists as well as allow-lists and targeting.
  * Supports wildcard patterns using * (e.g. "arena*" matches "Arena_1vs1-standard_1771781348556_3").
  * All comparisons are case-insensitive.
+ *
+ * Each pattern list is compiled once into a {@link WorldMatcher} (exact names in a hash set,
+ * wildcards as precompiled regexes) and results are cached per world name. Matchers are keyed
+ * by an immutable copy of the list's contents, so a list edited in place gets a new matcher and
+ * lists rebuilt per call share one; {@link #clearCache()} (config reload) drops them all.
  */
 public final class WorldBlacklistUtil {
 
+    /** Distinct world names cached per matcher before the cache is reset (arena worlds get unique names) */
+    private static final int RESULT_CACHE_SIZE = 256;
+
+    /** Distinct pattern lists compiled before the matcher cache is reset */
+    private static final int MATCHER_CACHE_SIZE = 64;
+
+    // Pattern list contents -> compiled matcher
+    private static final Map<List<String>, WorldMatcher> matchers = new ConcurrentHashMap<>();
+
     private WorldBlacklistUtil() {}
 
     /**
@@ -20,35 +36,143 @@ public final class WorldBlacklistUtil {
      * @return true if the world is blacklisted
      */
     public static boolean isWorldBlacklisted(String worldName, List<String> blacklistedWorlds) {
-        if (blacklistedWorlds == null || blacklistedWorlds.isEmpty() || worldName == null) {
+        return matchesAny(worldName, blacklistedWorlds);
+    }
+
+    /**
+     * Check if a world name matches any pattern in a list (for allow-lists and targeting).
+     *
+     * @param worldName the world name
+     * @param patterns  list of patterns (exact names or wildcard with *)
+     * @return true if any pattern matches; false for a null or empty list
+     */
+    public static boolean matchesAny(String worldName, List<String> patterns) {
+        if (patterns == null || patterns.isEmpty() || worldName == null) {
             return false;
         }
-        for (String pattern : blacklistedWorlds) {
-            if (worldMatchesPattern(worldName, pattern)) {
-                return true;
+        return matcherFor(patterns).matches(worldName);
+    }
+
+    /**
+     * Get the compiled matcher for a config pattern list, compiling it on first use.
+     */
+    public static WorldMatcher matcherFor(List<String> patterns) {
+        if (patterns == null || patterns.isEmpty()) return WorldMatcher.EMPTY;
+        // Lists compare by contents, so the caller's list works as the lookup key
+        WorldMatcher matcher = matchers.get(patterns);
+        if (matcher == null) {
+            List<String> key = Collections.unmodifiableList(new ArrayList<>(patterns));
+            matcher = compile(key);
+            if (matchers.size() >= MATCHER_CACHE_SIZE) {
+                matchers.clear();
             }
+            matchers.put(key, matcher);
         }
-        return false;
+        return matcher;
+    }
+
+    /**
+     * Compile a pattern list into a matcher without caching it by list (for callers that
+     * keep the matcher themselves).
+     */
+    public static WorldMatcher compile(Collection<String> patterns) {
+        return new WorldMatcher(patterns);
+    }
+
+    /**
+     * Drop all compiled matchers. Called on config reload.
+     */
+    public static void clearCache() {
+        matchers.clear();
     }
 
     /**
      * Check if a world name matches a single pattern.
      * Without *, does a case-insensitive exact match.
-     * With *, splits on * and builds a regex with .* between quoted literal segments.
+     * With *, splits on * and matches with .* between quoted literal segments.
      */
     public static boolean worldMatchesPattern(String worldName, String pattern) {
-        if (pattern == null || pattern.isEmpty()) return false;
+        if (pattern == null || pattern.isEmpty() || worldName == null) return false;
 
         if (!pattern.contains("*")) {
             return pattern.equalsIgnoreCase(worldName);
         }
+        return wildcardToPattern(pattern).matcher(worldName).matches();
+    }
 
+    private static Pattern wildcardToPattern(String pattern) {
         String[] parts = pattern.split("\\*", -1);
-        StringBuilder sb = new StringBuilder("(?i)");
+        StringBuilder sb = new StringBuilder();
         for (int i = 0; i < parts.length; i++) {
             if (i > 0) sb.append(".*");
             sb.append(Pattern.quote(parts[i]));
         }
-        return worldName.matches(sb.toString());
+        return Pattern.compile(sb.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    /**
+     * A compiled set of world patterns.
+     */
+    public static final class WorldMatcher {
+
+        static final WorldMatcher EMPTY = new WorldMatcher(Collections.emptyList());
+
+        /** Cached "no match" result */
+        private static final String NO_MATCH = "";
+
+        // Lowercase exact name -> pattern as written
+        private final Map<String, String> exact = new HashMap<>();
+        private final List<String> wildcardSources = new ArrayList<>();
+        private final List<Pattern> wildcards = new ArrayList<>();
+        // World name -> matching pattern, or NO_MATCH
+        private final Map<String, String> results = new ConcurrentHashMap<>();
+
+        private WorldMatcher(Collection<String> patterns) {
+            for (String pattern : patterns) {
+                if (pattern == null || pattern.isEmpty()) continue;
+                if (pattern.contains("*")) {
+                    wildcardSources.add(pattern);
+                    wildcards.add(wildcardToPattern(pattern));
+                } else {
+                    exact.putIfAbsent(pattern.toLowerCase(Locale.ROOT), pattern);
+                }
+            }
+        }
+
+        public boolean isEmpty() {
+            return exact.isEmpty() && wildcards.isEmpty();
+        }
+
+        public boolean matches(String worldName) {
+            return findMatch(worldName) != null;
+        }
+
+        /**
+         * @return the first pattern (as written in config) that matches, or null
+         */
+        public String findMatch(String worldName) {
+            if (worldName == null || isEmpty()) return null;
+
+            String cached = results.get(worldName);
+            if (cached == null) {
+                cached = lookup(worldName);
+                if (results.size() >= RESULT_CACHE_SIZE) {
+                    results.clear();
+                }
+                results.put(worldName, cached);
+            }
+            return cached == NO_MATCH ? null : cached;
+        }
+
+        private String lookup(String worldName) {
+            String match = exact.get(worldName.toLowerCase(Locale.ROOT));
+            if (match != null) return match;
+            for (int i = 0; i < wildcards.size(); i++) {
+                if (wildcards.get(i).matcher(worldName).matches()) {
+                    return wildcardSources.get(i);
+                }
+            }
+            return NO_MATCH;
+        }
     }
 }
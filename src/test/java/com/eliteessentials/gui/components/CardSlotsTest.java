@@ -0,0 +1,169 @@
+package com.eliteessentials.gui.components;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardSlotsTest {
+
+    private record Row(String template, Map<String, Object> values, List<String> bindings, String key)
+            implements CardSlots.Row<String> {}
+
+    /** Writes every operation as a line, each costing one byte. */
+    private static final class Recorder implements CardSlots.Output<String> {
+        final List<String> ops = new ArrayList<>();
+
+        @Override
+        public long clear() {
+            ops.add("clear");
+            return 1;
+        }
+
+        @Override
+        public long append(String template) {
+            ops.add("append " + template);
+            return 1;
+        }
+
+        @Override
+        public long set(int slot, String property, Object value) {
+            ops.add("set " + slot + " " + property + "=" + value);
+            return 1;
+        }
+
+        @Override
+        public long bind(int slot, String binding) {
+            ops.add("bind " + slot + " " + binding);
+            return 1;
+        }
+
+        @Override
+        public long setVisible(int slot, boolean visible) {
+            ops.add("visible " + slot + " " + visible);
+            return 1;
+        }
+
+        List<String> take() {
+            List<String> taken = List.copyOf(ops);
+            ops.clear();
+            return taken;
+        }
+    }
+
+    private static Row warp(String name, boolean isPublic) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("#Name.Text", name);
+        values.put("#Public.Visible", isPublic);
+        return new Row("Warp.ui", values, List.of("go"), name);
+    }
+
+    @Test
+    void appendsAndBindsNewSlots() {
+        CardSlots<String> slots = new CardSlots<>();
+        Recorder out = new Recorder();
+
+        long sent = slots.render(List.of(warp("spawn", true), warp("shop", false)), out);
+
+        assertEquals(List.of(
+                "append Warp.ui", "set 0 #Name.Text=spawn", "set 0 #Public.Visible=true", "bind 0 go",
+                "append Warp.ui", "set 1 #Name.Text=shop", "set 1 #Public.Visible=false", "bind 1 go"), out.take());
+        assertEquals(8, sent);
+        assertEquals(2, slots.size());
+        assertEquals("shop", slots.keyAt("1"));
+    }
+
+    @Test
+    void sendsNothingWhenUnchanged() {
+        CardSlots<String> slots = new CardSlots<>();
+        Recorder out = new Recorder();
+        slots.render(List.of(warp("spawn", true)), out);
+        out.take();
+
+        assertEquals(0, slots.render(List.of(warp("spawn", true)), out));
+        assertTrue(out.ops.isEmpty());
+    }
+
+    @Test
+    void setsOnlyChangedValuesAndMovesKeys() {
+        CardSlots<String> slots = new CardSlots<>();
+        Recorder out = new Recorder();
+        slots.render(List.of(warp("spawn", true), warp("shop", true)), out);
+        out.take();
+
+        slots.render(List.of(warp("arena", true), warp("shop", false)), out);
+
+        assertEquals(List.of("set 0 #Name.Text=arena", "set 1 #Public.Visible=false"), out.take());
+        assertEquals("arena", slots.keyAt("0"));
+        assertEquals("shop", slots.keyAt("1"));
+    }
+
+    @Test
+    void hidesSlotsPastTheEndAndShowsThemAgain() {
+        CardSlots<String> slots = new CardSlots<>();
+        Recorder out = new Recorder();
+        slots.render(List.of(warp("a", true), warp("b", true), warp("c", true)), out);
+        out.take();
+
+        slots.render(List.of(warp("a", true)), out);
+        assertEquals(List.of("visible 1 false", "visible 2 false"), out.take());
+        assertNull(slots.keyAt("1"), "hidden slots resolve to nothing");
+        assertEquals(3, slots.size());
+
+        slots.render(List.of(warp("a", true)), out);
+        assertTrue(out.take().isEmpty(), "already hidden");
+
+        slots.render(List.of(warp("a", true), warp("d", true)), out);
+        assertEquals(List.of("visible 1 true", "set 1 #Name.Text=d"), out.take());
+        assertEquals("d", slots.keyAt("1"));
+    }
+
+    @Test
+    void rebuildsWhenTemplateOrBindingsChange() {
+        CardSlots<String> slots = new CardSlots<>();
+        Recorder out = new Recorder();
+        slots.render(List.of(warp("a", true), warp("b", true)), out);
+        out.take();
+
+        Row other = new Row("Home.ui", Map.of("#Name.Text", "a"), List.of("go"), "a");
+        slots.render(List.of(other), out);
+        assertEquals(List.of("clear", "append Home.ui", "set 0 #Name.Text=a", "bind 0 go"), out.take());
+        assertEquals(1, slots.size());
+
+        Row rebound = new Row("Home.ui", Map.of("#Name.Text", "a"), List.of("go", "delete"), "a");
+        slots.render(List.of(rebound), out);
+        assertEquals(List.of("clear", "append Home.ui", "set 0 #Name.Text=a", "bind 0 go", "bind 0 delete"),
+                out.take());
+    }
+
+    @Test
+    void resetAppendsEverythingAgain() {
+        CardSlots<String> slots = new CardSlots<>();
+        Recorder out = new Recorder();
+        slots.render(List.of(warp("a", true)), out);
+        out.take();
+
+        slots.reset();
+        assertEquals(0, slots.size());
+        assertNull(slots.keyAt("0"));
+
+        slots.render(List.of(warp("a", true)), out);
+        assertEquals("append Warp.ui", out.take().get(0));
+    }
+
+    @Test
+    void keyAtRejectsBadIndexes() {
+        CardSlots<String> slots = new CardSlots<>();
+        slots.render(List.of(warp("a", true)), new Recorder());
+
+        assertEquals("a", slots.keyAt("0"));
+        assertNull(slots.keyAt("1"));
+        assertNull(slots.keyAt("-1"));
+        assertNull(slots.keyAt("x"));
+        assertNull(slots.keyAt(null));
+    }
+}
@@ -0,0 +1,146 @@
+package com.eliteessentials.model;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackHistoryTest {
+
+    private static Location at(int x) {
+        return new Location("world", x, 64, 0, 90f, 0f);
+    }
+
+    private static List<Long> seqs(List<BackHistory.Slot> slots) {
+        return slots.stream().map(s -> s.seq).toList();
+    }
+
+    @Test
+    void keepsTheMostRecentUpToCapacity() {
+        BackHistory history = new BackHistory();
+        assertNull(history.peek());
+        for (int i = 1; i <= 5; i++) history.push(at(i), 3);
+
+        assertEquals(3, history.size());
+        assertEquals(at(5), history.peek());
+        assertEquals(List.of(at(5), at(4), at(3)), history.toList());
+        assertEquals(at(3), history.get(2));
+        assertNull(history.get(3));
+        assertNull(history.get(-1));
+    }
+
+    @Test
+    void popsMostRecentFirst() {
+        BackHistory history = new BackHistory();
+        history.push(at(1), 5);
+        history.push(at(2), 5);
+
+        assertEquals(at(2), history.pop());
+        assertEquals(at(1), history.pop());
+        assertNull(history.pop());
+        assertEquals(0, history.size());
+
+        history.push(at(3), 5);
+        assertEquals(List.of(at(3)), history.toList());
+    }
+
+    @Test
+    void resizingKeepsTheMostRecent() {
+        BackHistory history = new BackHistory();
+        for (int i = 1; i <= 4; i++) history.push(at(i), 4);
+
+        history.push(at(5), 2);
+        assertEquals(List.of(at(5), at(4)), history.toList());
+
+        history.push(at(6), 4);
+        history.push(at(7), 4);
+        assertEquals(List.of(at(7), at(6), at(5), at(4)), history.toList());
+    }
+
+    @Test
+    void ignoresNullAndZeroCapacity() {
+        BackHistory history = new BackHistory();
+        history.push(null, 3);
+        history.push(at(1), 0);
+        assertEquals(0, history.size());
+        assertNull(history.takeChanges());
+    }
+
+    @Test
+    void buildsFromStoredLocationsWithoutChanges() {
+        BackHistory history = BackHistory.of(List.of(at(3), at(2), at(1)), 10);
+        assertEquals(List.of(at(3), at(2), at(1)), history.toList());
+        assertEquals(List.of(10L, 9L, 8L), seqs(history.slots()));
+        assertNull(history.takeChanges());
+        assertEquals(0, BackHistory.of(null, 0).size());
+    }
+
+    @Test
+    void reportsNewEntriesOldestFirst() {
+        BackHistory history = BackHistory.of(List.of(at(1)), 0);
+        history.push(at(2), 2);
+        history.push(at(3), 2);
+
+        BackHistory.Changes changes = history.takeChanges();
+        assertFalse(changes.rewrite);
+        assertEquals(List.of(1L, 2L), seqs(changes.slots));
+        assertEquals(BackHistory.NONE, changes.slots.get(0).replaces);
+        assertEquals(0L, changes.slots.get(1).replaces, "the full ring overwrote the saved entry");
+        assertEquals(at(3), changes.slots.get(1).location);
+        assertNull(history.takeChanges());
+    }
+
+    @Test
+    void rewritesWhenEntriesWereDroppedOrDisplacedUnsaved() {
+        BackHistory popped = BackHistory.of(List.of(at(2), at(1)), 1);
+        popped.pop();
+        BackHistory.Changes changes = popped.takeChanges();
+        assertTrue(changes.rewrite);
+        assertEquals(List.of(0L), seqs(changes.slots));
+
+        BackHistory wrapped = new BackHistory();
+        for (int i = 1; i <= 3; i++) wrapped.push(at(i), 2);
+        changes = wrapped.takeChanges();
+        assertTrue(changes.rewrite);
+        assertEquals(List.of(2L, 1L), seqs(changes.slots));
+
+        BackHistory shrunk = BackHistory.of(List.of(at(3), at(2), at(1)), 2);
+        shrunk.push(at(4), 2);
+        assertTrue(shrunk.takeChanges().rewrite);
+
+        BackHistory cleared = BackHistory.of(List.of(at(1)), 0);
+        cleared.clear();
+        changes = cleared.takeChanges();
+        assertTrue(changes.rewrite);
+        assertTrue(changes.slots.isEmpty());
+    }
+
+    @Test
+    void markRewriteNeededForcesAFullWrite() {
+        BackHistory history = BackHistory.of(List.of(at(1)), 0);
+        history.markRewriteNeeded();
+        BackHistory.Changes changes = history.takeChanges();
+        assertTrue(changes.rewrite);
+        assertEquals(List.of(0L), seqs(changes.slots));
+    }
+
+    @Test
+    void roundTripsThroughJson() {
+        Gson gson = new GsonBuilder().registerTypeAdapter(BackHistory.class, new BackHistory.JsonAdapter()).create();
+        BackHistory history = new BackHistory();
+        history.push(at(1), 3);
+        history.push(at(2), 3);
+
+        String json = gson.toJson(history, BackHistory.class);
+        BackHistory read = gson.fromJson(json, BackHistory.class);
+        assertEquals(history.toList(), read.toList());
+        assertEquals(List.of(1L, 0L), seqs(read.slots()));
+
+        assertEquals(0, gson.fromJson("null", BackHistory.class).size());
+        assertEquals(List.of(new Location(null, 1, 2, 3, 0f, 0f)),
+                gson.fromJson("[{\"world\":null,\"x\":1,\"y\":2,\"z\":3,\"extra\":true}]", BackHistory.class).toList());
+    }
+}
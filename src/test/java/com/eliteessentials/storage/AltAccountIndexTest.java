@@ -0,0 +1,150 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.util.IpCidr;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AltAccountIndexTest {
+
+    private static final UUID ALICE = UUID.randomUUID();
+    private static final UUID BOB = UUID.randomUUID();
+    private static final UUID CAROL = UUID.randomUUID();
+
+    @Test
+    void recordsEachPairOnceAndKeepsTheLatestUse() {
+        AltAccountIndex index = new AltAccountIndex(10);
+        assertTrue(index.record(ALICE, "10.0.0.1", 100));
+        assertFalse(index.record(ALICE, "10.0.0.1", 50));
+        assertFalse(index.record(ALICE, "10.0.0.1", 200));
+        assertFalse(index.record(null, "10.0.0.1", 1));
+        assertFalse(index.record(ALICE, " ", 1));
+
+        assertEquals(List.of(new AltAccountIndex.IpUse("10.0.0.1", 200)), index.getIps(ALICE));
+        assertEquals(1, index.size());
+        assertEquals(1, index.playerCount());
+        assertEquals(1, index.ipCount());
+    }
+
+    @Test
+    void normalizesAddresses() {
+        AltAccountIndex index = new AltAccountIndex(10);
+        index.record(ALICE, "0:0:0:0:0:0:0:1", 1);
+        assertFalse(index.record(ALICE, "::1", 2));
+        assertEquals(Set.of(ALICE), index.getPlayers("::0:1"));
+        assertEquals(Set.of(), index.getPlayers(null));
+    }
+
+    @Test
+    void listsAddressesMostRecentFirst() {
+        AltAccountIndex index = new AltAccountIndex(10);
+        index.record(ALICE, "10.0.0.1", 100);
+        index.record(ALICE, "10.0.0.3", 300);
+        index.record(ALICE, "10.0.0.2", 200);
+
+        assertEquals(List.of("10.0.0.3", "10.0.0.2", "10.0.0.1"),
+                index.getIps(ALICE).stream().map(AltAccountIndex.IpUse::ip).toList());
+        assertEquals("10.0.0.3", index.getLastIp(ALICE));
+        assertNull(index.getLastIp(BOB));
+        assertTrue(index.getIps(BOB).isEmpty());
+    }
+
+    @Test
+    void dropsTheOldestAddressPastTheCap() {
+        AltAccountIndex index = new AltAccountIndex(2);
+        index.record(ALICE, "10.0.0.1", 100);
+        index.record(BOB, "10.0.0.2", 50);
+        index.record(ALICE, "10.0.0.2", 200);
+        index.record(ALICE, "10.0.0.3", 300);
+
+        assertEquals(List.of("10.0.0.3", "10.0.0.2"),
+                index.getIps(ALICE).stream().map(AltAccountIndex.IpUse::ip).toList());
+        assertEquals(Set.of(), index.getPlayers("10.0.0.1"));
+        assertEquals(Set.of(), index.getPlayersInRange(IpCidr.parse("10.0.0.1")));
+        assertEquals(3, index.size());
+        assertEquals(2, index.ipCount());
+    }
+
+    @Test
+    void findsPlayersInsideANetwork() {
+        AltAccountIndex index = new AltAccountIndex(10);
+        index.record(ALICE, "192.168.1.10", 1);
+        index.record(BOB, "192.168.1.200", 1);
+        index.record(CAROL, "192.168.2.1", 1);
+        index.record(CAROL, "2001:db8::1", 1);
+
+        assertEquals(Set.of(ALICE, BOB), index.getPlayersInRange(IpCidr.parse("192.168.1.0/24")));
+        assertEquals(Set.of(ALICE, BOB, CAROL), index.getPlayersInRange(IpCidr.parse("192.168.0.0/16")));
+        assertEquals(Set.of(CAROL), index.getPlayersInRange(IpCidr.parse("2001:db8::/32")));
+        assertEquals(Set.of(), index.getPlayersInRange(IpCidr.parse("10.0.0.0/8")));
+    }
+
+    @Test
+    void findsAltsThroughSharedAddresses() {
+        AltAccountIndex index = new AltAccountIndex(10);
+        index.record(ALICE, "10.0.0.1", 1);
+        index.record(ALICE, "10.0.0.2", 1);
+        index.record(BOB, "10.0.0.1", 1);
+        index.record(BOB, "10.0.0.2", 1);
+        index.record(CAROL, "10.0.0.2", 1);
+
+        Map<UUID, Set<String>> alts = index.findAlts(ALICE, 0);
+        assertEquals(Set.of("10.0.0.1", "10.0.0.2"), alts.get(BOB));
+        assertEquals(Set.of("10.0.0.2"), alts.get(CAROL));
+        assertFalse(alts.containsKey(ALICE));
+
+        // 10.0.0.2 has three players, so it is skipped with a limit of two
+        assertEquals(Map.of(BOB, Set.of("10.0.0.1")), index.findAlts(ALICE, 2));
+        assertTrue(index.findAlts(UUID.randomUUID(), 0).isEmpty());
+
+        Map<UUID, Map<UUID, Set<String>>> many = index.findAlts(List.of(ALICE, CAROL, UUID.randomUUID()), 2);
+        assertEquals(Set.of(ALICE), many.keySet());
+    }
+
+    @Test
+    void replaceWithKeepsRecordsMadeDuringTheBuild() {
+        AltAccountIndex live = new AltAccountIndex(10);
+        live.record(ALICE, "10.0.0.1", 100);
+        live.record(BOB, "10.0.0.9", 100);
+        live.record(CAROL, "10.0.0.5", 500);
+
+        AltAccountIndex built = new AltAccountIndex(10);
+        built.record(ALICE, "10.0.0.1", 100);
+        built.record(ALICE, "10.0.0.2", 150);
+
+        live.replaceWith(built, 400);
+
+        assertEquals(Set.of(ALICE), live.getPlayers("10.0.0.1"));
+        assertEquals(Set.of(CAROL), live.getPlayers("10.0.0.5"), "recorded during the build");
+        assertEquals(Set.of(), live.getPlayers("10.0.0.9"), "older live records come from the build");
+        assertEquals("10.0.0.2", live.getLastIp(ALICE));
+        assertEquals(3, live.size());
+        assertEquals(Set.of(ALICE, CAROL), live.getPlayersInRange(IpCidr.parse("10.0.0.0/24")));
+    }
+
+    @Test
+    void forEachVisitsEveryPair() {
+        AltAccountIndex index = new AltAccountIndex(10);
+        index.record(ALICE, "10.0.0.1", 1);
+        index.record(ALICE, "10.0.0.2", 2);
+        index.record(BOB, "10.0.0.1", 3);
+
+        int[] visited = new int[1];
+        long[] total = new long[1];
+        index.forEach((playerId, ip, lastUsed) -> {
+            visited[0]++;
+            total[0] += lastUsed;
+        });
+        assertEquals(3, visited[0]);
+        assertEquals(6, total[0]);
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(Set.of(), index.getPlayers("10.0.0.1"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.util.IpCidr;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The connect-time IP ban check (parse the address, walk the prefix trie) against
+ * 100k synthetic ranges.
+ *
+ * Ranges use fixed-seed random data: 90% IPv4 networks between /12 and /32 (mostly /16
+ * to /28, like VPN and hosting blocklists) and 10% IPv6 networks between /32 and /64.
+ * Lookups use random addresses of both families, generated before timing starts. Run
+ * with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class IpPrefixTrieBenchmark {
+
+    private static final long SEED = 0x1BA5EL;
+    private static final int RANGES = 100_000;
+    private static final int LOOKUPS = 1_000_000;
+    private static final int WARMUP_ROUNDS = 2;
+
+    @Test
+    void banChecks() {
+        Random random = new Random(SEED);
+
+        IpCidr[] networks = new IpCidr[RANGES];
+        for (int i = 0; i < RANGES; i++) {
+            networks[i] = randomNetwork(random);
+        }
+        long buildStart = System.nanoTime();
+        IpPrefixTrie<IpCidr> trie = new IpPrefixTrie<>();
+        for (IpCidr network : networks) {
+            trie.put(network, network);
+        }
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+
+        String[] addresses = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            addresses[i] = randomAddress(random);
+        }
+
+        // Let the JIT compile the lookup path before the timed round
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            lookupAll(trie, addresses);
+        }
+        long start = System.nanoTime();
+        int hits = lookupAll(trie, addresses);
+        long elapsed = System.nanoTime() - start;
+        assertTrue(hits > 0);
+
+        System.out.printf("build: %d ranges in %d ms, %d trie nodes (~%.1f MB)%n",
+                RANGES, buildMs, trie.nodeCount(), trie.estimatedBytes() / (1024.0 * 1024.0));
+        System.out.printf("lookups: %d at %.0f ns each (parse + match), %d hits%n",
+                LOOKUPS, (double) elapsed / LOOKUPS, hits);
+    }
+
+    private static int lookupAll(IpPrefixTrie<IpCidr> trie, String[] addresses) {
+        int hits = 0;
+        for (String address : addresses) {
+            byte[] bytes = IpCidr.parseAddress(address);
+            if (bytes != null && trie.match(bytes) != null) hits++;
+        }
+        return hits;
+    }
+
+    private static IpCidr randomNetwork(Random random) {
+        if (random.nextInt(10) == 0) {
+            int length = 32 + random.nextInt(33);
+            return IpCidr.parse(randomIpv6(random) + "/" + length);
+        }
+        // Skew towards hosting/VPN sized blocks
+        int length = random.nextInt(4) == 0 ? 12 + random.nextInt(21) : 16 + random.nextInt(13);
+        return IpCidr.parse(randomIpv4(random) + "/" + length);
+    }
+
+    private static String randomAddress(Random random) {
+        return random.nextInt(10) == 0 ? randomIpv6(random) : randomIpv4(random);
+    }
+
+    private static String randomIpv4(Random random) {
+        return random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+    }
+
+    private static String randomIpv6(Random random) {
+        StringBuilder sb = new StringBuilder("2001:");
+        for (int i = 0; i < 7; i++) {
+            if (i > 0) sb.append(':');
+            sb.append(Integer.toHexString(random.nextInt(0x10000)));
+        }
+        return sb.toString();
+    }
+}
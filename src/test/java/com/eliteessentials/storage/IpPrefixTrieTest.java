@@ -0,0 +1,122 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.util.IpCidr;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IpPrefixTrieTest {
+
+    private static String match(IpPrefixTrie<String> trie, String address) {
+        return trie.match(IpCidr.parseAddress(address));
+    }
+
+    private static IpPrefixTrie<String> trieOf(String... networks) {
+        IpPrefixTrie<String> trie = new IpPrefixTrie<>();
+        for (String network : networks) {
+            trie.put(IpCidr.parse(network), network);
+        }
+        return trie;
+    }
+
+    @Test
+    void matchesMostSpecificNetwork() {
+        IpPrefixTrie<String> trie = trieOf("10.0.0.0/8", "10.1.0.0/16", "10.1.2.3");
+        assertEquals("10.1.2.3", match(trie, "10.1.2.3"));
+        assertEquals("10.1.0.0/16", match(trie, "10.1.2.4"));
+        assertEquals("10.0.0.0/8", match(trie, "10.200.0.1"));
+        assertNull(match(trie, "11.0.0.1"));
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    void keepsFamiliesApart() {
+        IpPrefixTrie<String> trie = trieOf("0.0.0.0/0");
+        assertEquals("0.0.0.0/0", match(trie, "203.0.113.9"));
+        assertNull(match(trie, "2001:db8::1"), "an IPv4 catch-all doesn't cover IPv6");
+
+        trie.put(IpCidr.parse("2001:db8::/32"), "v6");
+        assertEquals("v6", match(trie, "2001:db8:1::5"));
+        assertNull(match(trie, "2001:db9::1"));
+        assertEquals("0.0.0.0/0", match(trie, "::ffff:10.0.0.1"), "mapped addresses are IPv4");
+    }
+
+    @Test
+    void getIsExactAndPutReplaces() {
+        IpPrefixTrie<String> trie = trieOf("10.0.0.0/8");
+        assertEquals("10.0.0.0/8", trie.get(IpCidr.parse("10.0.0.0/8")));
+        assertNull(trie.get(IpCidr.parse("10.0.0.0/16")), "no value on an inner node");
+        assertNull(trie.get(IpCidr.parse("10.0.0.0/24")), "path doesn't exist");
+
+        trie.put(IpCidr.parse("10.9.9.9/8"), "replaced");
+        assertEquals("replaced", trie.get(IpCidr.parse("10.0.0.0/8")));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void removeLeavesWiderNetworks() {
+        IpPrefixTrie<String> trie = trieOf("10.0.0.0/8", "10.1.0.0/16");
+        assertEquals("10.1.0.0/16", trie.remove(IpCidr.parse("10.1.0.0/16")));
+        assertNull(trie.remove(IpCidr.parse("10.1.0.0/16")));
+        assertNull(trie.remove(IpCidr.parse("10.2.0.0/16")));
+        assertEquals("10.0.0.0/8", match(trie, "10.1.2.3"));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void needsCompactionOnlyAfterManyRemovals() {
+        IpPrefixTrie<String> trie = new IpPrefixTrie<>();
+        for (int i = 0; i < 2000; i++) {
+            trie.put(IpCidr.parse("10." + (i / 256) + "." + (i % 256) + ".0/24"), "n" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            trie.remove(IpCidr.parse("10." + (i / 256) + "." + (i % 256) + ".0/24"));
+        }
+        assertFalse(trie.needsCompaction(), "removed not above live");
+        for (int i = 1000; i < 1100; i++) {
+            trie.remove(IpCidr.parse("10." + (i / 256) + "." + (i % 256) + ".0/24"));
+        }
+        assertTrue(trie.needsCompaction());
+
+        trie.clear();
+        assertEquals(0, trie.size());
+        assertFalse(trie.needsCompaction());
+        assertNull(match(trie, "10.0.0.1"));
+    }
+
+    @Test
+    void agreesWithLinearScan() {
+        Random random = new Random(7);
+        IpCidr[] networks = new IpCidr[500];
+        IpPrefixTrie<IpCidr> trie = new IpPrefixTrie<>();
+        for (int i = 0; i < networks.length; i++) {
+            networks[i] = IpCidr.parse(randomIpv4(random) + "/" + (8 + random.nextInt(25)));
+            trie.put(networks[i], networks[i]);
+        }
+        for (int i = 0; i < 5000; i++) {
+            byte[] address = IpCidr.parseAddress(randomIpv4(random));
+            IpCidr expected = null;
+            for (IpCidr network : networks) {
+                if (contains(network, address)
+                        && (expected == null || network.prefixLength() > expected.prefixLength())) {
+                    expected = network;
+                }
+            }
+            assertEquals(expected, trie.match(address), IpCidr.formatAddress(address));
+        }
+    }
+
+    private static boolean contains(IpCidr network, byte[] address) {
+        for (int i = 0; i < network.prefixLength(); i++) {
+            if (IpCidr.bit(network.address(), i) != IpCidr.bit(address, i)) return false;
+        }
+        return true;
+    }
+
+    private static String randomIpv4(Random random) {
+        // Few first octets, so networks overlap
+        return (10 + random.nextInt(3)) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+    }
+}
@@ -0,0 +1,162 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.model.ModerationEntry;
+import com.eliteessentials.model.ModerationEntry.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModerationIndexTest {
+
+    private static int ids;
+
+    private static ModerationEntry entry(Type type, UUID player, String ip, String name, long issuedAt, long expiresAt) {
+        return new ModerationEntry("e" + (ids++), type, player, ip, name, "Console", "reason", issuedAt, expiresAt);
+    }
+
+    @Test
+    void oneActiveRecordPerPlayerAndType() {
+        ModerationIndex index = new ModerationIndex();
+        UUID player = UUID.randomUUID();
+        ModerationEntry ban = entry(Type.BAN, player, null, "Steve", 1, 0);
+
+        assertTrue(index.add(ban));
+        assertFalse(index.add(entry(Type.BAN, player, null, "Steve", 2, 0)));
+        assertFalse(index.add(ban), "same id twice");
+        assertTrue(index.add(entry(Type.MUTE, player, null, "Steve", 3, 0)));
+
+        assertSame(ban, index.get(Type.BAN, player));
+        assertNull(index.get(Type.TEMPBAN, player));
+        assertEquals(1, index.count(Type.BAN));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void rejectsMalformedRecords() {
+        ModerationIndex index = new ModerationIndex();
+        assertFalse(index.add(null));
+        assertFalse(index.add(entry(Type.BAN, null, null, "Steve", 1, 0)));
+        assertFalse(index.add(entry(Type.IPBAN, null, null, null, 1, 0)));
+        assertFalse(index.add(entry(Type.WARN, null, null, "Steve", 1, 0)));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void removeUndoesEveryIndex() {
+        ModerationIndex index = new ModerationIndex();
+        UUID player = UUID.randomUUID();
+        ModerationEntry ban = entry(Type.TEMPBAN, player, null, "Steve", 1, 100);
+        index.add(ban);
+
+        assertSame(ban, index.remove(ban.getId()));
+        assertNull(index.remove(ban.getId()));
+        assertNull(index.get(Type.TEMPBAN, player));
+        assertNull(index.findByName(Type.TEMPBAN, "steve"));
+        assertTrue(index.pollExpired(Long.MAX_VALUE).isEmpty());
+        assertTrue(index.add(entry(Type.TEMPBAN, player, null, "Steve", 2, 0)), "player can be banned again");
+    }
+
+    @Test
+    void warningsStackOldestFirst() {
+        ModerationIndex index = new ModerationIndex();
+        UUID player = UUID.randomUUID();
+        ModerationEntry second = entry(Type.WARN, player, null, "Steve", 20, 0);
+        ModerationEntry first = entry(Type.WARN, player, null, "Steve", 10, 0);
+        ModerationEntry third = entry(Type.WARN, player, null, "Steve", 30, 0);
+        index.add(second);
+        index.add(third);
+        index.add(first);
+
+        assertEquals(List.of(first, second, third), index.getWarnings(player));
+        assertEquals(3, index.count(Type.WARN));
+
+        index.remove(second.getId());
+        assertEquals(List.of(first, third), index.getWarnings(player));
+        assertTrue(index.getWarnings(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void findsByNameIgnoringCase() {
+        ModerationIndex index = new ModerationIndex();
+        ModerationEntry mute = entry(Type.MUTE, UUID.randomUUID(), null, "Steve", 1, 0);
+        index.add(mute);
+
+        assertSame(mute, index.findByName(Type.MUTE, "STEVE"));
+        assertNull(index.findByName(Type.BAN, "Steve"));
+        assertNull(index.findByName(Type.MUTE, null));
+    }
+
+    @Test
+    void matchesIpBansExactlyAndByRange() {
+        ModerationIndex index = new ModerationIndex();
+        ModerationEntry wide = entry(Type.IPBAN, null, "10.0.0.0/8", null, 1, 0);
+        ModerationEntry narrow = entry(Type.IPBAN, null, "10.1.0.0/16", null, 2, 0);
+        ModerationEntry single = entry(Type.IPBAN, null, "10.1.2.3", null, 3, 0);
+        ModerationEntry v6 = entry(Type.IPBAN, null, "2001:db8::/32", null, 4, 0);
+        index.add(wide);
+        index.add(narrow);
+        index.add(single);
+        index.add(v6);
+
+        assertSame(single, index.matchIp("10.1.2.3"));
+        assertSame(narrow, index.matchIp("10.1.9.9"));
+        assertSame(wide, index.matchIp("10.200.0.1"));
+        assertSame(v6, index.matchIp("2001:db8:1::5"));
+        assertNull(index.matchIp("11.0.0.1"));
+        assertNull(index.matchIp("not an ip"));
+        assertSame(narrow, index.getByIp("10.1.0.0/16"));
+
+        index.remove(narrow.getId());
+        assertSame(wide, index.matchIp("10.1.9.9"));
+    }
+
+    @Test
+    void rejectsTheSameNetworkWrittenDifferently() {
+        ModerationIndex index = new ModerationIndex();
+        assertTrue(index.add(entry(Type.IPBAN, null, "10.0.0.0/24", null, 1, 0)));
+        assertFalse(index.add(entry(Type.IPBAN, null, "10.0.0.1/24", null, 2, 0)));
+        assertFalse(index.add(entry(Type.IPBAN, null, "10.0.0.0/24", null, 3, 0)));
+        assertEquals(1, index.count(Type.IPBAN));
+    }
+
+    @Test
+    void pollsExpiredSoonestFirst() {
+        ModerationIndex index = new ModerationIndex();
+        ModerationEntry late = entry(Type.TEMPBAN, UUID.randomUUID(), null, "a", 1, 300);
+        ModerationEntry early = entry(Type.MUTE, UUID.randomUUID(), null, "b", 1, 100);
+        ModerationEntry ip = entry(Type.IPBAN, null, "192.168.0.0/16", null, 1, 200);
+        ModerationEntry permanent = entry(Type.BAN, UUID.randomUUID(), null, "c", 1, 0);
+        index.add(late);
+        index.add(early);
+        index.add(ip);
+        index.add(permanent);
+
+        assertTrue(index.pollExpired(99).isEmpty());
+        assertEquals(List.of(early, ip), index.pollExpired(200));
+        assertNull(index.matchIp("192.168.1.1"));
+        assertEquals(List.of(late), index.pollExpired(Long.MAX_VALUE));
+        assertEquals(List.of(permanent), index.snapshot());
+    }
+
+    @Test
+    void snapshotIsOrderedByIssueTime() {
+        ModerationIndex index = new ModerationIndex();
+        ModerationEntry b = entry(Type.BAN, UUID.randomUUID(), null, "b", 20, 0);
+        ModerationEntry a = entry(Type.WARN, UUID.randomUUID(), null, "a", 10, 0);
+        ModerationEntry c = entry(Type.IPBAN, null, "1.2.3.4", null, 30, 0);
+        index.add(b);
+        index.add(c);
+        index.add(a);
+
+        assertEquals(List.of(a, b, c), index.snapshot());
+        assertEquals(1, index.getAll(Type.WARN).size());
+        assertEquals(List.of(c), index.getAll(Type.IPBAN));
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertNull(index.matchIp("1.2.3.4"));
+    }
+}
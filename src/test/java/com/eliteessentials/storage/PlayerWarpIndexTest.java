@@ -0,0 +1,177 @@
+package com.eliteessentials.storage;
+
+import com.eliteessentials.model.Location;
+import com.eliteessentials.model.PlayerWarp;
+import com.eliteessentials.model.PlayerWarp.Visibility;
+import com.eliteessentials.storage.PlayerWarpStorageProvider.Page;
+import com.eliteessentials.storage.PlayerWarpStorageProvider.Scope;
+import com.eliteessentials.storage.PlayerWarpStorageProvider.Sort;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerWarpIndexTest {
+
+    private static final UUID ALICE = UUID.randomUUID();
+    private static final UUID BOB = UUID.randomUUID();
+
+    private static PlayerWarp warp(String name, UUID owner, Visibility visibility, long createdAt, long visits) {
+        PlayerWarp warp = new PlayerWarp(name, new Location("world", 0, 64, 0), owner, "owner", visibility, null);
+        warp.setCreatedAt(createdAt);
+        warp.setVisits(visits);
+        warp.setTrendingScore(visits);
+        warp.setTrendingUpdatedAt(1_000);
+        return warp;
+    }
+
+    private static List<String> names(List<PlayerWarp> warps) {
+        return warps.stream().map(PlayerWarp::getName).toList();
+    }
+
+    private static List<String> names(Page page) {
+        return names(page.warps);
+    }
+
+    /** public: Alpha, charlie, Echo (Bob) ; private: bravo, delta (Alice), foxtrot (Bob) */
+    private static PlayerWarpIndex sample() {
+        PlayerWarpIndex index = new PlayerWarpIndex();
+        index.put(warp("Alpha", ALICE, Visibility.PUBLIC, 10, 5));
+        index.put(warp("bravo", ALICE, Visibility.PRIVATE, 60, 50));
+        index.put(warp("charlie", BOB, Visibility.PUBLIC, 30, 20));
+        index.put(warp("delta", ALICE, Visibility.PRIVATE, 20, 1));
+        index.put(warp("Echo", BOB, Visibility.PUBLIC, 50, 10));
+        index.put(warp("foxtrot", BOB, Visibility.PRIVATE, 40, 100));
+        return index;
+    }
+
+    @Test
+    void looksUpByNameIgnoringCase() {
+        PlayerWarpIndex index = sample();
+        assertEquals("Alpha", index.get("ALPHA").getName());
+        assertTrue(index.contains("echo"));
+        assertNull(index.get("golf"));
+        assertEquals(6, index.size());
+        assertEquals(List.of("Alpha", "bravo", "delta"), names(index.getByOwner(ALICE)));
+        assertEquals(3, index.countByOwner(BOB));
+        assertEquals(List.of("Alpha", "charlie", "Echo"), names(index.getPublic()));
+    }
+
+    @Test
+    void accessibleMergesOwnPrivateWarpsByName() {
+        PlayerWarpIndex index = sample();
+        assertEquals(List.of("Alpha", "bravo", "charlie", "delta", "Echo"), names(index.getAccessible(ALICE)));
+        assertEquals(List.of("Alpha", "charlie", "Echo", "foxtrot"), names(index.getAccessible(BOB)));
+        assertEquals(List.of("Alpha", "charlie", "Echo"), names(index.getAccessible(UUID.randomUUID())));
+    }
+
+    @Test
+    void pagesPublicWarpsInEachOrder() {
+        PlayerWarpIndex index = sample();
+        assertEquals(List.of("Alpha", "charlie", "Echo"), names(index.page(Scope.PUBLIC, ALICE, Sort.NAME, 0, 10)));
+        assertEquals(List.of("Echo", "charlie", "Alpha"), names(index.page(Scope.PUBLIC, ALICE, Sort.NEWEST, 0, 10)));
+        assertEquals(List.of("charlie", "Echo", "Alpha"), names(index.page(Scope.PUBLIC, ALICE, Sort.POPULAR, 0, 10)));
+        assertEquals(List.of("charlie", "Echo", "Alpha"), names(index.page(Scope.PUBLIC, ALICE, Sort.TRENDING, 0, 10)));
+    }
+
+    @Test
+    void pagesOwnedWarpsInEachOrder() {
+        PlayerWarpIndex index = sample();
+        assertEquals(List.of("Alpha", "bravo", "delta"), names(index.page(Scope.OWNED, ALICE, Sort.NAME, 0, 10)));
+        assertEquals(List.of("bravo", "delta", "Alpha"), names(index.page(Scope.OWNED, ALICE, Sort.NEWEST, 0, 10)));
+        assertEquals(List.of("bravo", "Alpha", "delta"), names(index.page(Scope.OWNED, ALICE, Sort.POPULAR, 0, 10)));
+        assertEquals(0, index.page(Scope.OWNED, UUID.randomUUID(), Sort.NAME, 0, 10).total);
+    }
+
+    @Test
+    void pagesAccessibleWarpsWithPrivateOnesMergedInOrder() {
+        PlayerWarpIndex index = sample();
+        assertEquals(List.of("bravo", "Echo", "charlie", "delta", "Alpha"),
+                names(index.page(Scope.ACCESSIBLE, ALICE, Sort.NEWEST, 0, 10)));
+        assertEquals(List.of("bravo", "charlie", "Echo", "Alpha", "delta"),
+                names(index.page(Scope.ACCESSIBLE, ALICE, Sort.POPULAR, 0, 10)));
+        assertEquals(List.of("bravo", "charlie", "Echo", "Alpha", "delta"),
+                names(index.page(Scope.ACCESSIBLE, ALICE, Sort.TRENDING, 0, 10)));
+        assertEquals(List.of("foxtrot", "charlie", "Echo", "Alpha"),
+                names(index.page(Scope.ACCESSIBLE, BOB, Sort.POPULAR, 0, 10)));
+    }
+
+    @Test
+    void slicesPagesAndCountsTheWholeScope() {
+        PlayerWarpIndex index = sample();
+        Page page = index.page(Scope.ACCESSIBLE, ALICE, Sort.NAME, 1, 2);
+        assertEquals(List.of("bravo", "charlie"), names(page));
+        assertEquals(5, page.total);
+
+        Page past = index.page(Scope.ACCESSIBLE, ALICE, Sort.NAME, 10, 2);
+        assertTrue(past.warps.isEmpty());
+        assertEquals(5, past.total);
+    }
+
+    @Test
+    void putRefilesAWarpChangedInPlace() {
+        PlayerWarpIndex index = sample();
+        PlayerWarp alpha = index.get("alpha");
+        alpha.setVisibility(Visibility.PRIVATE);
+        alpha.setCreatedAt(100);
+        alpha.addVisits(1_000, 2_000);
+        index.put(alpha);
+
+        assertEquals(List.of("charlie", "Echo"), names(index.getPublic()));
+        assertEquals(List.of("Echo", "charlie"), names(index.page(Scope.PUBLIC, BOB, Sort.NEWEST, 0, 10)));
+        assertEquals(List.of("Alpha", "bravo", "Echo", "charlie", "delta"),
+                names(index.page(Scope.ACCESSIBLE, ALICE, Sort.NEWEST, 0, 10)));
+        assertEquals(List.of("Alpha", "bravo", "charlie", "Echo", "delta"),
+                names(index.page(Scope.ACCESSIBLE, ALICE, Sort.POPULAR, 0, 10)));
+        assertEquals(List.of("charlie", "Echo", "foxtrot"), names(index.getAccessible(BOB)));
+    }
+
+    @Test
+    void removeUnfilesEverywhere() {
+        PlayerWarpIndex index = sample();
+        assertEquals("charlie", index.remove("CHARLIE").getName());
+        assertNull(index.remove("charlie"));
+        assertEquals(List.of("Echo", "Alpha"), names(index.page(Scope.PUBLIC, null, Sort.NEWEST, 0, 10)));
+        assertEquals(List.of("Echo", "foxtrot"), names(index.getByOwner(BOB)));
+        assertFalse(index.snapshot().containsKey("charlie"));
+    }
+
+    @Test
+    void findsNamesByPrefixTheCallerCanUse() {
+        PlayerWarpIndex index = sample();
+        index.put(warp("delight", BOB, Visibility.PUBLIC, 70, 0));
+        assertEquals(List.of("delight", "delta"), index.findNames("DEL", ALICE, 10));
+        assertEquals(List.of("delight"), index.findNames("del", BOB, 10));
+        assertEquals(List.of("delight", "delta"), index.findNames("del", null, 10));
+        assertEquals(List.of("Alpha"), index.findNames("", ALICE, 1));
+    }
+
+    @Test
+    void accessiblePagesAgreeWithSortingEverything() {
+        Random random = new Random(7);
+        PlayerWarpIndex index = new PlayerWarpIndex();
+        List<PlayerWarp> all = new ArrayList<>();
+        UUID[] owners = {ALICE, BOB, UUID.randomUUID()};
+        for (int i = 0; i < 200; i++) {
+            PlayerWarp warp = warp("w" + i, owners[random.nextInt(owners.length)],
+                    random.nextInt(3) == 0 ? Visibility.PRIVATE : Visibility.PUBLIC,
+                    random.nextInt(50), random.nextInt(20));
+            index.put(warp);
+            all.add(warp);
+        }
+
+        Map<Sort, Comparator<PlayerWarp>> orders = Map.of(
+                Sort.NAME, Comparator.comparing(w -> w.getName().toLowerCase()),
+                Sort.NEWEST, Comparator.comparingLong(PlayerWarp::getCreatedAt).reversed()
+                        .thenComparing(w -> w.getName().toLowerCase()),
+                Sort.POPULAR, Comparator.comparingLong(PlayerWarp::getVisits).reversed()
+                        .thenComparing(w -> w.getName().toLowerCase()));
+        for (Map.Entry<Sort, Comparator<PlayerWarp>> order : orders.entrySet()) {
+            List<PlayerWarp> expected = all.stream().filter(w -> w.canAccess(ALICE)).sorted(order.getValue()).toList();
+            Page page = index.page(Scope.ACCESSIBLE, ALICE, order.getKey(), 0, Integer.MAX_VALUE);
+            assertEquals(names(expected), names(page), order.getKey().name());
+            assertEquals(expected.size(), page.total);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.eliteessentials.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Ground lookups over synthetic chunks: a plain top-down walk (the old /top and RTP
+ * loop) against the scanner with section skipping and a trusted heightmap.
+ *
+ * Terrain is 1024 columns of solid ground between Y 40 and 140 with the occasional
+ * tree-like non-solid cap above it, which the heightmap includes. Run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class ColumnScannerBenchmark {
+
+    private static final int COLUMNS = 32 * 32;
+    private static final int ROUNDS = 200;
+    private static final int WARMUP_ROUNDS = 50;
+
+    @Test
+    void groundLookups() {
+        Random random = new Random(29);
+        ColumnScannerTest.ArrayColumn[] columns = new ColumnScannerTest.ArrayColumn[COLUMNS];
+        for (int i = 0; i < COLUMNS; i++) {
+            int ground = 40 + random.nextInt(101);
+            int cap = random.nextInt(4) == 0 ? 4 + random.nextInt(6) : 0;
+            columns[i] = new ColumnScannerTest.ArrayColumn().fill(0, ground).hint(ground + cap).withSectionData();
+        }
+
+        long walkReads = 0;
+        long scanReads = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            plainWalkAll(columns);
+            scanAll(new ColumnScanner("bench"), columns);
+        }
+
+        resetReads(columns);
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) plainWalkAll(columns);
+        long walkNs = System.nanoTime() - start;
+        for (ColumnScannerTest.ArrayColumn column : columns) walkReads += column.reads;
+
+        resetReads(columns);
+        ColumnScanner scanner = new ColumnScanner("bench");
+        start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) scanAll(scanner, columns);
+        long scanNs = System.nanoTime() - start;
+        for (ColumnScannerTest.ArrayColumn column : columns) scanReads += column.reads;
+
+        long lookups = (long) COLUMNS * ROUNDS;
+        System.out.printf("plain walk: %.1f ns/lookup, %.1f block reads/lookup%n",
+                (double) walkNs / lookups, (double) walkReads / lookups);
+        System.out.printf("scanner:    %.1f ns/lookup, %.1f block reads/lookup%n",
+                (double) scanNs / lookups, (double) scanReads / lookups);
+    }
+
+    private static void plainWalkAll(ColumnScannerTest.ArrayColumn[] columns) {
+        for (ColumnScannerTest.ArrayColumn column : columns) {
+            int y = ColumnScanner.MAX_Y;
+            while (y >= 0 && !column.isSolid(y)) y--;
+        }
+    }
+
+    private static void scanAll(ColumnScanner scanner, ColumnScannerTest.ArrayColumn[] columns) {
+        for (ColumnScannerTest.ArrayColumn column : columns) {
+            Integer y = scanner.findHighestSolid(column, 0);
+            assertEquals(true, y != null);
+        }
+    }
+
+    private static void resetReads(ColumnScannerTest.ArrayColumn[] columns) {
+        for (ColumnScannerTest.ArrayColumn column : columns) column.reads = 0;
+    }
+}
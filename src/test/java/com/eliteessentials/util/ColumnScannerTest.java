@@ -0,0 +1,136 @@
+package com.eliteessentials.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnScannerTest {
+
+    /**
+     * A column backed by an array, counting block reads.
+     */
+    static final class ArrayColumn implements ColumnScanner.Column {
+        final boolean[] solid = new boolean[ColumnScanner.MAX_Y + 1];
+        final boolean[] solidSection = new boolean[solid.length / ColumnScanner.SECTION_HEIGHT];
+        int hint = ColumnScanner.NO_HINT;
+        boolean sectionData;
+        int reads;
+
+        ArrayColumn fill(int fromY, int toY) {
+            for (int y = fromY; y <= toY; y++) {
+                solid[y] = true;
+                solidSection[y / ColumnScanner.SECTION_HEIGHT] = true;
+            }
+            return this;
+        }
+
+        ArrayColumn hint(int hint) {
+            this.hint = hint;
+            return this;
+        }
+
+        ArrayColumn withSectionData() {
+            this.sectionData = true;
+            return this;
+        }
+
+        @Override
+        public boolean isSolid(int y) {
+            reads++;
+            return solid[y];
+        }
+
+        @Override
+        public int heightHint() {
+            return hint;
+        }
+
+        @Override
+        public boolean isSectionEmpty(int sectionIndex) {
+            return sectionData && !solidSection[sectionIndex];
+        }
+    }
+
+    @Test
+    void findsHighestSolidWithoutHeightmap() {
+        ColumnScanner scanner = new ColumnScanner("test");
+        assertEquals(64, scanner.findHighestSolid(new ArrayColumn().fill(0, 64), 0));
+        assertNull(scanner.findHighestSolid(new ArrayColumn(), 0));
+        assertNull(scanner.findHighestSolid(new ArrayColumn().fill(0, 10), 20), "below minY");
+    }
+
+    @Test
+    void skipsEmptySections() {
+        ColumnScanner scanner = new ColumnScanner("test");
+        ArrayColumn column = new ArrayColumn().fill(0, 40).withSectionData();
+        assertEquals(40, scanner.findHighestSolid(column, 0));
+        // Sections 7..2 are skipped whole; section 1 is walked from 63 down to 40
+        assertEquals(24, column.reads);
+    }
+
+    @Test
+    void startsAtTrustedHeightmap() {
+        ColumnScanner scanner = new ColumnScanner("test");
+        for (int i = 0; i < 8; i++) {
+            scanner.findHighestSolid(new ArrayColumn().fill(0, 70).hint(71), 0);
+        }
+        assertTrue(scanner.isHeightmapTrusted());
+
+        ArrayColumn column = new ArrayColumn().fill(0, 70).hint(71);
+        assertEquals(70, scanner.findHighestSolid(column, 0));
+        assertEquals(2, column.reads);
+    }
+
+    @Test
+    void heightmapBelowGroundIsRejectedDuringCalibration() {
+        ColumnScanner scanner = new ColumnScanner("test");
+        assertEquals(90, scanner.findHighestSolid(new ArrayColumn().fill(0, 90).hint(50), 0));
+        assertFalse(scanner.isHeightmapTrusted());
+
+        // Later columns ignore the heightmap entirely
+        for (int i = 0; i < 20; i++) {
+            assertEquals(90, scanner.findHighestSolid(new ArrayColumn().fill(0, 90).hint(50), 0));
+        }
+        assertFalse(scanner.isHeightmapTrusted());
+    }
+
+    @Test
+    void heightmapKeepsBeingVerifiedAfterCalibration() {
+        ColumnScanner scanner = new ColumnScanner("test");
+        for (int i = 0; i < 8; i++) {
+            scanner.findHighestSolid(new ArrayColumn().fill(0, 70).hint(70), 0);
+        }
+        assertTrue(scanner.isHeightmapTrusted());
+
+        // The heightmap goes bad; a periodic full walk must notice within one interval
+        int lookups = 0;
+        while (scanner.isHeightmapTrusted() && lookups < 200) {
+            scanner.findHighestSolid(new ArrayColumn().fill(0, 120).hint(70), 0);
+            lookups++;
+        }
+        assertFalse(scanner.isHeightmapTrusted(), "bad heightmap still trusted after " + lookups + " lookups");
+        assertTrue(lookups <= 64, "took " + lookups + " lookups");
+        assertEquals(120, scanner.findHighestSolid(new ArrayColumn().fill(0, 120).hint(70), 0));
+    }
+
+    @Test
+    void scannersAreIndependentPerWorld() {
+        ColumnScanner bad = new ColumnScanner("bad");
+        ColumnScanner good = new ColumnScanner("good");
+        bad.findHighestSolid(new ArrayColumn().fill(0, 90).hint(10), 0);
+        for (int i = 0; i < 8; i++) {
+            good.findHighestSolid(new ArrayColumn().fill(0, 70).hint(70), 0);
+        }
+        assertFalse(bad.isHeightmapTrusted());
+        assertTrue(good.isHeightmapTrusted());
+    }
+
+    @Test
+    void findsGroundBelowOverhang() {
+        ColumnScanner scanner = new ColumnScanner("test");
+        ArrayColumn column = new ArrayColumn().fill(0, 60).fill(100, 110);
+        assertEquals(60, scanner.findHighestSolidBelow(column, 90));
+        assertEquals(110, scanner.findHighestSolidBelow(column, 200));
+        assertNull(scanner.findHighestSolidBelow(new ArrayColumn().fill(100, 110), 90));
+    }
+}
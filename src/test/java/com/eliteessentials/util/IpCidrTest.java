@@ -0,0 +1,121 @@
+package com.eliteessentials.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IpCidrTest {
+
+    private static List<String> texts(List<IpCidr> networks) {
+        return networks.stream().map(IpCidr::toString).toList();
+    }
+
+    @Test
+    void parsesIpv4AddressesAndNetworks() {
+        IpCidr single = IpCidr.parse("192.168.1.7");
+        assertTrue(single.isIpv4());
+        assertTrue(single.isSingleAddress());
+        assertEquals("192.168.1.7", single.toString());
+
+        IpCidr network = IpCidr.parse(" 10.1.2.3/8 ");
+        assertEquals(8, network.prefixLength());
+        assertEquals("10.0.0.0/8", network.toString(), "host bits are cleared");
+        assertEquals("10.255.255.255", IpCidr.formatAddress(network.lastAddress()));
+        assertEquals("0.0.0.0/0", IpCidr.parse("1.2.3.4/0").toString());
+    }
+
+    @Test
+    void rejectsMalformedIpv4() {
+        assertNull(IpCidr.parse(null));
+        assertNull(IpCidr.parse(""));
+        assertNull(IpCidr.parse("1.2.3"));
+        assertNull(IpCidr.parse("1.2.3.4.5"));
+        assertNull(IpCidr.parse("1.2.3.256"));
+        assertNull(IpCidr.parse("1..3.4"));
+        assertNull(IpCidr.parse("1.2.3.4/33"));
+        assertNull(IpCidr.parse("1.2.3.4/-1"));
+        assertNull(IpCidr.parse("1.2.3.4/x"));
+        assertNull(IpCidr.parse("example.com"), "never a DNS lookup");
+    }
+
+    @Test
+    void parsesIpv6Forms() {
+        assertEquals(16, IpCidr.parseAddress("2001:db8::1").length);
+        assertEquals(IpCidr.parse("2001:db8:0:0:0:0:0:1"), IpCidr.parse("2001:db8::1"));
+        assertEquals(IpCidr.parse("::1"), IpCidr.parse("[0:0:0:0:0:0:0:1]"));
+        assertEquals(IpCidr.parse("fe80::1"), IpCidr.parse("fe80::1%eth0"));
+        assertEquals(IpCidr.parse("::"), IpCidr.parse("0:0:0:0:0:0:0:0"));
+        assertEquals(IpCidr.parse("::ffff:0:102:304"), IpCidr.parse("::ffff:0:1.2.3.4"), "dotted tail");
+
+        IpCidr network = IpCidr.parse("2001:db8:abcd::/32");
+        assertFalse(network.isIpv4());
+        assertEquals(IpCidr.parse("2001:db8::/32"), network);
+        assertNull(IpCidr.parse("2001:db8::/129"));
+    }
+
+    @Test
+    void rejectsMalformedIpv6() {
+        assertNull(IpCidr.parseAddress("1::2::3"));
+        assertNull(IpCidr.parseAddress("1:2:3:4:5:6:7"));
+        assertNull(IpCidr.parseAddress("1:2:3:4:5:6:7:8:9"));
+        assertNull(IpCidr.parseAddress("1:2:3:4:5:6:7:8::"));
+        assertNull(IpCidr.parseAddress("12345::"));
+        assertNull(IpCidr.parseAddress("1:"));
+        assertNull(IpCidr.parseAddress("g::1"));
+    }
+
+    @Test
+    void ipv4MappedAddressesAreIpv4() {
+        byte[] mapped = IpCidr.parseAddress("::ffff:192.0.2.5");
+        assertEquals(4, mapped.length);
+        assertEquals("192.0.2.5", IpCidr.formatAddress(mapped));
+        assertEquals("192.0.2.5", IpCidr.normalize("::ffff:c000:205"));
+    }
+
+    @Test
+    void normalizesAddressText() {
+        assertEquals(IpCidr.normalize("0:0:0:0:0:0:0:1"), IpCidr.normalize("::1"));
+        assertEquals("10.0.0.1", IpCidr.normalize(" 10.0.0.1 "));
+        assertEquals("not-an-ip", IpCidr.normalize(" not-an-ip "));
+    }
+
+    @Test
+    void splitsRangesIntoMinimalNetworks() {
+        assertEquals(List.of("10.0.0.0/23"), texts(IpCidr.fromRange("10.0.0.0", "10.0.1.255")));
+        assertEquals(List.of("10.0.0.5"), texts(IpCidr.fromRange("10.0.0.5", "10.0.0.5")));
+        assertEquals(List.of("10.0.0.1", "10.0.0.2/31", "10.0.0.4/30", "10.0.0.8/29", "10.0.0.16/28",
+                "10.0.0.32/27", "10.0.0.64/26", "10.0.0.128/26", "10.0.0.192/27", "10.0.0.224/28",
+                "10.0.0.240/29", "10.0.0.248/30", "10.0.0.252/31", "10.0.0.254"),
+                texts(IpCidr.fromRange("10.0.0.1", "10.0.0.254")));
+        assertEquals(List.of("0.0.0.0/0"), texts(IpCidr.fromRange("0.0.0.0", "255.255.255.255")));
+        assertEquals(List.of("2001:db8:0:0:0:0:0:0/127"), texts(IpCidr.fromRange("2001:db8::", "2001:db8::1")));
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        assertNull(IpCidr.fromRange("10.0.0.9", "10.0.0.1"), "reversed");
+        assertNull(IpCidr.fromRange("10.0.0.1", "::1"), "mixed families");
+        assertNull(IpCidr.fromRange("10.0.0.1", null));
+        assertNull(IpCidr.fromRange("10.0.0.1", "10.0.0"));
+    }
+
+    @Test
+    void parsesSpecs() {
+        assertEquals(List.of("1.2.3.4"), texts(IpCidr.parseSpec("1.2.3.4")));
+        assertEquals(List.of("1.2.0.0/16"), texts(IpCidr.parseSpec("1.2.3.4/16")));
+        assertEquals(List.of("1.2.3.0/24"), texts(IpCidr.parseSpec("1.2.3.0-1.2.3.255")));
+        assertNull(IpCidr.parseSpec("1.2.3.4-nope"));
+        assertNull(IpCidr.parseSpec("nope"));
+        assertNull(IpCidr.parseSpec(null));
+    }
+
+    @Test
+    void readsBitsMostSignificantFirst() {
+        byte[] address = IpCidr.parseAddress("128.0.0.1");
+        assertEquals(1, IpCidr.bit(address, 0));
+        assertEquals(0, IpCidr.bit(address, 1));
+        assertEquals(1, IpCidr.bit(address, 31));
+    }
+}